@@ -20,6 +20,8 @@ import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTrait;
 import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
 import com.hazelcast.sql.impl.calcite.schema.HazelcastRelOptTable;
 import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
+import com.hazelcast.sql.impl.calcite.validate.types.HazelcastTypeUtils;
+import com.hazelcast.sql.impl.row.RowKeys;
 import org.apache.calcite.plan.Convention;
 import org.apache.calcite.plan.ConventionTraitDef;
 import org.apache.calcite.plan.HazelcastRelOptCluster;
@@ -33,11 +35,14 @@ import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.core.TableScan;
 import org.apache.calcite.rel.logical.LogicalTableScan;
 import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.sql.type.SqlTypeName;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Set;
 
 import static org.apache.calcite.plan.RelOptRule.convert;
@@ -213,6 +218,28 @@ public final class OptUtils {
         return (HazelcastRelOptCluster) rel.getCluster();
     }
 
+    /**
+     * Check whether the hashes of the given columns of the given rel are the same on all members, so the rows may be
+     * repartitioned by them.
+     *
+     * @param rel Rel.
+     * @param columns Columns.
+     * @return {@code true} if the hashes are deterministic.
+     */
+    public static boolean isHashDeterministic(RelNode rel, List<Integer> columns) {
+        List<RelDataTypeField> fields = rel.getRowType().getFieldList();
+
+        for (int column : columns) {
+            SqlTypeName typeName = fields.get(column).getType().getSqlTypeName();
+
+            if (!RowKeys.isHashDeterministic(HazelcastTypeUtils.toHazelcastType(typeName).getTypeFamily())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     public static DistributionTraitDef getDistributionDef(RelNode rel) {
         return getCluster(rel).getDistributionTraitDef();
     }
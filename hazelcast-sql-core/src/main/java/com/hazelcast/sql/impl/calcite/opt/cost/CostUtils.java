@@ -37,6 +37,15 @@ public final class CostUtils {
     /** CPU multiplier applied to index scan (hash). */
     public static final double INDEX_SCAN_CPU_MULTIPLIER_HASH = 1.1d;
 
+    /** CPU multiplier applied to the lookup of a single map entry by its key. */
+    public static final double KEY_LOOKUP_CPU_MULTIPLIER = 1.0d;
+
+    /** CPU multiplier applied to hash aggregation, accounts for the hash table lookup of every input row. */
+    public static final double HASH_AGGREGATE_CPU_MULTIPLIER = 1.5d;
+
+    /** CPU multiplier applied to the build side of hash join, accounts for the hash table insertion of every row. */
+    public static final double HASH_JOIN_BUILD_CPU_MULTIPLIER = 2.0d;
+
     /** Multiplier for the CPU part of the cost. Assumes 1ns per item. */
     public static final double CPU_COST_MULTIPLIER = 1.0d;
 
@@ -46,6 +55,9 @@ public final class CostUtils {
     /** Replacement value if filter selectivity cannot be determined.  */
     private static final double UNKNOWN_SELECTIVITY = 0.25d;
 
+    /** Replacement value if the ratio of the number of groups to the number of rows cannot be determined. */
+    private static final double UNKNOWN_GROUP_RATIO = 0.1d;
+
     private CostUtils() {
         // No-op.
     }
@@ -103,6 +115,52 @@ public final class CostUtils {
         return rowCount * expressionCount;
     }
 
+    /**
+     * Get the CPU cost of hash aggregation: every input row is looked up in the hash table by the group key, and then
+     * passed to every aggregate function.
+     *
+     * @param rowCount Input row count.
+     * @param groupKeyCount Number of the group key columns.
+     * @param functionCount Number of the aggregate functions.
+     * @return CPU cost.
+     */
+    public static double getAggregateCpu(double rowCount, int groupKeyCount, int functionCount) {
+        return rowCount * (groupKeyCount + functionCount) * HASH_AGGREGATE_CPU_MULTIPLIER;
+    }
+
+    /**
+     * Get the number of groups produced by aggregation.
+     *
+     * @param rowCount Input row count.
+     * @param groupKeyCount Number of the group key columns.
+     * @param distinctRowCount Number of the distinct group keys if known, {@code null} otherwise.
+     * @return Number of groups.
+     */
+    public static double getAggregateRowCount(double rowCount, int groupKeyCount, Double distinctRowCount) {
+        if (groupKeyCount == 0) {
+            // Aggregation without the group key produces a single row.
+            return 1;
+        }
+
+        if (distinctRowCount != null) {
+            return Math.min(distinctRowCount, rowCount);
+        }
+
+        return Math.max(1, rowCount * UNKNOWN_GROUP_RATIO);
+    }
+
+    /**
+     * Get the CPU cost of hash join: every row of the build (right) side is inserted into the hash table, and then
+     * every row of the probe (left) side is looked up in it.
+     *
+     * @param leftRowCount Row count of the probe side.
+     * @param rightRowCount Row count of the build side.
+     * @return CPU cost.
+     */
+    public static double getHashJoinCpu(double leftRowCount, double rightRowCount) {
+        return leftRowCount + rightRowCount * HASH_JOIN_BUILD_CPU_MULTIPLIER;
+    }
+
     public static int getEstimatedRowWidth(RelNode rel) {
         int res = 0;
 
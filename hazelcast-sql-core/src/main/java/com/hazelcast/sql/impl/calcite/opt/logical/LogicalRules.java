@@ -16,8 +16,10 @@
 
 package com.hazelcast.sql.impl.calcite.opt.logical;
 
+import org.apache.calcite.rel.rules.FilterJoinRule;
 import org.apache.calcite.rel.rules.FilterMergeRule;
 import org.apache.calcite.rel.rules.FilterProjectTransposeRule;
+import org.apache.calcite.rel.rules.JoinPushExpressionsRule;
 import org.apache.calcite.rel.rules.ProjectFilterTransposeRule;
 import org.apache.calcite.rel.rules.ProjectJoinTransposeRule;
 import org.apache.calcite.rel.rules.ProjectMergeRule;
@@ -41,6 +43,11 @@ public final class LogicalRules {
             FilterProjectTransposeRule.INSTANCE,
             FilterIntoScanLogicalRule.INSTANCE,
 
+            // Join rules.
+            FilterJoinRule.FILTER_ON_JOIN,
+            FilterJoinRule.JOIN,
+            JoinPushExpressionsRule.INSTANCE,
+
             // Project rules.
             ProjectMergeRule.INSTANCE,
             ProjectRemoveRule.INSTANCE,
@@ -58,7 +65,9 @@ public final class LogicalRules {
             ProjectLogicalRule.INSTANCE,
             ValuesLogicalRule.INSTANCE,
 
-            SortLogicalRule.INSTANCE
+            SortLogicalRule.INSTANCE,
+            AggregateLogicalRule.INSTANCE,
+            JoinLogicalRule.INSTANCE
         );
     }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.ImmutableBitSet;
+
+import java.util.List;
+
+/**
+ * Physical hash aggregation.
+ * <p>
+ * If the input is distributed between the members, the aggregation is split into the {@link AggregatePhase#LOCAL}
+ * phase producing the partial results on every member and the {@link AggregatePhase#FINAL} phase combining them after
+ * an exchange. The group key columns of the partial results precede the partial columns of the functions, so the
+ * final phase always groups by the leading columns of its input.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: destroyed, since the groups are emitted in the hash table order</li>
+ *     <li><b>Distribution</b>: propagated from the input</li>
+ * </ul>
+ */
+public class AggregatePhysicalRel extends SingleRel implements PhysicalRel {
+
+    private final ImmutableBitSet groupSet;
+    private final List<AggregateCall> aggCalls;
+    private final AggregatePhase phase;
+
+    public AggregatePhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode input,
+        RelDataType rowType,
+        ImmutableBitSet groupSet,
+        List<AggregateCall> aggCalls,
+        AggregatePhase phase
+    ) {
+        super(cluster, traits, input);
+
+        this.rowType = rowType;
+        this.groupSet = groupSet;
+        this.aggCalls = aggCalls;
+        this.phase = phase;
+    }
+
+    public ImmutableBitSet getGroupSet() {
+        return groupSet;
+    }
+
+    public List<AggregateCall> getAggCalls() {
+        return aggCalls;
+    }
+
+    public AggregatePhase getPhase() {
+        return phase;
+    }
+
+    @Override
+    public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new AggregatePhysicalRel(getCluster(), traitSet, sole(inputs), rowType, groupSet, aggCalls, phase);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) input).visit(visitor);
+
+        visitor.onAggregate(this);
+    }
+
+    @Override
+    public final RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+            .item("group", groupSet)
+            .item("aggCalls", aggCalls)
+            .item("phase", phase);
+    }
+
+    @Override
+    public double estimateRowCount(RelMetadataQuery mq) {
+        double inputRowCount = mq.getRowCount(input);
+
+        if (phase.isPartialInput()) {
+            // The partial results were already reduced to the distinct groups of every member.
+            return inputRowCount;
+        }
+
+        return CostUtils.getAggregateRowCount(
+            inputRowCount,
+            groupSet.cardinality(),
+            mq.getDistinctRowCount(input, groupSet, null)
+        );
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double rows = mq.getRowCount(this);
+        double cpu = CostUtils.getAggregateCpu(mq.getRowCount(input), groupSet.cardinality(), aggCalls.size());
+
+        return planner.getCostFactory().makeCost(rows, cpu, 0);
+    }
+
+    /**
+     * Create the row type of the partial results produced by the local phase of the aggregation.
+     *
+     * @param typeFactory Type factory.
+     * @param inputRowType Row type of the input of the aggregation.
+     * @param groupSet Group key.
+     * @param aggCalls Aggregate calls.
+     * @return Group key columns followed by the partial columns of every call.
+     */
+    public static RelDataType createPartialRowType(
+        RelDataTypeFactory typeFactory,
+        RelDataType inputRowType,
+        ImmutableBitSet groupSet,
+        List<AggregateCall> aggCalls
+    ) {
+        RelDataTypeFactory.Builder builder = typeFactory.builder();
+
+        int index = 0;
+
+        for (int groupIndex : groupSet) {
+            RelDataTypeField field = inputRowType.getFieldList().get(groupIndex);
+
+            builder.add("$p" + index++, field.getType());
+        }
+
+        for (AggregateCall aggCall : aggCalls) {
+            if (aggCall.getAggregation().getKind() == SqlKind.AVG) {
+                // The sum and the count of the non-null values
+                SqlTypeName resultTypeName = aggCall.getType().getSqlTypeName();
+                SqlTypeName sumTypeName = resultTypeName == SqlTypeName.DOUBLE || resultTypeName == SqlTypeName.REAL
+                    ? SqlTypeName.DOUBLE : SqlTypeName.DECIMAL;
+
+                RelDataType sumType = typeFactory.createTypeWithNullability(typeFactory.createSqlType(sumTypeName), true);
+                RelDataType countType = typeFactory.createSqlType(SqlTypeName.BIGINT);
+
+                builder.add("$p" + index++, sumType);
+                builder.add("$p" + index++, countType);
+            } else {
+                builder.add("$p" + index++, aggCall.getType());
+            }
+        }
+
+        return builder.build();
+    }
+}
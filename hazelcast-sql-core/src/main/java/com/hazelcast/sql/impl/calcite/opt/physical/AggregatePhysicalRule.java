@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTrait;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.logical.AggregateLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.ImmutableIntList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The rule that converts logical aggregation into its physical counterpart.
+ * <p>
+ * If every member has the full input, the aggregation is performed in a single phase. Otherwise the input is
+ * pre-aggregated locally on every member, and the partial results are combined after an exchange. Two exchanges
+ * are considered: the unicast exchange which spreads the groups between the members by the hash of the group key,
+ * so the final phase runs on all of them in parallel, and the root exchange which combines all the groups on a
+ * single member. The latter is the only option for the aggregation without a group key, or with a group key whose
+ * hash may differ between the members.
+ */
+public final class AggregatePhysicalRule extends RelOptRule {
+    public static final RelOptRule INSTANCE = new AggregatePhysicalRule();
+
+    private AggregatePhysicalRule() {
+        super(
+            OptUtils.parentChild(AggregateLogicalRel.class, RelNode.class, HazelcastConventions.LOGICAL),
+            AggregatePhysicalRule.class.getSimpleName()
+        );
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        AggregateLogicalRel logicalAgg = call.rel(0);
+        RelNode input = logicalAgg.getInput();
+
+        for (RelNode transform : getTransforms(logicalAgg, input)) {
+            call.transformTo(transform);
+        }
+    }
+
+    private static Collection<RelNode> getTransforms(AggregateLogicalRel logicalAgg, RelNode convertedInput) {
+        List<RelNode> res = new ArrayList<>(2);
+
+        for (RelNode physicalInput : OptUtils.getPhysicalRelsFromSubset(convertedInput)) {
+            DistributionTrait physicalInputDist = OptUtils.getDistribution(physicalInput);
+
+            if (physicalInputDist.isFullResultSetOnAllParticipants()) {
+                res.add(createAggregate(
+                    logicalAgg,
+                    physicalInput,
+                    logicalAgg.getRowType(),
+                    logicalAgg.getGroupSet(),
+                    AggregatePhase.COMPLETE
+                ));
+
+                continue;
+            }
+
+            RelDataType partialRowType = AggregatePhysicalRel.createPartialRowType(
+                logicalAgg.getCluster().getTypeFactory(),
+                physicalInput.getRowType(),
+                logicalAgg.getGroupSet(),
+                logicalAgg.getAggCallList()
+            );
+
+            RelNode localAgg = createAggregate(
+                logicalAgg,
+                physicalInput,
+                partialRowType,
+                logicalAgg.getGroupSet(),
+                AggregatePhase.LOCAL
+            );
+
+            // The group key columns are the leading columns of the partial results.
+            int groupKeyCount = logicalAgg.getGroupCount();
+            ImmutableBitSet finalGroupSet = ImmutableBitSet.range(groupKeyCount);
+
+            DistributionTraitDef distributionTraitDef = OptUtils.getDistributionDef(physicalInput);
+
+            if (groupKeyCount > 0 && OptUtils.isHashDeterministic(localAgg, ImmutableIntList.range(0, groupKeyCount))) {
+                RelNode unicastExchange = new UnicastExchangePhysicalRel(
+                    logicalAgg.getCluster(),
+                    OptUtils.traitPlus(localAgg.getTraitSet(), distributionTraitDef.getTraitPartitionedUnknown()),
+                    localAgg,
+                    ImmutableIntList.range(0, groupKeyCount)
+                );
+
+                res.add(createAggregate(
+                    logicalAgg,
+                    unicastExchange,
+                    logicalAgg.getRowType(),
+                    finalGroupSet,
+                    AggregatePhase.FINAL
+                ));
+            }
+
+            RelNode rootExchange = new RootExchangePhysicalRel(
+                logicalAgg.getCluster(),
+                OptUtils.traitPlus(localAgg.getTraitSet(), distributionTraitDef.getTraitRoot()),
+                localAgg
+            );
+
+            res.add(createAggregate(
+                logicalAgg,
+                rootExchange,
+                logicalAgg.getRowType(),
+                finalGroupSet,
+                AggregatePhase.FINAL
+            ));
+        }
+
+        return res;
+    }
+
+    private static AggregatePhysicalRel createAggregate(
+        AggregateLogicalRel logicalAgg,
+        RelNode physicalInput,
+        RelDataType rowType,
+        ImmutableBitSet groupSet,
+        AggregatePhase phase
+    ) {
+        // Input distribution is propagated, but the collation is destroyed.
+        RelTraitSet traitSet = OptUtils.traitPlus(physicalInput.getTraitSet(), RelCollations.EMPTY);
+
+        return new AggregatePhysicalRel(
+            logicalAgg.getCluster(),
+            traitSet,
+            physicalInput,
+            rowType,
+            groupSet,
+            logicalAgg.getAggCallList(),
+            phase
+        );
+    }
+}
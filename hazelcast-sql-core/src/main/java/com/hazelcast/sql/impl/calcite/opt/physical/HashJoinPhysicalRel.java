@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.Collections;
+
+/**
+ * Physical hash join.
+ * <p>
+ * The right input is the build side which is put into a hash table by the equi-join keys, the left input is the probe
+ * side. The rest of the join condition is evaluated on the matching pairs of rows. Only inner and left outer joins are
+ * supported, so the rows of the left input are never needed on more than one member.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: destroyed, since the matches are emitted in the hash table order</li>
+ *     <li><b>Distribution</b>: chosen by {@link JoinPhysicalRule} depending on the distribution of the inputs</li>
+ * </ul>
+ */
+public class HashJoinPhysicalRel extends Join implements PhysicalRel {
+    public HashJoinPhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode left,
+        RelNode right,
+        RexNode condition,
+        JoinRelType joinType
+    ) {
+        super(cluster, traits, Collections.emptyList(), left, right, condition, Collections.emptySet(), joinType);
+    }
+
+    @Override
+    public Join copy(
+        RelTraitSet traitSet,
+        RexNode conditionExpr,
+        RelNode left,
+        RelNode right,
+        JoinRelType joinType,
+        boolean semiJoinDone
+    ) {
+        return new HashJoinPhysicalRel(getCluster(), traitSet, left, right, conditionExpr, joinType);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) left).visit(visitor);
+        ((PhysicalRel) right).visit(visitor);
+
+        visitor.onHashJoin(this);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double rows = mq.getRowCount(this);
+        double cpu = CostUtils.getHashJoinCpu(mq.getRowCount(left), mq.getRowCount(right));
+
+        return planner.getCostFactory().makeCost(rows, cpu, 0);
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.AbstractFilterRel;
+import com.hazelcast.sql.impl.calcite.opt.AbstractMapScanRel;
+import com.hazelcast.sql.impl.calcite.opt.AbstractProjectRel;
+import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTrait;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType;
+import com.hazelcast.sql.impl.calcite.opt.logical.JoinLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.BroadcastExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.AbstractMapTable;
+import com.hazelcast.sql.impl.schema.map.MapTableField;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.plan.volcano.RelSubset;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The rule that converts logical join into physical hash join.
+ * <p>
+ * The right input is always the build side. Depending on the distribution of the inputs, the following alternatives
+ * are considered:
+ * <ol>
+ *     <li>If both inputs have the full result set on all participants, or the right input is replicated, the join is
+ *     performed in place</li>
+ *     <li>If both inputs are joined on the keys of the maps partitioned in the same way (co-located join), the matching
+ *     rows are always on the same member, so the join is performed in place as well</li>
+ *     <li>Otherwise the right input is broadcast to all members (broadcast join), which is cheap when it is small</li>
+ *     <li>Or both inputs are repartitioned by the hash of the join keys (hash join with repartitioning), which is
+ *     cheaper when both inputs are large. This is possible only if the hashes of the join keys are the same on all
+ *     members</li>
+ * </ol>
+ * The left input is never broadcast, since the unmatched rows of the left outer join would be emitted more than once.
+ */
+public final class JoinPhysicalRule extends RelOptRule {
+    public static final RelOptRule INSTANCE = new JoinPhysicalRule();
+
+    /** Types whose values are equal in SQL only if their serialized forms are equal, so they end up in the same partition. */
+    private static final Set<QueryDataTypeFamily> CO_LOCATED_KEY_TYPES = EnumSet.of(
+        QueryDataTypeFamily.VARCHAR,
+        QueryDataTypeFamily.BOOLEAN,
+        QueryDataTypeFamily.TINYINT,
+        QueryDataTypeFamily.SMALLINT,
+        QueryDataTypeFamily.INTEGER,
+        QueryDataTypeFamily.BIGINT,
+        QueryDataTypeFamily.DATE,
+        QueryDataTypeFamily.TIME,
+        QueryDataTypeFamily.TIMESTAMP
+    );
+
+    private JoinPhysicalRule() {
+        super(
+            operand(
+                JoinLogicalRel.class,
+                HazelcastConventions.LOGICAL,
+                some(operand(RelNode.class, any()), operand(RelNode.class, any()))
+            ),
+            JoinPhysicalRule.class.getSimpleName()
+        );
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        JoinLogicalRel logicalJoin = call.rel(0);
+
+        for (RelNode physicalLeft : OptUtils.getPhysicalRelsFromSubset(logicalJoin.getLeft())) {
+            for (RelNode physicalRight : OptUtils.getPhysicalRelsFromSubset(logicalJoin.getRight())) {
+                for (RelNode transform : getTransforms(logicalJoin, physicalLeft, physicalRight)) {
+                    call.transformTo(transform);
+                }
+            }
+        }
+    }
+
+    private static Collection<RelNode> getTransforms(JoinLogicalRel logicalJoin, RelNode left, RelNode right) {
+        List<RelNode> res = new ArrayList<>(2);
+
+        DistributionTrait leftDist = OptUtils.getDistribution(left);
+        DistributionTrait rightDist = OptUtils.getDistribution(right);
+
+        if (leftDist.isFullResultSetOnAllParticipants() && rightDist.isFullResultSetOnAllParticipants()) {
+            // The join is performed on the root if either of the inputs is there.
+            res.add(createJoin(logicalJoin, left, right, rightDist.getType() == DistributionType.ROOT ? rightDist : leftDist));
+
+            return res;
+        }
+
+        if (rightDist.getType() == DistributionType.REPLICATED) {
+            res.add(createJoin(logicalJoin, left, right, leftDist));
+
+            return res;
+        }
+
+        JoinInfo joinInfo = logicalJoin.analyzeCondition();
+        DistributionTraitDef distributionTraitDef = OptUtils.getDistributionDef(left);
+
+        boolean partitioned = leftDist.getType() == DistributionType.PARTITIONED
+            && rightDist.getType() == DistributionType.PARTITIONED;
+
+        if (partitioned && isCoLocated(joinInfo, left, right)) {
+            res.add(createJoin(logicalJoin, left, right, leftDist));
+
+            return res;
+        }
+
+        // Broadcast join.
+        RelNode broadcastRight = new BroadcastExchangePhysicalRel(
+            logicalJoin.getCluster(),
+            OptUtils.traitPlus(right.getTraitSet(), distributionTraitDef.getTraitReplicated(), RelCollations.EMPTY),
+            right
+        );
+
+        res.add(createJoin(logicalJoin, left, broadcastRight, leftDist));
+
+        // Hash join with repartitioning.
+        if (partitioned && !joinInfo.leftKeys.isEmpty()
+            && OptUtils.isHashDeterministic(left, joinInfo.leftKeys)
+            && OptUtils.isHashDeterministic(right, joinInfo.rightKeys)) {
+            DistributionTrait partitionedDist = distributionTraitDef.getTraitPartitionedUnknown();
+
+            RelNode unicastLeft = new UnicastExchangePhysicalRel(
+                logicalJoin.getCluster(),
+                OptUtils.traitPlus(left.getTraitSet(), partitionedDist, RelCollations.EMPTY),
+                left,
+                joinInfo.leftKeys
+            );
+
+            RelNode unicastRight = new UnicastExchangePhysicalRel(
+                logicalJoin.getCluster(),
+                OptUtils.traitPlus(right.getTraitSet(), partitionedDist, RelCollations.EMPTY),
+                right,
+                joinInfo.rightKeys
+            );
+
+            res.add(createJoin(logicalJoin, unicastLeft, unicastRight, partitionedDist));
+        }
+
+        return res;
+    }
+
+    private static HashJoinPhysicalRel createJoin(
+        JoinLogicalRel logicalJoin,
+        RelNode physicalLeft,
+        RelNode physicalRight,
+        DistributionTrait distribution
+    ) {
+        // The collation is destroyed, since the matches are emitted in the hash table order.
+        RelTraitSet traitSet = OptUtils.traitPlus(
+            OptUtils.toPhysicalConvention(logicalJoin.getTraitSet(), distribution),
+            RelCollations.EMPTY
+        );
+
+        return new HashJoinPhysicalRel(
+            logicalJoin.getCluster(),
+            traitSet,
+            physicalLeft,
+            physicalRight,
+            logicalJoin.getCondition(),
+            logicalJoin.getJoinType()
+        );
+    }
+
+    /**
+     * Check whether the matching rows of the inputs are always located on the same member. This is the case when
+     * the inputs are joined on the keys of maps with the default partitioning strategy, and the keys are of the same
+     * type having a deterministic serialized form.
+     */
+    private static boolean isCoLocated(JoinInfo joinInfo, RelNode left, RelNode right) {
+        for (int i = 0; i < joinInfo.leftKeys.size(); i++) {
+            MapTableField leftField = getMapKeyField(left, joinInfo.leftKeys.get(i), newVisitedSet());
+            MapTableField rightField = getMapKeyField(right, joinInfo.rightKeys.get(i), newVisitedSet());
+
+            if (leftField != null && rightField != null
+                && leftField.getType().equals(rightField.getType())
+                && CO_LOCATED_KEY_TYPES.contains(leftField.getType().getTypeFamily())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Trace the given column of the given rel to the key of a partitioned map with the default partitioning strategy.
+     *
+     * @return the key field, or {@code null} if the column is not known to be such a key.
+     */
+    private static MapTableField getMapKeyField(RelNode rel, int index, Set<RelNode> visited) {
+        if (rel instanceof RelSubset) {
+            if (!visited.add(rel)) {
+                return null;
+            }
+
+            for (RelNode subsetRel : ((RelSubset) rel).getRelList()) {
+                MapTableField res = getMapKeyField(subsetRel, index, visited);
+
+                if (res != null) {
+                    return res;
+                }
+            }
+
+            return null;
+        }
+
+        if (rel instanceof AbstractMapScanRel) {
+            AbstractMapScanRel scan = (AbstractMapScanRel) rel;
+            AbstractMapTable map = scan.getMap();
+
+            if (!(map instanceof PartitionedMapTable) || !((PartitionedMapTable) map).isDefaultPartitioning()) {
+                return null;
+            }
+
+            TableField field = map.getField(scan.getTableUnwrapped().getProjects().get(index));
+
+            if (field instanceof MapTableField && QueryPath.KEY_PATH.equals(((MapTableField) field).getPath())) {
+                return (MapTableField) field;
+            }
+
+            return null;
+        }
+
+        if (rel instanceof AbstractProjectRel) {
+            AbstractProjectRel project = (AbstractProjectRel) rel;
+            RexNode expression = project.getProjects().get(index);
+
+            if (!(expression instanceof RexInputRef)) {
+                return null;
+            }
+
+            return getMapKeyField(project.getInput(), ((RexInputRef) expression).getIndex(), visited);
+        }
+
+        if (rel instanceof AbstractFilterRel) {
+            return getMapKeyField(((AbstractFilterRel) rel).getInput(), index, visited);
+        }
+
+        return null;
+    }
+
+    private static Set<RelNode> newVisitedSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTrait;
+import com.hazelcast.sql.impl.calcite.opt.logical.MapScanLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.index.IndexRexVisitor;
+import com.hazelcast.sql.impl.calcite.validate.types.HazelcastTypeUtils;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.AbstractMapTable;
+import com.hazelcast.sql.impl.schema.map.MapTableField;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import com.hazelcast.sql.impl.type.QueryDataTypeUtils;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Helper class to resolve the key lookup for the map scan.
+ * <p>
+ * The lookup is possible when one of the conjuncts of the scan filter is either {@code __key = <exp>}, or a disjunction of
+ * such equalities, e.g. {@code __key = 1 OR __key = 2}, which is also the form of {@code __key IN (1, 2)}. The expressions
+ * on the other side must not refer to the columns of the map.
+ */
+final class KeyLookupResolver {
+
+    private KeyLookupResolver() {
+        // No-op.
+    }
+
+    /**
+     * Creates a key lookup for the scan.
+     *
+     * @param scan scan
+     * @param distribution distribution trait of the physical node
+     * @return the key lookup, or {@code null} if the filter of the scan doesn't restrict the key
+     */
+    static MapKeyLookupPhysicalRel createKeyLookup(MapScanLogicalRel scan, DistributionTrait distribution) {
+        RexNode filter = scan.getTableUnwrapped().getFilter();
+
+        if (filter == null) {
+            return null;
+        }
+
+        AbstractMapTable table = scan.getMap();
+
+        int keyFieldIndex = getKeyFieldIndex(table);
+
+        if (keyFieldIndex == -1) {
+            return null;
+        }
+
+        QueryDataType keyType = table.getField(keyFieldIndex).getType();
+
+        if (!isSupportedKeyType(keyType)) {
+            return null;
+        }
+
+        List<RexNode> conjunctions = new ArrayList<>(1);
+
+        RelOptUtil.decomposeConjunction(filter, conjunctions);
+
+        for (RexNode conjunction : conjunctions) {
+            List<RexNode> keys = resolveKeys(conjunction, keyFieldIndex);
+
+            if (keys != null) {
+                return new MapKeyLookupPhysicalRel(
+                    scan.getCluster(),
+                    OptUtils.toPhysicalConvention(scan.getTraitSet(), distribution),
+                    scan.getTable(),
+                    keyType,
+                    keys
+                );
+            }
+        }
+
+        return null;
+    }
+
+    private static int getKeyFieldIndex(AbstractMapTable table) {
+        for (int i = 0; i < table.getFieldCount(); i++) {
+            TableField field = table.getField(i);
+
+            if (field instanceof MapTableField && ((MapTableField) field).getPath().equals(QueryPath.KEY_PATH)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Only the types, for which the serialized form of the key doesn't depend on the way the value was produced, are
+     * supported. E.g. {@code 1.0} and {@code 1.00} are equal DECIMAL values, but their serialized forms are different.
+     */
+    private static boolean isSupportedKeyType(QueryDataType type) {
+        return type.equals(QueryDataType.VARCHAR)
+            || type.equals(QueryDataType.BOOLEAN)
+            || type.equals(QueryDataType.TINYINT)
+            || type.equals(QueryDataType.SMALLINT)
+            || type.equals(QueryDataType.INT)
+            || type.equals(QueryDataType.BIGINT);
+    }
+
+    private static List<RexNode> resolveKeys(RexNode node, int keyFieldIndex) {
+        switch (node.getKind()) {
+            case EQUALS:
+                RexNode key = resolveKey((RexCall) node, keyFieldIndex);
+
+                return key != null ? singletonList(key) : null;
+
+            case OR:
+                List<RexNode> keys = new ArrayList<>();
+
+                for (RexNode operand : ((RexCall) node).getOperands()) {
+                    List<RexNode> operandKeys = resolveKeys(operand, keyFieldIndex);
+
+                    if (operandKeys == null) {
+                        // At least one of the disjuncts doesn't restrict the key.
+                        return null;
+                    }
+
+                    keys.addAll(operandKeys);
+                }
+
+                return keys;
+
+            default:
+                return null;
+        }
+    }
+
+    private static RexNode resolveKey(RexCall node, int keyFieldIndex) {
+        RexNode operand1 = node.getOperands().get(0);
+        RexNode operand2 = node.getOperands().get(1);
+
+        if (isKeyField(operand2, keyFieldIndex)) {
+            RexNode tmp = operand1;
+            operand1 = operand2;
+            operand2 = tmp;
+        }
+
+        if (!isKeyField(operand1, keyFieldIndex) || !IndexRexVisitor.isValid(operand2)) {
+            return null;
+        }
+
+        return operand2;
+    }
+
+    /**
+     * Checks whether the operand is the key field, possibly with the widening numeric {@code CAST}, which may appear due to
+     * type coercion. E.g. {@code CAST(__key AS BIGINT) = ?}, where {@code __key} is {@code INT}.
+     */
+    private static boolean isKeyField(RexNode node, int keyFieldIndex) {
+        if (node.getKind() == SqlKind.CAST) {
+            RexNode from = ((RexCall) node).getOperands().get(0);
+
+            if (!isWideningCast(from.getType(), node.getType())) {
+                return false;
+            }
+
+            node = from;
+        }
+
+        return node instanceof RexInputRef && ((RexInputRef) node).getIndex() == keyFieldIndex;
+    }
+
+    private static boolean isWideningCast(RelDataType fromType, RelDataType toType) {
+        if (fromType.equals(toType)) {
+            return true;
+        }
+
+        QueryDataTypeFamily fromFamily = HazelcastTypeUtils.toHazelcastType(fromType.getSqlTypeName()).getTypeFamily();
+        QueryDataTypeFamily toFamily = HazelcastTypeUtils.toHazelcastType(toType.getSqlTypeName()).getTypeFamily();
+
+        return QueryDataTypeUtils.isNumeric(fromFamily)
+            && QueryDataTypeUtils.isNumeric(toFamily)
+            && toFamily.getPrecedence() > fromFamily.getPrecedence();
+    }
+}
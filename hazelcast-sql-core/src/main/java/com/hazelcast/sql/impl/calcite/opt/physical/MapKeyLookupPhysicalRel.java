@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.List;
+
+/**
+ * Lookup of partitioned map entries by their keys.
+ * <p>
+ * Created when the scan filter restricts the key to a set of constants or parameters, e.g. {@code __key = ?} or
+ * {@code __key IN (1, 2)}. Only the partitions of the keys are accessed, and the whole filter is still applied to the found
+ * entries.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: empty, as entries are returned in no particular order</li>
+ *     <li><b>Distribution</b>: PARTITIONED</li>
+ * </ul>
+ */
+public class MapKeyLookupPhysicalRel extends AbstractMapScanPhysicalRel {
+
+    /** Type of the key field. */
+    private final QueryDataType keyType;
+
+    /** Expressions of the keys, which do not depend on the entries of the map. */
+    private final List<RexNode> keys;
+
+    public MapKeyLookupPhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        RelOptTable table,
+        QueryDataType keyType,
+        List<RexNode> keys
+    ) {
+        super(cluster, traitSet, table);
+
+        this.keyType = keyType;
+        this.keys = keys;
+    }
+
+    public QueryDataType getKeyType() {
+        return keyType;
+    }
+
+    public List<RexNode> getKeys() {
+        return keys;
+    }
+
+    @Override
+    public final RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new MapKeyLookupPhysicalRel(getCluster(), traitSet, getTable(), keyType, keys);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        visitor.onMapKeyLookup(this);
+    }
+
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw).item("keys", keys);
+    }
+
+    @Override
+    public double estimateRowCount(RelMetadataQuery mq) {
+        return Math.min(keys.size(), table.getRowCount());
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        HazelcastTable table0 = getTableUnwrapped();
+
+        // Every key is looked up once, at most one entry is found per key.
+        double lookupRowCount = Math.min(keys.size(), table0.getTotalRowCount());
+
+        return computeSelfCost(
+            planner,
+            lookupRowCount,
+            CostUtils.KEY_LOOKUP_CPU_MULTIPLIER,
+            table0.getFilter() != null,
+            Math.min(lookupRowCount, table.getRowCount()),
+            table0.getProjects().size()
+        );
+    }
+}
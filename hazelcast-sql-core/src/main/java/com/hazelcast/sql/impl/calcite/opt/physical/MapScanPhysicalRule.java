@@ -65,6 +65,13 @@ public final class MapScanPhysicalRule extends RelOptRule {
         if (!table.isHd()) {
             // Add normal map scan. For HD, Map scan is not supported
             transforms.add(mapScan);
+
+            // Try adding key lookup.
+            RelNode keyLookup = KeyLookupResolver.createKeyLookup(scan, distribution);
+
+            if (keyLookup != null) {
+                transforms.add(keyLookup);
+            }
         }
 
         // Try adding index scans.
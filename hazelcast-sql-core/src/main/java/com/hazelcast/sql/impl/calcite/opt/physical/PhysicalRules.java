@@ -35,6 +35,8 @@ public final class PhysicalRules {
             MapScanPhysicalRule.INSTANCE,
             ValuesPhysicalRule.INSTANCE,
             SortPhysicalRule.INSTANCE,
+            AggregatePhysicalRule.INSTANCE,
+            JoinPhysicalRule.INSTANCE,
             ExpandConversionRule.INSTANCE
         );
     }
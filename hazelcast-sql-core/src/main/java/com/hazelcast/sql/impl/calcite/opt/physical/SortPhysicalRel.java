@@ -26,8 +26,8 @@ import org.apache.calcite.rel.core.Sort;
 import org.apache.calcite.rex.RexNode;
 
 /**
- * Physical sort performed locally. Throws unsupported exception at runtime if actual sorting
- * is required.
+ * Physical sort performed locally. Sorts the input if it is not pre-sorted, otherwise only applies the
+ * offset and the limit.
  */
 public class SortPhysicalRel extends Sort implements PhysicalRel {
 
@@ -28,17 +28,21 @@ import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelCollationTraitDef;
 import org.apache.calcite.rel.RelFieldCollation;
 import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
 /**
- * The rule that converts logical sort into its physical counterpart. In the current release
- * we support only a limited case that relies on the locally pre-sorted indexes to avoid local sorting.
+ * The rule that converts logical sort into its physical counterpart. The local sorting is avoided
+ * if the input is pre-sorted by an index, otherwise the input is sorted locally.
  * <p>
  * However, if the input is located on a few nodes, and extra merge sort {@link SortMergeExchangePhysicalRel}
- * is created to sort locally pre-sorted entries.
+ * is created to sort locally sorted entries. The local sort then returns only the rows that could be
+ * fetched or skipped by the merge.
  */
 public final class SortPhysicalRule extends RelOptRule {
     public static final RelOptRule INSTANCE = new SortPhysicalRule();
@@ -106,8 +110,7 @@ public final class SortPhysicalRule extends RelOptRule {
         }
 
         // Pick up a plan that doesn't require local sorting,
-        // otherwise an exception will be thrown when local sort
-        // is touched in runtime.
+        // because merging of the pre-sorted input is cheaper.
         if (noLocalSortRels.size() > 0) {
             return noLocalSortRels;
         } else {
@@ -163,10 +166,38 @@ public final class SortPhysicalRule extends RelOptRule {
             logicalSort.getCollation(),
             requiresLocalSort,
             isFullResultOnAll ? logicalSort.offset : null,
-            isFullResultOnAll ? logicalSort.fetch : null
+            isFullResultOnAll ? logicalSort.fetch : createLocalFetch(logicalSort)
         );
     }
 
+    /**
+     * Create the limit of the local sort which is followed by the merging phase. Every member returns no more
+     * rows than the merging phase fetches and skips, so that only the top rows are sorted locally.
+     *
+     * @return Sum of fetch and offset, or {@code null} if the number of rows is not limited.
+     */
+    private static RexNode createLocalFetch(SortLogicalRel logicalSort) {
+        RexNode fetch = logicalSort.fetch;
+        RexNode offset = logicalSort.offset;
+
+        if (fetch == null || offset == null) {
+            return fetch;
+        }
+
+        if (!(fetch instanceof RexLiteral) || !(offset instanceof RexLiteral)) {
+            return null;
+        }
+
+        BigDecimal localFetch = ((RexLiteral) fetch).getValueAs(BigDecimal.class)
+            .add(((RexLiteral) offset).getValueAs(BigDecimal.class));
+
+        if (localFetch.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) {
+            return null;
+        }
+
+        return logicalSort.getCluster().getRexBuilder().makeExactLiteral(localFetch);
+    }
+
     private static RelNode createMerge(RelNode physicalInput, SortLogicalRel logicalSort) {
         RelTraitSet traitSet = OptUtils.traitPlus(physicalInput.getTraitSet(),
             logicalSort.getCollation(),
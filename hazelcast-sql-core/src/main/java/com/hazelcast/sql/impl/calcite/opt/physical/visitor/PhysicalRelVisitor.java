@@ -16,15 +16,20 @@
 
 package com.hazelcast.sql.impl.calcite.opt.physical.visitor;
 
+import com.hazelcast.sql.impl.calcite.opt.physical.AggregatePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.FilterPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.HashJoinPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.MapIndexScanPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.MapKeyLookupPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.MapScanPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.ProjectPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.RootPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.SortPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.ValuesPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.BroadcastExchangePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
 
 /**
  * Visitor over physical relations.
@@ -33,10 +38,15 @@ public interface PhysicalRelVisitor {
     void onRoot(RootPhysicalRel rel);
     void onMapScan(MapScanPhysicalRel rel);
     void onMapIndexScan(MapIndexScanPhysicalRel rel);
+    void onMapKeyLookup(MapKeyLookupPhysicalRel rel);
     void onRootExchange(RootExchangePhysicalRel rel);
     void onProject(ProjectPhysicalRel rel);
     void onFilter(FilterPhysicalRel rel);
     void onValues(ValuesPhysicalRel rel);
     void onSort(SortPhysicalRel rel);
     void onSortMergeExchange(SortMergeExchangePhysicalRel rel);
+    void onAggregate(AggregatePhysicalRel rel);
+    void onUnicastExchange(UnicastExchangePhysicalRel rel);
+    void onHashJoin(HashJoinPhysicalRel rel);
+    void onBroadcastExchange(BroadcastExchangePhysicalRel rel);
 }
@@ -24,8 +24,11 @@ import com.hazelcast.sql.SqlRowMetadata;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryParameterMetadata;
 import com.hazelcast.sql.impl.QueryUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.AggregatePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.FilterPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.HashJoinPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.MapIndexScanPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.MapKeyLookupPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.MapScanPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.PhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.ProjectPhysicalRel;
@@ -33,34 +36,49 @@ import com.hazelcast.sql.impl.calcite.opt.physical.RootPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.SortPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.ValuesPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.AbstractExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.BroadcastExchangePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
 import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
 import com.hazelcast.sql.impl.calcite.validate.types.HazelcastTypeUtils;
+import com.hazelcast.sql.impl.exec.agg.AggregateFunction;
+import com.hazelcast.sql.impl.exec.agg.AggregateKind;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
+import com.hazelcast.sql.impl.expression.CastExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.plan.Plan;
 import com.hazelcast.sql.impl.plan.PlanFragmentMapping;
 import com.hazelcast.sql.impl.plan.cache.PlanCacheKey;
 import com.hazelcast.sql.impl.plan.cache.PlanObjectKey;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
 import com.hazelcast.sql.impl.plan.node.EmptyPlanNode;
 import com.hazelcast.sql.impl.plan.node.FetchOffsetPlanNodeFieldTypeProvider;
 import com.hazelcast.sql.impl.plan.node.FetchPlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapKeyLookupPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNodeFieldTypeProvider;
 import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.SendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 import com.hazelcast.sql.impl.schema.map.AbstractMapTable;
 import com.hazelcast.sql.impl.schema.map.MapTableField;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.rex.RexNode;
@@ -108,6 +126,8 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
     private SqlRowMetadata rowMetadata;
     private final Set<PlanObjectKey> objectIds = new HashSet<>();
     private final Set<String> mapNames = new HashSet<>();
+    private final List<MapKeyLookupPlanNode> keyLookups = new ArrayList<>();
+    private boolean fullScan;
 
     public PlanCreateVisitor(
         UUID localMemberId,
@@ -172,7 +192,8 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
             parameterMetadata,
             planKey,
             objectIds,
-            permissions
+            permissions,
+            fullScan || keyLookups.isEmpty() ? null : keyLookups
         );
     }
 
@@ -229,6 +250,8 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
 
         objectIds.add(table.getObjectKey());
         mapNames.add(table.getMapName());
+
+        fullScan = true;
     }
 
     @Override
@@ -258,14 +281,71 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
 
         objectIds.add(table.getObjectKey());
         mapNames.add(table.getMapName());
+
+        fullScan = true;
+    }
+
+    @Override
+    public void onMapKeyLookup(MapKeyLookupPhysicalRel rel) {
+        HazelcastTable hazelcastTable = rel.getTableUnwrapped();
+        AbstractMapTable table = rel.getMap();
+
+        PlanNodeSchema schemaBefore = getScanSchemaBeforeProject(table);
+
+        List<Expression<?>> keys = new ArrayList<>(rel.getKeys().size());
+
+        for (RexNode rexKey : rel.getKeys()) {
+            Expression<?> key = convertExpression(schemaBefore, rexKey);
+
+            if (!key.getType().equals(rel.getKeyType())) {
+                key = CastExpression.create(key, rel.getKeyType());
+            }
+
+            keys.add(key);
+        }
+
+        MapKeyLookupPlanNode lookupNode = new MapKeyLookupPlanNode(
+            pollId(rel),
+            table.getMapName(),
+            table.getKeyDescriptor(),
+            table.getValueDescriptor(),
+            getScanFieldPaths(table),
+            schemaBefore.getTypes(),
+            hazelcastTable.getProjects(),
+            convertFilter(schemaBefore, hazelcastTable.getFilter()),
+            keys
+        );
+
+        pushUpstream(lookupNode);
+
+        objectIds.add(table.getObjectKey());
+        mapNames.add(table.getMapName());
+
+        keyLookups.add(lookupNode);
     }
 
     @Override
     public void onSort(SortPhysicalRel rel) {
         if (rel.requiresSort()) {
-            StringBuilder msgBuilder = new StringBuilder("Cannot execute ORDER BY clause, because its input is not sorted. ");
-            msgBuilder.append("Consider adding a SORTED index to the data source.");
-            throw QueryException.error(msgBuilder.toString());
+            PlanNode input = pollSingleUpstream();
+
+            List<RelFieldCollation> collations = rel.getCollation().getFieldCollations();
+
+            Expression fetch = convertExpression(FetchOffsetPlanNodeFieldTypeProvider.INSTANCE, rel.fetch);
+            Expression offset = convertExpression(FetchOffsetPlanNodeFieldTypeProvider.INSTANCE, rel.offset);
+
+            SortPlanNode node = new SortPlanNode(
+                pollId(rel),
+                input,
+                getSortColumnIndexes(collations),
+                getSortAscs(collations),
+                fetch,
+                offset
+            );
+
+            pushUpstream(node);
+
+            return;
         }
 
         // Fetch/Offset only scenario
@@ -369,17 +449,8 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         addFragment(sendNode, dataMemberMapping());
 
         List<RelFieldCollation> collations = rel.getCollation().getFieldCollations();
-        int[] columnIndexes = new int[collations.size()];
-        boolean[] ascs = new boolean[collations.size()];
-
-        for (int i = 0; i < collations.size(); ++i) {
-            RelFieldCollation collation = collations.get(i);
-            RelFieldCollation.Direction direction = collation.getDirection();
-            int idx = collation.getFieldIndex();
-
-            columnIndexes[i] = idx;
-            ascs[i] = !direction.isDescending();
-        }
+        int[] columnIndexes = getSortColumnIndexes(collations);
+        boolean[] ascs = getSortAscs(collations);
 
         Expression fetch = convertExpression(FetchOffsetPlanNodeFieldTypeProvider.INSTANCE, rel.getFetch());
         Expression offset = convertExpression(FetchOffsetPlanNodeFieldTypeProvider.INSTANCE, rel.getOffset());
@@ -414,6 +485,167 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         pushUpstream(planNode);
     }
 
+    @Override
+    public void onAggregate(AggregatePhysicalRel rel) {
+        PlanNode upstreamNode = pollSingleUpstream();
+        PlanNodeSchema upstreamSchema = upstreamNode.getSchema();
+
+        AggregatePhase phase = rel.getPhase();
+        List<AggregateCall> aggCalls = rel.getAggCalls();
+
+        int[] groupKey = rel.getGroupSet().toArray();
+        List<AggregateFunction> functions = new ArrayList<>(aggCalls.size());
+
+        // The partial results of the functions follow the group key columns.
+        int partialColumn = groupKey.length;
+
+        for (AggregateCall aggCall : aggCalls) {
+            AggregateKind kind = convertAggregateKind(aggCall);
+            QueryDataType resultType = HazelcastTypeUtils.toHazelcastType(aggCall.getType().getSqlTypeName());
+
+            int operand;
+            QueryDataType operandType;
+
+            if (phase.isPartialInput()) {
+                operand = partialColumn;
+                operandType = upstreamSchema.getType(partialColumn);
+            } else if (aggCall.getArgList().isEmpty()) {
+                operand = AggregateFunction.NO_OPERAND;
+                operandType = null;
+            } else {
+                operand = aggCall.getArgList().get(0);
+                operandType = upstreamSchema.getType(operand);
+            }
+
+            AggregateFunction function = new AggregateFunction(kind, operand, operandType, resultType);
+
+            functions.add(function);
+
+            partialColumn += function.getPartialTypes().size();
+        }
+
+        AggregatePlanNode aggregateNode = new AggregatePlanNode(
+            pollId(rel),
+            upstreamNode,
+            groupKey,
+            functions,
+            phase
+        );
+
+        pushUpstream(aggregateNode);
+    }
+
+    private static AggregateKind convertAggregateKind(AggregateCall aggCall) {
+        switch (aggCall.getAggregation().getKind()) {
+            case COUNT:
+                return AggregateKind.COUNT;
+
+            case SUM:
+                return AggregateKind.SUM;
+
+            case AVG:
+                return AggregateKind.AVG;
+
+            case MIN:
+                return AggregateKind.MIN;
+
+            case MAX:
+                return AggregateKind.MAX;
+
+            default:
+                throw QueryException.error("Unsupported aggregate function: " + aggCall.getAggregation().getName());
+        }
+    }
+
+    @Override
+    public void onUnicastExchange(UnicastExchangePhysicalRel rel) {
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        // Create sender and push it as a fragment.
+        int edge = nextEdge();
+
+        int id = pollId(rel);
+
+        List<Integer> hashFields = rel.getHashFields();
+        int[] hashColumns = new int[hashFields.size()];
+
+        for (int i = 0; i < hashColumns.length; i++) {
+            hashColumns[i] = hashFields.get(i);
+        }
+
+        UnicastSendPlanNode sendNode = new UnicastSendPlanNode(
+            id,
+            upstreamNode,
+            edge,
+            hashColumns
+        );
+
+        addFragment(sendNode, dataMemberMapping());
+
+        // Create receiver.
+        ReceivePlanNode receiveNode = new ReceivePlanNode(
+            id,
+            edge,
+            sendNode.getSchema().getTypes()
+        );
+
+        pushUpstream(receiveNode);
+    }
+
+    @Override
+    public void onHashJoin(HashJoinPhysicalRel rel) {
+        // The right input is visited last, so it is on top of the stack.
+        PlanNode rightNode = pollSingleUpstream();
+        PlanNode leftNode = pollSingleUpstream();
+
+        JoinInfo joinInfo = rel.analyzeCondition();
+
+        RexNode remaining = joinInfo.getRemaining(rel.getCluster().getRexBuilder());
+
+        Expression<Boolean> condition = remaining.isAlwaysTrue()
+            ? null
+            : convertFilter(PlanNodeSchema.combine(leftNode.getSchema(), rightNode.getSchema()), remaining);
+
+        HashJoinPlanNode joinNode = new HashJoinPlanNode(
+            pollId(rel),
+            leftNode,
+            rightNode,
+            joinInfo.leftKeys.toIntArray(),
+            joinInfo.rightKeys.toIntArray(),
+            condition,
+            rel.getJoinType() == JoinRelType.LEFT
+        );
+
+        pushUpstream(joinNode);
+    }
+
+    @Override
+    public void onBroadcastExchange(BroadcastExchangePhysicalRel rel) {
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        // Create sender and push it as a fragment.
+        int edge = nextEdge();
+
+        int id = pollId(rel);
+
+        BroadcastSendPlanNode sendNode = new BroadcastSendPlanNode(
+            id,
+            upstreamNode,
+            edge
+        );
+
+        addFragment(sendNode, dataMemberMapping());
+
+        // Create receiver.
+        ReceivePlanNode receiveNode = new ReceivePlanNode(
+            id,
+            edge,
+            sendNode.getSchema().getTypes()
+        );
+
+        pushUpstream(receiveNode);
+    }
+
     /**
      * Push node to upstream stack.
      *
@@ -473,6 +705,26 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         return (Expression<Boolean>) convertedExpression;
     }
 
+    private static int[] getSortColumnIndexes(List<RelFieldCollation> collations) {
+        int[] res = new int[collations.size()];
+
+        for (int i = 0; i < collations.size(); ++i) {
+            res[i] = collations.get(i).getFieldIndex();
+        }
+
+        return res;
+    }
+
+    private static boolean[] getSortAscs(List<RelFieldCollation> collations) {
+        boolean[] res = new boolean[collations.size()];
+
+        for (int i = 0; i < collations.size(); ++i) {
+            res[i] = !collations.get(i).getDirection().isDescending();
+        }
+
+        return res;
+    }
+
     private Expression convertExpression(PlanNodeFieldTypeProvider fieldTypeProvider, RexNode expression) {
         if (expression == null) {
             return null;
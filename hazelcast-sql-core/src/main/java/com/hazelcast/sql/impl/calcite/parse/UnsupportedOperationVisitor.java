@@ -28,12 +28,14 @@ import org.apache.calcite.sql.SqlDataTypeSpec;
 import org.apache.calcite.sql.SqlDynamicParam;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlIntervalQualifier;
+import org.apache.calcite.sql.SqlJoin;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNodeList;
 import org.apache.calcite.sql.SqlOperator;
 import org.apache.calcite.sql.SqlSelect;
+import org.apache.calcite.sql.SqlSelectKeyword;
 import org.apache.calcite.sql.SqlUserDefinedTypeNameSpec;
 import org.apache.calcite.sql.SqlUtil;
 import org.apache.calcite.sql.fun.SqlStdOperatorTable;
@@ -298,6 +300,20 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
                 processSelect((SqlSelect) call);
 
                 return;
+            case JOIN:
+                processJoin((SqlJoin) call);
+
+                return;
+
+            case COUNT:
+            case SUM:
+            case AVG:
+            case MIN:
+            case MAX:
+                processAggregate(call);
+
+                return;
+
             case DESCENDING:
             case OTHER:
             case OTHER_FUNCTION:
@@ -310,10 +326,6 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
     }
 
     private void processSelect(SqlSelect select) {
-        if (select.getGroup() != null && select.getGroup().size() > 0) {
-            throw unsupported(select.getGroup(), "GROUP BY");
-        }
-
         if (topLevelSelect == null) {
             topLevelSelect = select;
         } else {
@@ -325,6 +337,27 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
         }
     }
 
+    private void processJoin(SqlJoin join) {
+        switch (join.getJoinType()) {
+            case INNER:
+            case COMMA:
+            case CROSS:
+            case LEFT:
+                return;
+
+            default:
+                throw unsupported(join.getJoinTypeNode(), join.getJoinType().name() + " JOIN");
+        }
+    }
+
+    private void processAggregate(SqlCall call) {
+        SqlLiteral quantifier = call.getFunctionQuantifier();
+
+        if (quantifier != null && quantifier.getValue() == SqlSelectKeyword.DISTINCT) {
+            throw unsupported(quantifier, call.getOperator().getName() + "(DISTINCT)");
+        }
+    }
+
     private void processOther(SqlCall call) {
         SqlOperator operator = call.getOperator();
 
@@ -16,6 +16,9 @@
 
 package com.hazelcast.sql.impl.calcite.validate;
 
+import com.hazelcast.sql.impl.calcite.validate.operators.aggregate.HazelcastCountAggFunction;
+import com.hazelcast.sql.impl.calcite.validate.operators.aggregate.HazelcastMinMaxAggFunction;
+import com.hazelcast.sql.impl.calcite.validate.operators.aggregate.HazelcastSumAvgAggFunction;
 import com.hazelcast.sql.impl.calcite.validate.operators.math.HazelcastAbsFunction;
 import com.hazelcast.sql.impl.calcite.validate.operators.math.HazelcastDoubleFunction;
 import com.hazelcast.sql.impl.calcite.validate.operators.math.HazelcastFloorCeilFunction;
@@ -36,6 +39,7 @@ import com.hazelcast.sql.impl.calcite.validate.operators.string.HazelcastStringF
 import com.hazelcast.sql.impl.calcite.validate.operators.string.HazelcastSubstringFunction;
 import com.hazelcast.sql.impl.calcite.validate.operators.string.HazelcastTrimFunction;
 import org.apache.calcite.runtime.CalciteException;
+import org.apache.calcite.sql.SqlAggFunction;
 import org.apache.calcite.sql.SqlBasicCall;
 import org.apache.calcite.sql.SqlBinaryOperator;
 import org.apache.calcite.sql.SqlCall;
@@ -171,6 +175,16 @@ public final class HazelcastSqlOperatorTable extends ReflectiveSqlOperatorTable
 
     //#endregion
 
+    //#region Aggregate functions
+
+    public static final SqlAggFunction COUNT = HazelcastCountAggFunction.INSTANCE;
+    public static final SqlAggFunction SUM = HazelcastSumAvgAggFunction.SUM;
+    public static final SqlAggFunction AVG = HazelcastSumAvgAggFunction.AVG;
+    public static final SqlAggFunction MIN = HazelcastMinMaxAggFunction.MIN;
+    public static final SqlAggFunction MAX = HazelcastMinMaxAggFunction.MAX;
+
+    //#endregion
+
     //@formatter:on
 
     private static final HazelcastSqlOperatorTable INSTANCE = new HazelcastSqlOperatorTable();
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.validate.operators.aggregate;
+
+import com.hazelcast.sql.impl.calcite.validate.HazelcastCallBinding;
+import com.hazelcast.sql.impl.calcite.validate.operand.AnyOperandChecker;
+import com.hazelcast.sql.impl.calcite.validate.operators.ReplaceUnknownOperandTypeInference;
+import com.hazelcast.sql.impl.calcite.validate.operators.common.HazelcastAggFunction;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlFunctionCategory;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.ReturnTypes;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.sql.validate.SqlValidator;
+import org.apache.calcite.sql.validate.SqlValidatorScope;
+import org.apache.calcite.util.Optionality;
+
+import static org.apache.calcite.sql.type.SqlTypeName.BIGINT;
+
+/**
+ * The {@code COUNT} aggregate function, both {@code COUNT(*)} and {@code COUNT(expression)}.
+ */
+public final class HazelcastCountAggFunction extends HazelcastAggFunction {
+
+    public static final HazelcastCountAggFunction INSTANCE = new HazelcastCountAggFunction();
+
+    private HazelcastCountAggFunction() {
+        super(
+            "COUNT",
+            SqlKind.COUNT,
+            ReturnTypes.BIGINT,
+            new ReplaceUnknownOperandTypeInference(BIGINT),
+            null,
+            SqlFunctionCategory.NUMERIC,
+            false,
+            false,
+            Optionality.FORBIDDEN
+        );
+    }
+
+    @Override
+    public RelDataType deriveType(SqlValidator validator, SqlValidatorScope scope, SqlCall call) {
+        // The "*" operand of COUNT(*) has no type.
+        if (call.isCountStar()) {
+            return validator.getTypeFactory().createSqlType(SqlTypeName.BIGINT);
+        }
+
+        return super.deriveType(validator, scope, call);
+    }
+
+    @Override
+    protected boolean checkOperandTypes(HazelcastCallBinding binding, boolean throwOnFailure) {
+        return AnyOperandChecker.INSTANCE.check(binding, throwOnFailure, 0);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.validate.operators.aggregate;
+
+import com.hazelcast.sql.impl.calcite.validate.HazelcastCallBinding;
+import com.hazelcast.sql.impl.calcite.validate.operators.ReplaceUnknownOperandTypeInference;
+import com.hazelcast.sql.impl.calcite.validate.operators.common.HazelcastAggFunction;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.sql.SqlFunctionCategory;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.ReturnTypes;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.Optionality;
+
+import static org.apache.calcite.sql.type.SqlTypeName.BIGINT;
+
+/**
+ * The {@code MIN} and {@code MAX} aggregate functions. Applicable to all types except for {@code OBJECT}, whose values
+ * are not necessarily comparable.
+ */
+public final class HazelcastMinMaxAggFunction extends HazelcastAggFunction {
+
+    public static final HazelcastMinMaxAggFunction MIN = new HazelcastMinMaxAggFunction("MIN", SqlKind.MIN);
+    public static final HazelcastMinMaxAggFunction MAX = new HazelcastMinMaxAggFunction("MAX", SqlKind.MAX);
+
+    private HazelcastMinMaxAggFunction(String name, SqlKind kind) {
+        super(
+            name,
+            kind,
+            ReturnTypes.ARG0_FORCE_NULLABLE,
+            new ReplaceUnknownOperandTypeInference(BIGINT),
+            null,
+            SqlFunctionCategory.SYSTEM,
+            false,
+            false,
+            Optionality.FORBIDDEN
+        );
+    }
+
+    @Override
+    protected boolean checkOperandTypes(HazelcastCallBinding binding, boolean throwOnFailure) {
+        RelDataType operandType = binding.getOperandType(0);
+
+        if (operandType.getSqlTypeName() == SqlTypeName.ANY) {
+            if (throwOnFailure) {
+                throw binding.newValidationSignatureError();
+            } else {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.validate.operators.aggregate;
+
+import com.hazelcast.sql.impl.calcite.validate.HazelcastCallBinding;
+import com.hazelcast.sql.impl.calcite.validate.operand.NumericOperandChecker;
+import com.hazelcast.sql.impl.calcite.validate.operators.ReplaceUnknownOperandTypeInference;
+import com.hazelcast.sql.impl.calcite.validate.operators.common.HazelcastAggFunction;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.sql.SqlFunctionCategory;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlOperatorBinding;
+import org.apache.calcite.util.Optionality;
+
+import static org.apache.calcite.sql.type.SqlTypeName.BIGINT;
+
+/**
+ * The {@code SUM} and {@code AVG} aggregate functions.
+ * <p>
+ * The result types are derived by the type system: the sum of integers is {@code BIGINT}, while their average is
+ * {@code DECIMAL}. The result is {@code NULL} if there are no non-null values, so it is always nullable.
+ */
+public final class HazelcastSumAvgAggFunction extends HazelcastAggFunction {
+
+    public static final HazelcastSumAvgAggFunction SUM = new HazelcastSumAvgAggFunction("SUM", SqlKind.SUM);
+    public static final HazelcastSumAvgAggFunction AVG = new HazelcastSumAvgAggFunction("AVG", SqlKind.AVG);
+
+    private HazelcastSumAvgAggFunction(String name, SqlKind kind) {
+        super(
+            name,
+            kind,
+            binding -> inferReturnType(binding, kind),
+            new ReplaceUnknownOperandTypeInference(BIGINT),
+            null,
+            SqlFunctionCategory.NUMERIC,
+            false,
+            false,
+            Optionality.FORBIDDEN
+        );
+    }
+
+    @Override
+    protected boolean checkOperandTypes(HazelcastCallBinding binding, boolean throwOnFailure) {
+        return NumericOperandChecker.INSTANCE.check(binding, throwOnFailure, 0);
+    }
+
+    private static RelDataType inferReturnType(SqlOperatorBinding binding, SqlKind kind) {
+        RelDataTypeFactory typeFactory = binding.getTypeFactory();
+        RelDataType operandType = binding.getOperandType(0);
+
+        RelDataType type = kind == SqlKind.SUM
+            ? typeFactory.getTypeSystem().deriveSumType(typeFactory, operandType)
+            : typeFactory.getTypeSystem().deriveAvgAggType(typeFactory, operandType);
+
+        return typeFactory.createTypeWithNullability(type, true);
+    }
+}
@@ -239,10 +239,9 @@ public class SqlOrderByTest extends SqlTestSupport {
 
     @Test
     public void testSelectWithOrderByAscDesc() {
-        assertThrows(HazelcastSqlException.class,
-            () -> checkSelectWithOrderBy(Arrays.asList("intVal", "varcharVal"),
-                Arrays.asList("intVal", "varcharVal"),
-                Arrays.asList(false, true)));
+        checkSelectWithOrderBy(Arrays.asList("intVal", "varcharVal"),
+            Arrays.asList("intVal", "varcharVal"),
+            Arrays.asList(false, true));
     }
 
     @Test
@@ -254,33 +253,30 @@ public class SqlOrderByTest extends SqlTestSupport {
 
     @Test
     public void testSelectWithOrderByDescDescAsc() {
-        assertThrows(HazelcastSqlException.class,
-            () -> checkSelectWithOrderBy(Arrays.asList("intVal", "varcharVal", "bigIntVal"),
-                Arrays.asList("intVal", "varcharVal", "bigIntVal"),
-                Arrays.asList(true, true, false)));
+        checkSelectWithOrderBy(Arrays.asList("intVal", "varcharVal", "bigIntVal"),
+            Arrays.asList("intVal", "varcharVal", "bigIntVal"),
+            Arrays.asList(true, true, false));
     }
 
     @Test
     public void testSelectWithOrderByNoIndex() {
-        try {
-            checkSelectWithOrderBy(Collections.emptyList(),
-                Arrays.asList("intVal"),
-                Arrays.asList(true));
-            fail("Order by without matching index should fail");
-        } catch (HazelcastSqlException e) {
-            assertEquals("Cannot execute ORDER BY clause, because its input is not sorted. Consider adding a SORTED index to the data source.",
-                e.getMessage());
-        }
+        checkSelectWithOrderBy(Collections.emptyList(),
+            Arrays.asList("intVal"),
+            Arrays.asList(true));
 
-        try {
-            checkSelectWithOrderBy(Collections.emptyList(),
-                Arrays.asList("intVal", "realVal"),
-                Arrays.asList(true, true));
-            fail("Order by without matching index should fail");
-        } catch (HazelcastSqlException e) {
-            assertEquals("Cannot execute ORDER BY clause, because its input is not sorted. Consider adding a SORTED index to the data source.",
-                e.getMessage());
-        }
+        checkSelectWithOrderBy(Collections.emptyList(),
+            Arrays.asList("intVal", "realVal"),
+            Arrays.asList(true, true));
+    }
+
+    @Test
+    public void testSelectWithOrderByNoIndexAndFetchOffset() {
+        String intValField = "intVal";
+
+        String sql = "SELECT " + intValField + " FROM " + stableMapName()
+            + " ORDER BY " + intValField + " DESC OFFSET 5 ROWS FETCH FIRST 10 ROWS ONLY";
+
+        assertSqlResultOrdered(sql, Arrays.asList(intValField), Arrays.asList(true), 10, 4090, 4081);
     }
 
     @Test
@@ -300,16 +296,11 @@ public class SqlOrderByTest extends SqlTestSupport {
     public void testSelectWithOrderByAndProject2() {
         //SELECT a, b FROM (SELECT intVal+bigIntVal a, intVal-bigIntVal b FROM p) ORDER BY a, b"
         String sql = String.format("SELECT a, b FROM (SELECT intVal+bigIntVal a, intVal-bigIntVal b FROM %s) ORDER BY a, b", mapName());
-        try {
-            checkSelectWithOrderBy(Arrays.asList("intVal", "bigIntVal"),
-                sql,
-                Collections.emptyList(),
-                Collections.emptyList());
-            fail("Order by on top of project should fail");
-        } catch (HazelcastSqlException e) {
-            assertEquals("Cannot execute ORDER BY clause, because its input is not sorted. Consider adding a SORTED index to the data source.", e.getMessage());
-        }
 
+        checkSelectWithOrderBy(Arrays.asList("intVal", "bigIntVal"),
+            sql,
+            Arrays.asList("a", "b"),
+            Arrays.asList(false, false));
     }
 
     @Test
@@ -201,7 +201,8 @@ public abstract class OptimizerTestSupport extends SqlTestSupport {
             null,
             null,
             indexes,
-            nativeMemoryEnabled
+            nativeMemoryEnabled,
+            true
         );
 
         return new HazelcastTable(table, new HazelcastTableStatistic(rowCount));
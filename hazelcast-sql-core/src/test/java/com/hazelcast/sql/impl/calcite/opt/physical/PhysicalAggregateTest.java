@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastSchema;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.schema.Table;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static com.hazelcast.sql.impl.type.QueryDataType.OBJECT;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalAggregateTest extends OptimizerTestSupport {
+    @Override
+    protected HazelcastSchema createDefaultSchema() {
+        Map<String, Table> tableMap = new HashMap<>();
+
+        tableMap.put("p", partitionedTable(
+            "p",
+            fields("f0", INT, "f1", INT, "f2", INT, "f3", INT, "f4", INT, "o", OBJECT),
+            null,
+            100,
+            false
+        ));
+
+        return new HazelcastSchema(tableMap);
+    }
+
+    @Test
+    public void testSingleMember() {
+        List<AggregatePhysicalRel> aggregates = aggregates(optimizePhysical("SELECT f0, COUNT(*) FROM p GROUP BY f0", 1));
+
+        assertEquals(1, aggregates.size());
+        assertEquals(AggregatePhase.COMPLETE, aggregates.get(0).getPhase());
+    }
+
+    @Test
+    public void testGroupByTwoPhases() {
+        List<AggregatePhysicalRel> aggregates = aggregates(
+            optimizePhysical("SELECT f0, f1, SUM(f2), AVG(f3) FROM p GROUP BY f0, f1", 2)
+        );
+
+        assertEquals(2, aggregates.size());
+
+        AggregatePhysicalRel finalAggregate = aggregates.get(0);
+        AggregatePhysicalRel localAggregate = aggregates.get(1);
+
+        assertEquals(AggregatePhase.FINAL, finalAggregate.getPhase());
+        assertEquals(AggregatePhase.LOCAL, localAggregate.getPhase());
+
+        // Group key, SUM, and AVG as the sum and the count.
+        assertEquals(5, localAggregate.getRowType().getFieldCount());
+        assertEquals(4, finalAggregate.getRowType().getFieldCount());
+        assertEquals(2, finalAggregate.getGroupSet().cardinality());
+        assertTrue(finalAggregate.getGroupSet().get(0));
+        assertTrue(finalAggregate.getGroupSet().get(1));
+    }
+
+    @Test
+    public void testNoGroupKeyTwoPhases() {
+        List<AggregatePhysicalRel> aggregates = aggregates(optimizePhysical("SELECT COUNT(*), MAX(f1) FROM p", 2));
+
+        assertEquals(2, aggregates.size());
+
+        AggregatePhysicalRel finalAggregate = aggregates.get(0);
+
+        assertEquals(AggregatePhase.FINAL, finalAggregate.getPhase());
+        assertTrue(finalAggregate.getInput() instanceof RootExchangePhysicalRel);
+        assertEquals(AggregatePhase.LOCAL, aggregates.get(1).getPhase());
+    }
+
+    @Test
+    public void testObjectGroupKeyNotRepartitioned() {
+        List<AggregatePhysicalRel> aggregates = aggregates(optimizePhysical("SELECT o, COUNT(*) FROM p GROUP BY o", 2));
+
+        assertEquals(2, aggregates.size());
+
+        // The hash of the OBJECT values may differ between the members, so all the groups are combined on the root.
+        AggregatePhysicalRel finalAggregate = aggregates.get(0);
+
+        assertEquals(AggregatePhase.FINAL, finalAggregate.getPhase());
+        assertTrue(finalAggregate.getInput() instanceof RootExchangePhysicalRel);
+    }
+
+    /**
+     * @return Aggregations of the plan, top-down.
+     */
+    private static List<AggregatePhysicalRel> aggregates(RelNode rel) {
+        List<AggregatePhysicalRel> res = new ArrayList<>();
+
+        collectAggregates(rel, res);
+
+        return res;
+    }
+
+    private static void collectAggregates(RelNode rel, List<AggregatePhysicalRel> res) {
+        if (rel instanceof AggregatePhysicalRel) {
+            res.add((AggregatePhysicalRel) rel);
+        }
+
+        for (RelNode input : rel.getInputs()) {
+            collectAggregates(input, res);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.AbstractExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.BroadcastExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastSchema;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.MapTableField;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.schema.Table;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.BIGINT;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static com.hazelcast.sql.impl.type.QueryDataType.OBJECT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalJoinTest extends OptimizerTestSupport {
+
+    private static final int MEMBER_COUNT = 4;
+
+    @Override
+    protected HazelcastSchema createDefaultSchema() {
+        Map<String, Table> tableMap = new HashMap<>();
+
+        tableMap.put("big1", partitionedTable("big1", keyAndValue(INT), null, 100_000));
+        tableMap.put("big2", partitionedTable("big2", keyAndValue(INT), null, 100_000));
+        tableMap.put("big3", partitionedTable("big3", keyAndValue(BIGINT), null, 100_000));
+        tableMap.put("small", partitionedTable("small", keyAndValue(INT), null, 10));
+        tableMap.put("obj1", partitionedTable("obj1", keyAndValue(OBJECT), null, 100_000));
+        tableMap.put("obj2", partitionedTable("obj2", keyAndValue(OBJECT), null, 100_000));
+
+        return new HazelcastSchema(tableMap);
+    }
+
+    @Test
+    public void testSingleMember() {
+        RelNode rel = optimizePhysical("SELECT big1.f0, big2.f0 FROM big1 JOIN big2 ON big1.f0 = big2.f0", 1);
+
+        assertEquals(1, collect(rel, HashJoinPhysicalRel.class).size());
+        assertTrue(collect(rel, AbstractExchangePhysicalRel.class).isEmpty());
+    }
+
+    @Test
+    public void testCoLocated() {
+        RelNode rel = optimizePhysical(
+            "SELECT big1.f0, big2.f0 FROM big1 JOIN big2 ON big1.__key = big2.__key",
+            MEMBER_COUNT
+        );
+
+        HashJoinPhysicalRel join = single(collect(rel, HashJoinPhysicalRel.class));
+
+        // The matching rows are on the same member, so the inputs are not exchanged.
+        assertTrue(collect(join, AbstractExchangePhysicalRel.class).isEmpty());
+    }
+
+    @Test
+    public void testDifferentKeyTypesNotCoLocated() {
+        RelNode rel = optimizePhysical(
+            "SELECT big1.f0, big3.f0 FROM big1 JOIN big3 ON big1.__key = big3.__key",
+            MEMBER_COUNT
+        );
+
+        HashJoinPhysicalRel join = single(collect(rel, HashJoinPhysicalRel.class));
+
+        assertEquals(2, collect(join, UnicastExchangePhysicalRel.class).size());
+    }
+
+    @Test
+    public void testBroadcastSmallRight() {
+        RelNode rel = optimizePhysical(
+            "SELECT big1.f0, small.f0 FROM big1 JOIN small ON big1.f0 = small.f0",
+            MEMBER_COUNT
+        );
+
+        HashJoinPhysicalRel join = single(collect(rel, HashJoinPhysicalRel.class));
+
+        assertTrue(join.getRight() instanceof BroadcastExchangePhysicalRel);
+        assertTrue(collect(join.getLeft(), AbstractExchangePhysicalRel.class).isEmpty());
+    }
+
+    @Test
+    public void testRepartitionBigInputs() {
+        RelNode rel = optimizePhysical(
+            "SELECT big1.f0, big2.f0 FROM big1 JOIN big2 ON big1.f0 = big2.f0",
+            MEMBER_COUNT
+        );
+
+        HashJoinPhysicalRel join = single(collect(rel, HashJoinPhysicalRel.class));
+
+        assertTrue(join.getLeft() instanceof UnicastExchangePhysicalRel);
+        assertTrue(join.getRight() instanceof UnicastExchangePhysicalRel);
+        assertTrue(collect(rel, BroadcastExchangePhysicalRel.class).isEmpty());
+    }
+
+    @Test
+    public void testObjectKeysBroadcast() {
+        RelNode rel = optimizePhysical(
+            "SELECT obj1.f0, obj2.f0 FROM obj1 JOIN obj2 ON obj1.__key = obj2.__key",
+            MEMBER_COUNT
+        );
+
+        HashJoinPhysicalRel join = single(collect(rel, HashJoinPhysicalRel.class));
+
+        // The hash of the OBJECT keys may differ between the members, so the inputs can't be repartitioned by it.
+        assertTrue(join.getRight() instanceof BroadcastExchangePhysicalRel);
+        assertTrue(collect(rel, UnicastExchangePhysicalRel.class).isEmpty());
+    }
+
+    @Test
+    public void testNonEquiJoinBroadcast() {
+        RelNode rel = optimizePhysical(
+            "SELECT big1.f0, big2.f0 FROM big1 JOIN big2 ON big1.f0 < big2.f0",
+            MEMBER_COUNT
+        );
+
+        HashJoinPhysicalRel join = single(collect(rel, HashJoinPhysicalRel.class));
+
+        // There are no keys to repartition by.
+        assertTrue(join.getRight() instanceof BroadcastExchangePhysicalRel);
+    }
+
+    @Test
+    public void testLeftJoinNeverBroadcastsLeft() {
+        RelNode rel = optimizePhysical(
+            "SELECT small.f0, big1.f0 FROM small LEFT JOIN big1 ON small.f0 = big1.f0",
+            MEMBER_COUNT
+        );
+
+        HashJoinPhysicalRel join = single(collect(rel, HashJoinPhysicalRel.class));
+
+        assertEquals(JoinRelType.LEFT, join.getJoinType());
+        assertTrue(collect(join.getLeft(), BroadcastExchangePhysicalRel.class).isEmpty());
+    }
+
+    private static List<TableField> keyAndValue(QueryDataType keyType) {
+        return Arrays.asList(
+            new MapTableField(QueryPath.KEY, keyType, false, QueryPath.KEY_PATH),
+            new MapTableField("f0", INT, false, QueryPath.create("f0"))
+        );
+    }
+
+    private static <T> T single(List<T> rels) {
+        assertEquals(1, rels.size());
+
+        return rels.get(0);
+    }
+
+    /**
+     * @return Nodes of the given class in the plan, top-down.
+     */
+    private static <T> List<T> collect(RelNode rel, Class<T> cls) {
+        List<T> res = new ArrayList<>();
+
+        collect(rel, cls, res);
+
+        return res;
+    }
+
+    private static <T> void collect(RelNode rel, Class<T> cls, List<T> res) {
+        if (cls.isInstance(rel)) {
+            res.add(cls.cast(rel));
+        }
+
+        for (RelNode input : rel.getInputs()) {
+            collect(input, cls, res);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastSchema;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.MapTableField;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.schema.Table;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.BIGINT;
+import static com.hazelcast.sql.impl.type.QueryDataType.DECIMAL;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static com.hazelcast.sql.impl.type.QueryDataType.VARCHAR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test for lookups of map entries by key.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalKeyLookupTest extends OptimizerTestSupport {
+
+    private static final int MEMBER_COUNT = 4;
+
+    @Override
+    protected HazelcastSchema createDefaultSchema() {
+        Map<String, Table> tableMap = new HashMap<>();
+
+        tableMap.put("p", partitionedTable("p", keyAndValue(INT), null, 100_000));
+        tableMap.put("s", partitionedTable("s", keyAndValue(VARCHAR), null, 100_000));
+        tableMap.put("d", partitionedTable("d", keyAndValue(DECIMAL), null, 100_000));
+
+        return new HazelcastSchema(tableMap);
+    }
+
+    @Test
+    public void testEquals() {
+        checkKeyLookup(optimizePhysical("SELECT f0 FROM p WHERE __key = 1", MEMBER_COUNT), 1);
+        checkKeyLookup(optimizePhysical("SELECT f0 FROM p WHERE 1 = __key", MEMBER_COUNT), 1);
+        checkKeyLookup(optimizePhysical("SELECT f0 FROM s WHERE __key = 'a'", MEMBER_COUNT), 1);
+    }
+
+    @Test
+    public void testParameter() {
+        checkKeyLookup(optimizePhysical("SELECT f0 FROM p WHERE __key = ?", MEMBER_COUNT, INT), 1);
+        checkKeyLookup(optimizePhysical("SELECT f0 FROM p WHERE __key = ? + 1", MEMBER_COUNT, INT), 1);
+    }
+
+    @Test
+    public void testWideningCast() {
+        checkKeyLookup(optimizePhysical("SELECT f0 FROM p WHERE __key = ?", MEMBER_COUNT, BIGINT), 1);
+    }
+
+    @Test
+    public void testIn() {
+        checkKeyLookup(optimizePhysical("SELECT f0 FROM p WHERE __key IN (1, 2, 3)", MEMBER_COUNT), 3);
+        checkKeyLookup(optimizePhysical("SELECT f0 FROM p WHERE __key = 1 OR __key = ?", MEMBER_COUNT, INT), 2);
+    }
+
+    @Test
+    public void testConjunction() {
+        checkKeyLookup(optimizePhysical("SELECT f0 FROM p WHERE __key = 1 AND f0 > 2", MEMBER_COUNT), 1);
+    }
+
+    @Test
+    public void testNoKeyLookup() {
+        checkNoKeyLookup(optimizePhysical("SELECT f0 FROM p", MEMBER_COUNT));
+        checkNoKeyLookup(optimizePhysical("SELECT f0 FROM p WHERE __key > 1", MEMBER_COUNT));
+        checkNoKeyLookup(optimizePhysical("SELECT f0 FROM p WHERE __key = f0", MEMBER_COUNT));
+        checkNoKeyLookup(optimizePhysical("SELECT f0 FROM p WHERE __key = 1 OR f0 = 2", MEMBER_COUNT));
+        checkNoKeyLookup(optimizePhysical("SELECT f0 FROM p WHERE f0 = 1", MEMBER_COUNT));
+    }
+
+    @Test
+    public void testUnsupportedKeyType() {
+        checkNoKeyLookup(optimizePhysical("SELECT f0 FROM d WHERE __key = 1", MEMBER_COUNT));
+    }
+
+    private static void checkKeyLookup(RelNode rel, int expectedKeyCount) {
+        List<MapKeyLookupPhysicalRel> lookups = collect(rel, MapKeyLookupPhysicalRel.class);
+
+        assertEquals(1, lookups.size());
+        assertEquals(expectedKeyCount, lookups.get(0).getKeys().size());
+        assertTrue(collect(rel, MapScanPhysicalRel.class).isEmpty());
+    }
+
+    private static void checkNoKeyLookup(RelNode rel) {
+        assertTrue(collect(rel, MapKeyLookupPhysicalRel.class).isEmpty());
+    }
+
+    private static List<TableField> keyAndValue(QueryDataType keyType) {
+        return Arrays.asList(
+            new MapTableField(QueryPath.KEY, keyType, false, QueryPath.KEY_PATH),
+            new MapTableField("f0", INT, false, QueryPath.create("f0"))
+        );
+    }
+
+    /**
+     * @return Nodes of the given class in the plan, top-down.
+     */
+    private static <T> List<T> collect(RelNode rel, Class<T> cls) {
+        List<T> res = new ArrayList<>();
+
+        collect(rel, cls, res);
+
+        return res;
+    }
+
+    private static <T> void collect(RelNode rel, Class<T> cls, List<T> res) {
+        if (cls.isInstance(rel)) {
+            res.add(cls.cast(rel));
+        }
+
+        for (RelNode input : rel.getInputs()) {
+            collect(input, cls, res);
+        }
+    }
+}
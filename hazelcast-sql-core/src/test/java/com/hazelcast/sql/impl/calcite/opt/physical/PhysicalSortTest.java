@@ -90,9 +90,9 @@ public class PhysicalSortTest extends OptimizerTestSupport {
         assertPlan(
             optimizePhysical("SELECT f0, f1, f2, f3, f4 FROM p ORDER BY f3 FETCH FIRST 10 ROWS ONLY", 2),
             plan(
-                planRow(0, RootPhysicalRel.class, "", 100d),
-                planRow(1, SortMergeExchangePhysicalRel.class, "collation=[[3]], fetch=[10:TINYINT(4)], offset=[null]", 100d),
-                planRow(2, SortPhysicalRel.class, "sort0=[$3], dir0=[ASC], requiresSort=[true]", 100d),
+                planRow(0, RootPhysicalRel.class, "", 10d),
+                planRow(1, SortMergeExchangePhysicalRel.class, "collation=[[3]], fetch=[10:TINYINT(4)], offset=[null]", 10d),
+                planRow(2, SortPhysicalRel.class, "sort0=[$3], dir0=[ASC], fetch=[10:TINYINT(4)], requiresSort=[true]", 10d),
                 planRow(3, MapScanPhysicalRel.class, "table=[[hazelcast, p[projects=[0, 1, 2, 3, 4]]]]", 100d)
             )
         );
@@ -103,9 +103,9 @@ public class PhysicalSortTest extends OptimizerTestSupport {
         assertPlan(
             optimizePhysical("SELECT f0, f1, f2, f3, f4 FROM p ORDER BY f3 OFFSET 10 ROWS FETCH FIRST 10 ROWS ONLY", 2),
             plan(
-                planRow(0, RootPhysicalRel.class, "", 100d),
-                planRow(1, SortMergeExchangePhysicalRel.class, "collation=[[3]], fetch=[10:TINYINT(4)], offset=[10:TINYINT(4)]", 100d),
-                planRow(2, SortPhysicalRel.class, "sort0=[$3], dir0=[ASC], requiresSort=[true]", 100d),
+                planRow(0, RootPhysicalRel.class, "", 20d),
+                planRow(1, SortMergeExchangePhysicalRel.class, "collation=[[3]], fetch=[10:TINYINT(4)], offset=[10:TINYINT(4)]", 20d),
+                planRow(2, SortPhysicalRel.class, "sort0=[$3], dir0=[ASC], fetch=[20], requiresSort=[true]", 20d),
                 planRow(3, MapScanPhysicalRel.class, "table=[[hazelcast, p[projects=[0, 1, 2, 3, 4]]]]", 100d)
             )
         );
@@ -129,26 +129,45 @@ public class ParserOperationsTest {
     }
 
     @Test
-    public void testUnsupportedGroupBy() {
+    public void testGroupBy() {
+        checkSuccess("SELECT a FROM t GROUP BY a");
+        checkSuccess("SELECT a, COUNT(*) FROM t GROUP BY a HAVING COUNT(*) > 1");
+    }
+
+    @Test
+    public void testAggregate() {
+        checkSuccess("SELECT COUNT(*), COUNT(a), SUM(a), AVG(a), MIN(a), MAX(b) FROM t");
+        checkSuccess("SELECT a, SUM(b) FROM t GROUP BY a");
+    }
+
+    @Test
+    public void testUnsupportedDistinctAggregate() {
         checkFailure(
-            "SELECT a FROM t GROUP BY a",
-            "GROUP BY is not supported"
+            "SELECT SUM(DISTINCT a) FROM t",
+            "SUM(DISTINCT) is not supported"
         );
     }
 
     @Test
-    public void testUnsupportedAggregate() {
+    public void testJoin() {
+        checkSuccess("SELECT t1.a, t2.a FROM t t1 JOIN t t2 ON t1.a = t2.a");
+        checkSuccess("SELECT t1.a, t2.a FROM t t1 LEFT JOIN t t2 ON t1.a = t2.a AND t1.b > t2.b");
+        checkSuccess("SELECT t1.a, t2.a FROM t t1, t t2 WHERE t1.a = t2.a");
+    }
+
+    @Test
+    public void testUnsupportedRightJoin() {
         checkFailure(
-            "SELECT SUM(a) FROM t",
-            "Function 'SUM' does not exist"
+            "SELECT t1.a, t2.a FROM t t1 RIGHT JOIN t t2 ON t1.a = t2.a",
+            "RIGHT JOIN is not supported"
         );
     }
 
     @Test
-    public void testUnsupportedJoin() {
+    public void testUnsupportedFullJoin() {
         checkFailure(
-            "SELECT t1.a, t2.a FROM t t1 JOIN t t2 ON t1.a = t2.a",
-            "JOIN is not supported"
+            "SELECT t1.a, t2.a FROM t t1 FULL JOIN t t2 ON t1.a = t2.a",
+            "FULL JOIN is not supported"
         );
     }
 
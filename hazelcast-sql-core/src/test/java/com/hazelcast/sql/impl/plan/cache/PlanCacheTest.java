@@ -24,6 +24,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -120,4 +121,33 @@ public class PlanCacheTest extends PlanCacheTestSupport {
         long timestamp3 = plan.getPlanLastUsed();
         assertTrue(timestamp3 > timestamp2);
     }
+
+    @Test
+    public void testMetrics() {
+        PlanCache cache = new PlanCache(1);
+
+        PlanCacheKey key1 = createKey("sql1");
+        PlanCacheKey key2 = createKey("sql2");
+
+        assertNull(cache.get(key1));
+        cache.put(key1, createPlan(key1, PART_MAP_1));
+        assertNotNull(cache.get(key1));
+
+        assertEquals(1L, cache.getHits());
+        assertEquals(1L, cache.getMisses());
+        assertEquals(0L, cache.getEvictions());
+
+        // Overflow evicts the first plan
+        cache.put(key2, createPlan(key2, PART_MAP_1));
+        assertEquals(1L, cache.getEvictions());
+        assertNull(cache.get(key1));
+        assertEquals(2L, cache.getMisses());
+
+        cache.onOptimized(MILLISECONDS.toNanos(10));
+        cache.onOptimized(MILLISECONDS.toNanos(30));
+
+        assertEquals(2L, cache.getOptimizationCount());
+        assertEquals(40L, cache.getTotalOptimizationTime());
+        assertEquals(30L, cache.getMaxOptimizationTime());
+    }
 }
@@ -16,6 +16,9 @@
 
 package com.hazelcast.aggregation;
 
+import com.hazelcast.aggregation.impl.ApproximateDistinctCountAggregator;
+import com.hazelcast.aggregation.impl.ApproximateQuantileAggregator;
+import com.hazelcast.aggregation.impl.ApproximateTopKAggregator;
 import com.hazelcast.aggregation.impl.BigDecimalAverageAggregator;
 import com.hazelcast.aggregation.impl.BigDecimalSumAggregator;
 import com.hazelcast.aggregation.impl.BigIntegerAverageAggregator;
@@ -38,6 +41,7 @@ import com.hazelcast.aggregation.impl.NumberAverageAggregator;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -732,4 +736,91 @@ public final class Aggregators {
     public static <I> Aggregator<I, Double> floatingPointSum(String attributePath) {
         return new FloatingPointSumAggregator<I>(attributePath);
     }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // approximate aggregators
+    // ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the number of distinct input values using a HyperLogLog sketch
+     * with the standard error of about 0.8%.
+     * Ignores null input values.
+     * Aggregation result type is Long.
+     * @since 4.2
+     */
+    public static <I> Aggregator<I, Long> approximateDistinctCount() {
+        return new ApproximateDistinctCountAggregator<>();
+    }
+
+    /**
+     * @param attributePath the attribute path
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the number of distinct input values extracted from the given
+     * attributePath using a HyperLogLog sketch with the standard error of about 0.8%.
+     * Ignores null input values and null extracted values.
+     * Aggregation result type is Long.
+     * @since 4.2
+     */
+    public static <I> Aggregator<I, Long> approximateDistinctCount(String attributePath) {
+        return new ApproximateDistinctCountAggregator<>(attributePath);
+    }
+
+    /**
+     * @param quantile the quantile, in the range [0, 1], e.g. 0.5 for the median or 0.99 for the 99th percentile
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the value at the given quantile of the input values using a t-digest,
+     * which is the most accurate for the extreme quantiles.
+     * Ignores null input values.
+     * Accepts generic Number input values.
+     * Aggregation result type is Double, null if there are no input values.
+     * @since 4.2
+     */
+    public static <I> Aggregator<I, Double> approximateQuantile(double quantile) {
+        return new ApproximateQuantileAggregator<>(quantile);
+    }
+
+    /**
+     * @param attributePath the attribute path
+     * @param quantile      the quantile, in the range [0, 1], e.g. 0.5 for the median or 0.99 for the 99th percentile
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the value at the given quantile of the input values extracted from the
+     * given attributePath using a t-digest, which is the most accurate for the extreme quantiles.
+     * Ignores null input values and null extracted values.
+     * Accepts generic Number input values.
+     * Aggregation result type is Double, null if there are no input values.
+     * @since 4.2
+     */
+    public static <I> Aggregator<I, Double> approximateQuantile(String attributePath, double quantile) {
+        return new ApproximateQuantileAggregator<>(attributePath, quantile);
+    }
+
+    /**
+     * @param k the number of the most frequent values to return
+     * @param <I> type of the input object.
+     * @param <R> type of the return object.
+     * @return an aggregator that estimates the k most frequent input values and their counts using a
+     * count-min sketch. The estimated counts may exceed the actual ones.
+     * Ignores null input values.
+     * Aggregation result type is a Map of R to its estimated count, ordered from the most frequent value.
+     * @since 4.2
+     */
+    public static <I, R> Aggregator<I, Map<R, Long>> approximateTopK(int k) {
+        return new ApproximateTopKAggregator<>(k);
+    }
+
+    /**
+     * @param attributePath the attribute path
+     * @param k             the number of the most frequent values to return
+     * @param <I> type of the input object.
+     * @param <R> type of the return object.
+     * @return an aggregator that estimates the k most frequent input values extracted from the given attributePath
+     * and their counts using a count-min sketch. The estimated counts may exceed the actual ones.
+     * Ignores null input values and null extracted values.
+     * Aggregation result type is a Map of R to its estimated count, ordered from the most frequent value.
+     * @since 4.2
+     */
+    public static <I, R> Aggregator<I, Map<R, Long>> approximateTopK(String attributePath, int k) {
+        return new ApproximateTopKAggregator<>(attributePath, k);
+    }
 }
@@ -105,6 +105,18 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
      */
     protected abstract void accumulateExtracted(I entry, E value);
 
+    /**
+     * Returns {@code true} if this aggregator keeps only the values extracted
+     * from the accumulated entries and never a reference to an entry itself,
+     * so the caller may reuse the same entry instance to accumulate the next
+     * entries. Aggregators opt in by overriding this method.
+     *
+     * @return {@code true} if the accumulated entries may be reused, {@code false} otherwise
+     */
+    public boolean isEntryReuseSafe() {
+        return false;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -50,8 +50,11 @@ public final class AggregatorDataSerializerHook implements DataSerializerHook {
     public static final int MAX_BY = 17;
     public static final int MIN_BY = 18;
     public static final int CANONICALIZING_SET = 19;
+    public static final int APPROXIMATE_DISTINCT_COUNT = 20;
+    public static final int APPROXIMATE_QUANTILE = 21;
+    public static final int APPROXIMATE_TOP_K = 22;
 
-    private static final int LEN = CANONICALIZING_SET + 1;
+    private static final int LEN = APPROXIMATE_TOP_K + 1;
 
     @Override
     public int getFactoryId() {
@@ -163,6 +166,21 @@ public final class AggregatorDataSerializerHook implements DataSerializerHook {
                 return new CanonicalizingHashSet();
             }
         };
+        constructors[APPROXIMATE_DISTINCT_COUNT] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new ApproximateDistinctCountAggregator();
+            }
+        };
+        constructors[APPROXIMATE_QUANTILE] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new ApproximateQuantileAggregator();
+            }
+        };
+        constructors[APPROXIMATE_TOP_K] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new ApproximateTopKAggregator();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
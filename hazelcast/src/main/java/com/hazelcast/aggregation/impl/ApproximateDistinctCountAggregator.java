@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Estimates the number of distinct non-null values using a HyperLogLog
+ * sketch having the standard error of about 0.8%. The sketch stays sparse
+ * and small for the partial results having few distinct values.
+ *
+ * @param <I> input type
+ */
+public final class ApproximateDistinctCountAggregator<I>
+        extends AbstractAggregator<I, Object, Long>
+        implements IdentifiedDataSerializable {
+
+    private HyperLogLogImpl hyperLogLog = new HyperLogLogImpl();
+
+    public ApproximateDistinctCountAggregator() {
+        super();
+    }
+
+    public ApproximateDistinctCountAggregator(String attributePath) {
+        super(attributePath);
+    }
+
+    @Override
+    protected void accumulateExtracted(I entry, Object value) {
+        if (value != null) {
+            hyperLogLog.add(SketchHashing.hash(SketchHashing.canonicalize(value)));
+        }
+    }
+
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        ApproximateDistinctCountAggregator other = (ApproximateDistinctCountAggregator) aggregator;
+        hyperLogLog.merge(other.hyperLogLog);
+    }
+
+    @Override
+    public Long aggregate() {
+        return hyperLogLog.estimate();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return AggregatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return AggregatorDataSerializerHook.APPROXIMATE_DISTINCT_COUNT;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attributePath);
+        hyperLogLog.writeData(out);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        this.attributePath = in.readUTF();
+        this.hyperLogLog = new HyperLogLogImpl();
+        hyperLogLog.readData(in);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        ApproximateDistinctCountAggregator<?> that = (ApproximateDistinctCountAggregator<?>) o;
+        return hyperLogLog.estimate() == that.hyperLogLog.estimate();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), hyperLogLog.estimate());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+
+/**
+ * Estimates the value at a quantile of the non-null numeric values using a
+ * {@link TDigest}.
+ *
+ * @param <I> input type
+ */
+public final class ApproximateQuantileAggregator<I>
+        extends AbstractAggregator<I, Number, Double>
+        implements IdentifiedDataSerializable {
+
+    private double quantile;
+    private TDigest digest = new TDigest();
+
+    public ApproximateQuantileAggregator() {
+        super();
+    }
+
+    public ApproximateQuantileAggregator(double quantile) {
+        super();
+        this.quantile = checkQuantile(quantile);
+    }
+
+    public ApproximateQuantileAggregator(String attributePath, double quantile) {
+        super(attributePath);
+        this.quantile = checkQuantile(quantile);
+    }
+
+    @Override
+    protected void accumulateExtracted(I entry, Number value) {
+        if (value != null) {
+            digest.add(value.doubleValue());
+        }
+    }
+
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        ApproximateQuantileAggregator other = (ApproximateQuantileAggregator) aggregator;
+        digest.merge(other.digest);
+    }
+
+    @Override
+    public Double aggregate() {
+        return digest.quantile(quantile);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return AggregatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return AggregatorDataSerializerHook.APPROXIMATE_QUANTILE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attributePath);
+        out.writeDouble(quantile);
+        digest.writeData(out);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        this.attributePath = in.readUTF();
+        this.quantile = in.readDouble();
+        this.digest = new TDigest();
+        digest.readData(in);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        ApproximateQuantileAggregator<?> that = (ApproximateQuantileAggregator<?>) o;
+        return quantile == that.quantile && digest.equals(that.digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), quantile, digest);
+    }
+
+    private static double checkQuantile(double quantile) {
+        checkTrue(quantile >= 0 && quantile <= 1, "quantile must be in the range [0, 1]");
+        return quantile;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.internal.util.MapUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * Estimates the most frequent non-null values (the heavy hitters) and their
+ * counts using a {@link CountMinSketch}.
+ * <p>
+ * Besides the sketch, a bounded number of candidate values having the
+ * highest estimated counts is tracked; a value is tracked if its estimate
+ * reaches the lowest estimate tracked when the candidates were pruned last
+ * time. The candidates of the combined partial results are merged and their
+ * counts are estimated again using the merged sketch.
+ *
+ * @param <I> input type
+ * @param <R> value type
+ */
+@SuppressFBWarnings("SE_BAD_FIELD")
+public final class ApproximateTopKAggregator<I, R>
+        extends AbstractAggregator<I, R, Map<R, Long>>
+        implements IdentifiedDataSerializable {
+
+    /**
+     * The number of candidates tracked per requested value, the more of
+     * them are tracked the less likely a frequent value spread across the
+     * partial results is missed.
+     */
+    private static final int CANDIDATES_PER_VALUE = 4;
+
+    private int k;
+    private CountMinSketch sketch = new CountMinSketch();
+    private Map<Object, Candidate<R>> candidates = new HashMap<>();
+    private long threshold;
+
+    public ApproximateTopKAggregator() {
+        super();
+    }
+
+    public ApproximateTopKAggregator(int k) {
+        super();
+        this.k = checkPositive("k", k);
+    }
+
+    public ApproximateTopKAggregator(String attributePath, int k) {
+        super(attributePath);
+        this.k = checkPositive("k", k);
+    }
+
+    @Override
+    protected void accumulateExtracted(I entry, R value) {
+        if (value == null) {
+            return;
+        }
+        Object canonical = SketchHashing.canonicalize(value);
+        long hash = SketchHashing.hash(canonical);
+        long estimate = sketch.add(hash);
+
+        Candidate<R> candidate = candidates.get(canonical);
+        if (candidate != null) {
+            candidate.count = estimate;
+        } else if (estimate >= threshold) {
+            candidates.put(canonical, new Candidate<>(value, hash, estimate));
+            // prune in batches to keep the accumulation amortized constant
+            if (candidates.size() > 2 * candidateCapacity()) {
+                prune();
+            }
+        }
+    }
+
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void combine(Aggregator aggregator) {
+        ApproximateTopKAggregator<I, R> other = (ApproximateTopKAggregator<I, R>) aggregator;
+        sketch.merge(other.sketch);
+        for (Map.Entry<Object, Candidate<R>> entry : other.candidates.entrySet()) {
+            Candidate<R> candidate = entry.getValue();
+            candidates.putIfAbsent(entry.getKey(), new Candidate<>(candidate.value, candidate.hash, 0));
+        }
+        estimateCandidates();
+        threshold = Math.max(threshold, other.threshold);
+        if (candidates.size() > candidateCapacity()) {
+            prune();
+        }
+    }
+
+    @Override
+    public Map<R, Long> aggregate() {
+        estimateCandidates();
+        List<Candidate<R>> sorted = sortedCandidates();
+        Map<R, Long> result = new LinkedHashMap<>(MapUtil.calculateInitialCapacity(k));
+        for (int i = 0; i < sorted.size() && i < k; ++i) {
+            Candidate<R> candidate = sorted.get(i);
+            result.put(candidate.value, candidate.count);
+        }
+        return result;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return AggregatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return AggregatorDataSerializerHook.APPROXIMATE_TOP_K;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attributePath);
+        out.writeInt(k);
+        out.writeLong(threshold);
+        sketch.writeData(out);
+        out.writeInt(candidates.size());
+        for (Candidate<R> candidate : candidates.values()) {
+            out.writeObject(candidate.value);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        this.attributePath = in.readUTF();
+        this.k = in.readInt();
+        this.threshold = in.readLong();
+        this.sketch = new CountMinSketch();
+        sketch.readData(in);
+        int count = in.readInt();
+        this.candidates = new HashMap<>(MapUtil.calculateInitialCapacity(count));
+        for (int i = 0; i < count; i++) {
+            R value = in.readObject();
+            Object canonical = SketchHashing.canonicalize(value);
+            long hash = SketchHashing.hash(canonical);
+            candidates.put(canonical, new Candidate<>(value, hash, sketch.estimate(hash)));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        ApproximateTopKAggregator<?, ?> that = (ApproximateTopKAggregator<?, ?>) o;
+        return k == that.k && sketch.equals(that.sketch) && candidates.keySet().equals(that.candidates.keySet());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), k, sketch, candidates.keySet());
+    }
+
+    private int candidateCapacity() {
+        return k * CANDIDATES_PER_VALUE;
+    }
+
+    /**
+     * Retains only the candidates having the highest estimated counts.
+     */
+    private void prune() {
+        List<Candidate<R>> sorted = sortedCandidates();
+        int capacity = candidateCapacity();
+        threshold = sorted.get(capacity - 1).count;
+        Iterator<Candidate<R>> iterator = candidates.values().iterator();
+        int ties = 0;
+        for (int i = 0; i < capacity; ++i) {
+            if (sorted.get(i).count == threshold) {
+                ++ties;
+            }
+        }
+        // drop the candidates below the threshold and the excess ones at it
+        while (iterator.hasNext()) {
+            Candidate<R> candidate = iterator.next();
+            if (candidate.count < threshold) {
+                iterator.remove();
+            } else if (candidate.count == threshold) {
+                if (ties == 0) {
+                    iterator.remove();
+                } else {
+                    --ties;
+                }
+            }
+        }
+    }
+
+    private void estimateCandidates() {
+        for (Candidate<R> candidate : candidates.values()) {
+            candidate.count = sketch.estimate(candidate.hash);
+        }
+    }
+
+    private List<Candidate<R>> sortedCandidates() {
+        List<Candidate<R>> sorted = new ArrayList<>(candidates.values());
+        sorted.sort((left, right) -> Long.compare(right.count, left.count));
+        return sorted;
+    }
+
+    private static final class Candidate<R> {
+
+        final R value;
+        final long hash;
+        long count;
+
+        Candidate(R value, long hash, long count) {
+            this.value = value;
+            this.hash = hash;
+            this.count = count;
+        }
+
+    }
+}
@@ -45,6 +45,11 @@ public final class BigDecimalAverageAggregator<I> extends AbstractAggregator<I,
         sum = sum.add(value);
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         BigDecimalAverageAggregator doubleAverageAggregator = (BigDecimalAverageAggregator) aggregator;
@@ -43,6 +43,11 @@ public final class BigDecimalSumAggregator<I> extends AbstractAggregator<I, BigD
         sum = sum.add(value);
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         BigDecimalSumAggregator longSumAggregator = (BigDecimalSumAggregator) aggregator;
@@ -46,6 +46,11 @@ public final class BigIntegerAverageAggregator<I> extends AbstractAggregator<I,
         sum = sum.add(value);
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         BigIntegerAverageAggregator typedAggregator = (BigIntegerAverageAggregator) aggregator;
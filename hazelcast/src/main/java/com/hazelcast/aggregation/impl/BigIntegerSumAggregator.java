@@ -42,6 +42,11 @@ public final class BigIntegerSumAggregator<I> extends AbstractAggregator<I, BigI
         sum = sum.add(value);
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         BigIntegerSumAggregator longSumAggregator = (BigIntegerSumAggregator) aggregator;
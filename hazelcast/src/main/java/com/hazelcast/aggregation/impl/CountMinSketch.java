@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A count-min sketch: a mergeable sketch estimating the number of
+ * occurrences of the values with a bounded overestimation.
+ * <p>
+ * The sketch consists of {@code depth} rows of {@code width} counters. A
+ * value increments one counter per row, chosen by a hash derived from the
+ * 64-bit hash of the value, and the estimated count of the value is the
+ * minimum of its counters. With the probability of at least {@code 1 -
+ * 2^-depth}, the estimate exceeds the actual count by at most {@code
+ * 2 * total / width}.
+ */
+final class CountMinSketch {
+
+    static final int DEFAULT_DEPTH = 4;
+    static final int DEFAULT_WIDTH = 1024;
+
+    private int depth;
+    private int width;
+    private long[] counters;
+
+    CountMinSketch() {
+        this(DEFAULT_DEPTH, DEFAULT_WIDTH);
+    }
+
+    CountMinSketch(int depth, int width) {
+        this.depth = depth;
+        this.width = width;
+        this.counters = new long[depth * width];
+    }
+
+    /**
+     * Adds an occurrence of the value having the given hash.
+     *
+     * @return the estimated count of the value after the addition.
+     */
+    long add(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; ++row) {
+            int index = index(hash, row);
+            estimate = Math.min(estimate, ++counters[index]);
+        }
+        return estimate;
+    }
+
+    /**
+     * @return the estimated count of the value having the given hash.
+     */
+    long estimate(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; ++row) {
+            estimate = Math.min(estimate, counters[index(hash, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Merges the given sketch of the same dimensions into this one.
+     */
+    void merge(CountMinSketch other) {
+        assert depth == other.depth && width == other.width;
+        for (int i = 0; i < counters.length; ++i) {
+            counters[i] += other.counters[i];
+        }
+    }
+
+    /**
+     * Writes the sketch sparsely if most of its counters are zeros, as they
+     * are for the sketches of the partitions having few distinct values.
+     */
+    void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(depth);
+        out.writeInt(width);
+        int nonZeroCount = 0;
+        for (long counter : counters) {
+            if (counter != 0) {
+                ++nonZeroCount;
+            }
+        }
+        // a sparse counter takes 12 bytes, a dense one 8 bytes
+        boolean sparse = nonZeroCount * (Integer.BYTES + Long.BYTES) < counters.length * Long.BYTES;
+        out.writeBoolean(sparse);
+        if (sparse) {
+            out.writeInt(nonZeroCount);
+            for (int i = 0; i < counters.length; ++i) {
+                if (counters[i] != 0) {
+                    out.writeInt(i);
+                    out.writeLong(counters[i]);
+                }
+            }
+        } else {
+            out.writeLongArray(counters);
+        }
+    }
+
+    void readData(ObjectDataInput in) throws IOException {
+        depth = in.readInt();
+        width = in.readInt();
+        if (in.readBoolean()) {
+            counters = new long[depth * width];
+            int nonZeroCount = in.readInt();
+            for (int i = 0; i < nonZeroCount; ++i) {
+                int index = in.readInt();
+                counters[index] = in.readLong();
+            }
+        } else {
+            counters = in.readLongArray();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CountMinSketch that = (CountMinSketch) o;
+        return depth == that.depth && width == that.width && Arrays.equals(counters, that.counters);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * depth + width) + Arrays.hashCode(counters);
+    }
+
+    /**
+     * Derives the hash of a row from the two halves of the 64-bit hash, see
+     * Kirsch, Mitzenmacher, "Less Hashing, Same Performance: Building a
+     * Better Bloom Filter".
+     */
+    private int index(long hash, int row) {
+        int rowHash = (int) hash + row * (int) (hash >>> Integer.SIZE);
+        return row * width + (rowHash & Integer.MAX_VALUE) % width;
+    }
+
+}
@@ -47,6 +47,11 @@ public final class DistinctValuesAggregator<I, R>
         values.addInternal(value);
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void combine(Aggregator aggregator) {
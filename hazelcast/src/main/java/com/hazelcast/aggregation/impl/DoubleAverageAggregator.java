@@ -46,6 +46,11 @@ public final class DoubleAverageAggregator<I> extends AbstractAggregator<I, Numb
         sum += Numbers.asDoubleExactly(value);
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         DoubleAverageAggregator doubleAverageAggregator = (DoubleAverageAggregator) aggregator;
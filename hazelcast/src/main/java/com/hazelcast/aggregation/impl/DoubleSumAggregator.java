@@ -43,6 +43,11 @@ public final class DoubleSumAggregator<I> extends AbstractAggregator<I, Number,
         sum += Numbers.asDoubleExactly(value);
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         DoubleSumAggregator longSumAggregator = (DoubleSumAggregator) aggregator;
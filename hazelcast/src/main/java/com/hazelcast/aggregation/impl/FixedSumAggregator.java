@@ -41,6 +41,11 @@ public final class FixedSumAggregator<I> extends AbstractAggregator<I, Number, L
         sum += value.longValue();
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         FixedSumAggregator longSumAggregator = (FixedSumAggregator) aggregator;
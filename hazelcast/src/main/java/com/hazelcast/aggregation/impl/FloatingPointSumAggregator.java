@@ -42,6 +42,11 @@ public final class FloatingPointSumAggregator<I> extends AbstractAggregator<I, N
         sum += value.doubleValue();
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         FloatingPointSumAggregator longSumAggregator = (FloatingPointSumAggregator) aggregator;
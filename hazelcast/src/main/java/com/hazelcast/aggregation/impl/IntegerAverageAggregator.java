@@ -46,6 +46,11 @@ public final class IntegerAverageAggregator<I> extends AbstractAggregator<I, Num
         sum += Numbers.asIntExactly(value);
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         IntegerAverageAggregator integerAverageAggregator = (IntegerAverageAggregator) aggregator;
@@ -43,6 +43,11 @@ public final class IntegerSumAggregator<I> extends AbstractAggregator<I, Number,
         sum += Numbers.asIntExactly(value);
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         IntegerSumAggregator integerSumAggregator = (IntegerSumAggregator) aggregator;
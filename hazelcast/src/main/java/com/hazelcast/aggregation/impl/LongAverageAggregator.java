@@ -45,6 +45,11 @@ public final class LongAverageAggregator<I> extends AbstractAggregator<I, Number
         sum += Numbers.asLongExactly(value);
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         LongAverageAggregator longAverageAggregator = (LongAverageAggregator) aggregator;
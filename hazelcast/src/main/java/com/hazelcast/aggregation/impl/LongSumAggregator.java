@@ -42,6 +42,11 @@ public final class LongSumAggregator<I> extends AbstractAggregator<I, Number, Lo
         sum += Numbers.asLongExactly(value);
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         LongSumAggregator longSumAggregator = (LongSumAggregator) aggregator;
@@ -52,6 +52,11 @@ public final class MaxAggregator<I, R extends Comparable> extends AbstractAggreg
         return max == null || Comparables.compare(max, otherValue) < 0;
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void combine(Aggregator aggregator) {
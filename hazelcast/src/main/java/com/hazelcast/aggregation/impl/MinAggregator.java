@@ -52,6 +52,11 @@ public final class MinAggregator<I, R extends Comparable> extends AbstractAggreg
         return min == null || Comparables.compare(min, otherValue) > 0;
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void combine(Aggregator aggregator) {
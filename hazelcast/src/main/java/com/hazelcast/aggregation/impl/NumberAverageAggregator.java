@@ -45,6 +45,11 @@ public final class NumberAverageAggregator<I> extends AbstractAggregator<I, Numb
         sum += value.doubleValue();
     }
 
+    @Override
+    public boolean isEntryReuseSafe() {
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         NumberAverageAggregator doubleAverageAggregator = (NumberAverageAggregator) aggregator;
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.query.impl.Comparables;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+
+/**
+ * Hashes the values accumulated by the approximate aggregators.
+ * <p>
+ * The partial results of the aggregators are produced on different members
+ * and combined afterwards, so the hashes must be the same on all the members:
+ * numbers are canonicalized the same way as for the hash lookups, so the
+ * numbers of different types representing the same value have the same hash,
+ * and strings are hashed independently of {@link String#hashCode}. Other
+ * values are hashed using their {@link Object#hashCode}, which must be
+ * consistent across the JVMs for these values.
+ */
+final class SketchHashing {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SketchHashing() {
+    }
+
+    /**
+     * @return the canonical representation of the given non-null value.
+     */
+    static Object canonicalize(Object value) {
+        if (value instanceof Comparable) {
+            return Comparables.canonicalizeForHashLookup((Comparable) value);
+        }
+        return value;
+    }
+
+    /**
+     * @return the 64-bit hash of the given canonicalized non-null value.
+     */
+    static long hash(Object canonical) {
+        if (canonical instanceof Long) {
+            return MurmurHash3_fmix((long) (Long) canonical);
+        } else if (canonical instanceof Double) {
+            return MurmurHash3_fmix(Double.doubleToLongBits((Double) canonical));
+        } else if (canonical instanceof String) {
+            String string = (String) canonical;
+            long hash = FNV_OFFSET_BASIS;
+            for (int i = 0; i < string.length(); ++i) {
+                hash ^= string.charAt(i);
+                hash *= FNV_PRIME;
+            }
+            return MurmurHash3_fmix(hash);
+        } else {
+            return MurmurHash3_fmix((long) canonical.hashCode());
+        }
+    }
+
+}
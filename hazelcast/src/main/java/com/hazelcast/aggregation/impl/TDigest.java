@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A merging t-digest: a mergeable sketch of a distribution of values
+ * answering the quantile queries with a small relative error, which is the
+ * smallest near the extreme quantiles.
+ * <p>
+ * The values are summarized by centroids, each one having a mean and a
+ * weight. The added values are buffered and merged into the centroids when
+ * the buffer is full. The size of a centroid is bounded using the arcsine
+ * scale function: the centroids close to the extreme quantiles stay small
+ * while the ones around the median may grow large. The number of centroids
+ * is bounded by the compression.
+ * <p>
+ * See Dunning, Ertl, "Computing Extremely Accurate Quantiles Using
+ * t-Digests".
+ */
+final class TDigest {
+
+    static final double DEFAULT_COMPRESSION = 100;
+
+    private static final int BUFFER_SIZE_FACTOR = 5;
+
+    private double compression;
+
+    private double[] means;
+    private long[] weights;
+    private int size;
+
+    private double[] bufferMeans;
+    private long[] bufferWeights;
+    private int bufferSize;
+
+    private long totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    TDigest(double compression) {
+        init(compression, 0);
+    }
+
+    /**
+     * Adds the given value to this digest. NaN values are ignored.
+     */
+    void add(double value) {
+        add(value, 1);
+    }
+
+    /**
+     * Merges the given digest into this one.
+     */
+    void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.size; ++i) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @return the estimated value at the given quantile or {@code null} if
+     * there are no values added to this digest.
+     */
+    @SuppressWarnings("checkstyle:npathcomplexity")
+    Double quantile(double quantile) {
+        compress();
+        if (totalWeight == 0) {
+            return null;
+        }
+        if (size == 1) {
+            return means[0];
+        }
+
+        double index = quantile * totalWeight;
+        double firstHalf = weights[0] / 2.0;
+        if (index <= firstHalf) {
+            return min + (means[0] - min) * (index / firstHalf);
+        }
+
+        // interpolate between the centers of the adjacent centroids
+        double centerWeight = firstHalf;
+        for (int i = 0; i < size - 1; ++i) {
+            double delta = (weights[i] + weights[i + 1]) / 2.0;
+            if (centerWeight + delta > index) {
+                double value = means[i] + (means[i + 1] - means[i]) * ((index - centerWeight) / delta);
+                return Math.max(min, Math.min(max, value));
+            }
+            centerWeight += delta;
+        }
+
+        double lastHalf = weights[size - 1] / 2.0;
+        double fraction = Math.min(1.0, (index - centerWeight) / lastHalf);
+        return means[size - 1] + (max - means[size - 1]) * fraction;
+    }
+
+    long totalWeight() {
+        return totalWeight;
+    }
+
+    void writeData(ObjectDataOutput out) throws IOException {
+        compress();
+        out.writeDouble(compression);
+        out.writeInt(size);
+        for (int i = 0; i < size; ++i) {
+            out.writeDouble(means[i]);
+            out.writeLong(weights[i]);
+        }
+        if (size > 0) {
+            out.writeDouble(min);
+            out.writeDouble(max);
+        }
+    }
+
+    void readData(ObjectDataInput in) throws IOException {
+        double compression = in.readDouble();
+        int size = in.readInt();
+        init(compression, size);
+        for (int i = 0; i < size; ++i) {
+            means[i] = in.readDouble();
+            weights[i] = in.readLong();
+            totalWeight += weights[i];
+        }
+        this.size = size;
+        if (size > 0) {
+            min = in.readDouble();
+            max = in.readDouble();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TDigest that = (TDigest) o;
+        compress();
+        that.compress();
+        return compression == that.compression && size == that.size
+                && Arrays.equals(Arrays.copyOf(means, size), Arrays.copyOf(that.means, that.size))
+                && Arrays.equals(Arrays.copyOf(weights, size), Arrays.copyOf(that.weights, that.size));
+    }
+
+    @Override
+    public int hashCode() {
+        compress();
+        int result = Double.hashCode(compression);
+        for (int i = 0; i < size; ++i) {
+            result = 31 * result + Double.hashCode(means[i]);
+            result = 31 * result + Long.hashCode(weights[i]);
+        }
+        return result;
+    }
+
+    private void init(double compression, int minCapacity) {
+        this.compression = compression;
+        int capacity = Math.max(minCapacity, (int) Math.ceil(compression) + 1);
+        this.means = new double[capacity];
+        this.weights = new long[capacity];
+        int bufferCapacity = capacity * BUFFER_SIZE_FACTOR;
+        this.bufferMeans = new double[bufferCapacity];
+        this.bufferWeights = new long[bufferCapacity];
+    }
+
+    private void add(double mean, long weight) {
+        if (Double.isNaN(mean)) {
+            return;
+        }
+        if (bufferSize == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[bufferSize] = mean;
+        bufferWeights[bufferSize] = weight;
+        ++bufferSize;
+        totalWeight += weight;
+        min = Math.min(min, mean);
+        max = Math.max(max, mean);
+    }
+
+    /**
+     * Merges the buffered values into the centroids.
+     */
+    private void compress() {
+        if (bufferSize == 0) {
+            return;
+        }
+        sort(bufferMeans, bufferWeights, 0, bufferSize - 1);
+
+        double[] mergedMeans = new double[means.length];
+        long[] mergedWeights = new long[weights.length];
+        int mergedSize = 0;
+
+        double currentMean = 0;
+        long currentWeight = 0;
+        long weightSoFar = 0;
+        double weightLimit = weightLimit(0);
+
+        int i = 0;
+        int j = 0;
+        while (i < size || j < bufferSize) {
+            double mean;
+            long weight;
+            if (j == bufferSize || i < size && means[i] <= bufferMeans[j]) {
+                mean = means[i];
+                weight = weights[i++];
+            } else {
+                mean = bufferMeans[j];
+                weight = bufferWeights[j++];
+            }
+
+            if (currentWeight == 0) {
+                currentMean = mean;
+                currentWeight = weight;
+            } else if (weightSoFar + currentWeight + weight <= weightLimit) {
+                currentWeight += weight;
+                currentMean += (mean - currentMean) * weight / currentWeight;
+            } else {
+                if (mergedSize == mergedMeans.length) {
+                    mergedMeans = Arrays.copyOf(mergedMeans, mergedSize * 2);
+                    mergedWeights = Arrays.copyOf(mergedWeights, mergedSize * 2);
+                }
+                mergedMeans[mergedSize] = currentMean;
+                mergedWeights[mergedSize] = currentWeight;
+                ++mergedSize;
+                weightSoFar += currentWeight;
+                weightLimit = weightLimit(weightSoFar);
+                currentMean = mean;
+                currentWeight = weight;
+            }
+        }
+        if (mergedSize == mergedMeans.length) {
+            mergedMeans = Arrays.copyOf(mergedMeans, mergedSize + 1);
+            mergedWeights = Arrays.copyOf(mergedWeights, mergedSize + 1);
+        }
+        mergedMeans[mergedSize] = currentMean;
+        mergedWeights[mergedSize] = currentWeight;
+
+        means = mergedMeans;
+        weights = mergedWeights;
+        size = mergedSize + 1;
+        bufferSize = 0;
+    }
+
+    /**
+     * @return the maximum cumulative weight of the centroids up to and
+     * including the one started after the given cumulative weight: the
+     * arcsine scale function may grow by at most one across a centroid.
+     */
+    private double weightLimit(long weightSoFar) {
+        double normalizer = compression / (2 * Math.PI);
+        double k = normalizer * Math.asin(2.0 * weightSoFar / totalWeight - 1) + 1;
+        if (k >= normalizer * Math.PI / 2) {
+            return totalWeight;
+        }
+        return totalWeight * (Math.sin(k / normalizer) + 1) / 2;
+    }
+
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static void sort(double[] keys, long[] values, int lo, int hi) {
+        int from = lo;
+        int to = hi;
+        while (to - from > 16) {
+            double pivot = keys[(from + to) >>> 1];
+            int left = from;
+            int right = to;
+            while (left <= right) {
+                while (keys[left] < pivot) {
+                    ++left;
+                }
+                while (keys[right] > pivot) {
+                    --right;
+                }
+                if (left <= right) {
+                    swap(keys, values, left++, right--);
+                }
+            }
+            // recurse into the smaller part to bound the stack depth
+            if (right - from < to - left) {
+                sort(keys, values, from, right);
+                from = left;
+            } else {
+                sort(keys, values, left, to);
+                to = right;
+            }
+        }
+        for (int i = from + 1; i <= to; ++i) {
+            for (int j = i; j > from && keys[j - 1] > keys[j]; --j) {
+                swap(keys, values, j - 1, j);
+            }
+        }
+    }
+
+    private static void swap(double[] keys, long[] values, int i, int j) {
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+}
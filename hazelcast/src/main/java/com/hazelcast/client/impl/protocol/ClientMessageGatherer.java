@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol;
+
+import com.hazelcast.internal.nio.Bits;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.IS_FINAL_FLAG;
+import static com.hazelcast.client.impl.protocol.ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS;
+
+/**
+ * Converts a {@link ClientMessage} into an array of {@link ByteBuffer}s which
+ * can be passed to a {@link java.nio.channels.GatheringByteChannel}.
+ * <p>
+ * Frame headers and small frame contents are copied into a single staging
+ * array. Frame contents of at least {@code minWrapSize} bytes, e.g. the
+ * payload of a {@link com.hazelcast.internal.serialization.impl.HeapData}
+ * encoded by the {@code DataCodec}, are wrapped as they are, so they reach
+ * the socket without being copied into an intermediate buffer first.
+ * <p>
+ * The byte sequence produced is identical to the one written by the
+ * {@link ClientMessageWriter}.
+ */
+public final class ClientMessageGatherer {
+
+    private ClientMessageGatherer() {
+    }
+
+    /**
+     * Gathers the frames of the given client message.
+     *
+     * @param clientMessage the message to gather
+     * @param minWrapSize   the minimum content length of a frame to be wrapped
+     *                      instead of copied into the staging array
+     * @return the buffers holding the encoded message, in order
+     */
+    public static ByteBuffer[] gather(ClientMessage clientMessage, int minWrapSize) {
+        int stagedLength = 0;
+        int bufferCount = 0;
+        boolean inRun = false;
+        for (ClientMessage.Frame frame = clientMessage.startFrame; frame != null; frame = frame.next) {
+            stagedLength += SIZE_OF_FRAME_LENGTH_AND_FLAGS;
+            if (!inRun) {
+                bufferCount++;
+                inRun = true;
+            }
+            if (isWrapped(frame, minWrapSize)) {
+                bufferCount++;
+                inRun = false;
+            } else {
+                stagedLength += frame.content.length;
+            }
+        }
+
+        byte[] staging = new byte[stagedLength];
+        ByteBuffer[] buffers = new ByteBuffer[bufferCount];
+        int index = 0;
+        int offset = 0;
+        int runStart = 0;
+        for (ClientMessage.Frame frame = clientMessage.startFrame; frame != null; frame = frame.next) {
+            int contentLength = frame.content.length;
+            int flags = frame.next == null ? frame.flags | IS_FINAL_FLAG : frame.flags;
+            Bits.writeIntL(staging, offset, contentLength + SIZE_OF_FRAME_LENGTH_AND_FLAGS);
+            Bits.writeShortL(staging, offset + Bits.INT_SIZE_IN_BYTES, (short) flags);
+            offset += SIZE_OF_FRAME_LENGTH_AND_FLAGS;
+
+            if (isWrapped(frame, minWrapSize)) {
+                buffers[index++] = ByteBuffer.wrap(staging, runStart, offset - runStart);
+                buffers[index++] = ByteBuffer.wrap(frame.content);
+                runStart = offset;
+            } else {
+                System.arraycopy(frame.content, 0, staging, offset, contentLength);
+                offset += contentLength;
+            }
+        }
+        if (offset > runStart) {
+            buffers[index] = ByteBuffer.wrap(staging, runStart, offset - runStart);
+        }
+        return buffers;
+    }
+
+    /**
+     * Checks if the given client message has a frame that would be wrapped
+     * by {@link #gather(ClientMessage, int)}. If not, gathering the message
+     * only copies it into the staging array.
+     *
+     * @param clientMessage the message to check
+     * @param minWrapSize   the minimum content length of a frame to be wrapped
+     * @return {@code true} if at least one frame would be wrapped
+     */
+    public static boolean hasWrappedFrame(ClientMessage clientMessage, int minWrapSize) {
+        for (ClientMessage.Frame frame = clientMessage.startFrame; frame != null; frame = frame.next) {
+            if (isWrapped(frame, minWrapSize)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWrapped(ClientMessage.Frame frame, int minWrapSize) {
+        int contentLength = frame.content.length;
+        return contentLength > 0 && contentLength >= minWrapSize;
+    }
+}
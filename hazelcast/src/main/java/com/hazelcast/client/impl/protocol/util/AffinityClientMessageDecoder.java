@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.internal.networking.InboundPipeline;
+import com.hazelcast.internal.nio.Connection;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A {@link ClientMessageDecoder} that records the affinity of every partition
+ * specific client message on the {@link InboundPipeline} of the channel.
+ *
+ * The affinity of a message is the index of the partition operation thread its
+ * message task is going to be run by, so the pipeline can be moved to the input
+ * thread paired with that partition thread.
+ *
+ * @see InboundPipeline#recordAffinity(int)
+ * @see com.hazelcast.internal.server.tcp.AffinityPacketDecoder
+ * @see com.hazelcast.spi.properties.ClusterProperty#OPERATION_THREAD_PER_CORE
+ */
+public class AffinityClientMessageDecoder extends ClientMessageDecoder {
+
+    private final IntUnaryOperator partitionThreadIndex;
+    private InboundPipeline pipeline;
+
+    public AffinityClientMessageDecoder(Connection connection, Consumer<ClientMessage> dst, HazelcastProperties properties,
+                                        IntUnaryOperator partitionThreadIndex) {
+        super(connection, dst, properties);
+        this.partitionThreadIndex = partitionThreadIndex;
+    }
+
+    @Override
+    public void handlerAdded() {
+        super.handlerAdded();
+        pipeline = channel.inboundPipeline();
+    }
+
+    @Override
+    protected void handleMessage(ClientMessage clientMessage) {
+        int partitionId = clientMessage.getPartitionId();
+        if (partitionId >= 0) {
+            pipeline.recordAffinity(partitionThreadIndex.applyAsInt(partitionId));
+        }
+
+        super.handleMessage(clientMessage);
+    }
+}
@@ -127,7 +127,7 @@ public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer,
         return existingMessage;
     }
 
-    private void handleMessage(ClientMessage clientMessage) {
+    protected void handleMessage(ClientMessage clientMessage) {
         clientMessage.setConnection(connection);
         normalPacketsRead.inc();
         dst.accept(clientMessage);
@@ -17,7 +17,9 @@
 package com.hazelcast.client.impl.protocol.util;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageGatherer;
 import com.hazelcast.client.impl.protocol.ClientMessageWriter;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundHandler;
 
@@ -30,19 +32,46 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
 
 /**
  * A {@link OutboundHandler} for the new-client. It writes ClientMessages to the ByteBuffer.
+ * <p>
+ * If gathering is enabled, a message with a frame content of at least the
+ * gather threshold is not written to the ByteBuffer, but handed to the pipeline
+ * as the buffers created by the {@link ClientMessageGatherer}. A message made of
+ * many small frames is written to the ByteBuffer, no matter its total length,
+ * since gathering it would copy it anyway.
  */
-public class ClientMessageEncoder extends OutboundHandler<Supplier<ClientMessage>, ByteBuffer> {
+public class ClientMessageEncoder extends OutboundHandler<Supplier<ClientMessage>, ByteBuffer>
+        implements GatheringOutboundHandler {
 
     private ClientMessage message;
     private final ClientMessageWriter clientMessageWriter = new ClientMessageWriter();
+    private int gatherThreshold;
+    private ByteBuffer[] gathered;
 
     @Override
     public void handlerAdded() {
         initDstBuffer();
     }
 
+    @Override
+    public void gatherThreshold(int gatherThreshold) {
+        this.gatherThreshold = gatherThreshold;
+    }
+
+    @Override
+    public ByteBuffer[] gatheredBuffers() {
+        if (gathered != null && !gathered[gathered.length - 1].hasRemaining()) {
+            gathered = null;
+        }
+        return gathered;
+    }
+
     @Override
     public HandlerStatus onWrite() {
+        if (gatheredBuffers() != null) {
+            // the gathered message has not been written yet, so nothing can be added behind it
+            return DIRTY;
+        }
+
         compactOrClear(dst);
         try {
             for (; ; ) {
@@ -53,6 +82,12 @@ public class ClientMessageEncoder extends OutboundHandler<Supplier<ClientMessage
                         // everything is processed, so we are done
                         return CLEAN;
                     }
+
+                    if (gatherThreshold > 0 && ClientMessageGatherer.hasWrappedFrame(message, gatherThreshold)) {
+                        gather(message);
+                        message = null;
+                        return DIRTY;
+                    }
                 }
 
                 if (clientMessageWriter.writeTo(dst, message)) {
@@ -67,4 +102,12 @@ public class ClientMessageEncoder extends OutboundHandler<Supplier<ClientMessage
             dst.flip();
         }
     }
+
+    private void gather(ClientMessage message) {
+        // the message is written to the socket right after the content of the dst
+        ByteBuffer[] buffers = ClientMessageGatherer.gather(message, gatherThreshold);
+        gathered = new ByteBuffer[buffers.length + 1];
+        gathered[0] = dst;
+        System.arraycopy(buffers, 0, gathered, 1, buffers.length);
+    }
 }
@@ -45,7 +45,9 @@ import static com.hazelcast.internal.util.ThreadAffinity.newSystemThreadAffinity
 import static com.hazelcast.spi.properties.ClusterProperty.IO_BALANCER_INTERVAL_SECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_INPUT_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_OUTPUT_THREAD_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_WRITE_GATHER_THRESHOLD;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_WRITE_THROUGH_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_THREAD_PER_CORE;
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
 
@@ -174,7 +176,9 @@ public class DefaultNodeContext implements NodeContext {
                         .outputThreadCount(props.getInteger(IO_OUTPUT_THREAD_COUNT))
                         .outputThreadAffinity(newSystemThreadAffinity("hazelcast.io.output.thread.affinity"))
                         .balancerIntervalSeconds(props.getInteger(IO_BALANCER_INTERVAL_SECONDS))
+                        .inboundAffinityEnabled(props.getBoolean(OPERATION_THREAD_PER_CORE))
                         .writeThroughEnabled(props.getBoolean(IO_WRITE_THROUGH_ENABLED))
+                        .writeGatherThreshold(props.getInteger(IO_WRITE_GATHER_THRESHOLD))
                         .concurrencyDetection(node.nodeEngine.getConcurrencyDetection())
         );
     }
@@ -83,6 +83,7 @@ import com.hazelcast.internal.serialization.SerializationServiceBuilder;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.internal.server.ServerContext;
+import com.hazelcast.internal.server.tcp.AffinityPacketDecoder;
 import com.hazelcast.internal.server.tcp.ChannelInitializerFunction;
 import com.hazelcast.internal.server.tcp.PacketDecoder;
 import com.hazelcast.internal.server.tcp.PacketEncoder;
@@ -104,6 +105,7 @@ import com.hazelcast.security.SecurityService;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.eventservice.impl.EventServiceImpl;
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
 import com.hazelcast.spi.impl.servicemanager.ServiceManager;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.version.MemberVersion;
@@ -353,7 +355,14 @@ public class DefaultNodeExtension implements NodeExtension {
     public InboundHandler[] createInboundHandlers(EndpointQualifier qualifier,
                                                   ServerConnection connection, ServerContext serverContext) {
         NodeEngineImpl nodeEngine = node.nodeEngine;
-        PacketDecoder decoder = new PacketDecoder(connection, nodeEngine.getPacketDispatcher());
+        PacketDecoder decoder;
+        if (node.getProperties().getBoolean(ClusterProperty.OPERATION_THREAD_PER_CORE)) {
+            OperationExecutor operationExecutor = nodeEngine.getOperationService().getOperationExecutor();
+            decoder = new AffinityPacketDecoder(connection, nodeEngine.getPacketDispatcher(),
+                    operationExecutor::getPartitionThreadId);
+        } else {
+            decoder = new PacketDecoder(connection, nodeEngine.getPacketDispatcher());
+        }
         return new InboundHandler[]{decoder};
     }
 
@@ -125,11 +125,11 @@ public final class ConfigValidator {
                                       SplitBrainMergePolicyProvider mergePolicyProvider,
                                       HazelcastProperties properties) {
 
-        checkNotNativeWhenOpenSource(mapConfig.getInMemoryFormat());
-
         if (getBuildInfo().isEnterprise()) {
             checkMapNativeConfig(mapConfig, nativeMemoryConfig);
             checkHotRestartSpecificConfig(mapConfig, properties);
+        } else {
+            checkOpenSourceMapNativeConfig(mapConfig, nativeMemoryConfig);
         }
 
         checkMapEvictionConfig(mapConfig.getEvictionConfig());
@@ -211,6 +211,22 @@ public final class ConfigValidator {
         checkMapNativeMaxSizePolicy(mapConfig);
     }
 
+    /**
+     * Open source supports {@link InMemoryFormat#NATIVE} maps backed by
+     * an unpooled native memory manager, which still requires native
+     * memory to be enabled explicitly.
+     */
+    private static void checkOpenSourceMapNativeConfig(MapConfig mapConfig, NativeMemoryConfig nativeMemoryConfig) {
+        if (NATIVE != mapConfig.getInMemoryFormat()) {
+            return;
+        }
+        if (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            throw new InvalidConfigurationException(format("Enable native memory config to use NATIVE"
+                    + " in-memory-format for the map [%s]", mapConfig.getName()));
+        }
+        checkMapNativeMaxSizePolicy(mapConfig);
+    }
+
     private static void checkMapNativeMaxSizePolicy(MapConfig mapConfig) {
         MaxSizePolicy maxSizePolicy = mapConfig.getEvictionConfig().getMaxSizePolicy();
         if (!MAP_SUPPORTED_NATIVE_MAX_SIZE_POLICIES.contains(maxSizePolicy)) {
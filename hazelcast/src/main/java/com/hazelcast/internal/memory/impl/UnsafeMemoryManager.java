@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static java.lang.String.format;
+
+/**
+ * {@link MemoryManager} which allocates blocks of native memory directly with
+ * {@link sun.misc.Unsafe#allocateMemory(long)} and keeps the total amount of
+ * allocated memory below a configured limit.
+ * <p>
+ * Unlike the pooled allocators, every block is a separate OS-level allocation,
+ * so this manager is best suited to a moderate number of mid-sized blocks.
+ * Allocation and freeing are thread-safe. The accessor is the platform-aware
+ * {@link com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry#MEM}.
+ */
+public class UnsafeMemoryManager implements MemoryManager {
+
+    private final long maxMemory;
+    private final AtomicLong usedMemory = new AtomicLong();
+    private final Allocator malloc = new Allocator();
+
+    public UnsafeMemoryManager(long maxMemory) {
+        if (!UNSAFE_AVAILABLE || !MEM_AVAILABLE) {
+            throw new UnsupportedOperationException("Native memory requires sun.misc.Unsafe, which is not available");
+        }
+        this.maxMemory = checkPositive("maxMemory", maxMemory);
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return malloc;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    @Override
+    public void dispose() {
+        malloc.dispose();
+    }
+
+    /**
+     * @return number of bytes currently allocated through this manager
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    /**
+     * @return maximum number of bytes this manager is allowed to allocate
+     */
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    private void reserve(long size) {
+        for (; ; ) {
+            long used = usedMemory.get();
+            long newUsed = used + size;
+            if (newUsed > maxMemory) {
+                throw new NativeOutOfMemoryError(format("Not enough native memory! Requested %d bytes,"
+                        + " used %d bytes of %d bytes", size, used, maxMemory));
+            }
+            if (usedMemory.compareAndSet(used, newUsed)) {
+                return;
+            }
+        }
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            reserve(size);
+            long address;
+            try {
+                address = UNSAFE.allocateMemory(size);
+            } catch (OutOfMemoryError e) {
+                usedMemory.addAndGet(-size);
+                throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes of native memory", e);
+            }
+            UNSAFE.setMemory(address, size, (byte) 0);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            long diff = newSize - currentSize;
+            if (diff > 0) {
+                reserve(diff);
+            }
+            long newAddress;
+            try {
+                newAddress = UNSAFE.reallocateMemory(address, newSize);
+            } catch (OutOfMemoryError e) {
+                if (diff > 0) {
+                    usedMemory.addAndGet(-diff);
+                }
+                throw new NativeOutOfMemoryError("Cannot reallocate " + newSize + " bytes of native memory", e);
+            }
+            if (diff > 0) {
+                UNSAFE.setMemory(newAddress + currentSize, diff, (byte) 0);
+            } else {
+                usedMemory.addAndGet(diff);
+            }
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            UNSAFE.freeMemory(address);
+            usedMemory.addAndGet(-size);
+        }
+
+        @Override
+        public void dispose() {
+            // blocks are owned and freed by the structures which allocated them
+        }
+    }
+}
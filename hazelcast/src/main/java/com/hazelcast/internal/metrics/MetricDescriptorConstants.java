@@ -231,6 +231,9 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_BACKUP_COUNT = "backupCount";
     public static final String MAP_METRIC_QUERY_COUNT = "queryCount";
     public static final String MAP_METRIC_INDEXED_QUERY_COUNT = "indexedQueryCount";
+    public static final String MAP_METRIC_QUERY_RESULT_CACHE_HITS = "queryResultCacheHits";
+    public static final String MAP_METRIC_QUERY_RESULT_CACHE_MISSES = "queryResultCacheMisses";
+    public static final String MAP_METRIC_QUERY_RESULT_CACHE_INVALIDATIONS = "queryResultCacheInvalidations";
     public static final String MAP_METRIC_TOTAL_PUT_LATENCY = "totalPutLatency";
     public static final String MAP_METRIC_TOTAL_SET_LATENCY = "totalSetLatency";
     public static final String MAP_METRIC_TOTAL_GET_LATENCY = "totalGetLatency";
@@ -330,6 +333,9 @@ public final class MetricDescriptorConstants {
             "priorityWriteQueuePendingBytes";
     public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_IDLE_TIME_MILLIS = "idleTimeMillis";
     public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_SCHEDULED = "scheduled";
+    public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITES = "writes";
+    public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_GATHERING_WRITES = "gatheringWrites";
+    public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_PER_WRITE = "bytesPerWrite";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_PROCESS_COUNT = "processCount";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_OWNER_ID = "ownerId";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_STARTED_MIGRATIONS = "startedMigrations";
@@ -349,6 +355,9 @@ public final class MetricDescriptorConstants {
     public static final String NETWORKING_METRIC_NIO_THREAD_IDLE_TIME_MILLIS = "idleTimeMillis";
     public static final String NETWORKING_METRIC_NIO_IO_BALANCER_IMBALANCE_DETECTED_COUNT = "imbalanceDetectedCount";
     public static final String NETWORKING_METRIC_NIO_IO_BALANCER_MIGRATION_COMPLETED_COUNT = "migrationCompletedCount";
+    public static final String NETWORKING_METRIC_NIO_IO_BALANCER_AFFINITY_MIGRATION_COUNT = "affinityMigrationCount";
+    public static final String NETWORKING_METRIC_NIO_IO_BALANCER_AFFINITY_FRAME_COUNT = "affinityFrameCount";
+    public static final String NETWORKING_METRIC_NIO_IO_BALANCER_AFFINITY_LOCAL_FRAME_COUNT = "affinityLocalFrameCount";
     // ===[/NETWORKING]=================================================
 
     // ===[OPERATION]===================================================
@@ -403,6 +412,10 @@ public final class MetricDescriptorConstants {
     public static final String OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_USED_PERCENTAGE = "invocations.usedPercentage";
     public static final String OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_LAST_CALL_ID = "invocations.lastCallId";
     public static final String OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_PENDING = "invocations.pending";
+    public static final String OPERATION_METRIC_INVOCATION_COALESCER_INVOCATIONS = "coalescer.invocations";
+    public static final String OPERATION_METRIC_INVOCATION_COALESCER_BATCHES = "coalescer.batches";
+    public static final String OPERATION_METRIC_INVOCATION_COALESCER_BATCHED_INVOCATIONS = "coalescer.batchedInvocations";
+    public static final String OPERATION_METRIC_INVOCATION_COALESCER_TOTAL_DELAY = "coalescer.totalDelay";
     public static final String OPERATION_METRIC_OPERATION_RUNNER_EXECUTED_OPERATIONS_COUNT = "executedOperationsCount";
     public static final String OPERATION_METRIC_OPERATION_SERVICE_ASYNC_OPERATIONS = "asyncOperations";
     public static final String OPERATION_METRIC_OPERATION_SERVICE_TIMEOUT_COUNT = "operationTimeoutCount";
@@ -514,6 +527,18 @@ public final class MetricDescriptorConstants {
     public static final String SET_METRIC_CREATION_TIME = "creationTime";
     // ===[/SET]======================================================
 
+    // ===[SQL]=========================================================
+    public static final String SQL_PREFIX_PLAN_CACHE = "sql.planCache";
+    public static final String SQL_METRIC_PLAN_CACHE_SIZE = "size";
+    public static final String SQL_METRIC_PLAN_CACHE_HITS = "hits";
+    public static final String SQL_METRIC_PLAN_CACHE_MISSES = "misses";
+    public static final String SQL_METRIC_PLAN_CACHE_EVICTIONS = "evictions";
+    public static final String SQL_METRIC_PLAN_CACHE_OPTIMIZATION_COUNT = "optimizationCount";
+    public static final String SQL_METRIC_PLAN_CACHE_TOTAL_OPTIMIZATION_TIME = "totalOptimizationTime";
+    public static final String SQL_METRIC_PLAN_CACHE_MAX_OPTIMIZATION_TIME = "maxOptimizationTime";
+    public static final String SQL_METRIC_PLAN_CACHE_PREPARED_STATEMENT_COUNT = "preparedStatementCount";
+    // ===[/SQL]========================================================
+
     // ===[TCP]=========================================================
     public static final String TCP_PREFIX = "tcp";
     public static final String TCP_PREFIX_ACCEPTOR = "tcp.acceptor";
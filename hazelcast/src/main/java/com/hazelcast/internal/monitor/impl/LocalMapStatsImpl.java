@@ -47,6 +47,9 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_OWNED_ENTRY_MEMORY_COST;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_PUT_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_QUERY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_QUERY_RESULT_CACHE_HITS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_QUERY_RESULT_CACHE_INVALIDATIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_QUERY_RESULT_CACHE_MISSES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_REMOVE_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_SET_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_GET_LATENCY;
@@ -166,6 +169,12 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long queryCount;
     @Probe(name = MAP_METRIC_INDEXED_QUERY_COUNT)
     private volatile long indexedQueryCount;
+    @Probe(name = MAP_METRIC_QUERY_RESULT_CACHE_HITS)
+    private volatile long queryResultCacheHits;
+    @Probe(name = MAP_METRIC_QUERY_RESULT_CACHE_MISSES)
+    private volatile long queryResultCacheMisses;
+    @Probe(name = MAP_METRIC_QUERY_RESULT_CACHE_INVALIDATIONS)
+    private volatile long queryResultCacheInvalidations;
 
     public LocalMapStatsImpl() {
         creationTime = Clock.currentTimeMillis();
@@ -405,6 +414,43 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.indexedQueryCount = indexedQueryCount;
     }
 
+    /**
+     * @return the number of partition scans served from the query result
+     * cache.
+     */
+    public long getQueryResultCacheHits() {
+        return queryResultCacheHits;
+    }
+
+    /**
+     * @return the number of partition scans not served from the query result
+     * cache.
+     */
+    public long getQueryResultCacheMisses() {
+        return queryResultCacheMisses;
+    }
+
+    /**
+     * @return the number of query results discarded from the query result
+     * cache because their partitions were mutated.
+     */
+    public long getQueryResultCacheInvalidations() {
+        return queryResultCacheInvalidations;
+    }
+
+    /**
+     * Sets the query result cache stats of this stats to the given values.
+     *
+     * @param hits          the number of partition scans served from the cache.
+     * @param misses        the number of partition scans not served from the cache.
+     * @param invalidations the number of results discarded from the cache.
+     */
+    public void setQueryResultCacheStats(long hits, long misses, long invalidations) {
+        this.queryResultCacheHits = hits;
+        this.queryResultCacheMisses = misses;
+        this.queryResultCacheInvalidations = invalidations;
+    }
+
     @Override
     public Map<String, LocalIndexStats> getIndexStats() {
         return indexStats;
@@ -518,6 +564,9 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + ", nearCacheStats=" + (nearCacheStats != null ? nearCacheStats : "")
                 + ", queryCount=" + queryCount
                 + ", indexedQueryCount=" + indexedQueryCount
+                + ", queryResultCacheHits=" + queryResultCacheHits
+                + ", queryResultCacheMisses=" + queryResultCacheMisses
+                + ", queryResultCacheInvalidations=" + queryResultCacheInvalidations
                 + ", indexStats=" + indexStats
                 + '}';
     }
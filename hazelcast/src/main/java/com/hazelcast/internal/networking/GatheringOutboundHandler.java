@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link OutboundHandler} that can hand over the content of large frames
+ * to the pipeline as separate buffers instead of copying it into its
+ * destination buffer. The pipeline writes the destination buffer and the
+ * gathered buffers to the socket with a single gathering write.
+ * <p>
+ * Gathering is only possible if the handler is the last one in the
+ * pipeline, so its destination buffer is the one written to the socket.
+ * The pipeline enables it through {@link #gatherThreshold(int)} when that
+ * is the case and disables it otherwise, e.g. when TLS is added after it.
+ * <p>
+ * As long as gathered buffers are pending, the handler should not write
+ * into its destination buffer; otherwise the frames get reordered.
+ */
+public interface GatheringOutboundHandler {
+
+    /**
+     * Sets the minimum size of a frame for its content to be gathered instead
+     * of copied into the destination buffer.
+     *
+     * @param gatherThreshold the minimum frame size in bytes, 0 or less disables
+     *                        gathering
+     */
+    void gatherThreshold(int gatherThreshold);
+
+    /**
+     * Returns the buffers to be written to the socket, or {@code null} if
+     * nothing has been gathered. If not {@code null}, the first buffer is the
+     * destination buffer of the handler. Once all buffers have been written,
+     * the handler returns {@code null} again.
+     *
+     * @return the pending buffers or {@code null}
+     */
+    ByteBuffer[] gatheredBuffers();
+}
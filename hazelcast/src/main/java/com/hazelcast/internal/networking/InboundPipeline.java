@@ -100,4 +100,20 @@ public interface InboundPipeline {
      * @return this
      */
     InboundPipeline wakeup();
+
+    /**
+     * Records that a frame read by this pipeline is going to be processed by
+     * the worker with the given affinity index, e.g. the partition operation
+     * thread a packet is dispatched to.
+     *
+     * The recorded affinity can be used to move the pipeline to the thread
+     * that is paired with the worker processing most of its frames. The default
+     * implementation ignores the affinity.
+     *
+     * This method should only be made on the thread 'owning' the pipeline.
+     *
+     * @param affinityIndex the index of the worker processing the frame
+     */
+    default void recordAffinity(int affinityIndex) {
+    }
 }
@@ -51,4 +51,17 @@ public interface MigratablePipeline {
      * @return total load recorded by this pipeline
      */
     long load();
+
+    /**
+     * Get the number of frames recorded by the current pipeline that are processed
+     * by the worker paired with the {@link NioThread} at the given index. It can be
+     * used to decide to which NioThread this pipeline should be migrated.
+     *
+     * @param ownerIndex the index of the NioThread
+     * @return total affinity load recorded by this pipeline for the given NioThread
+     * @see com.hazelcast.internal.networking.InboundPipeline#recordAffinity(int)
+     */
+    default long affinityLoad(int ownerIndex) {
+        return 0;
+    }
 }
@@ -63,6 +63,8 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
     private final SwCounter normalFramesRead = newSwCounter();
     @Probe(name = NETWORKING_METRIC_NIO_INBOUND_PIPELINE_PRIORITY_FRAMES_READ)
     private final SwCounter priorityFramesRead = newSwCounter();
+    // the frames read per affinity index; empty when the affinity isn't tracked
+    private final SwCounter[] affinityLoad;
     private volatile long lastReadTime;
 
     private volatile long bytesReadLastPublish;
@@ -75,7 +77,20 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
                        ChannelErrorHandler errorHandler,
                        ILogger logger,
                        IOBalancer balancer) {
+        this(channel, owner, errorHandler, logger, balancer, 0);
+    }
+
+    NioInboundPipeline(NioChannel channel,
+                       NioThread owner,
+                       ChannelErrorHandler errorHandler,
+                       ILogger logger,
+                       IOBalancer balancer,
+                       int affinityCount) {
         super(channel, owner, errorHandler, OP_READ, logger, balancer);
+        this.affinityLoad = new SwCounter[affinityCount];
+        for (int k = 0; k < affinityCount; k++) {
+            affinityLoad[k] = newSwCounter();
+        }
     }
 
     public long normalFramesRead() {
@@ -100,6 +115,18 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
         }
     }
 
+    @Override
+    public long affinityLoad(int ownerIndex) {
+        return ownerIndex < affinityLoad.length ? affinityLoad[ownerIndex].get() : 0;
+    }
+
+    @Override
+    public void recordAffinity(int affinityIndex) {
+        if (affinityLoad.length > 0) {
+            affinityLoad[affinityIndex % affinityLoad.length].inc();
+        }
+    }
+
     @Probe(name = NETWORKING_METRIC_NIO_INBOUND_PIPELINE_IDLE_TIME_MS, unit = MS)
     private long idleTimeMillis() {
         return Math.max(currentTimeMillis() - lastReadTime, 0);
@@ -120,7 +120,9 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
     private volatile ExecutorService closeListenerExecutor;
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
+    private final int writeGatherThreshold;
     private final ThreadAffinity inputThreadAffinity;
+    private final boolean inboundAffinityEnabled;
     private volatile IOBalancer ioBalancer;
     private volatile NioThread[] inputThreads;
     private volatile NioThread[] outputThreads;
@@ -147,11 +149,13 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         this.errorHandler = ctx.errorHandler;
         this.inputThreadAffinity = ctx.inputThreadAffinity;
         this.outputThreadAffinity = ctx.outputThreadAffinity;
+        this.inboundAffinityEnabled = ctx.inboundAffinityEnabled;
         this.balancerIntervalSeconds = ctx.balancerIntervalSeconds;
         this.selectorMode = ctx.selectorMode;
         this.selectorWorkaroundTest = ctx.selectorWorkaroundTest;
         this.idleStrategy = ctx.idleStrategy;
         this.concurrencyDetection = ctx.concurrencyDetection;
+        this.writeGatherThreshold = ctx.writeGatherThreshold;
         // selector mode SELECT_WITH_FIX requires that a single thread
         // accesses a selector & its selectionKeys. Selection key wake-up
         // and write through break this requirement, therefore must be
@@ -248,7 +252,8 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
     }
 
     private void startIOBalancer() {
-        ioBalancer = new IOBalancer(inputThreads, outputThreads, threadNamePrefix, balancerIntervalSeconds, loggingService);
+        ioBalancer = new IOBalancer(inputThreads, outputThreads, threadNamePrefix, balancerIntervalSeconds, loggingService,
+                inboundAffinityEnabled);
         ioBalancer.start();
     }
 
@@ -333,7 +338,8 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                 ioBalancer,
                 concurrencyDetection,
                 writeThroughEnabled,
-                selectionKeyWakeupEnabled);
+                selectionKeyWakeupEnabled,
+                writeGatherThreshold);
     }
 
     private NioInboundPipeline newInboundPipeline(NioChannel channel) {
@@ -348,7 +354,8 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                 threads[index],
                 errorHandler,
                 loggingService.getLogger(NioInboundPipeline.class),
-                ioBalancer);
+                ioBalancer,
+                inboundAffinityEnabled ? inputThreadCount : 0);
     }
 
     @Override
@@ -484,6 +491,8 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         private int balancerIntervalSeconds;
         private ThreadAffinity inputThreadAffinity = ThreadAffinity.DISABLED;
         private ThreadAffinity outputThreadAffinity = ThreadAffinity.DISABLED;
+        // if the inbound pipelines are migrated to the input thread their frames have affinity with
+        private boolean inboundAffinityEnabled;
 
         // The selector mode determines how IO threads will block (or not) on the Selector:
         //  select:         this is the default mode, uses Selector.select(long timeout)
@@ -503,6 +512,10 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         // this is an optimization that can speed up low threaded setups
         private boolean writeThroughEnabled;
 
+        // the minimum size of a frame for its content to be written to the socket with a
+        // gathering write instead of being copied into the send buffer; 0 or less disables it
+        private int writeGatherThreshold;
+
         public Context() {
             String selectorModeString = SelectorMode.getConfiguredString();
             if (selectorModeString.startsWith(SELECT_NOW_STRING + ",")) {
@@ -520,6 +533,11 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             return this;
         }
 
+        public Context writeGatherThreshold(int writeGatherThreshold) {
+            this.writeGatherThreshold = writeGatherThreshold;
+            return this;
+        }
+
         public Context concurrencyDetection(ConcurrencyDetection concurrencyDetection) {
             this.concurrencyDetection = concurrencyDetection;
             return this;
@@ -589,6 +607,11 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             return this;
         }
 
+        public Context inboundAffinityEnabled(boolean inboundAffinityEnabled) {
+            this.inboundAffinityEnabled = inboundAffinityEnabled;
+            return this;
+        }
+
         public Context balancerIntervalSeconds(int balancerIntervalSeconds) {
             this.balancerIntervalSeconds = balancerIntervalSeconds;
             return this;
@@ -19,6 +19,7 @@ package com.hazelcast.internal.networking.nio;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.ChannelHandler;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.networking.OutboundHandler;
@@ -36,7 +37,9 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_PER_WRITE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_GATHERING_WRITES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_IDLE_TIME_MILLIS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_NORMAL_FRAMES_WRITTEN;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_FRAMES_WRITTEN;
@@ -45,6 +48,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKIN
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_SCHEDULED;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_PENDING_BYTES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_SIZE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITES;
 import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
@@ -112,6 +116,7 @@ public final class NioOutboundPipeline
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
+    private GatheringOutboundHandler gatheringHandler;
 
     private final AtomicReference<State> scheduled = new AtomicReference<>(State.SCHEDULED);
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN, unit = BYTES)
@@ -120,6 +125,10 @@ public final class NioOutboundPipeline
     private final SwCounter normalFramesWritten = newSwCounter();
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_FRAMES_WRITTEN)
     private final SwCounter priorityFramesWritten = newSwCounter();
+    @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITES)
+    private final SwCounter writes = newSwCounter();
+    @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_GATHERING_WRITES)
+    private final SwCounter gatheringWrites = newSwCounter();
 
     private volatile long lastWriteTime;
 
@@ -130,6 +139,7 @@ public final class NioOutboundPipeline
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
     private final boolean selectionKeyWakeupEnabled;
+    private final int gatherThreshold;
 
     NioOutboundPipeline(NioChannel channel,
                         NioThread owner,
@@ -138,11 +148,13 @@ public final class NioOutboundPipeline
                         IOBalancer balancer,
                         ConcurrencyDetection concurrencyDetection,
                         boolean writeThroughEnabled,
-                        boolean selectionKeyWakeupEnabled) {
+                        boolean selectionKeyWakeupEnabled,
+                        int gatherThreshold) {
         super(channel, owner, errorHandler, OP_WRITE, logger, balancer);
         this.concurrencyDetection = concurrencyDetection;
         this.writeThroughEnabled = writeThroughEnabled;
         this.selectionKeyWakeupEnabled = selectionKeyWakeupEnabled;
+        this.gatherThreshold = gatherThreshold;
     }
 
     @Override
@@ -195,6 +207,12 @@ public final class NioOutboundPipeline
         return scheduled.get().ordinal();
     }
 
+    @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_PER_WRITE, unit = BYTES)
+    private long bytesPerWrite() {
+        long writes = this.writes.get();
+        return writes == 0 ? 0 : bytesWritten.get() / writes;
+    }
+
     public void write(OutboundFrame frame) {
         if (frame.isUrgent()) {
             priorityWriteQueue.offer(frame);
@@ -307,7 +325,7 @@ public final class NioOutboundPipeline
             }
         }
 
-        flushToSocket();
+        boolean pending = flushToSocket();
 
         if (migrationRequested()) {
             startMigration();
@@ -316,7 +334,7 @@ public final class NioOutboundPipeline
             return;
         }
 
-        if (sendBuffer.remaining() > 0) {
+        if (pending) {
             pipelineStatus = DIRTY;
         }
 
@@ -420,11 +438,21 @@ public final class NioOutboundPipeline
         }
     }
 
-    private void flushToSocket() throws IOException {
+    // returns true if not everything could be written to the socket
+    private boolean flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
-        int written = socketChannel.write(sendBuffer);
+        ByteBuffer[] gathered = gatheringHandler == null ? null : gatheringHandler.gatheredBuffers();
+        long written;
+        if (gathered == null) {
+            written = socketChannel.write(sendBuffer);
+        } else {
+            written = socketChannel.write(gathered);
+            gatheringWrites.inc();
+        }
+        writes.inc();
         bytesWritten.inc(written);
         //System.out.println(channel + " bytes written:" + written);
+        return gathered == null ? sendBuffer.hasRemaining() : gathered[gathered.length - 1].hasRemaining();
     }
 
     void drainWriteQueues() {
@@ -499,6 +527,18 @@ public final class NioOutboundPipeline
     private void updatePipeline(OutboundHandler[] newHandlers) {
         this.handlers = newHandlers;
         this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
+        this.gatheringHandler = null;
+        for (int k = 0; k < newHandlers.length; k++) {
+            if (newHandlers[k] instanceof GatheringOutboundHandler) {
+                // only the last handler writes into the sendBuffer, so only that one can gather
+                GatheringOutboundHandler handler = (GatheringOutboundHandler) newHandlers[k];
+                boolean last = k == newHandlers.length - 1;
+                handler.gatherThreshold(last ? gatherThreshold : 0);
+                if (last && gatherThreshold > 0) {
+                    gatheringHandler = handler;
+                }
+            }
+        }
 
         OutboundHandler prev = null;
         for (OutboundHandler handler : handlers) {
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio.iobalancer;
+
+import com.hazelcast.internal.networking.nio.MigratablePipeline;
+import com.hazelcast.internal.networking.nio.NioThread;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.logging.ILogger;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+
+/**
+ * Tracks the affinity of inbound pipelines and migrates every pipeline to the
+ * {@link NioThread} that is paired with the worker processing most of the frames
+ * read by that pipeline since the last check.
+ * <p>
+ * A pipeline is only migrated if the NioThread with the most affinity load has a
+ * quarter more load than the current owner and at least {@link #MIN_AFFINITY_LOAD}
+ * frames. So a pipeline moves even if its affinity is split among many threads, but
+ * pipelines with a uniformly spread affinity or hardly any frames stay where they are.
+ * <p>
+ * It counts the frames checked and the frames whose affinity matched the owner of
+ * their pipeline at the time of the check, which shows how well the affinity holds.
+ * <p>
+ * This class is not thread-safe; it is only accessed by the {@link IOBalancerThread}.
+ *
+ * @see MigratablePipeline#affinityLoad(int)
+ */
+class AffinityTracker {
+    // fewer frames since the last check don't tell much about the affinity of a pipeline
+    static final long MIN_AFFINITY_LOAD = 100;
+    // the preferred owner needs a quarter more load than the current owner, so noise doesn't cause migrations
+    private static final long LOAD_GAIN_DIVISOR = 4;
+
+    private final ILogger logger;
+
+    //all known IO ioThreads. we assume no. of ioThreads is constant during a lifespan of a member
+    private final NioThread[] ioThreads;
+
+    //affinity load per pipeline and NioThread index at the last calculation
+    private final Map<MigratablePipeline, long[]> lastAffinityLoad = new HashMap<>();
+
+    private final SwCounter frameCount = newSwCounter();
+    private final SwCounter localFrameCount = newSwCounter();
+
+    AffinityTracker(NioThread[] ioThreads, ILogger logger) {
+        this.logger = logger;
+
+        this.ioThreads = new NioThread[ioThreads.length];
+        System.arraycopy(ioThreads, 0, this.ioThreads, 0, ioThreads.length);
+    }
+
+    void addPipeline(MigratablePipeline pipeline) {
+        lastAffinityLoad.put(pipeline, new long[ioThreads.length]);
+    }
+
+    void removePipeline(MigratablePipeline pipeline) {
+        lastAffinityLoad.remove(pipeline);
+    }
+
+    /**
+     * Returns the number of frames of all pipelines checked so far.
+     */
+    long frameCount() {
+        return frameCount.get();
+    }
+
+    /**
+     * Returns the number of frames checked so far that were processed by the
+     * worker paired with the NioThread owning their pipeline.
+     */
+    long localFrameCount() {
+        return localFrameCount.get();
+    }
+
+    /**
+     * Requests the migration of all pipelines not owned by the NioThread they
+     * have affinity with.
+     *
+     * @return the number of requested migrations
+     */
+    int rebalance() {
+        int migrationCount = 0;
+        for (Map.Entry<MigratablePipeline, long[]> entry : lastAffinityLoad.entrySet()) {
+            MigratablePipeline pipeline = entry.getKey();
+            NioThread owner = pipeline.owner();
+            int preferredIndex = preferredOwnerIndex(pipeline, entry.getValue(), indexOf(owner));
+            if (preferredIndex < 0 || owner == null) {
+                // there is no dominant affinity or the pipeline is currently being migrated
+                continue;
+            }
+
+            NioThread dstOwner = ioThreads[preferredIndex];
+            if (dstOwner != owner) {
+                if (logger.isFinestEnabled()) {
+                    logger.finest("Scheduling affinity migration of pipeline " + pipeline
+                            + " from " + owner + " to " + dstOwner);
+                }
+                pipeline.requestMigration(dstOwner);
+                migrationCount++;
+            }
+        }
+        return migrationCount;
+    }
+
+    // just for testing
+    Map<MigratablePipeline, long[]> getLastAffinityLoad() {
+        return lastAffinityLoad;
+    }
+
+    private int indexOf(NioThread owner) {
+        for (int ownerIndex = 0; ownerIndex < ioThreads.length; ownerIndex++) {
+            if (ioThreads[ownerIndex] == owner) {
+                return ownerIndex;
+            }
+        }
+        return -1;
+    }
+
+    private int preferredOwnerIndex(MigratablePipeline pipeline, long[] lastLoad, int currentIndex) {
+        long totalLoad = 0;
+        long currentLoad = 0;
+        long maxLoad = 0;
+        int maxIndex = -1;
+        for (int ownerIndex = 0; ownerIndex < lastLoad.length; ownerIndex++) {
+            long load = pipeline.affinityLoad(ownerIndex);
+            long loadSinceLastCheck = load - lastLoad[ownerIndex];
+            lastLoad[ownerIndex] = load;
+
+            totalLoad += loadSinceLastCheck;
+            if (ownerIndex == currentIndex) {
+                currentLoad = loadSinceLastCheck;
+            }
+            if (loadSinceLastCheck > maxLoad) {
+                maxLoad = loadSinceLastCheck;
+                maxIndex = ownerIndex;
+            }
+        }
+        frameCount.inc(totalLoad);
+        localFrameCount.inc(currentLoad);
+
+        return maxLoad >= MIN_AFFINITY_LOAD && maxLoad - currentLoad > currentLoad / LOAD_GAIN_DIVISOR ? maxIndex : -1;
+    }
+}
@@ -32,6 +32,9 @@ import com.hazelcast.spi.properties.ClusterProperty;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_IO_BALANCER_AFFINITY_FRAME_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_IO_BALANCER_AFFINITY_LOCAL_FRAME_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_IO_BALANCER_AFFINITY_MIGRATION_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_IO_BALANCER_IMBALANCE_DETECTED_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_IO_BALANCER_MIGRATION_COMPLETED_COUNT;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
@@ -57,6 +60,10 @@ import static com.hazelcast.spi.properties.ClusterProperty.IO_THREAD_COUNT;
  *
  * Measuring interval can be customized via {@link ClusterProperty#IO_BALANCER_INTERVAL_SECONDS}
  *
+ * When the inbound affinity is enabled, the {@link NioInboundPipeline}s are not balanced by load.
+ * Instead every pipeline is migrated to the {@link NioThread} paired with the worker processing
+ * most of its frames, see {@link ClusterProperty#OPERATION_THREAD_PER_CORE}.
+ *
  * It doesn't leverage {@link ConnectionListener} capability
  * provided by {@link ServerConnectionManager} to observe connections
  * as it has to be notified right after a physical TCP connection is created whilst
@@ -72,6 +79,7 @@ public class IOBalancer {
 
     private final LoadTracker inLoadTracker;
     private final LoadTracker outLoadTracker;
+    private final AffinityTracker inAffinityTracker;
     private final String hzName;
     private final BlockingQueue<Runnable> workQueue = new LinkedBlockingQueue<>();
     private volatile boolean enabled;
@@ -85,10 +93,22 @@ public class IOBalancer {
     @Probe(name = NETWORKING_METRIC_NIO_IO_BALANCER_MIGRATION_COMPLETED_COUNT)
     private final MwCounter migrationCompletedCount = newMwCounter();
 
+    // only IOBalancerThread will write to this field.
+    @Probe(name = NETWORKING_METRIC_NIO_IO_BALANCER_AFFINITY_MIGRATION_COUNT)
+    private final SwCounter affinityMigrationCount = newSwCounter();
+
     public IOBalancer(NioThread[] inputThreads,
                       NioThread[] outputThreads,
                       String hzName,
                       int balancerIntervalSeconds, LoggingService loggingService) {
+        this(inputThreads, outputThreads, hzName, balancerIntervalSeconds, loggingService, false);
+    }
+
+    public IOBalancer(NioThread[] inputThreads,
+                      NioThread[] outputThreads,
+                      String hzName,
+                      int balancerIntervalSeconds, LoggingService loggingService,
+                      boolean inboundAffinityEnabled) {
         this.logger = loggingService.getLogger(IOBalancer.class);
         this.balancerIntervalSeconds = balancerIntervalSeconds;
 
@@ -97,8 +117,14 @@ public class IOBalancer {
 
         this.inLoadTracker = new LoadTracker(inputThreads, logger);
         this.outLoadTracker = new LoadTracker(outputThreads, logger);
+        this.inAffinityTracker = inboundAffinityEnabled ? new AffinityTracker(inputThreads, logger) : null;
 
         this.enabled = isEnabled(inputThreads, outputThreads);
+        if (inboundAffinityEnabled && !enabled && inputThreads.length > 1) {
+            logger.warning("The '" + ClusterProperty.OPERATION_THREAD_PER_CORE + "' property has no effect on the I/O threads "
+                    + "as the I/O Balancer is disabled, so connections are not moved to the input thread paired with "
+                    + "their partition threads.");
+        }
     }
 
     // just for testing
@@ -111,6 +137,21 @@ public class IOBalancer {
         return outLoadTracker;
     }
 
+    @Probe(name = NETWORKING_METRIC_NIO_IO_BALANCER_AFFINITY_FRAME_COUNT)
+    private long affinityFrameCount() {
+        return inAffinityTracker == null ? 0 : inAffinityTracker.frameCount();
+    }
+
+    @Probe(name = NETWORKING_METRIC_NIO_IO_BALANCER_AFFINITY_LOCAL_FRAME_COUNT)
+    private long affinityLocalFrameCount() {
+        return inAffinityTracker == null ? 0 : inAffinityTracker.localFrameCount();
+    }
+
+    // just for testing
+    AffinityTracker getInAffinityTracker() {
+        return inAffinityTracker;
+    }
+
     // just for testing
     BlockingQueue<Runnable> getWorkQueue() {
         return workQueue;
@@ -146,7 +187,11 @@ public class IOBalancer {
     }
 
     void rebalance() {
-        scheduleMigrationIfNeeded(inLoadTracker);
+        if (inAffinityTracker != null) {
+            affinityMigrationCount.inc(inAffinityTracker.rebalance());
+        } else {
+            scheduleMigrationIfNeeded(inLoadTracker);
+        }
         scheduleMigrationIfNeeded(outLoadTracker);
     }
 
@@ -237,6 +282,9 @@ public class IOBalancer {
             }
 
             inLoadTracker.removePipeline(inboundPipeline);
+            if (inAffinityTracker != null) {
+                inAffinityTracker.removePipeline(inboundPipeline);
+            }
             outLoadTracker.removePipeline(outboundPipeline);
         }
     }
@@ -258,6 +306,9 @@ public class IOBalancer {
             }
 
             inLoadTracker.addPipeline(inboundPipeline);
+            if (inAffinityTracker != null) {
+                inAffinityTracker.addPipeline(inboundPipeline);
+            }
             outLoadTracker.addPipeline(outboundPipeline);
         }
     }
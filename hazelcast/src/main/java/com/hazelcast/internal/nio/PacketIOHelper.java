@@ -58,11 +58,8 @@ public class PacketIOHelper {
                 return false;
             }
 
-            dst.put(VERSION);
-            dst.putChar(packet.getFlags());
-            dst.putInt(packet.getPartitionId());
+            writeHeader(packet, dst);
             size = packet.totalSize();
-            dst.putInt(size);
             headerComplete = true;
         }
 
@@ -74,6 +71,32 @@ public class PacketIOHelper {
         }
     }
 
+    /**
+     * Writes only the header of the packet to the supplied {@code ByteBuffer}. The payload is expected to be written
+     * by the caller directly after it, e.g. using a gathering write of the {@link Packet#toByteArray()}.
+     * <p>
+     * Nothing is written if there is no room for the complete header or if this helper is in the middle of writing
+     * a packet using {@link #writeTo(Packet, ByteBuffer)}.
+     *
+     * @param dst the destination byte buffer
+     * @return {@code true} if the header is written; {@code false} otherwise.
+     */
+    public boolean writeHeaderTo(Packet packet, ByteBuffer dst) {
+        if (headerComplete || dst.remaining() < HEADER_SIZE) {
+            return false;
+        }
+
+        writeHeader(packet, dst);
+        return true;
+    }
+
+    private static void writeHeader(Packet packet, ByteBuffer dst) {
+        dst.put(VERSION);
+        dst.putChar(packet.getFlags());
+        dst.putInt(packet.getPartitionId());
+        dst.putInt(packet.totalSize());
+    }
+
     private boolean writeValue(Packet packet, ByteBuffer dst) {
         if (size > 0) {
             // the number of bytes that can be written to the bb.
@@ -307,6 +307,24 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         return portableSerializer;
     }
 
+    /**
+     * Checks if the given Data holds an {@link com.hazelcast.nio.serialization.IdentifiedDataSerializable}
+     * with the given factory and class ID, without deserializing it.
+     *
+     * @param data      the data to check
+     * @param factoryId the factory ID
+     * @param classId   the class ID
+     * @return {@code true} if the data holds an object of the given factory and class ID
+     * @throws IOException if the header can't be read
+     */
+    public boolean isIdentifiedDataSerializable(Data data, int factoryId, int classId) throws IOException {
+        if (data.getType() != SerializationConstants.CONSTANT_TYPE_DATA_SERIALIZABLE) {
+            return false;
+        }
+        ObjectDataInput input = createObjectDataInput(data);
+        return isFlagSet(input.readByte(), IDS_FLAG) && input.readInt() == factoryId && input.readInt() == classId;
+    }
+
     /**
      * Init the ObjectDataInput for the given Data skipping the serialization header-bytes and navigating to the position
      * from where the readData() starts reading the object fields.
@@ -18,6 +18,7 @@ package com.hazelcast.internal.server;
 
 import com.hazelcast.auditlog.AuditlogService;
 import com.hazelcast.client.impl.ClientEngine;
+import com.hazelcast.client.impl.protocol.util.ClientMessageDecoder;
 import com.hazelcast.cluster.Address;
 import com.hazelcast.config.MemcacheProtocolConfig;
 import com.hazelcast.config.RestApiConfig;
@@ -115,6 +116,12 @@ public interface ServerContext {
 
     OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier, ServerConnection connection);
 
+    /**
+     * Creates the decoder of the client messages received on the given
+     * client connection.
+     */
+    ClientMessageDecoder createClientMessageDecoder(ServerConnection connection);
+
     AuditlogService getAuditLogService();
 
     /**
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.server.tcp;
+
+import com.hazelcast.internal.networking.InboundPipeline;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.server.ServerConnection;
+
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A {@link PacketDecoder} that records the affinity of every partition specific
+ * packet on the {@link InboundPipeline} of the channel.
+ *
+ * The affinity of a packet is the index of the partition operation thread it is
+ * going to be processed by, so the pipeline can be moved to the input thread
+ * paired with that partition thread.
+ *
+ * @see InboundPipeline#recordAffinity(int)
+ * @see com.hazelcast.spi.properties.ClusterProperty#OPERATION_THREAD_PER_CORE
+ */
+public class AffinityPacketDecoder extends PacketDecoder {
+
+    private final IntUnaryOperator partitionThreadIndex;
+    private InboundPipeline pipeline;
+
+    public AffinityPacketDecoder(ServerConnection connection, Consumer<Packet> dst,
+                                 IntUnaryOperator partitionThreadIndex) {
+        super(connection, dst);
+        this.partitionThreadIndex = partitionThreadIndex;
+    }
+
+    @Override
+    public void handlerAdded() {
+        super.handlerAdded();
+        pipeline = channel.inboundPipeline();
+    }
+
+    @Override
+    protected void onPacketComplete(Packet packet) {
+        int partitionId = packet.getPartitionId();
+        if (partitionId >= 0) {
+            pipeline.recordAffinity(partitionThreadIndex.applyAsInt(partitionId));
+        }
+
+        super.onPacketComplete(packet);
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.server.tcp;
 
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.nio.Packet;
@@ -37,21 +38,50 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
  *
+ * If gathering is enabled, only the header of a packet with a payload of
+ * at least the gather threshold is written to the {@link ByteBuffer}; the
+ * payload itself is handed to the pipeline as a separate buffer so it isn't
+ * copied.
+ *
  * @see PacketDecoder
  */
-public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
+public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
+        implements GatheringOutboundHandler {
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
+    private final ByteBuffer[] gathered = new ByteBuffer[2];
 
     private Packet packet;
+    private int gatherThreshold;
+    private boolean gatherPending;
 
     @Override
     public void handlerAdded() {
         initDstBuffer();
     }
 
+    @Override
+    public void gatherThreshold(int gatherThreshold) {
+        this.gatherThreshold = gatherThreshold;
+    }
+
+    @Override
+    public ByteBuffer[] gatheredBuffers() {
+        if (gatherPending && !gathered[0].hasRemaining() && !gathered[1].hasRemaining()) {
+            gatherPending = false;
+            gathered[0] = null;
+            gathered[1] = null;
+        }
+        return gatherPending ? gathered : null;
+    }
+
     @Override
     public HandlerStatus onWrite() {
+        if (gatheredBuffers() != null) {
+            // the gathered payload has not been written yet, so nothing can be added behind it
+            return DIRTY;
+        }
+
         compactOrClear(dst);
         try {
             for (; ; ) {
@@ -64,6 +94,16 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
                     }
                 }
 
+                if (gatherThreshold > 0 && packet.totalSize() >= gatherThreshold
+                        && packetWriter.writeHeaderTo(packet, dst)) {
+                    // the payload is written to the socket right after the content of the dst
+                    gathered[0] = dst;
+                    gathered[1] = ByteBuffer.wrap(packet.toByteArray());
+                    gatherPending = true;
+                    packet = null;
+                    return DIRTY;
+                }
+
                 if (packetWriter.writeTo(packet, dst)) {
                     // packet got written, lets see if another packet can be written
                     packet = null;
@@ -18,6 +18,8 @@ package com.hazelcast.internal.server.tcp;
 
 import com.hazelcast.auditlog.AuditlogService;
 import com.hazelcast.client.impl.ClientEngine;
+import com.hazelcast.client.impl.protocol.util.AffinityClientMessageDecoder;
+import com.hazelcast.client.impl.protocol.util.ClientMessageDecoder;
 import com.hazelcast.cluster.Address;
 import com.hazelcast.config.AdvancedNetworkConfig;
 import com.hazelcast.config.Config;
@@ -45,6 +47,7 @@ import com.hazelcast.nio.MemberSocketInterceptor;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.eventservice.EventService;
 import com.hazelcast.spi.impl.executionservice.ExecutionService;
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 
@@ -294,6 +297,17 @@ public class TcpServerContext implements ServerContext {
         return node.getNodeExtension().createOutboundHandlers(qualifier, connection, this);
     }
 
+    @Override
+    public ClientMessageDecoder createClientMessageDecoder(ServerConnection connection) {
+        HazelcastProperties properties = properties();
+        if (properties.getBoolean(ClusterProperty.OPERATION_THREAD_PER_CORE)) {
+            OperationExecutor operationExecutor = nodeEngine.getOperationService().getOperationExecutor();
+            return new AffinityClientMessageDecoder(connection, getClientEngine(), properties,
+                    operationExecutor::getPartitionThreadId);
+        }
+        return new ClientMessageDecoder(connection, getClientEngine(), properties);
+    }
+
     @Override
     public Collection<Integer> getOutboundPorts(EndpointQualifier endpointQualifier) {
         final AdvancedNetworkConfig advancedNetworkConfig = node.getConfig().getAdvancedNetworkConfig();
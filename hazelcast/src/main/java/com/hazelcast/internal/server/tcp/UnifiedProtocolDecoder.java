@@ -18,7 +18,6 @@ package com.hazelcast.internal.server.tcp;
 
 import com.hazelcast.auditlog.AuditlogTypeIds;
 import com.hazelcast.auditlog.Level;
-import com.hazelcast.client.impl.protocol.util.ClientMessageDecoder;
 import com.hazelcast.config.MemcacheProtocolConfig;
 import com.hazelcast.config.RestApiConfig;
 import com.hazelcast.instance.EndpointQualifier;
@@ -153,7 +152,7 @@ public class UnifiedProtocolDecoder
                 .setOption(DIRECT_BUF, false);
 
         ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
-        channel.inboundPipeline().replace(this, new ClientMessageDecoder(connection, serverContext.getClientEngine(), props));
+        channel.inboundPipeline().replace(this, serverContext.createClientMessageDecoder(connection));
     }
 
     private void initChannelForText(String protocol, boolean restApi) {
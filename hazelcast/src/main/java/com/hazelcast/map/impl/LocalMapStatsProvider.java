@@ -36,6 +36,7 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.LocalMapStats;
 import com.hazelcast.map.impl.nearcache.MapNearCacheManager;
 import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.impl.query.QueryResultCache;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.query.impl.Indexes;
@@ -102,6 +103,7 @@ public class LocalMapStatsProvider {
         LocalMapOnDemandCalculatedStats onDemandStats = new LocalMapOnDemandCalculatedStats();
         addNearCacheStats(mapName, stats, onDemandStats);
         addIndexStats(mapName, stats);
+        addQueryResultCacheStats(mapName, stats);
         updateMapOnDemandStats(mapName, onDemandStats);
 
         return onDemandStats.updateAndGet(stats);
@@ -135,6 +137,7 @@ public class LocalMapStatsProvider {
             LocalMapOnDemandCalculatedStats onDemand = ((LocalMapOnDemandCalculatedStats) entry.getValue());
             addNearCacheStats(mapName, existingStats, onDemand);
             addIndexStats(mapName, existingStats);
+            addQueryResultCacheStats(mapName, existingStats);
             addStructureStats(mapName, onDemand);
 
             LocalMapStatsImpl updatedStats = onDemand.updateAndGet(existingStats);
@@ -318,6 +321,14 @@ public class LocalMapStatsProvider {
         onDemandStats.incrementHeapCost(nearCacheStats.getOwnedEntryMemoryCost());
     }
 
+    private void addQueryResultCacheStats(String mapName, LocalMapStatsImpl localMapStats) {
+        QueryResultCache queryResultCache = mapServiceContext.getMapContainer(mapName).getQueryResultCache();
+        if (queryResultCache != null) {
+            localMapStats.setQueryResultCacheStats(queryResultCache.getHits(), queryResultCache.getMisses(),
+                    queryResultCache.getInvalidations());
+        }
+    }
+
     private void addIndexStats(String mapName, LocalMapStatsImpl localMapStats) {
         MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
         Indexes globalIndexes = mapContainer.getIndexes();
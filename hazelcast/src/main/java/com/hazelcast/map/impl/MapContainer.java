@@ -44,7 +44,10 @@ import com.hazelcast.map.impl.eviction.EvictorImpl;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
+import com.hazelcast.map.impl.query.QueryResultCache;
+import com.hazelcast.map.impl.record.ColumnarRecordFactory;
 import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.recordstore.RecordStore;
@@ -70,7 +73,11 @@ import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.getEvictionPolicyComparator;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_COLUMNAR_RECORD_STORAGE_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.MAP_EVICTION_BATCH_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_INDEX_MAX_SELECTIVITY;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_RESULT_CACHE_MAX_PARTITION_RESULT_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_RESULT_CACHE_SIZE;
 import static java.lang.System.getProperty;
 
 /**
@@ -86,6 +93,8 @@ public class MapContainer {
     // stored in the mapContainer, so if globalIndexes is null it means that
     // global index is not in use
     protected final Indexes globalIndexes;
+    // null if the query result caching is disabled
+    protected final QueryResultCache queryResultCache;
     protected final Extractors extractors;
     protected final MapStoreContext mapStoreContext;
     protected final ObjectNamespace objectNamespace;
@@ -136,6 +145,7 @@ public class MapContainer {
         this.queryEntryFactory = new QueryEntryFactory(mapConfig.getCacheDeserializedValues(),
                 serializationService, extractors);
         this.globalIndexes = shouldUseGlobalIndex() ? createIndexes(true) : null;
+        this.queryResultCache = createQueryResultCache(nodeEngine);
         this.mapStoreContext = createMapStoreContext(this);
         initWanReplication(mapServiceContext.getNodeEngine());
     }
@@ -145,6 +155,15 @@ public class MapContainer {
         mapStoreContext.start();
     }
 
+    private QueryResultCache createQueryResultCache(NodeEngine nodeEngine) {
+        int maxSize = nodeEngine.getProperties().getInteger(QUERY_RESULT_CACHE_SIZE);
+        if (maxSize <= 0 || mapConfig.getInMemoryFormat() == NATIVE) {
+            return null;
+        }
+        return new QueryResultCache(nodeEngine.getPartitionService().getPartitionCount(), maxSize,
+                nodeEngine.getProperties().getInteger(QUERY_RESULT_CACHE_MAX_PARTITION_RESULT_SIZE));
+    }
+
     /**
      * @param global set {@code true} to create global indexes, otherwise set
      *               {@code false} to have partitioned indexes
@@ -160,6 +179,8 @@ public class MapContainer {
                 .indexProvider(mapServiceContext.getIndexProvider(mapConfig))
                 .usesCachedQueryableEntries(mapConfig.getCacheDeserializedValues() != CacheDeserializedValues.NEVER)
                 .partitionCount(partitionCount)
+                .maxIndexSelectivity(mapServiceContext.getNodeEngine().getProperties()
+                        .getDouble(QUERY_INDEX_MAX_SELECTIVITY))
                 .resultFilter(queryableEntry -> hasNotExpired(queryableEntry)).build();
     }
 
@@ -230,9 +251,13 @@ public class MapContainer {
         return anyArg -> {
             switch (mapConfig.getInMemoryFormat()) {
                 case BINARY:
-                    return new DataRecordFactory(mapConfig, serializationService);
+                    return mapServiceContext.getNodeEngine().getProperties().getBoolean(MAP_COLUMNAR_RECORD_STORAGE_ENABLED)
+                            ? new ColumnarRecordFactory(serializationService)
+                            : new DataRecordFactory(mapConfig, serializationService);
                 case OBJECT:
                     return new ObjectRecordFactory(mapConfig, serializationService);
+                case NATIVE:
+                    return new NativeRecordFactory(serializationService, mapServiceContext.getNativeMemoryManager());
                 default:
                     throw new IllegalArgumentException("Invalid storage format: " + mapConfig.getInMemoryFormat());
             }
@@ -313,6 +338,14 @@ public class MapContainer {
         return mapServiceContext.getPartitionContainer(partitionId).getIndexes(name);
     }
 
+    /**
+     * @return the query result cache of this map or {@code null} if the
+     * query result caching is disabled.
+     */
+    public QueryResultCache getQueryResultCache() {
+        return queryResultCache;
+    }
+
     public boolean isGlobalIndexEnabled() {
         return globalIndexes != null;
     }
@@ -21,6 +21,7 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
@@ -166,6 +167,16 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     IndexProvider getIndexProvider(MapConfig mapConfig);
 
+    /**
+     * Returns the member-wide native memory manager used by maps with
+     * {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory format.
+     * The manager is created on first use, sized by the
+     * {@link com.hazelcast.config.NativeMemoryConfig}.
+     *
+     * @return the native memory manager
+     */
+    UnsafeMemoryManager getNativeMemoryManager();
+
     Extractors getExtractors(String mapName);
 
     void incrementOperationStats(long startTime, LocalMapStatsImpl localMapStats, String mapName, Operation operation);
@@ -19,8 +19,10 @@ package com.hazelcast.map.impl;
 import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
@@ -158,6 +160,7 @@ class MapServiceContextImpl implements MapServiceContext {
     private MapService mapService;
 
     private volatile PartitionIdSet ownedPartitions;
+    private volatile UnsafeMemoryManager nativeMemoryManager;
 
     @SuppressWarnings("checkstyle:executablestatementcount")
     MapServiceContextImpl(NodeEngine nodeEngine) {
@@ -780,6 +783,22 @@ class MapServiceContextImpl implements MapServiceContext {
         return indexProvider;
     }
 
+    @Override
+    public UnsafeMemoryManager getNativeMemoryManager() {
+        UnsafeMemoryManager memoryManager = nativeMemoryManager;
+        if (memoryManager == null) {
+            synchronized (this) {
+                memoryManager = nativeMemoryManager;
+                if (memoryManager == null) {
+                    NativeMemoryConfig nativeMemoryConfig = nodeEngine.getConfig().getNativeMemoryConfig();
+                    memoryManager = new UnsafeMemoryManager(nativeMemoryConfig.getSize().bytes());
+                    nativeMemoryManager = memoryManager;
+                }
+            }
+        }
+        return memoryManager;
+    }
+
     @Override
     public Extractors getExtractors(String mapName) {
         MapContainer mapContainer = getMapContainer(mapName);
@@ -883,6 +902,10 @@ class MapServiceContextImpl implements MapServiceContext {
 
     @Override
     public ValueComparator getValueComparatorOf(InMemoryFormat inMemoryFormat) {
+        // native records hand out on-heap copies of their values
+        if (inMemoryFormat == InMemoryFormat.NATIVE) {
+            return ValueComparatorUtil.getValueComparatorOf(InMemoryFormat.BINARY);
+        }
         return ValueComparatorUtil.getValueComparatorOf(inMemoryFormat);
     }
 
@@ -40,6 +40,14 @@ public final class OwnedEntryCostEstimatorFactory {
         return ZERO_SIZE_ESTIMATOR;
     }
 
+    /**
+     * @return estimator for {@link InMemoryFormat#BINARY} maps
+     * which keep their records in columns
+     */
+    public static <K, V> EntryCostEstimator<K, V> createColumnarMapSizeEstimator() {
+        return (EntryCostEstimator<K, V>) new ColumnarMapEntryCostEstimator();
+    }
+
     private static class ZeroEntryCostEstimator
             implements EntryCostEstimator {
 
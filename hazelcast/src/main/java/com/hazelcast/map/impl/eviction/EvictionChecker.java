@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.eviction;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.util.MemoryInfoAccessor;
 import com.hazelcast.logging.ILogger;
@@ -54,6 +55,7 @@ public class EvictionChecker {
     private final ClusterService clusterService;
     private final PartitionContainer[] containers;
     private final MemoryInfoAccessor memoryInfoAccessor;
+    private final MapServiceContext mapServiceContext;
     private final MapNearCacheManager mapNearCacheManager;
     private final AtomicBoolean misconfiguredPerNodeMaxSizeWarningLogged;
 
@@ -68,6 +70,7 @@ public class EvictionChecker {
         this.partitionCount = nodeEngine.getPartitionService().getPartitionCount();
         this.mapNearCacheManager = mapServiceContext.getMapNearCacheManager();
         this.memoryInfoAccessor = givenMemoryInfoAccessor;
+        this.mapServiceContext = mapServiceContext;
 
         if (logger.isFinestEnabled()) {
             logger.finest("Used memoryInfoAccessor=" + this.memoryInfoAccessor.getClass().getCanonicalName());
@@ -101,6 +104,16 @@ public class EvictionChecker {
                 return (usedHeapInBytes(mapName) * ONE_HUNDRED / Math.max(maxMemoryInBytes(), 1)) > maxConfiguredSize;
             case FREE_HEAP_PERCENTAGE:
                 return (availableMemoryInBytes() * ONE_HUNDRED / Math.max(maxMemoryInBytes(), 1)) < maxConfiguredSize;
+            case USED_NATIVE_MEMORY_SIZE:
+                return usedNativeMemoryInBytes(mapName) > MEGABYTES.toBytes(maxConfiguredSize);
+            case FREE_NATIVE_MEMORY_SIZE:
+                return freeNativeMemoryInBytes() < MEGABYTES.toBytes(maxConfiguredSize);
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+                return (usedNativeMemoryInBytes(mapName) * ONE_HUNDRED
+                        / Math.max(maxNativeMemoryInBytes(), 1)) > maxConfiguredSize;
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                return (freeNativeMemoryInBytes() * ONE_HUNDRED
+                        / Math.max(maxNativeMemoryInBytes(), 1)) < maxConfiguredSize;
             default:
                 throw new IllegalArgumentException("Not an appropriate max size policy [" + maximumSizePolicy + ']');
         }
@@ -154,6 +167,14 @@ public class EvictionChecker {
         return usedHeapInBytes;
     }
 
+    private long usedNativeMemoryInBytes(String mapName) {
+        long usedNativeMemoryInBytes = 0L;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            usedNativeMemoryInBytes += getRecordStoreHeapCost(mapName, containers[partitionId]);
+        }
+        return usedNativeMemoryInBytes;
+    }
+
     private long getRecordStoreHeapCost(String mapName, PartitionContainer container) {
         RecordStore existingRecordStore = container.getExistingRecordStore(mapName);
         if (existingRecordStore == null) {
@@ -174,6 +195,15 @@ public class EvictionChecker {
         return memoryInfoAccessor.getMaxMemory();
     }
 
+    private long maxNativeMemoryInBytes() {
+        return mapServiceContext.getNativeMemoryManager().getMaxMemory();
+    }
+
+    private long freeNativeMemoryInBytes() {
+        UnsafeMemoryManager nativeMemoryManager = mapServiceContext.getNativeMemoryManager();
+        return nativeMemoryManager.getMaxMemory() - nativeMemoryManager.getUsedMemory();
+    }
+
     private long availableMemoryInBytes() {
         return freeMemoryInBytes() + maxMemoryInBytes() - totalMemoryInBytes();
     }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.impl.query.Query;
+import com.hazelcast.map.impl.query.QueryResult;
+import com.hazelcast.map.impl.query.QueryResultCollection;
+import com.hazelcast.map.impl.query.ResultSegment;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Lazy result of a query fetched partition by partition in pages of
+ * bounded size while the result is iterated, so the memory required to
+ * iterate the result doesn't depend on the number of matching entries.
+ * <p>
+ * Each iteration runs the query anew. While the current page is consumed,
+ * the next one is already being fetched. Computing the {@link #size()}
+ * iterates the whole result.
+ * <b>NOTE</b>
+ * The iteration may be done when the map is being mutated or when there are
+ * membership changes. The result does not reflect the state when it has
+ * been constructed - it may contain some entries that were added after the
+ * iteration has started and may not contain some entries that were removed
+ * after iteration has started.
+ * The iteration will not, however, skip an entry if it has not been changed
+ * and will not return an entry twice.
+ *
+ * @param <E> the type of the elements, defined by the iteration type of the
+ *            query
+ * @see MapQueryPartitionIterator
+ */
+public class StreamingQueryResultSet<E> extends AbstractSet<E> {
+
+    private final MapProxyImpl<?, ?> mapProxy;
+    private final Query query;
+    private final int pageSize;
+
+    public StreamingQueryResultSet(MapProxyImpl<?, ?> mapProxy, Query query, int pageSize) {
+        this.mapProxy = mapProxy;
+        this.query = query;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new PageIterator();
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Iterator<E> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+            ++size;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static IterationPointer[] initialPointers() {
+        return new IterationPointer[]{new IterationPointer(Integer.MAX_VALUE, -1)};
+    }
+
+    private final class PageIterator implements Iterator<E> {
+
+        private final int partitionCount = mapProxy.getNodeEngine().getPartitionService().getPartitionCount();
+
+        private int partitionId;
+        private InternalCompletableFuture<ResultSegment> nextPage;
+        private Iterator<E> page;
+
+        PageIterator() {
+            nextPage = fetch(initialPointers());
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (page == null || !page.hasNext()) {
+                if (nextPage == null) {
+                    return false;
+                }
+                ResultSegment segment = nextPage.joinInternal();
+                QueryResult result = (QueryResult) segment.getResult();
+                IterationPointer[] pointers = segment.getPointers();
+
+                // an empty page is returned only if the partition is exhausted
+                if (!result.isEmpty() && pointers[pointers.length - 1].getIndex() >= 0) {
+                    nextPage = fetch(pointers);
+                } else if (++partitionId < partitionCount) {
+                    nextPage = fetch(initialPointers());
+                } else {
+                    nextPage = null;
+                }
+                page = new QueryResultCollection<E>(mapProxy.getNodeEngine().getSerializationService(),
+                        query.getIterationType(), false, false, result).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Removing when iterating map with query is not supported");
+        }
+
+        private InternalCompletableFuture<ResultSegment> fetch(IterationPointer[] pointers) {
+            MapOperation operation = mapProxy.getOperationProvider()
+                    .createFetchWithQueryOperation(mapProxy.getName(), pointers, pageSize, query);
+            return mapProxy.getOperationService().invokeOnPartition(mapProxy.getServiceName(), operation, partitionId);
+        }
+
+    }
+
+}
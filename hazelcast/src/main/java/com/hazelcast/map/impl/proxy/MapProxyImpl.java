@@ -43,9 +43,11 @@ import com.hazelcast.map.impl.MergeEntryProcessor;
 import com.hazelcast.map.impl.SimpleEntryView;
 import com.hazelcast.map.impl.iterator.MapPartitionIterator;
 import com.hazelcast.map.impl.iterator.MapQueryPartitionIterator;
+import com.hazelcast.map.impl.iterator.StreamingQueryResultSet;
 import com.hazelcast.map.impl.journal.MapEventJournalReadOperation;
 import com.hazelcast.map.impl.journal.MapEventJournalSubscribeOperation;
 import com.hazelcast.map.impl.query.AggregationResult;
+import com.hazelcast.map.impl.query.Query;
 import com.hazelcast.map.impl.query.QueryResult;
 import com.hazelcast.map.impl.query.Target;
 import com.hazelcast.map.impl.querycache.QueryCacheContext;
@@ -56,6 +58,7 @@ import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.PartitionPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.Predicates;
 import com.hazelcast.ringbuffer.ReadResultSet;
@@ -747,11 +750,26 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
 
     private Set executePredicate(Predicate predicate, IterationType iterationType, boolean uniqueResult, Target target) {
         checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        if (queryStreamingPageSize > 0 && target == Target.ALL_NODES
+                && !(predicate instanceof PagingPredicate) && !(predicate instanceof PartitionPredicate)) {
+            return executeStreamingPredicate(predicate, iterationType);
+        }
         QueryResult result = executeQueryInternal(predicate, iterationType, target);
         incrementOtherOperationsStat();
         return transformToSet(serializationService, result, predicate, iterationType, uniqueResult, false);
     }
 
+    private Set executeStreamingPredicate(Predicate predicate, IterationType iterationType) {
+        handleHazelcastInstanceAwareParams(predicate);
+        Query query = Query.of()
+                .mapName(getName())
+                .predicate(predicate)
+                .iterationType(iterationType)
+                .build();
+        incrementOtherOperationsStat();
+        return new StreamingQueryResultSet<>(this, query, queryStreamingPageSize);
+    }
+
     @Override
     public Set<K> localKeySet() {
         return localKeySet(Predicates.alwaysTrue());
@@ -129,6 +129,7 @@ import static com.hazelcast.map.impl.LocalMapStatsProvider.EMPTY_LOCAL_MAP_STATS
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.query.Target.createPartitionTarget;
 import static com.hazelcast.query.Predicates.alwaysFalse;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_STREAMING_PAGE_SIZE;
 import static com.hazelcast.spi.impl.InternalCompletableFuture.newCompletedFuture;
 import static java.lang.Math.ceil;
 import static java.lang.Math.log10;
@@ -214,6 +215,8 @@ abstract class MapProxySupport<K, V>
     // not final for testing purposes
     protected MapOperationProvider operationProvider;
 
+    protected final int queryStreamingPageSize;
+
     private final int putAllBatchSize;
     private final float putAllInitialSizeFactor;
 
@@ -239,6 +242,7 @@ abstract class MapProxySupport<K, V>
 
         this.putAllBatchSize = properties.getInteger(MAP_PUT_ALL_BATCH_SIZE);
         this.putAllInitialSizeFactor = properties.getFloat(MAP_PUT_ALL_INITIAL_SIZE_FACTOR);
+        this.queryStreamingPageSize = properties.getInteger(QUERY_STREAMING_PAGE_SIZE);
     }
 
     @Override
@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl.query;
 
 import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.impl.AbstractAggregator;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -88,6 +89,16 @@ public class AggregationResult implements Result<AggregationResult> {
         aggregator.accumulate(entry);
     }
 
+    /**
+     * @return {@code true} if the aggregator of this result may retain
+     * references to the accumulated entries, {@code false} if it opted in to
+     * the reuse of the same entry instance to accumulate the next entries.
+     * @see AbstractAggregator#isEntryReuseSafe()
+     */
+    boolean retainsEntries() {
+        return !(aggregator instanceof AbstractAggregator) || !((AbstractAggregator) aggregator).isEntryReuseSafe();
+    }
+
     @Override
     public AggregationResult createSubResult() {
         Aggregator aggregatorClone = serializationService.toObject(serializationService.toData(aggregator));
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.AbstractPredicate;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.BetweenPredicate;
+import com.hazelcast.query.impl.predicates.BoundedRangePredicate;
+import com.hazelcast.query.impl.predicates.EqualPredicate;
+import com.hazelcast.query.impl.predicates.FalsePredicate;
+import com.hazelcast.query.impl.predicates.GreaterLessPredicate;
+import com.hazelcast.query.impl.predicates.ILikePredicate;
+import com.hazelcast.query.impl.predicates.InPredicate;
+import com.hazelcast.query.impl.predicates.LikePredicate;
+import com.hazelcast.query.impl.predicates.NotEqualPredicate;
+import com.hazelcast.query.impl.predicates.NotPredicate;
+import com.hazelcast.query.impl.predicates.OrPredicate;
+import com.hazelcast.query.impl.predicates.RegexPredicate;
+import com.hazelcast.query.impl.predicates.TruePredicate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Evaluates a predicate on a {@link EntryBlock block} of entries at a time.
+ * <p>
+ * The rows of the block to evaluate are given by a selection vector: an
+ * array of the row indexes in ascending order accompanied by the number of
+ * the selected rows. The rows satisfying the predicate are retained in the
+ * vector in place. The built-in attribute predicates are evaluated on the
+ * attribute columns of the block, the conjunctions and disjunctions narrow
+ * down the selection vectors passed to their sub-predicates, so every
+ * sub-predicate is evaluated only on the rows it may affect, as it would be
+ * with the short-circuit evaluation of the entries one by one. Other
+ * predicates are evaluated on the entries one by one.
+ * <p>
+ * Instances are not thread-safe.
+ */
+abstract class BlockPredicate {
+
+    /**
+     * The attribute predicates known to evaluate the attribute values in the
+     * same way as their {@link Predicate#apply} method does. The subclasses
+     * may override the evaluation, so they are excluded.
+     */
+    private static final Set<Class<? extends Predicate>> ATTRIBUTE_PREDICATES = new HashSet<>(Arrays.asList(
+            EqualPredicate.class, NotEqualPredicate.class, GreaterLessPredicate.class, BetweenPredicate.class,
+            BoundedRangePredicate.class, InPredicate.class, LikePredicate.class, ILikePredicate.class, RegexPredicate.class));
+
+    /**
+     * Evaluates this predicate on the selected rows of the given block.
+     *
+     * @param block         the block to evaluate on.
+     * @param selection     the selection vector of the rows to evaluate.
+     * @param selectionSize the number of the selected rows.
+     * @return the number of the rows satisfying this predicate retained in
+     * the selection vector.
+     */
+    abstract int apply(EntryBlock block, int[] selection, int selectionSize);
+
+    /**
+     * Creates a block predicate evaluating the given predicate.
+     */
+    static BlockPredicate of(Predicate predicate) {
+        Class<?> predicateClass = predicate.getClass();
+        if (predicateClass == TruePredicate.class) {
+            return new TrueBlockPredicate();
+        } else if (predicateClass == FalsePredicate.class) {
+            return new FalseBlockPredicate();
+        } else if (predicateClass == AndPredicate.class) {
+            return new AndBlockPredicate(of(((AndPredicate) predicate).getPredicates()));
+        } else if (predicateClass == OrPredicate.class) {
+            return new OrBlockPredicate(of(((OrPredicate) predicate).getPredicates()));
+        } else if (predicateClass == NotPredicate.class) {
+            return new NotBlockPredicate(of(((NotPredicate) predicate).getPredicate()));
+        } else if (ATTRIBUTE_PREDICATES.contains(predicateClass)) {
+            return new AttributeBlockPredicate((AbstractPredicate) predicate);
+        } else {
+            return new EntryBlockPredicate(predicate);
+        }
+    }
+
+    private static BlockPredicate[] of(Predicate[] predicates) {
+        BlockPredicate[] blockPredicates = new BlockPredicate[predicates.length];
+        for (int i = 0; i < predicates.length; ++i) {
+            blockPredicates[i] = of(predicates[i]);
+        }
+        return blockPredicates;
+    }
+
+    private static final class TrueBlockPredicate extends BlockPredicate {
+
+        @Override
+        int apply(EntryBlock block, int[] selection, int selectionSize) {
+            return selectionSize;
+        }
+
+    }
+
+    private static final class FalseBlockPredicate extends BlockPredicate {
+
+        @Override
+        int apply(EntryBlock block, int[] selection, int selectionSize) {
+            return 0;
+        }
+
+    }
+
+    private static final class AndBlockPredicate extends BlockPredicate {
+
+        private final BlockPredicate[] predicates;
+
+        AndBlockPredicate(BlockPredicate[] predicates) {
+            this.predicates = predicates;
+        }
+
+        @Override
+        int apply(EntryBlock block, int[] selection, int selectionSize) {
+            int size = selectionSize;
+            for (int i = 0; i < predicates.length && size > 0; ++i) {
+                size = predicates[i].apply(block, selection, size);
+            }
+            return size;
+        }
+
+    }
+
+    private static final class OrBlockPredicate extends BlockPredicate {
+
+        private final BlockPredicate[] predicates;
+
+        private final int[] remaining = new int[EntryBlock.CAPACITY];
+        private final int[] candidates = new int[EntryBlock.CAPACITY];
+        private final boolean[] matched = new boolean[EntryBlock.CAPACITY];
+
+        OrBlockPredicate(BlockPredicate[] predicates) {
+            this.predicates = predicates;
+        }
+
+        @Override
+        int apply(EntryBlock block, int[] selection, int selectionSize) {
+            // the rows not matched by any of the predicates evaluated so far
+            System.arraycopy(selection, 0, remaining, 0, selectionSize);
+            int remainingSize = selectionSize;
+            for (int i = 0; i < predicates.length && remainingSize > 0; ++i) {
+                System.arraycopy(remaining, 0, candidates, 0, remainingSize);
+                int candidateCount = predicates[i].apply(block, candidates, remainingSize);
+                if (candidateCount == 0) {
+                    continue;
+                }
+                for (int j = 0; j < candidateCount; ++j) {
+                    matched[candidates[j]] = true;
+                }
+
+                int size = 0;
+                for (int j = 0; j < remainingSize; ++j) {
+                    int row = remaining[j];
+                    if (!matched[row]) {
+                        remaining[size++] = row;
+                    }
+                }
+                remainingSize = size;
+            }
+
+            int size = 0;
+            for (int i = 0; i < selectionSize; ++i) {
+                int row = selection[i];
+                if (matched[row]) {
+                    selection[size++] = row;
+                    matched[row] = false;
+                }
+            }
+            return size;
+        }
+
+    }
+
+    private static final class NotBlockPredicate extends BlockPredicate {
+
+        private final BlockPredicate predicate;
+
+        private final int[] candidates = new int[EntryBlock.CAPACITY];
+        private final boolean[] matched = new boolean[EntryBlock.CAPACITY];
+
+        NotBlockPredicate(BlockPredicate predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        int apply(EntryBlock block, int[] selection, int selectionSize) {
+            System.arraycopy(selection, 0, candidates, 0, selectionSize);
+            int candidateCount = predicate.apply(block, candidates, selectionSize);
+            for (int i = 0; i < candidateCount; ++i) {
+                matched[candidates[i]] = true;
+            }
+
+            int size = 0;
+            for (int i = 0; i < selectionSize; ++i) {
+                int row = selection[i];
+                if (matched[row]) {
+                    matched[row] = false;
+                } else {
+                    selection[size++] = row;
+                }
+            }
+            return size;
+        }
+
+    }
+
+    private static final class AttributeBlockPredicate extends BlockPredicate {
+
+        private final AbstractPredicate predicate;
+
+        AttributeBlockPredicate(AbstractPredicate predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        int apply(EntryBlock block, int[] selection, int selectionSize) {
+            String attributeName = predicate.getAttributeName();
+            return predicate.applyForAttributeValues(block.column(attributeName, selection, selectionSize), selection,
+                    selectionSize);
+        }
+
+    }
+
+    private static final class EntryBlockPredicate extends BlockPredicate {
+
+        private final Predicate predicate;
+
+        EntryBlockPredicate(Predicate predicate) {
+            this.predicate = predicate;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        int apply(EntryBlock block, int[] selection, int selectionSize) {
+            int size = 0;
+            for (int i = 0; i < selectionSize; ++i) {
+                int row = selection[i];
+                if (predicate.apply(block.entry(row))) {
+                    selection[size++] = row;
+                }
+            }
+            return size;
+        }
+
+    }
+
+}
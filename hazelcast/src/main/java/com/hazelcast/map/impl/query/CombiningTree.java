@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * Combines partial results produced concurrently by multiple threads
+ * pairwise, as a binary tree, in the threads producing them.
+ * <p>
+ * Every level of the tree has a single slot. A thread adding a partial
+ * result either parks it in the empty slot of the first level or takes the
+ * result parked there, combines both and moves up to the next level with
+ * the combined result, and so on. A result reaching a level combines at
+ * least {@code 2^level} partial results, so there are at most {@code
+ * log2(n)} levels for {@code n} partial results. No thread ever waits for
+ * another one, and the combining work is spread across the producing
+ * threads instead of being done serially by the thread collecting the
+ * final result, see {@link #drainTo}.
+ *
+ * @param <T> the type of the partial results
+ */
+final class CombiningTree<T> {
+
+    private static final int MAX_LEVELS = Integer.SIZE;
+
+    private final AtomicReferenceArray<T> levels = new AtomicReferenceArray<>(MAX_LEVELS);
+    private final BiConsumer<T, T> combiner;
+
+    /**
+     * @param combiner combines the partial result given as the second
+     *                 argument into the one given as the first argument.
+     */
+    CombiningTree(BiConsumer<T, T> combiner) {
+        this.combiner = combiner;
+    }
+
+    /**
+     * Adds the given partial result to this tree. The result must not be
+     * used by the caller afterwards.
+     */
+    void add(T result) {
+        T current = result;
+        int level = 0;
+        while (true) {
+            T parked = levels.get(level);
+            if (parked == null) {
+                if (levels.compareAndSet(level, null, current)) {
+                    return;
+                }
+            } else if (levels.compareAndSet(level, parked, null)) {
+                combiner.accept(current, parked);
+                ++level;
+            }
+        }
+    }
+
+    /**
+     * Combines the partial results parked in this tree into the given
+     * result. Must be called after all the partial results were added.
+     */
+    void drainTo(T result) {
+        for (int level = 0; level < MAX_LEVELS; ++level) {
+            T parked = levels.getAndSet(level, null);
+            if (parked != null) {
+                combiner.accept(result, parked);
+            }
+        }
+    }
+
+}
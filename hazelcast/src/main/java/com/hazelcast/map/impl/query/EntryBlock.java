@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.LazyMapEntry;
+import com.hazelcast.query.impl.AttributeColumn;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A block of entries scanned together, the entries are addressed by their
+ * rows in the block. The attributes of the entries are extracted into
+ * {@link AttributeColumn columns} on demand, so the predicates acting on the
+ * same attribute extract its values just once.
+ * <p>
+ * The entries of the block are flyweights reused for the following blocks
+ * unless {@link #detach detached}.
+ */
+final class EntryBlock {
+
+    static final int CAPACITY = 256;
+
+    private final LazyMapEntry[] entries = new LazyMapEntry[CAPACITY];
+    private final Data[] keys = new Data[CAPACITY];
+    private final Object[] values = new Object[CAPACITY];
+    private final int[] selection = new int[CAPACITY];
+
+    private final Map<String, AttributeColumn> columns = new HashMap<>();
+    private final List<AttributeColumn> usedColumns = new ArrayList<>();
+
+    private int size;
+
+    /**
+     * Adds a new row to this block.
+     *
+     * @return the entry of the row to be initialized by the caller.
+     */
+    LazyMapEntry add(Data key, Object value) {
+        assert size < CAPACITY;
+        LazyMapEntry entry = entries[size];
+        if (entry == null) {
+            entry = new LazyMapEntry();
+            entries[size] = entry;
+        }
+        keys[size] = key;
+        values[size] = value;
+        ++size;
+        return entry;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == CAPACITY;
+    }
+
+    LazyMapEntry entry(int row) {
+        return entries[row];
+    }
+
+    Data key(int row) {
+        return keys[row];
+    }
+
+    Object value(int row) {
+        return values[row];
+    }
+
+    /**
+     * Detaches the entry of the given row from this block, the entry is not
+     * reused for the following blocks.
+     */
+    LazyMapEntry detach(int row) {
+        LazyMapEntry entry = entries[row];
+        entries[row] = null;
+        return entry;
+    }
+
+    /**
+     * @return the selection vector containing all the rows of this block.
+     */
+    int[] selectAll() {
+        for (int row = 0; row < size; ++row) {
+            selection[row] = row;
+        }
+        return selection;
+    }
+
+    /**
+     * Returns the column of the given attribute having the values of at
+     * least the selected rows extracted.
+     */
+    AttributeColumn column(String attributeName, int[] selection, int selectionSize) {
+        AttributeColumn column = columns.get(attributeName);
+        if (column == null) {
+            column = new AttributeColumn(CAPACITY);
+            columns.put(attributeName, column);
+        }
+        if (!usedColumns.contains(column)) {
+            usedColumns.add(column);
+        }
+
+        for (int i = 0; i < selectionSize; ++i) {
+            int row = selection[i];
+            if (!column.contains(row)) {
+                column.set(row, entries[row].getAttributeValue(attributeName));
+            }
+        }
+        return column;
+    }
+
+    /**
+     * Removes all the rows from this block.
+     */
+    void clear() {
+        for (int row = 0; row < size; ++row) {
+            keys[row] = null;
+            values[row] = null;
+        }
+        for (AttributeColumn column : usedColumns) {
+            column.clear();
+        }
+        usedColumns.clear();
+        size = 0;
+    }
+
+}
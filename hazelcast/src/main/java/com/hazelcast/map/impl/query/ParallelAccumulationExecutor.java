@@ -35,11 +35,13 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 /**
  * Implementation of the {@link AccumulationExecutor} that runs the accumulation in a multi-threaded way.
  * Entries are split into chunks and each chunk is sent as a task to the underlying executor.
- * At the end the result is merged to a single AggregationResult.
+ * The partial aggregators of the chunks are combined by the tasks themselves using a
+ * {@link CombiningTree}, and at the end the result is merged to a single AggregationResult.
  */
 public class ParallelAccumulationExecutor implements AccumulationExecutor {
 
     private static final int THREAD_SPLIT_COUNT = 8;
+    private static final int MIN_CHUNK_SIZE = 1024;
 
     private final ManagedExecutorService executor;
     private final SerializationService serializationService;
@@ -57,13 +59,12 @@ public class ParallelAccumulationExecutor implements AccumulationExecutor {
     public AggregationResult execute(Aggregator aggregator,
                                      Iterable<QueryableEntry> entries,
                                      PartitionIdSet partitionIds) {
-        Collection<Aggregator> chunkAggregators = accumulateParallel(aggregator, entries);
+        CombiningTree<Aggregator> combiningTree = new CombiningTree<>(Aggregator::combine);
+        accumulateParallel(aggregator, entries, combiningTree);
 
         Aggregator resultAggregator = clone(aggregator);
         try {
-            for (Aggregator chunkAggregator : chunkAggregators) {
-                resultAggregator.combine(chunkAggregator);
-            }
+            combiningTree.drainTo(resultAggregator);
         } finally {
             resultAggregator.onCombinationFinished();
         }
@@ -73,23 +74,32 @@ public class ParallelAccumulationExecutor implements AccumulationExecutor {
         return result;
     }
 
-    protected Collection<Aggregator> accumulateParallel(Aggregator aggregator, Iterable<QueryableEntry> entries) {
-        Collection<Future<Aggregator>> futures = new ArrayList<>();
-
-        List<QueryableEntry> buffer = new ArrayList<>();
-        for (QueryableEntry entry : entries) {
-            buffer.add(entry);
-            if (buffer.size() == THREAD_SPLIT_COUNT) {
-                futures.add(executor.submit(new AccumulatePartitionCallable(clone(aggregator), buffer)));
-                buffer = new ArrayList<>();
+    /**
+     * Splits the entries into at most {@value #THREAD_SPLIT_COUNT} chunks of
+     * at least {@value #MIN_CHUNK_SIZE} entries and accumulates every chunk
+     * in a separate task, the partial aggregators are added to the given
+     * combining tree.
+     */
+    private void accumulateParallel(Aggregator aggregator, Iterable<QueryableEntry> entries,
+                                    CombiningTree<Aggregator> combiningTree) {
+        List<QueryableEntry> list;
+        if (entries instanceof List) {
+            list = (List<QueryableEntry>) entries;
+        } else {
+            list = new ArrayList<>();
+            for (QueryableEntry entry : entries) {
+                list.add(entry);
             }
         }
 
-        if (!buffer.isEmpty()) {
-            futures.add(executor.submit(new AccumulatePartitionCallable(clone(aggregator), buffer)));
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (list.size() + THREAD_SPLIT_COUNT - 1) / THREAD_SPLIT_COUNT);
+        Collection<Future<Aggregator>> futures = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            List<QueryableEntry> chunk = list.subList(from, Math.min(list.size(), from + chunkSize));
+            futures.add(executor.submit(new AccumulatePartitionCallable(clone(aggregator), chunk, combiningTree)));
         }
 
-        return returnWithDeadline(futures, callTimeoutInMillis, MILLISECONDS, RETHROW_EVERYTHING);
+        returnWithDeadline(futures, callTimeoutInMillis, MILLISECONDS, RETHROW_EVERYTHING);
     }
 
     private Aggregator clone(Aggregator aggregator) {
@@ -99,10 +109,13 @@ public class ParallelAccumulationExecutor implements AccumulationExecutor {
     private static final class AccumulatePartitionCallable implements Callable<Aggregator> {
         private final Aggregator aggregator;
         private final Iterable<QueryableEntry> entries;
+        private final CombiningTree<Aggregator> combiningTree;
 
-        private AccumulatePartitionCallable(Aggregator aggregator, Iterable<QueryableEntry> entries) {
+        private AccumulatePartitionCallable(Aggregator aggregator, Iterable<QueryableEntry> entries,
+                                            CombiningTree<Aggregator> combiningTree) {
             this.aggregator = aggregator;
             this.entries = entries;
+            this.combiningTree = combiningTree;
         }
 
         @Override
@@ -114,6 +127,7 @@ public class ParallelAccumulationExecutor implements AccumulationExecutor {
             } finally {
                 aggregator.onAccumulationFinished();
             }
+            combiningTree.add(aggregator);
             return aggregator;
         }
     }
@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl.query;
 
 import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.internal.util.executor.ManagedExecutorService;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
@@ -28,10 +29,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.internal.util.FutureUtil.RETHROW_EVERYTHING;
 import static com.hazelcast.internal.util.FutureUtil.returnWithDeadline;
-import static com.hazelcast.internal.util.SetUtil.singletonPartitionIdSet;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
@@ -74,48 +75,72 @@ public class ParallelPartitionScanExecutor implements PartitionScanExecutor {
         return partitionScanRunner.run(mapName, predicate, partitionId, pointers, fetchSize);
     }
 
+    /**
+     * Scans the given partitions in at most as many tasks as there are
+     * threads in the underlying executor. The tasks take the partitions to
+     * scan one by one from the shared list, so the load is balanced even if
+     * the partitions differ in size, and every task accumulates the
+     * partitions it has scanned in a single sub-result. The sub-results are
+     * combined in the tasks themselves using a {@link CombiningTree}.
+     */
+    @SuppressWarnings("unchecked")
     protected void runUsingPartitionScanWithoutPaging(String name, Predicate predicate, Collection<Integer> partitions,
                                                       Result result) {
-        List<Future<Result>> futures = new ArrayList<>(partitions.size());
-
-        for (Integer partitionId : partitions) {
-            Future<Result> future = runPartitionScanForPartition(name, predicate, partitionId, result.createSubResult());
-            futures.add(future);
+        Integer[] partitionIds = partitions.toArray(new Integer[0]);
+        AtomicInteger nextPartition = new AtomicInteger();
+        CombiningTree<Result> combiningTree = new CombiningTree<>(Result::combine);
+
+        int taskCount = Math.max(1, Math.min(partitionIds.length, executor.getMaximumPoolSize()));
+        List<Future<Result>> futures = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; ++i) {
+            QueryPartitionsCallable task = new QueryPartitionsCallable(name, predicate, partitionIds, nextPartition,
+                    result.createSubResult(), combiningTree);
+            futures.add(executor.submit(task));
         }
 
-        Collection<Result> subResults = waitForResult(futures, timeoutInMillis);
-        for (Result subResult : subResults) {
-            result.combine(subResult);
-        }
-    }
-
-    protected Future<Result> runPartitionScanForPartition(String name, Predicate predicate, int partitionId, Result result) {
-        QueryPartitionCallable task = new QueryPartitionCallable(name, predicate, partitionId, result);
-        return executor.submit(task);
+        waitForResult(futures, timeoutInMillis);
+        combiningTree.drainTo(result);
     }
 
     private static Collection<Result> waitForResult(List<Future<Result>> lsFutures, int timeoutInMillis) {
         return returnWithDeadline(lsFutures, timeoutInMillis, MILLISECONDS, RETHROW_EVERYTHING);
     }
 
-    private final class QueryPartitionCallable implements Callable<Result> {
-        protected final int partition;
-        protected final String name;
-        protected final Predicate predicate;
-        protected final Result result;
+    private final class QueryPartitionsCallable implements Callable<Result> {
+        private final String name;
+        private final Predicate predicate;
+        private final Integer[] partitionIds;
+        private final AtomicInteger nextPartition;
+        private final Result result;
+        private final CombiningTree<Result> combiningTree;
 
-        private QueryPartitionCallable(String name, Predicate predicate, int partitionId, Result result) {
+        private QueryPartitionsCallable(String name, Predicate predicate, Integer[] partitionIds, AtomicInteger nextPartition,
+                                        Result result, CombiningTree<Result> combiningTree) {
             this.name = name;
             this.predicate = predicate;
-            this.partition = partitionId;
+            this.partitionIds = partitionIds;
+            this.nextPartition = nextPartition;
             this.result = result;
+            this.combiningTree = combiningTree;
         }
 
+        @SuppressWarnings("unchecked")
         @Override
         public Result call() {
-            partitionScanRunner.run(name, predicate, partition, result);
-            result.setPartitionIds(singletonPartitionIdSet(partitionScanRunner.partitionService.getPartitionCount(),
-                    partition));
+            PartitionIdSet scannedPartitions = null;
+            int index;
+            while ((index = nextPartition.getAndIncrement()) < partitionIds.length) {
+                int partitionId = partitionIds[index];
+                partitionScanRunner.run(name, predicate, partitionId, result);
+                if (scannedPartitions == null) {
+                    scannedPartitions = new PartitionIdSet(partitionScanRunner.partitionService.getPartitionCount());
+                }
+                scannedPartitions.add(partitionId);
+            }
+            if (scannedPartitions != null) {
+                result.setPartitionIds(scannedPartitions);
+                combiningTree.add(result);
+            }
             return result;
         }
     }
@@ -29,6 +29,8 @@ import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.query.QueryResultCache.CachedResult;
+import com.hazelcast.map.impl.query.QueryResultCache.CachingPredicate;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.query.Predicate;
@@ -40,8 +42,8 @@ import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -74,49 +76,68 @@ public class PartitionScanRunner {
         this.clusterService = nodeEngine.getClusterService();
     }
 
-    @SuppressWarnings("unchecked")
     public void run(String mapName, Predicate predicate, int partitionId, Result result) {
+        CachingPredicate cachingPredicate = null;
+        if (predicate instanceof CachingPredicate) {
+            cachingPredicate = (CachingPredicate) predicate;
+            predicate = cachingPredicate.getPredicate();
+        }
         PagingPredicateImpl pagingPredicate = predicate instanceof PagingPredicateImpl
                 ? (PagingPredicateImpl) predicate : null;
 
         PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
         MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
         RecordStore<Record> recordStore = partitionContainer.getRecordStore(mapName);
-        boolean nativeMemory = recordStore.getInMemoryFormat() == InMemoryFormat.NATIVE;
-        boolean useCachedValues = isUseCachedDeserializedValuesEnabled(mapContainer, partitionId);
-        Extractors extractors = mapServiceContext.getExtractors(mapName);
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
                 pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
 
-        recordStore.forEachAfterLoad(new BiConsumer<Data, Record>() {
-            LazyMapEntry queryEntry = new LazyMapEntry();
-
-            @Override
-            public void accept(Data key, Record record) {
-                Object value = useCachedValues ? getValueOrCachedValue(record, ss) : record.getValue();
-                // TODO how can a value be null?
-                if (value == null) {
-                    return;
-                }
-
-                queryEntry.init(ss, key, value, extractors);
-                queryEntry.setRecord(record);
-                queryEntry.setMetadata(PartitionScanRunner.this.getMetadataFromRecord(recordStore, key, record));
-
-                if (predicate.apply(queryEntry)
-                        && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
+        BlockScan scan = new BlockScan(mapName, predicate, recordStore, isUseCachedDeserializedValuesEnabled(mapContainer,
+                partitionId), pagingPredicate, nearestAnchorEntry, result);
+        if (cachingPredicate != null && !recordStore.isExpirable()) {
+            runUsingCache(cachingPredicate, partitionId, recordStore, scan, result);
+        } else {
+            recordStore.forEachAfterLoad(scan, false);
+            scan.flush();
+        }
+        result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
+    }
 
-                    // always copy key&value to heap if map is backed by native memory
-                    value = nativeMemory ? toHeapData((Data) value) : value;
-                    result.add(queryEntry.init(ss, toHeapData(key), value, extractors));
+    /**
+     * Serves the partition from the query result cache if the partition has
+     * not been mutated since the result was cached, otherwise scans the
+     * partition and caches the result.
+     */
+    private void runUsingCache(CachingPredicate cachingPredicate, int partitionId, RecordStore<Record> recordStore,
+                               BlockScan scan, Result result) {
+        QueryResultCache cache = cachingPredicate.getCache();
+        // the version must be read before the scan, so the mutations done
+        // while scanning invalidate the result
+        long version = cache.getVersion(partitionId);
+        CachedResult cachedResult = cache.get(cachingPredicate.getKey(), partitionId, version);
+        if (cachedResult != null) {
+            recordStore.checkIfLoaded();
+            for (int i = 0; i < cachedResult.keys.length; ++i) {
+                result.add(new LazyMapEntry(cachedResult.keys[i], cachedResult.values[i], ss, scan.extractors));
+            }
+            return;
+        }
 
-                    // We can't reuse the existing entry after it was added to the
-                    // result. Allocate the new one.
-                    queryEntry = new LazyMapEntry();
-                }
+        scan.capture(cache.getMaxPartitionResultSize());
+        recordStore.forEachAfterLoad(scan, false);
+        scan.flush();
+        List<Data> keys = scan.capturedKeys;
+        if (keys == null) {
+            return;
+        }
+        for (Data key : keys) {
+            // the removals are observed before the records are actually
+            // removed, so the scan may have seen a record being removed
+            if (recordStore.getRecord(key) == null) {
+                return;
             }
-        }, false);
-        result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
+        }
+        cache.put(cachingPredicate.getKey(), partitionId, version, keys.toArray(new Data[0]),
+                scan.capturedValues.toArray());
     }
 
     // overridden in ee
@@ -150,10 +171,11 @@ public class PartitionScanRunner {
      */
     public QueryableEntriesSegment run(String mapName, Predicate predicate, int partitionId,
                                        IterationPointer[] pointers, int fetchSize) {
-        List<QueryableEntry> resultList = new LinkedList<>();
+        List<QueryableEntry> resultList = new ArrayList<>();
         PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
         RecordStore recordStore = partitionContainer.getRecordStore(mapName);
         Extractors extractors = mapServiceContext.getExtractors(mapName);
+        LazyMapEntry queryEntry = new LazyMapEntry();
 
         while (resultList.size() < fetchSize && pointers[pointers.length - 1].getIndex() >= 0) {
             MapEntriesWithCursor cursor = recordStore.fetchEntries(pointers, fetchSize - resultList.size());
@@ -163,15 +185,127 @@ public class PartitionScanRunner {
                 break;
             }
             for (Entry<Data, Data> entry : entries) {
-                QueryableEntry queryEntry = new LazyMapEntry(entry.getKey(), entry.getValue(), ss, extractors);
+                queryEntry.init(ss, entry.getKey(), entry.getValue(), extractors);
                 if (predicate.apply(queryEntry)) {
                     resultList.add(queryEntry);
+                    // We can't reuse the existing entry after it was added to the
+                    // result. Allocate the new one.
+                    queryEntry = new LazyMapEntry();
                 }
             }
         }
         return new QueryableEntriesSegment(resultList, pointers);
     }
 
+    /**
+     * Scans a partition a block of entries at a time: the entries are
+     * collected into a block, and the predicate is evaluated on the whole
+     * block once it is full, see {@link BlockPredicate}.
+     */
+    private final class BlockScan implements BiConsumer<Data, Record> {
+
+        private final EntryBlock block = new EntryBlock();
+        private final BlockPredicate blockPredicate;
+        private final RecordStore<Record> recordStore;
+        private final boolean nativeMemory;
+        private final boolean useCachedValues;
+        private final Extractors extractors;
+        private final PagingPredicateImpl pagingPredicate;
+        private final Map.Entry<Integer, Map.Entry> nearestAnchorEntry;
+        private final Result result;
+        // the matching entries are accumulated in place by the aggregator
+        private final boolean accumulateInPlace;
+
+        // the keys and values of the matching entries, if captured
+        private int maxCapturedSize;
+        private List<Data> capturedKeys;
+        private List<Object> capturedValues;
+
+        @SuppressWarnings("checkstyle:parameternumber")
+        BlockScan(String mapName, Predicate predicate, RecordStore<Record> recordStore, boolean useCachedValues,
+                  PagingPredicateImpl pagingPredicate, Map.Entry<Integer, Map.Entry> nearestAnchorEntry, Result result) {
+            this.blockPredicate = BlockPredicate.of(predicate);
+            this.recordStore = recordStore;
+            this.nativeMemory = recordStore.getInMemoryFormat() == InMemoryFormat.NATIVE;
+            this.useCachedValues = useCachedValues;
+            this.extractors = mapServiceContext.getExtractors(mapName);
+            this.pagingPredicate = pagingPredicate;
+            this.nearestAnchorEntry = nearestAnchorEntry;
+            this.result = result;
+            this.accumulateInPlace = result instanceof AggregationResult && !((AggregationResult) result).retainsEntries();
+        }
+
+        /**
+         * Captures the keys and values of the matching entries, unless there
+         * are more of them than the given maximum.
+         */
+        void capture(int maxSize) {
+            maxCapturedSize = maxSize;
+            capturedKeys = new ArrayList<>();
+            capturedValues = new ArrayList<>();
+        }
+
+        @Override
+        public void accept(Data key, Record record) {
+            Object value = useCachedValues ? getValueOrCachedValue(record, ss) : record.getValue();
+            // TODO how can a value be null?
+            if (value == null) {
+                return;
+            }
+
+            LazyMapEntry queryEntry = block.add(key, value);
+            queryEntry.init(ss, key, value, extractors);
+            queryEntry.setRecord(record);
+            queryEntry.setMetadata(getMetadataFromRecord(recordStore, key, record));
+
+            if (block.isFull()) {
+                flush();
+            }
+        }
+
+        /**
+         * Evaluates the predicate on the entries collected so far and adds
+         * the matching ones to the result.
+         */
+        @SuppressWarnings("unchecked")
+        void flush() {
+            int[] selection = block.selectAll();
+            int selectionSize = blockPredicate.apply(block, selection, block.size());
+            for (int i = 0; i < selectionSize; ++i) {
+                int row = selection[i];
+                if (accumulateInPlace) {
+                    // The aggregator doesn't retain the entry, so it's not
+                    // detached from the block and reused for the next blocks.
+                    result.add(block.entry(row));
+                    if (capturedKeys != null) {
+                        captureEntry(toHeapData(block.key(row)), block.value(row));
+                    }
+                } else if (compareAnchor(pagingPredicate, block.entry(row), nearestAnchorEntry)) {
+                    // always copy key&value to heap if map is backed by native memory
+                    Object value = nativeMemory ? toHeapData((Data) block.value(row)) : block.value(row);
+                    Data key = toHeapData(block.key(row));
+                    // We can't reuse the entry after it was added to the result.
+                    result.add(block.detach(row).init(ss, key, value, extractors));
+                    if (capturedKeys != null) {
+                        captureEntry(key, value);
+                    }
+                }
+            }
+            block.clear();
+        }
+
+        private void captureEntry(Data key, Object value) {
+            if (capturedKeys.size() == maxCapturedSize) {
+                capturedKeys = null;
+                capturedValues = null;
+            } else {
+                capturedKeys.add(key);
+                capturedValues.add(value);
+            }
+        }
+
+    }
+
     protected boolean isUseCachedDeserializedValuesEnabled(MapContainer mapContainer, int partitionId) {
         CacheDeserializedValues cacheDeserializedValues = mapContainer.getMapConfig().getCacheDeserializedValues();
         switch (cacheDeserializedValues) {
@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.SerializableByConvention;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.BetweenPredicate;
+import com.hazelcast.query.impl.predicates.EqualPredicate;
+import com.hazelcast.query.impl.predicates.FalsePredicate;
+import com.hazelcast.query.impl.predicates.GreaterLessPredicate;
+import com.hazelcast.query.impl.predicates.ILikePredicate;
+import com.hazelcast.query.impl.predicates.InPredicate;
+import com.hazelcast.query.impl.predicates.LikePredicate;
+import com.hazelcast.query.impl.predicates.NotEqualPredicate;
+import com.hazelcast.query.impl.predicates.NotPredicate;
+import com.hazelcast.query.impl.predicates.OrPredicate;
+import com.hazelcast.query.impl.predicates.RegexPredicate;
+import com.hazelcast.query.impl.predicates.SqlPredicate;
+import com.hazelcast.query.impl.predicates.TruePredicate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Caches the entries of partitions matching predicates, so repeated queries
+ * scan only the partitions mutated since the previous scan.
+ * <p>
+ * The results are cached per predicate and partition. Every partition has
+ * a version incremented on each mutation of the partition, see {@link
+ * #invalidate}; a cached result is valid only while the version of its
+ * partition stays the same as it was when the partition scan producing the
+ * result has started. The least recently used results are evicted when the
+ * cache is full.
+ * <p>
+ * The predicates are identified by their serialized form taken before the
+ * query is run, since the built-in predicates may convert their values in
+ * place while evaluated.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class QueryResultCache {
+
+    /**
+     * The predicates known to evaluate the entries depending only on the
+     * entries themselves and to be serialized in a deterministic way. The
+     * subclasses may override the evaluation, so they are excluded.
+     */
+    private static final Set<Class<? extends Predicate>> CACHEABLE_PREDICATES = new HashSet<>(Arrays.asList(
+            TruePredicate.class, FalsePredicate.class, EqualPredicate.class, NotEqualPredicate.class,
+            GreaterLessPredicate.class, BetweenPredicate.class, InPredicate.class, LikePredicate.class, ILikePredicate.class,
+            RegexPredicate.class));
+
+    private final AtomicLongArray versions;
+    private final Map<Key, CachedResult> results;
+    private final int maxPartitionResultSize;
+
+    private final MwCounter hits = newMwCounter();
+    private final MwCounter misses = newMwCounter();
+    private final MwCounter invalidations = newMwCounter();
+
+    public QueryResultCache(int partitionCount, int maxSize, int maxPartitionResultSize) {
+        this.versions = new AtomicLongArray(partitionCount);
+        this.results = new LruMap(maxSize);
+        this.maxPartitionResultSize = maxPartitionResultSize;
+    }
+
+    /**
+     * Invalidates all the results cached for the given partition.
+     */
+    public void invalidate(int partitionId) {
+        versions.incrementAndGet(partitionId);
+    }
+
+    /**
+     * @return the number of the partition scans served from this cache.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of the partition scans not served from this cache.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of the cached results discarded because their
+     * partitions were mutated.
+     */
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * Prepares the given predicate to be run using this cache.
+     *
+     * @param predicate the original predicate of a query.
+     * @param optimized the optimized predicate to be run.
+     * @return the predicate to pass to the partition scan or the optimized
+     * predicate itself if the given predicate can't be cached.
+     */
+    Predicate prepare(Predicate predicate, Predicate optimized, InternalSerializationService serializationService) {
+        if (!isCacheable(predicate)) {
+            return optimized;
+        }
+        return new CachingPredicate(this, serializationService.toData(predicate), optimized);
+    }
+
+    int getMaxPartitionResultSize() {
+        return maxPartitionResultSize;
+    }
+
+    long getVersion(int partitionId) {
+        return versions.get(partitionId);
+    }
+
+    /**
+     * @return the result cached for the given predicate and partition at the
+     * given version of the partition or {@code null} if there is no such
+     * result.
+     */
+    CachedResult get(Data predicate, int partitionId, long version) {
+        Key key = new Key(predicate, partitionId);
+        CachedResult result;
+        synchronized (results) {
+            result = results.get(key);
+            if (result != null && result.version != version) {
+                results.remove(key);
+                invalidations.inc();
+                result = null;
+            }
+        }
+        if (result == null) {
+            misses.inc();
+        } else {
+            hits.inc();
+        }
+        return result;
+    }
+
+    /**
+     * Caches the result of the given predicate scanned in the given partition
+     * at the given version of the partition, unless the partition has been
+     * mutated since then.
+     */
+    void put(Data predicate, int partitionId, long version, Data[] keys, Object[] values) {
+        synchronized (results) {
+            if (versions.get(partitionId) == version) {
+                results.put(new Key(predicate, partitionId), new CachedResult(version, keys, values));
+            }
+        }
+    }
+
+    static boolean isCacheable(Predicate predicate) {
+        Class<?> predicateClass = predicate.getClass();
+        if (predicateClass == AndPredicate.class) {
+            return isCacheable(((AndPredicate) predicate).getPredicates());
+        } else if (predicateClass == OrPredicate.class) {
+            return isCacheable(((OrPredicate) predicate).getPredicates());
+        } else if (predicateClass == NotPredicate.class) {
+            return isCacheable(((NotPredicate) predicate).getPredicate());
+        } else if (predicateClass == SqlPredicate.class) {
+            return isCacheable(((SqlPredicate) predicate).getPredicate());
+        } else {
+            return CACHEABLE_PREDICATES.contains(predicateClass);
+        }
+    }
+
+    private static boolean isCacheable(Predicate[] predicates) {
+        for (Predicate predicate : predicates) {
+            if (!isCacheable(predicate)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The entries of a partition matching a predicate.
+     */
+    static final class CachedResult {
+
+        final long version;
+        final Data[] keys;
+        final Object[] values;
+
+        CachedResult(long version, Data[] keys, Object[] values) {
+            this.version = version;
+            this.keys = keys;
+            this.values = values;
+        }
+
+    }
+
+    /**
+     * Marks the predicate passed to the partition scan as the one to be run
+     * using the cache. Serialized as the wrapped predicate, so it never
+     * leaves the member with the cache.
+     */
+    @SerializableByConvention
+    static final class CachingPredicate implements Predicate {
+
+        private final transient QueryResultCache cache;
+        private final transient Data key;
+        private final transient Predicate predicate;
+
+        CachingPredicate(QueryResultCache cache, Data key, Predicate predicate) {
+            this.cache = cache;
+            this.key = key;
+            this.predicate = predicate;
+        }
+
+        QueryResultCache getCache() {
+            return cache;
+        }
+
+        Data getKey() {
+            return key;
+        }
+
+        Predicate getPredicate() {
+            return predicate;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean apply(Map.Entry mapEntry) {
+            return predicate.apply(mapEntry);
+        }
+
+        private Object writeReplace() {
+            return predicate;
+        }
+
+    }
+
+    /**
+     * Evicts the least recently accessed results. Never serialized.
+     */
+    @SerializableByConvention
+    private static final class LruMap extends LinkedHashMap<Key, CachedResult> {
+
+        private static final float LOAD_FACTOR = 0.75f;
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final int maxSize;
+
+        LruMap(int maxSize) {
+            super(INITIAL_CAPACITY, LOAD_FACTOR, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedResult> eldest) {
+            return size() > maxSize;
+        }
+
+    }
+
+    private static final class Key {
+
+        private final Data predicate;
+        private final int partitionId;
+
+        Key(Data predicate, int partitionId) {
+            this.predicate = predicate;
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return partitionId == that.partitionId && predicate.equals(that.predicate);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * predicate.hashCode() + partitionId;
+        }
+
+    }
+
+}
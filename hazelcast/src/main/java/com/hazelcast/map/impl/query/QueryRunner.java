@@ -141,6 +141,7 @@ public class QueryRunner {
 
         Result result;
         if (entries == null) {
+            predicate = prepareForPartitionScan(query, predicate, mapContainer);
             result = runUsingPartitionScanSafely(query, predicate, initialPartitions, migrationStamp);
             if (result == null) {
                 // full scan didn't work, returning empty result
@@ -217,6 +218,7 @@ public class QueryRunner {
         Result result;
         if (entries == null) {
             result = createResult(query, partitions);
+            predicate = prepareForPartitionScan(query, predicate, mapContainer);
             partitionScanExecutor.execute(query.getMapName(), predicate, partitions, result);
             result.completeConstruction(partitions);
         } else {
@@ -226,6 +228,16 @@ public class QueryRunner {
         return result;
     }
 
+    /**
+     * Prepares the given optimized predicate of the given query to be run
+     * using the query result cache of the map, if the cache is enabled.
+     */
+    private Predicate prepareForPartitionScan(Query query, Predicate predicate, MapContainer mapContainer) {
+        QueryResultCache queryResultCache = mapContainer.getQueryResultCache();
+        return queryResultCache == null ? predicate
+                : queryResultCache.prepare(query.getPredicate(), predicate, serializationService);
+    }
+
     private Result createResult(Query query, Collection<Integer> partitions) {
         return query.createResult(serializationService, queryResultSizeLimiter.getNodeResultLimit(partitions.size()));
     }
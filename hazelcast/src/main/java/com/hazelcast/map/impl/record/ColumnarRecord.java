@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.impl.Metadata;
+
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+
+/**
+ * {@link Record} view over a slot of the columns owned by a
+ * {@link ColumnarRecordFactory}. The view holds nothing but the slot and
+ * the key the slot was bound to when the view was created, every getter
+ * and setter goes to the columns directly.
+ * <p>
+ * Time fields follow the same semantics as {@link AbstractRecordWithStats}.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class ColumnarRecord implements Record<Data> {
+
+    private final ColumnarRecordFactory factory;
+    private final int slot;
+    private Data key;
+
+    ColumnarRecord(ColumnarRecordFactory factory, int slot, Data key) {
+        this.factory = factory;
+        this.slot = slot;
+        this.key = key;
+    }
+
+    public int slot() {
+        return slot;
+    }
+
+    Data key() {
+        return key;
+    }
+
+    void bindKey(Data key) {
+        this.key = key;
+    }
+
+    @Override
+    public Data getValue() {
+        return factory.getValue(slot, key);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        factory.setValue(slot, value);
+    }
+
+    @Override
+    public long getCost() {
+        Data value = getValue();
+        return ColumnarRecordFactory.SLOT_COST_IN_BYTES + (value == null ? 0L : value.getHeapCost());
+    }
+
+    @Override
+    public long getVersion() {
+        return factory.getVersion(slot);
+    }
+
+    @Override
+    public void setVersion(long version) {
+        factory.setVersion(slot, version);
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return Record.NOT_CACHED;
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return factory.getHits(slot);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        factory.setHits(slot, hits);
+    }
+
+    @Override
+    public long getExpirationTime() {
+        int expirationTime = getRawExpirationTime();
+        if (expirationTime == UNSET) {
+            return 0L;
+        }
+
+        if (expirationTime == Integer.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+
+        return recomputeWithBaseTime(expirationTime);
+    }
+
+    @Override
+    public void setExpirationTime(long expirationTime) {
+        setRawExpirationTime(expirationTime == Long.MAX_VALUE
+                ? Integer.MAX_VALUE
+                : stripBaseTime(expirationTime));
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public long getSequence() {
+        return UNSET;
+    }
+
+    @Override
+    public void setSequence(long sequence) {
+    }
+
+    @Override
+    public void setMetadata(Metadata metadata) {
+        factory.setMetadata(slot, metadata);
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return factory.getMetadata(slot);
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public int getRawTtl() {
+        return factory.getTtl(slot);
+    }
+
+    @Override
+    public int getRawMaxIdle() {
+        return factory.getMaxIdle(slot);
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return factory.getCreationTime(slot);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return factory.getLastAccessTime(slot);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return factory.getLastUpdateTime(slot);
+    }
+
+    @Override
+    public void setRawTtl(int ttl) {
+        factory.setTtl(slot, ttl);
+    }
+
+    @Override
+    public void setRawMaxIdle(int maxIdle) {
+        factory.setMaxIdle(slot, maxIdle);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        factory.setCreationTime(slot, creationTime);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        factory.setLastAccessTime(slot, lastAccessTime);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        factory.setLastUpdateTime(slot, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return factory.getLastStoredTime(slot);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int time) {
+        factory.setLastStoredTime(slot, time);
+    }
+
+    @Override
+    public int getRawExpirationTime() {
+        return factory.getExpirationTime(slot);
+    }
+
+    @Override
+    public void setRawExpirationTime(int time) {
+        factory.setExpirationTime(slot, time);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ColumnarRecord that = (ColumnarRecord) o;
+        return slot == that.slot && factory == that.factory;
+    }
+
+    @Override
+    public int hashCode() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarRecord{"
+                + "slot=" + slot
+                + ", version=" + getVersion()
+                + ", hits=" + getHits()
+                + ", ttl=" + getRawTtl()
+                + ", maxIdle=" + getRawMaxIdle()
+                + ", lastAccessTime=" + getRawLastAccessTime()
+                + ", lastUpdateTime=" + getRawLastUpdateTime()
+                + ", creationTime=" + getRawCreationTime()
+                + ", lastStoredTime=" + getRawLastStoredTime()
+                + ", expirationTime=" + getRawExpirationTime()
+                + '}';
+    }
+}
@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.query.impl.Metadata;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+
+/**
+ * Creates {@link ColumnarRecord}s of a single record store and owns the
+ * columns backing them.
+ * <p>
+ * Instead of one object per record, all record fields are kept in parallel
+ * arrays indexed by slot: keys and values in reference columns and the
+ * version, ttl, max-idle, hits and the int-encoded times in primitive
+ * columns. A {@link Record} is only a view over a slot, created on demand.
+ * <p>
+ * The columns are mutated by the partition thread only. Keys and values are
+ * published safely, so query threads may scan the columns concurrently; a
+ * view notices that its slot has been reused for another key and then reads
+ * the value as {@code null}.
+ * <p>
+ * Slots of removed records are not reused until {@link #disposeDeferredBlocks()}
+ * is called at the end of an operation, so that record views obtained during
+ * the operation stay valid until it completes.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class ColumnarRecordFactory implements RecordFactory<Data> {
+
+    /**
+     * Heap cost of a single slot in all columns.
+     */
+    public static final int SLOT_COST_IN_BYTES = 2 * REFERENCE_COST_IN_BYTES
+            + LONG_SIZE_IN_BYTES + 9 * INT_SIZE_IN_BYTES;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final SerializationService ss;
+
+    // the reference columns are replaced on growth and read by query threads
+    private volatile AtomicReferenceArray<Data> keys;
+    private volatile AtomicReferenceArray<Data> values;
+    // created on first use, only JSON values have metadata
+    private volatile AtomicReferenceArray<Metadata> metadata;
+
+    // hash codes of the keys, so that lookups and rehashing need not rehash the key blobs
+    private int[] keyHashes;
+    private long[] versions;
+    private int[] ttls;
+    private int[] maxIdles;
+    private int[] hits;
+    private int[] lastAccessTimes;
+    private int[] lastUpdateTimes;
+    private int[] creationTimes;
+    private int[] lastStoredTimes;
+    private int[] expirationTimes;
+    // one bit per slot, set while a removed record waits for its release
+    private long[] removed;
+
+    // number of slots which have ever been handed out
+    private int highWater;
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeSlotCount;
+    // slots of records created during the current operation
+    private int[] newSlots = new int[INITIAL_CAPACITY];
+    private int newSlotCount;
+    // slots of records removed during the current operation
+    private int[] deferredSlots = new int[INITIAL_CAPACITY];
+    private int deferredSlotCount;
+
+    public ColumnarRecordFactory(SerializationService ss) {
+        this.ss = ss;
+        allocateColumns(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public Record<Data> newRecord(Object value) {
+        int slot = acquireSlot();
+        values.set(slot, ss.toData(value));
+        lastAccessTimes[slot] = UNSET;
+        lastUpdateTimes[slot] = UNSET;
+        creationTimes[slot] = UNSET;
+        lastStoredTimes[slot] = UNSET;
+        expirationTimes[slot] = UNSET;
+        newSlots = append(newSlots, newSlotCount++, slot);
+        return new ColumnarRecord(this, slot, null);
+    }
+
+    /**
+     * @return record view over the given slot, bound to the key it
+     * currently holds
+     */
+    public ColumnarRecord newRecordView(int slot) {
+        return new ColumnarRecord(this, slot, keyAt(slot));
+    }
+
+    /**
+     * @return number of slots in the columns, every slot below it may
+     * hold a record
+     */
+    public int capacity() {
+        return keys.length();
+    }
+
+    /**
+     * @return the key stored in the given slot or {@code null} if the
+     * slot is free
+     */
+    public Data keyAt(int slot) {
+        AtomicReferenceArray<Data> keys = this.keys;
+        return slot < keys.length() ? keys.get(slot) : null;
+    }
+
+    /**
+     * @return the key stored in the given slot or {@code null} if the
+     * slot is free or its record has been removed
+     */
+    public Data liveKeyAt(int slot) {
+        long[] removed = this.removed;
+        if ((slot >> 6) < removed.length && (removed[slot >> 6] & (1L << slot)) != 0) {
+            return null;
+        }
+        return keyAt(slot);
+    }
+
+    /**
+     * @return hash code of the key stored in the given slot
+     */
+    public int keyHashAt(int slot) {
+        return intAt(keyHashes, slot, 0);
+    }
+
+    /**
+     * Binds the record to the given key, unless it is already bound.
+     */
+    public void setKeyIfAbsent(ColumnarRecord record, Data key, int keyHash) {
+        if (record.key() == null) {
+            keyHashes[record.slot()] = keyHash;
+            keys.set(record.slot(), key);
+            record.bindKey(key);
+        }
+    }
+
+    /**
+     * Schedules the slot to be released on the next call
+     * to {@link #disposeDeferredBlocks()}.
+     */
+    public void deferRelease(int slot) {
+        removed[slot >> 6] |= 1L << slot;
+        deferredSlots = append(deferredSlots, deferredSlotCount++, slot);
+    }
+
+    /**
+     * Releases slots of records which were removed during the current
+     * operation and of records which were created but never put into a
+     * storage, e.g. because a map-store call failed in between.
+     */
+    public void disposeDeferredBlocks() {
+        AtomicReferenceArray<Data> keys = this.keys;
+        for (int i = 0; i < newSlotCount; i++) {
+            int slot = newSlots[i];
+            if (keys.get(slot) == null) {
+                release(slot);
+            }
+        }
+        newSlotCount = 0;
+
+        for (int i = 0; i < deferredSlotCount; i++) {
+            release(deferredSlots[i]);
+        }
+        deferredSlotCount = 0;
+
+        if (newSlots.length > INITIAL_CAPACITY) {
+            newSlots = new int[INITIAL_CAPACITY];
+        }
+        if (deferredSlots.length > INITIAL_CAPACITY) {
+            deferredSlots = new int[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Drops all records and shrinks the columns to their initial capacity.
+     */
+    public void clear() {
+        allocateColumns(INITIAL_CAPACITY);
+        metadata = null;
+        highWater = 0;
+        freeSlots = new int[INITIAL_CAPACITY];
+        freeSlotCount = 0;
+        newSlots = new int[INITIAL_CAPACITY];
+        newSlotCount = 0;
+        deferredSlots = new int[INITIAL_CAPACITY];
+        deferredSlotCount = 0;
+    }
+
+    Data getValue(int slot, Data key) {
+        AtomicReferenceArray<Data> values = this.values;
+        if (slot >= values.length()) {
+            return null;
+        }
+        Data value = values.get(slot);
+        // the value belongs to the key only if the slot was not reused meanwhile
+        return keyAt(slot) == key ? value : null;
+    }
+
+    void setValue(int slot, Data value) {
+        values.set(slot, value);
+    }
+
+    long getVersion(int slot) {
+        long[] versions = this.versions;
+        return slot < versions.length ? versions[slot] : 0L;
+    }
+
+    void setVersion(int slot, long version) {
+        versions[slot] = version;
+    }
+
+    int getTtl(int slot) {
+        return intAt(ttls, slot, 0);
+    }
+
+    void setTtl(int slot, int ttl) {
+        ttls[slot] = ttl;
+    }
+
+    int getMaxIdle(int slot) {
+        return intAt(maxIdles, slot, 0);
+    }
+
+    void setMaxIdle(int slot, int maxIdle) {
+        maxIdles[slot] = maxIdle;
+    }
+
+    int getHits(int slot) {
+        return intAt(hits, slot, 0);
+    }
+
+    void setHits(int slot, int hits) {
+        this.hits[slot] = hits;
+    }
+
+    int getLastAccessTime(int slot) {
+        return intAt(lastAccessTimes, slot, UNSET);
+    }
+
+    void setLastAccessTime(int slot, int time) {
+        lastAccessTimes[slot] = time;
+    }
+
+    int getLastUpdateTime(int slot) {
+        return intAt(lastUpdateTimes, slot, UNSET);
+    }
+
+    void setLastUpdateTime(int slot, int time) {
+        lastUpdateTimes[slot] = time;
+    }
+
+    int getCreationTime(int slot) {
+        return intAt(creationTimes, slot, UNSET);
+    }
+
+    void setCreationTime(int slot, int time) {
+        creationTimes[slot] = time;
+    }
+
+    int getLastStoredTime(int slot) {
+        return intAt(lastStoredTimes, slot, UNSET);
+    }
+
+    void setLastStoredTime(int slot, int time) {
+        lastStoredTimes[slot] = time;
+    }
+
+    int getExpirationTime(int slot) {
+        return intAt(expirationTimes, slot, UNSET);
+    }
+
+    void setExpirationTime(int slot, int time) {
+        expirationTimes[slot] = time;
+    }
+
+    Metadata getMetadata(int slot) {
+        AtomicReferenceArray<Metadata> metadata = this.metadata;
+        return metadata == null || slot >= metadata.length() ? null : metadata.get(slot);
+    }
+
+    void setMetadata(int slot, Metadata value) {
+        AtomicReferenceArray<Metadata> metadata = this.metadata;
+        if (metadata == null) {
+            if (value == null) {
+                return;
+            }
+            metadata = new AtomicReferenceArray<>(keys.length());
+            this.metadata = metadata;
+        }
+        metadata.set(slot, value);
+    }
+
+    private int acquireSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (highWater == keys.length()) {
+            growColumns(highWater << 1);
+        }
+        return highWater++;
+    }
+
+    private void release(int slot) {
+        keys.set(slot, null);
+        values.set(slot, null);
+        setMetadata(slot, null);
+        versions[slot] = 0L;
+        ttls[slot] = 0;
+        maxIdles[slot] = 0;
+        hits[slot] = 0;
+        removed[slot >> 6] &= ~(1L << slot);
+        freeSlots = append(freeSlots, freeSlotCount++, slot);
+    }
+
+    private void allocateColumns(int capacity) {
+        keyHashes = new int[capacity];
+        versions = new long[capacity];
+        ttls = new int[capacity];
+        maxIdles = new int[capacity];
+        hits = new int[capacity];
+        lastAccessTimes = new int[capacity];
+        lastUpdateTimes = new int[capacity];
+        creationTimes = new int[capacity];
+        lastStoredTimes = new int[capacity];
+        expirationTimes = new int[capacity];
+        removed = new long[bitsetLength(capacity)];
+        values = new AtomicReferenceArray<>(capacity);
+        keys = new AtomicReferenceArray<>(capacity);
+    }
+
+    private void growColumns(int newCapacity) {
+        keyHashes = Arrays.copyOf(keyHashes, newCapacity);
+        versions = Arrays.copyOf(versions, newCapacity);
+        ttls = Arrays.copyOf(ttls, newCapacity);
+        maxIdles = Arrays.copyOf(maxIdles, newCapacity);
+        hits = Arrays.copyOf(hits, newCapacity);
+        lastAccessTimes = Arrays.copyOf(lastAccessTimes, newCapacity);
+        lastUpdateTimes = Arrays.copyOf(lastUpdateTimes, newCapacity);
+        creationTimes = Arrays.copyOf(creationTimes, newCapacity);
+        lastStoredTimes = Arrays.copyOf(lastStoredTimes, newCapacity);
+        expirationTimes = Arrays.copyOf(expirationTimes, newCapacity);
+        removed = Arrays.copyOf(removed, bitsetLength(newCapacity));
+        // keys last, a concurrent reader bounded by the key column
+        // must never see a slot missing from the other columns
+        values = copyOf(values, newCapacity);
+        if (metadata != null) {
+            metadata = copyOf(metadata, newCapacity);
+        }
+        keys = copyOf(keys, newCapacity);
+    }
+
+    private static <E> AtomicReferenceArray<E> copyOf(AtomicReferenceArray<E> array, int newCapacity) {
+        AtomicReferenceArray<E> result = new AtomicReferenceArray<>(newCapacity);
+        for (int i = 0; i < array.length(); i++) {
+            result.lazySet(i, array.get(i));
+        }
+        return result;
+    }
+
+    private static int bitsetLength(int capacity) {
+        return (capacity + Long.SIZE - 1) >> 6;
+    }
+
+    private static int intAt(int[] column, int slot, int defaultValue) {
+        return slot < column.length ? column[slot] : defaultValue;
+    }
+
+    private static int[] append(int[] slots, int index, int slot) {
+        int[] result = index < slots.length ? slots : Arrays.copyOf(slots, slots.length << 1);
+        result[index] = slot;
+        return result;
+    }
+}
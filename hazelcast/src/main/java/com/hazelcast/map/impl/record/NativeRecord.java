@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.impl.Metadata;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+
+/**
+ * {@link Record} view over a record block allocated in native memory by a
+ * {@link NativeRecordFactory}. The view itself holds nothing but the address
+ * of the block, so every getter and setter reads or writes native memory
+ * directly and instances can be created on demand and thrown away.
+ * <p>
+ * Layout of a record block:
+ * <pre>
+ *     0: address of the next record in the same hash-slot chain
+ *     8: address of the key blob
+ *    16: address of the value blob
+ *    24: version (long)
+ *    32: ttl, max-idle, hits, last-access, last-update,
+ *        creation, last-stored and expiration times (ints)
+ * </pre>
+ * Key and value blobs are stored as an {@code int} length followed by the
+ * bytes of the serialized {@link Data}.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class NativeRecord implements Record<Data> {
+
+    public static final int NEXT_OFFSET = 0;
+    public static final int KEY_OFFSET = 8;
+    public static final int VALUE_OFFSET = 16;
+    public static final int SIZE = 64;
+
+    private static final int VERSION_OFFSET = 24;
+    private static final int TTL_OFFSET = 32;
+    private static final int MAX_IDLE_OFFSET = 36;
+    private static final int HITS_OFFSET = 40;
+    private static final int LAST_ACCESS_TIME_OFFSET = 44;
+    private static final int LAST_UPDATE_TIME_OFFSET = 48;
+    private static final int CREATION_TIME_OFFSET = 52;
+    private static final int LAST_STORED_TIME_OFFSET = 56;
+    private static final int EXPIRATION_TIME_OFFSET = 60;
+
+    private final long address;
+    private final NativeRecordFactory factory;
+    private final MemoryAccessor mem;
+
+    NativeRecord(long address, NativeRecordFactory factory) {
+        assert address != NULL_ADDRESS;
+        this.address = address;
+        this.factory = factory;
+        this.mem = factory.getMemoryManager().getAccessor();
+    }
+
+    /**
+     * Initializes the time fields of a freshly allocated (zeroed) block
+     * to {@link Record#UNSET}.
+     */
+    void init() {
+        mem.putInt(address + LAST_ACCESS_TIME_OFFSET, UNSET);
+        mem.putInt(address + LAST_UPDATE_TIME_OFFSET, UNSET);
+        mem.putInt(address + CREATION_TIME_OFFSET, UNSET);
+        mem.putInt(address + LAST_STORED_TIME_OFFSET, UNSET);
+        mem.putInt(address + EXPIRATION_TIME_OFFSET, UNSET);
+    }
+
+    public long address() {
+        return address;
+    }
+
+    @Override
+    public Data getValue() {
+        return factory.readBlob(mem.getLong(address + VALUE_OFFSET));
+    }
+
+    @Override
+    public void setValue(Data value) {
+        long oldBlob = mem.getLong(address + VALUE_OFFSET);
+        mem.putLong(address + VALUE_OFFSET, factory.allocateBlob(value));
+        factory.freeBlob(oldBlob);
+    }
+
+    @Override
+    public long getCost() {
+        return SIZE + factory.blobCost(mem.getLong(address + VALUE_OFFSET));
+    }
+
+    @Override
+    public long getVersion() {
+        return mem.getLong(address + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(long version) {
+        mem.putLong(address + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return Record.NOT_CACHED;
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return mem.getInt(address + HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        mem.putInt(address + HITS_OFFSET, hits);
+    }
+
+    @Override
+    public long getExpirationTime() {
+        int expirationTime = getRawExpirationTime();
+        if (expirationTime == UNSET) {
+            return 0L;
+        }
+
+        if (expirationTime == Integer.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+
+        return recomputeWithBaseTime(expirationTime);
+    }
+
+    @Override
+    public void setExpirationTime(long expirationTime) {
+        setRawExpirationTime(expirationTime == Long.MAX_VALUE
+                ? Integer.MAX_VALUE
+                : stripBaseTime(expirationTime));
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public long getSequence() {
+        return UNSET;
+    }
+
+    @Override
+    public void setSequence(long sequence) {
+    }
+
+    @Override
+    public void setMetadata(Metadata metadata) {
+        factory.setMetadata(address, metadata);
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return factory.getMetadata(address);
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public int getRawTtl() {
+        return mem.getInt(address + TTL_OFFSET);
+    }
+
+    @Override
+    public int getRawMaxIdle() {
+        return mem.getInt(address + MAX_IDLE_OFFSET);
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return mem.getInt(address + CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return mem.getInt(address + LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return mem.getInt(address + LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawTtl(int ttl) {
+        mem.putInt(address + TTL_OFFSET, ttl);
+    }
+
+    @Override
+    public void setRawMaxIdle(int maxIdle) {
+        mem.putInt(address + MAX_IDLE_OFFSET, maxIdle);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        mem.putInt(address + CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        mem.putInt(address + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        mem.putInt(address + LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return mem.getInt(address + LAST_STORED_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int time) {
+        mem.putInt(address + LAST_STORED_TIME_OFFSET, time);
+    }
+
+    @Override
+    public int getRawExpirationTime() {
+        return mem.getInt(address + EXPIRATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawExpirationTime(int time) {
+        mem.putInt(address + EXPIRATION_TIME_OFFSET, time);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return address == ((NativeRecord) o).address;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (address ^ (address >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "NativeRecord{"
+                + "address=" + address
+                + ", version=" + getVersion()
+                + ", hits=" + getHits()
+                + ", ttl=" + getRawTtl()
+                + ", maxIdle=" + getRawMaxIdle()
+                + ", lastAccessTime=" + getRawLastAccessTime()
+                + ", lastUpdateTime=" + getRawLastUpdateTime()
+                + ", creationTime=" + getRawCreationTime()
+                + ", lastStoredTime=" + getRawLastStoredTime()
+                + ", expirationTime=" + getRawExpirationTime()
+                + '}';
+    }
+}
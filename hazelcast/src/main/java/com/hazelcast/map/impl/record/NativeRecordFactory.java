@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.memory.impl.MemoryManagerBean;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.collection.Long2ObjectHashMap;
+import com.hazelcast.query.impl.Metadata;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+
+/**
+ * Creates {@link NativeRecord}s of a single record store and owns all of
+ * the native memory allocated for them.
+ * <p>
+ * One instance is created per record store, so all methods are expected
+ * to be called by the partition thread only, except {@link #getUsedMemory()}
+ * which may be read by statistics collectors.
+ * <p>
+ * Freeing of removed records is deferred until {@link #disposeDeferredBlocks()}
+ * is called at the end of an operation, so that record views obtained during
+ * the operation remain valid until it completes.
+ */
+public class NativeRecordFactory implements RecordFactory<Data> {
+
+    private static final int INITIAL_ADDRESS_LIST_CAPACITY = 16;
+
+    private final SerializationService ss;
+    private final MemoryManager memoryManager;
+    private final MemoryAccessor mem;
+    private final Long2ObjectHashMap<Metadata> metadataByAddress = new Long2ObjectHashMap<>();
+
+    private volatile long usedMemory;
+
+    // records created during the current operation
+    private long[] newRecords = new long[INITIAL_ADDRESS_LIST_CAPACITY];
+    private int newRecordCount;
+    // records removed during the current operation
+    private long[] deferredRecords = new long[INITIAL_ADDRESS_LIST_CAPACITY];
+    private int deferredRecordCount;
+
+    public NativeRecordFactory(SerializationService ss, MemoryManager memoryManager) {
+        this.ss = ss;
+        this.mem = memoryManager.getAccessor();
+        this.memoryManager = new MemoryManagerBean(new MemoryAllocatorWithStats(memoryManager.getAllocator()), mem);
+    }
+
+    @Override
+    public Record<Data> newRecord(Object value) {
+        long address = memoryManager.getAllocator().allocate(NativeRecord.SIZE);
+        NativeRecord record = new NativeRecord(address, this);
+        record.init();
+        try {
+            record.setValue(ss.toData(value));
+        } catch (Throwable t) {
+            memoryManager.getAllocator().free(address, NativeRecord.SIZE);
+            throw t;
+        }
+        newRecords = append(newRecords, newRecordCount++, address);
+        return record;
+    }
+
+    /**
+     * @return record view over the record block at the given address
+     */
+    public NativeRecord newRecordView(long address) {
+        return new NativeRecord(address, this);
+    }
+
+    /**
+     * @return memory manager of this factory, all allocations done
+     * through it are accounted in {@link #getUsedMemory()}
+     */
+    public MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
+    /**
+     * @return number of native memory bytes currently allocated by this factory
+     */
+    public long getUsedMemory() {
+        return usedMemory;
+    }
+
+    /**
+     * Copies the key into native memory and links it to the record,
+     * unless the record already has a key.
+     */
+    public void setKeyIfAbsent(NativeRecord record, Data key) {
+        long keyAddress = record.address() + NativeRecord.KEY_OFFSET;
+        if (mem.getLong(keyAddress) == NULL_ADDRESS) {
+            mem.putLong(keyAddress, allocateBlob(key));
+        }
+    }
+
+    /**
+     * @return on-heap copy of the key of the record at the given address
+     */
+    public Data readKey(long recordAddress) {
+        return readBlob(mem.getLong(recordAddress + NativeRecord.KEY_OFFSET));
+    }
+
+    /**
+     * @return {@code true} if the key of the record at the given address
+     * has the same binary form as the given key
+     */
+    public boolean keyEquals(long recordAddress, Data key) {
+        long blob = mem.getLong(recordAddress + NativeRecord.KEY_OFFSET);
+        byte[] bytes = key.toByteArray();
+        if (blob == NULL_ADDRESS || mem.getInt(blob) != bytes.length) {
+            return false;
+        }
+        long base = blob + INT_SIZE_IN_BYTES;
+        for (int i = 0; i < bytes.length; i++) {
+            if (mem.getByte(base + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getNext(long recordAddress) {
+        return mem.getLong(recordAddress + NativeRecord.NEXT_OFFSET);
+    }
+
+    public void setNext(long recordAddress, long nextAddress) {
+        mem.putLong(recordAddress + NativeRecord.NEXT_OFFSET, nextAddress);
+    }
+
+    /**
+     * Schedules the record at the given address to be freed on the
+     * next call to {@link #disposeDeferredBlocks()}.
+     */
+    public void deferFree(long recordAddress) {
+        deferredRecords = append(deferredRecords, deferredRecordCount++, recordAddress);
+    }
+
+    /**
+     * Frees records which were removed during the current operation and
+     * records which were created but never put into a storage, e.g.
+     * because a map-store call failed in between.
+     */
+    public void disposeDeferredBlocks() {
+        // check new records first, removed ones may be among them
+        for (int i = 0; i < newRecordCount; i++) {
+            long address = newRecords[i];
+            if (mem.getLong(address + NativeRecord.KEY_OFFSET) == NULL_ADDRESS) {
+                free(address);
+            }
+        }
+        newRecordCount = 0;
+
+        for (int i = 0; i < deferredRecordCount; i++) {
+            free(deferredRecords[i]);
+        }
+        deferredRecordCount = 0;
+
+        if (newRecords.length > INITIAL_ADDRESS_LIST_CAPACITY) {
+            newRecords = new long[INITIAL_ADDRESS_LIST_CAPACITY];
+        }
+        if (deferredRecords.length > INITIAL_ADDRESS_LIST_CAPACITY) {
+            deferredRecords = new long[INITIAL_ADDRESS_LIST_CAPACITY];
+        }
+    }
+
+    /**
+     * Immediately frees the record at the given address with its key and value.
+     */
+    public void free(long recordAddress) {
+        freeBlob(mem.getLong(recordAddress + NativeRecord.KEY_OFFSET));
+        freeBlob(mem.getLong(recordAddress + NativeRecord.VALUE_OFFSET));
+        memoryManager.getAllocator().free(recordAddress, NativeRecord.SIZE);
+        if (!metadataByAddress.isEmpty()) {
+            metadataByAddress.remove(recordAddress);
+        }
+    }
+
+    long allocateBlob(Data data) {
+        if (data == null) {
+            return NULL_ADDRESS;
+        }
+        byte[] bytes = data.toByteArray();
+        long blob = memoryManager.getAllocator().allocate(INT_SIZE_IN_BYTES + bytes.length);
+        mem.putInt(blob, bytes.length);
+        mem.copyFromByteArray(bytes, 0, blob + INT_SIZE_IN_BYTES, bytes.length);
+        return blob;
+    }
+
+    Data readBlob(long blob) {
+        if (blob == NULL_ADDRESS) {
+            return null;
+        }
+        byte[] bytes = new byte[mem.getInt(blob)];
+        mem.copyToByteArray(blob + INT_SIZE_IN_BYTES, bytes, 0, bytes.length);
+        return new HeapData(bytes);
+    }
+
+    void freeBlob(long blob) {
+        if (blob != NULL_ADDRESS) {
+            memoryManager.getAllocator().free(blob, blobCost(blob));
+        }
+    }
+
+    long blobCost(long blob) {
+        return blob == NULL_ADDRESS ? 0L : INT_SIZE_IN_BYTES + mem.getInt(blob);
+    }
+
+    void setMetadata(long recordAddress, Metadata metadata) {
+        if (metadata == null) {
+            metadataByAddress.remove(recordAddress);
+        } else {
+            metadataByAddress.put(recordAddress, metadata);
+        }
+    }
+
+    Metadata getMetadata(long recordAddress) {
+        return metadataByAddress.isEmpty() ? null : metadataByAddress.get(recordAddress);
+    }
+
+    private static long[] append(long[] addresses, int index, long address) {
+        long[] result = index < addresses.length ? addresses : Arrays.copyOf(addresses, addresses.length << 1);
+        result[index] = address;
+        return result;
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Memory is allocated only by the partition thread owning the record store.")
+    private final class MemoryAllocatorWithStats implements MemoryAllocator {
+
+        private final MemoryAllocator delegate;
+
+        MemoryAllocatorWithStats(MemoryAllocator delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long allocate(long size) {
+            long result = delegate.allocate(size);
+            usedMemory += size;
+            return result;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            long result = delegate.reallocate(address, currentSize, newSize);
+            usedMemory += newSize - currentSize;
+            return result;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            delegate.free(address, size);
+            usedMemory -= size;
+        }
+
+        @Override
+        public void dispose() {
+            // the delegate is shared by all record stores
+        }
+    }
+}
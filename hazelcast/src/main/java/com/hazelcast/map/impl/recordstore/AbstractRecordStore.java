@@ -36,6 +36,9 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.MapStoreWrapper;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
+import com.hazelcast.map.impl.query.QueryResultCache;
+import com.hazelcast.map.impl.record.ColumnarRecordFactory;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.Records;
@@ -44,6 +47,7 @@ import com.hazelcast.wan.impl.CallerProvenance;
 
 import javax.annotation.Nonnull;
 
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.setExpirationTimes;
 
 /**
@@ -67,6 +71,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
 
     protected Storage<Data, Record> storage;
     protected IndexingMutationObserver<Record> indexingObserver;
+    protected QueryResultCacheMutationObserver queryResultCacheObserver;
 
     protected AbstractRecordStore(MapContainer mapContainer, int partitionId) {
         this.name = mapContainer.getName();
@@ -107,6 +112,13 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         // Add observer for indexing
         indexingObserver = new IndexingMutationObserver<>(this, serializationService);
         mutationObserver.add(indexingObserver);
+
+        // Add observer for query result cache invalidation
+        QueryResultCache queryResultCache = mapContainer.getQueryResultCache();
+        if (queryResultCache != null) {
+            queryResultCacheObserver = new QueryResultCacheMutationObserver(queryResultCache, partitionId);
+            mutationObserver.add(queryResultCacheObserver);
+        }
     }
 
     // Overridden in EE.
@@ -115,6 +127,17 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
                 JsonMetadataInitializer.INSTANCE));
     }
 
+    /**
+     * Invalidates the query results cached for the partition once more
+     * after records were removed from the storage or the storage was
+     * cleared, see {@link QueryResultCacheMutationObserver#onStorageChanged()}.
+     */
+    protected void invalidateQueryResults() {
+        if (queryResultCacheObserver != null) {
+            queryResultCacheObserver.onStorageChanged();
+        }
+    }
+
     public IndexingMutationObserver<Record> getIndexingObserver() {
         return indexingObserver;
     }
@@ -167,6 +190,12 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (memoryFormat == NATIVE) {
+            return new NativeStorageImpl((NativeRecordFactory) recordFactory, serializationService);
+        }
+        if (recordFactory instanceof ColumnarRecordFactory) {
+            return new ColumnarStorageImpl((ColumnarRecordFactory) recordFactory, serializationService);
+        }
         return new StorageImpl(memoryFormat, serializationService);
     }
 
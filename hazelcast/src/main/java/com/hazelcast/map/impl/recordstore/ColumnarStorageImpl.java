@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.ColumnarRecord;
+import com.hazelcast.map.impl.record.ColumnarRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.hazelcast.internal.util.HashUtil.fastIntMix;
+import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+import static com.hazelcast.map.impl.OwnedEntryCostEstimatorFactory.createColumnarMapSizeEstimator;
+
+/**
+ * {@link Storage} of {@link com.hazelcast.config.InMemoryFormat#BINARY} maps
+ * which keeps records in the columns of a {@link ColumnarRecordFactory}
+ * rather than one object per record.
+ * <p>
+ * Keys are located with an open-addressing table which maps the hash of the
+ * key to its slot in the columns, so apart from the key and value blobs the
+ * storage allocates no objects per entry. Slots never move, iteration walks
+ * the slots from the highest one down and the iteration pointer is simply
+ * the next slot to visit.
+ * <p>
+ * Mutations are allowed on the partition thread only. Concurrent scans from
+ * query threads see a weakly consistent view of the records.
+ */
+public class ColumnarStorageImpl implements Storage<Data, Record> {
+
+    private static final int INITIAL_TABLE_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+    // the table is halved when it gets this sparse, so it stays between 15% and 60% full
+    private static final float SHRINK_FACTOR = LOAD_FACTOR / 4;
+
+    private final ColumnarRecordFactory recordFactory;
+    private final SerializationService serializationService;
+
+    // slot + 1 of each key, zero means an empty bucket
+    private volatile int[] table = new int[INITIAL_TABLE_CAPACITY];
+    private volatile int size;
+
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator = createColumnarMapSizeEstimator();
+
+    public ColumnarStorageImpl(ColumnarRecordFactory recordFactory, SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Only the partition thread mutates the storage, other threads only read the size.")
+    public void put(Data key, Record record) {
+        ColumnarRecord columnarRecord = (ColumnarRecord) record;
+        int hash = hashOf(key);
+        recordFactory.setKeyIfAbsent(columnarRecord, key, hash);
+
+        int[] table = this.table;
+        int mask = table.length - 1;
+        int bucket = hash & mask;
+        for (; table[bucket] != 0; bucket = (bucket + 1) & mask) {
+            int slot = table[bucket] - 1;
+            if (slot == columnarRecord.slot() || keyEquals(slot, key, hash)) {
+                if (slot != columnarRecord.slot()) {
+                    Record previousRecord = recordFactory.newRecordView(slot);
+                    updateCostEstimate(-entryCostEstimator.calculateValueCost(previousRecord));
+                    updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+                    table[bucket] = columnarRecord.slot() + 1;
+                    recordFactory.deferRelease(slot);
+                }
+                return;
+            }
+        }
+
+        table[bucket] = columnarRecord.slot() + 1;
+        size++;
+        updateCostEstimate(entryCostEstimator.calculateEntryCost(key, record));
+        if (size > table.length * LOAD_FACTOR) {
+            rehash(table.length << 1);
+        }
+    }
+
+    @Override
+    public void updateRecordValue(Data key, Record record, Object value) {
+        updateCostEstimate(-entryCostEstimator.calculateValueCost(record));
+
+        record.setValue(serializationService.toData(value));
+
+        updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+    }
+
+    @Override
+    public Record get(Data key) {
+        int slot = find(key);
+        return slot < 0 ? null : recordFactory.newRecordView(slot);
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        throw new UnsupportedOperationException("ColumnarStorageImpl#getIfSameKey");
+    }
+
+    @Override
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Only the partition thread mutates the storage, other threads only read the size.")
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        int hash = hashOf(dataKey);
+        int[] table = this.table;
+        int mask = table.length - 1;
+        int bucket = hash & mask;
+        for (; table[bucket] != 0; bucket = (bucket + 1) & mask) {
+            int slot = table[bucket] - 1;
+            if (keyEquals(slot, dataKey, hash)) {
+                updateCostEstimate(-entryCostEstimator.calculateEntryCost(dataKey, record));
+                shiftConflictingBuckets(table, bucket);
+                size--;
+                recordFactory.deferRelease(slot);
+                if (table.length > INITIAL_TABLE_CAPACITY && size < table.length * SHRINK_FACTOR) {
+                    rehash(table.length >> 1);
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new MutationTolerantIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        recordFactory.clear();
+        table = new int[INITIAL_TABLE_CAPACITY];
+        size = 0;
+
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        recordFactory.disposeDeferredBlocks();
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        checkNotNegative(sampleCount, "Sample count cannot be a negative value.");
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+
+        // the table is at least 15% full, unlike the columns which keep their capacity after removals
+        List<EntryView> samples = new ArrayList<>(sampleCount);
+        int[] table = this.table;
+        int mask = table.length - 1;
+        int start = ThreadLocalRandom.current().nextInt(table.length);
+        for (int i = 0; i < table.length && samples.size() < sampleCount; i++) {
+            int slotPlusOne = table[(start + i) & mask];
+            if (slotPlusOne == 0) {
+                continue;
+            }
+            Data key = recordFactory.liveKeyAt(slotPlusOne - 1);
+            if (key != null) {
+                samples.add(new LazyEvictableEntryView<>(key, recordFactory.newRecordView(slotPlusOne - 1),
+                        serializationService));
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        int slot = Math.min(pointers[pointers.length - 1].getIndex(), recordFactory.capacity() - 1);
+        for (; slot >= 0 && keys.size() < size; slot--) {
+            Data key = recordFactory.liveKeyAt(slot);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        return new MapKeysWithCursor(keys, new IterationPointer[]{new IterationPointer(slot, -1)});
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        int slot = Math.min(pointers[pointers.length - 1].getIndex(), recordFactory.capacity() - 1);
+        for (; slot >= 0 && entries.size() < size; slot--) {
+            Data key = recordFactory.liveKeyAt(slot);
+            if (key == null) {
+                continue;
+            }
+            Data value = recordFactory.newRecordView(slot).getValue();
+            if (value != null) {
+                entries.add(new AbstractMap.SimpleEntry<>(key, value));
+            }
+        }
+        return new MapEntriesWithCursor(entries, new IterationPointer[]{new IterationPointer(slot, -1)});
+    }
+
+    @Override
+    public Record extractRecordFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getRecord();
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    // just for testing
+    int tableCapacity() {
+        return table.length;
+    }
+
+    protected void updateCostEstimate(long entrySize) {
+        entryCostEstimator.adjustEstimateBy(entrySize);
+    }
+
+    /**
+     * @return slot of the given key or {@code -1} if the key is not stored.
+     * Lookups may run on query threads, so the probe is bounded by the
+     * table length and misses a key which is being moved concurrently.
+     */
+    private int find(Data key) {
+        int hash = hashOf(key);
+        int[] table = this.table;
+        int mask = table.length - 1;
+        int bucket = hash & mask;
+        for (int i = 0; i < table.length; i++, bucket = (bucket + 1) & mask) {
+            int slotPlusOne = table[bucket];
+            if (slotPlusOne == 0) {
+                return -1;
+            }
+            if (keyEquals(slotPlusOne - 1, key, hash)) {
+                return slotPlusOne - 1;
+            }
+        }
+        return -1;
+    }
+
+    private boolean keyEquals(int slot, Data key, int hash) {
+        return recordFactory.keyHashAt(slot) == hash && key.equals(recordFactory.keyAt(slot));
+    }
+
+    private static int hashOf(Data key) {
+        return fastIntMix(key.hashCode());
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldTable = table;
+        int[] newTable = new int[nextPowerOfTwo(newCapacity)];
+        int mask = newTable.length - 1;
+        for (int slotPlusOne : oldTable) {
+            if (slotPlusOne != 0) {
+                int bucket = recordFactory.keyHashAt(slotPlusOne - 1) & mask;
+                while (newTable[bucket] != 0) {
+                    bucket = (bucket + 1) & mask;
+                }
+                newTable[bucket] = slotPlusOne;
+            }
+        }
+        table = newTable;
+    }
+
+    /**
+     * Backward-shift deletion: moves the following buckets of the same
+     * probe sequence into the freed bucket so that no tombstones are needed.
+     */
+    private void shiftConflictingBuckets(int[] table, int freedBucket) {
+        int mask = table.length - 1;
+        int free = freedBucket;
+        int bucket = (free + 1) & mask;
+        for (; table[bucket] != 0; bucket = (bucket + 1) & mask) {
+            int home = recordFactory.keyHashAt(table[bucket] - 1) & mask;
+            // move the entry if its home bucket is not cyclically within (free, bucket]
+            boolean homeInRange = free <= bucket
+                    ? free < home && home <= bucket
+                    : free < home || home <= bucket;
+            if (!homeInRange) {
+                table[free] = table[bucket];
+                free = bucket;
+            }
+        }
+        table[free] = 0;
+    }
+
+    /**
+     * Walks the slots from the highest one down. Slots never move, so
+     * mutations during iteration neither skip nor repeat unchanged entries.
+     * The key of each slot is re-read before the entry is returned, so
+     * removed records are skipped and a slot reused after the iterator was
+     * created yields the record which currently occupies it.
+     */
+    private final class MutationTolerantIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private int nextSlot = recordFactory.capacity() - 1;
+        private Map.Entry<Data, Record> nextEntry;
+
+        @Override
+        public boolean hasNext() {
+            if (nextEntry != null) {
+                return true;
+            }
+            // the columns may have been shrunk by clear() meanwhile
+            nextSlot = Math.min(nextSlot, recordFactory.capacity() - 1);
+            for (; nextSlot >= 0; nextSlot--) {
+                Data key = recordFactory.liveKeyAt(nextSlot);
+                if (key != null) {
+                    nextEntry = new AbstractMap.SimpleImmutableEntry<>(key, recordFactory.newRecordView(nextSlot--));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Data, Record> entry = nextEntry;
+            nextEntry = null;
+            return entry;
+        }
+    }
+}
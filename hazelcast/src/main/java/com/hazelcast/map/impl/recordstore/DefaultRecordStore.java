@@ -449,6 +449,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             mutationObserver.onRemoveRecord(dataKey, record);
         }
         storage.removeRecord(dataKey, record);
+        invalidateQueryResults();
     }
 
     @Override
@@ -460,6 +461,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             mapDataStore.flush(key, value, backup);
             mutationObserver.onEvictRecord(key, record);
             storage.removeRecord(key, record);
+            invalidateQueryResults();
             if (!backup) {
                 mapServiceContext.interceptRemove(interceptorRegistry, value);
             }
@@ -486,6 +488,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         }
         mutationObserver.onRemoveRecord(key, record);
         storage.removeRecord(key, record);
+        invalidateQueryResults();
         if (persistenceEnabledFor(provenance)) {
             mapDataStore.removeBackup(key, now, transactionId);
         }
@@ -559,6 +562,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                 onStore(record);
                 mutationObserver.onRemoveRecord(key, record);
                 storage.removeRecord(key, record);
+                invalidateQueryResults();
             }
             removed = true;
         }
@@ -935,6 +939,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                 onStore(record);
                 mutationObserver.onRemoveRecord(key, record);
                 storage.removeRecord(key, record);
+                invalidateQueryResults();
                 return true;
             }
 
@@ -1079,6 +1084,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         }
         mutationObserver.onRemoveRecord(key, record);
         storage.removeRecord(key, record);
+        invalidateQueryResults();
         return oldValue;
     }
 
@@ -1302,6 +1308,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             mapDataStore.reset();
             storage.clear(false);
             stats.reset();
+            invalidateQueryResults();
         }
     }
 
@@ -1360,6 +1367,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             mutationObserver.onClear();
         } finally {
             storage.clear(isDuringShutdown);
+            invalidateQueryResults();
         }
     }
 
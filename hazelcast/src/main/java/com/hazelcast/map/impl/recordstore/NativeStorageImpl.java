@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.internal.util.hashslot.SlotAssignmentResult;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray8byteKeyImpl;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.NativeRecord;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.HashUtil.fastLongMix;
+
+/**
+ * {@link Storage} implementation which keeps keys, values and record
+ * metadata of a {@link RecordStore} in native memory, outside of the
+ * GC-managed heap.
+ * <p>
+ * Records are indexed by a {@link HashSlotArray8byteKeyImpl} keyed by
+ * {@link Data#hash64()} of the key, the slot value is the address of the
+ * first {@link NativeRecord} block in a chain of records whose keys share
+ * the same 64-bit hash. Keys, values and records handed out by this storage
+ * are on-heap copies and views created on demand.
+ * <p>
+ * Removed records are freed when {@link #disposeDeferredBlocks()} is called,
+ * which happens at the end of each map operation.
+ */
+public class NativeStorageImpl implements Storage<Data, Record> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 256;
+    private static final float DEFAULT_LOAD_FACTOR = 0.6f;
+
+    private final NativeRecordFactory recordFactory;
+    private final SerializationService serializationService;
+    private final RecordSlotArray slots;
+
+    private int size;
+
+    // not final for testing purposes.
+    private EntryCostEstimator entryCostEstimator;
+
+    public NativeStorageImpl(NativeRecordFactory recordFactory, SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.serializationService = serializationService;
+        this.slots = new RecordSlotArray(recordFactory.getMemoryManager());
+        this.slots.gotoNew();
+        this.entryCostEstimator = new NativeEntryCostEstimator();
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        NativeRecord nativeRecord = (NativeRecord) record;
+        long recordAddress = nativeRecord.address();
+        recordFactory.setKeyIfAbsent(nativeRecord, key);
+
+        SlotAssignmentResult slot = slots.ensure(key.hash64());
+        if (slot.isNew()) {
+            recordFactory.setNext(recordAddress, NULL_ADDRESS);
+            slots.setHead(slot.address(), recordAddress);
+            size++;
+            return;
+        }
+
+        long prev = NULL_ADDRESS;
+        long current = slots.getHead(slot.address());
+        while (current != NULL_ADDRESS) {
+            long next = recordFactory.getNext(current);
+            if (recordFactory.keyEquals(current, key)) {
+                if (current != recordAddress) {
+                    recordFactory.setNext(recordAddress, next);
+                    link(slot.address(), prev, recordAddress);
+                    recordFactory.deferFree(current);
+                }
+                return;
+            }
+            prev = current;
+            current = next;
+        }
+        recordFactory.setNext(recordAddress, slots.getHead(slot.address()));
+        slots.setHead(slot.address(), recordAddress);
+        size++;
+    }
+
+    @Override
+    public void updateRecordValue(Data key, Record record, Object value) {
+        record.setValue(serializationService.toData(value));
+    }
+
+    @Override
+    public Record get(Data key) {
+        long recordAddress = find(key);
+        return recordAddress == NULL_ADDRESS ? null : recordFactory.newRecordView(recordAddress);
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        throw new UnsupportedOperationException("NativeStorageImpl#getIfSameKey");
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        long hash = dataKey.hash64();
+        long slotAddress = slots.get(hash);
+        if (slotAddress == NULL_ADDRESS) {
+            return;
+        }
+
+        long prev = NULL_ADDRESS;
+        long current = slots.getHead(slotAddress);
+        while (current != NULL_ADDRESS) {
+            long next = recordFactory.getNext(current);
+            if (recordFactory.keyEquals(current, dataKey)) {
+                if (prev == NULL_ADDRESS && next == NULL_ADDRESS) {
+                    slots.remove(hash);
+                } else {
+                    link(slotAddress, prev, next);
+                }
+                recordFactory.deferFree(current);
+                size--;
+                return;
+            }
+            prev = current;
+            current = next;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return find(key) != NULL_ADDRESS;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new MutationTolerantIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Frees all records immediately, record views obtained
+     * before the call must not be used afterwards.
+     */
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        recordFactory.disposeDeferredBlocks();
+        long capacity = slots.capacity();
+        for (long slot = 0; slot < capacity; slot++) {
+            if (!slots.isAssigned(slot)) {
+                continue;
+            }
+            long current = slots.headOfSlot(slot);
+            while (current != NULL_ADDRESS) {
+                long next = recordFactory.getNext(current);
+                recordFactory.free(current);
+                current = next;
+            }
+        }
+        slots.clear();
+        size = 0;
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+        slots.dispose();
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        recordFactory.disposeDeferredBlocks();
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+
+        List<EntryView> samples = new ArrayList<>(sampleCount);
+        long capacity = slots.capacity();
+        long mask = capacity - 1;
+        long firstSlot = ThreadLocalRandomProvider.get().nextInt((int) capacity);
+        for (long i = 0; i < capacity && samples.size() < sampleCount; i++) {
+            long slot = (firstSlot + i) & mask;
+            if (!slots.isAssigned(slot)) {
+                continue;
+            }
+            for (long current = slots.headOfSlot(slot);
+                 current != NULL_ADDRESS && samples.size() < sampleCount;
+                 current = recordFactory.getNext(current)) {
+                samples.add(new LazyEvictableEntryView<>(recordFactory.readKey(current),
+                        recordFactory.newRecordView(current), serializationService));
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, recordAddress) -> keys.add(key));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, recordAddress) -> {
+            Data value = recordFactory.newRecordView(recordAddress).getValue();
+            entries.add(new AbstractMap.SimpleEntry<>(key, value));
+        });
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Record extractRecordFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getRecord();
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    private long find(Data key) {
+        long slotAddress = slots.get(key.hash64());
+        if (slotAddress == NULL_ADDRESS) {
+            return NULL_ADDRESS;
+        }
+        for (long current = slots.getHead(slotAddress); current != NULL_ADDRESS;
+             current = recordFactory.getNext(current)) {
+            if (recordFactory.keyEquals(current, key)) {
+                return current;
+            }
+        }
+        return NULL_ADDRESS;
+    }
+
+    private void link(long slotAddress, long prev, long recordAddress) {
+        if (prev == NULL_ADDRESS) {
+            slots.setHead(slotAddress, recordAddress);
+        } else {
+            recordFactory.setNext(prev, recordAddress);
+        }
+    }
+
+    /**
+     * Fetches at least {@code size} entries starting from the given
+     * {@code pointers}, walking the slots from the highest index down,
+     * in the same way as {@link com.hazelcast.internal.util.SampleableConcurrentHashMap}.
+     *
+     * @return the pointers defining the state where iteration has ended
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size,
+                                         BiConsumer<Data, Long> entryConsumer) {
+        int capacity = (int) slots.capacity();
+        pointers = checkPointers(pointers, capacity);
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+
+        int nextSlot = lastPointer.getIndex() >= 0 && lastPointer.getIndex() < capacity
+                ? lastPointer.getIndex() : capacity - 1;
+        int counter = 0;
+        while (nextSlot >= 0 && counter < size) {
+            int slot = nextSlot--;
+            if (!slots.isAssigned(slot)) {
+                continue;
+            }
+            if (!hasNotBeenObserved(slots.keyOfSlot(slot), pointers)) {
+                continue;
+            }
+            for (long current = slots.headOfSlot(slot); current != NULL_ADDRESS;
+                 current = recordFactory.getNext(current)) {
+                entryConsumer.accept(recordFactory.readKey(current), current);
+                counter++;
+            }
+        }
+        lastPointer.setIndex(nextSlot);
+        return pointers;
+    }
+
+    private static IterationPointer[] checkPointers(IterationPointer[] pointers, int currentCapacity) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        boolean iterationStarted = lastPointer.getSize() == -1;
+        boolean slotsResized = lastPointer.getSize() != currentCapacity;
+        // clone pointers to avoid mutating given reference
+        // add new pointer if resize happened during iteration
+        int newLength = !iterationStarted && slotsResized ? pointers.length + 1 : pointers.length;
+
+        IterationPointer[] updatedPointers = new IterationPointer[newLength];
+        for (int i = 0; i < pointers.length; i++) {
+            updatedPointers[i] = new IterationPointer(pointers[i]);
+        }
+
+        // reset last pointer if we haven't started iteration or there was a resize
+        if (iterationStarted || slotsResized) {
+            updatedPointers[updatedPointers.length - 1] = new IterationPointer(Integer.MAX_VALUE, currentCapacity);
+        }
+        return updatedPointers;
+    }
+
+    /**
+     * Returns {@code true} if the slot of the given key hash has not been
+     * visited in any of the slot arrays which existed before the last resize.
+     * The check uses the home slot of the hash, entries displaced by linear
+     * probing may therefore be returned twice across a resize.
+     */
+    private static boolean hasNotBeenObserved(long keyHash, IterationPointer[] pointers) {
+        if (pointers.length < 2) {
+            // there was no resize yet so we most definitely haven't observed the entry
+            return true;
+        }
+        long mixedHash = fastLongMix(keyHash);
+        // check only the pointers up to the last, we haven't observed it with the last pointer
+        for (int i = 0; i < pointers.length - 1; i++) {
+            IterationPointer iterationPointer = pointers[i];
+            long homeSlot = mixedHash & (iterationPointer.getSize() - 1);
+            if (homeSlot > iterationPointer.getIndex()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Walks the slot array from the highest slot down. Removal shifts
+     * conflicting slots towards lower indexes, so removing the returned
+     * entry does not cause not-yet-visited entries to be skipped, apart
+     * from chains wrapping around the end of the array. Records are
+     * re-resolved by key, so a chain buffered before a mutation never
+     * yields a freed record.
+     */
+    private final class MutationTolerantIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private final List<Data> chainKeys = new ArrayList<>(1);
+        private long nextSlot = slots.capacity() - 1;
+        private int chainIndex;
+        private Map.Entry<Data, Record> nextEntry;
+
+        @Override
+        public boolean hasNext() {
+            if (nextEntry != null) {
+                return true;
+            }
+            for (; ; ) {
+                while (chainIndex < chainKeys.size()) {
+                    Data key = chainKeys.get(chainIndex++);
+                    long recordAddress = find(key);
+                    if (recordAddress != NULL_ADDRESS) {
+                        nextEntry = new AbstractMap.SimpleImmutableEntry<>(key,
+                                recordFactory.newRecordView(recordAddress));
+                        return true;
+                    }
+                }
+                if (!advanceSlot()) {
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Data, Record> entry = nextEntry;
+            nextEntry = null;
+            return entry;
+        }
+
+        private boolean advanceSlot() {
+            chainKeys.clear();
+            chainIndex = 0;
+            // the array may have been shrunk by clear() or resized meanwhile
+            nextSlot = Math.min(nextSlot, slots.capacity() - 1);
+            while (nextSlot >= 0) {
+                long slot = nextSlot--;
+                if (slots.isAssigned(slot)) {
+                    for (long current = slots.headOfSlot(slot); current != NULL_ADDRESS;
+                         current = recordFactory.getNext(current)) {
+                        chainKeys.add(recordFactory.readKey(current));
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Exposes slot-by-index access needed for iteration and sampling.
+     * The value block of each slot holds the address of the chain head.
+     */
+    private static final class RecordSlotArray extends HashSlotArray8byteKeyImpl {
+
+        private static final int VALUE_OFFSET = LONG_SIZE_IN_BYTES;
+
+        RecordSlotArray(MemoryManager mm) {
+            super(NULL_ADDRESS, mm, LONG_SIZE_IN_BYTES, DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+        }
+
+        boolean isAssigned(long slot) {
+            return isAssigned(address(), slot);
+        }
+
+        long keyOfSlot(long slot) {
+            return key1OfSlot(address(), slot);
+        }
+
+        long headOfSlot(long slot) {
+            return mem().getLong(slotBase(address(), slot) + VALUE_OFFSET);
+        }
+
+        long getHead(long valueAddress) {
+            return mem().getLong(valueAddress);
+        }
+
+        void setHead(long valueAddress, long recordAddress) {
+            mem().putLong(valueAddress, recordAddress);
+        }
+    }
+
+    /**
+     * Reports native memory allocated for this storage's records and slot array.
+     */
+    private final class NativeEntryCostEstimator implements EntryCostEstimator<Data, Record> {
+
+        @Override
+        public long getEstimate() {
+            return recordFactory.getUsedMemory();
+        }
+
+        @Override
+        public void adjustEstimateBy(long adjustment) {
+            // estimate is maintained by the record factory
+        }
+
+        @Override
+        public long calculateValueCost(Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public long calculateEntryCost(Data key, Record record) {
+            return record.getCost() + key.totalSize();
+        }
+
+        @Override
+        public void reset() {
+            // estimate is maintained by the record factory
+        }
+    }
+}
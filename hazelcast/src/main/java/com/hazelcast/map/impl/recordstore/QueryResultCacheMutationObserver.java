@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.query.QueryResultCache;
+import com.hazelcast.map.impl.record.Record;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Invalidates the query results cached for the partition of a record store
+ * on every mutation of the record store.
+ * <p>
+ * Removals and clears are notified before the records leave the storage,
+ * so a partition scan started right after the notification may still see
+ * them and cache its result under the new version of the partition. The
+ * record store calls {@link #onStorageChanged()} once the storage has been
+ * changed to invalidate such results.
+ */
+public class QueryResultCacheMutationObserver implements MutationObserver<Record> {
+
+    private final QueryResultCache queryResultCache;
+    private final int partitionId;
+
+    public QueryResultCacheMutationObserver(QueryResultCache queryResultCache, int partitionId) {
+        this.queryResultCache = queryResultCache;
+        this.partitionId = partitionId;
+    }
+
+    @Override
+    public void onPutRecord(@Nonnull Data key, Record record, Object oldValue, boolean backup) {
+        queryResultCache.invalidate(partitionId);
+    }
+
+    @Override
+    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull Record record, boolean populateIndex) {
+        queryResultCache.invalidate(partitionId);
+    }
+
+    @Override
+    public void onUpdateRecord(@Nonnull Data key, @Nonnull Record record,
+                               Object oldValue, Object newValue, boolean backup) {
+        queryResultCache.invalidate(partitionId);
+    }
+
+    @Override
+    public void onRemoveRecord(Data key, Record record) {
+        queryResultCache.invalidate(partitionId);
+    }
+
+    @Override
+    public void onEvictRecord(Data key, Record record) {
+        queryResultCache.invalidate(partitionId);
+    }
+
+    @Override
+    public void onLoadRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        queryResultCache.invalidate(partitionId);
+    }
+
+    @Override
+    public void onReset() {
+        queryResultCache.invalidate(partitionId);
+    }
+
+    @Override
+    public void onClear() {
+        queryResultCache.invalidate(partitionId);
+    }
+
+    /**
+     * Called after records were removed from the storage or the storage
+     * was cleared.
+     */
+    public void onStorageChanged() {
+        queryResultCache.invalidate(partitionId);
+    }
+
+    @Override
+    public void onDestroy(boolean isDuringShutdown, boolean internal) {
+        queryResultCache.invalidate(partitionId);
+    }
+}
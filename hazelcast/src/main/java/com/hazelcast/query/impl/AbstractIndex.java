@@ -62,6 +62,7 @@ public abstract class AbstractIndex implements InternalIndex {
     private final IndexConfig config;
     private final boolean ordered;
     private final PerIndexStats stats;
+    private final IndexValueStatistics valueStatistics = new IndexValueStatistics();
 
     private volatile TypeConverter converter;
 
@@ -134,7 +135,9 @@ public abstract class AbstractIndex implements InternalIndex {
             Object oldAttributeValue = extractAttributeValue(entry.getKeyData(), oldValue);
             indexStore.update(oldAttributeValue, newAttributeValue, entry, operationStats);
             stats.onUpdate(timestamp, operationStats, operationSource);
+            valueStatistics.onRemove(entry.getKeyData(), oldAttributeValue);
         }
+        valueStatistics.onInsert(entry.getKeyData(), newAttributeValue);
     }
 
     @Override
@@ -145,6 +148,7 @@ public abstract class AbstractIndex implements InternalIndex {
         Object attributeValue = extractAttributeValue(key, value);
         indexStore.remove(attributeValue, key, value, operationStats);
         stats.onRemove(timestamp, operationStats, operationSource);
+        valueStatistics.onRemove(key, attributeValue);
     }
 
     @Override
@@ -157,6 +161,11 @@ public abstract class AbstractIndex implements InternalIndex {
         return indexStore.canEvaluate(predicateClass);
     }
 
+    @Override
+    public boolean canEvaluateRangeWithBitSlices() {
+        return indexStore.canEvaluateRangeWithBitSlices();
+    }
+
     @Override
     public Set<QueryableEntry> evaluate(Predicate predicate) {
         assert converter != null;
@@ -270,11 +279,70 @@ public abstract class AbstractIndex implements InternalIndex {
         return result;
     }
 
+    @Override
+    public double estimateSelectivity(Comparable value) {
+        if (converter == null) {
+            return 0;
+        }
+        return valueStatistics.estimateEqual(convert(value));
+    }
+
+    @Override
+    public double estimateSelectivity(Comparable[] values) {
+        if (converter == null || values.length == 0) {
+            return 0;
+        }
+
+        Set<Comparable> convertedValues = createHashSet(values.length);
+        for (Comparable value : values) {
+            convertedValues.add(canonicalizeQueryArgumentScalar(convert(value)));
+        }
+        double selectivity = 0;
+        for (Comparable value : convertedValues) {
+            double valueSelectivity = valueStatistics.estimateEqual(value);
+            if (valueSelectivity < 0) {
+                return UNKNOWN_SELECTIVITY;
+            }
+            selectivity += valueSelectivity;
+        }
+        return Math.min(1.0, selectivity);
+    }
+
+    @Override
+    public double estimateSelectivity(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        if (converter == null) {
+            return 0;
+        }
+        return valueStatistics.estimateRange(convert(from), fromInclusive, convert(to), toInclusive);
+    }
+
+    @Override
+    public double estimateSelectivity(Comparison comparison, Comparable value) {
+        if (converter == null) {
+            return 0;
+        }
+
+        Comparable converted = convert(value);
+        switch (comparison) {
+            case LESS:
+                return valueStatistics.estimateRange(null, false, converted, false);
+            case LESS_OR_EQUAL:
+                return valueStatistics.estimateRange(null, false, converted, true);
+            case GREATER:
+                return valueStatistics.estimateRange(converted, false, null, false);
+            case GREATER_OR_EQUAL:
+                return valueStatistics.estimateRange(converted, true, null, false);
+            default:
+                throw new IllegalStateException("Unexpected comparison type: " + comparison);
+        }
+    }
+
     @Override
     public void clear() {
         indexStore.clear();
         converter = null;
         stats.onClear();
+        valueStatistics.clear();
     }
 
     @Override
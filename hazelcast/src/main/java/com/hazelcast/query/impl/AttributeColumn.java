@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+
+/**
+ * Values of an attribute extracted from a block of entries, addressed by
+ * the row indexes of the entries in the block.
+ * <p>
+ * Values are extracted on demand, so a column may be populated only for a
+ * subset of rows. If all the values extracted so far are of the same
+ * integral type, they are additionally stored in a primitive {@code long}
+ * array allowing predicates to evaluate the column in tight loops, see
+ * {@link #getIntegralType()}.
+ * <p>
+ * Rows to evaluate are passed around as selection vectors: arrays of row
+ * indexes in ascending order accompanied by the number of the selected
+ * rows. The {@code select} methods retain the rows satisfying a condition
+ * in the selection vector in place and return their number.
+ */
+public final class AttributeColumn {
+
+    private final Object[] values;
+    private final long[] longValues;
+    private final boolean[] present;
+
+    private AttributeType integralType;
+    private boolean mixed;
+
+    public AttributeColumn(int capacity) {
+        this.values = new Object[capacity];
+        this.longValues = new long[capacity];
+        this.present = new boolean[capacity];
+    }
+
+    /**
+     * @return {@code true} if a value was set for the given row, {@code
+     * false} otherwise.
+     */
+    public boolean contains(int row) {
+        return present[row];
+    }
+
+    /**
+     * Sets the value of the given row.
+     */
+    public void set(int row, Object value) {
+        values[row] = value;
+        present[row] = true;
+        if (mixed) {
+            return;
+        }
+
+        AttributeType type = integralTypeOf(value);
+        if (type == null || integralType != null && integralType != type) {
+            mixed = true;
+            integralType = null;
+        } else {
+            integralType = type;
+            longValues[row] = ((Number) value).longValue();
+        }
+    }
+
+    /**
+     * @return the value of the given row.
+     */
+    public Object get(int row) {
+        return values[row];
+    }
+
+    /**
+     * @return the type of the values set so far if all of them are of the
+     * same integral type ({@link AttributeType#LONG LONG}, {@link
+     * AttributeType#INTEGER INTEGER}, {@link AttributeType#SHORT SHORT} or
+     * {@link AttributeType#BYTE BYTE}), {@code null} otherwise.
+     */
+    public AttributeType getIntegralType() {
+        return integralType;
+    }
+
+    /**
+     * Retains the selected rows having the value equal (or not equal, if
+     * requested) to the given one. Applicable only to integral columns.
+     *
+     * @return the number of the retained rows.
+     */
+    public int selectEqual(int[] selection, int selectionSize, long value, boolean equal) {
+        assert integralType != null;
+        int size = 0;
+        for (int i = 0; i < selectionSize; ++i) {
+            int row = selection[i];
+            if ((longValues[row] == value) == equal) {
+                selection[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Retains the selected rows having the value in the given range.
+     * Applicable only to integral columns.
+     *
+     * @return the number of the retained rows.
+     */
+    public int selectRange(int[] selection, int selectionSize, long from, boolean fromInclusive, long to,
+                           boolean toInclusive) {
+        assert integralType != null;
+        if (!fromInclusive) {
+            if (from == Long.MAX_VALUE) {
+                return 0;
+            }
+            ++from;
+        }
+        if (!toInclusive) {
+            if (to == Long.MIN_VALUE) {
+                return 0;
+            }
+            --to;
+        }
+
+        int size = 0;
+        for (int i = 0; i < selectionSize; ++i) {
+            int row = selection[i];
+            long value = longValues[row];
+            if (value >= from & value <= to) {
+                selection[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all the values from this column.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        Arrays.fill(present, false);
+        integralType = null;
+        mixed = false;
+    }
+
+    /**
+     * @return {@code true} if the given integral value lies in the domain of
+     * the given integral type, {@code false} otherwise.
+     */
+    public static boolean isInDomain(AttributeType integralType, long value) {
+        switch (integralType) {
+            case LONG:
+                return true;
+            case INTEGER:
+                return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+            case SHORT:
+                return value >= Short.MIN_VALUE && value <= Short.MAX_VALUE;
+            case BYTE:
+                return value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE;
+            default:
+                throw new IllegalArgumentException("Not an integral type: " + integralType);
+        }
+    }
+
+    /**
+     * @return the integral type of the given value or {@code null} if the
+     * value is not integral.
+     */
+    public static AttributeType integralTypeOf(Object value) {
+        if (value instanceof Long) {
+            return AttributeType.LONG;
+        } else if (value instanceof Integer) {
+            return AttributeType.INTEGER;
+        } else if (value instanceof Short) {
+            return AttributeType.SHORT;
+        } else if (value instanceof Byte) {
+            return AttributeType.BYTE;
+        } else {
+            return null;
+        }
+    }
+
+}
@@ -233,6 +233,11 @@ public class AttributeIndexRegistry {
             return delegate.canEvaluate(predicateClass);
         }
 
+        @Override
+        public boolean canEvaluateRangeWithBitSlices() {
+            return delegate.canEvaluateRangeWithBitSlices();
+        }
+
         @Override
         public Set<QueryableEntry> evaluate(Predicate predicate) {
             return delegate.evaluate(predicate);
@@ -332,6 +337,62 @@ public class AttributeIndexRegistry {
             }
         }
 
+        @Override
+        public double estimateSelectivity(Comparable value) {
+            Comparable from = new CompositeValue(width, value, NEGATIVE_INFINITY);
+            Comparable to = new CompositeValue(width, value, POSITIVE_INFINITY);
+            return delegate.estimateSelectivity(from, false, to, false);
+        }
+
+        @Override
+        public double estimateSelectivity(Comparable[] values) {
+            TypeConverter converter = getConverter();
+            if (converter == null || values.length == 0) {
+                return 0;
+            }
+
+            Set<Comparable> convertedValues = new HashSet<>();
+            for (Comparable value : values) {
+                convertedValues.add(canonicalizeQueryArgumentScalar(converter.convert(value)));
+            }
+            double selectivity = 0;
+            for (Comparable value : convertedValues) {
+                double valueSelectivity = estimateSelectivity(value);
+                if (valueSelectivity < 0) {
+                    return UNKNOWN_SELECTIVITY;
+                }
+                selectivity += valueSelectivity;
+            }
+            return Math.min(1.0, selectivity);
+        }
+
+        @Override
+        public double estimateSelectivity(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+            Comparable compositeFrom = new CompositeValue(width, from, fromInclusive ? NEGATIVE_INFINITY : POSITIVE_INFINITY);
+            Comparable compositeTo = new CompositeValue(width, to, toInclusive ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+            return delegate.estimateSelectivity(compositeFrom, false, compositeTo, false);
+        }
+
+        @Override
+        public double estimateSelectivity(Comparison comparison, Comparable value) {
+            switch (comparison) {
+                case LESS:
+                    CompositeValue lessFrom = new CompositeValue(width, NULL, POSITIVE_INFINITY);
+                    CompositeValue lessTo = new CompositeValue(width, value, NEGATIVE_INFINITY);
+                    return delegate.estimateSelectivity(lessFrom, false, lessTo, false);
+                case GREATER:
+                    return delegate.estimateSelectivity(GREATER, new CompositeValue(width, value, POSITIVE_INFINITY));
+                case LESS_OR_EQUAL:
+                    CompositeValue greaterOrEqualFrom = new CompositeValue(width, NULL, POSITIVE_INFINITY);
+                    CompositeValue greaterOrEqualTo = new CompositeValue(width, value, POSITIVE_INFINITY);
+                    return delegate.estimateSelectivity(greaterOrEqualFrom, false, greaterOrEqualTo, false);
+                case GREATER_OR_EQUAL:
+                    return delegate.estimateSelectivity(GREATER_OR_EQUAL, new CompositeValue(width, value, NEGATIVE_INFINITY));
+                default:
+                    throw new IllegalStateException("unexpected comparison: " + comparison);
+            }
+        }
+
         @Override
         public void clear() {
             throw newUnsupportedException();
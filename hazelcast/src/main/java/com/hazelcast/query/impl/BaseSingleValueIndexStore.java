@@ -74,6 +74,15 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
      */
     abstract Object removeInternal(Comparable value, Data recordKey);
 
+    /**
+     * @return {@code true} if the same record may be associated with multiple
+     * values, so the results of multi-value queries have to be deduplicated,
+     * {@code false} otherwise.
+     */
+    final boolean hasToDetectDuplicates() {
+        return multiResultHasToDetectDuplicates;
+    }
+
     final MultiResultSet createMultiResultSet() {
         return multiResultHasToDetectDuplicates ? new DuplicateDetectingMultiResult() : new FastMultiResultSet();
     }
@@ -139,6 +139,11 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return delegate.canEvaluate(predicateClass);
         }
 
+        @Override
+        public boolean canEvaluateRangeWithBitSlices() {
+            return delegate.canEvaluateRangeWithBitSlices();
+        }
+
         @Override
         public Set<QueryableEntry> evaluate(Predicate predicate) {
             Set<QueryableEntry> result = delegate.evaluate(predicate);
@@ -208,6 +213,26 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return result;
         }
 
+        @Override
+        public double estimateSelectivity(Comparable value) {
+            return delegate.estimateSelectivity(value);
+        }
+
+        @Override
+        public double estimateSelectivity(Comparable[] values) {
+            return delegate.estimateSelectivity(values);
+        }
+
+        @Override
+        public double estimateSelectivity(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+            return delegate.estimateSelectivity(from, fromInclusive, to, toInclusive);
+        }
+
+        @Override
+        public double estimateSelectivity(Comparison comparison, Comparable value) {
+            return delegate.estimateSelectivity(comparison, value);
+        }
+
         @Override
         public void clear() {
             delegate.clear();
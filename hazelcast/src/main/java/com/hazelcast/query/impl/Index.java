@@ -31,6 +31,13 @@ import java.util.Set;
 @SuppressWarnings("rawtypes")
 public interface Index {
 
+    /**
+     * Denotes the selectivity of an index lookup that can't be estimated.
+     *
+     * @see #estimateSelectivity(Comparable)
+     */
+    double UNKNOWN_SELECTIVITY = -1;
+
     /**
      * @return Index name.
      */
@@ -101,6 +108,13 @@ public interface Index {
      */
     boolean canEvaluate(Class<? extends Predicate> predicateClass);
 
+    /**
+     * @return {@code true} if this index evaluates the range predicates using
+     * bit slices, without visiting every distinct value in the range, {@code
+     * false} otherwise.
+     */
+    boolean canEvaluateRangeWithBitSlices();
+
     /**
      * Evaluates the given predicate using this index.
      *
@@ -190,6 +204,52 @@ public interface Index {
      */
     Set<QueryableEntry> getRecords(Comparison comparison, Comparable value);
 
+    /**
+     * Estimates the selectivity of {@link #getRecords(Comparable)} using the
+     * statistics of the distribution of the values in this index without
+     * performing the lookup.
+     *
+     * @param value the value to compare against.
+     * @return the estimated fraction of the entries of this index in the
+     * produced result set, in the range {@code [0, 1]}, or {@link
+     * #UNKNOWN_SELECTIVITY} if it can't be estimated.
+     */
+    double estimateSelectivity(Comparable value);
+
+    /**
+     * Estimates the selectivity of {@link #getRecords(Comparable[])}.
+     *
+     * @param values the values to compare against.
+     * @return the estimated selectivity or {@link #UNKNOWN_SELECTIVITY}.
+     * @see #estimateSelectivity(Comparable)
+     */
+    double estimateSelectivity(Comparable[] values);
+
+    /**
+     * Estimates the selectivity of {@link #getRecords(Comparable, boolean,
+     * Comparable, boolean)}.
+     *
+     * @param from          the beginning of the range.
+     * @param fromInclusive {@code true} if the beginning of the range is
+     *                      inclusive, {@code false} otherwise.
+     * @param to            the end of the range.
+     * @param toInclusive   {@code true} if the end of the range is inclusive,
+     *                      {@code false} otherwise.
+     * @return the estimated selectivity or {@link #UNKNOWN_SELECTIVITY}.
+     * @see #estimateSelectivity(Comparable)
+     */
+    double estimateSelectivity(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
+
+    /**
+     * Estimates the selectivity of {@link #getRecords(Comparison, Comparable)}.
+     *
+     * @param comparison the type of the comparison to perform.
+     * @param value      the value to compare against.
+     * @return the estimated selectivity or {@link #UNKNOWN_SELECTIVITY}.
+     * @see #estimateSelectivity(Comparable)
+     */
+    double estimateSelectivity(Comparison comparison, Comparable value);
+
     /**
      * Clears out all entries from this index.
      */
@@ -46,7 +46,9 @@ public class IndexImpl extends AbstractIndex {
     protected IndexStore createIndexStore(IndexConfig config, PerIndexStats stats) {
         switch (config.getType()) {
             case SORTED:
-                return new OrderedIndexStore(copyBehavior);
+                // composite values are never primitive
+                return config.getAttributes().size() == 1 ? new PrimitiveOrderedIndexStore(copyBehavior)
+                        : new OrderedIndexStore(copyBehavior);
             case HASH:
                 return new UnorderedIndexStore(copyBehavior);
             case BITMAP:
@@ -116,6 +116,13 @@ public interface IndexStore {
      */
     boolean canEvaluate(Class<? extends Predicate> predicateClass);
 
+    /**
+     * @return {@code true} if this index store evaluates the range predicates
+     * using bit slices, without visiting every distinct value in the range,
+     * {@code false} otherwise.
+     */
+    boolean canEvaluateRangeWithBitSlices();
+
     /**
      * Evaluates the given predicate using this index store.
      *
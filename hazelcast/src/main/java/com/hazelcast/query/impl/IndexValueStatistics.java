@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.query.impl.getters.MultiResult;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+
+/**
+ * Maintains the statistics of the distribution of the values of an index
+ * incrementally, as the entries are inserted into and removed from the
+ * index, and estimates the selectivities of the index lookups using them.
+ * <p>
+ * The statistics consist of:
+ * <ul>
+ * <li>the number of the indexed values;
+ * <li>a HyperLogLog estimate of the number of the distinct indexed values.
+ * The estimate is not decreased on removals, so it may overestimate the
+ * number of the distinct values after a lot of values were replaced with
+ * different ones;
+ * <li>a random sample of the indexed values, which acts as an equi-depth
+ * histogram for the range lookups and detects the frequent values for the
+ * equality lookups. The hash of the key of an entry selects the group of
+ * {@link #SLOT_GROUP_SIZE} sample slots its values may be put into, so
+ * inserting and removing a value touches only these slots. A group keeps
+ * the values having the lowest random priorities among the values hashed
+ * to it, which makes the sample uniform. The sampled values remember the
+ * keys of their entries, so the values of a removed entry are evicted from
+ * the sample and the freed slots are refilled by the subsequent insertions
+ * into the group.
+ * </ul>
+ * The statistics are maintained without any locking, so they may be
+ * slightly inconsistent while the index is concurrently updated. The
+ * selectivity estimates are in the range {@code [0, 1]} or are {@link
+ * Index#UNKNOWN_SELECTIVITY} if the statistics are not sufficient.
+ */
+final class IndexValueStatistics {
+
+    static final int SAMPLE_SIZE = 256;
+    static final int SLOT_GROUP_SIZE = 8;
+
+    private static final int SLOT_GROUP_MASK = SAMPLE_SIZE / SLOT_GROUP_SIZE - 1;
+
+    private static final int PRECISION = 10;
+    private static final int REGISTER_COUNT = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+    private static final double LINEAR_COUNTING_THRESHOLD = 2.5 * REGISTER_COUNT;
+
+    /**
+     * The selectivity of a value not found in the sample, relative to the
+     * selectivity of a single sampled value.
+     */
+    private static final double UNSAMPLED_FRACTION = 0.5;
+
+    private final MwCounter valueCount = newMwCounter();
+    private final AtomicIntegerArray registers = new AtomicIntegerArray(REGISTER_COUNT);
+    private final AtomicReferenceArray<SampledValue> sample = new AtomicReferenceArray<>(SAMPLE_SIZE);
+
+    /**
+     * Accounts for the given attribute value, possibly a {@link MultiResult},
+     * of the entry with the given key inserted into the index.
+     */
+    void onInsert(Data key, Object value) {
+        if (value instanceof MultiResult) {
+            List<?> results = ((MultiResult<?>) value).getResults();
+            for (Object result : results) {
+                onInsertScalar(key, result);
+            }
+        } else {
+            onInsertScalar(key, value);
+        }
+    }
+
+    /**
+     * Accounts for the given attribute value, possibly a {@link MultiResult},
+     * of the entry with the given key removed from the index.
+     */
+    void onRemove(Data key, Object value) {
+        if (value instanceof MultiResult) {
+            List<?> results = ((MultiResult<?>) value).getResults();
+            for (Object result : results) {
+                onRemoveScalar(key, result);
+            }
+        } else {
+            onRemoveScalar(key, value);
+        }
+    }
+
+    void clear() {
+        valueCount.set(0);
+        for (int i = 0; i < REGISTER_COUNT; ++i) {
+            registers.set(i, 0);
+        }
+        for (int i = 0; i < SAMPLE_SIZE; ++i) {
+            sample.set(i, null);
+        }
+    }
+
+    /**
+     * @return the number of the values in the index.
+     */
+    long getValueCount() {
+        return Math.max(0, valueCount.get());
+    }
+
+    /**
+     * @return the estimated number of the distinct values in the index.
+     */
+    long getDistinctValueCount() {
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < REGISTER_COUNT; ++i) {
+            int register = registers.get(i);
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                ++zeros;
+            }
+        }
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        if (estimate <= LINEAR_COUNTING_THRESHOLD && zeros > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+        return Math.max(1, Math.min(getValueCount(), Math.round(estimate)));
+    }
+
+    /**
+     * Estimates the selectivity of the lookup of the values equal to the
+     * given one.
+     */
+    double estimateEqual(Comparable value) {
+        long count = getValueCount();
+        if (count == 0) {
+            return 0;
+        }
+        Comparable[] values = sampledValues();
+        if (values.length == 0) {
+            return Index.UNKNOWN_SELECTIVITY;
+        }
+
+        Comparable target = sanitize(value);
+        int matched = 0;
+        for (Comparable sampledValue : values) {
+            if (equal(sampledValue, target)) {
+                ++matched;
+            }
+        }
+
+        if (isExact(values.length, count)) {
+            return (double) matched / values.length;
+        }
+        double uniform = 1.0 / getDistinctValueCount();
+        // a value sampled more than once is likely a frequent one
+        return matched > 1 ? Math.max(uniform, (double) matched / values.length) : uniform;
+    }
+
+    /**
+     * Estimates the selectivity of the lookup of the values in the given
+     * range, the {@code null} bounds are unbounded.
+     */
+    double estimateRange(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        long count = getValueCount();
+        if (count == 0) {
+            return 0;
+        }
+        Comparable[] values = sampledValues();
+        if (values.length == 0) {
+            return Index.UNKNOWN_SELECTIVITY;
+        }
+
+        int matched = 0;
+        try {
+            for (Comparable sampledValue : values) {
+                if (sampledValue != NULL && inRange(sampledValue, from, fromInclusive, to, toInclusive)) {
+                    ++matched;
+                }
+            }
+        } catch (ClassCastException | IllegalArgumentException e) {
+            // the sampled values are not comparable with the range bounds
+            return Index.UNKNOWN_SELECTIVITY;
+        }
+
+        if (matched == 0 && !isExact(values.length, count)) {
+            return UNSAMPLED_FRACTION / values.length;
+        }
+        return (double) matched / values.length;
+    }
+
+    private void onInsertScalar(Data key, Object value) {
+        if (value != null && !(value instanceof Comparable)) {
+            return;
+        }
+        Comparable sanitized = sanitize((Comparable) value);
+
+        long hash = MurmurHash3_fmix((long) sanitized.hashCode());
+        int register = (int) (hash >>> (Long.SIZE - PRECISION));
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        int current = registers.get(register);
+        while (rank > current && !registers.compareAndSet(register, current, rank)) {
+            current = registers.get(register);
+        }
+
+        valueCount.inc();
+
+        int keyHash = key.hashCode();
+        int group = slotGroup(keyHash);
+        long priority = MurmurHash3_fmix(hash + keyHash);
+        SampledValue sampledValue = null;
+        while (true) {
+            // take a free slot or the one of the value with the highest priority, if higher than the new one
+            int slot = -1;
+            SampledValue replaced = null;
+            for (int i = group; i < group + SLOT_GROUP_SIZE; ++i) {
+                SampledValue candidate = sample.get(i);
+                if (candidate == null) {
+                    slot = i;
+                    replaced = null;
+                    break;
+                }
+                if (candidate.priority > (replaced == null ? priority : replaced.priority)) {
+                    slot = i;
+                    replaced = candidate;
+                }
+            }
+            if (slot < 0) {
+                return;
+            }
+            if (sampledValue == null) {
+                sampledValue = new SampledValue(key, sanitized, priority);
+            }
+            if (sample.compareAndSet(slot, replaced, sampledValue)) {
+                return;
+            }
+        }
+    }
+
+    private void onRemoveScalar(Data key, Object value) {
+        if (value != null && !(value instanceof Comparable)) {
+            return;
+        }
+        valueCount.inc(-1);
+
+        Comparable sanitized = sanitize((Comparable) value);
+        int group = slotGroup(key.hashCode());
+        for (int i = group; i < group + SLOT_GROUP_SIZE; ++i) {
+            SampledValue sampledValue = sample.get(i);
+            if (sampledValue != null && sampledValue.isOf(key, sanitized)) {
+                sample.compareAndSet(i, sampledValue, null);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the first sample slot of the group the values of the entry
+     * with the given key hash may be put into.
+     */
+    private static int slotGroup(int keyHash) {
+        return (MurmurHash3_fmix(keyHash) & SLOT_GROUP_MASK) * SLOT_GROUP_SIZE;
+    }
+
+    private Comparable[] sampledValues() {
+        Comparable[] values = new Comparable[SAMPLE_SIZE];
+        int filled = 0;
+        for (int i = 0; i < SAMPLE_SIZE; ++i) {
+            SampledValue sampledValue = sample.get(i);
+            // the slot may be not populated yet or evicted
+            if (sampledValue != null) {
+                values[filled++] = sampledValue.value;
+            }
+        }
+        if (filled < SAMPLE_SIZE) {
+            Comparable[] populated = new Comparable[filled];
+            System.arraycopy(values, 0, populated, 0, filled);
+            return populated;
+        }
+        return values;
+    }
+
+    /**
+     * @return {@code true} if the sample contains all the values.
+     */
+    private boolean isExact(int sampleSize, long count) {
+        return sampleSize == count;
+    }
+
+    private static Comparable sanitize(Comparable value) {
+        if (value == null) {
+            return NULL;
+        }
+        return value instanceof Number ? Comparables.canonicalizeForHashLookup(value) : value;
+    }
+
+    private static boolean equal(Comparable sampledValue, Comparable target) {
+        if (sampledValue == NULL || target == NULL) {
+            return sampledValue == target;
+        }
+        return Comparables.equal(sampledValue, target);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean inRange(Comparable value, Comparable from, boolean fromInclusive, Comparable to,
+                                   boolean toInclusive) {
+        if (from != null && !isNull(from)) {
+            int order = Comparables.compare(value, from);
+            if (order < 0 || order == 0 && !fromInclusive) {
+                return false;
+            }
+        }
+        if (to != null && !isNull(to)) {
+            int order = Comparables.compare(value, to);
+            return order < 0 || order == 0 && toInclusive;
+        }
+        return true;
+    }
+
+    private static boolean isNull(Comparable value) {
+        return value == NULL;
+    }
+
+    /**
+     * A sampled value along with the key of its entry and its priority.
+     */
+    private static final class SampledValue {
+
+        private final Data key;
+        private final Comparable value;
+        private final long priority;
+
+        SampledValue(Data key, Comparable value, long priority) {
+            this.key = key;
+            this.value = value;
+            this.priority = priority;
+        }
+
+        boolean isOf(Data key, Comparable value) {
+            return equal(this.value, value) && this.key.equals(key);
+        }
+
+    }
+
+}
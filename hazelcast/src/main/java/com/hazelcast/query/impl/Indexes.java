@@ -74,13 +74,15 @@ public class Indexes {
     private final Map<String, IndexConfig> definitions = new ConcurrentHashMap<>();
 
     private final int partitionCount;
+    private final double maxIndexSelectivity;
 
     private volatile InternalIndex[] indexes = EMPTY_INDEXES;
     private volatile InternalIndex[] compositeIndexes = EMPTY_INDEXES;
 
     private Indexes(InternalSerializationService serializationService, IndexCopyBehavior indexCopyBehavior, Extractors extractors,
                     IndexProvider indexProvider, boolean usesCachedQueryableEntries, boolean statisticsEnabled, boolean global,
-                    InMemoryFormat inMemoryFormat, int partitionCount, java.util.function.Predicate resultFilter) {
+                    InMemoryFormat inMemoryFormat, int partitionCount, java.util.function.Predicate resultFilter,
+                    double maxIndexSelectivity) {
         this.global = global;
         this.indexCopyBehavior = indexCopyBehavior;
         this.serializationService = serializationService;
@@ -91,6 +93,7 @@ public class Indexes {
         this.queryContextProvider = createQueryContextProvider(this, global, statisticsEnabled);
         this.partitionCount = partitionCount;
         this.resultFilter = resultFilter;
+        this.maxIndexSelectivity = maxIndexSelectivity;
     }
 
     public static void beginPartitionUpdate(InternalIndex[] indexes) {
@@ -360,6 +363,10 @@ public class Indexes {
         if (!indexAwarePredicate.isIndexed(queryContext)) {
             return null;
         }
+        if (maxIndexSelectivity >= 0 && indexAwarePredicate.estimateSelectivity(queryContext) > maxIndexSelectivity) {
+            // the full scan is expected to be faster
+            return null;
+        }
 
         Set<QueryableEntry> result = indexAwarePredicate.filter(queryContext);
         if (result != null) {
@@ -496,6 +503,7 @@ public class Indexes {
         private IndexProvider indexProvider;
         private InMemoryFormat inMemoryFormat;
         private java.util.function.Predicate<QueryableEntry> resultFilter;
+        private double maxIndexSelectivity = -1;
 
         Builder(SerializationService ss, IndexCopyBehavior indexCopyBehavior, InMemoryFormat inMemoryFormat) {
             this.serializationService = checkNotNull((InternalSerializationService) ss, "serializationService cannot be null");
@@ -567,13 +575,27 @@ public class Indexes {
             return this;
         }
 
+        /**
+         * @param maxIndexSelectivity the maximum estimated selectivity of a
+         *                            query to run it using the indexes, the
+         *                            queries estimated to be less selective
+         *                            are left to the full scan. Negative
+         *                            value disables the check. Default value
+         *                            is -1.
+         * @return this builder instance
+         */
+        public Builder maxIndexSelectivity(double maxIndexSelectivity) {
+            this.maxIndexSelectivity = maxIndexSelectivity;
+            return this;
+        }
+
         /**
          * @return a new instance of Indexes
          */
         public Indexes build() {
             return new Indexes(serializationService, indexCopyBehavior, extractors,
                     indexProvider, usesCachedQueryableEntries, statsEnabled, global,
-                    inMemoryFormat, partitionCount, resultFilter);
+                    inMemoryFormat, partitionCount, resultFilter, maxIndexSelectivity);
         }
 
     }
@@ -110,6 +110,11 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
         return false;
     }
 
+    @Override
+    public boolean canEvaluateRangeWithBitSlices() {
+        return false;
+    }
+
     @Override
     public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
         throw new UnsupportedOperationException();
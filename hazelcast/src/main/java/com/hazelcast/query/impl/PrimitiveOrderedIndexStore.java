@@ -0,0 +1,718 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.FlatCompositeIterator;
+
+import java.sql.Timestamp;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptySet;
+
+/**
+ * Ordered index store specialized for primitive attribute values: integral
+ * and floating-point numbers, dates and timestamps.
+ * <p>
+ * The values are mapped to order-preserving {@code long} representations
+ * and the records are kept in {@link SortedRecordChunks}, avoiding the boxed
+ * keys and the per-value record maps of {@link OrderedIndexStore}.
+ * <p>
+ * All the non-null values stored must be of the same kind. Once a value of
+ * another kind or a non-primitive value is inserted, all the records are
+ * moved to the structures of {@link OrderedIndexStore} and the store
+ * behaves exactly as {@link OrderedIndexStore} until it's cleared.
+ * <p>
+ * Unlike {@link OrderedIndexStore}, the SQL record iterators don't traverse
+ * concurrent data structures: they fetch the records in batches under the
+ * read lock and resume after the last fetched value and key hash pair.
+ */
+@SuppressWarnings("rawtypes")
+public class PrimitiveOrderedIndexStore extends OrderedIndexStore {
+
+    static final int SQL_BATCH_SIZE = 256;
+
+    /**
+     * The records having non-null values or {@code null} if the store
+     * switched to the generic representation.
+     */
+    private volatile SortedRecordChunks records = new SortedRecordChunks();
+
+    /**
+     * The kind of the values stored or {@code null} if there are no non-null
+     * values stored.
+     */
+    private volatile Kind kind;
+
+    public PrimitiveOrderedIndexStore(IndexCopyBehavior copyOn) {
+        super(copyOn);
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        SortedRecordChunks records = this.records;
+        if (value == NULL || records == null) {
+            return super.insertInternal(value, record);
+        }
+
+        Kind kind = this.kind;
+        if (kind == null) {
+            kind = Kind.of(value);
+            this.kind = kind;
+            // the SQL iterators still using the old chunks have their bounds
+            // encoded for the old kind
+            records = new SortedRecordChunks();
+            this.records = records;
+        }
+        if (kind == null || !kind.isEncodable(value)) {
+            switchToGeneric();
+            return super.insertInternal(value, record);
+        }
+        return records.put(kind.encode(value), record);
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        SortedRecordChunks records = this.records;
+        if (value == NULL || records == null) {
+            return super.removeInternal(value, recordKey);
+        }
+
+        Kind kind = this.kind;
+        if (kind == null || !kind.isEncodable(value)) {
+            // never inserted
+            return null;
+        }
+        QueryableEntry removed = records.remove(kind.encode(value), recordKey);
+        if (records.size() == 0) {
+            // no values left, any kind of values may be stored from now on
+            this.kind = null;
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            super.clear();
+            records = new SortedRecordChunks();
+            kind = null;
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
+        SortedRecordChunks records = this.records;
+        if (records == null) {
+            return super.getSqlRecordIterator(descending);
+        }
+
+        Iterator<QueryableEntry> iterator = new SqlRecordIterator(records, null, null, descending);
+        Iterator<QueryableEntry> nullIterator = super.getSqlRecordIterator(NULL);
+        List<Iterator<QueryableEntry>> iterators =
+                descending ? Arrays.asList(iterator, nullIterator) : Arrays.asList(nullIterator, iterator);
+        return new FlatCompositeIterator<>(iterators.iterator());
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparable value) {
+        SortedRecordChunks records = this.records;
+        if (value == NULL || records == null) {
+            return super.getSqlRecordIterator(value);
+        }
+
+        Kind kind = this.kind;
+        if (kind == null) {
+            return emptyIterator();
+        }
+        return new SqlRecordIterator(records, ValueBound.create(kind, value, false),
+                ValueBound.create(kind, value, true), false);
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable searchedValue, boolean descending) {
+        SortedRecordChunks records = this.records;
+        if (records == null) {
+            return super.getSqlRecordIterator(comparison, searchedValue, descending);
+        }
+
+        Kind kind = this.kind;
+        if (kind == null) {
+            return emptyIterator();
+        }
+        ValueBound from = fromBound(kind, comparison, searchedValue);
+        ValueBound to = toBound(kind, comparison, searchedValue);
+        return new SqlRecordIterator(records, from, to, descending);
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparable from, boolean fromInclusive, Comparable to,
+                                                         boolean toInclusive, boolean descending) {
+        SortedRecordChunks records = this.records;
+        if (records == null) {
+            return super.getSqlRecordIterator(from, fromInclusive, to, toInclusive, descending);
+        }
+
+        Kind kind = this.kind;
+        if (kind == null) {
+            return emptyIterator();
+        }
+        return new SqlRecordIterator(records, ValueBound.create(kind, from, !fromInclusive),
+                ValueBound.create(kind, to, toInclusive), descending);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        if (value == NULL) {
+            return super.getRecords(value);
+        }
+
+        takeReadLock();
+        try {
+            SortedRecordChunks records = this.records;
+            if (records == null) {
+                return super.getRecords(value);
+            }
+
+            Kind kind = this.kind;
+            if (kind == null) {
+                return emptySet();
+            }
+            ResultCollector collector = new ResultCollector();
+            collector.collect(records, ValueBound.create(kind, value, false), ValueBound.create(kind, value, true));
+            return collector.toResultSet();
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            SortedRecordChunks records = this.records;
+            if (records == null) {
+                return super.getRecords(values);
+            }
+
+            Kind kind = this.kind;
+            ResultCollector collector = new ResultCollector();
+            for (Comparable value : values) {
+                if (value == NULL) {
+                    collector.collect(super.getSqlRecordIterator(NULL));
+                } else if (kind != null) {
+                    collector.collect(records, ValueBound.create(kind, value, false), ValueBound.create(kind, value, true));
+                }
+            }
+            return collector.toResultSet();
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable searchedValue) {
+        takeReadLock();
+        try {
+            SortedRecordChunks records = this.records;
+            if (records == null) {
+                return super.getRecords(comparison, searchedValue);
+            }
+
+            Kind kind = this.kind;
+            if (kind == null) {
+                return emptySet();
+            }
+            ResultCollector collector = new ResultCollector();
+            collector.collect(records, fromBound(kind, comparison, searchedValue), toBound(kind, comparison, searchedValue));
+            return collector.toResultSet();
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            SortedRecordChunks records = this.records;
+            if (records == null) {
+                return super.getRecords(from, fromInclusive, to, toInclusive);
+            }
+
+            Kind kind = this.kind;
+            if (kind == null) {
+                return emptySet();
+            }
+            ResultCollector collector = new ResultCollector();
+            collector.collect(records, ValueBound.create(kind, from, !fromInclusive), ValueBound.create(kind, to, toInclusive));
+            return collector.toResultSet();
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    /**
+     * Moves all the records to the generic representation of the super class.
+     * Must be invoked under the write lock.
+     */
+    private void switchToGeneric() {
+        SortedRecordChunks records = this.records;
+        Kind kind = this.kind;
+        this.records = null;
+        this.kind = null;
+
+        // the chunks are left intact for the SQL iterators still using them
+        for (long position = 0, end = records.end(); position != end; position = records.next(position)) {
+            super.insertInternal(kind.decode(records.value(position)), records.record(position));
+        }
+    }
+
+    private static ValueBound fromBound(Kind kind, Comparison comparison, Comparable value) {
+        switch (comparison) {
+            case LESS:
+            case LESS_OR_EQUAL:
+                return null;
+            case GREATER:
+                return ValueBound.create(kind, value, true);
+            case GREATER_OR_EQUAL:
+                return ValueBound.create(kind, value, false);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    private static ValueBound toBound(Kind kind, Comparison comparison, Comparable value) {
+        switch (comparison) {
+            case LESS:
+                return ValueBound.create(kind, value, false);
+            case LESS_OR_EQUAL:
+                return ValueBound.create(kind, value, true);
+            case GREATER:
+            case GREATER_OR_EQUAL:
+                return null;
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    /**
+     * Kinds of the values supported by this store and their order-preserving
+     * {@code long} representations.
+     */
+    private enum Kind {
+
+        INTEGRAL {
+            @Override
+            boolean accepts(Class<?> clazz) {
+                return clazz == Long.class || clazz == Integer.class || clazz == Short.class || clazz == Byte.class;
+            }
+
+            @Override
+            long encode(Comparable value) {
+                return ((Number) value).longValue();
+            }
+
+            @Override
+            Comparable decode(long encoded) {
+                return encoded;
+            }
+        },
+
+        FLOATING_POINT {
+            @Override
+            boolean accepts(Class<?> clazz) {
+                return clazz == Double.class || clazz == Float.class;
+            }
+
+            @Override
+            long encode(Comparable value) {
+                // orders the bits in the same way as Double.compare does
+                long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+                return bits ^ (bits >> (Long.SIZE - 1) & Long.MAX_VALUE);
+            }
+
+            @Override
+            Comparable decode(long encoded) {
+                return Double.longBitsToDouble(encoded ^ (encoded >> (Long.SIZE - 1) & Long.MAX_VALUE));
+            }
+        },
+
+        DATE {
+            @Override
+            boolean accepts(Class<?> clazz) {
+                return clazz == Date.class || clazz == java.sql.Date.class;
+            }
+
+            @Override
+            long encode(Comparable value) {
+                return ((Date) value).getTime();
+            }
+
+            @Override
+            Comparable decode(long encoded) {
+                return new Date(encoded);
+            }
+        },
+
+        TIMESTAMP {
+            @Override
+            boolean accepts(Class<?> clazz) {
+                return clazz == Timestamp.class;
+            }
+
+            @Override
+            boolean isEncodable(Comparable value) {
+                if (!super.isEncodable(value)) {
+                    return false;
+                }
+                try {
+                    encode(value);
+                    return true;
+                } catch (ArithmeticException e) {
+                    return false;
+                }
+            }
+
+            @Override
+            long encode(Comparable value) {
+                Timestamp timestamp = (Timestamp) value;
+                long seconds = Math.floorDiv(timestamp.getTime(), MILLIS_PER_SECOND);
+                return Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND), timestamp.getNanos());
+            }
+
+            @Override
+            Comparable decode(long encoded) {
+                Timestamp timestamp = new Timestamp(Math.floorDiv(encoded, NANOS_PER_SECOND) * MILLIS_PER_SECOND);
+                timestamp.setNanos((int) Math.floorMod(encoded, NANOS_PER_SECOND));
+                return timestamp;
+            }
+        };
+
+        private static final long NANOS_PER_SECOND = 1_000_000_000L;
+        private static final long MILLIS_PER_SECOND = 1_000L;
+
+        private static final Kind[] KINDS = values();
+
+        static Kind of(Comparable value) {
+            for (Kind kind : KINDS) {
+                if (kind.isEncodable(value)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+
+        abstract boolean accepts(Class<?> clazz);
+
+        boolean isEncodable(Comparable value) {
+            return accepts(value.getClass());
+        }
+
+        /**
+         * Maps the given value to {@code long} while preserving the order.
+         * The value must be encodable by this kind.
+         */
+        abstract long encode(Comparable value);
+
+        /**
+         * Maps the given {@code long} representation back to a value
+         * equivalent to the originally encoded one.
+         */
+        abstract Comparable decode(long encoded);
+
+    }
+
+    /**
+     * Bounds the records by a value.
+     * <p>
+     * The values encodable by the kind of the store are compared with the
+     * stored ones directly, other values (like non-integral bounds for
+     * integral values) are compared with the decoded stored values using
+     * {@link Comparables}.
+     */
+    private static final class ValueBound implements SortedRecordChunks.Bound {
+
+        private final Kind kind;
+        private final Comparable value;
+        private final long encoded;
+        private final boolean inclusive;
+
+        private ValueBound(Kind kind, Comparable value, boolean inclusive) {
+            this.kind = kind;
+            this.inclusive = inclusive;
+            if (kind.isEncodable(value)) {
+                this.value = null;
+                this.encoded = kind.encode(value);
+            } else {
+                this.value = value;
+                this.encoded = 0;
+            }
+        }
+
+        /**
+         * @param inclusive {@code true} if the records having values equal to
+         *                  the given value lie before the bound, {@code false}
+         *                  otherwise.
+         * @return the created bound or {@code null} if the given value is
+         * {@code null}.
+         */
+        static ValueBound create(Kind kind, Comparable value, boolean inclusive) {
+            return value == null ? null : new ValueBound(kind, value, inclusive);
+        }
+
+        @Override
+        public boolean isBefore(long storedValue, int hash) {
+            if (value == null) {
+                return inclusive ? storedValue <= encoded : storedValue < encoded;
+            }
+
+            int order = Comparables.compare(value, kind.decode(storedValue));
+            return inclusive ? order >= 0 : order > 0;
+        }
+
+    }
+
+    /**
+     * Bounds the records by a value and key hash pair.
+     */
+    private static final class PairBound implements SortedRecordChunks.Bound {
+
+        private final long value;
+        private final int hash;
+        private final boolean inclusive;
+
+        /**
+         * @param inclusive {@code true} if the records having the given pair
+         *                  lie before the bound, {@code false} otherwise.
+         */
+        PairBound(long value, int hash, boolean inclusive) {
+            this.value = value;
+            this.hash = hash;
+            this.inclusive = inclusive;
+        }
+
+        @Override
+        public boolean isBefore(long storedValue, int storedHash) {
+            if (storedValue != value) {
+                return storedValue < value;
+            }
+            return inclusive ? storedHash <= hash : storedHash < hash;
+        }
+
+    }
+
+    /**
+     * Collects the records matching a query into a result set.
+     */
+    private final class ResultCollector {
+
+        private final boolean detectDuplicates = hasToDetectDuplicates();
+        private final List<QueryableEntry> entries = new ArrayList<>();
+        private final Map<Data, QueryableEntry> entriesByKey = detectDuplicates ? new HashMap<>() : null;
+
+        void collect(SortedRecordChunks records, ValueBound from, ValueBound to) {
+            long position = from == null ? 0 : records.lowerBound(from);
+            long end = to == null ? records.end() : records.lowerBound(to);
+            for (; position < end; position = records.next(position)) {
+                add(records.record(position));
+            }
+        }
+
+        void collect(Iterator<QueryableEntry> iterator) {
+            while (iterator.hasNext()) {
+                add(iterator.next());
+            }
+        }
+
+        Set<QueryableEntry> toResultSet() {
+            return detectDuplicates ? new SingleResultSet(entriesByKey) : new EntryListResultSet(entries);
+        }
+
+        private void add(QueryableEntry entry) {
+            if (detectDuplicates) {
+                entriesByKey.put(entry.getKeyData(), entry);
+            } else {
+                entries.add(entry);
+            }
+        }
+
+    }
+
+    /**
+     * Result set backed by a list of distinct entries.
+     */
+    private static final class EntryListResultSet extends AbstractSet<QueryableEntry> {
+
+        private final List<QueryableEntry> entries;
+
+        private Set<Data> keys;
+
+        EntryListResultSet(List<QueryableEntry> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (keys == null) {
+                keys = new HashSet<>();
+                for (QueryableEntry entry : entries) {
+                    keys.add(entry.getKeyData());
+                }
+            }
+            return keys.contains(((QueryableEntry) o).getKeyData());
+        }
+
+        @Override
+        public Iterator<QueryableEntry> iterator() {
+            return entries.iterator();
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+    }
+
+    /**
+     * Iterates over the records in a range fetching them in batches under the
+     * read lock.
+     * <p>
+     * Each batch ends on a boundary between two distinct value and key hash
+     * pairs, so the next batch may resume right after the last pair fetched
+     * even if the records were modified in the meantime.
+     */
+    private final class SqlRecordIterator implements Iterator<QueryableEntry> {
+
+        private final SortedRecordChunks records;
+        private final ValueBound from;
+        private final ValueBound to;
+        private final boolean descending;
+
+        private final List<QueryableEntry> batch = new ArrayList<>();
+        private int batchIndex;
+
+        private boolean started;
+        private boolean exhausted;
+        private long lastValue;
+        private int lastHash;
+
+        SqlRecordIterator(SortedRecordChunks records, ValueBound from, ValueBound to, boolean descending) {
+            this.records = records;
+            this.from = from;
+            this.to = to;
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (batchIndex < batch.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+
+            batch.clear();
+            batchIndex = 0;
+            takeReadLock();
+            try {
+                if (descending) {
+                    fetchDescending();
+                } else {
+                    fetchAscending();
+                }
+            } finally {
+                releaseReadLock();
+            }
+            return !batch.isEmpty();
+        }
+
+        @Override
+        public QueryableEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(batchIndex++);
+        }
+
+        private void fetchAscending() {
+            long position;
+            if (started) {
+                position = records.lowerBound(new PairBound(lastValue, lastHash, true));
+            } else {
+                position = from == null ? 0 : records.lowerBound(from);
+            }
+            long end = to == null ? records.end() : records.lowerBound(to);
+
+            for (; position < end; position = records.next(position)) {
+                long value = records.value(position);
+                int hash = records.hash(position);
+                if (batch.size() >= SQL_BATCH_SIZE && (value != lastValue || hash != lastHash)) {
+                    return;
+                }
+                batch.add(records.record(position));
+                started = true;
+                lastValue = value;
+                lastHash = hash;
+            }
+            exhausted = true;
+        }
+
+        private void fetchDescending() {
+            long position;
+            if (started) {
+                position = records.lowerBound(new PairBound(lastValue, lastHash, false));
+            } else {
+                position = to == null ? records.end() : records.lowerBound(to);
+            }
+            long start = from == null ? 0 : records.lowerBound(from);
+
+            while (position > start) {
+                position = records.previous(position);
+                long value = records.value(position);
+                int hash = records.hash(position);
+                if (batch.size() >= SQL_BATCH_SIZE && (value != lastValue || hash != lastHash)) {
+                    return;
+                }
+                batch.add(records.record(position));
+                started = true;
+                lastValue = value;
+                lastHash = hash;
+            }
+            exhausted = true;
+        }
+
+    }
+
+}
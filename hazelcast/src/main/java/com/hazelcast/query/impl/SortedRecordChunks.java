@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.Arrays;
+
+/**
+ * Keeps records ordered by {@code long} values in a sequence of sorted
+ * chunks of primitive arrays.
+ * <p>
+ * Records having equal values are ordered by the hash codes of their keys,
+ * so a record can be located by its value and key without scanning all the
+ * records having the same value. The pair of a value and a key hash also
+ * serves as a stable iteration position surviving concurrent modifications.
+ * <p>
+ * Positions of records are represented as {@code long} values combining a
+ * chunk index and an offset inside the chunk, see {@link #position}.
+ * <p>
+ * The class is not thread-safe.
+ */
+final class SortedRecordChunks {
+
+    static final int CHUNK_CAPACITY = 128;
+
+    private static final int MERGE_THRESHOLD = CHUNK_CAPACITY / 4;
+    private static final int INITIAL_DIRECTORY_CAPACITY = 8;
+    private static final int OFFSET_BITS = Integer.SIZE;
+    private static final long OFFSET_MASK = 0xFFFFFFFFL;
+
+    private Chunk[] chunks = new Chunk[INITIAL_DIRECTORY_CAPACITY];
+    private int chunkCount;
+    private int size;
+
+    /**
+     * Decides whether a record lies before a certain boundary. Records
+     * satisfying the condition must form a prefix of the ordered records.
+     */
+    interface Bound {
+
+        /**
+         * @return {@code true} if a record having the given value and key
+         * hash lies before the boundary, {@code false} otherwise.
+         */
+        boolean isBefore(long value, int hash);
+
+    }
+
+    /**
+     * @return the number of records stored.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Associates the given value with the given record.
+     *
+     * @return the record having the same value and key replaced by the given
+     * record or {@code null} if there was no such record.
+     */
+    QueryableEntry put(long value, QueryableEntry record) {
+        Data key = record.getKeyData();
+        int hash = key.hashCode();
+
+        long position = find(value, hash, key);
+        if (position != -1) {
+            Chunk chunk = chunks[chunkIndex(position)];
+            int offset = offset(position);
+            QueryableEntry old = chunk.records[offset];
+            chunk.records[offset] = record;
+            return old;
+        }
+
+        if (chunkCount == 0) {
+            chunks[0] = new Chunk();
+            chunkCount = 1;
+        }
+        int index = chunkIndex(value, hash, false);
+        Chunk chunk = chunks[index];
+        if (chunk.size == CHUNK_CAPACITY) {
+            Chunk split = chunk.split();
+            insertChunk(index + 1, split);
+            if (compare(value, hash, split.values[0], split.hashes[0]) >= 0) {
+                chunk = split;
+            }
+        }
+        chunk.insert(chunk.upperBound(value, hash), value, hash, record);
+        ++size;
+        return null;
+    }
+
+    /**
+     * Removes the association of the given value with a record having the
+     * given key.
+     *
+     * @return the removed record or {@code null} if there was no such record.
+     */
+    QueryableEntry remove(long value, Data key) {
+        long position = find(value, key.hashCode(), key);
+        if (position == -1) {
+            return null;
+        }
+
+        int index = chunkIndex(position);
+        Chunk chunk = chunks[index];
+        QueryableEntry old = chunk.remove(offset(position));
+        --size;
+
+        if (chunk.size == 0) {
+            removeChunk(index);
+        } else if (chunk.size < MERGE_THRESHOLD && index + 1 < chunkCount
+                && chunk.size + chunks[index + 1].size <= CHUNK_CAPACITY / 2) {
+            chunk.append(chunks[index + 1]);
+            removeChunk(index + 1);
+        }
+        return old;
+    }
+
+    /**
+     * @return the position of the first record not lying before the given
+     * bound or {@link #end()} if there is no such record.
+     */
+    long lowerBound(Bound bound) {
+        // find the first chunk starting not before the bound
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Chunk chunk = chunks[middle];
+            if (bound.isBefore(chunk.values[0], chunk.hashes[0])) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (low == 0) {
+            return position(0, 0);
+        }
+
+        int index = low - 1;
+        int offset = chunks[index].lowerBound(bound);
+        return offset == chunks[index].size ? position(low, 0) : position(index, offset);
+    }
+
+    /**
+     * @return the position following the last record.
+     */
+    long end() {
+        return position(chunkCount, 0);
+    }
+
+    /**
+     * @return the position following the given one.
+     */
+    long next(long position) {
+        int index = chunkIndex(position);
+        int offset = offset(position) + 1;
+        return offset == chunks[index].size ? position(index + 1, 0) : position(index, offset);
+    }
+
+    /**
+     * @return the position preceding the given one.
+     */
+    long previous(long position) {
+        int index = chunkIndex(position);
+        int offset = offset(position);
+        return offset == 0 ? position(index - 1, chunks[index - 1].size - 1) : position(index, offset - 1);
+    }
+
+    long value(long position) {
+        return chunks[chunkIndex(position)].values[offset(position)];
+    }
+
+    int hash(long position) {
+        return chunks[chunkIndex(position)].hashes[offset(position)];
+    }
+
+    QueryableEntry record(long position) {
+        return chunks[chunkIndex(position)].records[offset(position)];
+    }
+
+    /**
+     * Combines the given chunk index and offset into a position. Positions
+     * compare in the same way as the records they denote.
+     */
+    static long position(int chunkIndex, int offset) {
+        return (long) chunkIndex << OFFSET_BITS | offset;
+    }
+
+    private static int chunkIndex(long position) {
+        return (int) (position >>> OFFSET_BITS);
+    }
+
+    private static int offset(long position) {
+        return (int) (position & OFFSET_MASK);
+    }
+
+    private static int compare(long value1, int hash1, long value2, int hash2) {
+        int order = Long.compare(value1, value2);
+        return order == 0 ? Integer.compare(hash1, hash2) : order;
+    }
+
+    /**
+     * @return the index of the chunk a record having the given value and
+     * hash belongs to: the last chunk starting before (or at, if requested)
+     * the record or the first chunk if there is no such chunk.
+     */
+    private int chunkIndex(long value, int hash, boolean strict) {
+        int low = 1;
+        int high = chunkCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Chunk chunk = chunks[middle];
+            int order = compare(chunk.values[0], chunk.hashes[0], value, hash);
+            if (order < 0 || !strict && order == 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low - 1;
+    }
+
+    /**
+     * @return the position of a record having the given value and key or -1
+     * if there is no such record.
+     */
+    private long find(long value, int hash, Data key) {
+        if (chunkCount == 0) {
+            return -1;
+        }
+
+        int index = chunkIndex(value, hash, true);
+        Chunk chunk = chunks[index];
+        int offset = chunk.lowerBound(value, hash);
+        // records having equal values and hashes may span multiple chunks
+        while (true) {
+            if (offset == chunk.size) {
+                if (++index == chunkCount) {
+                    return -1;
+                }
+                chunk = chunks[index];
+                offset = 0;
+            }
+            if (chunk.values[offset] != value || chunk.hashes[offset] != hash) {
+                return -1;
+            }
+            if (key.equals(chunk.records[offset].getKeyData())) {
+                return position(index, offset);
+            }
+            ++offset;
+        }
+    }
+
+    private void insertChunk(int index, Chunk chunk) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        System.arraycopy(chunks, index, chunks, index + 1, chunkCount - index);
+        chunks[index] = chunk;
+        ++chunkCount;
+    }
+
+    private void removeChunk(int index) {
+        System.arraycopy(chunks, index + 1, chunks, index, chunkCount - index - 1);
+        chunks[--chunkCount] = null;
+    }
+
+    /**
+     * A sorted chunk of records.
+     */
+    private static final class Chunk {
+
+        final long[] values = new long[CHUNK_CAPACITY];
+        final int[] hashes = new int[CHUNK_CAPACITY];
+        final QueryableEntry[] records = new QueryableEntry[CHUNK_CAPACITY];
+        int size;
+
+        int lowerBound(long value, int hash) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (compare(values[middle], hashes[middle], value, hash) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low;
+        }
+
+        int upperBound(long value, int hash) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (compare(values[middle], hashes[middle], value, hash) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low;
+        }
+
+        int lowerBound(Bound bound) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (bound.isBefore(values[middle], hashes[middle])) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low;
+        }
+
+        void insert(int offset, long value, int hash, QueryableEntry record) {
+            int tail = size - offset;
+            System.arraycopy(values, offset, values, offset + 1, tail);
+            System.arraycopy(hashes, offset, hashes, offset + 1, tail);
+            System.arraycopy(records, offset, records, offset + 1, tail);
+            values[offset] = value;
+            hashes[offset] = hash;
+            records[offset] = record;
+            ++size;
+        }
+
+        QueryableEntry remove(int offset) {
+            QueryableEntry record = records[offset];
+            int tail = size - offset - 1;
+            System.arraycopy(values, offset + 1, values, offset, tail);
+            System.arraycopy(hashes, offset + 1, hashes, offset, tail);
+            System.arraycopy(records, offset + 1, records, offset, tail);
+            records[--size] = null;
+            return record;
+        }
+
+        /**
+         * Moves the upper half of this chunk into a new chunk.
+         */
+        Chunk split() {
+            Chunk chunk = new Chunk();
+            int half = size / 2;
+            int moved = size - half;
+            System.arraycopy(values, half, chunk.values, 0, moved);
+            System.arraycopy(hashes, half, chunk.hashes, 0, moved);
+            System.arraycopy(records, half, chunk.records, 0, moved);
+            Arrays.fill(records, half, size, null);
+            chunk.size = moved;
+            size = half;
+            return chunk;
+        }
+
+        /**
+         * Appends all the records of the given chunk to this chunk.
+         */
+        void append(Chunk chunk) {
+            System.arraycopy(chunk.values, 0, values, size, chunk.size);
+            System.arraycopy(chunk.hashes, 0, hashes, size, chunk.size);
+            System.arraycopy(chunk.records, 0, records, size, chunk.size);
+            size += chunk.size;
+        }
+
+    }
+
+}
@@ -134,6 +134,11 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
         return false;
     }
 
+    @Override
+    public boolean canEvaluateRangeWithBitSlices() {
+        return false;
+    }
+
     @Override
     public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
         throw new UnsupportedOperationException();
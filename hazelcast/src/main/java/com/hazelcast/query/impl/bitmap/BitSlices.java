@@ -0,0 +1,471 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+/**
+ * Bit-sliced representation of ordinal values indexed by a {@link Bitmap}.
+ * <p>
+ * Ordinal values are the values which can be mapped to {@code long} values
+ * while preserving their order: numbers and the common temporal types. All
+ * the values stored in a single instance must be of the same kind, for
+ * instance, numbers can't be mixed with dates.
+ * <p>
+ * Integral numbers are mapped as is until the first non-integral number is
+ * inserted, then all the numbers are mapped using the IEEE 754 bits of their
+ * {@code double} representation with the non-sign bits of the negative
+ * numbers flipped, so they are ordered as {@link Double#compare} orders them.
+ * The values already stored are converted once at that point, the insertion
+ * fails if any of the numbers can't be represented as {@code double} exactly.
+ * <p>
+ * Each mapped value is stored as its sign and its 63 low-order bits: the set
+ * of negative values is stored in a separate sparse bit set and the bit
+ * {@code i} of all the values is stored in the slice {@code i}, a sparse bit
+ * set containing unique keys of entries having the bit set. Slices having no
+ * members are not allocated, so non-negative values of a small magnitude use
+ * just a few slices. For instance, millisecond timestamps need no more than
+ * 41 slices.
+ * <p>
+ * Range queries are evaluated on the words of 64 consecutive unique keys
+ * by combining the corresponding words of the slices using bitwise
+ * operations, the cost is independent of the number of distinct values
+ * stored.
+ */
+final class BitSlices {
+
+    private static final int SLICE_COUNT = Long.SIZE - 1;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MILLIS_PER_SECOND = 1_000L;
+
+    private final SparseBitSet[] slices = new SparseBitSet[SLICE_COUNT];
+
+    private SparseBitSet negative = new SparseBitSet();
+
+    private SparseBitSet existing = new SparseBitSet();
+
+    private Class<?> kind;
+
+    // the numbers are mapped using their double representation
+    private boolean floatingPoint;
+
+    /**
+     * Inserts the given value associated with an entry having the given
+     * unique key.
+     *
+     * @param value the value to insert.
+     * @param key   the unique key of the entry.
+     * @return {@code true} if the value was inserted, {@code false} if the
+     * value is not ordinal or its kind doesn't match the kind of the values
+     * already stored.
+     */
+    public boolean insert(Object value, long key) {
+        Class<?> valueKind = kindOf(value);
+        if (valueKind == null || kind != null && kind != valueKind) {
+            return false;
+        }
+
+        if (isFloatingPoint(value) && !floatingPoint) {
+            if (kind != null && !convertToFloatingPoint()) {
+                return false;
+            }
+            floatingPoint = true;
+        }
+
+        long encoded;
+        try {
+            encoded = encode(value);
+        } catch (ArithmeticException e) {
+            return false;
+        }
+
+        kind = valueKind;
+        add(slices, negative, encoded, key);
+        existing.add(key);
+        return true;
+    }
+
+    /**
+     * Removes the given value associated with an entry having the given unique
+     * key.
+     *
+     * @param value the value to remove.
+     * @param key   the unique key of the entry.
+     */
+    public void remove(Object value, long key) {
+        if (kind == null || kindOf(value) != kind || isFloatingPoint(value) && !floatingPoint) {
+            // never inserted
+            return;
+        }
+        long encoded;
+        try {
+            encoded = encode(value);
+        } catch (ArithmeticException e) {
+            // never inserted
+            return;
+        }
+
+        if (encoded < 0) {
+            negative.remove(key);
+        }
+        for (long bits = encoded & Long.MAX_VALUE; bits != 0; bits &= bits - 1) {
+            int slice = Long.numberOfTrailingZeros(bits);
+            SparseBitSet bitSet = slices[slice];
+            if (bitSet != null && bitSet.remove(key)) {
+                slices[slice] = null;
+            }
+        }
+        if (existing.remove(key)) {
+            // no values left, any kind of values may be stored from now on
+            kind = null;
+            floatingPoint = false;
+        }
+    }
+
+    /**
+     * Returns an iterator over the unique keys of the entries having values
+     * in the given range.
+     *
+     * @param from          the lower bound of the range or {@code null} if
+     *                      the range is not bounded from below.
+     * @param fromInclusive {@code true} if the range includes its lower
+     *                      bound, {@code false} otherwise.
+     * @param to            the upper bound of the range or {@code null} if
+     *                      the range is not bounded from above.
+     * @param toInclusive   {@code true} if the range includes its upper
+     *                      bound, {@code false} otherwise.
+     * @return the iterator or {@code null} if any of the given bounds is not
+     * comparable with the values stored.
+     */
+    public AscendingLongIterator range(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+        if (from != null && !isComparable(from) || to != null && !isComparable(to)) {
+            return null;
+        }
+        if (kind == null) {
+            return AscendingLongIterator.EMPTY;
+        }
+
+        // an integral number is greater than a non-integral bound if it's greater than its floor,
+        // and it's less than the bound if it's not greater than its floor
+        return new RangeIterator(from == null ? null : encodeBound(from), fromInclusive && !isNonIntegralBound(from),
+                to == null ? null : encodeBound(to), toInclusive || isNonIntegralBound(to));
+    }
+
+    /**
+     * Clears this bit slices.
+     */
+    public void clear() {
+        for (int i = 0; i < SLICE_COUNT; ++i) {
+            slices[i] = null;
+        }
+        negative = new SparseBitSet();
+        existing = new SparseBitSet();
+        kind = null;
+        floatingPoint = false;
+    }
+
+    private boolean isComparable(Object value) {
+        Class<?> valueKind = kindOf(value);
+        if (valueKind == null || kind != null && kind != valueKind) {
+            return false;
+        }
+
+        try {
+            encodeBound(value);
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Maps the given range bound, a non-integral bound of integral numbers is
+     * mapped to its floor.
+     */
+    private long encodeBound(Object value) {
+        if (isFloatingPoint(value) && !floatingPoint) {
+            double floor = Math.floor(((Number) value).doubleValue());
+            if (!(floor >= -0x1p63 && floor < 0x1p63)) {
+                throw new ArithmeticException("out of long range: " + value);
+            }
+            return (long) floor;
+        }
+        return encode(value);
+    }
+
+    private boolean isNonIntegralBound(Object value) {
+        if (isFloatingPoint(value) && !floatingPoint) {
+            double number = ((Number) value).doubleValue();
+            return Math.floor(number) != number;
+        }
+        return false;
+    }
+
+    /**
+     * Converts the numbers stored to the floating-point mapping.
+     *
+     * @return {@code true} if the numbers were converted, {@code false} if
+     * any of them can't be represented as {@code double} exactly, the numbers
+     * are left intact then.
+     */
+    private boolean convertToFloatingPoint() {
+        SparseBitSet[] convertedSlices = new SparseBitSet[SLICE_COUNT];
+        SparseBitSet convertedNegative = new SparseBitSet();
+        for (AscendingLongIterator keys = existing.iterator(); keys.getIndex() != AscendingLongIterator.END; ) {
+            long key = keys.advance();
+            long base = key & -Long.SIZE;
+            long bit = 1L << key;
+
+            long value = (negative.word(base) & bit) == 0 ? 0 : Long.MIN_VALUE;
+            for (int i = 0; i < SLICE_COUNT; ++i) {
+                SparseBitSet slice = slices[i];
+                if (slice != null && (slice.word(base) & bit) != 0) {
+                    value |= 1L << i;
+                }
+            }
+
+            try {
+                add(convertedSlices, convertedNegative, encodeDouble(toDoubleExact(value)), key);
+            } catch (ArithmeticException e) {
+                return false;
+            }
+        }
+
+        System.arraycopy(convertedSlices, 0, slices, 0, SLICE_COUNT);
+        negative = convertedNegative;
+        return true;
+    }
+
+    private static void add(SparseBitSet[] slices, SparseBitSet negative, long encoded, long key) {
+        if (encoded < 0) {
+            negative.add(key);
+        }
+        for (long bits = encoded & Long.MAX_VALUE; bits != 0; bits &= bits - 1) {
+            int slice = Long.numberOfTrailingZeros(bits);
+            SparseBitSet bitSet = slices[slice];
+            if (bitSet == null) {
+                bitSet = new SparseBitSet();
+                slices[slice] = bitSet;
+            }
+            bitSet.add(key);
+        }
+    }
+
+    /**
+     * Computes a word of bits of the entries having values less than (or
+     * equal to, if requested) the given value.
+     * <p>
+     * The low bits are compared from the highest slice to the lowest one:
+     * the entries still equal to the value at the slice {@code i} become
+     * less if the value has the bit {@code i} set and the entries don't.
+     * Negative values are always less than non-negative ones, the low bits
+     * of two's complement negative values are ordered as the values
+     * themselves.
+     */
+    private static long lessThan(long existingWord, long negativeWord, long[] sliceWords, long value, boolean inclusive) {
+        long less = 0;
+        long equal = existingWord;
+        for (int i = SLICE_COUNT - 1; i >= 0 && equal != 0; --i) {
+            long bits = sliceWords[i];
+            if ((value & 1L << i) != 0) {
+                less |= equal & ~bits;
+                equal &= bits;
+            } else {
+                equal &= ~bits;
+            }
+        }
+
+        long lowBitsLess = inclusive ? less | equal : less;
+        return value >= 0 ? negativeWord | lowBitsLess : negativeWord & lowBitsLess;
+    }
+
+    private static boolean isFloatingPoint(Object value) {
+        return value instanceof Double || value instanceof Float;
+    }
+
+    private static double toDoubleExact(long value) {
+        double number = value;
+        // the long range ends just below 2^63, casting saturates at Long.MAX_VALUE
+        if (number >= 0x1p63 || (long) number != value) {
+            throw new ArithmeticException("can't represent " + value + " as double exactly");
+        }
+        return number;
+    }
+
+    private static long encodeDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ (bits >> (Long.SIZE - 1) & Long.MAX_VALUE);
+    }
+
+    private static Class<?> kindOf(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || isFloatingPoint(value)) {
+            return Number.class;
+        } else if (value instanceof Timestamp) {
+            return Timestamp.class;
+        } else if (value instanceof Date) {
+            return Date.class;
+        } else if (value instanceof LocalDate || value instanceof LocalTime || value instanceof LocalDateTime
+                || value instanceof Instant) {
+            return value.getClass();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Maps the given ordinal value to {@code long} while preserving the order.
+     *
+     * @throws ArithmeticException if the value can't be represented.
+     */
+    private long encode(Object value) {
+        if (value instanceof Number) {
+            Number number = (Number) value;
+            if (!floatingPoint) {
+                return number.longValue();
+            }
+
+            return encodeDouble(isFloatingPoint(number) ? number.doubleValue() : toDoubleExact(number.longValue()));
+        } else if (value instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) value;
+            long seconds = Math.floorDiv(timestamp.getTime(), MILLIS_PER_SECOND);
+            return Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND), timestamp.getNanos());
+        } else if (value instanceof Date) {
+            return ((Date) value).getTime();
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).toEpochDay();
+        } else if (value instanceof LocalTime) {
+            return ((LocalTime) value).toNanoOfDay();
+        } else if (value instanceof LocalDateTime) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND),
+                    dateTime.getNano());
+        } else {
+            Instant instant = (Instant) value;
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+        }
+    }
+
+    /**
+     * Iterates over the entries having values in a range by evaluating the
+     * range on the words of 64 bits of the slices.
+     */
+    private final class RangeIterator implements AscendingLongIterator {
+
+        private static final long WORD_OFFSET_MASK = Long.SIZE - 1;
+
+        private final Long from;
+        private final boolean fromInclusive;
+        private final Long to;
+        private final boolean toInclusive;
+
+        // iterates the existing entries to find the next non-empty word
+        private final AscendingLongIterator words = existing.iterator();
+        private final long[] sliceWords = new long[SLICE_COUNT];
+
+        private long base;
+        private long word;
+        private long index;
+
+        RangeIterator(Long from, boolean fromInclusive, Long to, boolean toInclusive) {
+            this.from = from;
+            this.fromInclusive = fromInclusive;
+            this.to = to;
+            this.toInclusive = toInclusive;
+            advance();
+        }
+
+        @Override
+        public long getIndex() {
+            return index;
+        }
+
+        @Override
+        public long advance() {
+            long current = index;
+
+            while (word == 0) {
+                long member = words.getIndex();
+                if (member == AscendingLongIterator.END) {
+                    index = AscendingLongIterator.END;
+                    return current;
+                }
+
+                base = member & ~WORD_OFFSET_MASK;
+                word = evaluate() & -1L << (member & WORD_OFFSET_MASK);
+
+                long nextBase = base + Long.SIZE;
+                if (nextBase < 0) {
+                    // the last possible word, consume the rest
+                    words.advanceAtLeastTo(Long.MAX_VALUE);
+                    words.advance();
+                } else {
+                    words.advanceAtLeastTo(nextBase);
+                }
+            }
+
+            index = base + Long.numberOfTrailingZeros(word);
+            // zero out the consumed bit
+            word &= word - 1;
+            return current;
+        }
+
+        @Override
+        public long advanceAtLeastTo(long member) {
+            if (index >= member) {
+                return index;
+            }
+
+            if (member - base < Long.SIZE) {
+                // the member is in the current word
+                word &= -1L << (member & WORD_OFFSET_MASK);
+            } else {
+                word = 0;
+                words.advanceAtLeastTo(member);
+            }
+            advance();
+            return index;
+        }
+
+        private long evaluate() {
+            long existingWord = existing.word(base);
+            long negativeWord = negative.word(base);
+            for (int i = 0; i < SLICE_COUNT; ++i) {
+                SparseBitSet slice = slices[i];
+                sliceWords[i] = slice == null ? 0 : slice.word(base);
+            }
+
+            long result = existingWord;
+            if (from != null) {
+                result &= ~lessThan(existingWord, negativeWord, sliceWords, from, !fromInclusive);
+            }
+            if (to != null) {
+                result &= lessThan(existingWord, negativeWord, sliceWords, to, toInclusive);
+            }
+            return result;
+        }
+
+    }
+
+}
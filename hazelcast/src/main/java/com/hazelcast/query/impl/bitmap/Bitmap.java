@@ -18,15 +18,20 @@ package com.hazelcast.query.impl.bitmap;
 
 import com.hazelcast.core.TypeConverter;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AbstractIndex;
+import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.predicates.AndPredicate;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
 import com.hazelcast.query.impl.predicates.InPredicate;
 import com.hazelcast.query.impl.predicates.NotEqualPredicate;
 import com.hazelcast.query.impl.predicates.NotPredicate;
 import com.hazelcast.query.impl.predicates.OrPredicate;
+import com.hazelcast.query.impl.predicates.RangePredicate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -36,7 +41,10 @@ import java.util.Map;
  * <p>
  * Internally, each bitmap manages a set of sparse bit sets, one for each
  * possible attribute value, and a sparse array to map from unique {@code long}
- * entry keys back to entries.
+ * entry keys back to entries. While every entry has at most one ordinal
+ * attribute value (see {@link BitSlices}), the values are also maintained in
+ * the bit-sliced form allowing to evaluate range predicates without visiting
+ * every distinct value.
  *
  * @param <E> the type of entries being indexed.
  */
@@ -47,6 +55,9 @@ public final class Bitmap<E> {
 
     private final SparseArray<E> entries = new SparseArray<>();
 
+    // null if some of the values can't be represented as bit slices
+    private BitSlices bitSlices = new BitSlices();
+
     /**
      * Inserts the given values associated with the given entry having the given
      * unique key.
@@ -56,18 +67,7 @@ public final class Bitmap<E> {
      * @param entry  the entry to insert.
      */
     public void insert(Iterator values, long key, E entry) {
-        while (values.hasNext()) {
-            Object value = values.next();
-            assert value != null;
-
-            SparseBitSet bitSet = bitSets.get(value);
-            if (bitSet == null) {
-                bitSet = new SparseBitSet();
-                bitSets.put(value, bitSet);
-            }
-            bitSet.add(key);
-        }
-
+        insertValues(values, key);
         entries.set(key, entry);
     }
 
@@ -89,20 +89,12 @@ public final class Bitmap<E> {
             if (bitSet != null) {
                 bitSet.remove(key);
             }
-        }
-
-        while (newValues.hasNext()) {
-            Object value = newValues.next();
-            assert value != null;
-
-            SparseBitSet bitSet = bitSets.get(value);
-            if (bitSet == null) {
-                bitSet = new SparseBitSet();
-                bitSets.put(value, bitSet);
+            if (bitSlices != null && value != AbstractIndex.NULL) {
+                bitSlices.remove(value, key);
             }
-            bitSet.add(key);
         }
 
+        insertValues(newValues, key);
         entries.set(key, entry);
     }
 
@@ -124,17 +116,30 @@ public final class Bitmap<E> {
                     bitSets.remove(value);
                 }
             }
+            if (bitSlices != null && value != AbstractIndex.NULL) {
+                bitSlices.remove(value, key);
+            }
         }
 
         entries.clear(key);
     }
 
+    /**
+     * @return {@code true} if the range predicates are evaluated using the
+     * bit slices, {@code false} if the bit sets of all the distinct values in
+     * a range are combined instead.
+     */
+    public boolean hasBitSlices() {
+        return bitSlices != null;
+    }
+
     /**
      * Clears this bitmap.
      */
     public void clear() {
         bitSets.clear();
         entries.clear();
+        bitSlices = new BitSlices();
     }
 
     /**
@@ -143,7 +148,8 @@ public final class Bitmap<E> {
      * <p>
      * The following predicates (and combinations of them) are supported:
      * {@link AndPredicate}, {@link OrPredicate}, {@link NotPredicate}, {@link
-     * NotEqualPredicate}, {@link EqualPredicate}, {@link InPredicate}.
+     * NotEqualPredicate}, {@link EqualPredicate}, {@link InPredicate} and
+     * {@link RangePredicate}s.
      *
      * @param predicate the predicate to evaluate.
      * @param converter the converter to use for the predicate arguments
@@ -154,7 +160,7 @@ public final class Bitmap<E> {
         return new EntryIterator<>(predicateIterator(predicate, converter), entries.iterator());
     }
 
-    @SuppressWarnings("checkstyle:npathcomplexity")
+    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity"})
     private AscendingLongIterator predicateIterator(Predicate predicate, TypeConverter converter) {
         if (predicate instanceof AndPredicate) {
             Predicate[] predicates = ((AndPredicate) predicate).getPredicates();
@@ -196,6 +202,13 @@ public final class Bitmap<E> {
             return BitmapAlgorithms.or(valueIterators(values, converter));
         }
 
+        if (predicate instanceof RangePredicate) {
+            RangePredicate rangePredicate = (RangePredicate) predicate;
+            Comparable from = rangePredicate.getFrom() == null ? null : converter.convert(rangePredicate.getFrom());
+            Comparable to = rangePredicate.getTo() == null ? null : converter.convert(rangePredicate.getTo());
+            return rangeIterator(from, rangePredicate.isFromInclusive(), to, rangePredicate.isToInclusive());
+        }
+
         throw new IllegalArgumentException("unexpected predicate: " + predicate);
     }
 
@@ -212,6 +225,65 @@ public final class Bitmap<E> {
         return bitSet == null ? AscendingLongIterator.EMPTY : bitSet.iterator();
     }
 
+    private AscendingLongIterator rangeIterator(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        if (bitSlices != null) {
+            AscendingLongIterator iterator = bitSlices.range(from, fromInclusive, to, toInclusive);
+            if (iterator != null) {
+                return iterator;
+            }
+        }
+
+        // The values or the bounds are not ordinal, unite the bit sets of all
+        // the values falling into the range.
+
+        List<AscendingLongIterator> iterators = new ArrayList<>();
+        for (Map.Entry<Object, SparseBitSet> entry : bitSets.entrySet()) {
+            Object value = entry.getKey();
+            if (value != AbstractIndex.NULL && inRange((Comparable) value, from, fromInclusive, to, toInclusive)) {
+                iterators.add(entry.getValue().iterator());
+            }
+        }
+        return iterators.isEmpty() ? AscendingLongIterator.EMPTY
+                : BitmapAlgorithms.or(iterators.toArray(new AscendingLongIterator[0]));
+    }
+
+    private void insertValues(Iterator values, long key) {
+        int slicedCount = 0;
+        while (values.hasNext()) {
+            Object value = values.next();
+            assert value != null;
+
+            SparseBitSet bitSet = bitSets.get(value);
+            if (bitSet == null) {
+                bitSet = new SparseBitSet();
+                bitSets.put(value, bitSet);
+            }
+            bitSet.add(key);
+
+            if (bitSlices != null && value != AbstractIndex.NULL) {
+                // bit slices can't represent multiple values of a single entry
+                if (++slicedCount > 1 || !bitSlices.insert(value, key)) {
+                    bitSlices = null;
+                }
+            }
+        }
+    }
+
+    private static boolean inRange(Comparable value, Comparable from, boolean fromInclusive, Comparable to,
+                                   boolean toInclusive) {
+        if (from != null) {
+            int order = Comparables.compare(value, from);
+            if (order < 0 || order == 0 && !fromInclusive) {
+                return false;
+            }
+        }
+        if (to != null) {
+            int order = Comparables.compare(value, to);
+            return order < 0 || order == 0 && toInclusive;
+        }
+        return true;
+    }
+
     private AscendingLongIterator[] valueIterators(Comparable[] values, TypeConverter converter) {
         AscendingLongIterator[] iterators = new AscendingLongIterator[values.length];
         for (int i = 0; i < values.length; ++i) {
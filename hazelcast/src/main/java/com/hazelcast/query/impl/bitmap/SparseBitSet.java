@@ -164,6 +164,23 @@ final class SparseBitSet {
         return new IteratorImpl(storages);
     }
 
+    /**
+     * Returns 64 bits of this bit set starting at the given index: the bit
+     * {@code i} of the returned word is set if the member {@code index + i} is
+     * present in this bit set.
+     * <p>
+     * Doesn't touch the storage cache used by the modifying operations, so it's
+     * safe to call this method concurrently with other read operations.
+     *
+     * @param index the index to start from, a multiple of 64.
+     * @return the word of bits.
+     */
+    public long word(long index) {
+        assert index >= 0 && (index & (Long.SIZE - 1)) == 0;
+        Storage32 storage = storages.get((int) (index >>> Integer.SIZE));
+        return storage == null ? 0 : storage.word((int) index);
+    }
+
     /**
      * Defines internal contract of storages responsible for storing of 32-bit
      * postfixes.
@@ -234,6 +251,16 @@ final class SparseBitSet {
          */
         boolean advanceAtLeastTo(int member, IteratorImpl iterator);
 
+        /**
+         * Returns 64 bits of this storage starting at the given member: the
+         * bit {@code i} of the returned word is set if the member {@code
+         * member + i} is present in this storage.
+         *
+         * @param member the member to start from, a multiple of 64.
+         * @return the word of bits.
+         */
+        long word(int member);
+
     }
 
     /**
@@ -252,6 +279,25 @@ final class SparseBitSet {
             members[0] = member;
         }
 
+        @Override
+        public long word(int member) {
+            long unsignedMember = toUnsignedLong(member);
+            int position = unsignedBinarySearch(members, size, unsignedMember);
+            if (position < 0) {
+                position = -(position + 1);
+            }
+
+            long word = 0;
+            for (; position < size; ++position) {
+                long offset = toUnsignedLong(members[position]) - unsignedMember;
+                if (offset >= Long.SIZE) {
+                    break;
+                }
+                word |= 1L << offset;
+            }
+            return word;
+        }
+
         @Override
         public Storage32 add(int member) {
             int index = unsignedBinarySearch(members, size, toUnsignedLong(member));
@@ -412,6 +458,13 @@ final class SparseBitSet {
             }
         }
 
+        @Override
+        public long word(int member) {
+            int unsignedPrefix = toUnsignedInt((short) (member >>> Short.SIZE));
+            int position = unsignedBinarySearch(prefixes, size, unsignedPrefix);
+            return position < 0 ? 0 : storages[position].word((short) member);
+        }
+
         @Override
         public Storage32 add(int member) {
             short prefix = (short) (member >>> Short.SIZE);
@@ -780,6 +833,16 @@ final class SparseBitSet {
          */
         boolean advanceAtLeastTo(short member, IteratorImpl iterator);
 
+        /**
+         * Returns 64 bits of this storage starting at the given member: the
+         * bit {@code i} of the returned word is set if the member {@code
+         * member + i} is present in this storage.
+         *
+         * @param member the member to start from, a multiple of 64.
+         * @return the word of bits.
+         */
+        long word(short member);
+
     }
 
     /**
@@ -823,6 +886,25 @@ final class SparseBitSet {
             this.members = members;
         }
 
+        @Override
+        public long word(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int position = unsignedBinarySearch(members, size, unsignedMember);
+            if (position < 0) {
+                position = -(position + 1);
+            }
+
+            long word = 0;
+            for (; position < size; ++position) {
+                int offset = toUnsignedInt(members[position]) - unsignedMember;
+                if (offset >= Long.SIZE) {
+                    break;
+                }
+                word |= 1L << offset;
+            }
+            return word;
+        }
+
         @Override
         public Storage16 add(short member) {
             int index = unsignedBinarySearch(members, size, toUnsignedInt(member));
@@ -994,6 +1076,11 @@ final class SparseBitSet {
             this.size = members.length + 1;
         }
 
+        @Override
+        public long word(short member) {
+            return members[toUnsignedInt(member) >>> BIT_SET_LONG_SHIFT];
+        }
+
         @Override
         public Storage16 add(short member) {
             int bitIndex = toUnsignedInt(member);
@@ -24,6 +24,7 @@ import com.hazelcast.internal.serialization.BinaryInterface;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.AttributeColumn;
 import com.hazelcast.query.impl.AttributeType;
 import com.hazelcast.query.impl.Extractable;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -57,9 +58,27 @@ public abstract class AbstractPredicate<K, V> implements Predicate<K, V>, Identi
         this.attributeName = canonicalizeAttribute(attributeName);
     }
 
+    /**
+     * @return the canonical name of the attribute this predicate acts on.
+     */
+    public String getAttributeName() {
+        return attributeName;
+    }
+
     @Override
     public boolean apply(Map.Entry<K, V> mapEntry) {
-        Object attributeValue = readAttributeValue(mapEntry);
+        return applyForAttributeValue(readAttributeValue(mapEntry));
+    }
+
+    /**
+     * Applies this predicate to the given value of its attribute extracted
+     * from an entry.
+     *
+     * @param attributeValue the extracted attribute value.
+     * @return {@code true} if the entry satisfies this predicate, {@code
+     * false} otherwise.
+     */
+    public boolean applyForAttributeValue(Object attributeValue) {
         if (attributeValue instanceof MultiResult) {
             return applyForMultiResult((MultiResult) attributeValue);
         } else if (attributeValue instanceof Collection || attributeValue instanceof Object[]) {
@@ -69,6 +88,52 @@ public abstract class AbstractPredicate<K, V> implements Predicate<K, V>, Identi
         return convertAndApplyForSingleAttributeValue(attributeValue);
     }
 
+    /**
+     * Applies this predicate to the values of its attribute extracted from a
+     * block of entries into the given column. The rows of the entries to
+     * evaluate are given by the selection vector, the rows of the entries
+     * satisfying this predicate are retained in the vector in place.
+     *
+     * @param column        the column of the attribute values.
+     * @param selection     the row indexes of the entries to evaluate in
+     *                      ascending order.
+     * @param selectionSize the number of the entries to evaluate.
+     * @return the number of the retained rows.
+     */
+    public int applyForAttributeValues(AttributeColumn column, int[] selection, int selectionSize) {
+        int size = 0;
+        for (int i = 0; i < selectionSize; ++i) {
+            int row = selection[i];
+            if (applyForAttributeValue(column.get(row))) {
+                selection[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Checks whether the given value of this predicate may be compared with
+     * the values of the given column as {@code long} values, producing the
+     * same results as the comparison of the converted values would produce.
+     * That is the case if the column is integral and the given value is an
+     * integral number in the domain of the column type.
+     */
+    boolean isComparableAsLong(AttributeColumn column, Comparable value) {
+        AttributeType columnType = column.getIntegralType();
+        if (columnType == null || AttributeColumn.integralTypeOf(value) == null
+                || !AttributeColumn.isInDomain(columnType, ((Number) value).longValue())) {
+            return false;
+        }
+
+        AttributeType type = attributeType;
+        if (type == null) {
+            // infer the type in the same way the conversion does
+            attributeType = columnType;
+            return true;
+        }
+        return type == columnType;
+    }
+
     private boolean applyForMultiResult(MultiResult result) {
         List results = result.getResults();
         for (Object o : results) {
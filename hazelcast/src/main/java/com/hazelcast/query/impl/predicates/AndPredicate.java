@@ -22,6 +22,7 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.AndResultSet;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -29,6 +30,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +49,20 @@ public final class AndPredicate
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The maximum ratio of the estimated selectivity of an inner predicate
+     * to the one of the most selective inner predicate for which the index
+     * of the former is still used to intersect the results.
+     */
+    private static final double MAX_INTERSECTION_SELECTIVITY_RATIO = 8;
+
+    private static final Comparator<PlannedPredicate> PLANNED_PREDICATE_COMPARATOR = (left, right) -> {
+        if (left.selectivity < 0 || right.selectivity < 0) {
+            return Boolean.compare(left.selectivity < 0, right.selectivity < 0);
+        }
+        return Double.compare(left.selectivity, right.selectivity);
+    };
+
     protected Predicate[] predicates;
 
     public AndPredicate() {
@@ -67,44 +83,98 @@ public final class AndPredicate
         return visitor.visit(this, indexes);
     }
 
+    /**
+     * Filters the entries using the indexes of the indexed inner predicates
+     * in the order of their estimated selectivities, the most selective one
+     * first, and intersects the results smallest-first.
+     * <p>
+     * The result of the most selective index lookup is the candidate set the
+     * other predicates are checked against. An index lookup estimated to
+     * produce many more entries than the candidate set is not performed at
+     * all: such a predicate is evaluated on the candidates instead, since
+     * materializing and probing a large index result costs more than
+     * evaluating the predicate on a few entries.
+     */
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
-        Set<QueryableEntry> smallestResultSet = null;
-        List<Set<QueryableEntry>> otherResultSets = null;
+        List<PlannedPredicate> indexedPredicates = null;
         List<Predicate> unindexedPredicates = null;
 
+        // Avoid checking indexed partitions count twice to avoid
+        // scenario when the owner partitions count changes concurrently and null
+        // value from the filter method may indicate that the index is under
+        // construction.
+        int ownedPartitionsCount = queryContext.getOwnedPartitionCount();
         for (Predicate predicate : predicates) {
             if (isIndexedPredicate(predicate, queryContext)) {
-                // Avoid checking indexed partitions count twice to avoid
-                // scenario when the owner partitions count changes concurrently and null
-                // value from the filter method may indicate that the index is under
-                // construction.
-                int ownedPartitionsCount = queryContext.getOwnedPartitionCount();
                 queryContext.setOwnedPartitionCount(SKIP_PARTITIONS_COUNT_CHECK);
-                Set<QueryableEntry> currentResultSet = ((IndexAwarePredicate) predicate).filter(queryContext);
+                IndexAwarePredicate indexAwarePredicate = (IndexAwarePredicate) predicate;
+                double selectivity = indexAwarePredicate.estimateSelectivity(queryContext);
                 queryContext.setOwnedPartitionCount(ownedPartitionsCount);
-                if (smallestResultSet == null) {
-                    smallestResultSet = currentResultSet;
-                } else if (estimatedSizeOf(currentResultSet) < estimatedSizeOf(smallestResultSet)) {
-                    otherResultSets = initOrGetListOf(otherResultSets);
-                    otherResultSets.add(smallestResultSet);
-                    smallestResultSet = currentResultSet;
-                } else {
-                    otherResultSets = initOrGetListOf(otherResultSets);
-                    otherResultSets.add(currentResultSet);
-                }
+                indexedPredicates = initOrGetListOf(indexedPredicates);
+                indexedPredicates.add(new PlannedPredicate(indexAwarePredicate, selectivity));
             } else {
                 unindexedPredicates = initOrGetListOf(unindexedPredicates);
                 unindexedPredicates.add(predicate);
             }
         }
 
-        if (smallestResultSet == null) {
+        if (indexedPredicates == null) {
             return null;
         }
+        // the sort is stable, so the predicates of unknown selectivities
+        // retain their original order after the estimated ones
+        indexedPredicates.sort(PLANNED_PREDICATE_COMPARATOR);
+
+        Set<QueryableEntry> smallestResultSet = null;
+        List<Set<QueryableEntry>> otherResultSets = null;
+        double smallestSelectivity = indexedPredicates.get(0).selectivity;
+        for (PlannedPredicate plannedPredicate : indexedPredicates) {
+            if (smallestResultSet != null && smallestSelectivity >= 0
+                    && plannedPredicate.selectivity > smallestSelectivity * MAX_INTERSECTION_SELECTIVITY_RATIO) {
+                unindexedPredicates = initOrGetListOf(unindexedPredicates);
+                unindexedPredicates.add(plannedPredicate.predicate);
+                continue;
+            }
+
+            queryContext.setOwnedPartitionCount(SKIP_PARTITIONS_COUNT_CHECK);
+            Set<QueryableEntry> currentResultSet = plannedPredicate.predicate.filter(queryContext);
+            queryContext.setOwnedPartitionCount(ownedPartitionsCount);
+            if (smallestResultSet == null) {
+                smallestResultSet = currentResultSet;
+            } else if (estimatedSizeOf(currentResultSet) < estimatedSizeOf(smallestResultSet)) {
+                // the estimates were off, keep the actually smallest result as the candidate set
+                otherResultSets = initOrGetListOf(otherResultSets);
+                otherResultSets.add(0, smallestResultSet);
+                smallestResultSet = currentResultSet;
+            } else {
+                otherResultSets = initOrGetListOf(otherResultSets);
+                otherResultSets.add(currentResultSet);
+            }
+        }
+
         return new AndResultSet(smallestResultSet, otherResultSets, unindexedPredicates);
     }
 
+    /**
+     * Estimates the selectivity as the one of the most selective indexed
+     * inner predicate, which is the upper bound of the selectivity of the
+     * conjunction.
+     */
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        double selectivity = Index.UNKNOWN_SELECTIVITY;
+        for (Predicate predicate : predicates) {
+            if (isIndexedPredicate(predicate, queryContext)) {
+                double predicateSelectivity = ((IndexAwarePredicate) predicate).estimateSelectivity(queryContext);
+                if (predicateSelectivity >= 0 && (selectivity < 0 || predicateSelectivity < selectivity)) {
+                    selectivity = predicateSelectivity;
+                }
+            }
+        }
+        return selectivity;
+    }
+
     private static boolean isIndexedPredicate(Predicate predicate, QueryContext queryContext) {
         return predicate instanceof IndexAwarePredicate
                 && ((IndexAwarePredicate) predicate).isIndexed(queryContext);
@@ -245,4 +315,16 @@ public final class AndPredicate
     public int hashCode() {
         return Arrays.hashCode(predicates);
     }
+
+    private static final class PlannedPredicate {
+
+        private final IndexAwarePredicate predicate;
+        private final double selectivity;
+
+        PlannedPredicate(IndexAwarePredicate predicate, double selectivity) {
+            this.predicate = predicate;
+            this.selectivity = selectivity;
+        }
+
+    }
 }
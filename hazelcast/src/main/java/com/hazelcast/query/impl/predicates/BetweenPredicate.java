@@ -20,6 +20,7 @@ import com.hazelcast.internal.serialization.BinaryInterface;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeColumn;
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
@@ -67,6 +68,15 @@ public class BetweenPredicate extends AbstractIndexAwarePredicate implements Vis
                 && Comparables.compare(attributeValue, toConvertedValue) <= 0;
     }
 
+    @Override
+    public int applyForAttributeValues(AttributeColumn column, int[] selection, int selectionSize) {
+        if (isComparableAsLong(column, from) && isComparableAsLong(column, to)) {
+            return column.selectRange(selection, selectionSize, ((Number) from).longValue(), true, ((Number) to).longValue(),
+                    true);
+        }
+        return super.applyForAttributeValues(column, selection, selectionSize);
+    }
+
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
         Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
@@ -76,6 +86,15 @@ public class BetweenPredicate extends AbstractIndexAwarePredicate implements Vis
         return index.getRecords(from, true, to, true);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        if (index == null) {
+            return Index.UNKNOWN_SELECTIVITY;
+        }
+        return index.estimateSelectivity(from, true, to, true);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
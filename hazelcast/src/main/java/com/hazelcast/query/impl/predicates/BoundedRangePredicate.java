@@ -16,8 +16,11 @@
 
 package com.hazelcast.query.impl.predicates;
 
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeColumn;
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
@@ -33,7 +36,7 @@ import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
  * Instances of this class are never transferred between members, the
  * serialization is disabled.
  */
-public class BoundedRangePredicate extends AbstractIndexAwarePredicate implements RangePredicate {
+public class BoundedRangePredicate extends AbstractIndexAwarePredicate implements RangePredicate, VisitablePredicate {
 
     private final Comparable from;
     private final boolean fromInclusive;
@@ -73,6 +76,15 @@ public class BoundedRangePredicate extends AbstractIndexAwarePredicate implement
         return index.getRecords(from, fromInclusive, to, toInclusive);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        if (index == null) {
+            return Index.UNKNOWN_SELECTIVITY;
+        }
+        return index.estimateSelectivity(from, fromInclusive, to, toInclusive);
+    }
+
     @Override
     protected boolean applyForSingleAttributeValue(Comparable value) {
         if (value == null) {
@@ -91,6 +103,20 @@ public class BoundedRangePredicate extends AbstractIndexAwarePredicate implement
         return order < 0 || toInclusive && order == 0;
     }
 
+    @Override
+    public int applyForAttributeValues(AttributeColumn column, int[] selection, int selectionSize) {
+        if (isComparableAsLong(column, from) && isComparableAsLong(column, to)) {
+            return column.selectRange(selection, selectionSize, ((Number) from).longValue(), fromInclusive,
+                    ((Number) to).longValue(), toInclusive);
+        }
+        return super.applyForAttributeValues(column, selection, selectionSize);
+    }
+
+    @Override
+    public Predicate accept(Visitor visitor, Indexes indexes) {
+        return visitor.visit(this, indexes);
+    }
+
     @Override
     public int getClassId() {
         throw new UnsupportedOperationException("can't be serialized");
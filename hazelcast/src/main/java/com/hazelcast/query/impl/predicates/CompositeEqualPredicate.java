@@ -88,6 +88,15 @@ public class CompositeEqualPredicate implements IndexAwarePredicate {
         return index.getRecords(value);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        Index index = queryContext.matchIndex(indexName, QueryContext.IndexMatchHint.EXACT_NAME);
+        if (index == null) {
+            return Index.UNKNOWN_SELECTIVITY;
+        }
+        return index.estimateSelectivity(value);
+    }
+
     @Override
     public String toString() {
         return Arrays.toString(components) + " = " + value;
@@ -123,6 +123,15 @@ public class CompositeRangePredicate implements IndexAwarePredicate {
         return index.getRecords(from, fromInclusive, to, toInclusive);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        Index index = queryContext.matchIndex(indexName, QueryContext.IndexMatchHint.EXACT_NAME);
+        if (index == null) {
+            return Index.UNKNOWN_SELECTIVITY;
+        }
+        return index.estimateSelectivity(from, fromInclusive, to, toInclusive);
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         return true;
@@ -20,6 +20,7 @@ import com.hazelcast.internal.serialization.BinaryInterface;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeColumn;
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
@@ -69,6 +70,23 @@ public class EqualPredicate extends AbstractIndexAwarePredicate
         return index.getRecords(value);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_UNORDERED);
+        if (index == null) {
+            return Index.UNKNOWN_SELECTIVITY;
+        }
+        return index.estimateSelectivity(value);
+    }
+
+    @Override
+    public int applyForAttributeValues(AttributeColumn column, int[] selection, int selectionSize) {
+        if (isComparableAsLong(column, value)) {
+            return column.selectEqual(selection, selectionSize, ((Number) value).longValue(), true);
+        }
+        return super.applyForAttributeValues(column, selection, selectionSize);
+    }
+
     protected boolean applyForSingleAttributeValue(Comparable attributeValue) {
         if (attributeValue == null) {
             return isNull(value);
@@ -261,4 +261,43 @@ public class EvaluateVisitor extends AbstractVisitor {
         return new EvaluatePredicate(predicate, index.getName());
     }
 
+    @Override
+    public Predicate visit(BetweenPredicate predicate, Indexes indexes) {
+        return visitRange(predicate, indexes);
+    }
+
+    @Override
+    public Predicate visit(GreaterLessPredicate predicate, Indexes indexes) {
+        return visitRange(predicate, indexes);
+    }
+
+    @Override
+    public Predicate visit(BoundedRangePredicate predicate, Indexes indexes) {
+        return visitRange(predicate, indexes);
+    }
+
+    private static Predicate visitRange(RangePredicate predicate, Indexes indexes) {
+        Index index = indexes.matchIndex(predicate.getAttribute(), predicate.getClass(), IndexMatchHint.PREFER_ORDERED,
+                SKIP_PARTITIONS_COUNT_CHECK);
+        if (index == null) {
+            return predicate;
+        }
+
+        // without the bit slices a bitmap index visits every distinct value in the range, prefer a sorted index then
+        if (!index.canEvaluateRangeWithBitSlices()) {
+            Index ordered = indexes.matchIndex(predicate.getAttribute(), IndexMatchHint.PREFER_ORDERED,
+                    SKIP_PARTITIONS_COUNT_CHECK);
+            if (ordered != null && ordered.isOrdered()) {
+                return predicate;
+            }
+        }
+
+        TypeConverter converter = index.getConverter();
+        if (converter == null) {
+            return predicate;
+        }
+
+        return new EvaluatePredicate(predicate, index.getName());
+    }
+
 }
@@ -63,6 +63,11 @@ public class FalsePredicate<K, V> implements IdentifiedDataSerializable, IndexAw
         return true;
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        return 0;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
     }
@@ -20,9 +20,11 @@ import com.hazelcast.internal.serialization.BinaryInterface;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeColumn;
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.Comparison;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
@@ -33,7 +35,8 @@ import java.util.Set;
  * Greater Less Predicate
  */
 @BinaryInterface
-public final class GreaterLessPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate, RangePredicate {
+public final class GreaterLessPredicate extends AbstractIndexAwarePredicate
+        implements NegatablePredicate, RangePredicate, VisitablePredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -67,19 +70,40 @@ public final class GreaterLessPredicate extends AbstractIndexAwarePredicate impl
         return equal && result == 0 || (less ? (result < 0) : (result > 0));
     }
 
+    @Override
+    public int applyForAttributeValues(AttributeColumn column, int[] selection, int selectionSize) {
+        if (isComparableAsLong(column, value)) {
+            long bound = ((Number) value).longValue();
+            return less ? column.selectRange(selection, selectionSize, Long.MIN_VALUE, true, bound, equal)
+                    : column.selectRange(selection, selectionSize, bound, equal, Long.MAX_VALUE, true);
+        }
+        return super.applyForAttributeValues(column, selection, selectionSize);
+    }
+
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
         Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
         if (index == null) {
             return null;
         }
-        final Comparison comparison;
+        return index.getRecords(comparison(), value);
+    }
+
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        if (index == null) {
+            return Index.UNKNOWN_SELECTIVITY;
+        }
+        return index.estimateSelectivity(comparison(), value);
+    }
+
+    private Comparison comparison() {
         if (less) {
-            comparison = equal ? Comparison.LESS_OR_EQUAL : Comparison.LESS;
+            return equal ? Comparison.LESS_OR_EQUAL : Comparison.LESS;
         } else {
-            comparison = equal ? Comparison.GREATER_OR_EQUAL : Comparison.GREATER;
+            return equal ? Comparison.GREATER_OR_EQUAL : Comparison.GREATER;
         }
-        return index.getRecords(comparison, value);
     }
 
     @Override
@@ -110,6 +134,11 @@ public final class GreaterLessPredicate extends AbstractIndexAwarePredicate impl
         return sb.toString();
     }
 
+    @Override
+    public Predicate accept(Visitor visitor, Indexes indexes) {
+        return visitor.visit(this, indexes);
+    }
+
     @Override
     public Predicate negate() {
         return new GreaterLessPredicate(attributeName, value, !equal, !less);
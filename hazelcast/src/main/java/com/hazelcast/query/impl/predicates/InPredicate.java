@@ -120,6 +120,15 @@ public class InPredicate extends AbstractIndexAwarePredicate implements Visitabl
         }
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_UNORDERED);
+        if (index == null) {
+            return Index.UNKNOWN_SELECTIVITY;
+        }
+        return index.estimateSelectivity(values);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
@@ -18,6 +18,7 @@ package com.hazelcast.query.impl.predicates;
 
 import com.hazelcast.internal.serialization.BinaryInterface;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
@@ -76,4 +77,23 @@ public interface IndexAwarePredicate<K, V> extends Predicate<K, V> {
      * speed up the processing, {@code false} otherwise.
      */
     boolean isIndexed(QueryContext queryContext);
+
+    /**
+     * Estimates the selectivity of this predicate using the statistics of
+     * the indexes available while executing the query in the given query
+     * context, without actually {@link #filter filtering} the entries.
+     * <p>
+     * The query engine uses the estimates to decide which indexes to use and
+     * in which order. The default implementation reports the selectivity as
+     * unknown.
+     *
+     * @param queryContext the query context to consult for the available
+     *                     indexes.
+     * @return the estimated fraction of the indexed entries matching this
+     * predicate, in the range {@code [0, 1]}, or {@link
+     * Index#UNKNOWN_SELECTIVITY} if it can't be estimated.
+     */
+    default double estimateSelectivity(QueryContext queryContext) {
+        return Index.UNKNOWN_SELECTIVITY;
+    }
 }
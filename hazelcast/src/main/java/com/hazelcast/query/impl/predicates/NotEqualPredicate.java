@@ -20,11 +20,11 @@ import com.hazelcast.internal.serialization.BinaryInterface;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeColumn;
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.Indexes;
 
 import java.io.IOException;
-import java.util.Map;
 import java.util.Objects;
 
 import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
@@ -56,15 +56,22 @@ public class NotEqualPredicate extends AbstractPredicate implements NegatablePre
         return visitor.visit(this, indexes);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public boolean apply(Map.Entry mapEntry) {
-        return !super.apply(mapEntry);
+    public boolean applyForAttributeValue(Object attributeValue) {
+        return !super.applyForAttributeValue(attributeValue);
+    }
+
+    @Override
+    public int applyForAttributeValues(AttributeColumn column, int[] selection, int selectionSize) {
+        if (isComparableAsLong(column, value)) {
+            return column.selectEqual(selection, selectionSize, ((Number) value).longValue(), false);
+        }
+        return super.applyForAttributeValues(column, selection, selectionSize);
     }
 
     protected boolean applyForSingleAttributeValue(Comparable attributeValue) {
         // XXX: The code below performs equality check, instead of inequality.
-        // The result of this check is negated in NotEqualPredicate.apply method.
+        // The result of this check is negated in NotEqualPredicate.applyForAttributeValue method.
         // This is required to make multi-value attribute inequality queries to
         // work properly: if something has two names A and B, that something
         // should be excluded if we are searching for things not named A, even
@@ -21,6 +21,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.OrResultSet;
 import com.hazelcast.query.impl.QueryContext;
@@ -96,6 +97,22 @@ public final class OrPredicate
         return true;
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        double selectivity = 0;
+        for (Predicate predicate : predicates) {
+            if (!(predicate instanceof IndexAwarePredicate)) {
+                return Index.UNKNOWN_SELECTIVITY;
+            }
+            double predicateSelectivity = ((IndexAwarePredicate) predicate).estimateSelectivity(queryContext);
+            if (predicateSelectivity < 0) {
+                return Index.UNKNOWN_SELECTIVITY;
+            }
+            selectivity += predicateSelectivity;
+        }
+        return Math.min(1.0, selectivity);
+    }
+
     @Override
     public boolean apply(Map.Entry mapEntry) {
         for (Predicate predicate : predicates) {
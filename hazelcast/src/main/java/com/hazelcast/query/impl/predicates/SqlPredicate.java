@@ -23,6 +23,7 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -103,6 +104,14 @@ public class SqlPredicate
         return ((IndexAwarePredicate) predicate).filter(queryContext);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        if (predicate instanceof IndexAwarePredicate) {
+            return ((IndexAwarePredicate) predicate).estimateSelectivity(queryContext);
+        }
+        return Index.UNKNOWN_SELECTIVITY;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(sql);
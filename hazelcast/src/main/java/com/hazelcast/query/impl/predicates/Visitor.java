@@ -42,4 +42,8 @@ public interface Visitor {
 
     Predicate visit(BetweenPredicate predicate, Indexes indexes);
 
+    Predicate visit(GreaterLessPredicate predicate, Indexes indexes);
+
+    Predicate visit(BoundedRangePredicate predicate, Indexes indexes);
+
 }
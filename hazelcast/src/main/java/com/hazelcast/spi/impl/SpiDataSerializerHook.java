@@ -34,6 +34,7 @@ import com.hazelcast.spi.impl.operationservice.BinaryOperationFactory;
 import com.hazelcast.spi.impl.operationservice.OperationControl;
 import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation;
+import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionOperationBatch;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation.PartitionResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
@@ -80,6 +81,7 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
     public static final int SIMPLE_TOKEN_CRED = 24;
     public static final int DISTRIBUTED_OBJECT_EVENT_PACKET = 25;
     public static final int APPEND_TENANT_CONTROL_OPERATION = 26;
+    public static final int PARTITION_OPERATION_BATCH = 27;
 
     private static final DataSerializableFactory FACTORY = createFactoryInternal();
 
@@ -147,6 +149,8 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
                         return new DistributedObjectEventPacket();
                     case APPEND_TENANT_CONTROL_OPERATION:
                         return new TenantControlReplicationOperation();
+                    case PARTITION_OPERATION_BATCH:
+                        return new PartitionOperationBatch();
                     default:
                         return null;
                 }
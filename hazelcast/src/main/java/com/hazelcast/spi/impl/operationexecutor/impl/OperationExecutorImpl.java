@@ -62,6 +62,8 @@ import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
 import static com.hazelcast.spi.impl.operationservice.impl.InboundResponseHandlerSupplier.getIdleStrategy;
 import static com.hazelcast.spi.properties.ClusterProperty.GENERIC_OPERATION_THREAD_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_INPUT_THREAD_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_THREAD_PER_CORE;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PRIORITY_GENERIC_OPERATION_THREAD_COUNT;
@@ -87,11 +89,26 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * specific to a partition, e.g. a heart beat.
  * </li>
  * </ol>
+ * When {@link com.hazelcast.spi.properties.ClusterProperty#OPERATION_THREAD_PER_CORE} is enabled, there are as many
+ * partition-specific operation threads as socket input threads, so that each partition thread can be paired with
+ * the input thread at the same index.
+ * <p>
+ * The queues of the partition-specific operation threads are linked queues by default. With the
+ * {@code hazelcast.operation.partitionthread.queue} property set to {@code ringbuffer}, they are
+ * {@link RingBufferOperationQueue}s that don't allocate on enqueue unless the ring buffer is full; the threads then idle
+ * using the {@code hazelcast.operation.partitionthread.idlestrategy} instead of blocking.
  */
 @SuppressWarnings("checkstyle:methodcount")
 public final class OperationExecutorImpl implements OperationExecutor, StaticMetricsProvider {
     private static final HazelcastProperty IDLE_STRATEGY
             = new HazelcastProperty("hazelcast.operation.partitionthread.idlestrategy", "block");
+    // the ring buffer queues can't block, so they default to backing off
+    private static final HazelcastProperty RING_BUFFER_IDLE_STRATEGY
+            = new HazelcastProperty(IDLE_STRATEGY.getName(), "backoff");
+    private static final HazelcastProperty QUEUE_TYPE
+            = new HazelcastProperty("hazelcast.operation.partitionthread.queue", "linked");
+    private static final HazelcastProperty QUEUE_CAPACITY
+            = new HazelcastProperty("hazelcast.operation.partitionthread.queue.capacity", 4096);
     private static final int TERMINATION_TIMEOUT_SECONDS = 3;
     private final ThreadAffinity threadAffinity = newSystemThreadAffinity("hazelcast.operation.thread.affinity");
     private final ILogger logger;
@@ -154,24 +171,54 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
                                                             NodeExtension nodeExtension, ClassLoader configClassLoader) {
 
         int threadCount = properties.getInteger(PARTITION_OPERATION_THREAD_COUNT);
+        boolean threadPerCore = properties.getBoolean(OPERATION_THREAD_PER_CORE);
+        if (threadPerCore) {
+            // every partition thread is paired with the input thread at the same index
+            int inputThreadCount = properties.getInteger(IO_INPUT_THREAD_COUNT);
+            if (inputThreadCount != threadCount) {
+                logger.warning("Using " + inputThreadCount + " partition operation threads instead of " + threadCount
+                        + " since the '" + OPERATION_THREAD_PER_CORE + "' property is enabled. There is a partition"
+                        + " operation thread per input thread, use the '" + IO_INPUT_THREAD_COUNT + "' property to change"
+                        + " the number of threads.");
+            }
+            threadCount = inputThreadCount;
+        }
         if (threadAffinity.isEnabled()) {
+            if (threadPerCore && threadAffinity.getThreadCount() != threadCount) {
+                logger.warning("The partition operation threads can't be paired with the input threads since the "
+                        + "'hazelcast.operation.thread.affinity' property defines " + threadAffinity.getThreadCount()
+                        + " threads instead of " + threadCount + ".");
+            }
             threadCount = threadAffinity.getThreadCount();
         }
 
-        IdleStrategy idleStrategy = getIdleStrategy(properties, IDLE_STRATEGY);
+        boolean ringBuffer = isRingBufferQueue(properties);
+        IdleStrategy idleStrategy = getIdleStrategy(properties, ringBuffer ? RING_BUFFER_IDLE_STRATEGY : IDLE_STRATEGY);
+        if (ringBuffer && idleStrategy == null) {
+            throw new IllegalStateException("The '" + QUEUE_TYPE.getName() + "' value=ringbuffer can't be combined with "
+                    + IDLE_STRATEGY.getName() + " value=block");
+        }
+
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = createThreadPoolName(hzName, "partition-operation") + threadId;
-            // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
-            MPSCQueue<Object> normalQueue = new MPSCQueue<>(idleStrategy);
-
-            OperationQueue operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<>());
+            MPSCQueue<Object> normalQueue = null;
+            OperationQueue operationQueue;
+            if (ringBuffer) {
+                operationQueue = new RingBufferOperationQueue(properties.getInteger(QUEUE_CAPACITY), idleStrategy);
+            } else {
+                // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
+                normalQueue = new MPSCQueue<>(idleStrategy);
+                operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<>());
+            }
 
             PartitionOperationThread partitionThread = new PartitionOperationThread(threadName, threadId, operationQueue, logger,
                     nodeExtension, partitionOperationRunners, configClassLoader);
             partitionThread.setThreadAffinity(threadAffinity);
             threads[threadId] = partitionThread;
-            normalQueue.setConsumerThread(partitionThread);
+            if (normalQueue != null) {
+                normalQueue.setConsumerThread(partitionThread);
+            }
         }
 
         // we need to assign the PartitionOperationThreads to all OperationRunners they own
@@ -185,6 +232,17 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         return threads;
     }
 
+    private static boolean isRingBufferQueue(HazelcastProperties properties) {
+        String queueType = properties.getString(QUEUE_TYPE);
+        if ("ringbuffer".equals(queueType)) {
+            return true;
+        } else if ("linked".equals(queueType)) {
+            return false;
+        } else {
+            throw new IllegalStateException("Unrecognized " + QUEUE_TYPE.getName() + " value=" + queueType);
+        }
+    }
+
     static int getPartitionThreadId(int partitionId, int partitionThreadCount) {
         return partitionId % partitionThreadCount;
     }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
+import com.hazelcast.internal.util.concurrent.ManyToOneConcurrentArrayQueue;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+
+/**
+ * An {@link OperationQueue} backed by bounded many-producer/single-consumer ring buffers.
+ *
+ * Unlike the {@link OperationQueueImpl} it doesn't allocate a node for every added task
+ * and it doesn't block on a lock: the consumer thread never blocks on the queue but
+ * calls the {@link IdleStrategy} when there is no work, and producers never need to wake
+ * up the consumer. So depending on the idle strategy, the consumer thread spins, yields
+ * or parks for a bounded time when idle.
+ *
+ * When a ring buffer is full, the task is put in an unbounded overflow queue instead, so
+ * a producer never waits for space; an IO thread or a partition thread sending to another
+ * partition thread mustn't stall on a slow consumer. As long as the overflow queue isn't
+ * empty, new tasks are added to it as well. So the ring buffer drains and an overflown
+ * task, e.g. an operation that is retried, is taken after at most {@code capacity} other
+ * tasks, and the tasks of a single producer are taken in the order they were added.
+ *
+ * This queue only supports a single consumer thread, so it can't be used for the queue
+ * shared by the generic operation threads.
+ */
+public final class RingBufferOperationQueue implements OperationQueue {
+
+    private final ManyToOneConcurrentArrayQueue<Object> normalQueue;
+    private final ManyToOneConcurrentArrayQueue<Object> priorityQueue;
+    private final Queue<Object> normalOverflowQueue = new ConcurrentLinkedQueue<>();
+    private final Queue<Object> priorityOverflowQueue = new ConcurrentLinkedQueue<>();
+    // the ConcurrentLinkedQueue.size() is O(n)
+    private final AtomicInteger normalOverflowSize = new AtomicInteger();
+    private final AtomicInteger priorityOverflowSize = new AtomicInteger();
+    private final IdleStrategy idleStrategy;
+
+    public RingBufferOperationQueue(int capacity, IdleStrategy idleStrategy) {
+        this.normalQueue = new ManyToOneConcurrentArrayQueue<>(capacity);
+        this.priorityQueue = new ManyToOneConcurrentArrayQueue<>(capacity);
+        this.idleStrategy = checkNotNull(idleStrategy, "idleStrategy");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The size includes the tasks in the normal overflow queue.
+     */
+    @Override
+    public int normalSize() {
+        return normalQueue.size() + normalOverflowSize.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The size includes the tasks in the priority overflow queue.
+     */
+    @Override
+    public int prioritySize() {
+        return priorityQueue.size() + priorityOverflowSize.get();
+    }
+
+    @Override
+    public int size() {
+        return normalSize() + prioritySize();
+    }
+
+    @Override
+    public void add(Object task, boolean priority) {
+        checkNotNull(task, "task can't be null");
+
+        if (priority) {
+            add(task, priorityQueue, priorityOverflowQueue, priorityOverflowSize);
+        } else {
+            add(task, normalQueue, normalOverflowQueue, normalOverflowSize);
+        }
+    }
+
+    private static void add(Object task, ManyToOneConcurrentArrayQueue<Object> queue,
+                            Queue<Object> overflowQueue, AtomicInteger overflowSize) {
+        // once overflown, keep overflowing until the consumer catches up, so the ring buffer
+        // can't starve the overflow queue and a producer's tasks stay in order
+        if (overflowQueue.isEmpty() && queue.offer(task)) {
+            return;
+        }
+
+        overflowSize.incrementAndGet();
+        overflowQueue.add(task);
+    }
+
+    @Override
+    public Object take(boolean priorityOnly) throws InterruptedException {
+        for (long idleCount = 0; ; idleCount++) {
+            Object task = poll(priorityOnly);
+            if (task != null) {
+                return task;
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            idleStrategy.idle(idleCount);
+        }
+    }
+
+    private Object poll(boolean priorityOnly) {
+        Object task = poll(priorityQueue, priorityOverflowQueue, priorityOverflowSize);
+        if (task != null || priorityOnly) {
+            return task;
+        }
+
+        return poll(normalQueue, normalOverflowQueue, normalOverflowSize);
+    }
+
+    private static Object poll(ManyToOneConcurrentArrayQueue<Object> queue,
+                               Queue<Object> overflowQueue, AtomicInteger overflowSize) {
+        Object task = queue.poll();
+        if (task != null) {
+            return task;
+        }
+
+        task = overflowQueue.poll();
+        if (task != null) {
+            overflowSize.decrementAndGet();
+        }
+        return task;
+    }
+}
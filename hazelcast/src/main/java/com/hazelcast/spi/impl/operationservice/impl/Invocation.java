@@ -609,6 +609,11 @@ public abstract class Invocation<T> extends BaseInvocation implements OperationR
 
         ServerConnection connection = connectionManager.getOrConnect(targetAddress, op.getPartitionId());
         this.connection = connection;
+        if (connection != null && context.operationService.invocationCoalescer.offer(this, connection)) {
+            // the coalescer sends the operation, possibly in a batch with other operations for the same partition
+            return;
+        }
+
         boolean write;
         if (connection != null) {
             write = context.outboundOperationHandler.send(op, connection);
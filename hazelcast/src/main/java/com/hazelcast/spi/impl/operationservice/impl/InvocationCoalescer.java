@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.cluster.Versions;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.metrics.StaticMetricsProvider;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.internal.util.collection.Int2ObjectHashMap;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.spi.exception.RetryableIOException;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionOperationBatch;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_INVOCATION_COALESCER_BATCHED_INVOCATIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_INVOCATION_COALESCER_BATCHES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_INVOCATION_COALESCER_INVOCATIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_INVOCATION_COALESCER_TOTAL_DELAY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.properties.ClusterProperty.INVOCATION_COALESCING_MAX_BATCH_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.INVOCATION_COALESCING_WINDOW;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Coalesces remote partition invocations.
+ * <p>
+ * Instead of sending every invocation in its own packet, the serialized
+ * operation is queued per target member. The first invocation queued for a
+ * member schedules a flush after the coalescing window. The flush groups
+ * the queued operations per partition and sends each group as one
+ * {@link PartitionOperationBatch}, so the target member enqueues and executes
+ * it as one unit on the partition thread. A group of a single operation is
+ * sent as a regular operation packet.
+ * <p>
+ * The operations keep their call ID, so the responses are demultiplexed to
+ * the individual invocations by the {@link InvocationRegistry} as usual. If a
+ * batch can't be written, the invocations that are still registered are
+ * notified and retried like any other invocation whose packet wasn't sent.
+ */
+class InvocationCoalescer implements StaticMetricsProvider {
+
+    @Probe(name = OPERATION_METRIC_INVOCATION_COALESCER_INVOCATIONS)
+    final MwCounter invocations = newMwCounter();
+    @Probe(name = OPERATION_METRIC_INVOCATION_COALESCER_BATCHES)
+    final MwCounter batches = newMwCounter();
+    @Probe(name = OPERATION_METRIC_INVOCATION_COALESCER_BATCHED_INVOCATIONS)
+    final MwCounter batchedInvocations = newMwCounter();
+    @Probe(name = OPERATION_METRIC_INVOCATION_COALESCER_TOTAL_DELAY, unit = NS)
+    final MwCounter totalDelayNanos = newMwCounter();
+
+    private final ConcurrentMap<Address, Pending> pendings = new ConcurrentHashMap<>();
+    private final NodeEngine nodeEngine;
+    private final InvocationRegistry invocationRegistry;
+    private final InternalSerializationService serializationService;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    InvocationCoalescer(NodeEngine nodeEngine,
+                        InvocationRegistry invocationRegistry,
+                        InternalSerializationService serializationService,
+                        HazelcastProperties properties) {
+        this.nodeEngine = nodeEngine;
+        this.invocationRegistry = invocationRegistry;
+        this.serializationService = serializationService;
+        this.windowNanos = properties.getNanos(INVOCATION_COALESCING_WINDOW);
+        this.maxBatchSize = properties.getInteger(INVOCATION_COALESCING_MAX_BATCH_SIZE);
+    }
+
+    @Override
+    public void provideStaticMetrics(MetricsRegistry registry) {
+        registry.registerStaticMetrics(this, OPERATION_PREFIX);
+    }
+
+    boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    /**
+     * Offers the invocation for coalescing.
+     *
+     * @param invocation the invocation to send
+     * @param connection the connection to send it over
+     * @return {@code true} if the invocation is going to be sent by the coalescer,
+     * {@code false} if the caller should send it itself
+     */
+    boolean offer(Invocation invocation, ServerConnection connection) {
+        if (!isCoalescable(invocation)) {
+            return false;
+        }
+
+        Operation op = invocation.op;
+        Pending pending = pendings.computeIfAbsent(connection.getRemoteAddress(), Pending::new);
+        pending.queue.offer(new Entry(invocation, connection, op.getCallId(), op.getPartitionId(),
+                serializationService.toBytes(op)));
+        invocations.inc();
+
+        if (pending.scheduled.compareAndSet(false, true)) {
+            nodeEngine.getExecutionService().getGlobalTaskScheduler()
+                    .schedule(() -> flush(pending), windowNanos, NANOSECONDS);
+        }
+        return true;
+    }
+
+    private boolean isCoalescable(Invocation invocation) {
+        return windowNanos > 0
+                && invocation instanceof PartitionInvocation
+                && !invocation.op.isUrgent()
+                && nodeEngine.getClusterService().getClusterVersion().isGreaterOrEqual(Versions.V4_2);
+    }
+
+    private void flush(Pending pending) {
+        // flushes of the same member are serialized to preserve the order of the operations per partition
+        synchronized (pending) {
+            pending.scheduled.set(false);
+
+            Int2ObjectHashMap<List<Entry>> entriesPerPartition = new Int2ObjectHashMap<>();
+            long now = System.nanoTime();
+            for (Entry entry = pending.queue.poll(); entry != null; entry = pending.queue.poll()) {
+                totalDelayNanos.inc(now - entry.queuedNanos);
+                List<Entry> entries = entriesPerPartition.get(entry.partitionId);
+                if (entries == null) {
+                    entries = new ArrayList<>();
+                    entriesPerPartition.put(entry.partitionId, entries);
+                }
+                entries.add(entry);
+            }
+
+            for (List<Entry> entries : entriesPerPartition.values()) {
+                for (int from = 0; from < entries.size(); from += maxBatchSize) {
+                    send(entries.subList(from, Math.min(from + maxBatchSize, entries.size())));
+                }
+            }
+
+            if (nodeEngine.getClusterService().getMember(pending.address) == null) {
+                pendings.remove(pending.address, pending);
+            }
+        }
+    }
+
+    private void send(List<Entry> entries) {
+        // operations of the same partition are always sent over the same connection
+        Entry first = entries.get(0);
+        ServerConnection connection = first.connection;
+        byte[] bytes;
+        if (entries.size() == 1) {
+            bytes = first.bytes;
+        } else {
+            byte[][] operations = new byte[entries.size()][];
+            for (int i = 0; i < operations.length; i++) {
+                operations[i] = entries.get(i).bytes;
+            }
+            bytes = serializationService.toBytes(new PartitionOperationBatch(first.partitionId, operations));
+            batches.inc();
+            batchedInvocations.inc(operations.length);
+        }
+
+        Packet packet = new Packet(bytes, first.partitionId).setPacketType(Packet.Type.OPERATION);
+        if (!connection.write(packet)) {
+            for (Entry entry : entries) {
+                // only notify the invocation if it hasn't been completed or retried in the meantime
+                if (invocationRegistry.get(entry.callId) == entry.invocation) {
+                    entry.invocation.notifyError(new RetryableIOException("Packet not sent over " + connection));
+                }
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final Address address;
+        private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Pending(Address address) {
+            this.address = address;
+        }
+    }
+
+    private static final class Entry {
+        private final Invocation invocation;
+        private final ServerConnection connection;
+        private final long callId;
+        private final int partitionId;
+        private final byte[] bytes;
+        private final long queuedNanos = System.nanoTime();
+
+        Entry(Invocation invocation, ServerConnection connection, long callId, int partitionId, byte[] bytes) {
+            this.invocation = invocation;
+            this.connection = connection;
+            this.callId = callId;
+            this.partitionId = partitionId;
+            this.bytes = bytes;
+        }
+    }
+}
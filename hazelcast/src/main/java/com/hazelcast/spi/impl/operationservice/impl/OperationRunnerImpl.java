@@ -35,6 +35,7 @@ import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.partition.InternalPartition;
 import com.hazelcast.internal.partition.PartitionReplica;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.internal.serialization.impl.SerializationServiceV1;
 import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.internal.util.ExceptionUtil;
@@ -50,6 +51,7 @@ import com.hazelcast.spi.exception.RetryableException;
 import com.hazelcast.spi.exception.WrongTargetException;
 import com.hazelcast.spi.impl.AllowedDuringPassiveState;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.spi.impl.operationservice.BlockingOperation;
 import com.hazelcast.spi.impl.operationservice.CallStatus;
@@ -60,6 +62,7 @@ import com.hazelcast.spi.impl.operationservice.OperationResponseHandler;
 import com.hazelcast.spi.impl.operationservice.ReadonlyOperation;
 import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation;
+import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionOperationBatch;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
@@ -67,6 +70,7 @@ import com.hazelcast.splitbrainprotection.SplitBrainProtectionException;
 import com.hazelcast.splitbrainprotection.impl.SplitBrainProtectionServiceImpl;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 
@@ -78,6 +82,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX_PARTITION;
 import static com.hazelcast.internal.metrics.MetricTarget.MANAGEMENT_CENTER;
 import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static com.hazelcast.spi.impl.operationservice.CallStatus.OFFLOAD_ORDINAL;
@@ -450,8 +455,16 @@ class OperationRunnerImpl extends OperationRunner implements StaticMetricsProvid
         ServerConnection connection = packet.getConn();
         Address caller = connection.getRemoteAddress();
         Operation op = null;
+        Object object = null;
         try {
-            Object object = nodeEngine.toObject(packet);
+            object = nodeEngine.toObject(packet);
+            if (object instanceof PartitionOperationBatch) {
+                if (publishCurrentTask) {
+                    currentTask = null;
+                }
+                runBatch((PartitionOperationBatch) object, packet);
+                return false;
+            }
             op = (Operation) object;
             op.setNodeEngine(nodeEngine);
             setCallerAddress(op, caller);
@@ -468,6 +481,11 @@ class OperationRunnerImpl extends OperationRunner implements StaticMetricsProvid
             }
             return run(op, startNanos);
         } catch (Throwable throwable) {
+            if (object == null && isPartitionOperationBatch(packet)) {
+                // the batch itself has no call ID, the invocations wait for the responses of the inner operations
+                sendBatchDeserializationErrors(packet, throwable);
+                throw ExceptionUtil.rethrow(throwable);
+            }
             // If exception happens we need to extract the callId from the bytes directly!
             long callId = extractOperationCallId(packet);
             outboundResponseHandler.send(connection.getConnectionManager(), caller,
@@ -484,6 +502,95 @@ class OperationRunnerImpl extends OperationRunner implements StaticMetricsProvid
         }
     }
 
+    /**
+     * Runs the operations of the batch one after another, as if each of them
+     * was received in its own packet.
+     * <p>
+     * If an operation can't be run yet, it is retried together with the rest
+     * of the batch, so the operations behind it don't overtake it.
+     */
+    private void runBatch(PartitionOperationBatch batch, Packet packet) {
+        byte[][] operations = batch.getOperations();
+        for (int i = 0; i < operations.length; i++) {
+            Packet operationPacket = new Packet(operations[i], packet.getPartitionId())
+                    .setPacketType(Packet.Type.OPERATION)
+                    .setConn(packet.getConn());
+            boolean retry;
+            try {
+                retry = run(operationPacket);
+            } catch (Throwable e) {
+                // the failure has already been logged and sent to the caller,
+                // it must not prevent the rest of the batch from running
+                ignore(e);
+                continue;
+            }
+
+            if (retry) {
+                Packet retryPacket = operationPacket;
+                if (i < operations.length - 1) {
+                    byte[][] remaining = Arrays.copyOfRange(operations, i, operations.length);
+                    byte[] bytes = node.getSerializationService().toBytes(new PartitionOperationBatch(batch.getPartitionId(),
+                            remaining));
+                    retryPacket = new Packet(bytes, packet.getPartitionId())
+                            .setPacketType(Packet.Type.OPERATION)
+                            .setConn(packet.getConn());
+                }
+                operationService.operationExecutor.accept(retryPacket);
+                return;
+            }
+        }
+    }
+
+    private boolean isPartitionOperationBatch(Data data) {
+        try {
+            return ((SerializationServiceV1) node.getSerializationService()).isIdentifiedDataSerializable(data,
+                    SpiDataSerializerHook.F_ID, SpiDataSerializerHook.PARTITION_OPERATION_BATCH);
+        } catch (Throwable e) {
+            ignore(e);
+            return false;
+        }
+    }
+
+    /**
+     * Sends an error response for every inner operation of a batch that failed
+     * to deserialize, as far as the operations can still be read. The call IDs
+     * of the operations that can't be read are lost, so their invocations fail
+     * only once they time out.
+     */
+    private void sendBatchDeserializationErrors(Packet packet, Throwable throwable) {
+        PartitionOperationBatch batch = new PartitionOperationBatch();
+        try {
+            batch.readData(((SerializationServiceV1) node.getSerializationService())
+                    .initDataSerializableInputAndSkipTheHeader(packet));
+        } catch (Throwable e) {
+            // the operations read before the failure are kept
+            ignore(e);
+        }
+
+        byte[][] operations = batch.getOperations();
+        if (operations == null) {
+            logOperationDeserializationException(throwable, 0);
+            return;
+        }
+
+        ServerConnection connection = packet.getConn();
+        for (byte[] bytes : operations) {
+            if (bytes == null) {
+                break;
+            }
+            long callId;
+            try {
+                callId = extractOperationCallId(new HeapData(bytes));
+            } catch (Throwable e) {
+                ignore(e);
+                continue;
+            }
+            outboundResponseHandler.send(connection.getConnectionManager(), connection.getRemoteAddress(),
+                    new ErrorResponse(throwable, callId, packet.isUrgent()));
+            logOperationDeserializationException(throwable, callId);
+        }
+    }
+
     /**
      * This method has a direct dependency on how objects are serialized.
      * If the stream format is changed, this extraction method must be changed as well.
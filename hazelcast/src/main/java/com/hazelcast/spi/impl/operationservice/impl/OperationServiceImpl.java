@@ -136,6 +136,7 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
     final BackpressureRegulator backpressureRegulator;
     final OutboundResponseHandler outboundResponseHandler;
     final OutboundOperationHandler outboundOperationHandler;
+    final InvocationCoalescer invocationCoalescer;
     volatile Invocation.Context invocationContext;
 
     private final InvocationMonitor invocationMonitor;
@@ -178,6 +179,8 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
 
         this.outboundOperationHandler = new OutboundOperationHandler(node, thisAddress, serializationService);
 
+        this.invocationCoalescer = new InvocationCoalescer(nodeEngine, invocationRegistry, serializationService, properties);
+
         this.backupHandler = new OperationBackupHandler(this, outboundOperationHandler);
 
         String hzName = nodeEngine.getHazelcastInstance().getName();
@@ -477,7 +480,8 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
     @Override
     public void provideStaticMetrics(MetricsRegistry registry) {
         registry.registerStaticMetrics(this, OPERATION_PREFIX);
-        registry.provideMetrics(invocationRegistry, invocationMonitor, inboundResponseHandlerSupplier, operationExecutor);
+        registry.provideMetrics(invocationRegistry, invocationMonitor, inboundResponseHandlerSupplier, operationExecutor,
+                invocationCoalescer);
     }
 
     public void start() {
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl.operations;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+
+/**
+ * Carries the serialized operations of multiple partition invocations for
+ * the same partition, coalesced into a single packet by the invoking member.
+ * <p>
+ * It is never run itself. The operation runner of the partition unpacks it
+ * and runs the operations one after another, exactly as if each of them was
+ * received in its own packet. So every operation keeps its own call ID,
+ * backups and response.
+ */
+public final class PartitionOperationBatch extends Operation implements IdentifiedDataSerializable {
+
+    private byte[][] operations;
+
+    public PartitionOperationBatch() {
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public PartitionOperationBatch(int partitionId, byte[][] operations) {
+        setPartitionId(partitionId);
+        this.operations = operations;
+    }
+
+    /**
+     * Returns the serialized operations in the order they were invoked.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public byte[][] getOperations() {
+        return operations;
+    }
+
+    @Override
+    public void run() {
+        throw new UnsupportedOperationException("A " + getClass().getSimpleName()
+                + " is unpacked by the operation runner and can't be run");
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SpiDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SpiDataSerializerHook.PARTITION_OPERATION_BATCH;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(operations.length);
+        for (byte[] operation : operations) {
+            out.writeByteArray(operation);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        operations = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            operations[i] = in.readByteArray();
+        }
+    }
+
+    @Override
+    protected void toString(StringBuilder sb) {
+        super.toString(sb);
+        sb.append(", operations=").append(operations == null ? 0 : operations.length);
+    }
+}
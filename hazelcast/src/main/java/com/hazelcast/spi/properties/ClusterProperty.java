@@ -45,6 +45,7 @@ import java.util.Map;
 import java.util.function.Function;
 
 import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -308,6 +309,20 @@ public final class ClusterProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.io.write.through", true);
 
+    /**
+     * The minimum size in bytes of a packet payload or client message for it
+     * to be written to the socket with a gathering write, instead of first
+     * being copied into the send buffer of the connection. Frames smaller
+     * than the threshold that precede it are written with the same write.
+     * <p>
+     * Gathering is not applied if another handler, e.g. TLS, encodes the data
+     * after the packet or client message encoder.
+     * <p>
+     * A value of 0 or less disables gathering, which is the default.
+     */
+    public static final HazelcastProperty IO_WRITE_GATHER_THRESHOLD
+            = new HazelcastProperty("hazelcast.io.write.gather.threshold", 0);
+
     /**
      * Property needed for concurrency detection so that write through can be
      * done correctly.
@@ -953,6 +968,152 @@ public final class ClusterProperty {
     public static final HazelcastProperty QUERY_MAX_LOCAL_PARTITION_LIMIT_FOR_PRE_CHECK
             = new HazelcastProperty("hazelcast.query.max.local.partition.limit.for.precheck", 3);
 
+    /**
+     * Page size of streaming query results of
+     * {@link IMap#entrySet(com.hazelcast.query.Predicate)},
+     * {@link IMap#keySet(com.hazelcast.query.Predicate)} and
+     * {@link IMap#values(com.hazelcast.query.Predicate)} invoked on members.
+     * <p>
+     * By default, the whole result of a query is collected from all the
+     * partitions before these methods return, so large results may cause
+     * heap spikes or exceed the {@link #QUERY_RESULT_SIZE_LIMIT}. When the
+     * streaming is enabled, the methods return a lazy collection fetching
+     * the matching entries partition by partition in pages of at most the
+     * configured size while the collection is iterated. The collection is
+     * not a snapshot: it may reflect changes made to the map during the
+     * iteration, but it never skips an unchanged entry or returns an entry
+     * twice. Streaming queries always scan the partitions, so selective
+     * indexed queries may be faster in the default mode. Paging and
+     * partition predicates are never streamed.
+     * <p>
+     * The streaming can be disabled by setting the value to {@code -1}
+     * (which is the default value).
+     */
+    public static final HazelcastProperty QUERY_STREAMING_PAGE_SIZE
+            = new HazelcastProperty("hazelcast.query.streaming.page.size", -1);
+
+    /**
+     * Maximum number of partition scan results of predicate queries cached
+     * per map on a member.
+     * <p>
+     * When the caching is enabled, the entries of a partition matching a
+     * predicate are remembered after a full partition scan, so repeating the
+     * query serves the partitions not mutated since then from the cache and
+     * scans only the mutated ones. Any mutation of a partition invalidates
+     * all the results cached for it. Only the queries built of the built-in
+     * predicates are cached; the queries served by indexes, paging queries,
+     * maps with the {@code NATIVE} in-memory format and partitions having
+     * expirable entries are never cached. The least recently used results
+     * are evicted when the limit is reached.
+     * <p>
+     * The caching can be disabled by setting the value to {@code -1} (which
+     * is the default value).
+     *
+     * @see #QUERY_RESULT_CACHE_MAX_PARTITION_RESULT_SIZE
+     */
+    public static final HazelcastProperty QUERY_RESULT_CACHE_SIZE
+            = new HazelcastProperty("hazelcast.query.result.cache.size", -1);
+
+    /**
+     * Maximum number of entries in a partition scan result cached by the
+     * query result cache, larger results are not cached.
+     *
+     * @see #QUERY_RESULT_CACHE_SIZE
+     */
+    public static final HazelcastProperty QUERY_RESULT_CACHE_MAX_PARTITION_RESULT_SIZE
+            = new HazelcastProperty("hazelcast.query.result.cache.max.partition.result.size", 1000);
+
+    /**
+     * Maximum estimated selectivity of a predicate query for which the
+     * indexes are used to run the query, in the range from {@code 0} to
+     * {@code 1}.
+     * <p>
+     * The selectivity of a query is estimated from the statistics of the
+     * distribution of the indexed values, which the indexes maintain as the
+     * entries are updated. A query estimated to match a larger fraction of
+     * the indexed entries is run using a full partition scan, which is
+     * parallelized across the partitions, instead of the index lookups.
+     * <p>
+     * The indexes are used regardless of the estimated selectivity if the
+     * value is {@code -1} (which is the default value).
+     */
+    public static final HazelcastProperty QUERY_INDEX_MAX_SELECTIVITY
+            = new HazelcastProperty("hazelcast.query.index.max.selectivity", -1D);
+
+    /**
+     * Maximum estimated size in bytes of the rows which a single local sort
+     * of the SQL engine keeps in memory.
+     * <p>
+     * A query sorting more rows on a member, like a query with the
+     * {@code ORDER BY} clause which cannot use an index, writes the sorted
+     * runs of the rows to the local disk, and merges the runs afterwards.
+     * The size of the rows is estimated from their types.
+     * <p>
+     * The default is 64 MB.
+     */
+    public static final HazelcastProperty SQL_SORT_MEMORY_BUDGET
+            = new HazelcastProperty("hazelcast.sql.sort.memory.budget.bytes", 64 * 1024 * 1024);
+
+    /**
+     * Directory for the sorted runs written to the local disk by the SQL
+     * engine, see {@link #SQL_SORT_MEMORY_BUDGET}.
+     * <p>
+     * The default temporary-file directory is used if the property is not
+     * set.
+     */
+    public static final HazelcastProperty SQL_SORT_SPILL_DIRECTORY
+            = new HazelcastProperty("hazelcast.sql.sort.spill.directory");
+
+    /**
+     * Flow control of the data exchanges between the members executing an
+     * SQL query.
+     * Valid values:
+     * <ul>
+     * <li>SIMPLE - a sender is given more memory when it is low on memory
+     * and the receiver has consumed its data</li>
+     * <li>CREDIT - the memory of a receiver is split between the senders
+     * proportionally to the rate at which their data is consumed, see
+     * {@link #SQL_FLOW_CONTROL_CREDIT_MEMORY}</li>
+     * </ul>
+     * <p>
+     * The default is {@code SIMPLE}.
+     */
+    public static final HazelcastProperty SQL_FLOW_CONTROL_TYPE
+            = new HazelcastProperty("hazelcast.sql.flow.control.type", "SIMPLE");
+
+    /**
+     * Maximum amount of memory in bytes occupied by the data received from
+     * all senders of a single exchange of an SQL query, when the
+     * {@code CREDIT} flow control is used, see
+     * {@link #SQL_FLOW_CONTROL_TYPE}.
+     * <p>
+     * The default is 8 MB.
+     */
+    public static final HazelcastProperty SQL_FLOW_CONTROL_CREDIT_MEMORY
+            = new HazelcastProperty("hazelcast.sql.flow.control.credit.memory.bytes", 8 * 1024 * 1024);
+
+    /**
+     * Maximum amount of memory in bytes that a single SQL query may reserve
+     * on a member for the data buffered by its operators and exchanges. The
+     * query is cancelled with an error when the limit is exceeded.
+     * <p>
+     * The amount is estimated from the sizes of the rows. The value of
+     * {@code 0} means that the memory is not limited, which is the default.
+     */
+    public static final HazelcastProperty SQL_MEMORY_QUERY_LIMIT
+            = new HazelcastProperty("hazelcast.sql.memory.query.limit.bytes", 0);
+
+    /**
+     * Maximum amount of memory in bytes that all SQL queries running on a
+     * member may reserve together, see {@link #SQL_MEMORY_QUERY_LIMIT}. A
+     * query that exceeds the limit is cancelled with an error.
+     * <p>
+     * The value of {@code 0} means that the memory is not limited, which is
+     * the default.
+     */
+    public static final HazelcastProperty SQL_MEMORY_MEMBER_LIMIT
+            = new HazelcastProperty("hazelcast.sql.memory.member.limit.bytes", 0);
+
     /**
      * Type of Query Optimizer.
      * Valid Values:
@@ -1178,6 +1339,22 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * Enables the columnar record storage for maps with
+     * {@link com.hazelcast.config.InMemoryFormat#BINARY} in-memory format.
+     * <p>
+     * Instead of allocating a record object and a hash-map node per entry,
+     * the columnar storage keeps record metadata in per-partition primitive
+     * arrays and creates record views on demand, which considerably reduces
+     * the heap overhead of maps with many small entries. Deserialized values
+     * are never cached in this mode, regardless of
+     * {@link com.hazelcast.config.MapConfig#getCacheDeserializedValues()}.
+     * <p>
+     * Default: false
+     */
+    public static final HazelcastProperty MAP_COLUMNAR_RECORD_STORAGE_ENABLED
+            = new HazelcastProperty("hazelcast.map.columnar.record.storage.enabled", false);
+
     /*
      * INVOCATION / OPERATION SYSTEM PROPERTIES
      */
@@ -1221,6 +1398,29 @@ public final class ClusterProperty {
             = new HazelcastProperty("hazelcast.invocation.retry.pause.millis",
             InvocationBuilder.DEFAULT_TRY_PAUSE_MILLIS, MILLISECONDS);
 
+    /**
+     * The time in microseconds that remote partition invocations are held back
+     * so that invocations for the same partition and member can be sent as a
+     * single batch. The batch is executed as one unit on the partition thread
+     * of the target member; every invocation still gets its own response.
+     * <p>
+     * This trades latency for throughput when many small invocations, e.g.
+     * {@code IMap.setAsync} or {@code IMap.getAsync} calls, target the same
+     * partitions. All members need to support it, so it is only applied when
+     * the cluster version is at least 4.2.
+     * <p>
+     * A value of 0 disables coalescing, which is the default.
+     */
+    public static final HazelcastProperty INVOCATION_COALESCING_WINDOW
+            = new HazelcastProperty("hazelcast.invocation.coalescing.window.micros", 0, MICROSECONDS);
+
+    /**
+     * The maximum number of invocations sent in a single batch when
+     * {@link #INVOCATION_COALESCING_WINDOW} is enabled.
+     */
+    public static final HazelcastProperty INVOCATION_COALESCING_MAX_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.invocation.coalescing.max.batch.size", 100);
+
     /**
      * Using back pressure, you can prevent an overload of pending asynchronous
      * backups. With a map with a single asynchronous backup, producing asynchronous
@@ -1319,6 +1519,24 @@ public final class ClusterProperty {
             = new HazelcastProperty("hazelcast.operation.thread.count",
             (Function<HazelcastProperties, Integer>) properties -> max(2, RuntimeAvailableProcessors.get()));
 
+    /**
+     * Enables the thread-per-core mode in which every partition operation
+     * thread is paired with a socket input thread.
+     * <p>
+     * In this mode the number of partition operation threads is the same as
+     * the number of socket input threads (see {@link #IO_INPUT_THREAD_COUNT})
+     * and the I/O balancer migrates the inbound side of a connection to the
+     * input thread paired with the partition thread that processes most of the
+     * packets or client messages read from that connection. Combined with the
+     * {@code hazelcast.io.input.thread.affinity} and
+     * {@code hazelcast.operation.thread.affinity} system properties set to the
+     * same CPUs, a packet is handed over between two threads that share a core.
+     * <p>
+     * It is disabled by default.
+     */
+    public static final HazelcastProperty OPERATION_THREAD_PER_CORE
+            = new HazelcastProperty("hazelcast.operation.thread.per.core", false);
+
     /**
      * The number of generic operation handler threads per member.
      * <p>
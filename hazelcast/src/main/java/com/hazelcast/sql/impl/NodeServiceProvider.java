@@ -19,6 +19,7 @@ package com.hazelcast.sql.impl;
 import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.util.Collection;
 import java.util.Set;
@@ -61,4 +62,9 @@ public interface NodeServiceProvider extends ClockProvider, LocalMemberIdProvide
      * @return Logger.
      */
     ILogger getLogger(Class<?> clazz);
+
+    /**
+     * @return Properties of the member.
+     */
+    HazelcastProperties getProperties();
 }
@@ -26,6 +26,7 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -100,4 +101,9 @@ public class NodeServiceProviderImpl implements NodeServiceProvider {
     public ILogger getLogger(Class<?> clazz) {
         return nodeEngine.getLogger(clazz);
     }
+
+    @Override
+    public HazelcastProperties getProperties() {
+        return nodeEngine.getProperties();
+    }
 }
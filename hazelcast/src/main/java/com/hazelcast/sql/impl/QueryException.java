@@ -91,6 +91,17 @@ public final class QueryException extends HazelcastException {
         return error(SqlErrorCode.CANCELLED_BY_USER, "Query was cancelled by the user");
     }
 
+    public static QueryException memoryLimitExceeded(String scope, long limit) {
+        return error(
+            SqlErrorCode.MEMORY_LIMIT_EXCEEDED,
+            "Query has been cancelled because it has exceeded the " + scope + " memory limit (" + limit + " bytes)"
+        );
+    }
+
+    public static QueryException preparedStatementNotFound(UUID handle) {
+        return error(SqlErrorCode.PREPARED_STATEMENT_NOT_FOUND, "Prepared statement is not found: " + handle);
+    }
+
     public static QueryException dataException(String message, Throwable cause) {
         return error(SqlErrorCode.DATA_EXCEPTION, message, cause);
     }
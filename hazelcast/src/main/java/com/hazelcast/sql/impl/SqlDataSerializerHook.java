@@ -22,6 +22,7 @@ import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
 import com.hazelcast.internal.util.ConstructorFunction;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.exec.agg.AggregateFunction;
 import com.hazelcast.sql.impl.exec.scan.index.IndexEqualsFilter;
 import com.hazelcast.sql.impl.exec.scan.index.IndexFilterValue;
 import com.hazelcast.sql.impl.exec.scan.index.IndexInFilter;
@@ -62,6 +63,7 @@ import com.hazelcast.sql.impl.expression.string.SubstringFunction;
 import com.hazelcast.sql.impl.expression.string.TrimFunction;
 import com.hazelcast.sql.impl.expression.string.UpperFunction;
 import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
+import com.hazelcast.sql.impl.extract.JsonQueryTargetDescriptor;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.operation.QueryBatchExchangeOperation;
 import com.hazelcast.sql.impl.operation.QueryCancelOperation;
@@ -70,16 +72,23 @@ import com.hazelcast.sql.impl.operation.QueryCheckResponseOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragment;
 import com.hazelcast.sql.impl.operation.QueryFlowControlExchangeOperation;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
 import com.hazelcast.sql.impl.plan.node.EmptyPlanNode;
 import com.hazelcast.sql.impl.plan.node.FetchPlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapKeyLookupPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.SendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRow;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.HeapRow;
@@ -178,7 +187,21 @@ public class SqlDataSerializerHook implements DataSerializerHook {
 
     public static final int EXPRESSION_REMAINDER = 64;
 
-    public static final int LEN = EXPRESSION_REMAINDER + 1;
+    public static final int NODE_AGGREGATE = 65;
+    public static final int NODE_UNICAST_SEND = 66;
+    public static final int AGGREGATE_FUNCTION = 67;
+    public static final int NODE_HASH_JOIN = 68;
+    public static final int NODE_BROADCAST_SEND = 69;
+
+    public static final int ROW_BATCH_COLUMNAR = 70;
+
+    public static final int NODE_SORT = 71;
+
+    public static final int NODE_MAP_KEY_LOOKUP = 72;
+
+    public static final int TARGET_DESCRIPTOR_JSON = 73;
+
+    public static final int LEN = TARGET_DESCRIPTOR_JSON + 1;
 
     @Override
     public int getFactoryId() {
@@ -271,6 +294,20 @@ public class SqlDataSerializerHook implements DataSerializerHook {
 
         constructors[EXPRESSION_REMAINDER] = arg -> new RemainderFunction<>();
 
+        constructors[NODE_AGGREGATE] = arg -> new AggregatePlanNode();
+        constructors[NODE_UNICAST_SEND] = arg -> new UnicastSendPlanNode();
+        constructors[AGGREGATE_FUNCTION] = arg -> new AggregateFunction();
+        constructors[NODE_HASH_JOIN] = arg -> new HashJoinPlanNode();
+        constructors[NODE_BROADCAST_SEND] = arg -> new BroadcastSendPlanNode();
+
+        constructors[ROW_BATCH_COLUMNAR] = arg -> new ColumnarRowBatch();
+
+        constructors[NODE_SORT] = arg -> new SortPlanNode();
+
+        constructors[NODE_MAP_KEY_LOOKUP] = arg -> new MapKeyLookupPlanNode();
+
+        constructors[TARGET_DESCRIPTOR_JSON] = arg -> JsonQueryTargetDescriptor.DEFAULT;
+
         return new ArrayDataSerializableFactory(constructors);
     }
 }
@@ -47,6 +47,12 @@ public final class SqlErrorCode {
     /** An error caused by an attempt to query an index that is not valid. */
     public static final int INDEX_INVALID = 1009;
 
+    /** Query was cancelled because it has exceeded the memory limit. */
+    public static final int MEMORY_LIMIT_EXCEEDED = 1010;
+
+    /** A prepared statement with the given handle is not known to the member. */
+    public static final int PREPARED_STATEMENT_NOT_FOUND = 1011;
+
     /** An error with data conversion or transformation. */
     public static final int DATA_EXCEPTION = 2000;
 
@@ -17,16 +17,25 @@
 package com.hazelcast.sql.impl;
 
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlType;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.credit.CreditFlowControlFactory;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControlFactory;
 import com.hazelcast.sql.impl.exec.root.BlockingRootResultConsumer;
+import com.hazelcast.sql.impl.exec.scan.MapKeyLookupExec;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFactory;
 import com.hazelcast.sql.impl.operation.QueryOperationHandlerImpl;
 import com.hazelcast.sql.impl.plan.Plan;
 import com.hazelcast.sql.impl.plan.cache.CachedPlanInvalidationCallback;
 import com.hazelcast.sql.impl.plan.cache.PlanCacheChecker;
+import com.hazelcast.sql.impl.plan.node.MapKeyLookupPlanNode;
 import com.hazelcast.sql.impl.state.QueryClientStateRegistry;
 import com.hazelcast.sql.impl.state.QueryState;
 import com.hazelcast.sql.impl.state.QueryStateRegistry;
@@ -47,9 +56,6 @@ public class SqlInternalService {
     /** Memory assigned to a single edge mailbox. Will be reworked to dynamic mode when memory manager is implemented. */
     private static final long MEMORY_PER_EDGE_MAILBOX = 512 * 1024;
 
-    /** Default flow control factory. */
-    private static final FlowControlFactory FLOW_CONTROL_FACTORY = SimpleFlowControlFactory.INSTANCE;
-
     /** Node service provider. */
     private final NodeServiceProvider nodeServiceProvider;
 
@@ -78,7 +84,13 @@ public class SqlInternalService {
         this.nodeServiceProvider = nodeServiceProvider;
 
         // Create state registries since they do not depend on anything.
-        stateRegistry = new QueryStateRegistry(nodeServiceProvider);
+        HazelcastProperties properties = nodeServiceProvider.getProperties();
+
+        stateRegistry = new QueryStateRegistry(
+            nodeServiceProvider,
+            properties.getLong(ClusterProperty.SQL_MEMORY_MEMBER_LIMIT),
+            properties.getLong(ClusterProperty.SQL_MEMORY_QUERY_LIMIT)
+        );
         clientStateRegistry = new QueryClientStateRegistry();
 
         // Operation handler depends on state registry.
@@ -88,7 +100,7 @@ public class SqlInternalService {
             serializationService,
             stateRegistry,
             outboxBatchSize,
-            FLOW_CONTROL_FACTORY,
+            createFlowControlFactory(properties),
             fragmentThreadCount,
             operationThreadCount
         );
@@ -140,8 +152,11 @@ public class SqlInternalService {
         }
 
         // Prepare mappings.
+        Map<UUID, PartitionIdSet> partitionMap = getPartitionMap(plan, params, localMemberId);
+
         QueryExecuteOperationFactory operationFactory = new QueryExecuteOperationFactory(
             plan,
+            partitionMap,
             params,
             createEdgeInitialMemoryMapForPlan(plan)
         );
@@ -169,7 +184,7 @@ public class SqlInternalService {
             operationHandler.submitLocal(localMemberId, localOp);
 
             // Start execution on remote members.
-            for (UUID memberId : plan.getMemberIds()) {
+            for (UUID memberId : partitionMap.keySet()) {
                 if (memberId.equals(localMemberId)) {
                     continue;
                 }
@@ -193,6 +208,72 @@ public class SqlInternalService {
         operationHandler.onPacket(packet);
     }
 
+    /**
+     * Get the partitions involved in the query. When all map accesses of the plan are key lookups, only the partitions of
+     * the keys are involved, and the query is not started on the members which do not own them.
+     *
+     * @return Partitions of the members which participate in the query.
+     */
+    private Map<UUID, PartitionIdSet> getPartitionMap(Plan plan, List<Object> params, UUID localMemberId) {
+        Map<UUID, PartitionIdSet> partitionMap = plan.getPartitionMap();
+        List<MapKeyLookupPlanNode> keyLookups = plan.getKeyLookups();
+
+        if (keyLookups == null) {
+            return partitionMap;
+        }
+
+        int partitionCount = partitionMap.get(localMemberId).getPartitionCount();
+
+        // The initiator always participates, because it executes the root fragment.
+        Map<UUID, PartitionIdSet> res = new HashMap<>();
+        res.put(localMemberId, new PartitionIdSet(partitionCount));
+
+        for (MapKeyLookupPlanNode keyLookup : keyLookups) {
+            MapContainer map = nodeServiceProvider.getMap(keyLookup.getMapName());
+
+            if (map == null) {
+                // The partitioning strategy of the map is not known locally, so the partitions of the keys are unknown.
+                return partitionMap;
+            }
+
+            for (Data key : MapKeyLookupExec.evaluateKeys(map, keyLookup.getKeys(), params::get)) {
+                int partitionId = MapKeyLookupExec.getPartitionId(map, key);
+
+                UUID ownerId = getPartitionOwner(partitionMap, partitionId);
+
+                if (ownerId == null) {
+                    return partitionMap;
+                }
+
+                res.computeIfAbsent(ownerId, (k) -> new PartitionIdSet(partitionCount)).add(partitionId);
+            }
+        }
+
+        return res;
+    }
+
+    private static UUID getPartitionOwner(Map<UUID, PartitionIdSet> partitionMap, int partitionId) {
+        for (Map.Entry<UUID, PartitionIdSet> entry : partitionMap.entrySet()) {
+            if (entry.getValue().contains(partitionId)) {
+                return entry.getKey();
+            }
+        }
+
+        return null;
+    }
+
+    private static FlowControlFactory createFlowControlFactory(HazelcastProperties properties) {
+        FlowControlType type = properties.getEnum(ClusterProperty.SQL_FLOW_CONTROL_TYPE, FlowControlType.class);
+
+        switch (type) {
+            case CREDIT:
+                return new CreditFlowControlFactory(properties.getLong(ClusterProperty.SQL_FLOW_CONTROL_CREDIT_MEMORY));
+
+            default:
+                return SimpleFlowControlFactory.INSTANCE;
+        }
+    }
+
     private Map<Integer, Long> createEdgeInitialMemoryMapForPlan(Plan plan) {
         Map<Integer, Integer> inboundEdgeMemberCountMap = plan.getInboundEdgeMemberCountMap();
 
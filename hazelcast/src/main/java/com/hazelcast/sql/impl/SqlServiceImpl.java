@@ -18,6 +18,7 @@ package com.hazelcast.sql.impl;
 
 import com.hazelcast.config.SqlConfig;
 import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.Preconditions;
@@ -38,6 +39,8 @@ import com.hazelcast.sql.impl.plan.cache.CacheablePlan;
 import com.hazelcast.sql.impl.plan.cache.PlanCache;
 import com.hazelcast.sql.impl.plan.cache.PlanCacheChecker;
 import com.hazelcast.sql.impl.plan.cache.PlanCacheKey;
+import com.hazelcast.sql.impl.plan.cache.PreparedStatement;
+import com.hazelcast.sql.impl.plan.cache.PreparedStatementRegistry;
 import com.hazelcast.sql.impl.schema.SqlCatalog;
 import com.hazelcast.sql.impl.schema.TableResolver;
 import com.hazelcast.sql.impl.schema.map.JetMapMetadataResolver;
@@ -53,9 +56,11 @@ import java.security.AccessControlException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_PREFIX_PLAN_CACHE;
 import static com.hazelcast.sql.SqlExpectedResultType.ANY;
 import static com.hazelcast.sql.SqlExpectedResultType.ROWS;
 import static com.hazelcast.sql.SqlExpectedResultType.UPDATE_COUNT;
@@ -80,6 +85,7 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
     private final NodeEngineImpl nodeEngine;
     private final NodeServiceProviderImpl nodeServiceProvider;
     private final PlanCache planCache = new PlanCache(PLAN_CACHE_SIZE);
+    private final PreparedStatementRegistry preparedStatements = new PreparedStatementRegistry(PLAN_CACHE_SIZE);
 
     private final int executorPoolSize;
     private final int operationPoolSize;
@@ -131,6 +137,10 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
 
         optimizer = createOptimizer(nodeEngine, jetSqlCoreBackend);
 
+        MetricsRegistry metricsRegistry = nodeEngine.getMetricsRegistry();
+        metricsRegistry.registerStaticMetrics(planCache, SQL_PREFIX_PLAN_CACHE);
+        metricsRegistry.registerStaticMetrics(preparedStatements, SQL_PREFIX_PLAN_CACHE);
+
         String instanceName = nodeEngine.getHazelcastInstance().getName();
         InternalSerializationService serializationService = (InternalSerializationService) nodeEngine.getSerializationService();
         PlanCacheChecker planCacheChecker = new PlanCacheChecker(
@@ -153,6 +163,7 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
 
     public void reset() {
         planCache.clear();
+        preparedStatements.clear();
         if (jetSqlCoreBackend != null) {
             jetSqlCoreBackend.reset();
         }
@@ -160,6 +171,7 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
 
     public void shutdown() {
         planCache.clear();
+        preparedStatements.clear();
         if (jetSqlCoreBackend != null) {
             jetSqlCoreBackend.shutdown(true);
         }
@@ -197,6 +209,10 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
         return planCache;
     }
 
+    public PreparedStatementRegistry getPreparedStatements() {
+        return preparedStatements;
+    }
+
     @Nonnull
     @Override
     public SqlResult execute(@Nonnull SqlStatement statement) {
@@ -225,10 +241,15 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
                 queryId = QueryId.create(nodeServiceProvider.getLocalMemberId());
             }
 
+            String sql = statement.getSql();
+
+            if (sql == null || sql.isEmpty()) {
+                throw QueryException.error("SQL statement cannot be empty.");
+            }
+
             return query0(
                 queryId,
-                statement.getSchema(),
-                statement.getSql(),
+                new PlanCacheKey(prepareSearchPaths(statement.getSchema()), sql),
                 statement.getParameters(),
                 timeout,
                 statement.getCursorBufferSize(),
@@ -242,6 +263,89 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
         }
     }
 
+    /**
+     * Prepares the statement for the subsequent execution with {@link #executePrepared}.
+     *
+     * @return Handle of the prepared statement.
+     */
+    public UUID prepare(
+        String schema,
+        String sql,
+        SqlExpectedResultType expectedResultType,
+        SqlSecurityContext securityContext
+    ) {
+        try {
+            if (nodeEngine.getLocalMember().isLiteMember()) {
+                throw QueryException.error("SQL queries cannot be executed on lite members");
+            }
+
+            if (sql == null || sql.isEmpty()) {
+                throw QueryException.error("SQL statement cannot be empty.");
+            }
+
+            PlanCacheKey planKey = new PlanCacheKey(prepareSearchPaths(schema), sql);
+
+            // Validate the statement and warm up the plan cache, so that the first execution doesn't pay for the parsing.
+            SqlPlan plan = prepare(planKey, expectedResultType);
+
+            if (securityContext.isSecurityEnabled()) {
+                plan.checkPermissions(securityContext);
+            }
+
+            return preparedStatements.register(planKey, expectedResultType);
+        } catch (AccessControlException e) {
+            throw e;
+        } catch (Exception e) {
+            throw QueryUtils.toPublicException(e, nodeServiceProvider.getLocalMemberId());
+        }
+    }
+
+    /**
+     * Executes the statement previously prepared with {@link #prepare}.
+     */
+    public SqlResult executePrepared(
+        UUID handle,
+        List<Object> params,
+        long timeout,
+        int cursorBufferSize,
+        SqlSecurityContext securityContext,
+        QueryId queryId
+    ) {
+        try {
+            if (nodeEngine.getLocalMember().isLiteMember()) {
+                throw QueryException.error("SQL queries cannot be executed on lite members");
+            }
+
+            PreparedStatement statement = preparedStatements.get(handle);
+
+            if (statement == null) {
+                throw QueryException.preparedStatementNotFound(handle);
+            }
+
+            if (timeout == SqlStatement.TIMEOUT_NOT_SET) {
+                timeout = queryTimeout;
+            }
+
+            if (queryId == null) {
+                queryId = QueryId.create(nodeServiceProvider.getLocalMemberId());
+            }
+
+            return query0(
+                queryId,
+                statement.getPlanKey(),
+                params,
+                timeout,
+                cursorBufferSize,
+                statement.getExpectedResultType(),
+                securityContext
+            );
+        } catch (AccessControlException e) {
+            throw e;
+        } catch (Exception e) {
+            throw QueryUtils.toPublicException(e, nodeServiceProvider.getLocalMemberId());
+        }
+    }
+
     @Override
     public void accept(Packet packet) {
         internalService.onPacket(packet);
@@ -249,8 +353,7 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
 
     private SqlResult query0(
         QueryId queryId,
-        String schema,
-        String sql,
+        PlanCacheKey planKey,
         List<Object> params,
         long timeout,
         int pageSize,
@@ -258,10 +361,6 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
         SqlSecurityContext securityContext
     ) {
         // Validate and normalize
-        if (sql == null || sql.isEmpty()) {
-            throw QueryException.error("SQL statement cannot be empty.");
-        }
-
         List<Object> params0 = new ArrayList<>(params);
 
         if (timeout < 0) {
@@ -273,7 +372,7 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
         }
 
         // Prepare and execute
-        SqlPlan plan = prepare(schema, sql, expectedResultType);
+        SqlPlan plan = prepare(planKey, expectedResultType);
 
         if (securityContext.isSecurityEnabled()) {
             plan.checkPermissions(securityContext);
@@ -282,17 +381,17 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
         return execute(queryId, plan, params0, timeout, pageSize);
     }
 
-    private SqlPlan prepare(String schema, String sql, SqlExpectedResultType expectedResultType) {
-        List<List<String>> searchPaths = prepareSearchPaths(schema);
-
-        PlanCacheKey planKey = new PlanCacheKey(searchPaths, sql);
-
+    private SqlPlan prepare(PlanCacheKey planKey, SqlExpectedResultType expectedResultType) {
         SqlPlan plan = planCache.get(planKey);
 
         if (plan == null) {
             SqlCatalog catalog = new SqlCatalog(tableResolvers);
 
-            plan = optimizer.prepare(new OptimizationTask(sql, searchPaths, catalog));
+            long startTime = System.nanoTime();
+
+            plan = optimizer.prepare(new OptimizationTask(planKey.getSql(), planKey.getSearchPaths(), catalog));
+
+            planCache.onOptimized(System.nanoTime() - startTime);
 
             if (plan instanceof CacheablePlan) {
                 CacheablePlan plan0 = (CacheablePlan) plan;
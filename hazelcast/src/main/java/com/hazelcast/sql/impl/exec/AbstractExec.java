@@ -71,10 +71,19 @@ public abstract class AbstractExec implements Exec {
         return res != null ? res : EmptyRowBatch.INSTANCE;
     }
 
+    @Override
+    public final void release() {
+        release0();
+    }
+
     protected void setup0(QueryFragmentContext ctx) {
         // No-op.
     }
 
+    protected void release0() {
+        // No-op.
+    }
+
     protected abstract IterationResult advance0();
 
     protected abstract RowBatch currentBatch0();
@@ -16,6 +16,7 @@
 
 package com.hazelcast.sql.impl.exec;
 
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.ListRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
@@ -27,7 +28,8 @@ import java.util.List;
  * Abstract filter executor that removes rows from the output based on a condition.
  * <p>
  * Currently the executor batches rows, and reports progress only when the batch is full or when EOS has been reached.
- * This is done to minimize the operator evaluation overhead.
+ * This is done to minimize the operator evaluation overhead. Columnar batches are filtered as a whole and passed to the
+ * parent operator without copying to rows.
  * <p>
  * The compiled counterpart does not require batching.
  */
@@ -36,7 +38,7 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
     static final int BATCH_SIZE = 1024;
 
     private List<Row> currentRows;
-    private ListRowBatch currentBatch;
+    private RowBatch currentBatch;
 
     protected AbstractFilterExec(int id, Exec upstream) {
         super(id, upstream);
@@ -57,6 +59,20 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
                 return IterationResult.WAIT;
             }
 
+            // Filter columnar batch as a whole if there are no pending rows.
+            if (count == 0 && state.isColumnarBatchAvailable()) {
+                ColumnarRowBatch batch = evalBatch((ColumnarRowBatch) state.consumeBatch());
+
+                if (batch.getRowCount() > 0 || state.isDone()) {
+                    currentRows = null;
+                    currentBatch = batch;
+
+                    return state.isDone() ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+                }
+
+                continue;
+            }
+
             // Consume results until the batch is full.
             for (Row upstreamRow : state) {
                 boolean matches = eval(upstreamRow);
@@ -89,4 +105,29 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
     }
 
     protected abstract boolean eval(Row row);
+
+    /**
+     * Filter the columnar batch. The default implementation evaluates the condition row by row.
+     *
+     * @param batch Batch.
+     * @return Batch with matching rows only.
+     */
+    protected ColumnarRowBatch evalBatch(ColumnarRowBatch batch) {
+        int rowCount = batch.getRowCount();
+
+        int[] positions = new int[rowCount];
+        int count = 0;
+
+        ColumnarRowBatch.Cursor cursor = batch.cursor();
+
+        for (int i = 0; i < rowCount; i++) {
+            cursor.setPosition(i);
+
+            if (eval(cursor)) {
+                positions[count++] = i;
+            }
+        }
+
+        return batch.select(positions, count);
+    }
 }
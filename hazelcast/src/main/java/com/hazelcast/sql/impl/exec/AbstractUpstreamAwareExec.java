@@ -50,8 +50,21 @@ public abstract class AbstractUpstreamAwareExec extends AbstractExec {
         setup1(ctx);
     }
 
+    @Override
+    protected final void release0() {
+        try {
+            release1();
+        } finally {
+            state.release();
+        }
+    }
+
     protected void setup1(QueryFragmentContext ctx) {
         // No-op.
     }
 
+    protected void release1() {
+        // No-op.
+    }
+
 }
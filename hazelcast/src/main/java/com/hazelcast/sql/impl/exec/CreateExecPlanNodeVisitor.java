@@ -19,8 +19,13 @@ package com.hazelcast.sql.impl.exec;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.sql.impl.NodeServiceProvider;
+import com.hazelcast.sql.impl.exec.agg.AggregateExec;
 import com.hazelcast.sql.impl.exec.fetch.FetchExec;
+import com.hazelcast.sql.impl.exec.io.BroadcastSendExec;
+import com.hazelcast.sql.impl.exec.io.ExchangeMetrics;
 import com.hazelcast.sql.impl.exec.io.InboundHandler;
 import com.hazelcast.sql.impl.exec.io.Inbox;
 import com.hazelcast.sql.impl.exec.io.OutboundHandler;
@@ -29,29 +34,40 @@ import com.hazelcast.sql.impl.exec.io.ReceiveExec;
 import com.hazelcast.sql.impl.exec.io.ReceiveSortMergeExec;
 import com.hazelcast.sql.impl.exec.io.SendExec;
 import com.hazelcast.sql.impl.exec.io.StripedInbox;
+import com.hazelcast.sql.impl.exec.io.UnicastSendExec;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
+import com.hazelcast.sql.impl.exec.join.HashJoinExec;
 import com.hazelcast.sql.impl.exec.root.RootExec;
+import com.hazelcast.sql.impl.exec.scan.MapKeyLookupExec;
 import com.hazelcast.sql.impl.exec.scan.MapScanExec;
 import com.hazelcast.sql.impl.exec.scan.index.MapIndexScanExec;
+import com.hazelcast.sql.impl.exec.sort.SortExec;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragment;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragmentMapping;
 import com.hazelcast.sql.impl.operation.QueryOperationHandler;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
 import com.hazelcast.sql.impl.plan.node.EmptyPlanNode;
 import com.hazelcast.sql.impl.plan.node.FetchPlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapKeyLookupPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNodeVisitor;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.EdgeAwarePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.SendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -107,6 +123,11 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
      */
     private final CreateExecPlanNodeVisitorHook hook;
 
+    /**
+     * Backpressure metrics of the query.
+     */
+    private final ExchangeMetrics exchangeMetrics;
+
     /**
      * Stack of elements to be merged.
      */
@@ -137,6 +158,33 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         PartitionIdSet localParts,
         int outboxBatchSize,
         CreateExecPlanNodeVisitorHook hook
+    ) {
+        this(
+            operationHandler,
+            nodeServiceProvider,
+            serializationService,
+            localMemberId,
+            operation,
+            flowControlFactory,
+            localParts,
+            outboxBatchSize,
+            hook,
+            new ExchangeMetrics()
+        );
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public CreateExecPlanNodeVisitor(
+        QueryOperationHandler operationHandler,
+        NodeServiceProvider nodeServiceProvider,
+        InternalSerializationService serializationService,
+        UUID localMemberId,
+        QueryExecuteOperation operation,
+        FlowControlFactory flowControlFactory,
+        PartitionIdSet localParts,
+        int outboxBatchSize,
+        CreateExecPlanNodeVisitorHook hook,
+        ExchangeMetrics exchangeMetrics
     ) {
         this.operationHandler = operationHandler;
         this.nodeServiceProvider = nodeServiceProvider;
@@ -147,6 +195,7 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         this.localParts = localParts;
         this.outboxBatchSize = outboxBatchSize;
         this.hook = hook;
+        this.exchangeMetrics = exchangeMetrics;
     }
 
     @Override
@@ -199,6 +248,20 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         exec = new SendExec(node.getId(), pop(), outboxes[0]);
     }
 
+    @Override
+    public void onUnicastSendNode(UnicastSendPlanNode node) {
+        Outbox[] outboxes = prepareOutboxes(node);
+
+        exec = new UnicastSendExec(node.getId(), pop(), outboxes, node.getHashColumns());
+    }
+
+    @Override
+    public void onBroadcastSendNode(BroadcastSendPlanNode node) {
+        Outbox[] outboxes = prepareOutboxes(node);
+
+        exec = new BroadcastSendExec(node.getId(), pop(), outboxes);
+    }
+
     @Override
     public void onReceiveSortMergeNode(ReceiveSortMergePlanNode node) {
         // Navigate to sender exec and calculate total number of sender stripes.
@@ -247,6 +310,65 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         push(res);
     }
 
+    @Override
+    public void onAggregateNode(AggregatePlanNode node) {
+        Exec upstream = pop();
+
+        AggregateExec res = new AggregateExec(
+            node.getId(),
+            upstream,
+            node.getGroupKey(),
+            node.getFunctions(),
+            node.getPhase(),
+            node.getSchema().getEstimatedRowSize()
+        );
+
+        push(res);
+    }
+
+    @Override
+    public void onHashJoinNode(HashJoinPlanNode node) {
+        // The right input is visited last, hence it is on top of the stack.
+        Exec right = pop();
+        Exec left = pop();
+
+        HashJoinExec res = new HashJoinExec(
+            node.getId(),
+            left,
+            right,
+            node.getLeftKey(),
+            node.getRightKey(),
+            node.getCondition(),
+            node.isOuter(),
+            node.getRight().getSchema().getTypes().size(),
+            node.getRight().getSchema().getEstimatedRowSize()
+        );
+
+        push(res);
+    }
+
+    @Override
+    public void onSortNode(SortPlanNode node) {
+        Exec upstream = pop();
+
+        HazelcastProperties properties = nodeServiceProvider.getProperties();
+        String spillDirectory = properties.getString(ClusterProperty.SQL_SORT_SPILL_DIRECTORY);
+
+        SortExec res = new SortExec(
+            node.getId(),
+            upstream,
+            node.getColumnIndexes(),
+            node.getAscs(),
+            node.getFetch(),
+            node.getOffset(),
+            serializationService,
+            properties.getLong(ClusterProperty.SQL_SORT_MEMORY_BUDGET),
+            node.getSchema().getEstimatedRowSize(),
+            spillDirectory != null ? new File(spillDirectory) : null
+        );
+
+        push(res);
+    }
 
     /**
      * Prepare outboxes for the given sender node.
@@ -278,7 +400,8 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
                 localMemberId,
                 receiveMemberId,
                 outboxBatchSize,
-                operation.getEdgeInitialMemoryMap().get(edgeId)
+                operation.getEdgeInitialMemoryMap().get(edgeId),
+                exchangeMetrics
             );
 
             edgeOutboxes.put(receiveMemberId, outbox);
@@ -294,7 +417,8 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         Exec res = new ProjectExec(
             node.getId(),
             pop(),
-            node.getProjects()
+            node.getProjects(),
+            node.getCompiledProjects()
         );
 
         push(res);
@@ -305,7 +429,8 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         Exec res = new FilterExec(
             node.getId(),
             pop(),
-            node.getFilter()
+            node.getFilter(),
+            node.getCompiledFilter()
         );
 
         push(res);
@@ -389,6 +514,39 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         push(res);
     }
 
+    @Override
+    public void onMapKeyLookupNode(MapKeyLookupPlanNode node) {
+        Exec res;
+
+        if (localParts.isEmpty()) {
+            res = new EmptyExec(node.getId());
+        } else {
+            String mapName = node.getMapName();
+
+            MapContainer map = nodeServiceProvider.getMap(mapName);
+
+            if (map == null) {
+                res = new EmptyExec(node.getId());
+            } else {
+                res = new MapKeyLookupExec(
+                    node.getId(),
+                    map,
+                    localParts,
+                    node.getKeyDescriptor(),
+                    node.getValueDescriptor(),
+                    node.getFieldPaths(),
+                    node.getFieldTypes(),
+                    node.getProjects(),
+                    node.getFilter(),
+                    node.getKeys(),
+                    serializationService
+                );
+            }
+        }
+
+        push(res);
+    }
+
     @Override
     public void onOtherNode(PlanNode node) {
         if (node instanceof CreateExecPlanNodeVisitorCallback) {
@@ -440,7 +598,7 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
     private FlowControl createFlowControl(int edgeId) {
         long initialMemory = operation.getEdgeInitialMemoryMap().get(edgeId);
 
-        return flowControlFactory.create(initialMemory);
+        return flowControlFactory.create(initialMemory, exchangeMetrics);
     }
 
     private Collection<UUID> getFragmentMembers(QueryExecuteOperationFragment fragment) {
@@ -46,4 +46,10 @@ public interface Exec {
      * @return Current batch available in response to the previous {@link #advance()} call. Should never be null.
      */
     RowBatch currentBatch();
+
+    /**
+     * Release the resources held by the executor and its upstreams. Called once by the fragment when the execution is
+     * completed, failed or cancelled, possibly before the executor was set up. The executor is not advanced afterwards.
+     */
+    void release();
 }
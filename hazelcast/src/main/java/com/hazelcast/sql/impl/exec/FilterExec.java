@@ -16,7 +16,10 @@
 
 package com.hazelcast.sql.impl.exec;
 
+import com.hazelcast.sql.impl.expression.CompiledExpression;
 import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 
 /**
@@ -25,20 +28,44 @@ import com.hazelcast.sql.impl.row.Row;
 public class FilterExec extends AbstractFilterExec {
 
     private final Expression<Boolean> filter;
+    private final CompiledExpression<Boolean> compiledFilter;
 
     public FilterExec(int id, Exec upstream, Expression<Boolean> filter) {
+        this(id, upstream, filter, filter.compile());
+    }
+
+    public FilterExec(int id, Exec upstream, Expression<Boolean> filter, CompiledExpression<Boolean> compiledFilter) {
         super(id, upstream);
 
         this.filter = filter;
+        this.compiledFilter = compiledFilter;
     }
 
     @Override
     protected boolean eval(Row row) {
-        Boolean res = filter.eval(row, ctx);
+        Boolean res = compiledFilter.eval(row, ctx);
 
         return res != null && res;
     }
 
+    @Override
+    protected ColumnarRowBatch evalBatch(ColumnarRowBatch batch) {
+        ColumnVector res = filter.evalBatch(batch, ctx);
+
+        int rowCount = batch.getRowCount();
+
+        int[] positions = new int[rowCount];
+        int count = 0;
+
+        for (int i = 0; i < rowCount; i++) {
+            if (!res.isNull(i) && res.getBoolean(i)) {
+                positions[count++] = i;
+            }
+        }
+
+        return batch.select(positions, count);
+    }
+
     public Expression<Boolean> getFilter() {
         return filter;
     }
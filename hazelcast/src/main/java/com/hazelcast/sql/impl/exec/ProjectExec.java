@@ -16,7 +16,10 @@
 
 package com.hazelcast.sql.impl.exec;
 
+import com.hazelcast.sql.impl.expression.CompiledExpression;
 import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.HeapRow;
 import com.hazelcast.sql.impl.row.ListRowBatch;
@@ -33,12 +36,18 @@ import java.util.List;
 public class ProjectExec extends AbstractUpstreamAwareExec {
 
     private final List<Expression> projects;
+    private final List<CompiledExpression<?>> compiledProjects;
     private RowBatch currentBatch;
 
     public ProjectExec(int id, Exec upstream, List<Expression> projects) {
+        this(id, upstream, projects, CompiledExpression.compile(projects));
+    }
+
+    public ProjectExec(int id, Exec upstream, List<Expression> projects, List<CompiledExpression<?>> compiledProjects) {
         super(id, upstream);
 
         this.projects = projects;
+        this.compiledProjects = compiledProjects;
     }
 
     @Override
@@ -79,6 +88,10 @@ public class ProjectExec extends AbstractUpstreamAwareExec {
     }
 
     private RowBatch projectBatch(RowBatch upstreamBatch) {
+        if (upstreamBatch instanceof ColumnarRowBatch) {
+            return projectColumnarBatch((ColumnarRowBatch) upstreamBatch);
+        }
+
         List<Row> rows = new ArrayList<>(upstreamBatch.getRowCount());
 
         for (int i = 0; i < upstreamBatch.getRowCount(); i++) {
@@ -91,12 +104,24 @@ public class ProjectExec extends AbstractUpstreamAwareExec {
         return new ListRowBatch(rows);
     }
 
+    private RowBatch projectColumnarBatch(ColumnarRowBatch upstreamBatch) {
+        ColumnVector[] columns = new ColumnVector[projects.size()];
+
+        for (int i = 0; i < columns.length; i++) {
+            Expression<?> projection = projects.get(i);
+
+            columns[i] = projection.evalBatch(upstreamBatch, ctx);
+        }
+
+        return new ColumnarRowBatch(columns, upstreamBatch.getRowCount());
+    }
+
     private Row projectRow(Row upstreamRow) {
         HeapRow row = new HeapRow(projects.size());
 
         int colIdx = 0;
 
-        for (Expression<?> projection : projects) {
+        for (CompiledExpression<?> projection : compiledProjects) {
             Object projectionRes = projection.eval(upstreamRow, ctx);
 
             row.set(colIdx++, projectionRes);
@@ -18,6 +18,7 @@ package com.hazelcast.sql.impl.exec;
 
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
@@ -96,6 +97,10 @@ public class UpstreamState implements Iterable<Row> {
         upstream.setup(ctx);
     }
 
+    public void release() {
+        upstream.release();
+    }
+
     public RowBatch consumeBatch() {
         if (currentBatchPos != 0) {
             throw QueryException.error("Batch can be consumed only as a whole: " + upstream);
@@ -108,6 +113,13 @@ public class UpstreamState implements Iterable<Row> {
         return batch;
     }
 
+    /**
+     * @return {@code true} if the current batch is columnar, non-empty and could be consumed as a whole.
+     */
+    public boolean isColumnarBatchAvailable() {
+        return currentBatchPos == 0 && currentBatch instanceof ColumnarRowBatch && currentBatch.getRowCount() > 0;
+    }
+
     /**
      * @return {@code true} if no more results will appear in future.
      */
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import com.hazelcast.sql.impl.type.converter.Converter;
+
+import java.math.BigDecimal;
+
+import static com.hazelcast.sql.impl.expression.math.ExpressionMath.DECIMAL_MATH_CONTEXT;
+
+/**
+ * Accumulates the values of a single group for an {@link AggregateFunction}.
+ * <p>
+ * The accumulator either accumulates the values of the operand directly, or merges the partial results produced by
+ * the accumulators of the local aggregation phase, see {@link AggregatePhase}.
+ */
+public abstract class AggregateAccumulator {
+
+    /**
+     * Accumulates the given non-null value of the operand.
+     */
+    public abstract void accumulate(Object value);
+
+    /**
+     * Merges the partial result stored in the given row starting with the given column.
+     */
+    public abstract void merge(Row row, int index);
+
+    /**
+     * Writes the partial result to the given values starting with the given index.
+     */
+    public abstract void writePartial(Object[] values, int index);
+
+    /**
+     * @return The final result.
+     */
+    public abstract Object getResult();
+
+    static AggregateAccumulator sum(QueryDataType operandType, QueryDataType resultType) {
+        switch (resultType.getTypeFamily()) {
+            case BIGINT:
+                return new LongSum(operandType.getConverter());
+
+            case DECIMAL:
+                return new DecimalSum(operandType.getConverter());
+
+            default:
+                return new DoubleSum(operandType.getConverter());
+        }
+    }
+
+    static AggregateAccumulator avg(QueryDataType operandType, QueryDataType sumType) {
+        if (sumType.getTypeFamily() == QueryDataTypeFamily.DOUBLE) {
+            return new DoubleAvg(operandType.getConverter());
+        }
+
+        return new DecimalAvg(operandType.getConverter(), operandType.getTypeFamily().isNumericInteger());
+    }
+
+    static final class Count extends AggregateAccumulator {
+
+        private long count;
+
+        @Override
+        public void accumulate(Object value) {
+            count++;
+        }
+
+        @Override
+        public void merge(Row row, int index) {
+            count += (long) row.get(index);
+        }
+
+        @Override
+        public void writePartial(Object[] values, int index) {
+            values[index] = count;
+        }
+
+        @Override
+        public Object getResult() {
+            return count;
+        }
+    }
+
+    static final class LongSum extends AggregateAccumulator {
+
+        private final Converter converter;
+        private long sum;
+        private boolean empty = true;
+
+        LongSum(Converter converter) {
+            this.converter = converter;
+        }
+
+        @Override
+        public void accumulate(Object value) {
+            add(converter.asBigint(value));
+        }
+
+        @Override
+        public void merge(Row row, int index) {
+            Long partial = row.get(index);
+
+            if (partial != null) {
+                add(partial);
+            }
+        }
+
+        private void add(long value) {
+            try {
+                sum = Math.addExact(sum, value);
+            } catch (ArithmeticException e) {
+                throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in SUM function (consider adding explicit CAST to DECIMAL)");
+            }
+
+            empty = false;
+        }
+
+        @Override
+        public void writePartial(Object[] values, int index) {
+            values[index] = getResult();
+        }
+
+        @Override
+        public Object getResult() {
+            return empty ? null : sum;
+        }
+    }
+
+    static final class DecimalSum extends AggregateAccumulator {
+
+        private final Converter converter;
+        private BigDecimal sum;
+
+        DecimalSum(Converter converter) {
+            this.converter = converter;
+        }
+
+        @Override
+        public void accumulate(Object value) {
+            add(converter.asDecimal(value));
+        }
+
+        @Override
+        public void merge(Row row, int index) {
+            BigDecimal partial = row.get(index);
+
+            if (partial != null) {
+                add(partial);
+            }
+        }
+
+        private void add(BigDecimal value) {
+            sum = sum == null ? value : sum.add(value, DECIMAL_MATH_CONTEXT);
+        }
+
+        @Override
+        public void writePartial(Object[] values, int index) {
+            values[index] = sum;
+        }
+
+        @Override
+        public Object getResult() {
+            return sum;
+        }
+    }
+
+    static final class DoubleSum extends AggregateAccumulator {
+
+        private final Converter converter;
+        private double sum;
+        private boolean empty = true;
+
+        DoubleSum(Converter converter) {
+            this.converter = converter;
+        }
+
+        @Override
+        public void accumulate(Object value) {
+            sum += converter.asDouble(value);
+            empty = false;
+        }
+
+        @Override
+        public void merge(Row row, int index) {
+            Double partial = row.get(index);
+
+            if (partial != null) {
+                sum += partial;
+                empty = false;
+            }
+        }
+
+        @Override
+        public void writePartial(Object[] values, int index) {
+            values[index] = getResult();
+        }
+
+        @Override
+        public Object getResult() {
+            return empty ? null : sum;
+        }
+    }
+
+    static final class DoubleAvg extends AggregateAccumulator {
+
+        private final Converter converter;
+        private double sum;
+        private long count;
+
+        DoubleAvg(Converter converter) {
+            this.converter = converter;
+        }
+
+        @Override
+        public void accumulate(Object value) {
+            sum += converter.asDouble(value);
+            count++;
+        }
+
+        @Override
+        public void merge(Row row, int index) {
+            Double partialSum = row.get(index);
+
+            if (partialSum != null) {
+                sum += partialSum;
+                count += (long) row.get(index + 1);
+            }
+        }
+
+        @Override
+        public void writePartial(Object[] values, int index) {
+            values[index] = count == 0 ? null : sum;
+            values[index + 1] = count;
+        }
+
+        @Override
+        public Object getResult() {
+            return count == 0 ? null : sum / count;
+        }
+    }
+
+    /**
+     * Exact average. Integer operands are summed as {@code long}s until the sum overflows to avoid the cost of the
+     * {@code BigDecimal} arithmetic in the common case.
+     */
+    static final class DecimalAvg extends AggregateAccumulator {
+
+        private final Converter converter;
+        private final boolean integerOperand;
+        private long longSum;
+        private BigDecimal decimalSum = BigDecimal.ZERO;
+        private long count;
+
+        DecimalAvg(Converter converter, boolean integerOperand) {
+            this.converter = converter;
+            this.integerOperand = integerOperand;
+        }
+
+        @Override
+        public void accumulate(Object value) {
+            if (integerOperand) {
+                long longValue = converter.asBigint(value);
+                long sum = longSum + longValue;
+
+                // The sum overflows iff both arguments have the sign opposite to the sign of the result.
+                if (((longSum ^ sum) & (longValue ^ sum)) < 0) {
+                    decimalSum = decimalSum.add(BigDecimal.valueOf(longSum)).add(BigDecimal.valueOf(longValue));
+                    longSum = 0;
+                } else {
+                    longSum = sum;
+                }
+            } else {
+                decimalSum = decimalSum.add(converter.asDecimal(value), DECIMAL_MATH_CONTEXT);
+            }
+
+            count++;
+        }
+
+        @Override
+        public void merge(Row row, int index) {
+            BigDecimal partialSum = row.get(index);
+
+            if (partialSum != null) {
+                decimalSum = decimalSum.add(partialSum, DECIMAL_MATH_CONTEXT);
+                count += (long) row.get(index + 1);
+            }
+        }
+
+        private BigDecimal sum() {
+            return longSum == 0 ? decimalSum : decimalSum.add(BigDecimal.valueOf(longSum), DECIMAL_MATH_CONTEXT);
+        }
+
+        @Override
+        public void writePartial(Object[] values, int index) {
+            values[index] = count == 0 ? null : sum();
+            values[index + 1] = count;
+        }
+
+        @Override
+        public Object getResult() {
+            return count == 0 ? null : sum().divide(BigDecimal.valueOf(count), DECIMAL_MATH_CONTEXT);
+        }
+    }
+
+    static final class MinMax extends AggregateAccumulator {
+
+        private final boolean min;
+        private Comparable<Object> value;
+
+        MinMax(boolean min) {
+            this.min = min;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void accumulate(Object value) {
+            Comparable<Object> value0 = (Comparable<Object>) value;
+
+            if (this.value == null) {
+                this.value = value0;
+            } else {
+                int comparison = value0.compareTo(this.value);
+
+                if (min ? comparison < 0 : comparison > 0) {
+                    this.value = value0;
+                }
+            }
+        }
+
+        @Override
+        public void merge(Row row, int index) {
+            Object partial = row.get(index);
+
+            if (partial != null) {
+                accumulate(partial);
+            }
+        }
+
+        @Override
+        public void writePartial(Object[] values, int index) {
+            values[index] = value;
+        }
+
+        @Override
+        public Object getResult() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.exec.AbstractUpstreamAwareExec;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.row.EmptyRow;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hash aggregation executor. Consumes all the upstream rows, groups them by the group key in a hash table, and then
+ * produces a row per group: the group key columns followed by the partial results of the aggregate functions for the
+ * {@link AggregatePhase#LOCAL} phase, or by the final results for the other phases.
+ * <p>
+ * In the {@link AggregatePhase#FINAL} phase the input rows are the output rows of the {@link AggregatePhase#LOCAL}
+ * phase, so the group key must refer to the leading columns of the input.
+ * <p>
+ * An aggregation without the group key produces a single row for an empty input, unless it is the local phase: the
+ * local phases of all members produce nothing for empty inputs, and the final phase produces the single row then.
+ */
+public class AggregateExec extends AbstractUpstreamAwareExec {
+
+    private static final int BATCH_SIZE = 1024;
+
+    private final int[] groupKey;
+    private final AggregateFunction[] functions;
+    private final AggregatePhase phase;
+
+    /** Indexes of the columns holding the partial results of the functions in the rows between the phases. */
+    private final int[] partialColumns;
+
+    /** Number of the output columns. */
+    private final int columnCount;
+
+    /** Estimated size of a group. */
+    private final int rowWidth;
+
+    private AggregateHashTable table;
+    private boolean inputDone;
+    private int nextGroup;
+
+    /** Number of groups for which the memory is reserved. */
+    private int reservedGroups;
+    private RowBatch currentBatch;
+
+    public AggregateExec(int id, Exec upstream, int[] groupKey, List<AggregateFunction> functions, AggregatePhase phase) {
+        this(id, upstream, groupKey, functions, phase, 0);
+    }
+
+    public AggregateExec(
+        int id,
+        Exec upstream,
+        int[] groupKey,
+        List<AggregateFunction> functions,
+        AggregatePhase phase,
+        int rowWidth
+    ) {
+        super(id, upstream);
+
+        this.groupKey = groupKey;
+        this.functions = functions.toArray(new AggregateFunction[0]);
+        this.phase = phase;
+        this.rowWidth = rowWidth;
+
+        partialColumns = new int[this.functions.length];
+
+        int partialColumn = groupKey.length;
+
+        for (int i = 0; i < this.functions.length; i++) {
+            partialColumns[i] = partialColumn;
+
+            partialColumn += this.functions[i].getPartialTypes().size();
+        }
+
+        columnCount = phase.isPartialOutput() ? partialColumn : groupKey.length + this.functions.length;
+
+        table = new AggregateHashTable(groupKey, this.functions);
+    }
+
+    @Override
+    public IterationResult advance0() {
+        if (!inputDone) {
+            while (true) {
+                if (!state.advance()) {
+                    return IterationResult.WAIT;
+                }
+
+                for (Row row : state) {
+                    consume(row);
+                }
+
+                ctx.getMemoryTracker().reserve((long) (table.size() - reservedGroups) * rowWidth);
+
+                reservedGroups = table.size();
+
+                if (state.isDone()) {
+                    break;
+                }
+            }
+
+            inputDone = true;
+
+            if (groupKey.length == 0 && table.size() == 0 && !phase.isPartialOutput()) {
+                table.getOrCreate(EmptyRow.INSTANCE);
+            }
+        }
+
+        return produce();
+    }
+
+    @Override
+    public RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public int[] getGroupKey() {
+        return groupKey;
+    }
+
+    public List<AggregateFunction> getFunctions() {
+        return Arrays.asList(functions);
+    }
+
+    public AggregatePhase getPhase() {
+        return phase;
+    }
+
+    private void consume(Row row) {
+        AggregateAccumulator[] accumulators = table.getOrCreate(row);
+
+        if (phase.isPartialInput()) {
+            for (int i = 0; i < functions.length; i++) {
+                accumulators[i].merge(row, partialColumns[i]);
+            }
+        } else {
+            for (int i = 0; i < functions.length; i++) {
+                int operand = functions[i].getOperand();
+
+                // COUNT(*) counts all the rows, other functions ignore NULLs.
+                Object value = operand == AggregateFunction.NO_OPERAND ? Boolean.TRUE : row.get(operand);
+
+                if (value != null) {
+                    accumulators[i].accumulate(value);
+                }
+            }
+        }
+    }
+
+    private IterationResult produce() {
+        int groupCount = table.size();
+        int rowCount = Math.min(BATCH_SIZE, groupCount - nextGroup);
+
+        List<Row> rows = new ArrayList<>(rowCount);
+
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(createRow(nextGroup++));
+        }
+
+        currentBatch = new ListRowBatch(rows);
+
+        if (nextGroup == groupCount) {
+            // Release the groups as early as possible.
+            table = null;
+
+            ctx.getMemoryTracker().release((long) reservedGroups * rowWidth);
+
+            reservedGroups = 0;
+
+            return IterationResult.FETCHED_DONE;
+        } else {
+            return IterationResult.FETCHED;
+        }
+    }
+
+    private Row createRow(int group) {
+        Object[] values = new Object[columnCount];
+
+        Object[] key = table.getKey(group);
+
+        System.arraycopy(key, 0, values, 0, key.length);
+
+        AggregateAccumulator[] accumulators = table.getAccumulators(group);
+
+        for (int i = 0; i < accumulators.length; i++) {
+            if (phase.isPartialOutput()) {
+                accumulators[i].writePartial(values, partialColumns[i]);
+            } else {
+                values[key.length + i] = accumulators[i].getResult();
+            }
+        }
+
+        return new HeapRow(values);
+    }
+}
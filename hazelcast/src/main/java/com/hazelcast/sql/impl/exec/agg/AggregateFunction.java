@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Aggregate function of an aggregation, e.g. {@code SUM(a)}.
+ * <p>
+ * The function is applied to a single column of the input rows, or to the rows themselves for {@code COUNT(*)}.
+ * {@code NULL} values of the column are ignored by all functions.
+ */
+public class AggregateFunction implements IdentifiedDataSerializable {
+    /** Operand of the COUNT(*) function. */
+    public static final int NO_OPERAND = -1;
+
+    private AggregateKind kind;
+    private int operand;
+    private QueryDataType operandType;
+    private QueryDataType resultType;
+
+    public AggregateFunction() {
+        // No-op.
+    }
+
+    /**
+     * @param kind        Kind of the function.
+     * @param operand     Index of the column the function is applied to or {@link #NO_OPERAND} for {@code COUNT(*)}.
+     * @param operandType Type of the column or {@code null} for {@code COUNT(*)}.
+     * @param resultType  Type of the result.
+     */
+    public AggregateFunction(AggregateKind kind, int operand, QueryDataType operandType, QueryDataType resultType) {
+        assert kind != null;
+        assert operand != NO_OPERAND || kind == AggregateKind.COUNT;
+        assert resultType != null;
+
+        this.kind = kind;
+        this.operand = operand;
+        this.operandType = operandType;
+        this.resultType = resultType;
+    }
+
+    public AggregateKind getKind() {
+        return kind;
+    }
+
+    public int getOperand() {
+        return operand;
+    }
+
+    public QueryDataType getOperandType() {
+        return operandType;
+    }
+
+    public QueryDataType getResultType() {
+        return resultType;
+    }
+
+    /**
+     * @return Types of the columns holding the partial result of the function between the aggregation phases.
+     */
+    public List<QueryDataType> getPartialTypes() {
+        if (kind == AggregateKind.AVG) {
+            return Arrays.asList(getAvgSumType(), QueryDataType.BIGINT);
+        }
+
+        return Collections.singletonList(resultType);
+    }
+
+    /**
+     * @return A new accumulator of the function.
+     */
+    public AggregateAccumulator createAccumulator() {
+        switch (kind) {
+            case COUNT:
+                return new AggregateAccumulator.Count();
+
+            case SUM:
+                return AggregateAccumulator.sum(operandType, resultType);
+
+            case AVG:
+                return AggregateAccumulator.avg(operandType, getAvgSumType());
+
+            case MIN:
+                return new AggregateAccumulator.MinMax(true);
+
+            default:
+                assert kind == AggregateKind.MAX;
+
+                return new AggregateAccumulator.MinMax(false);
+        }
+    }
+
+    private QueryDataType getAvgSumType() {
+        QueryDataTypeFamily family = resultType.getTypeFamily();
+
+        return family == QueryDataTypeFamily.DOUBLE || family == QueryDataTypeFamily.REAL
+            ? QueryDataType.DOUBLE : QueryDataType.DECIMAL;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.AGGREGATE_FUNCTION;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(kind.getId());
+        out.writeInt(operand);
+        out.writeObject(operandType);
+        out.writeObject(resultType);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        kind = AggregateKind.getById(in.readInt());
+        operand = in.readInt();
+        operandType = in.readObject();
+        resultType = in.readObject();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, operand, operandType, resultType);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        AggregateFunction that = (AggregateFunction) o;
+
+        return kind == that.kind && operand == that.operand && Objects.equals(operandType, that.operandType)
+            && resultType.equals(that.resultType);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{kind=" + kind + ", operand=" + operand + ", operandType=" + operandType
+            + ", resultType=" + resultType + '}';
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowKeys;
+
+import java.util.Arrays;
+
+/**
+ * Hash table mapping the group keys to the accumulators of the groups.
+ * <p>
+ * The table uses open addressing with linear probing: the slots hold the indexes of the groups, while the keys, the
+ * hashes and the accumulators of the groups are stored in arrays indexed by the group index in the order of the group
+ * creation. The key of a row is compared with the stored keys in place, so the lookup of an existing group doesn't
+ * allocate. The table is never shrunk.
+ */
+final class AggregateHashTable {
+
+    private static final int INITIAL_SLOT_COUNT = 64;
+    private static final int INITIAL_GROUP_CAPACITY = INITIAL_SLOT_COUNT / 2;
+
+    private final int[] keyColumns;
+    private final AggregateFunction[] functions;
+
+    private int[] slots = new int[INITIAL_SLOT_COUNT];
+    private int mask = INITIAL_SLOT_COUNT - 1;
+
+    private int[] hashes = new int[INITIAL_GROUP_CAPACITY];
+    private Object[][] keys = new Object[INITIAL_GROUP_CAPACITY][];
+    private AggregateAccumulator[][] accumulators = new AggregateAccumulator[INITIAL_GROUP_CAPACITY][];
+    private int size;
+
+    AggregateHashTable(int[] keyColumns, AggregateFunction[] functions) {
+        this.keyColumns = keyColumns;
+        this.functions = functions;
+    }
+
+    /**
+     * @return The accumulators of the group of the given row, created if the group doesn't exist yet.
+     */
+    AggregateAccumulator[] getOrCreate(Row row) {
+        int hash = RowKeys.hash(row, keyColumns);
+        int slot = hash & mask;
+
+        while (true) {
+            int group = slots[slot] - 1;
+
+            if (group < 0) {
+                return create(row, hash, slot);
+            }
+
+            if (hashes[group] == hash && RowKeys.equal(row, keyColumns, keys[group])) {
+                return accumulators[group];
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    Object[] getKey(int group) {
+        return keys[group];
+    }
+
+    AggregateAccumulator[] getAccumulators(int group) {
+        return accumulators[group];
+    }
+
+    private AggregateAccumulator[] create(Row row, int hash, int slot) {
+        if (size == hashes.length) {
+            int capacity = size * 2;
+
+            hashes = Arrays.copyOf(hashes, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            accumulators = Arrays.copyOf(accumulators, capacity);
+        }
+
+        AggregateAccumulator[] groupAccumulators = new AggregateAccumulator[functions.length];
+
+        for (int i = 0; i < functions.length; i++) {
+            groupAccumulators[i] = functions[i].createAccumulator();
+        }
+
+        int group = size++;
+
+        hashes[group] = hash;
+        keys[group] = RowKeys.extract(row, keyColumns);
+        accumulators[group] = groupAccumulators;
+        slots[slot] = group + 1;
+
+        // Keep the load factor at most 0.5.
+        if (size * 2 > slots.length) {
+            resize();
+        }
+
+        return groupAccumulators;
+    }
+
+    private void resize() {
+        slots = new int[slots.length * 2];
+        mask = slots.length - 1;
+
+        for (int group = 0; group < size; group++) {
+            int slot = hashes[group] & mask;
+
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            slots[slot] = group + 1;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+/**
+ * Phase of a distributed aggregation.
+ * <p>
+ * The aggregation is split into two phases when its input is distributed between the members: every member
+ * pre-aggregates its local rows first, then the partial results for the same group are sent to the same member and
+ * combined into the final results there.
+ */
+public enum AggregatePhase {
+    /** Aggregates the input rows into the final results in a single phase. */
+    COMPLETE(0),
+
+    /** Aggregates the local input rows into the partial results. */
+    LOCAL(1),
+
+    /** Combines the partial results of the local phase into the final results. */
+    FINAL(2);
+
+    private static final AggregatePhase[] VALUES = values();
+
+    private final int id;
+
+    AggregatePhase(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return {@code true} if the input of the phase consists of the partial results.
+     */
+    public boolean isPartialInput() {
+        return this == FINAL;
+    }
+
+    /**
+     * @return {@code true} if the output of the phase consists of the partial results.
+     */
+    public boolean isPartialOutput() {
+        return this == LOCAL;
+    }
+
+    public static AggregatePhase getById(int id) {
+        for (AggregatePhase value : VALUES) {
+            if (id == value.id) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown ID: " + id);
+    }
+}
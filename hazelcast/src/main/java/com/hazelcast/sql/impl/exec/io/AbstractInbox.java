@@ -19,6 +19,8 @@ package com.hazelcast.sql.impl.exec.io;
 import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
 import com.hazelcast.sql.impl.operation.QueryOperationHandler;
+import com.hazelcast.sql.impl.state.QueryMemoryTracker;
+import com.hazelcast.sql.impl.state.QueryStateRegistry;
 
 import java.util.UUID;
 
@@ -35,6 +37,9 @@ public abstract class AbstractInbox extends AbstractMailbox implements InboundHa
     private final QueryOperationHandler operationHandler;
     private final FlowControl flowControl;
 
+    /** Tracker of the memory occupied by the enqueued batches. */
+    private QueryMemoryTracker memoryTracker;
+
     protected AbstractInbox(
         QueryOperationHandler operationHandler,
         QueryId queryId,
@@ -52,11 +57,19 @@ public abstract class AbstractInbox extends AbstractMailbox implements InboundHa
     }
 
     public void setup() {
+        setup(QueryMemoryTracker.createUnlimited(QueryStateRegistry.FRAGMENT_SCOPE));
+    }
+
+    public void setup(QueryMemoryTracker memoryTracker) {
+        this.memoryTracker = memoryTracker;
+
         flowControl.setup(queryId, edgeId, localMemberId, operationHandler);
     }
 
     @Override
     public final void onBatch(InboundBatch batch, long remainingMemory) {
+        memoryTracker.reserve(getBatchSize(batch));
+
         onBatch0(batch);
 
         // Track done condition
@@ -85,6 +98,8 @@ public abstract class AbstractInbox extends AbstractMailbox implements InboundHa
         // Track done condition
         enqueuedBatches--;
 
+        memoryTracker.release(getBatchSize(batch));
+
         // Track backpressure.
         flowControl.onBatchRemoved(
             batch.getSenderId(),
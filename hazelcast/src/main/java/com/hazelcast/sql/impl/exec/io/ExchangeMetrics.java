@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Backpressure metrics of the exchanges of a single query on the local member.
+ * <p>
+ * The metrics are updated concurrently by the fragments of the query.
+ */
+public class ExchangeMetrics {
+    /** Number of times an outbox stopped accepting rows because the remote end had no memory for them. */
+    private final AtomicLong senderBlockedCount = new AtomicLong();
+
+    /** Number of flow control messages received by the outboxes. */
+    private final AtomicLong flowControlReceivedCount = new AtomicLong();
+
+    /** Number of flow control messages sent by the inboxes. */
+    private final AtomicLong flowControlSentCount = new AtomicLong();
+
+    /** Total amount of memory granted to the remote senders with flow control messages. */
+    private final AtomicLong grantedMemory = new AtomicLong();
+
+    /** Maximum amount of memory occupied by the batches buffered in a single inbox. */
+    private final AtomicLong maxBufferedMemory = new AtomicLong();
+
+    public void onSenderBlocked() {
+        senderBlockedCount.incrementAndGet();
+    }
+
+    public void onFlowControlReceived() {
+        flowControlReceivedCount.incrementAndGet();
+    }
+
+    public void onFlowControlSent(long memory) {
+        flowControlSentCount.incrementAndGet();
+        grantedMemory.addAndGet(memory);
+    }
+
+    public void onBuffered(long bufferedMemory) {
+        maxBufferedMemory.accumulateAndGet(bufferedMemory, Math::max);
+    }
+
+    public long getSenderBlockedCount() {
+        return senderBlockedCount.get();
+    }
+
+    public long getFlowControlReceivedCount() {
+        return flowControlReceivedCount.get();
+    }
+
+    public long getFlowControlSentCount() {
+        return flowControlSentCount.get();
+    }
+
+    public long getGrantedMemory() {
+        return grantedMemory.get();
+    }
+
+    public long getMaxBufferedMemory() {
+        return maxBufferedMemory.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ExchangeMetrics {senderBlockedCount=" + getSenderBlockedCount()
+            + ", flowControlReceivedCount=" + getFlowControlReceivedCount()
+            + ", flowControlSentCount=" + getFlowControlSentCount()
+            + ", grantedMemory=" + getGrantedMemory()
+            + ", maxBufferedMemory=" + getMaxBufferedMemory() + '}';
+    }
+}
@@ -21,6 +21,7 @@ import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.operation.QueryBatchExchangeOperation;
 import com.hazelcast.sql.impl.operation.QueryOperationChannel;
 import com.hazelcast.sql.impl.operation.QueryOperationHandler;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.ListRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
@@ -46,12 +47,18 @@ public class Outbox extends AbstractMailbox implements OutboundHandler {
     /** Pending rows. */
     private List<Row> rows;
 
+    /** Pending rows in columnar form, used while all incoming batches are columnar and have the same layout. */
+    private ColumnarRowBatch columnarRows;
+
     /** Channel to send operations through. */
     private QueryOperationChannel operationChannel;
 
     /** Amount of remote memory which is available at the moment. */
     private long remainingMemory;
 
+    /** Backpressure metrics of the query. */
+    private final ExchangeMetrics metrics;
+
     public Outbox(
         QueryOperationHandler operationHandler,
         QueryId queryId,
@@ -61,6 +68,31 @@ public class Outbox extends AbstractMailbox implements OutboundHandler {
         UUID targetMemberId,
         int batchSize,
         long remainingMemory
+    ) {
+        this(
+            operationHandler,
+            queryId,
+            edgeId,
+            rowWidth,
+            localMemberId,
+            targetMemberId,
+            batchSize,
+            remainingMemory,
+            new ExchangeMetrics()
+        );
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public Outbox(
+        QueryOperationHandler operationHandler,
+        QueryId queryId,
+        int edgeId,
+        int rowWidth,
+        UUID localMemberId,
+        UUID targetMemberId,
+        int batchSize,
+        long remainingMemory,
+        ExchangeMetrics metrics
     ) {
         super(queryId, edgeId, rowWidth, localMemberId);
 
@@ -68,6 +100,7 @@ public class Outbox extends AbstractMailbox implements OutboundHandler {
         this.targetMemberId = targetMemberId;
         this.batchSize = batchSize;
         this.remainingMemory = remainingMemory;
+        this.metrics = metrics;
     }
 
     public void setup() {
@@ -86,6 +119,10 @@ public class Outbox extends AbstractMailbox implements OutboundHandler {
         return remainingMemory;
     }
 
+    public ExchangeMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Accept a row batch.
      *
@@ -100,6 +137,8 @@ public class Outbox extends AbstractMailbox implements OutboundHandler {
         int maxAcceptedRows = (int) (remainingMemory / rowWidth);
         int acceptedRows = 0;
 
+        ColumnarRowBatch columnarBatch = prepareColumnar(batch);
+
         // Try to accept as much rows as possible.
         int currentPosition = position;
 
@@ -115,17 +154,31 @@ public class Outbox extends AbstractMailbox implements OutboundHandler {
             }
 
             // Add pending row.
-            if (rows == null) {
-                rows = new ArrayList<>();
+            if (columnarBatch != null) {
+                if (columnarRows == null) {
+                    columnarRows = new ColumnarRowBatch(columnarBatch.getColumnTypes(), batch.getRowCount());
+                }
+
+                columnarRows.addRow(columnarBatch, currentPosition);
+            } else {
+                if (rows == null) {
+                    rows = new ArrayList<>();
+                }
+
+                rows.add(batch.getRow(currentPosition));
             }
 
-            rows.add(batch.getRow(currentPosition));
             acceptedRows++;
         }
 
         // Adjust the remaining memory.
         remainingMemory = remainingMemory - (long) acceptedRows * rowWidth;
 
+        if (currentPosition < batch.getRowCount()) {
+            // Rows are left because the remote end has no memory for them.
+            metrics.onSenderBlocked();
+        }
+
         // This is the very last transmission iff the whole last batch is consumed.
         boolean lastTransmit = last && currentPosition == batch.getRowCount();
 
@@ -134,7 +187,7 @@ public class Outbox extends AbstractMailbox implements OutboundHandler {
         // 2) If there are some data in the batch, and:
         //     2.1) There are more data than the recommended batch size
         //     2.2) Or we run out of memory, so that the remote end knows that we are low on memory, and the flow control is sent
-        int batchRowCount = rows != null ? rows.size() : 0;
+        int batchRowCount = columnarRows != null ? columnarRows.getRowCount() : rows != null ? rows.size() : 0;
 
         boolean batchIsNotEmpty = batchRowCount > 0;
         boolean batchThresholdIsReached = batchRowCount * rowWidth >= batchSize;
@@ -149,9 +202,40 @@ public class Outbox extends AbstractMailbox implements OutboundHandler {
         return currentPosition;
     }
 
+    /**
+     * Check whether rows of the given batch could be accumulated in columnar form. Otherwise, pending columnar rows are
+     * converted to the row form.
+     *
+     * @param batch Incoming batch.
+     * @return Columnar batch or {@code null} if rows should be accumulated in the row form.
+     */
+    private ColumnarRowBatch prepareColumnar(RowBatch batch) {
+        if (batch instanceof ColumnarRowBatch && rows == null) {
+            ColumnarRowBatch columnarBatch = (ColumnarRowBatch) batch;
+
+            if (columnarRows == null || columnarRows.isCompatible(columnarBatch)) {
+                return columnarBatch;
+            }
+        }
+
+        if (columnarRows != null) {
+            rows = new ArrayList<>(columnarRows.getRowCount());
+
+            for (int i = 0; i < columnarRows.getRowCount(); i++) {
+                rows.add(columnarRows.getRow(i));
+            }
+
+            columnarRows = null;
+        }
+
+        return null;
+    }
+
     @Override
     public void onFlowControl(long remainingMemory) {
         this.remainingMemory = remainingMemory;
+
+        metrics.onFlowControlReceived();
     }
 
     /**
@@ -160,7 +244,7 @@ public class Outbox extends AbstractMailbox implements OutboundHandler {
      * @param last Whether this is the last batch.
      */
     private void send(boolean last) {
-        RowBatch batch = new ListRowBatch(rows != null ? rows : Collections.emptyList());
+        RowBatch batch = columnarRows != null ? columnarRows : new ListRowBatch(rows != null ? rows : Collections.emptyList());
 
         assert batch.getRowCount() > 0 || last;
 
@@ -180,6 +264,7 @@ public class Outbox extends AbstractMailbox implements OutboundHandler {
         }
 
         rows = null;
+        columnarRows = null;
     }
 
     @Override
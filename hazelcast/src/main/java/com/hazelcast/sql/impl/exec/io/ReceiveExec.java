@@ -39,7 +39,7 @@ public class ReceiveExec extends AbstractExec {
 
     @Override
     protected void setup0(QueryFragmentContext ctx) {
-        inbox.setup();
+        inbox.setup(ctx.getMemoryTracker());
     }
 
     @Override
@@ -82,7 +82,7 @@ public class ReceiveSortMergeExec extends AbstractExec {
 
     @Override
     protected void setup0(QueryFragmentContext ctx) {
-        inbox.setup();
+        inbox.setup(ctx.getMemoryTracker());
 
         sorter.setup(ctx);
     }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.row.RowKeys;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Sender that sends every row to a single outbox chosen by the hash of the given columns.
+ * <p>
+ * The outboxes are ordered by the target member IDs, so that all senders of the edge send the rows with equal values of
+ * the columns to the same member.
+ */
+public class UnicastSendExec extends AbstractSendExec {
+
+    private final Outbox[] outboxes;
+    private final int[] hashColumns;
+    private final OutboxSendQualifier[] qualifiers;
+
+    /** Positions of the outboxes in the pending batch. */
+    private final int[] pendingPositions;
+
+    /** Indexes of the target outboxes of the rows of the current batch. */
+    private int[] rowOutboxes = new int[0];
+
+    public UnicastSendExec(int id, Exec upstream, Outbox[] outboxes, int[] hashColumns) {
+        super(id, upstream);
+
+        this.outboxes = outboxes.clone();
+        this.hashColumns = hashColumns;
+
+        Arrays.sort(this.outboxes, Comparator.comparing(Outbox::getTargetMemberId));
+
+        qualifiers = new OutboxSendQualifier[outboxes.length];
+
+        for (int i = 0; i < outboxes.length; i++) {
+            int outboxIndex = i;
+
+            qualifiers[i] = rowIndex -> rowOutboxes[rowIndex] == outboxIndex;
+        }
+
+        pendingPositions = new int[outboxes.length];
+    }
+
+    @Override
+    protected void setup1(QueryFragmentContext ctx) {
+        for (Outbox outbox : outboxes) {
+            outbox.setup();
+        }
+    }
+
+    @Override
+    protected int getOutboxCount() {
+        return outboxes.length;
+    }
+
+    @Override
+    protected Outbox getOutbox(int outboxIndex) {
+        return outboxes[outboxIndex];
+    }
+
+    @Override
+    protected void setCurrentBatch(RowBatch batch) {
+        int rowCount = batch.getRowCount();
+
+        if (rowOutboxes.length < rowCount) {
+            rowOutboxes = new int[rowCount];
+        }
+
+        for (int i = 0; i < rowCount; i++) {
+            int hash = RowKeys.hash(batch.getRow(i), hashColumns);
+
+            rowOutboxes[i] = (hash & Integer.MAX_VALUE) % outboxes.length;
+        }
+
+        // The outboxes which accept the whole batch are not reported as pending.
+        Arrays.fill(pendingPositions, rowCount);
+    }
+
+    @Override
+    protected OutboxSendQualifier getOutboxQualifier(int outboxIndex) {
+        return qualifiers[outboxIndex];
+    }
+
+    @Override
+    protected void addPendingPosition(int outboxIndex, int position) {
+        pendingPositions[outboxIndex] = position;
+    }
+
+    @Override
+    protected boolean pushPendingBatch(RowBatch pendingBatch, boolean pendingLast) {
+        int rowCount = pendingBatch.getRowCount();
+
+        boolean res = true;
+
+        for (int i = 0; i < outboxes.length; i++) {
+            int position = pendingPositions[i];
+
+            if (position == rowCount) {
+                continue;
+            }
+
+            position = outboxes[i].onRowBatch(pendingBatch, pendingLast, position, qualifiers[i]);
+
+            pendingPositions[i] = position;
+
+            if (position < rowCount) {
+                res = false;
+            }
+        }
+
+        return res;
+    }
+
+    public Outbox[] getOutboxes() {
+        return outboxes;
+    }
+
+    public int[] getHashColumns() {
+        return hashColumns;
+    }
+}
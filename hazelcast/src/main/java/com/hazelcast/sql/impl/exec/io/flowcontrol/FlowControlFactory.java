@@ -16,6 +16,8 @@
 
 package com.hazelcast.sql.impl.exec.io.flowcontrol;
 
+import com.hazelcast.sql.impl.exec.io.ExchangeMetrics;
+
 /**
  * Factory for flow control objects.
  */
@@ -27,4 +29,16 @@ public interface FlowControlFactory {
      * @return Flow control object.
      */
     FlowControl create(long initialMemory);
+
+    /**
+     * Create the flow control with the given initial memory constraints, which reports backpressure events to the metrics of
+     * the query.
+     *
+     * @param initialMemory Initial memory sender and receiver agreed upon query start.
+     * @param metrics Backpressure metrics of the query.
+     * @return Flow control object.
+     */
+    default FlowControl create(long initialMemory, ExchangeMetrics metrics) {
+        return create(initialMemory);
+    }
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol;
+
+/**
+ * Type of the flow control used by the exchanges of SQL queries.
+ */
+public enum FlowControlType {
+    /** Senders are notified when they are low on memory, see {@code SimpleFlowControl}. */
+    SIMPLE,
+
+    /** Credits of senders are sized from the drain rates of their streams, see {@code CreditFlowControl}. */
+    CREDIT
+}
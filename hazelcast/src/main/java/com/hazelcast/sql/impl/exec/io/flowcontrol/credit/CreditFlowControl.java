@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol.credit;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.exec.io.ExchangeMetrics;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
+import com.hazelcast.sql.impl.operation.QueryFlowControlExchangeOperation;
+import com.hazelcast.sql.impl.operation.QueryOperationHandler;
+
+import java.util.HashMap;
+import java.util.UUID;
+
+/**
+ * Credit-based implementation of a flow control.
+ * <p>
+ * Every sender starts with the initial memory as its credit. When a sender is low on credit, and some of its batches are
+ * consumed, it is granted a new credit. The memory budget of the inbox which is not occupied by the buffered batches and not
+ * promised to other senders is split between the senders waiting for the credit proportionally to the drain rates of their
+ * streams. Thus, the senders whose batches are consumed faster receive bigger credits, while the total amount of the
+ * buffered data is bounded by the budget.
+ * <p>
+ * The credit never goes below the size of the biggest batch observed, so that a sender may always send at least one more
+ * batch. Credits are sent only once per fragment execution, so that several consumed batches of the same stream result in a
+ * single flow control message.
+ */
+public class CreditFlowControl implements FlowControl {
+    /** Share of the credit, below which the sender is considered to be low on credit. */
+    static final double LOW_CREDIT_PERCENTAGE = 0.25d;
+
+    /** Weight of the most recent observation in the moving average of the drain rate. */
+    static final double DRAIN_RATE_WEIGHT = 0.5d;
+
+    /** Minimum credit relative to the initial memory. */
+    static final int MIN_CREDIT_DIVISOR = 8;
+
+    /** Maximum credit relative to the initial memory. */
+    static final int MAX_CREDIT_MULTIPLIER = 4;
+
+    /** Initial credit of every sender. */
+    private final long initialMemory;
+
+    /** Maximum amount of memory which could be occupied by the batches of all streams. */
+    private final long maxMemory;
+
+    /** Backpressure metrics of the query. */
+    private final ExchangeMetrics metrics;
+
+    private QueryId queryId;
+    private int edgeId;
+    private UUID localMemberId;
+    private QueryOperationHandler operationHandler;
+
+    /** Remote streams. */
+    private HashMap<UUID, CreditFlowControlStream> streams;
+
+    /** Amount of memory occupied by the batches which are not consumed yet. */
+    private long bufferedMemory;
+
+    /** Size of the biggest batch observed. */
+    private long maxBatchSize;
+
+    /** Whether there are streams that should be granted more credit. */
+    private boolean hasPendingStreams;
+
+    public CreditFlowControl(long initialMemory, long maxMemory, ExchangeMetrics metrics) {
+        this.initialMemory = initialMemory;
+        this.maxMemory = maxMemory;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void setup(QueryId queryId, int edgeId, UUID localMemberId, QueryOperationHandler operationHandler) {
+        this.queryId = queryId;
+        this.edgeId = edgeId;
+        this.localMemberId = localMemberId;
+        this.operationHandler = operationHandler;
+    }
+
+    @Override
+    public void onBatchAdded(UUID memberId, long size, boolean last, long remoteMemory) {
+        bufferedMemory += size;
+        maxBatchSize = Math.max(maxBatchSize, size);
+
+        metrics.onBuffered(bufferedMemory);
+
+        if (streams == null) {
+            streams = new HashMap<>();
+        }
+
+        if (last) {
+            // If this is the last batch, we do not care about backpressure.
+            streams.remove(memberId);
+
+            return;
+        }
+
+        CreditFlowControlStream stream = streams.get(memberId);
+
+        if (stream == null) {
+            stream = new CreditFlowControlStream(memberId, remoteMemory, initialMemory);
+
+            streams.put(memberId, stream);
+        } else {
+            stream.setRemoteMemory(remoteMemory);
+        }
+
+        stream.onBatchAdded(size);
+    }
+
+    @Override
+    public void onBatchRemoved(UUID memberId, long size, boolean last) {
+        bufferedMemory -= size;
+
+        if (last) {
+            return;
+        }
+
+        assert streams != null;
+
+        CreditFlowControlStream stream = streams.get(memberId);
+
+        if (stream == null) {
+            // Missing state means that last batch already arrived.
+            return;
+        }
+
+        stream.onBatchRemoved(size);
+
+        if (stream.getRemoteMemory() <= stream.getCredit() * LOW_CREDIT_PERCENTAGE) {
+            stream.setShouldSend(true);
+
+            hasPendingStreams = true;
+        }
+    }
+
+    @Override
+    public void onFragmentExecutionCompleted() {
+        if (streams == null || streams.isEmpty()) {
+            return;
+        }
+
+        // Memory which is not occupied by the buffered batches and not promised to the senders which still have credit.
+        long availableMemory = maxMemory - bufferedMemory;
+        double pendingDrainRate = 0.0d;
+
+        for (CreditFlowControlStream stream : streams.values()) {
+            stream.updateDrainRate(DRAIN_RATE_WEIGHT);
+
+            if (stream.isShouldSend()) {
+                pendingDrainRate += stream.getDrainRate();
+            } else {
+                availableMemory -= stream.getRemoteMemory();
+            }
+        }
+
+        if (!hasPendingStreams) {
+            return;
+        }
+
+        for (CreditFlowControlStream stream : streams.values()) {
+            if (!stream.isShouldSend()) {
+                continue;
+            }
+
+            long credit = getCredit(stream, availableMemory, pendingDrainRate);
+
+            if (credit > stream.getRemoteMemory()) {
+                sendFlowControl(stream, credit);
+            }
+
+            stream.setShouldSend(false);
+        }
+
+        hasPendingStreams = false;
+    }
+
+    public long getInitialMemory() {
+        return initialMemory;
+    }
+
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * Calculate the credit for the stream.
+     *
+     * @param stream Stream.
+     * @param availableMemory Memory to be split between the pending streams.
+     * @param pendingDrainRate Sum of the drain rates of the pending streams.
+     * @return Credit.
+     */
+    private long getCredit(CreditFlowControlStream stream, long availableMemory, double pendingDrainRate) {
+        long credit = pendingDrainRate > 0.0d ? (long) (availableMemory * (stream.getDrainRate() / pendingDrainRate)) : 0L;
+
+        long minCredit = Math.max(initialMemory / MIN_CREDIT_DIVISOR, maxBatchSize);
+        long maxCredit = Math.max(initialMemory * MAX_CREDIT_MULTIPLIER, minCredit);
+
+        return Math.min(Math.max(credit, minCredit), maxCredit);
+    }
+
+    /**
+     * Send flow control message for the given stream.
+     *
+     * @param stream Stream.
+     * @param credit New credit of the stream.
+     */
+    private void sendFlowControl(CreditFlowControlStream stream, long credit) {
+        QueryFlowControlExchangeOperation operation = new QueryFlowControlExchangeOperation(
+            queryId,
+            edgeId,
+            credit
+        );
+
+        boolean success = operationHandler.submit(localMemberId, stream.getMemberId(), operation);
+
+        if (!success) {
+            throw QueryException.memberConnection(stream.getMemberId());
+        }
+
+        stream.onCreditGranted(credit);
+
+        metrics.onFlowControlSent(credit);
+    }
+}
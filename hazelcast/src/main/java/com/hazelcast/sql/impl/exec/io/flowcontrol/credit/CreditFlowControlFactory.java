@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol.credit;
+
+import com.hazelcast.sql.impl.exec.io.ExchangeMetrics;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
+
+public final class CreditFlowControlFactory implements FlowControlFactory {
+
+    /** Maximum amount of memory which could be occupied by the batches of a single inbox. */
+    private final long maxMemory;
+
+    public CreditFlowControlFactory(long maxMemory) {
+        this.maxMemory = maxMemory;
+    }
+
+    @Override
+    public FlowControl create(long initialMemory) {
+        return create(initialMemory, new ExchangeMetrics());
+    }
+
+    @Override
+    public FlowControl create(long initialMemory, ExchangeMetrics metrics) {
+        return new CreditFlowControl(initialMemory, Math.max(initialMemory, maxMemory), metrics);
+    }
+
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol.credit;
+
+import java.util.UUID;
+
+/**
+ * State of a single stream.
+ */
+public final class CreditFlowControlStream {
+
+    private final UUID memberId;
+
+    /** Amount of memory available to the sender, as known to the local end. */
+    private long remoteMemory;
+
+    /** Last credit granted to the sender. */
+    private long credit;
+
+    /** Amount of memory occupied by the batches of the stream which are not consumed yet. */
+    private long bufferedMemory;
+
+    /** Amount of memory released by the consumed batches since the last drain rate update. */
+    private long drainedMemory;
+
+    /** Moving average of the amount of memory released by the consumed batches per fragment execution. */
+    private double drainRate;
+
+    /** Whether the sender is low on credit and should be granted more. */
+    private boolean shouldSend;
+
+    public CreditFlowControlStream(UUID memberId, long remoteMemory, long credit) {
+        this.memberId = memberId;
+        this.remoteMemory = remoteMemory;
+        this.credit = credit;
+    }
+
+    public UUID getMemberId() {
+        return memberId;
+    }
+
+    public long getRemoteMemory() {
+        return remoteMemory;
+    }
+
+    public void setRemoteMemory(long remoteMemory) {
+        this.remoteMemory = remoteMemory;
+    }
+
+    public long getCredit() {
+        return credit;
+    }
+
+    public void onCreditGranted(long credit) {
+        this.credit = credit;
+
+        remoteMemory = credit;
+    }
+
+    public long getBufferedMemory() {
+        return bufferedMemory;
+    }
+
+    public void onBatchAdded(long size) {
+        bufferedMemory += size;
+    }
+
+    public void onBatchRemoved(long size) {
+        bufferedMemory -= size;
+        drainedMemory += size;
+    }
+
+    public double getDrainRate() {
+        return drainRate;
+    }
+
+    /**
+     * Update the drain rate with the memory released since the previous update.
+     *
+     * @param weight Weight of the recent observation.
+     */
+    public void updateDrainRate(double weight) {
+        drainRate = weight * drainedMemory + (1.0d - weight) * drainRate;
+        drainedMemory = 0;
+    }
+
+    public boolean isShouldSend() {
+        return shouldSend;
+    }
+
+    public void setShouldSend(boolean shouldSend) {
+        this.shouldSend = shouldSend;
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.join;
+
+import com.hazelcast.sql.impl.exec.AbstractExec;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.UpstreamState;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.JoinRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.row.RowKeys;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hash join executor.
+ * <p>
+ * The right input is consumed first and put into a hash table by the right key columns (the build phase). Then the rows
+ * of the left input are looked up in the table by the left key columns (the probe phase), and every matching pair is
+ * emitted as a {@link JoinRow}. Only the build side is kept in memory, so the smaller input should be on the right.
+ * <p>
+ * The rows having {@code NULL} in any of the key columns never match. For the outer join, the left rows without matches
+ * are emitted joined with a row of {@code NULL}s.
+ */
+public class HashJoinExec extends AbstractExec {
+
+    static final int BATCH_SIZE = 1024;
+
+    private final UpstreamState leftState;
+    private final UpstreamState rightState;
+    private final int[] leftKey;
+    private final int[] rightKey;
+    private final Expression<Boolean> condition;
+    private final boolean outer;
+
+    /** Estimated size of a row of the right input. */
+    private final int rightRowWidth;
+
+    /** Row of NULLs joined with the unmatched left rows of the outer join. */
+    private final Row nullRightRow;
+
+    private JoinHashTable table;
+    private boolean built;
+
+    /** Number of rows in the hash table for which the memory is reserved. */
+    private int reservedRows;
+    private List<Row> currentRows;
+    private RowBatch currentBatch;
+
+    /** Left row being probed, its hash and the index of its next candidate match in the hash table. */
+    private Row probeRow;
+    private int probeHash;
+    private int probeIndex;
+    private boolean probeMatched;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public HashJoinExec(
+        int id,
+        Exec left,
+        Exec right,
+        int[] leftKey,
+        int[] rightKey,
+        Expression<Boolean> condition,
+        boolean outer,
+        int rightColumnCount
+    ) {
+        this(id, left, right, leftKey, rightKey, condition, outer, rightColumnCount, 0);
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public HashJoinExec(
+        int id,
+        Exec left,
+        Exec right,
+        int[] leftKey,
+        int[] rightKey,
+        Expression<Boolean> condition,
+        boolean outer,
+        int rightColumnCount,
+        int rightRowWidth
+    ) {
+        super(id);
+
+        leftState = new UpstreamState(left);
+        rightState = new UpstreamState(right);
+
+        this.leftKey = leftKey;
+        this.rightKey = rightKey;
+        this.condition = condition;
+        this.outer = outer;
+        this.rightRowWidth = rightRowWidth;
+
+        nullRightRow = new HeapRow(rightColumnCount);
+
+        table = new JoinHashTable(rightKey);
+    }
+
+    @Override
+    protected void setup0(QueryFragmentContext ctx) {
+        leftState.setup(ctx);
+        rightState.setup(ctx);
+    }
+
+    @Override
+    protected void release0() {
+        try {
+            leftState.release();
+        } finally {
+            rightState.release();
+        }
+    }
+
+    @Override
+    protected IterationResult advance0() {
+        if (!built) {
+            if (!build()) {
+                return IterationResult.WAIT;
+            }
+
+            built = true;
+        }
+
+        return probe();
+    }
+
+    @Override
+    protected RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public int[] getLeftKey() {
+        return leftKey;
+    }
+
+    public int[] getRightKey() {
+        return rightKey;
+    }
+
+    public Expression<Boolean> getCondition() {
+        return condition;
+    }
+
+    public boolean isOuter() {
+        return outer;
+    }
+
+    /**
+     * @return {@code true} if the whole right input has been put into the hash table, {@code false} if the right
+     * upstream should be waited for.
+     */
+    private boolean build() {
+        while (true) {
+            if (!rightState.advance()) {
+                return false;
+            }
+
+            for (Row row : rightState) {
+                // Rows with NULL keys never match, hence are never needed.
+                if (!hasNull(row, rightKey)) {
+                    table.add(row);
+                }
+            }
+
+            ctx.getMemoryTracker().reserve((long) (table.size() - reservedRows) * rightRowWidth);
+
+            reservedRows = table.size();
+
+            if (rightState.isDone()) {
+                return true;
+            }
+        }
+    }
+
+    private IterationResult probe() {
+        if (currentRows == null) {
+            currentRows = new ArrayList<>(BATCH_SIZE);
+            currentBatch = null;
+        }
+
+        while (true) {
+            if (probeRow == null) {
+                if (!leftState.advance()) {
+                    return IterationResult.WAIT;
+                }
+
+                Row row = leftState.nextIfExists();
+
+                if (row == null) {
+                    if (leftState.isDone()) {
+                        return prepareBatch(IterationResult.FETCHED_DONE);
+                    }
+
+                    continue;
+                }
+
+                startProbe(row);
+            }
+
+            if (!continueProbe()) {
+                // The batch is full, the rest of the matches of the current left row go to the next batch.
+                return prepareBatch(IterationResult.FETCHED);
+            }
+
+            if (currentRows.size() == BATCH_SIZE) {
+                return prepareBatch(leftState.isDone() ? IterationResult.FETCHED_DONE : IterationResult.FETCHED);
+            }
+        }
+    }
+
+    private void startProbe(Row leftRow) {
+        probeRow = leftRow;
+        probeMatched = false;
+
+        if (hasNull(leftRow, leftKey)) {
+            probeIndex = -1;
+        } else {
+            probeHash = RowKeys.hash(leftRow, leftKey);
+            probeIndex = table.findFirst(leftRow, leftKey, probeHash);
+        }
+    }
+
+    /**
+     * Emits the remaining matches of the current left row.
+     *
+     * @return {@code true} if the left row is processed completely, {@code false} if the batch is full.
+     */
+    private boolean continueProbe() {
+        while (probeIndex != -1) {
+            if (currentRows.size() == BATCH_SIZE) {
+                return false;
+            }
+
+            JoinRow row = new JoinRow(probeRow, table.getRow(probeIndex));
+
+            probeIndex = table.findNext(probeIndex, probeRow, leftKey, probeHash);
+
+            if (condition == null || Boolean.TRUE.equals(condition.eval(row, ctx))) {
+                currentRows.add(row);
+
+                probeMatched = true;
+            }
+        }
+
+        if (outer && !probeMatched) {
+            if (currentRows.size() == BATCH_SIZE) {
+                return false;
+            }
+
+            currentRows.add(new JoinRow(probeRow, nullRightRow));
+        }
+
+        probeRow = null;
+
+        return true;
+    }
+
+    private IterationResult prepareBatch(IterationResult result) {
+        currentBatch = new ListRowBatch(currentRows);
+        currentRows = null;
+
+        if (result == IterationResult.FETCHED_DONE) {
+            // Release the build side as early as possible.
+            table = null;
+
+            ctx.getMemoryTracker().release((long) reservedRows * rightRowWidth);
+
+            reservedRows = 0;
+        }
+
+        return result;
+    }
+
+    private static boolean hasNull(Row row, int[] columns) {
+        for (int column : columns) {
+            if (row.get(column) == null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.join;
+
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowKeys;
+
+import java.util.Arrays;
+
+/**
+ * Hash table of the build side rows of a hash join, keyed by the join key columns.
+ * <p>
+ * The rows are stored in arrays in the order of insertion together with their hashes. Every bucket holds the index of
+ * the last row inserted into it, and the rows of the same bucket are chained through the {@code next} array, so the
+ * insertion never compares keys and the rows with duplicate keys need no extra allocation.
+ */
+final class JoinHashTable {
+
+    private static final int INITIAL_BUCKET_COUNT = 64;
+    private static final int NO_ROW = -1;
+
+    private final int[] keyColumns;
+
+    private int[] buckets = newBuckets(INITIAL_BUCKET_COUNT);
+    private int mask = INITIAL_BUCKET_COUNT - 1;
+
+    private int[] hashes = new int[INITIAL_BUCKET_COUNT];
+    private int[] next = new int[INITIAL_BUCKET_COUNT];
+    private Row[] rows = new Row[INITIAL_BUCKET_COUNT];
+    private int size;
+
+    JoinHashTable(int[] keyColumns) {
+        this.keyColumns = keyColumns;
+    }
+
+    /**
+     * Adds the given row to the table.
+     */
+    void add(Row row) {
+        if (size == rows.length) {
+            resize();
+        }
+
+        int hash = RowKeys.hash(row, keyColumns);
+        int bucket = hash & mask;
+
+        hashes[size] = hash;
+        rows[size] = row;
+        next[size] = buckets[bucket];
+        buckets[bucket] = size;
+
+        size++;
+    }
+
+    /**
+     * @return The number of the rows in the table.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Finds the first row matching the given probe row.
+     *
+     * @param probeRow Probe row.
+     * @param probeKeyColumns Key columns of the probe row, in the same order as the key columns of this table.
+     * @param hash Hash of the key of the probe row.
+     * @return Index of the matching row or {@code -1} if there is no such row.
+     */
+    int findFirst(Row probeRow, int[] probeKeyColumns, int hash) {
+        return find(buckets[hash & mask], probeRow, probeKeyColumns, hash);
+    }
+
+    /**
+     * Finds the next row matching the given probe row after the given one.
+     *
+     * @return Index of the matching row or {@code -1} if there are no more such rows.
+     */
+    int findNext(int index, Row probeRow, int[] probeKeyColumns, int hash) {
+        return find(next[index], probeRow, probeKeyColumns, hash);
+    }
+
+    Row getRow(int index) {
+        return rows[index];
+    }
+
+    private int find(int start, Row probeRow, int[] probeKeyColumns, int hash) {
+        int index = start;
+
+        while (index != NO_ROW) {
+            if (hashes[index] == hash && RowKeys.equal(probeRow, probeKeyColumns, rows[index], keyColumns)) {
+                return index;
+            }
+
+            index = next[index];
+        }
+
+        return NO_ROW;
+    }
+
+    private void resize() {
+        int capacity = rows.length * 2;
+
+        hashes = Arrays.copyOf(hashes, capacity);
+        next = Arrays.copyOf(next, capacity);
+        rows = Arrays.copyOf(rows, capacity);
+
+        // Keep the number of buckets equal to the capacity, so the chains stay short.
+        buckets = newBuckets(capacity);
+        mask = capacity - 1;
+
+        // Re-chaining in the insertion order preserves the relative order of the rows in every bucket.
+        for (int i = 0; i < size; i++) {
+            int bucket = hashes[i] & mask;
+
+            next[i] = buckets[bucket];
+            buckets[bucket] = i;
+        }
+    }
+
+    private static int[] newBuckets(int count) {
+        int[] res = new int[count];
+
+        Arrays.fill(res, NO_ROW);
+
+        return res;
+    }
+}
@@ -17,19 +17,18 @@
 package com.hazelcast.sql.impl.exec.scan;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.query.impl.Metadata;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.sql.impl.SqlErrorCode;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.exec.AbstractExec;
 import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.CompiledExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.predicate.TernaryLogic;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
-import com.hazelcast.sql.impl.row.EmptyRow;
-import com.hazelcast.sql.impl.row.HeapRow;
-import com.hazelcast.sql.impl.row.ListRowBatch;
-import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.worker.QueryFragmentContext;
@@ -53,13 +52,16 @@ public abstract class AbstractMapScanExec extends AbstractExec {
     protected final List<Integer> projects;
     protected final Expression<Boolean> filter;
 
+    private final CompiledExpression<Boolean> compiledFilter;
     private final InternalSerializationService serializationService;
 
     private int migrationStamp;
     private KeyValueIterator recordIterator;
 
     private MapScanRow row;
-    private List<Row> currentRows;
+    private List<QueryDataType> projectTypes;
+    private Object[] projectValues;
+    private ColumnarRowBatch currentRows;
 
     protected AbstractMapScanExec(
         int id,
@@ -81,6 +83,7 @@ public abstract class AbstractMapScanExec extends AbstractExec {
         this.fieldTypes = fieldTypes;
         this.projects = projects;
         this.filter = filter;
+        this.compiledFilter = filter != null ? filter.compile() : null;
         this.serializationService = serializationService;
     }
 
@@ -95,6 +98,14 @@ public abstract class AbstractMapScanExec extends AbstractExec {
             serializationService
         );
 
+        projectTypes = new ArrayList<>(projects.size());
+
+        for (Integer project : projects) {
+            projectTypes.add(fieldTypes.get(project));
+        }
+
+        projectValues = new Object[projects.size()];
+
         migrationStamp = getMigrationStamp();
         recordIterator = createIterator();
     }
@@ -104,16 +115,14 @@ public abstract class AbstractMapScanExec extends AbstractExec {
         currentRows = null;
 
         while (recordIterator.tryAdvance()) {
-            Row row = prepareRow(recordIterator.getKey(), recordIterator.getValue());
-
-            if (row != null) {
+            if (prepareRow(recordIterator.getKey(), recordIterator.getValue(), recordIterator.getMetadata())) {
                 if (currentRows == null) {
-                    currentRows = new ArrayList<>(BATCH_SIZE);
+                    currentRows = new ColumnarRowBatch(projectTypes, BATCH_SIZE);
                 }
 
-                currentRows.add(row);
+                currentRows.addRow(projectValues);
 
-                if (currentRows.size() == BATCH_SIZE) {
+                if (currentRows.getRowCount() == BATCH_SIZE) {
                     break;
                 }
             }
@@ -149,7 +158,7 @@ public abstract class AbstractMapScanExec extends AbstractExec {
 
     @Override
     public RowBatch currentBatch0() {
-        return currentRows != null ? new ListRowBatch(currentRows) : null;
+        return currentRows;
     }
 
     protected abstract int getMigrationStamp();
@@ -163,34 +172,27 @@ public abstract class AbstractMapScanExec extends AbstractExec {
     /**
      * Prepare the row for the given key and value:
      * 1) Check filter
-     * 2) Extract projections
+     * 2) Extract projections into the columns of the current batch
      *
      * @param rawKey Key (data or object)
      * @param rawValue Value (data or object)
-     * @return Row that is ready for processing by parent operators or {@code null} if the row hasn't passed the filter.
+     * @param metadata Metadata of the entry, if any
+     * @return {@code true} if the row has passed the filter and projected values are ready to be added to the batch.
      */
-    protected Row prepareRow(Object rawKey, Object rawValue) {
-        row.setKeyValue(rawKey, rawValue);
+    protected boolean prepareRow(Object rawKey, Object rawValue, Metadata metadata) {
+        row.setKeyValue(rawKey, rawValue, metadata);
 
         // Filter.
-        if (filter != null && TernaryLogic.isNotTrue(filter.eval(row, ctx))) {
-            return null;
+        if (compiledFilter != null && TernaryLogic.isNotTrue(compiledFilter.eval(row, ctx))) {
+            return false;
         }
 
         // Project.
-        if (projects.size() == 0) {
-            return EmptyRow.INSTANCE;
-        }
-
-        HeapRow row = new HeapRow(projects.size());
-
         for (int j = 0; j < projects.size(); j++) {
-            Object projectRes = this.row.get(projects.get(j));
-
-            row.set(j, projectRes);
+            projectValues[j] = row.get(projects.get(j));
         }
 
-        return row;
+        return true;
     }
 
     /**
@@ -16,6 +16,8 @@
 
 package com.hazelcast.sql.impl.exec.scan;
 
+import com.hazelcast.query.impl.Metadata;
+
 /**
  * Iterator over key/value pairs.
  */
@@ -45,4 +47,9 @@ public interface KeyValueIterator {
      * @return current value
      */
     Object getValue();
+
+    /**
+     * @return metadata of the current entry, or {@code null} if the entry has no metadata
+     */
+    Metadata getMetadata();
 }
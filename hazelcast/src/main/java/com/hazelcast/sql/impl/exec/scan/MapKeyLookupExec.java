@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
+import com.hazelcast.sql.impl.row.EmptyRow;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Executor which looks up map entries by their keys instead of scanning the whole partitions. Only the keys which belong
+ * to the local partitions are looked up.
+ */
+public class MapKeyLookupExec extends MapScanExec {
+
+    private final List<Expression<?>> keys;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public MapKeyLookupExec(
+        int id,
+        MapContainer map,
+        PartitionIdSet partitions,
+        QueryTargetDescriptor keyDescriptor,
+        QueryTargetDescriptor valueDescriptor,
+        List<QueryPath> fieldPaths,
+        List<QueryDataType> fieldTypes,
+        List<Integer> projects,
+        Expression<Boolean> filter,
+        List<Expression<?>> keys,
+        InternalSerializationService serializationService
+    ) {
+        super(
+            id,
+            map,
+            partitions,
+            keyDescriptor,
+            valueDescriptor,
+            fieldPaths,
+            fieldTypes,
+            projects,
+            filter,
+            serializationService
+        );
+
+        this.keys = keys;
+    }
+
+    @Override
+    protected KeyValueIterator createIterator() {
+        List<Data> localKeys = new ArrayList<>(keys.size());
+
+        for (Data key : evaluateKeys(map, keys, ctx)) {
+            if (partitions.contains(getPartitionId(map, key))) {
+                localKeys.add(key);
+            }
+        }
+
+        return new MapKeyLookupExecIterator(map, localKeys.iterator());
+    }
+
+    public List<Expression<?>> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Evaluate key expressions and convert the values to the form used by the map storage.
+     *
+     * @param map Map.
+     * @param keys Key expressions.
+     * @param context Context to evaluate the expressions.
+     * @return Distinct keys in serialized form, excluding the values which cannot be equal to any key.
+     */
+    public static Collection<Data> evaluateKeys(MapContainer map, List<Expression<?>> keys, ExpressionEvalContext context) {
+        Set<Data> res = new LinkedHashSet<>();
+
+        for (Expression<?> key : keys) {
+            Object value;
+
+            try {
+                value = key.eval(EmptyRow.INSTANCE, context);
+            } catch (QueryException e) {
+                // The value cannot be converted to the type of the key, e.g. due to an overflow. Hence, it cannot be
+                // equal to any key.
+                continue;
+            }
+
+            if (value == null) {
+                // NULL is never equal to a key.
+                continue;
+            }
+
+            res.add(map.getMapServiceContext().toData(value, map.getPartitioningStrategy()));
+        }
+
+        return res;
+    }
+
+    public static int getPartitionId(MapContainer map, Data key) {
+        return map.getMapServiceContext().getNodeEngine().getPartitionService().getPartitionId(key);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.impl.Metadata;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+
+import java.util.Iterator;
+
+/**
+ * Iterator over the entries with the given keys. Every key is looked up in the record store of its partition directly.
+ */
+@SuppressWarnings("rawtypes")
+public class MapKeyLookupExecIterator implements KeyValueIterator {
+
+    private final MapContainer map;
+    private final Iterator<Data> keysIterator;
+    private final long now = Clock.currentTimeMillis();
+
+    private Data currentKey;
+    private Object currentValue;
+    private Metadata currentMetadata;
+    private Data nextKey;
+    private Object nextValue;
+    private Metadata nextMetadata;
+
+    public MapKeyLookupExecIterator(MapContainer map, Iterator<Data> keysIterator) {
+        this.map = map;
+        this.keysIterator = keysIterator;
+
+        advance0();
+    }
+
+    @Override
+    public boolean tryAdvance() {
+        if (!done()) {
+            currentKey = nextKey;
+            currentValue = nextValue;
+            currentMetadata = nextMetadata;
+
+            advance0();
+
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean done() {
+        return nextKey == null;
+    }
+
+    /**
+     * Look up the next key which has a live entry.
+     */
+    @SuppressWarnings("unchecked")
+    private void advance0() {
+        while (keysIterator.hasNext()) {
+            Data key = keysIterator.next();
+
+            int part = MapKeyLookupExec.getPartitionId(map, key);
+
+            boolean isOwned = map.getMapServiceContext().getOrInitCachedMemberPartitions().contains(part);
+
+            if (!isOwned) {
+                throw QueryException.error(
+                    SqlErrorCode.PARTITION_DISTRIBUTION,
+                    "Partition is not owned by member: " + part
+                ).markInvalidate();
+            }
+
+            RecordStore recordStore = map.getMapServiceContext().getRecordStore(part, map.getName());
+
+            if (recordStore == null) {
+                continue;
+            }
+
+            try {
+                recordStore.checkIfLoaded();
+            } catch (RetryableHazelcastException e) {
+                throw QueryException.error(SqlErrorCode.MAP_LOADING_IN_PROGRESS, "Map loading is in progress: "
+                    + map.getName(), e);
+            }
+
+            Record<Object> record = (Record<Object>) recordStore.getStorage().get(key);
+
+            if (record != null && !recordStore.isExpired(record, now, false)) {
+                nextKey = key;
+                nextValue = record.getValue();
+                nextMetadata = record.getMetadata();
+
+                return;
+            }
+        }
+
+        nextKey = null;
+        nextValue = null;
+        nextMetadata = null;
+    }
+
+    @Override
+    public Object getKey() {
+        return currentKey;
+    }
+
+    @Override
+    public Object getValue() {
+        return currentValue;
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return currentMetadata;
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.sql.impl.exec.scan;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.query.impl.Metadata;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.sql.impl.extract.QueryExtractor;
 import com.hazelcast.sql.impl.extract.QueryPath;
@@ -72,8 +73,24 @@ public final class MapScanRow implements Row {
      * @param rawValue Value (objecct or data).
      */
     public void setKeyValue(Object rawKey, Object rawValue) {
-        keyTarget.setTarget(rawKey);
-        valueTarget.setTarget(rawValue);
+        setKeyValue(rawKey, rawValue, null);
+    }
+
+    /**
+     * Set current key and value along with the metadata of the entry.
+     *
+     * @param rawKey Key (object or data).
+     * @param rawValue Value (object or data).
+     * @param metadata Metadata of the entry, or {@code null}.
+     */
+    public void setKeyValue(Object rawKey, Object rawValue, Metadata metadata) {
+        if (metadata == null) {
+            keyTarget.setTarget(rawKey, null);
+            valueTarget.setTarget(rawValue, null);
+        } else {
+            keyTarget.setTarget(rawKey, metadata.getKeyMetadata());
+            valueTarget.setTarget(rawValue, metadata.getValueMetadata());
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -18,6 +18,7 @@ package com.hazelcast.sql.impl.exec.scan.index;
 
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.Metadata;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.SqlErrorCode;
@@ -39,8 +40,10 @@ public class MapIndexScanExecIterator implements KeyValueIterator {
 
     private Data currentKey;
     private Object currentValue;
+    private Metadata currentMetadata;
     private Data nextKey;
     private Object nextValue;
+    private Metadata nextMetadata;
 
     public MapIndexScanExecIterator(
         String mapName,
@@ -69,6 +72,7 @@ public class MapIndexScanExecIterator implements KeyValueIterator {
         if (!done()) {
             currentKey = nextKey;
             currentValue = nextValue;
+            currentMetadata = nextMetadata;
 
             advance0();
 
@@ -93,15 +97,22 @@ public class MapIndexScanExecIterator implements KeyValueIterator {
         return currentValue;
     }
 
+    @Override
+    public Metadata getMetadata() {
+        return currentMetadata;
+    }
+
     private void advance0() {
         if (iterator.hasNext()) {
             QueryableEntry<?, ?> entry = iterator.next();
 
             nextKey = entry.getKeyData();
             nextValue = entry.getValue();
+            nextMetadata = entry.getMetadata();
         } else {
             nextKey = null;
             nextValue = null;
+            nextMetadata = null;
         }
     }
 
@@ -81,18 +81,31 @@ public class MergeSort {
      */
     private int offsetApplied;
 
+    /**
+     * Maximum number of rows in a batch.
+     */
+    private final int batchSize;
+
     /**
      * Whether the sorting is finished.
      */
     private boolean done;
 
-    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "This is an internal class")
     public MergeSort(MergeSortSource[] sources, SortKeyComparator comparator, Expression<?> fetch,
                      Expression<?> offset) {
+        this(sources, comparator, fetch, offset, Integer.MAX_VALUE);
+    }
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "This is an internal class")
+    public MergeSort(MergeSortSource[] sources, SortKeyComparator comparator, Expression<?> fetch,
+                     Expression<?> offset, int batchSize) {
+        assert batchSize > 0;
+
         this.sources = sources;
         this.heap = new PriorityQueue<>(comparator);
         this.fetch = fetch;
         this.offset = offset;
+        this.batchSize = batchSize;
 
         for (int i = 0; i < sources.length; i++) {
             missingSourceIndexes.add(i);
@@ -171,6 +184,10 @@ public class MergeSort {
                 return rows;
             }
 
+            if (rows.size() == batchSize) {
+                return rows;
+            }
+
             // Get current row.
             SortKey key = heap.poll();
 
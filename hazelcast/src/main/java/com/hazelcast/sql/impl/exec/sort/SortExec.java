@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.sort;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.sql.impl.exec.AbstractUpstreamAwareExec;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.EmptyRowBatch;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.hazelcast.sql.impl.exec.fetch.Fetch.getFetchValue;
+import static com.hazelcast.sql.impl.exec.fetch.Fetch.getOffsetValue;
+
+/**
+ * Executor which sorts all the rows of the upstream.
+ * <p>
+ * If the number of the returned rows is limited and the rows to be returned and skipped fit into the memory budget,
+ * only the top rows are kept in a bounded heap. Otherwise the rows are accumulated in memory until the memory budget is
+ * exhausted, and then the accumulated rows are sorted and written to a temporary file as a sorted run. When the
+ * upstream is done, the rows in memory and the spilled runs are merged with {@link MergeSort}, which also applies the
+ * offset and the limit.
+ * <p>
+ * Rows with equal sort keys are returned in the order they were received.
+ */
+@SuppressWarnings("rawtypes")
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class SortExec extends AbstractUpstreamAwareExec {
+
+    static final int BATCH_SIZE = 1024;
+
+    /** Indexes of columns to be used for sorting. */
+    private final int[] columnIndexes;
+
+    /** Sort directions. */
+    private final boolean[] ascs;
+
+    /** Limit expression. */
+    private final Expression fetch;
+
+    /** Offset expression. */
+    private final Expression offset;
+
+    private final SortKeyComparator comparator;
+    private final InternalSerializationService serializationService;
+
+    /** Maximum number of rows kept in memory. */
+    private final int maxRows;
+
+    /** Estimated size of a row kept in memory. */
+    private final int rowWidth;
+
+    /** Directory for the spilled runs, or {@code null} for the default temporary-file directory. */
+    private final File spillDirectory;
+
+    /** Number of rows kept in the heap, if only the top rows are needed. */
+    private int topCount;
+
+    /** The top rows, with the greatest one at the head. */
+    private PriorityQueue<RowSortKey> topRows;
+
+    /** Rows accumulated in memory. */
+    private List<RowSortKey> rows = new ArrayList<>();
+
+    /** Runs spilled to disk. */
+    private final List<SpilledRun> spilledRuns = new ArrayList<>();
+
+    /** Index of the next row, which makes the sort stable. */
+    private long nextIndex;
+
+    /** Number of rows in memory for which the memory is reserved. */
+    private int reservedRows;
+
+    private MergeSort merger;
+    private RowBatch currentBatch;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public SortExec(
+        int id,
+        Exec upstream,
+        int[] columnIndexes,
+        boolean[] ascs,
+        Expression fetch,
+        Expression offset,
+        InternalSerializationService serializationService,
+        long memoryBudget,
+        int rowWidth,
+        File spillDirectory
+    ) {
+        super(id, upstream);
+
+        assert rowWidth > 0;
+
+        this.columnIndexes = columnIndexes;
+        this.ascs = ascs;
+        this.fetch = fetch;
+        this.offset = offset;
+        this.serializationService = serializationService;
+        this.spillDirectory = spillDirectory;
+        this.rowWidth = rowWidth;
+
+        comparator = new SortKeyComparator(ascs);
+        maxRows = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, memoryBudget / rowWidth));
+    }
+
+    @Override
+    protected void setup1(QueryFragmentContext ctx) {
+        if (fetch == null) {
+            return;
+        }
+
+        long fetchValue = getFetchValue(ctx, fetch);
+        long offsetValue = getOffsetValue(ctx, offset);
+
+        if (offsetValue <= maxRows && fetchValue <= maxRows - offsetValue) {
+            topCount = (int) (fetchValue + offsetValue);
+            topRows = new PriorityQueue<>(comparator.reversed());
+        }
+    }
+
+    @Override
+    protected IterationResult advance0() {
+        if (merger == null) {
+            while (true) {
+                if (!state.advance()) {
+                    return IterationResult.WAIT;
+                }
+
+                for (Row row : state) {
+                    consume(row);
+                }
+
+                reserveMemory();
+
+                if (state.isDone()) {
+                    break;
+                }
+            }
+
+            merger = createMerger();
+        }
+
+        List<Row> batch = merger.nextBatch();
+
+        currentBatch = batch == null || batch.isEmpty() ? EmptyRowBatch.INSTANCE : new ListRowBatch(batch);
+
+        if (merger.isDone()) {
+            // Release the files of the runs which were not read till the end because of the limit.
+            closeSpilledRuns();
+
+            releaseMemory();
+
+            return IterationResult.FETCHED_DONE;
+        } else {
+            return IterationResult.FETCHED;
+        }
+    }
+
+    @Override
+    protected RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    @Override
+    protected void release1() {
+        // Delete the files of the runs if the query is cancelled or failed before the runs are merged.
+        closeSpilledRuns();
+    }
+
+    private void closeSpilledRuns() {
+        for (SpilledRun run : spilledRuns) {
+            run.close();
+        }
+    }
+
+    private void consume(Row row) {
+        RowSortKey key = new RowSortKey(prepareKey(row, columnIndexes), nextIndex++, row);
+
+        if (topRows != null) {
+            if (topRows.size() < topCount) {
+                topRows.add(key);
+            } else if (topCount > 0 && comparator.compare(key, topRows.peek()) < 0) {
+                topRows.poll();
+                topRows.add(key);
+            }
+        } else {
+            rows.add(key);
+
+            if (rows.size() == maxRows) {
+                spill();
+            }
+        }
+    }
+
+    private void spill() {
+        rows.sort(comparator);
+
+        spilledRuns.add(SpilledRun.write(serializationService, spillDirectory, rows, columnIndexes, spilledRuns.size()));
+
+        rows = new ArrayList<>();
+
+        releaseMemory();
+    }
+
+    /**
+     * Reserves the memory for the rows accumulated in memory since the previous reservation.
+     */
+    private void reserveMemory() {
+        int memoryRows = topRows != null ? topRows.size() : rows.size();
+
+        if (memoryRows > reservedRows) {
+            ctx.getMemoryTracker().reserve((long) (memoryRows - reservedRows) * rowWidth);
+
+            reservedRows = memoryRows;
+        }
+    }
+
+    private void releaseMemory() {
+        ctx.getMemoryTracker().release((long) reservedRows * rowWidth);
+
+        reservedRows = 0;
+    }
+
+    private MergeSort createMerger() {
+        if (topRows != null) {
+            rows = new ArrayList<>(topRows);
+            topRows = null;
+        }
+
+        rows.sort(comparator);
+
+        MergeSortSource[] sources = new MergeSortSource[spilledRuns.size() + 1];
+
+        for (int i = 0; i < spilledRuns.size(); i++) {
+            sources[i] = spilledRuns.get(i);
+        }
+
+        sources[spilledRuns.size()] = new MemoryRun(rows, spilledRuns.size());
+
+        rows = null;
+
+        MergeSort res = new MergeSort(sources, comparator, fetch, offset, BATCH_SIZE);
+
+        res.setup(ctx);
+
+        return res;
+    }
+
+    /**
+     * Prepare the sort key values for the row.
+     *
+     * @param row Row.
+     * @param columnIndexes Indexes of columns to be used for sorting.
+     * @return Key values.
+     */
+    static Object[] prepareKey(Row row, int[] columnIndexes) {
+        Object[] key = new Object[columnIndexes.length];
+
+        for (int i = 0; i < columnIndexes.length; i++) {
+            key[i] = row.get(columnIndexes[i]);
+        }
+
+        return key;
+    }
+
+    public int[] getColumnIndexes() {
+        return columnIndexes;
+    }
+
+    public boolean[] getAscs() {
+        return ascs;
+    }
+
+    public Expression getFetch() {
+        return fetch;
+    }
+
+    public Expression getOffset() {
+        return offset;
+    }
+
+    // For unit testing only
+    public int getSpilledRunCount() {
+        return spilledRuns.size();
+    }
+
+    /**
+     * Sorted rows kept in memory.
+     */
+    private static final class MemoryRun implements MergeSortSource {
+
+        private final List<RowSortKey> rows;
+        private final int index;
+
+        private int position;
+        private SortKey currentKey;
+        private Row currentRow;
+
+        private MemoryRun(List<RowSortKey> rows, int index) {
+            this.rows = rows;
+            this.index = index;
+        }
+
+        @Override
+        public boolean advance() {
+            if (position == rows.size()) {
+                return false;
+            }
+
+            // Release the row as soon as possible.
+            RowSortKey row = rows.set(position++, null);
+
+            currentKey = new SortKey(row.getKey(), index);
+            currentRow = row.getRow();
+
+            return true;
+        }
+
+        @Override
+        public boolean isDone() {
+            return position == rows.size();
+        }
+
+        @Override
+        public SortKey peekKey() {
+            return currentKey;
+        }
+
+        @Override
+        public Row peekRow() {
+            return currentRow;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.sort;
+
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.row.Row;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+
+/**
+ * Sorted run of rows written to a temporary file by {@link SortExec}.
+ * <p>
+ * The rows are serialized in blocks, every block is prefixed with its length. The file is deleted when the run is
+ * read till the end or closed.
+ */
+final class SpilledRun implements MergeSortSource {
+
+    private static final String FILE_PREFIX = "hazelcast-sql-sort-";
+    private static final String FILE_SUFFIX = ".run";
+
+    /** Size of a block after which it is written to the file. */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final InternalSerializationService serializationService;
+    private final File file;
+    private final int[] columnIndexes;
+    private final int index;
+
+    /** Number of rows which are not read yet. */
+    private int remaining;
+
+    private DataInputStream input;
+    private BufferObjectDataInput block;
+    private int blockLength;
+
+    private SortKey currentKey;
+    private Row currentRow;
+
+    private SpilledRun(
+        InternalSerializationService serializationService,
+        File file,
+        int rowCount,
+        int[] columnIndexes,
+        int index
+    ) {
+        this.serializationService = serializationService;
+        this.file = file;
+        this.columnIndexes = columnIndexes;
+        this.index = index;
+
+        remaining = rowCount;
+    }
+
+    /**
+     * Write the sorted rows to a new temporary file.
+     *
+     * @param serializationService Serialization service.
+     * @param directory Directory of the file, or {@code null} for the default temporary-file directory.
+     * @param rows Sorted rows.
+     * @param columnIndexes Indexes of columns to be used for sorting.
+     * @param index Index of the run, which is used as the index of its sort keys.
+     * @return The run.
+     */
+    static SpilledRun write(
+        InternalSerializationService serializationService,
+        File directory,
+        List<RowSortKey> rows,
+        int[] columnIndexes,
+        int index
+    ) {
+        File file;
+
+        try {
+            file = File.createTempFile(FILE_PREFIX, FILE_SUFFIX, directory);
+        } catch (IOException e) {
+            throw QueryException.error("Failed to create a file for sorted rows in " + directory, e);
+        }
+
+        BufferObjectDataOutput block = serializationService.createObjectDataOutput(BLOCK_SIZE);
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            for (RowSortKey row : rows) {
+                block.writeObject(row.getRow());
+
+                if (block.position() >= BLOCK_SIZE) {
+                    writeBlock(block, output);
+                }
+            }
+
+            writeBlock(block, output);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+
+            throw QueryException.error("Failed to write sorted rows to " + file, e);
+        } finally {
+            closeResource(block);
+        }
+
+        return new SpilledRun(serializationService, file, rows.size(), columnIndexes, index);
+    }
+
+    private static void writeBlock(BufferObjectDataOutput block, DataOutputStream output) throws IOException {
+        if (block.position() == 0) {
+            return;
+        }
+
+        output.writeInt(block.position());
+        output.write(block.toByteArray());
+
+        block.clear();
+    }
+
+    @Override
+    public boolean advance() {
+        if (remaining == 0) {
+            close();
+
+            return false;
+        }
+
+        try {
+            if (block == null || block.position() == blockLength) {
+                readBlock();
+            }
+
+            currentRow = block.readObject();
+        } catch (IOException | RuntimeException e) {
+            close();
+
+            throw QueryException.error("Failed to read sorted rows from " + file, e);
+        }
+
+        currentKey = new SortKey(SortExec.prepareKey(currentRow, columnIndexes), index);
+        remaining--;
+
+        return true;
+    }
+
+    private void readBlock() throws IOException {
+        if (input == null) {
+            input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        }
+
+        blockLength = input.readInt();
+
+        byte[] bytes = new byte[blockLength];
+
+        input.readFully(bytes);
+
+        block = serializationService.createObjectDataInput(bytes);
+    }
+
+    @Override
+    public boolean isDone() {
+        return remaining == 0;
+    }
+
+    @Override
+    public SortKey peekKey() {
+        return currentKey;
+    }
+
+    @Override
+    public Row peekRow() {
+        return currentRow;
+    }
+
+    /**
+     * Release the file of the run. The run is empty afterwards.
+     */
+    void close() {
+        remaining = 0;
+        block = null;
+
+        if (input != null) {
+            closeResource(input);
+
+            input = null;
+        }
+
+        deleteQuietly(file);
+    }
+
+    // For unit testing only
+    File getFile() {
+        return file;
+    }
+}
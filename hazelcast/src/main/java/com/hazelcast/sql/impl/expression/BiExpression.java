@@ -21,6 +21,10 @@ import com.hazelcast.nio.ObjectDataOutput;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
 
 /**
  * Base class for expressions acting on two operands.
@@ -39,6 +43,61 @@ public abstract class BiExpression<T> implements Expression<T> {
         this.operand2 = operand2;
     }
 
+    /**
+     * Compiles a binary operation which returns {@code null} if any of the operands is {@code null}. As in the
+     * interpreted evaluation, the second operand is not evaluated if the first one is {@code null}.
+     *
+     * @param operation the operation to apply to non-null operand values.
+     * @return the compiled expression.
+     */
+    @SuppressWarnings("unchecked")
+    protected CompiledExpression<T> compileNullSafe(BinaryOperator<Object> operation) {
+        CompiledExpression<?> left = operand1.compile();
+        CompiledExpression<?> right = operand2.compile();
+
+        return (row, context) -> {
+            Object leftValue = left.eval(row, context);
+            if (leftValue == null) {
+                return null;
+            }
+
+            Object rightValue = right.eval(row, context);
+            if (rightValue == null) {
+                return null;
+            }
+
+            return (T) operation.apply(leftValue, rightValue);
+        };
+    }
+
+    /**
+     * Compiles a binary operation on {@code long} values with the same {@code null} handling as
+     * {@link #compileNullSafe(BinaryOperator)}. Intermediate results of nested primitive operations are not boxed.
+     * Both operands must satisfy {@link CompiledPrimitives#isLong(Expression)}.
+     *
+     * @param operation the operation to apply to non-null operand values.
+     * @param boxing    the function converting the result to the return type of this expression.
+     * @return the compiled expression.
+     */
+    @SuppressWarnings("unchecked")
+    protected CompiledExpression<T> compileLong(LongBinaryOperator operation, LongFunction<?> boxing) {
+        assert CompiledPrimitives.isLong(operand1) && CompiledPrimitives.isLong(operand2);
+
+        return (CompiledExpression<T>) CompiledPrimitives.longOperation(operand1, operand2, operation, boxing);
+    }
+
+    /**
+     * Compiles a binary operation on {@code double} values with the same {@code null} handling as
+     * {@link #compileNullSafe(BinaryOperator)}. Intermediate results of nested primitive operations are not boxed.
+     *
+     * @param operation the operation to apply to non-null operand values.
+     * @return the compiled expression.
+     */
+    @SuppressWarnings("unchecked")
+    protected CompiledExpression<T> compileDouble(DoubleBinaryOperator operation) {
+        return (CompiledExpression<T>) CompiledPrimitives.doubleOperation(operand1, operand2, operation);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeObject(operand1);
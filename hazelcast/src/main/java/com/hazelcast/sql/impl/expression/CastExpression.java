@@ -63,4 +63,23 @@ public final class CastExpression<T> extends UniExpressionWithType<T> implements
         return (T) toConverter.convertToSelf(fromConverter, value);
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompiledExpression<T> compile() {
+        CompiledExpression<?> compiledOperand = operand.compile();
+
+        Converter fromConverter = operand.getType().getConverter();
+        Converter toConverter = resultType.getConverter();
+
+        return (row, context) -> {
+            Object value = compiledOperand.eval(row, context);
+
+            if (value == null) {
+                return null;
+            }
+
+            return (T) toConverter.convertToSelf(fromConverter, value);
+        };
+    }
+
 }
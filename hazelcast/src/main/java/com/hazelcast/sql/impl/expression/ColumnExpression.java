@@ -20,6 +20,8 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.type.QueryDataTypeUtils;
@@ -61,6 +63,18 @@ public final class ColumnExpression<T> implements Expression<T>, IdentifiedDataS
         return (T) row.get(index);
     }
 
+    @Override
+    public CompiledExpression<T> compile() {
+        int index = this.index;
+
+        return (row, context) -> row.get(index);
+    }
+
+    @Override
+    public ColumnVector evalBatch(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        return batch.getColumn(index);
+    }
+
     @Override
     public QueryDataType getType() {
         return type;
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression;
+
+import com.hazelcast.sql.impl.row.Row;
+
+/**
+ * Compiled expression which is able to produce its result as a primitive {@code double}.
+ *
+ * @param <T> the return type of the boxed evaluation.
+ * @see NullFlag
+ */
+public interface CompiledDoubleExpression<T> extends CompiledExpression<T> {
+    /**
+     * Evaluates the compiled expression without boxing the result.
+     *
+     * @param row     the row to evaluate the expression on.
+     * @param context the expression evaluation context.
+     * @param isNull  the flag which is clear on entry and is set by the evaluation if the result is {@code NULL}.
+     * @return the result produced by the evaluation, undefined if the flag is set.
+     */
+    double evalDouble(Row row, ExpressionEvalContext context, NullFlag isNull);
+}
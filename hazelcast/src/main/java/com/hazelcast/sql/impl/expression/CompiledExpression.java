@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression;
+
+import com.hazelcast.sql.impl.row.Row;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled form of an {@link Expression}.
+ * <p>
+ * The compiled form is a tree of specialized evaluators: decisions which depend on operand types, comparison modes
+ * and constant operands are made once during compilation rather than on every evaluation, and evaluators of child
+ * expressions are captured directly instead of being reached through the expression tree. Compiled expressions are
+ * stateless and could be shared between concurrent executions of the same plan.
+ *
+ * @param <T> the return type of the expression.
+ * @see Expression#compile()
+ */
+@FunctionalInterface
+public interface CompiledExpression<T> {
+    /**
+     * Evaluates the compiled expression.
+     *
+     * @param row     the row to evaluate the expression on.
+     * @param context the expression evaluation context.
+     * @return the result produced by the evaluation.
+     */
+    T eval(Row row, ExpressionEvalContext context);
+
+    /**
+     * Compiles the given expressions.
+     *
+     * @param expressions the expressions to compile.
+     * @return the compiled expressions in the same order.
+     */
+    @SuppressWarnings("rawtypes")
+    static List<CompiledExpression<?>> compile(List<? extends Expression> expressions) {
+        List<CompiledExpression<?>> res = new ArrayList<>(expressions.size());
+
+        for (Expression<?> expression : expressions) {
+            res.add(expression.compile());
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression;
+
+import com.hazelcast.sql.impl.row.Row;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+
+/**
+ * Utility methods to build compiled expressions which pass intermediate results as primitives.
+ * <p>
+ * Operands are adapted once during compilation: constants are unboxed in advance, primitive compiled expressions
+ * are used directly and any other operand is evaluated once, checked for {@code null} and unboxed. Results are boxed
+ * only at the boundary with the regular {@link CompiledExpression#eval(Row, ExpressionEvalContext)}.
+ */
+public final class CompiledPrimitives {
+
+    private CompiledPrimitives() {
+        // No-op.
+    }
+
+    /**
+     * @param expression the expression to check.
+     * @return {@code true} if values of the given expression could be handled as {@code long} without changing the
+     * results of the interpreted evaluation, {@code false} otherwise.
+     */
+    public static boolean isLong(Expression<?> expression) {
+        return expression.getType().getTypeFamily().isNumericInteger();
+    }
+
+    /**
+     * Compiles the given numeric expression to produce {@code long} values.
+     *
+     * @param expression the expression to compile.
+     * @return the compiled expression.
+     */
+    public static CompiledLongExpression<?> toLong(Expression<?> expression) {
+        if (expression instanceof ConstantExpression) {
+            return new LongConstant<>(((ConstantExpression<?>) expression).getValue());
+        }
+
+        CompiledExpression<?> compiled = expression.compile();
+
+        if (compiled instanceof CompiledLongExpression) {
+            return (CompiledLongExpression<?>) compiled;
+        }
+
+        return new LongValue<>(compiled);
+    }
+
+    /**
+     * Compiles the given numeric expression to produce {@code double} values.
+     *
+     * @param expression the expression to compile.
+     * @return the compiled expression.
+     */
+    public static CompiledDoubleExpression<?> toDouble(Expression<?> expression) {
+        if (expression instanceof ConstantExpression) {
+            return new DoubleConstant<>(((ConstantExpression<?>) expression).getValue());
+        }
+
+        CompiledExpression<?> compiled = expression.compile();
+
+        if (compiled instanceof CompiledDoubleExpression) {
+            return (CompiledDoubleExpression<?>) compiled;
+        }
+
+        if (compiled instanceof CompiledLongExpression) {
+            return new LongAsDouble<>((CompiledLongExpression<?>) compiled);
+        }
+
+        return new DoubleValue<>(compiled);
+    }
+
+    /**
+     * Adapts the given compiled boolean expression to produce {@code boolean} values.
+     *
+     * @param compiled the compiled expression to adapt.
+     * @return the adapted expression.
+     */
+    public static CompiledBooleanExpression toBoolean(CompiledExpression<?> compiled) {
+        if (compiled instanceof CompiledBooleanExpression) {
+            return (CompiledBooleanExpression) compiled;
+        }
+
+        return (row, context, isNull) -> {
+            Boolean value = (Boolean) compiled.eval(row, context);
+
+            if (value == null) {
+                isNull.set();
+
+                return false;
+            }
+
+            return value;
+        };
+    }
+
+    /**
+     * Creates a compiled binary operation on {@code long} values which returns {@code NULL} if any of the operands is
+     * {@code NULL}. The second operand is not evaluated if the first one is {@code NULL}.
+     *
+     * @param operand1  the first operand.
+     * @param operand2  the second operand.
+     * @param operation the operation to apply to non-null operand values.
+     * @param boxing    the function converting the result to the return type of the operation.
+     * @param <T>       the return type of the operation.
+     * @return the compiled operation.
+     */
+    public static <T> CompiledLongExpression<T> longOperation(
+        Expression<?> operand1,
+        Expression<?> operand2,
+        LongBinaryOperator operation,
+        LongFunction<T> boxing
+    ) {
+        return new LongOperation<>(toLong(operand1), toLong(operand2), operation, boxing);
+    }
+
+    /**
+     * Creates a compiled binary operation on {@code double} values which returns {@code NULL} if any of the operands
+     * is {@code NULL}. The second operand is not evaluated if the first one is {@code NULL}.
+     *
+     * @param operand1  the first operand.
+     * @param operand2  the second operand.
+     * @param operation the operation to apply to non-null operand values.
+     * @return the compiled operation.
+     */
+    public static CompiledDoubleExpression<Double> doubleOperation(
+        Expression<?> operand1,
+        Expression<?> operand2,
+        DoubleBinaryOperator operation
+    ) {
+        return new DoubleOperation(toDouble(operand1), toDouble(operand2), operation);
+    }
+
+    private static final class LongConstant<T> implements CompiledLongExpression<T> {
+
+        private final T value;
+        private final long longValue;
+
+        private LongConstant(T value) {
+            this.value = value;
+            this.longValue = value == null ? 0L : ((Number) value).longValue();
+        }
+
+        @Override
+        public long evalLong(Row row, ExpressionEvalContext context, NullFlag isNull) {
+            if (value == null) {
+                isNull.set();
+            }
+
+            return longValue;
+        }
+
+        @Override
+        public T eval(Row row, ExpressionEvalContext context) {
+            return value;
+        }
+    }
+
+    private static final class LongValue<T> implements CompiledLongExpression<T> {
+
+        private final CompiledExpression<T> delegate;
+
+        private LongValue(CompiledExpression<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long evalLong(Row row, ExpressionEvalContext context, NullFlag isNull) {
+            T value = delegate.eval(row, context);
+
+            if (value == null) {
+                isNull.set();
+
+                return 0L;
+            }
+
+            return ((Number) value).longValue();
+        }
+
+        @Override
+        public T eval(Row row, ExpressionEvalContext context) {
+            return delegate.eval(row, context);
+        }
+    }
+
+    private static final class LongOperation<T> implements CompiledLongExpression<T> {
+
+        private final CompiledLongExpression<?> operand1;
+        private final CompiledLongExpression<?> operand2;
+        private final LongBinaryOperator operation;
+        private final LongFunction<T> boxing;
+
+        private LongOperation(
+            CompiledLongExpression<?> operand1,
+            CompiledLongExpression<?> operand2,
+            LongBinaryOperator operation,
+            LongFunction<T> boxing
+        ) {
+            this.operand1 = operand1;
+            this.operand2 = operand2;
+            this.operation = operation;
+            this.boxing = boxing;
+        }
+
+        @Override
+        public long evalLong(Row row, ExpressionEvalContext context, NullFlag isNull) {
+            long left = operand1.evalLong(row, context, isNull);
+            if (isNull.isSet()) {
+                return 0L;
+            }
+
+            long right = operand2.evalLong(row, context, isNull);
+            if (isNull.isSet()) {
+                return 0L;
+            }
+
+            return operation.applyAsLong(left, right);
+        }
+
+        @Override
+        public T eval(Row row, ExpressionEvalContext context) {
+            NullFlag isNull = new NullFlag();
+            long res = evalLong(row, context, isNull);
+
+            return isNull.isSet() ? null : boxing.apply(res);
+        }
+    }
+
+    private static final class DoubleConstant<T> implements CompiledDoubleExpression<T> {
+
+        private final T value;
+        private final double doubleValue;
+
+        private DoubleConstant(T value) {
+            this.value = value;
+            this.doubleValue = value == null ? 0.0d : ((Number) value).doubleValue();
+        }
+
+        @Override
+        public double evalDouble(Row row, ExpressionEvalContext context, NullFlag isNull) {
+            if (value == null) {
+                isNull.set();
+            }
+
+            return doubleValue;
+        }
+
+        @Override
+        public T eval(Row row, ExpressionEvalContext context) {
+            return value;
+        }
+    }
+
+    private static final class DoubleValue<T> implements CompiledDoubleExpression<T> {
+
+        private final CompiledExpression<T> delegate;
+
+        private DoubleValue(CompiledExpression<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public double evalDouble(Row row, ExpressionEvalContext context, NullFlag isNull) {
+            T value = delegate.eval(row, context);
+
+            if (value == null) {
+                isNull.set();
+
+                return 0.0d;
+            }
+
+            return ((Number) value).doubleValue();
+        }
+
+        @Override
+        public T eval(Row row, ExpressionEvalContext context) {
+            return delegate.eval(row, context);
+        }
+    }
+
+    private static final class LongAsDouble<T> implements CompiledDoubleExpression<T> {
+
+        private final CompiledLongExpression<T> delegate;
+
+        private LongAsDouble(CompiledLongExpression<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public double evalDouble(Row row, ExpressionEvalContext context, NullFlag isNull) {
+            return delegate.evalLong(row, context, isNull);
+        }
+
+        @Override
+        public T eval(Row row, ExpressionEvalContext context) {
+            return delegate.eval(row, context);
+        }
+    }
+
+    private static final class DoubleOperation implements CompiledDoubleExpression<Double> {
+
+        private final CompiledDoubleExpression<?> operand1;
+        private final CompiledDoubleExpression<?> operand2;
+        private final DoubleBinaryOperator operation;
+
+        private DoubleOperation(
+            CompiledDoubleExpression<?> operand1,
+            CompiledDoubleExpression<?> operand2,
+            DoubleBinaryOperator operation
+        ) {
+            this.operand1 = operand1;
+            this.operand2 = operand2;
+            this.operation = operation;
+        }
+
+        @Override
+        public double evalDouble(Row row, ExpressionEvalContext context, NullFlag isNull) {
+            double left = operand1.evalDouble(row, context, isNull);
+            if (isNull.isSet()) {
+                return 0.0d;
+            }
+
+            double right = operand2.evalDouble(row, context, isNull);
+            if (isNull.isSet()) {
+                return 0.0d;
+            }
+
+            return operation.applyAsDouble(left, right);
+        }
+
+        @Override
+        public Double eval(Row row, ExpressionEvalContext context) {
+            NullFlag isNull = new NullFlag();
+            double res = evalDouble(row, context, isNull);
+
+            return isNull.isSet() ? null : res;
+        }
+    }
+}
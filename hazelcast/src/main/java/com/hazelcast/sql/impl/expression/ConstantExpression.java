@@ -20,6 +20,8 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
@@ -76,6 +78,18 @@ public final class ConstantExpression<T> implements Expression<T>, IdentifiedDat
         return value;
     }
 
+    @Override
+    public CompiledExpression<T> compile() {
+        T value = this.value;
+
+        return (row, context) -> value;
+    }
+
+    @Override
+    public ColumnVector evalBatch(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        return ColumnVector.constant(type, value, batch.getRowCount());
+    }
+
     @Override
     public QueryDataType getType() {
         return type;
@@ -17,6 +17,8 @@
 package com.hazelcast.sql.impl.expression;
 
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
@@ -40,6 +42,45 @@ public interface Expression<T> extends DataSerializable, Serializable {
      */
     T eval(Row row, ExpressionEvalContext context);
 
+    /**
+     * Compiles this expression.
+     * <p>
+     * The default implementation delegates to {@link #eval(Row, ExpressionEvalContext)}. Implementations may override
+     * this method to produce a specialized evaluator. The compiled form must produce the same results and errors as
+     * {@link #eval(Row, ExpressionEvalContext)}, and must not depend on mutable state.
+     *
+     * @return the compiled form of this expression.
+     */
+    default CompiledExpression<T> compile() {
+        return this::eval;
+    }
+
+    /**
+     * Evaluates this expression on all rows of the given columnar batch.
+     * <p>
+     * The default implementation evaluates the expression row by row. Implementations may override this method to
+     * process the batch column-wise without boxing. The returned vector may be shared with the batch and must not be
+     * modified by the caller.
+     *
+     * @param batch   the batch to evaluate this expression on.
+     * @param context the expression evaluation context.
+     * @return the vector with the results of the evaluation, one per row of the batch.
+     */
+    default ColumnVector evalBatch(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        int rowCount = batch.getRowCount();
+
+        ColumnVector res = new ColumnVector(getType(), rowCount);
+        ColumnarRowBatch.Cursor cursor = batch.cursor();
+
+        for (int i = 0; i < rowCount; i++) {
+            cursor.setPosition(i);
+
+            res.set(i, eval(cursor, context));
+        }
+
+        return res;
+    }
+
     /**
      * @return the return query data type of this expression.
      */
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression;
+
+/**
+ * Mutable flag which primitive compiled expressions use to report an SQL {@code NULL} result without boxing.
+ * <p>
+ * A flag is created by the evaluation which converts the primitive result back to an object and is passed down
+ * the compiled tree, so the compiled expressions themselves stay stateless.
+ *
+ * @see CompiledLongExpression
+ * @see CompiledDoubleExpression
+ * @see CompiledBooleanExpression
+ */
+public final class NullFlag {
+
+    private boolean set;
+
+    /**
+     * @return {@code true} if the last evaluation produced {@code NULL}, {@code false} otherwise.
+     */
+    public boolean isSet() {
+        return set;
+    }
+
+    /**
+     * Marks the result of the evaluation as {@code NULL}.
+     */
+    public void set() {
+        set = true;
+    }
+
+    /**
+     * Resets the flag before the next evaluation.
+     */
+    public void clear() {
+        set = false;
+    }
+}
@@ -21,6 +21,8 @@ import com.hazelcast.sql.impl.SqlErrorCode;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
 import com.hazelcast.sql.impl.expression.BiExpressionWithType;
+import com.hazelcast.sql.impl.expression.CompiledExpression;
+import com.hazelcast.sql.impl.expression.CompiledPrimitives;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.row.Row;
@@ -77,6 +79,37 @@ public final class PlusFunction<T> extends BiExpressionWithType<T> implements Id
         return (T) evalNumeric((Number) left, (Number) right, family);
     }
 
+    @Override
+    public CompiledExpression<T> compile() {
+        QueryDataTypeFamily family = resultType.getTypeFamily();
+
+        switch (family) {
+            case INTEGER:
+                if (CompiledPrimitives.isLong(operand1) && CompiledPrimitives.isLong(operand2)) {
+                    return compileLong((left, right) -> (int) (left + right), value -> (int) value);
+                }
+
+                return compileNullSafe((left, right) -> ((Number) left).intValue() + ((Number) right).intValue());
+
+            case BIGINT:
+                if (CompiledPrimitives.isLong(operand1) && CompiledPrimitives.isLong(operand2)) {
+                    return compileLong(PlusFunction::evalBigint, Long::valueOf);
+                }
+
+                return compileNullSafe((left, right) -> evalBigint(((Number) left).longValue(), ((Number) right).longValue()));
+
+            case DOUBLE:
+                return compileDouble((left, right) -> left + right);
+
+            default:
+                if (family.isTemporal()) {
+                    return this::eval;
+                }
+
+                return compileNullSafe((left, right) -> evalNumeric((Number) left, (Number) right, family));
+        }
+    }
+
     private static Object evalNumeric(Number left, Number right, QueryDataTypeFamily family) {
         switch (family) {
             case TINYINT:
@@ -86,12 +119,7 @@ public final class PlusFunction<T> extends BiExpressionWithType<T> implements Id
             case INTEGER:
                 return left.intValue() + right.intValue();
             case BIGINT:
-                try {
-                    return Math.addExact(left.longValue(), right.longValue());
-                } catch (ArithmeticException e) {
-                    throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
-                            "BIGINT overflow in '+' operator (consider adding explicit CAST to DECIMAL)");
-                }
+                return evalBigint(left.longValue(), right.longValue());
             case REAL:
                 return left.floatValue() + right.floatValue();
             case DOUBLE:
@@ -103,4 +131,13 @@ public final class PlusFunction<T> extends BiExpressionWithType<T> implements Id
         }
     }
 
+    private static long evalBigint(long left, long right) {
+        try {
+            return Math.addExact(left, right);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in '+' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+
 }
@@ -18,9 +18,12 @@ package com.hazelcast.sql.impl.expression.predicate;
 
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.CompiledExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.VariExpression;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
@@ -56,6 +59,16 @@ public final class AndPredicate extends VariExpression<Boolean> implements Ident
         return TernaryLogic.and(row, context, operands);
     }
 
+    @Override
+    public CompiledExpression<Boolean> compile() {
+        return TernaryLogic.and(TernaryLogic.compile(operands));
+    }
+
+    @Override
+    public ColumnVector evalBatch(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        return TernaryLogic.and(batch, context, operands);
+    }
+
     @Override
     public QueryDataType getType() {
         return QueryDataType.BOOLEAN;
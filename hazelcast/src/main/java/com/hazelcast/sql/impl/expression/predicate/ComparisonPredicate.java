@@ -22,8 +22,15 @@ import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
 import com.hazelcast.sql.impl.expression.BiExpression;
+import com.hazelcast.sql.impl.expression.CompiledBooleanExpression;
+import com.hazelcast.sql.impl.expression.CompiledDoubleExpression;
+import com.hazelcast.sql.impl.expression.CompiledExpression;
+import com.hazelcast.sql.impl.expression.CompiledLongExpression;
+import com.hazelcast.sql.impl.expression.CompiledPrimitives;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
@@ -65,7 +72,6 @@ public final class ComparisonPredicate extends BiExpression<Boolean> implements
         return SqlDataSerializerHook.EXPRESSION_COMPARISON;
     }
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
     @SuppressFBWarnings(value = "NP_BOOLEAN_RETURN_NULL", justification = "Any SQL expression may return null")
     @Override
     public Boolean eval(Row row, ExpressionEvalContext context) {
@@ -79,29 +85,177 @@ public final class ComparisonPredicate extends BiExpression<Boolean> implements
             return null;
         }
 
-        if (this.operand1.getType().getTypeFamily() == QueryDataTypeFamily.OBJECT) {
-            Class<?> leftClass = left.getClass();
-            Class<?> rightClass = right.getClass();
-
-            if (!leftClass.equals(rightClass)) {
-                throw QueryException.error(
-                        "Cannot compare two OBJECT values, because "
-                                + "left operand has " + leftClass + " type and "
-                                + "right operand has " + rightClass + " type");
+        return matches(mode, compare(left, right));
+    }
+
+    @Override
+    public CompiledExpression<Boolean> compile() {
+        ComparisonMode mode = this.mode;
+
+        switch (operand1.getType().getTypeFamily()) {
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+                return compileLongComparison(mode);
+
+            case REAL:
+            case DOUBLE:
+                return compileDoubleComparison(mode);
+
+            case OBJECT:
+                return compileNullSafe((left, right) -> matches(mode, compareObjects(left, right)));
+
+            default:
+                return compileNullSafe((left, right) -> matches(mode, compareComparable(left, right)));
+        }
+    }
+
+    private CompiledBooleanExpression compileLongComparison(ComparisonMode mode) {
+        CompiledLongExpression<?> left = CompiledPrimitives.toLong(operand1);
+        CompiledLongExpression<?> right = CompiledPrimitives.toLong(operand2);
+
+        return (row, context, isNull) -> {
+            long leftValue = left.evalLong(row, context, isNull);
+            if (isNull.isSet()) {
+                return false;
             }
 
-            if (!(left instanceof Comparable)) {
-                throw QueryException.error(
-                        "Cannot compare OBJECT value because " + leftClass + " doesn't implement Comparable interface");
+            long rightValue = right.evalLong(row, context, isNull);
+
+            return !isNull.isSet() && matches(mode, Long.compare(leftValue, rightValue));
+        };
+    }
+
+    private CompiledBooleanExpression compileDoubleComparison(ComparisonMode mode) {
+        CompiledDoubleExpression<?> left = CompiledPrimitives.toDouble(operand1);
+        CompiledDoubleExpression<?> right = CompiledPrimitives.toDouble(operand2);
+
+        return (row, context, isNull) -> {
+            double leftValue = left.evalDouble(row, context, isNull);
+            if (isNull.isSet()) {
+                return false;
             }
 
+            double rightValue = right.evalDouble(row, context, isNull);
+
+            return !isNull.isSet() && matches(mode, Double.compare(leftValue, rightValue));
+        };
+    }
+
+    @Override
+    public ColumnVector evalBatch(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        int rowCount = batch.getRowCount();
+
+        ColumnVector left = operand1.evalBatch(batch, context);
+
+        // The right operand is evaluated only for rows where the left operand is not null, as in the row-based evaluation.
+        int[] positions = new int[rowCount];
+        int count = 0;
+
+        for (int i = 0; i < rowCount; i++) {
+            if (!left.isNull(i)) {
+                positions[count++] = i;
+            }
+        }
+
+        ColumnVector right = count == 0 ? null : operand2.evalBatch(batch.select(positions, count), context);
+
+        ColumnVector res = new ColumnVector(QueryDataType.BOOLEAN, rowCount);
+
+        for (int i = 0; i < rowCount; i++) {
+            res.setNull(i);
+        }
+
+        if (count == 0) {
+            return res;
+        }
+
+        ColumnVector.Storage storage = left.getStorage() == right.getStorage() ? left.getStorage() : ColumnVector.Storage.OBJECT;
+
+        switch (storage) {
+            case INT:
+                for (int i = 0; i < count; i++) {
+                    if (!right.isNull(i)) {
+                        int position = positions[i];
+
+                        res.setBoolean(position, matches(mode, Integer.compare(left.getInt(position), right.getInt(i))));
+                    }
+                }
+
+                break;
+
+            case LONG:
+                for (int i = 0; i < count; i++) {
+                    if (!right.isNull(i)) {
+                        int position = positions[i];
+
+                        res.setBoolean(position, matches(mode, Long.compare(left.getLong(position), right.getLong(i))));
+                    }
+                }
+
+                break;
+
+            case DOUBLE:
+                for (int i = 0; i < count; i++) {
+                    if (!right.isNull(i)) {
+                        int position = positions[i];
+
+                        res.setBoolean(position, matches(mode, Double.compare(left.getDouble(position), right.getDouble(i))));
+                    }
+                }
+
+                break;
+
+            default:
+                for (int i = 0; i < count; i++) {
+                    if (!right.isNull(i)) {
+                        int position = positions[i];
+
+                        res.setBoolean(position, matches(mode, compare(left.get(position), right.get(i))));
+                    }
+                }
         }
 
+        return res;
+    }
+
+    private int compare(Object left, Object right) {
+        if (this.operand1.getType().getTypeFamily() == QueryDataTypeFamily.OBJECT) {
+            return compareObjects(left, right);
+        }
+
+        return compareComparable(left, right);
+    }
+
+    private static int compareObjects(Object left, Object right) {
+        Class<?> leftClass = left.getClass();
+        Class<?> rightClass = right.getClass();
+
+        if (!leftClass.equals(rightClass)) {
+            throw QueryException.error(
+                    "Cannot compare two OBJECT values, because "
+                            + "left operand has " + leftClass + " type and "
+                            + "right operand has " + rightClass + " type");
+        }
+
+        if (!(left instanceof Comparable)) {
+            throw QueryException.error(
+                    "Cannot compare OBJECT value because " + leftClass + " doesn't implement Comparable interface");
+        }
+
+        return compareComparable(left, right);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static int compareComparable(Object left, Object right) {
         Comparable leftComparable = (Comparable) left;
         Comparable rightComparable = (Comparable) right;
 
-        int order = leftComparable.compareTo(rightComparable);
+        return leftComparable.compareTo(rightComparable);
+    }
 
+    private static boolean matches(ComparisonMode mode, int order) {
         switch (mode) {
             case EQUALS:
                 return order == 0;
@@ -18,9 +18,12 @@ package com.hazelcast.sql.impl.expression.predicate;
 
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.CompiledExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.UniExpression;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
@@ -56,6 +59,27 @@ public final class IsNotNullPredicate extends UniExpression<Boolean> implements
         return TernaryLogic.isNotNull(operand.eval(row, context));
     }
 
+    @Override
+    public CompiledExpression<Boolean> compile() {
+        CompiledExpression<?> compiledOperand = operand.compile();
+
+        return (row, context) -> TernaryLogic.isNotNull(compiledOperand.eval(row, context));
+    }
+
+    @Override
+    public ColumnVector evalBatch(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        ColumnVector values = operand.evalBatch(batch, context);
+
+        int rowCount = batch.getRowCount();
+        ColumnVector res = new ColumnVector(QueryDataType.BOOLEAN, rowCount);
+
+        for (int i = 0; i < rowCount; i++) {
+            res.setBoolean(i, !values.isNull(i));
+        }
+
+        return res;
+    }
+
     @Override
     public QueryDataType getType() {
         return QueryDataType.BOOLEAN;
@@ -18,9 +18,14 @@ package com.hazelcast.sql.impl.expression.predicate;
 
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.CompiledBooleanExpression;
+import com.hazelcast.sql.impl.expression.CompiledExpression;
+import com.hazelcast.sql.impl.expression.CompiledPrimitives;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.UniExpression;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
@@ -56,6 +61,31 @@ public final class NotPredicate extends UniExpression<Boolean> implements Identi
         return TernaryLogic.not((Boolean) operand.eval(row, context));
     }
 
+    @Override
+    public CompiledExpression<Boolean> compile() {
+        CompiledBooleanExpression compiledOperand = CompiledPrimitives.toBoolean(operand.compile());
+
+        return (CompiledBooleanExpression) (row, context, isNull) -> !compiledOperand.evalBoolean(row, context, isNull);
+    }
+
+    @Override
+    public ColumnVector evalBatch(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        ColumnVector values = operand.evalBatch(batch, context);
+
+        int rowCount = batch.getRowCount();
+        ColumnVector res = new ColumnVector(QueryDataType.BOOLEAN, rowCount);
+
+        for (int i = 0; i < rowCount; i++) {
+            if (values.isNull(i)) {
+                res.setNull(i);
+            } else {
+                res.setBoolean(i, !values.getBoolean(i));
+            }
+        }
+
+        return res;
+    }
+
     @Override
     public QueryDataType getType() {
         return QueryDataType.BOOLEAN;
@@ -16,9 +16,15 @@
 
 package com.hazelcast.sql.impl.expression.predicate;
 
+import com.hazelcast.sql.impl.expression.CompiledBooleanExpression;
+import com.hazelcast.sql.impl.expression.CompiledExpression;
+import com.hazelcast.sql.impl.expression.CompiledPrimitives;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
 
 /**
  * Implements ternary boolean logic according to SQL standard.
@@ -98,6 +104,182 @@ public final class TernaryLogic {
         return seenUnknown ? null : Boolean.FALSE;
     }
 
+    /**
+     * Performs AND for the given operands acting on all rows of the given
+     * batch in the given context.
+     * <p>
+     * Every operand is evaluated only on the rows which are not decided by
+     * the preceding operands yet, so the short-circuiting behaviour of
+     * {@link #and(Row, ExpressionEvalContext, Expression[])} is preserved.
+     *
+     * @param batch    the batch to evaluate the operands on.
+     * @param context  the context to evaluate the operands in.
+     * @param operands the boolean operands to evaluate.
+     * @return the vector with the results of AND, one per row of the batch.
+     */
+    public static ColumnVector and(ColumnarRowBatch batch, ExpressionEvalContext context, Expression<?>... operands) {
+        return evalBatch(batch, context, operands, false);
+    }
+
+    /**
+     * Performs OR for the given operands acting on all rows of the given
+     * batch in the given context.
+     * <p>
+     * Every operand is evaluated only on the rows which are not decided by
+     * the preceding operands yet, so the short-circuiting behaviour of
+     * {@link #or(Row, ExpressionEvalContext, Expression[])} is preserved.
+     *
+     * @param batch    the batch to evaluate the operands on.
+     * @param context  the context to evaluate the operands in.
+     * @param operands the boolean operands to evaluate.
+     * @return the vector with the results of OR, one per row of the batch.
+     */
+    public static ColumnVector or(ColumnarRowBatch batch, ExpressionEvalContext context, Expression<?>... operands) {
+        return evalBatch(batch, context, operands, true);
+    }
+
+    /**
+     * Compiles the given operands.
+     *
+     * @param operands the operands to compile.
+     * @return the compiled operands.
+     */
+    public static CompiledExpression<?>[] compile(Expression<?>... operands) {
+        CompiledExpression<?>[] res = new CompiledExpression<?>[operands.length];
+
+        for (int i = 0; i < operands.length; i++) {
+            res[i] = operands[i].compile();
+        }
+
+        return res;
+    }
+
+    /**
+     * Creates the compiled form of AND for the given compiled operands. The
+     * result behaves exactly as {@link #and(Row, ExpressionEvalContext, Expression[])}.
+     *
+     * @param operands the compiled boolean operands.
+     * @return the compiled AND.
+     */
+    public static CompiledBooleanExpression and(CompiledExpression<?>... operands) {
+        if (operands.length == 2) {
+            CompiledBooleanExpression operand1 = CompiledPrimitives.toBoolean(operands[0]);
+            CompiledBooleanExpression operand2 = CompiledPrimitives.toBoolean(operands[1]);
+
+            return (row, context, isNull) -> {
+                boolean result1 = operand1.evalBoolean(row, context, isNull);
+                boolean unknown1 = isNull.isSet();
+                if (!unknown1 && !result1) {
+                    return false;
+                }
+
+                isNull.clear();
+
+                boolean result2 = operand2.evalBoolean(row, context, isNull);
+                if (!isNull.isSet() && !result2) {
+                    return false;
+                }
+
+                if (unknown1) {
+                    isNull.set();
+                }
+
+                return true;
+            };
+        }
+
+        CompiledBooleanExpression[] compiledOperands = toBoolean(operands);
+
+        return (row, context, isNull) -> {
+            boolean seenUnknown = false;
+
+            for (CompiledBooleanExpression operand : compiledOperands) {
+                boolean result = operand.evalBoolean(row, context, isNull);
+
+                if (isNull.isSet()) {
+                    seenUnknown = true;
+                    isNull.clear();
+                } else if (!result) {
+                    return false;
+                }
+            }
+
+            if (seenUnknown) {
+                isNull.set();
+            }
+
+            return true;
+        };
+    }
+
+    /**
+     * Creates the compiled form of OR for the given compiled operands. The
+     * result behaves exactly as {@link #or(Row, ExpressionEvalContext, Expression[])}.
+     *
+     * @param operands the compiled boolean operands.
+     * @return the compiled OR.
+     */
+    public static CompiledBooleanExpression or(CompiledExpression<?>... operands) {
+        if (operands.length == 2) {
+            CompiledBooleanExpression operand1 = CompiledPrimitives.toBoolean(operands[0]);
+            CompiledBooleanExpression operand2 = CompiledPrimitives.toBoolean(operands[1]);
+
+            return (row, context, isNull) -> {
+                boolean result1 = operand1.evalBoolean(row, context, isNull);
+                boolean unknown1 = isNull.isSet();
+                if (!unknown1 && result1) {
+                    return true;
+                }
+
+                isNull.clear();
+
+                boolean result2 = operand2.evalBoolean(row, context, isNull);
+                if (!isNull.isSet() && result2) {
+                    return true;
+                }
+
+                if (unknown1) {
+                    isNull.set();
+                }
+
+                return false;
+            };
+        }
+
+        CompiledBooleanExpression[] compiledOperands = toBoolean(operands);
+
+        return (row, context, isNull) -> {
+            boolean seenUnknown = false;
+
+            for (CompiledBooleanExpression operand : compiledOperands) {
+                boolean result = operand.evalBoolean(row, context, isNull);
+
+                if (isNull.isSet()) {
+                    seenUnknown = true;
+                    isNull.clear();
+                } else if (result) {
+                    return true;
+                }
+            }
+
+            if (seenUnknown) {
+                isNull.set();
+            }
+
+            return false;
+        };
+    }
+
+    private static CompiledBooleanExpression[] toBoolean(CompiledExpression<?>[] operands) {
+        CompiledBooleanExpression[] res = new CompiledBooleanExpression[operands.length];
+
+        for (int i = 0; i < operands.length; i++) {
+            res[i] = CompiledPrimitives.toBoolean(operands[i]);
+        }
+
+        return res;
+    }
+
     /**
      * Negates the given boolean value.
      *
@@ -177,4 +359,67 @@ public final class TernaryLogic {
         return value == null || value;
     }
 
+
+    /**
+     * Evaluates AND or OR on the batch.
+     *
+     * @param decisive the operand value which decides the result: {@code false} for AND, {@code true} for OR.
+     */
+    private static ColumnVector evalBatch(
+        ColumnarRowBatch batch,
+        ExpressionEvalContext context,
+        Expression<?>[] operands,
+        boolean decisive
+    ) {
+        int rowCount = batch.getRowCount();
+
+        ColumnVector res = new ColumnVector(QueryDataType.BOOLEAN, rowCount);
+        boolean[] seenUnknown = new boolean[rowCount];
+
+        // Positions of the rows which are not decided yet.
+        int[] positions = new int[rowCount];
+        int count = rowCount;
+
+        for (int i = 0; i < rowCount; i++) {
+            positions[i] = i;
+        }
+
+        for (Expression<?> operand : operands) {
+            if (count == 0) {
+                break;
+            }
+
+            ColumnVector values = operand.evalBatch(batch.select(positions, count), context);
+
+            int undecidedCount = 0;
+
+            for (int i = 0; i < count; i++) {
+                int position = positions[i];
+
+                if (values.isNull(i)) {
+                    seenUnknown[position] = true;
+                } else if (values.getBoolean(i) == decisive) {
+                    res.setBoolean(position, decisive);
+
+                    continue;
+                }
+
+                positions[undecidedCount++] = position;
+            }
+
+            count = undecidedCount;
+        }
+
+        for (int i = 0; i < count; i++) {
+            int position = positions[i];
+
+            if (seenUnknown[position]) {
+                res.setNull(position);
+            } else {
+                res.setBoolean(position, !decisive);
+            }
+        }
+
+        return res;
+    }
 }
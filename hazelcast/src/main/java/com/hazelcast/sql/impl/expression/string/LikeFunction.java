@@ -21,11 +21,14 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.CompiledExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.TriExpression;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.converter.Converter;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
@@ -119,6 +122,61 @@ public class LikeFunction extends TriExpression<Boolean> implements IdentifiedDa
         return res;
     }
 
+    @SuppressFBWarnings(value = "NP_BOOLEAN_RETURN_NULL", justification = "SQL has three-valued boolean logic")
+    @Override
+    public CompiledExpression<Boolean> compile() {
+        Pattern javaPattern = constantJavaPattern();
+
+        if (javaPattern == null) {
+            return this::eval;
+        }
+
+        CompiledExpression<?> compiledSource = operand1.compile();
+        Converter sourceConverter = operand1.getType().getConverter();
+        boolean negated = this.negated;
+
+        return (row, context) -> {
+            Object source = compiledSource.eval(row, context);
+
+            if (source == null) {
+                return null;
+            }
+
+            boolean res = javaPattern.matcher(sourceConverter.asVarchar(source)).matches();
+
+            return negated != res;
+        };
+    }
+
+    /**
+     * @return Java pattern if the pattern and the escape are valid non-null constants, {@code null} otherwise.
+     */
+    private Pattern constantJavaPattern() {
+        if (!(operand2 instanceof ConstantExpression) || (operand3 != null && !(operand3 instanceof ConstantExpression))) {
+            return null;
+        }
+
+        // Constant expressions do not access the row.
+        String pattern = asVarchar(operand2, null, null);
+
+        if (pattern == null) {
+            return null;
+        }
+
+        String escape = operand3 != null ? asVarchar(operand3, null, null) : null;
+
+        if (operand3 != null && escape == null) {
+            return null;
+        }
+
+        try {
+            return State.compilePattern(pattern, escape);
+        } catch (QueryException e) {
+            // Report the error during evaluation, as the interpreted form does.
+            return null;
+        }
+    }
+
     @Override
     public QueryDataType getType() {
         return QueryDataType.BOOLEAN;
@@ -198,8 +256,7 @@ public class LikeFunction extends TriExpression<Boolean> implements IdentifiedDa
                 return lastJavaPattern;
             }
 
-            String javaPatternStr = constructJavaPatternString(pattern, escape);
-            Pattern javaPattern = Pattern.compile(javaPatternStr, Pattern.DOTALL);
+            Pattern javaPattern = compilePattern(pattern, escape);
 
             lastPattern = pattern;
             lastEscape = escape;
@@ -208,6 +265,12 @@ public class LikeFunction extends TriExpression<Boolean> implements IdentifiedDa
             return javaPattern;
         }
 
+        static Pattern compilePattern(String pattern, String escape) {
+            String javaPatternStr = constructJavaPatternString(pattern, escape);
+
+            return Pattern.compile(javaPatternStr, Pattern.DOTALL);
+        }
+
         @SuppressWarnings("checkstyle:CyclomaticComplexity")
         private static String constructJavaPatternString(String pattern, String escape) {
             // Get the escape character.
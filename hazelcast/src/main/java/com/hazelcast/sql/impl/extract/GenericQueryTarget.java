@@ -43,6 +43,11 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
         this.target = null;
     }
 
+    @Override
+    public void setTarget(Object target, Object metadata) {
+        setTarget(target);
+    }
+
     @Override
     public QueryExtractor createExtractor(String path, QueryDataType type) {
         if (path == null) {
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.extract;
+
+import com.hazelcast.internal.json.JsonValue;
+import com.hazelcast.internal.json.NonTerminalJsonValue;
+import com.hazelcast.internal.serialization.impl.NavigableJsonInputAdapter;
+import com.hazelcast.json.internal.JsonPattern;
+import com.hazelcast.json.internal.JsonSchemaHelper;
+import com.hazelcast.json.internal.JsonSchemaNode;
+import com.hazelcast.query.impl.getters.AbstractJsonGetter;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.getters.JsonPathCursor;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.io.IOException;
+
+/**
+ * An extractor that navigates directly to the requested path of a JSON document using its schema.
+ * <p>
+ * The pattern of the path (the positions of the attributes in the schema) is learned on the first document and then
+ * verified and reused for the subsequent documents, which typically share the same structure. If the pattern doesn't
+ * match, a new one is learned.
+ */
+public class JsonFieldExtractor extends AbstractGenericExtractor {
+
+    private final JsonQueryTarget jsonTarget;
+    private final Extractors extractors;
+    private final String path;
+    private final JsonPathCursor pathCursor;
+
+    private JsonPattern pattern;
+
+    public JsonFieldExtractor(
+        boolean key,
+        JsonQueryTarget jsonTarget,
+        QueryDataType type,
+        Extractors extractors,
+        String path
+    ) {
+        super(key, jsonTarget, type);
+
+        this.jsonTarget = jsonTarget;
+        this.extractors = extractors;
+        this.path = path;
+        this.pathCursor = JsonPathCursor.createCursor(path);
+    }
+
+    @Override
+    public Object get() {
+        try {
+            Object value = extract();
+
+            // JSON documents have no fixed schema, so the value is converted to the column type rather than validated.
+            return type.convert(value);
+        } catch (Exception e) {
+            throw QueryException.dataException("Failed to extract map entry " + (key ? "key" : "value") + " field \""
+                + path + "\": " + e.getMessage(), e);
+        }
+    }
+
+    private Object extract() throws IOException {
+        JsonSchemaNode schema = jsonTarget.getSchema();
+
+        if (schema == null) {
+            // Not a JSON document, use the generic extraction.
+            return extractors.extract(jsonTarget.getTargetForFieldAccess(), path, null, false);
+        }
+
+        NavigableJsonInputAdapter input = jsonTarget.getInput();
+
+        if (pattern != null) {
+            JsonValue value = JsonSchemaHelper.findValueWithPattern(input, schema, pattern, pathCursor);
+            pathCursor.reset();
+
+            if (value != null) {
+                return convert(value);
+            }
+        }
+
+        JsonPattern newPattern = JsonSchemaHelper.createPattern(input, schema, pathCursor);
+        pathCursor.reset();
+
+        if (newPattern == null) {
+            // The path doesn't exist in the document.
+            return null;
+        }
+
+        if (newPattern.hasAny()) {
+            return extractors.extract(jsonTarget.getTargetForFieldAccess(), path, null, false);
+        }
+
+        pattern = newPattern;
+
+        JsonValue value = JsonSchemaHelper.findValueWithPattern(input, schema, pattern, pathCursor);
+        pathCursor.reset();
+
+        return convert(value);
+    }
+
+    private static Object convert(JsonValue value) {
+        if (value == NonTerminalJsonValue.INSTANCE) {
+            // Nested objects and arrays are not exposed as column values.
+            return null;
+        }
+
+        return AbstractJsonGetter.convertFromJsonValue(value);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.extract;
+
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DataInputNavigableJsonAdapter;
+import com.hazelcast.internal.serialization.impl.NavigableJsonInputAdapter;
+import com.hazelcast.internal.serialization.impl.StringNavigableJsonAdapter;
+import com.hazelcast.json.internal.JsonSchemaNode;
+import com.hazelcast.map.impl.JsonMetadataInitializer;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.io.IOException;
+
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+
+/**
+ * Target for JSON documents stored as {@link HazelcastJsonValue}.
+ * <p>
+ * Fields are extracted with the help of the JSON schema that is stored in the record's metadata, so that only the
+ * requested paths are visited instead of parsing the whole document for every column. If the record has no metadata,
+ * the schema is created once per document and then shared between all extractors of the row.
+ */
+public class JsonQueryTarget implements QueryTarget, GenericTargetAccessor {
+
+    /** Size of the character count that precedes the UTF string of the serialized JSON. */
+    private static final int UTF_CHAR_COUNT_FIELD_SIZE = 4;
+
+    private final InternalSerializationService serializationService;
+    private final Extractors extractors;
+    private final boolean key;
+
+    private Object rawTarget;
+    private Object target;
+    private JsonSchemaNode schema;
+    private boolean schemaResolved;
+    private NavigableJsonInputAdapter input;
+
+    public JsonQueryTarget(InternalSerializationService serializationService, Extractors extractors, boolean key) {
+        this.serializationService = serializationService;
+        this.extractors = extractors;
+        this.key = key;
+    }
+
+    @Override
+    public void setTarget(Object target) {
+        setTarget(target, null);
+    }
+
+    @Override
+    public void setTarget(Object target, Object metadata) {
+        this.rawTarget = target;
+        this.target = null;
+        this.input = null;
+
+        if (metadata instanceof JsonSchemaNode) {
+            schema = (JsonSchemaNode) metadata;
+            schemaResolved = true;
+        } else {
+            schema = null;
+            schemaResolved = false;
+        }
+    }
+
+    @Override
+    public QueryExtractor createExtractor(String path, QueryDataType type) {
+        if (path == null) {
+            return new GenericTargetExtractor(key, this, type);
+        } else {
+            return new JsonFieldExtractor(key, this, type, extractors, path);
+        }
+    }
+
+    @Override
+    public Object getTargetForFieldAccess() {
+        if (rawTarget instanceof Data && !((Data) rawTarget).isJson()) {
+            return getTargetDeserialized();
+        }
+
+        return rawTarget;
+    }
+
+    @Override
+    public Object getTargetDeserialized() {
+        if (!(rawTarget instanceof Data)) {
+            return rawTarget;
+        }
+
+        if (target == null) {
+            target = serializationService.toObject(rawTarget);
+        }
+
+        return target;
+    }
+
+    /**
+     * @return schema of the current JSON document or {@code null} if the target is not a valid JSON document
+     */
+    JsonSchemaNode getSchema() {
+        if (!schemaResolved) {
+            schema = createSchema();
+            schemaResolved = true;
+        }
+
+        return schema;
+    }
+
+    /**
+     * @return the input to navigate over the current JSON document, created once per document
+     */
+    NavigableJsonInputAdapter getInput() {
+        if (input == null) {
+            if (rawTarget instanceof Data) {
+                input = new DataInputNavigableJsonAdapter(
+                    serializationService.createObjectDataInput((Data) rawTarget),
+                    HEAP_DATA_OVERHEAD + UTF_CHAR_COUNT_FIELD_SIZE
+                );
+            } else {
+                input = new StringNavigableJsonAdapter(rawTarget.toString(), 0);
+            }
+        }
+
+        return input;
+    }
+
+    private JsonSchemaNode createSchema() {
+        try {
+            Object res;
+
+            if (rawTarget instanceof Data) {
+                res = JsonMetadataInitializer.INSTANCE.createFromData((Data) rawTarget);
+            } else {
+                res = JsonMetadataInitializer.INSTANCE.createFromObject(rawTarget);
+            }
+
+            return (JsonSchemaNode) res;
+        } catch (IOException e) {
+            // JSON strings are allowed to be invalid.
+            return null;
+        }
+    }
+
+    public boolean isKey() {
+        return key;
+    }
+}
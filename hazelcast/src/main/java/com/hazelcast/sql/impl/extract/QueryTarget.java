@@ -30,5 +30,15 @@ import com.hazelcast.sql.impl.type.QueryDataType;
  */
 public interface QueryTarget {
     void setTarget(Object target);
+
+    /**
+     * Sets the target along with the metadata stored in its record, e.g. the JSON schema created by
+     * {@link com.hazelcast.map.impl.JsonMetadataInitializer}. Targets that cannot use the metadata ignore it.
+     *
+     * @param target Target.
+     * @param metadata Metadata of the target or {@code null}.
+     */
+    void setTarget(Object target, Object metadata);
+
     QueryExtractor createExtractor(String path, QueryDataType type);
 }
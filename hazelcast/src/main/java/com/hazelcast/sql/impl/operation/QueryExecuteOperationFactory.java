@@ -16,6 +16,7 @@
 
 package com.hazelcast.sql.impl.operation;
 
+import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.plan.Plan;
 import com.hazelcast.sql.impl.plan.PlanFragmentMapping;
@@ -36,6 +37,7 @@ import static com.hazelcast.sql.impl.operation.QueryExecuteOperationFragmentMapp
 public class QueryExecuteOperationFactory {
 
     private final Plan plan;
+    private final Map<UUID, PartitionIdSet> partitionMap;
     private final List<Object> args;
     private final Map<Integer, Long> edgeInitialMemoryMap;
 
@@ -43,8 +45,18 @@ public class QueryExecuteOperationFactory {
         Plan plan,
         List<Object> args,
         Map<Integer, Long> edgeInitialMemoryMap
+    ) {
+        this(plan, plan.getPartitionMap(), args, edgeInitialMemoryMap);
+    }
+
+    public QueryExecuteOperationFactory(
+        Plan plan,
+        Map<UUID, PartitionIdSet> partitionMap,
+        List<Object> args,
+        Map<Integer, Long> edgeInitialMemoryMap
     ) {
         this.plan = plan;
+        this.partitionMap = partitionMap;
         this.args = args;
         this.edgeInitialMemoryMap = edgeInitialMemoryMap;
     }
@@ -77,7 +89,7 @@ public class QueryExecuteOperationFactory {
 
         return new QueryExecuteOperation(
             queryId,
-            plan.getPartitionMap(),
+            partitionMap,
             fragments,
             plan.getOutboundEdgeMap(),
             plan.getInboundEdgeMap(),
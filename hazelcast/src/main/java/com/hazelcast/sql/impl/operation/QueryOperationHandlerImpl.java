@@ -29,6 +29,7 @@ import com.hazelcast.sql.impl.exec.Exec;
 import com.hazelcast.sql.impl.exec.io.InboundHandler;
 import com.hazelcast.sql.impl.exec.io.OutboundHandler;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
+import com.hazelcast.sql.impl.state.QueryMemoryTracker;
 import com.hazelcast.sql.impl.state.QueryState;
 import com.hazelcast.sql.impl.state.QueryStateCompletionCallback;
 import com.hazelcast.sql.impl.state.QueryStateRegistry;
@@ -198,7 +199,8 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
                 flowControlFactory,
                 operation.getPartitionMap().get(localMemberId),
                 outboxBatchSize,
-                execHook
+                execHook,
+                state.getExchangeMetrics()
             );
 
             fragmentDescriptor.getNode().visit(visitor);
@@ -215,7 +217,8 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
                 exec,
                 inboxes,
                 outboxes,
-                fragmentPool
+                fragmentPool,
+                state.getMemoryTracker().createChild(QueryStateRegistry.FRAGMENT_SCOPE, QueryMemoryTracker.NO_LIMIT)
             );
 
             fragmentExecutables.add(fragmentExecutable);
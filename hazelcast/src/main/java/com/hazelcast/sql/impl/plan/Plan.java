@@ -23,6 +23,7 @@ import com.hazelcast.sql.impl.plan.cache.CacheablePlan;
 import com.hazelcast.sql.impl.plan.cache.PlanCacheKey;
 import com.hazelcast.sql.impl.plan.cache.PlanCheckContext;
 import com.hazelcast.sql.impl.plan.cache.PlanObjectKey;
+import com.hazelcast.sql.impl.plan.node.MapKeyLookupPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.security.SqlSecurityContext;
 
@@ -73,6 +74,9 @@ public class Plan implements CacheablePlan {
     /** Permissions that are required to execute this plan. */
     private final List<Permission> permissions;
 
+    /** Key lookups which define the partitions involved in the query, or {@code null} if all partitions are involved. */
+    private final List<MapKeyLookupPlanNode> keyLookups;
+
     @SuppressWarnings("checkstyle:ParameterNumber")
     public Plan(
         Map<UUID, PartitionIdSet> partMap,
@@ -86,6 +90,37 @@ public class Plan implements CacheablePlan {
         PlanCacheKey planKey,
         Set<PlanObjectKey> objectIds,
         List<Permission> permissions
+    ) {
+        this(
+            partMap,
+            fragments,
+            fragmentMappings,
+            outboundEdgeMap,
+            inboundEdgeMap,
+            inboundEdgeMemberCountMap,
+            rowMetadata,
+            parameterMetadata,
+            planKey,
+            objectIds,
+            permissions,
+            null
+        );
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public Plan(
+        Map<UUID, PartitionIdSet> partMap,
+        List<PlanNode> fragments,
+        List<PlanFragmentMapping> fragmentMappings,
+        Map<Integer, Integer> outboundEdgeMap,
+        Map<Integer, Integer> inboundEdgeMap,
+        Map<Integer, Integer> inboundEdgeMemberCountMap,
+        SqlRowMetadata rowMetadata,
+        QueryParameterMetadata parameterMetadata,
+        PlanCacheKey planKey,
+        Set<PlanObjectKey> objectIds,
+        List<Permission> permissions,
+        List<MapKeyLookupPlanNode> keyLookups
     ) {
         this.partMap = partMap;
         this.fragments = fragments;
@@ -98,6 +133,7 @@ public class Plan implements CacheablePlan {
         this.planKey = planKey;
         this.objectIds = objectIds;
         this.permissions = permissions;
+        this.keyLookups = keyLookups;
     }
 
     @Override
@@ -187,4 +223,8 @@ public class Plan implements CacheablePlan {
     public List<Permission> getPermissions() {
         return permissions;
     }
+
+    public List<MapKeyLookupPlanNode> getKeyLookups() {
+        return keyLookups;
+    }
 }
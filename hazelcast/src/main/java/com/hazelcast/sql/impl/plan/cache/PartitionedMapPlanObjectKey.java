@@ -32,6 +32,7 @@ public class PartitionedMapPlanObjectKey implements PlanObjectKey {
     private final QueryTargetDescriptor valueDescriptor;
     private final List<MapTableIndex> indexes;
     private final boolean hd;
+    private final boolean defaultPartitioning;
     private final Set<String> conflictingSchemas;
 
     public PartitionedMapPlanObjectKey(
@@ -42,7 +43,8 @@ public class PartitionedMapPlanObjectKey implements PlanObjectKey {
         QueryTargetDescriptor keyDescriptor,
         QueryTargetDescriptor valueDescriptor,
         List<MapTableIndex> indexes,
-        boolean hd
+        boolean hd,
+        boolean defaultPartitioning
     ) {
         this.schemaName = schemaName;
         this.name = name;
@@ -51,6 +53,7 @@ public class PartitionedMapPlanObjectKey implements PlanObjectKey {
         this.valueDescriptor = valueDescriptor;
         this.indexes = indexes;
         this.hd = hd;
+        this.defaultPartitioning = defaultPartitioning;
         this.conflictingSchemas = conflictingSchemas;
     }
 
@@ -67,6 +70,7 @@ public class PartitionedMapPlanObjectKey implements PlanObjectKey {
         PartitionedMapPlanObjectKey that = (PartitionedMapPlanObjectKey) o;
 
         return hd == that.hd
+            && defaultPartitioning == that.defaultPartitioning
             && schemaName.equals(that.schemaName)
             && name.equals(that.name)
             && fields.equals(that.fields)
@@ -85,6 +89,7 @@ public class PartitionedMapPlanObjectKey implements PlanObjectKey {
         result = 31 * result + valueDescriptor.hashCode();
         result = 31 * result + indexes.hashCode();
         result = 31 * result + (hd ? 1 : 0);
+        result = 31 * result + (defaultPartitioning ? 1 : 0);
         result = 31 * result + conflictingSchemas.hashCode();
         return result;
     }
@@ -16,16 +16,55 @@
 
 package com.hazelcast.sql.impl.plan.cache;
 
-import java.util.TreeMap;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_EVICTIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_HITS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_MAX_OPTIMIZATION_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_MISSES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_OPTIMIZATION_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_SIZE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_TOTAL_OPTIMIZATION_TIME;
+import static com.hazelcast.internal.metrics.ProbeUnit.MS;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Cache for plans.
+ * <p>
+ * When the cache overflows, the least recently used plans are evicted. The usage is tracked with {@link System#nanoTime()}
+ * stamps of the entries, so that lookups do not contend on a shared structure; the eviction scans the entries and is
+ * only performed on the insertion of a new plan, which is preceded by the much more expensive optimization.
  */
 public class PlanCache implements CachedPlanInvalidationCallback {
 
+    private static final Comparator<Entry> MOST_RECENTLY_USED_FIRST =
+        (entry1, entry2) -> Long.compare(entry2.lastUsed, entry1.lastUsed);
+
     private final int maxSize;
-    private final ConcurrentHashMap<PlanCacheKey, CacheablePlan> plans = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<PlanCacheKey, Entry> plans = new ConcurrentHashMap<>();
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_HITS)
+    private final MwCounter hits = newMwCounter();
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_MISSES)
+    private final MwCounter misses = newMwCounter();
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_EVICTIONS)
+    private final MwCounter evictions = newMwCounter();
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_OPTIMIZATION_COUNT)
+    private final MwCounter optimizationCount = newMwCounter();
+
+    private final MwCounter totalOptimizationTimeNanos = newMwCounter();
+    private final AtomicLong maxOptimizationTimeNanos = new AtomicLong();
 
     public PlanCache(int maxSize) {
         assert maxSize > 0;
@@ -34,21 +73,27 @@ public class PlanCache implements CachedPlanInvalidationCallback {
     }
 
     public CacheablePlan get(PlanCacheKey key) {
-        CacheablePlan plan = plans.get(key);
+        Entry entry = plans.get(key);
 
-        if (plan != null) {
-            plan.onPlanUsed();
+        if (entry != null) {
+            entry.onUsed();
+
+            hits.inc();
 
-            return plan;
+            return entry.plan;
         } else {
+            misses.inc();
+
             return null;
         }
     }
 
     public void put(PlanCacheKey key, CacheablePlan plan) {
-        plans.put(key, plan);
+        Entry entry = new Entry(plan);
+
+        entry.onUsed();
 
-        plan.onPlanUsed();
+        plans.put(key, entry);
 
         shrinkIfNeeded();
     }
@@ -61,12 +106,50 @@ public class PlanCache implements CachedPlanInvalidationCallback {
         plans.clear();
     }
 
+    @Probe(name = SQL_METRIC_PLAN_CACHE_SIZE)
     public int size() {
         return plans.size();
     }
 
     public void check(PlanCheckContext context) {
-        plans.values().removeIf(plan -> !plan.isPlanValid(context));
+        plans.values().removeIf(entry -> !entry.plan.isPlanValid(context));
+    }
+
+    /**
+     * Records the time spent on the optimization of a statement, whether its plan is cacheable or not.
+     *
+     * @param timeNanos Optimization time in nanoseconds.
+     */
+    public void onOptimized(long timeNanos) {
+        optimizationCount.inc();
+        totalOptimizationTimeNanos.inc(timeNanos);
+        maxOptimizationTimeNanos.accumulateAndGet(timeNanos, Math::max);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getOptimizationCount() {
+        return optimizationCount.get();
+    }
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_TOTAL_OPTIMIZATION_TIME, unit = MS)
+    public long getTotalOptimizationTime() {
+        return NANOSECONDS.toMillis(totalOptimizationTimeNanos.get());
+    }
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_MAX_OPTIMIZATION_TIME, unit = MS)
+    public long getMaxOptimizationTime() {
+        return NANOSECONDS.toMillis(maxOptimizationTimeNanos.get());
     }
 
     private void shrinkIfNeeded() {
@@ -76,21 +159,21 @@ public class PlanCache implements CachedPlanInvalidationCallback {
             return;
         }
 
-        // Sort plans according to their last used timestamps
-        TreeMap<Long, CacheablePlan> sorted = new TreeMap<>();
+        // Collect the least recently used entries in a bounded heap with the most recently used one at the head.
+        PriorityQueue<Entry> evicted = new PriorityQueue<>(oversize, MOST_RECENTLY_USED_FIRST);
 
-        for (CacheablePlan plan : plans.values()) {
-            sorted.put(plan.getPlanLastUsed(), plan);
+        for (Entry entry : plans.values()) {
+            if (evicted.size() < oversize) {
+                evicted.add(entry);
+            } else if (entry.lastUsed < evicted.peek().lastUsed) {
+                evicted.poll();
+                evicted.add(entry);
+            }
         }
 
-        // Remove oldest plans
-        for (CacheablePlan plan : sorted.values()) {
-            boolean removed = remove(plan);
-
-            if (removed) {
-                if (--oversize == 0) {
-                    break;
-                }
+        for (Entry entry : evicted) {
+            if (plans.remove(entry.plan.getPlanKey(), entry)) {
+                evictions.inc();
             }
         }
     }
@@ -100,14 +183,38 @@ public class PlanCache implements CachedPlanInvalidationCallback {
      *
      * @param plan Plan.
      */
-    private boolean remove(CacheablePlan plan) {
-        return plans.remove(plan.getPlanKey(), plan);
+    private void remove(CacheablePlan plan) {
+        Entry entry = plans.get(plan.getPlanKey());
+
+        if (entry != null && entry.plan == plan) {
+            plans.remove(plan.getPlanKey(), entry);
+        }
     }
 
     /**
      * For testing only.
      */
-    public ConcurrentHashMap<PlanCacheKey, CacheablePlan> getPlans() {
-        return plans;
+    public Map<PlanCacheKey, CacheablePlan> getPlans() {
+        Map<PlanCacheKey, CacheablePlan> res = new ConcurrentHashMap<>();
+
+        plans.forEach((key, entry) -> res.put(key, entry.plan));
+
+        return res;
+    }
+
+    private static final class Entry {
+
+        private final CacheablePlan plan;
+        private volatile long lastUsed;
+
+        private Entry(CacheablePlan plan) {
+            this.plan = plan;
+        }
+
+        private void onUsed() {
+            lastUsed = System.nanoTime();
+
+            plan.onPlanUsed();
+        }
     }
 }
@@ -22,10 +22,21 @@ public class PlanCacheKey {
 
     private final List<List<String>> searchPaths;
     private final String sql;
+    private final int hashCode;
 
     public PlanCacheKey(List<List<String>> searchPaths, String sql) {
         this.searchPaths = searchPaths;
         this.sql = sql;
+
+        hashCode = 31 * searchPaths.hashCode() + sql.hashCode();
+    }
+
+    public List<List<String>> getSearchPaths() {
+        return searchPaths;
+    }
+
+    public String getSql() {
+        return sql;
     }
 
     @Override
@@ -45,8 +56,6 @@ public class PlanCacheKey {
 
     @Override
     public int hashCode() {
-        int result = searchPaths.hashCode();
-        result = 31 * result + sql.hashCode();
-        return result;
+        return hashCode;
     }
 }
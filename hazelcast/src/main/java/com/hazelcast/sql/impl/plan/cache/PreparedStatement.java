@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import com.hazelcast.sql.SqlExpectedResultType;
+
+import java.util.UUID;
+
+/**
+ * A statement prepared on the server side, which could be executed later by its handle without sending the SQL string.
+ */
+public final class PreparedStatement {
+
+    private final UUID handle;
+    private final PlanCacheKey planKey;
+    private final SqlExpectedResultType expectedResultType;
+    private volatile long lastUsed;
+
+    public PreparedStatement(UUID handle, PlanCacheKey planKey, SqlExpectedResultType expectedResultType) {
+        this.handle = handle;
+        this.planKey = planKey;
+        this.expectedResultType = expectedResultType;
+    }
+
+    public UUID getHandle() {
+        return handle;
+    }
+
+    public PlanCacheKey getPlanKey() {
+        return planKey;
+    }
+
+    public SqlExpectedResultType getExpectedResultType() {
+        return expectedResultType;
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    void onUsed() {
+        lastUsed = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedStatement {handle=" + handle + ", sql=" + planKey.getSql()
+            + ", expectedResultType=" + expectedResultType + '}';
+    }
+}
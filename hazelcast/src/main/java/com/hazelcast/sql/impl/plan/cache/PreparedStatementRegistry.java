@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.sql.SqlExpectedResultType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_PREPARED_STATEMENT_COUNT;
+
+/**
+ * Registry of the statements prepared on the member.
+ * <p>
+ * The handle of a statement is derived from its search paths, SQL string and expected result type. Therefore the same
+ * statement prepared by different callers, or on different members, shares the same handle, and the plan of the
+ * statement is shared through the {@link PlanCache}. The registry only stores the statement text, so that the plan could
+ * be re-created after invalidation; the least recently used statements are evicted when the registry overflows.
+ */
+public class PreparedStatementRegistry {
+
+    private static final Comparator<PreparedStatement> MOST_RECENTLY_USED_FIRST =
+        (statement1, statement2) -> Long.compare(statement2.getLastUsed(), statement1.getLastUsed());
+
+    private final int maxSize;
+    private final ConcurrentHashMap<UUID, PreparedStatement> statements = new ConcurrentHashMap<>();
+
+    public PreparedStatementRegistry(int maxSize) {
+        assert maxSize > 0;
+
+        this.maxSize = maxSize;
+    }
+
+    public UUID register(PlanCacheKey planKey, SqlExpectedResultType expectedResultType) {
+        UUID handle = createHandle(planKey, expectedResultType);
+
+        PreparedStatement statement = statements.get(handle);
+
+        if (statement == null) {
+            PreparedStatement newStatement = new PreparedStatement(handle, planKey, expectedResultType);
+
+            newStatement.onUsed();
+
+            statement = statements.putIfAbsent(handle, newStatement);
+
+            if (statement == null) {
+                shrinkIfNeeded();
+
+                return handle;
+            }
+        }
+
+        statement.onUsed();
+
+        return handle;
+    }
+
+    public PreparedStatement get(UUID handle) {
+        PreparedStatement statement = statements.get(handle);
+
+        if (statement != null) {
+            statement.onUsed();
+        }
+
+        return statement;
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_PREPARED_STATEMENT_COUNT)
+    public int size() {
+        return statements.size();
+    }
+
+    static UUID createHandle(PlanCacheKey planKey, SqlExpectedResultType expectedResultType) {
+        String source = planKey.getSearchPaths() + "\n" + expectedResultType.name() + "\n" + planKey.getSql();
+
+        return UUID.nameUUIDFromBytes(source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void shrinkIfNeeded() {
+        int oversize = statements.size() - maxSize;
+
+        if (oversize <= 0) {
+            return;
+        }
+
+        PriorityQueue<PreparedStatement> evicted = new PriorityQueue<>(oversize, MOST_RECENTLY_USED_FIRST);
+
+        for (PreparedStatement statement : statements.values()) {
+            if (evicted.size() < oversize) {
+                evicted.add(statement);
+            } else if (statement.getLastUsed() < evicted.peek().getLastUsed()) {
+                evicted.poll();
+                evicted.add(statement);
+            }
+        }
+
+        for (PreparedStatement statement : evicted) {
+            statements.remove(statement.getHandle(), statement);
+        }
+    }
+}
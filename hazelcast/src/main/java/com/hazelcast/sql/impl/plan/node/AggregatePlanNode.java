@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.exec.agg.AggregateFunction;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hash aggregation node.
+ */
+public class AggregatePlanNode extends UniInputPlanNode implements IdentifiedDataSerializable {
+    /** Indexes of the input columns forming the group key. */
+    private int[] groupKey;
+
+    /** Aggregate functions. */
+    private List<AggregateFunction> functions;
+
+    /** Phase of the aggregation. */
+    private AggregatePhase phase;
+
+    public AggregatePlanNode() {
+        // No-op.
+    }
+
+    public AggregatePlanNode(
+        int id,
+        PlanNode upstream,
+        int[] groupKey,
+        List<AggregateFunction> functions,
+        AggregatePhase phase
+    ) {
+        super(id, upstream);
+
+        assert groupKey != null;
+        assert functions != null;
+        assert phase != null;
+
+        this.groupKey = groupKey;
+        this.functions = functions;
+        this.phase = phase;
+    }
+
+    public int[] getGroupKey() {
+        return groupKey;
+    }
+
+    public List<AggregateFunction> getFunctions() {
+        return functions;
+    }
+
+    public AggregatePhase getPhase() {
+        return phase;
+    }
+
+    @Override
+    public void visit0(PlanNodeVisitor visitor) {
+        visitor.onAggregateNode(this);
+    }
+
+    @Override
+    public PlanNodeSchema getSchema0() {
+        PlanNodeSchema upstreamSchema = upstream.getSchema();
+
+        List<QueryDataType> types = new ArrayList<>(groupKey.length + functions.size());
+
+        for (int column : groupKey) {
+            types.add(upstreamSchema.getType(column));
+        }
+
+        for (AggregateFunction function : functions) {
+            if (phase.isPartialOutput()) {
+                types.addAll(function.getPartialTypes());
+            } else {
+                types.add(function.getResultType());
+            }
+        }
+
+        return new PlanNodeSchema(types);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_AGGREGATE;
+    }
+
+    @Override
+    public void writeData1(ObjectDataOutput out) throws IOException {
+        out.writeIntArray(groupKey);
+        SerializationUtil.writeList(functions, out);
+        out.writeInt(phase.getId());
+    }
+
+    @Override
+    public void readData1(ObjectDataInput in) throws IOException {
+        groupKey = in.readIntArray();
+        functions = SerializationUtil.readList(in);
+        phase = AggregatePhase.getById(in.readInt());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, Arrays.hashCode(groupKey), functions, phase, upstream);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        AggregatePlanNode that = (AggregatePlanNode) o;
+
+        return id == that.id && Arrays.equals(groupKey, that.groupKey) && functions.equals(that.functions)
+            && phase == that.phase && upstream.equals(that.upstream);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{id=" + id + ", groupKey=" + Arrays.toString(groupKey)
+            + ", functions=" + functions + ", phase=" + phase + ", upstream=" + upstream + '}';
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.CompiledExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 
 import java.io.IOException;
@@ -32,6 +33,9 @@ public class FilterPlanNode extends UniInputPlanNode implements IdentifiedDataSe
 
     private Expression<Boolean> filter;
 
+    /** Compiled filter, created lazily and reused by all executions of the cached plan. */
+    private transient volatile CompiledExpression<Boolean> compiledFilter;
+
     public FilterPlanNode() {
         // No-op.
     }
@@ -48,6 +52,18 @@ public class FilterPlanNode extends UniInputPlanNode implements IdentifiedDataSe
         return filter;
     }
 
+    public CompiledExpression<Boolean> getCompiledFilter() {
+        CompiledExpression<Boolean> res = compiledFilter;
+
+        if (res == null) {
+            res = filter.compile();
+
+            compiledFilter = res;
+        }
+
+        return res;
+    }
+
     @Override
     public void visit0(PlanNodeVisitor visitor) {
         visitor.onFilterNode(this);
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Hash join node. The right input is the build side, the left input is the probe side.
+ * <p>
+ * The rows are joined if the values of the left key columns of the left row are equal to the values of the right key
+ * columns of the right row, none of them being {@code NULL}, and the optional non-equi condition evaluated on the joined
+ * row is {@code TRUE}. An empty key joins every pair of rows.
+ */
+public class HashJoinPlanNode extends BiInputPlanNode implements IdentifiedDataSerializable {
+    /** Key columns of the left input. */
+    private int[] leftKey;
+
+    /** Key columns of the right input, in the same order as the left ones. */
+    private int[] rightKey;
+
+    /** Non-equi condition evaluated on the joined rows, if any. */
+    private Expression<Boolean> condition;
+
+    /** Whether the left rows without matches are emitted with NULLs instead of the right columns. */
+    private boolean outer;
+
+    public HashJoinPlanNode() {
+        // No-op.
+    }
+
+    public HashJoinPlanNode(
+        int id,
+        PlanNode left,
+        PlanNode right,
+        int[] leftKey,
+        int[] rightKey,
+        Expression<Boolean> condition,
+        boolean outer
+    ) {
+        super(id, left, right);
+
+        assert leftKey != null;
+        assert rightKey != null;
+        assert leftKey.length == rightKey.length;
+
+        this.leftKey = leftKey;
+        this.rightKey = rightKey;
+        this.condition = condition;
+        this.outer = outer;
+    }
+
+    public int[] getLeftKey() {
+        return leftKey;
+    }
+
+    public int[] getRightKey() {
+        return rightKey;
+    }
+
+    public Expression<Boolean> getCondition() {
+        return condition;
+    }
+
+    public boolean isOuter() {
+        return outer;
+    }
+
+    @Override
+    public void visit0(PlanNodeVisitor visitor) {
+        visitor.onHashJoinNode(this);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_HASH_JOIN;
+    }
+
+    @Override
+    public void writeData1(ObjectDataOutput out) throws IOException {
+        out.writeIntArray(leftKey);
+        out.writeIntArray(rightKey);
+        out.writeObject(condition);
+        out.writeBoolean(outer);
+    }
+
+    @Override
+    public void readData1(ObjectDataInput in) throws IOException {
+        leftKey = in.readIntArray();
+        rightKey = in.readIntArray();
+        condition = in.readObject();
+        outer = in.readBoolean();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, Arrays.hashCode(leftKey), Arrays.hashCode(rightKey), condition, outer, left, right);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        HashJoinPlanNode that = (HashJoinPlanNode) o;
+
+        return id == that.id
+            && Arrays.equals(leftKey, that.leftKey)
+            && Arrays.equals(rightKey, that.rightKey)
+            && Objects.equals(condition, that.condition)
+            && outer == that.outer
+            && left.equals(that.left)
+            && right.equals(that.right);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{id=" + id + ", leftKey=" + Arrays.toString(leftKey)
+            + ", rightKey=" + Arrays.toString(rightKey) + ", condition=" + condition + ", outer=" + outer
+            + ", left=" + left + ", right=" + right + '}';
+    }
+}
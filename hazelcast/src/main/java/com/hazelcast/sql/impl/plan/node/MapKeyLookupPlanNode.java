@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Node to look up entries of a partitioned map by their keys.
+ * <p>
+ * Key expressions do not depend on the row, so that they are evaluated once before the lookup. The filter is applied to the
+ * found entries as usual.
+ */
+public class MapKeyLookupPlanNode extends AbstractMapScanPlanNode implements IdentifiedDataSerializable {
+
+    private List<Expression<?>> keys;
+
+    public MapKeyLookupPlanNode() {
+        // No-op.
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public MapKeyLookupPlanNode(
+        int id,
+        String mapName,
+        QueryTargetDescriptor keyDescriptor,
+        QueryTargetDescriptor valueDescriptor,
+        List<QueryPath> fieldPaths,
+        List<QueryDataType> fieldTypes,
+        List<Integer> projects,
+        Expression<Boolean> filter,
+        List<Expression<?>> keys
+    ) {
+        super(id, mapName, keyDescriptor, valueDescriptor, fieldPaths, fieldTypes, projects, filter);
+
+        this.keys = keys;
+    }
+
+    public List<Expression<?>> getKeys() {
+        return keys;
+    }
+
+    @Override
+    public void visit(PlanNodeVisitor visitor) {
+        visitor.onMapKeyLookupNode(this);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_MAP_KEY_LOOKUP;
+    }
+
+    @Override
+    protected void writeData0(ObjectDataOutput out) throws IOException {
+        super.writeData0(out);
+
+        SerializationUtil.writeList(keys, out);
+    }
+
+    @Override
+    protected void readData0(ObjectDataInput in) throws IOException {
+        super.readData0(in);
+
+        keys = SerializationUtil.readList(in);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        MapKeyLookupPlanNode that = (MapKeyLookupPlanNode) o;
+
+        return keys.equals(that.keys);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+
+        result = 31 * result + keys.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{id=" + id + ", mapName=" + mapName + ", fieldPaths=" + fieldPaths
+            + ", projects=" + projects + ", keys=" + keys + ", filter=" + filter + '}';
+    }
+}
@@ -16,9 +16,11 @@
 
 package com.hazelcast.sql.impl.plan.node;
 
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.SendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 
 /**
  * Plan node visitor. Typically used to convert the tree of plan nodes to another tree
@@ -40,8 +42,14 @@ public interface PlanNodeVisitor {
     void onEmptyNode(EmptyPlanNode node);
     void onMapScanNode(MapScanPlanNode node);
     void onMapIndexScanNode(MapIndexScanPlanNode node);
+    void onMapKeyLookupNode(MapKeyLookupPlanNode node);
     void onReceiveSortMergeNode(ReceiveSortMergePlanNode node);
     void onFetchNode(FetchPlanNode node);
+    void onAggregateNode(AggregatePlanNode node);
+    void onUnicastSendNode(UnicastSendPlanNode node);
+    void onBroadcastSendNode(BroadcastSendPlanNode node);
+    void onHashJoinNode(HashJoinPlanNode node);
+    void onSortNode(SortPlanNode node);
 
     /**
      * Callback for a node without special handlers. For testing only.
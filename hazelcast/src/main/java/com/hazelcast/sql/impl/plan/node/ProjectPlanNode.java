@@ -21,6 +21,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.CompiledExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
@@ -37,6 +38,9 @@ public class ProjectPlanNode extends UniInputPlanNode implements IdentifiedDataS
 
     private List<Expression> projects;
 
+    /** Compiled projections, created lazily and reused by all executions of the cached plan. */
+    private transient volatile List<CompiledExpression<?>> compiledProjects;
+
     public ProjectPlanNode() {
         // No-op.
     }
@@ -51,6 +55,18 @@ public class ProjectPlanNode extends UniInputPlanNode implements IdentifiedDataS
         return projects;
     }
 
+    public List<CompiledExpression<?>> getCompiledProjects() {
+        List<CompiledExpression<?>> res = compiledProjects;
+
+        if (res == null) {
+            res = CompiledExpression.compile(projects);
+
+            compiledProjects = res;
+        }
+
+        return res;
+    }
+
     @Override
     public void visit0(PlanNodeVisitor visitor) {
         visitor.onProjectNode(this);
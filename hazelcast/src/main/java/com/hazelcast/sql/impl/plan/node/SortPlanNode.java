@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Local sort node. Sorts all the rows of the upstream, optionally applying the offset and the limit to the sorted rows.
+ */
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class SortPlanNode extends UniInputPlanNode implements IdentifiedDataSerializable {
+    /** Indexes of columns to be used for sorting. */
+    private int[] columnIndexes;
+
+    /** Sort directions. */
+    private boolean[] ascs;
+
+    /** Limit expression. */
+    private Expression fetch;
+
+    /** Offset expression. */
+    private Expression offset;
+
+    public SortPlanNode() {
+        // No-op.
+    }
+
+    public SortPlanNode(int id, PlanNode upstream, int[] columnIndexes, boolean[] ascs, Expression fetch, Expression offset) {
+        super(id, upstream);
+
+        assert columnIndexes != null;
+        assert ascs != null && ascs.length == columnIndexes.length;
+
+        this.columnIndexes = columnIndexes;
+        this.ascs = ascs;
+        this.fetch = fetch;
+        this.offset = offset;
+    }
+
+    public int[] getColumnIndexes() {
+        return columnIndexes;
+    }
+
+    public boolean[] getAscs() {
+        return ascs;
+    }
+
+    public Expression getFetch() {
+        return fetch;
+    }
+
+    public Expression getOffset() {
+        return offset;
+    }
+
+    @Override
+    public void visit0(PlanNodeVisitor visitor) {
+        visitor.onSortNode(this);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_SORT;
+    }
+
+    @Override
+    public void writeData1(ObjectDataOutput out) throws IOException {
+        out.writeIntArray(columnIndexes);
+        out.writeBooleanArray(ascs);
+        out.writeObject(fetch);
+        out.writeObject(offset);
+    }
+
+    @Override
+    public void readData1(ObjectDataInput in) throws IOException {
+        columnIndexes = in.readIntArray();
+        ascs = in.readBooleanArray();
+        fetch = in.readObject();
+        offset = in.readObject();
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(id, fetch, offset, upstream);
+
+        result = 31 * result + Arrays.hashCode(columnIndexes);
+        result = 31 * result + Arrays.hashCode(ascs);
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        SortPlanNode that = (SortPlanNode) o;
+
+        return id == that.id
+            && Arrays.equals(columnIndexes, that.columnIndexes)
+            && Arrays.equals(ascs, that.ascs)
+            && Objects.equals(fetch, that.fetch)
+            && Objects.equals(offset, that.offset)
+            && upstream.equals(that.upstream);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{id=" + id + ", columnIndexes=" + Arrays.toString(columnIndexes)
+            + ", ascs=" + Arrays.toString(ascs) + ", fetch=" + fetch + ", offset=" + offset + ", upstream=" + upstream + '}';
+    }
+}
@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Column of values of a single type stored in a primitive array, with a separate null bitmap.
+ * <p>
+ * Values of BOOLEAN, TINYINT, SMALLINT and INTEGER types are stored in an {@code int[]}, values of BIGINT type in a
+ * {@code long[]}, values of REAL and DOUBLE types in a {@code double[]}. All other types are stored as objects. Boxing
+ * happens only when the value is accessed through {@link #get(int)}.
+ */
+public final class ColumnVector {
+    /** Type of values. */
+    private final QueryDataType type;
+
+    /** Type family, cached for fast access. */
+    private final QueryDataTypeFamily family;
+
+    /** Storage of values. */
+    private final Storage storage;
+
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private Object[] objects;
+
+    /** Null bitmap: bit is set if the value at the given position is null. */
+    private long[] nulls;
+
+    public ColumnVector(QueryDataType type, int capacity) {
+        this.type = type;
+        this.family = type.getTypeFamily();
+        this.storage = Storage.of(family);
+
+        allocate(Math.max(capacity, 1));
+    }
+
+    /**
+     * Create a vector where all positions hold the same value.
+     *
+     * @param type Type of the value.
+     * @param value Value.
+     * @param size Number of positions.
+     * @return Vector.
+     */
+    public static ColumnVector constant(QueryDataType type, Object value, int size) {
+        ColumnVector res = new ColumnVector(type, size);
+
+        for (int i = 0; i < size; i++) {
+            res.set(i, value);
+        }
+
+        return res;
+    }
+
+    public QueryDataType getType() {
+        return type;
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    public int getCapacity() {
+        return nulls.length << 6;
+    }
+
+    public boolean isNull(int index) {
+        return (nulls[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public int getInt(int index) {
+        assert storage == Storage.INT;
+
+        return ints[index];
+    }
+
+    public long getLong(int index) {
+        assert storage == Storage.LONG;
+
+        return longs[index];
+    }
+
+    public double getDouble(int index) {
+        assert storage == Storage.DOUBLE;
+
+        return doubles[index];
+    }
+
+    public boolean getBoolean(int index) {
+        assert family == QueryDataTypeFamily.BOOLEAN;
+
+        return ints[index] != 0;
+    }
+
+    /**
+     * Get the boxed value at the given position.
+     *
+     * @param index Position.
+     * @return Value or {@code null}.
+     */
+    public Object get(int index) {
+        if (isNull(index)) {
+            return null;
+        }
+
+        switch (family) {
+            case BOOLEAN:
+                return ints[index] != 0;
+
+            case TINYINT:
+                return (byte) ints[index];
+
+            case SMALLINT:
+                return (short) ints[index];
+
+            case INTEGER:
+                return ints[index];
+
+            case BIGINT:
+                return longs[index];
+
+            case REAL:
+                return (float) doubles[index];
+
+            case DOUBLE:
+                return doubles[index];
+
+            default:
+                return objects[index];
+        }
+    }
+
+    public void setNull(int index) {
+        ensureCapacity(index + 1);
+
+        nulls[index >>> 6] |= 1L << index;
+
+        if (storage == Storage.OBJECT) {
+            objects[index] = null;
+        }
+    }
+
+    public void setInt(int index, int value) {
+        assert storage == Storage.INT;
+
+        ensureCapacity(index + 1);
+        clearNull(index);
+
+        ints[index] = value;
+    }
+
+    public void setLong(int index, long value) {
+        assert storage == Storage.LONG;
+
+        ensureCapacity(index + 1);
+        clearNull(index);
+
+        longs[index] = value;
+    }
+
+    public void setDouble(int index, double value) {
+        assert storage == Storage.DOUBLE;
+
+        ensureCapacity(index + 1);
+        clearNull(index);
+
+        doubles[index] = value;
+    }
+
+    public void setBoolean(int index, boolean value) {
+        assert family == QueryDataTypeFamily.BOOLEAN;
+
+        setInt(index, value ? 1 : 0);
+    }
+
+    /**
+     * Set the boxed value at the given position.
+     *
+     * @param index Position.
+     * @param value Value, must be of the normalized class of the vector type, or {@code null}.
+     */
+    public void set(int index, Object value) {
+        if (value == null) {
+            setNull(index);
+
+            return;
+        }
+
+        switch (storage) {
+            case INT:
+                setInt(index, family == QueryDataTypeFamily.BOOLEAN ? ((Boolean) value ? 1 : 0) : ((Number) value).intValue());
+
+                break;
+
+            case LONG:
+                setLong(index, ((Number) value).longValue());
+
+                break;
+
+            case DOUBLE:
+                setDouble(index, ((Number) value).doubleValue());
+
+                break;
+
+            default:
+                ensureCapacity(index + 1);
+                clearNull(index);
+
+                objects[index] = value;
+        }
+    }
+
+    /**
+     * Copy the value from the given position of another vector of the same storage.
+     *
+     * @param index Target position.
+     * @param source Source vector.
+     * @param sourceIndex Source position.
+     */
+    public void copy(int index, ColumnVector source, int sourceIndex) {
+        assert storage == source.storage;
+
+        if (source.isNull(sourceIndex)) {
+            setNull(index);
+
+            return;
+        }
+
+        ensureCapacity(index + 1);
+        clearNull(index);
+
+        switch (storage) {
+            case INT:
+                ints[index] = source.ints[sourceIndex];
+
+                break;
+
+            case LONG:
+                longs[index] = source.longs[sourceIndex];
+
+                break;
+
+            case DOUBLE:
+                doubles[index] = source.doubles[sourceIndex];
+
+                break;
+
+            default:
+                objects[index] = source.objects[sourceIndex];
+        }
+    }
+
+    /**
+     * Create a new vector with values at the given positions of this vector.
+     *
+     * @param positions Positions.
+     * @param count Number of positions.
+     * @return New vector.
+     */
+    public ColumnVector select(int[] positions, int count) {
+        ColumnVector res = new ColumnVector(type, count);
+
+        for (int i = 0; i < count; i++) {
+            res.copy(i, this, positions[i]);
+        }
+
+        return res;
+    }
+
+    public void ensureCapacity(int capacity) {
+        int currentCapacity = getCapacity();
+
+        if (capacity <= currentCapacity) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, currentCapacity << 1);
+
+        nulls = Arrays.copyOf(nulls, bitmapLength(newCapacity));
+
+        switch (storage) {
+            case INT:
+                ints = Arrays.copyOf(ints, getCapacity());
+
+                break;
+
+            case LONG:
+                longs = Arrays.copyOf(longs, getCapacity());
+
+                break;
+
+            case DOUBLE:
+                doubles = Arrays.copyOf(doubles, getCapacity());
+
+                break;
+
+            default:
+                objects = Arrays.copyOf(objects, getCapacity());
+        }
+    }
+
+    void writeData(ObjectDataOutput out, int size) throws IOException {
+        out.writeObject(type);
+
+        int bitmapLength = bitmapLength(size);
+
+        for (int i = 0; i < bitmapLength; i++) {
+            out.writeLong(nulls[i]);
+        }
+
+        for (int i = 0; i < size; i++) {
+            switch (storage) {
+                case INT:
+                    out.writeInt(ints[i]);
+
+                    break;
+
+                case LONG:
+                    out.writeLong(longs[i]);
+
+                    break;
+
+                case DOUBLE:
+                    out.writeDouble(doubles[i]);
+
+                    break;
+
+                default:
+                    out.writeObject(objects[i]);
+            }
+        }
+    }
+
+    static ColumnVector readData(ObjectDataInput in, int size) throws IOException {
+        QueryDataType type = in.readObject();
+
+        ColumnVector res = new ColumnVector(type, size);
+
+        int bitmapLength = bitmapLength(size);
+
+        for (int i = 0; i < bitmapLength; i++) {
+            res.nulls[i] = in.readLong();
+        }
+
+        for (int i = 0; i < size; i++) {
+            switch (res.storage) {
+                case INT:
+                    res.ints[i] = in.readInt();
+
+                    break;
+
+                case LONG:
+                    res.longs[i] = in.readLong();
+
+                    break;
+
+                case DOUBLE:
+                    res.doubles[i] = in.readDouble();
+
+                    break;
+
+                default:
+                    res.objects[i] = in.readObject();
+            }
+        }
+
+        return res;
+    }
+
+    private void allocate(int capacity) {
+        nulls = new long[bitmapLength(capacity)];
+
+        switch (storage) {
+            case INT:
+                ints = new int[getCapacity()];
+
+                break;
+
+            case LONG:
+                longs = new long[getCapacity()];
+
+                break;
+
+            case DOUBLE:
+                doubles = new double[getCapacity()];
+
+                break;
+
+            default:
+                objects = new Object[getCapacity()];
+        }
+    }
+
+    private void clearNull(int index) {
+        nulls[index >>> 6] &= ~(1L << index);
+    }
+
+    private static int bitmapLength(int capacity) {
+        return (capacity + Long.SIZE - 1) >>> 6;
+    }
+
+    /**
+     * Physical storage of vector values.
+     */
+    public enum Storage {
+        INT,
+        LONG,
+        DOUBLE,
+        OBJECT;
+
+        public static Storage of(QueryDataTypeFamily family) {
+            switch (family) {
+                case BOOLEAN:
+                case TINYINT:
+                case SMALLINT:
+                case INTEGER:
+                    return INT;
+
+                case BIGINT:
+                    return LONG;
+
+                case REAL:
+                case DOUBLE:
+                    return DOUBLE;
+
+                default:
+                    return OBJECT;
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch where rows are organized in columns. Every column is a {@link ColumnVector}.
+ * <p>
+ * Operators which are aware of this layout may process the batch column-wise. For other operators, rows are materialized
+ * on demand in {@link #getRow(int)}.
+ */
+public class ColumnarRowBatch implements RowBatch, IdentifiedDataSerializable {
+    /** Columns. */
+    private ColumnVector[] columns;
+
+    /** Number of rows. */
+    private int rowCount;
+
+    public ColumnarRowBatch() {
+        // No-op.
+    }
+
+    public ColumnarRowBatch(List<QueryDataType> types, int capacity) {
+        columns = new ColumnVector[types.size()];
+
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new ColumnVector(types.get(i), capacity);
+        }
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ColumnarRowBatch(ColumnVector[] columns, int rowCount) {
+        assert columns != null;
+
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    public Row getRow(int index) {
+        assert index >= 0 && index < rowCount;
+
+        if (columns.length == 0) {
+            return EmptyRow.INSTANCE;
+        }
+
+        Object[] values = new Object[columns.length];
+
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].get(index);
+        }
+
+        return new HeapRow(values);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public ColumnVector getColumn(int index) {
+        return columns[index];
+    }
+
+    public List<QueryDataType> getColumnTypes() {
+        List<QueryDataType> types = new ArrayList<>(columns.length);
+
+        for (ColumnVector column : columns) {
+            types.add(column.getType());
+        }
+
+        return types;
+    }
+
+    /**
+     * Append a row to the end of the batch.
+     *
+     * @param row Row.
+     */
+    public void addRow(Row row) {
+        assert row.getColumnCount() == columns.length;
+
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].set(rowCount, row.get(i));
+        }
+
+        rowCount++;
+    }
+
+    /**
+     * Append a row with the given values to the end of the batch.
+     *
+     * @param values Values, one per column.
+     */
+    public void addRow(Object[] values) {
+        assert values.length == columns.length;
+
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].set(rowCount, values[i]);
+        }
+
+        rowCount++;
+    }
+
+    /**
+     * Append a row from another batch with the same column layout without boxing.
+     *
+     * @param source Source batch.
+     * @param index Position of the row in the source batch.
+     */
+    public void addRow(ColumnarRowBatch source, int index) {
+        assert isCompatible(source);
+
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].copy(rowCount, source.columns[i], index);
+        }
+
+        rowCount++;
+    }
+
+    /**
+     * Create a new batch with rows at the given positions of this batch.
+     *
+     * @param positions Positions in ascending order.
+     * @param count Number of positions.
+     * @return New batch.
+     */
+    public ColumnarRowBatch select(int[] positions, int count) {
+        if (count == rowCount) {
+            return this;
+        }
+
+        ColumnVector[] selectedColumns = new ColumnVector[columns.length];
+
+        for (int i = 0; i < columns.length; i++) {
+            selectedColumns[i] = columns[i].select(positions, count);
+        }
+
+        return new ColumnarRowBatch(selectedColumns, count);
+    }
+
+    /**
+     * Create a cursor over rows of this batch. The cursor doesn't copy values, so it must not escape the operator that
+     * created it.
+     *
+     * @return Cursor positioned at the first row.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * @param other Other batch.
+     * @return {@code true} if rows of the other batch could be copied into this batch without conversion.
+     */
+    public boolean isCompatible(ColumnarRowBatch other) {
+        if (columns.length != other.columns.length) {
+            return false;
+        }
+
+        for (int i = 0; i < columns.length; i++) {
+            if (!columns[i].getType().equals(other.columns[i].getType())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.ROW_BATCH_COLUMNAR;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(rowCount);
+        out.writeInt(columns.length);
+
+        for (ColumnVector column : columns) {
+            column.writeData(out, rowCount);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        rowCount = in.readInt();
+
+        columns = new ColumnVector[in.readInt()];
+
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = ColumnVector.readData(in, rowCount);
+        }
+    }
+
+    /**
+     * Row which reads values directly from the columns of the batch at the current position.
+     */
+    public final class Cursor implements Row {
+        /** Current position. */
+        private int position;
+
+        private Cursor() {
+            // No-op.
+        }
+
+        public void setPosition(int position) {
+            assert position >= 0 && position < rowCount;
+
+            this.position = position;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T get(int index) {
+            return (T) columns[index].get(position);
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.length;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import java.math.BigDecimal;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+
+/**
+ * Utility methods to hash and compare the key columns of rows, e.g. grouping or join keys.
+ * <p>
+ * The keys are compared using the SQL semantics rather than {@link Object#equals}: the {@code DECIMAL} values differing
+ * only in scale are equal, and so are the positive and negative floating point zeros. {@code NULL}s are equal to each
+ * other. The hashes are consistent with the comparison, and are the same on all members for the same values of the
+ * types for which {@link #isHashDeterministic} returns {@code true}.
+ */
+public final class RowKeys {
+
+    private static final int HASH_MULTIPLIER = 31;
+
+    private RowKeys() {
+        // No-op.
+    }
+
+    /**
+     * @return the hash of the given columns of the given row.
+     */
+    public static int hash(Row row, int[] columns) {
+        int hash = 0;
+
+        for (int column : columns) {
+            hash = HASH_MULTIPLIER * hash + hashValue(row.get(column));
+        }
+
+        return MurmurHash3_fmix(hash);
+    }
+
+    /**
+     * @return {@code true} if the hashes of the values of the given type are the same on all members, so the rows may
+     * be distributed between the members by them. The {@code OBJECT} values are arbitrary Java objects, whose hash
+     * codes may differ between the JVMs, e.g. enums or classes not overriding {@link Object#hashCode}.
+     */
+    public static boolean isHashDeterministic(QueryDataTypeFamily typeFamily) {
+        return typeFamily != QueryDataTypeFamily.OBJECT;
+    }
+
+    /**
+     * @return the values of the given columns of the given row.
+     */
+    public static Object[] extract(Row row, int[] columns) {
+        Object[] key = new Object[columns.length];
+
+        for (int i = 0; i < columns.length; i++) {
+            key[i] = row.get(columns[i]);
+        }
+
+        return key;
+    }
+
+    /**
+     * @return {@code true} if the given columns of the given row are equal to the given key values.
+     */
+    public static boolean equal(Row row, int[] columns, Object[] key) {
+        for (int i = 0; i < columns.length; i++) {
+            if (!equalValues(row.get(columns[i]), key[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return {@code true} if the given columns of the first row are equal to the given columns of the second row.
+     */
+    public static boolean equal(Row row1, int[] columns1, Row row2, int[] columns2) {
+        assert columns1.length == columns2.length;
+
+        for (int i = 0; i < columns1.length; i++) {
+            if (!equalValues(row1.get(columns1[i]), row2.get(columns2[i]))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int hashValue(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+
+            return decimal.signum() == 0 ? 0 : decimal.stripTrailingZeros().hashCode();
+        } else if (value instanceof Double) {
+            // Adding zero turns the negative zero into the positive one.
+            return Double.hashCode((Double) value + 0.0d);
+        } else if (value instanceof Float) {
+            return Float.hashCode((Float) value + 0.0f);
+        } else {
+            return value.hashCode();
+        }
+    }
+
+    private static boolean equalValues(Object first, Object second) {
+        if (first == null || second == null) {
+            return first == second;
+        } else if (first instanceof BigDecimal && second instanceof BigDecimal) {
+            return ((BigDecimal) first).compareTo((BigDecimal) second) == 0;
+        } else if (first instanceof Double && second instanceof Double) {
+            double firstValue = (Double) first;
+            double secondValue = (Double) second;
+
+            return firstValue == secondValue || Double.isNaN(firstValue) && Double.isNaN(secondValue);
+        } else if (first instanceof Float && second instanceof Float) {
+            float firstValue = (Float) first;
+            float secondValue = (Float) second;
+
+            return firstValue == secondValue || Float.isNaN(firstValue) && Float.isNaN(secondValue);
+        } else {
+            return first.equals(second);
+        }
+    }
+}
@@ -32,6 +32,7 @@ public class PartitionedMapTable extends AbstractMapTable {
 
     private final List<MapTableIndex> indexes;
     private final boolean hd;
+    private final boolean defaultPartitioning;
 
     @SuppressWarnings("checkstyle:ParameterNumber")
     public PartitionedMapTable(
@@ -45,7 +46,8 @@ public class PartitionedMapTable extends AbstractMapTable {
             Object keyJetMetadata,
             Object valueJetMetadata,
             List<MapTableIndex> indexes,
-            boolean hd
+            boolean hd,
+            boolean defaultPartitioning
     ) {
         super(
             schemaName,
@@ -61,6 +63,7 @@ public class PartitionedMapTable extends AbstractMapTable {
 
         this.indexes = indexes;
         this.hd = hd;
+        this.defaultPartitioning = defaultPartitioning;
     }
 
     public PartitionedMapTable(String name, QueryException exception) {
@@ -68,6 +71,7 @@ public class PartitionedMapTable extends AbstractMapTable {
 
         this.indexes = null;
         this.hd = false;
+        this.defaultPartitioning = false;
     }
 
     @Override
@@ -84,7 +88,8 @@ public class PartitionedMapTable extends AbstractMapTable {
             getKeyDescriptor(),
             getValueDescriptor(),
             getIndexes(),
-            isHd()
+            isHd(),
+            isDefaultPartitioning()
         );
     }
 
@@ -97,4 +102,12 @@ public class PartitionedMapTable extends AbstractMapTable {
     public boolean isHd() {
         return hd;
     }
+
+    /**
+     * @return {@code true} if the entries of the map are partitioned by their whole keys, i.e. the map has no custom
+     * partitioning strategy; the entries of two such maps having equal keys are then located in the same partition.
+     */
+    public boolean isDefaultPartitioning() {
+        return defaultPartitioning;
+    }
 }
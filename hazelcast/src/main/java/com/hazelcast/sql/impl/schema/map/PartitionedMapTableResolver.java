@@ -148,7 +148,8 @@ public class PartitionedMapTableResolver extends AbstractMapTableResolver {
                 keyMetadata.getJetMetadata(),
                 valueMetadata.getJetMetadata(),
                 indexes,
-                hd
+                hd,
+                mapContainer.getPartitioningStrategy() == null
             );
         } catch (QueryException e) {
             return new PartitionedMapTable(name, e);
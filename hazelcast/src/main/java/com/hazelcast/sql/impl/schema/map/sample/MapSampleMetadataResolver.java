@@ -16,6 +16,10 @@
 
 package com.hazelcast.sql.impl.schema.map.sample;
 
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.internal.json.Json;
+import com.hazelcast.internal.json.JsonObject;
+import com.hazelcast.internal.json.JsonValue;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.serialization.ClassDefinition;
@@ -23,6 +27,7 @@ import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.sql.impl.FieldsUtil;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
+import com.hazelcast.sql.impl.extract.JsonQueryTargetDescriptor;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.schema.TableField;
 import com.hazelcast.sql.impl.schema.map.JetMapMetadataResolver;
@@ -33,6 +38,7 @@ import com.hazelcast.sql.impl.type.QueryDataTypeUtils;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 
 /**
  * Helper class that resolves a map-backed table from a key/value sample.
@@ -70,10 +76,12 @@ public final class MapSampleMetadataResolver {
                 if (data.isPortable()) {
                     return resolvePortable(ss.getPortableContext().lookupClassDefinition(data), key, jetMapMetadataResolver);
                 } else if (data.isJson()) {
-                    throw new UnsupportedOperationException("JSON objects are not supported.");
+                    return resolveJson(ss.toObject(data), key);
                 } else {
                     return resolveClass(ss.toObject(data).getClass(), key, jetMapMetadataResolver);
                 }
+            } else if (target instanceof HazelcastJsonValue) {
+                return resolveJson((HazelcastJsonValue) target, key);
             } else {
                 return resolveClass(target.getClass(), key, jetMapMetadataResolver);
             }
@@ -119,6 +127,67 @@ public final class MapSampleMetadataResolver {
         );
     }
 
+    /**
+     * Resolve metadata from a JSON document. Top-level attributes with scalar values become fields, while nested objects
+     * and arrays are only accessible through the top-level object.
+     *
+     * @param json JSON document.
+     * @param isKey Whether this is a key.
+     * @return Metadata.
+     */
+    private static MapSampleMetadata resolveJson(HazelcastJsonValue json, boolean isKey) {
+        LinkedHashMap<String, TableField> fields = new LinkedHashMap<>();
+
+        JsonValue document = Json.parse(json.toString());
+
+        if (document.isObject()) {
+            Map<String, QueryDataType> simpleFields = new TreeMap<>();
+
+            for (JsonObject.Member member : document.asObject()) {
+                String name = member.getName();
+                QueryDataType type = resolveJsonType(member.getValue());
+
+                // Dots are path separators in JSON paths, so such attributes cannot be addressed.
+                if (type != null && name.indexOf('.') < 0) {
+                    simpleFields.put(name, type);
+                }
+            }
+
+            for (Entry<String, QueryDataType> fieldEntry : simpleFields.entrySet()) {
+                String name = fieldEntry.getKey();
+                fields.put(name, new MapTableField(name, fieldEntry.getValue(), false, new QueryPath(name, isKey)));
+            }
+        }
+
+        // Add top-level object.
+        String topName = isKey ? QueryPath.KEY : QueryPath.VALUE;
+        QueryPath topPath = isKey ? QueryPath.KEY_PATH : QueryPath.VALUE_PATH;
+        // explicitly remove to have the newly-inserted topName at the end
+        fields.remove(topName);
+        fields.put(topName, new MapTableField(topName, QueryDataType.OBJECT, !fields.isEmpty(), topPath));
+
+        return new MapSampleMetadata(
+            JsonQueryTargetDescriptor.DEFAULT,
+            null,
+            fields
+        );
+    }
+
+    private static QueryDataType resolveJsonType(JsonValue value) {
+        if (value.isString()) {
+            return QueryDataType.VARCHAR;
+        } else if (value.isBoolean()) {
+            return QueryDataType.BOOLEAN;
+        } else if (value.isNumber()) {
+            // Same rule as in the JSON getters: numbers with a fractional part are doubles, others are longs.
+            return value.toString().contains(".") ? QueryDataType.DOUBLE : QueryDataType.BIGINT;
+        } else if (value.isNull()) {
+            return QueryDataType.OBJECT;
+        } else {
+            return null;
+        }
+    }
+
     private static MapSampleMetadata resolveClass(
         Class<?> clazz,
         boolean isKey,
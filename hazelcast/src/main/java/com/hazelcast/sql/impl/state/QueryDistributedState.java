@@ -23,9 +23,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+
 /**
  * State of a distributed query execution.
  */
@@ -102,6 +105,27 @@ public class QueryDistributedState {
         return fragment;
     }
 
+    /**
+     * Callback executed when the query is cancelled. Schedules the fragments, so that they observe the cancel and
+     * release their resources even if no more data is going to arrive.
+     */
+    public void onCancel() {
+        InitializedState initializedState0 = initializedState;
+
+        if (initializedState0 == null) {
+            return;
+        }
+
+        for (QueryFragmentExecutable fragment : initializedState0.fragments) {
+            try {
+                fragment.schedule(true);
+            } catch (RejectedExecutionException e) {
+                // The fragment pool is stopped on member shutdown.
+                ignore(e);
+            }
+        }
+    }
+
     /**
      * Callback executed when the fragment is finished.
      *
@@ -116,11 +140,14 @@ public class QueryDistributedState {
     private static final class InitializedState {
         private final Map<Integer, QueryFragmentExecutable> inboundEdgeToFragment = new HashMap<>();
         private final Map<Integer, QueryFragmentExecutable> outboundEdgeToFragment = new HashMap<>();
+        private final List<QueryFragmentExecutable> fragments;
 
         /** Number of remaining fragments. */
         private final AtomicInteger remainingFragmentCount;
 
         private InitializedState(List<QueryFragmentExecutable> fragmentExecutables) {
+            this.fragments = fragmentExecutables;
+
             for (QueryFragmentExecutable fragmentExecutable : fragmentExecutables) {
                 for (Integer inboxEdgeId : fragmentExecutable.getInboxEdgeIds()) {
                     QueryFragmentExecutable oldFragmentExecutable = inboundEdgeToFragment.put(inboxEdgeId, fragmentExecutable);
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.state;
+
+import com.hazelcast.sql.impl.QueryException;
+
+/**
+ * Tracks the memory reserved by SQL queries.
+ * <p>
+ * Trackers form a hierarchy: a member tracker is the parent of the trackers of the queries running on the member,
+ * and a query tracker is the parent of the trackers of the query fragments. A reservation is applied to the tracker
+ * and all its ancestors, and is rejected with {@link QueryException#memoryLimitExceeded(String, long)} if any of them
+ * would exceed its limit.
+ * <p>
+ * The reservations are approximate, they are based on the estimated row sizes and are made for batches of rows.
+ */
+public final class QueryMemoryTracker {
+    /** Value of the limit which means that the memory is not limited. */
+    public static final long NO_LIMIT = 0;
+
+    private final QueryMemoryTracker parent;
+    private final String scope;
+    private final long limit;
+
+    private long reserved;
+    private long peakReserved;
+    private boolean closed;
+
+    public QueryMemoryTracker(QueryMemoryTracker parent, String scope, long limit) {
+        assert limit >= 0;
+
+        this.parent = parent;
+        this.scope = scope;
+        this.limit = limit;
+    }
+
+    /**
+     * Creates a tracker that is not attached to any parent and that has no limit.
+     */
+    public static QueryMemoryTracker createUnlimited(String scope) {
+        return new QueryMemoryTracker(null, scope, NO_LIMIT);
+    }
+
+    public QueryMemoryTracker createChild(String scope, long limit) {
+        return new QueryMemoryTracker(this, scope, limit);
+    }
+
+    /**
+     * Reserves the memory.
+     *
+     * @param bytes Number of bytes.
+     * @throws QueryException If the limit of this tracker or any of its ancestors is exceeded.
+     */
+    public synchronized void reserve(long bytes) {
+        assert bytes >= 0;
+
+        if (bytes == 0 || closed) {
+            return;
+        }
+
+        long newReserved = reserved + bytes;
+
+        if (limit != NO_LIMIT && newReserved > limit) {
+            throw QueryException.memoryLimitExceeded(scope, limit);
+        }
+
+        if (parent != null) {
+            parent.reserve(bytes);
+        }
+
+        reserved = newReserved;
+
+        if (newReserved > peakReserved) {
+            peakReserved = newReserved;
+        }
+    }
+
+    /**
+     * Releases the memory which was previously reserved.
+     *
+     * @param bytes Number of bytes.
+     */
+    public synchronized void release(long bytes) {
+        assert bytes >= 0;
+
+        if (bytes == 0 || closed) {
+            return;
+        }
+
+        assert bytes <= reserved;
+
+        reserved -= bytes;
+
+        if (parent != null) {
+            parent.release(bytes);
+        }
+    }
+
+    /**
+     * Releases all the memory reserved through this tracker from the ancestors. Subsequent reservations and releases
+     * are ignored. Invoked when the owner of the tracker is completed, possibly without releasing the memory explicitly.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        if (parent != null) {
+            parent.release(reserved);
+        }
+
+        reserved = 0;
+        closed = true;
+    }
+
+    public synchronized long getReserved() {
+        return reserved;
+    }
+
+    public synchronized long getPeakReserved() {
+        return peakReserved;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "QueryMemoryTracker {scope=" + scope + ", limit=" + limit + ", reserved=" + reserved
+            + ", peakReserved=" + peakReserved + ", closed=" + closed + '}';
+    }
+}
@@ -22,6 +22,7 @@ import com.hazelcast.sql.impl.ClockProvider;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.QueryResultProducer;
+import com.hazelcast.sql.impl.exec.io.ExchangeMetrics;
 import com.hazelcast.sql.impl.plan.cache.CachedPlanInvalidationCallback;
 import com.hazelcast.sql.impl.plan.Plan;
 
@@ -49,6 +50,12 @@ public final class QueryState implements QueryStateCallback {
     /** Distributed state. */
     private final QueryDistributedState distributedState = new QueryDistributedState();
 
+    /** Backpressure metrics of the exchanges on the local member. */
+    private final ExchangeMetrics exchangeMetrics = new ExchangeMetrics();
+
+    /** Memory reserved by the query on the local member. */
+    private final QueryMemoryTracker memoryTracker;
+
     /** Clock provider. */
     private final ClockProvider clockProvider;
 
@@ -64,6 +71,7 @@ public final class QueryState implements QueryStateCallback {
     /** Time when the a check was performed for the last time. */
     private volatile long checkTime;
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
     private QueryState(
         QueryId queryId,
         UUID localMemberId,
@@ -74,12 +82,14 @@ public final class QueryState implements QueryStateCallback {
         CachedPlanInvalidationCallback initiatorPlanInvalidationCallback,
         SqlRowMetadata initiatorRowMetadata,
         QueryResultProducer initiatorRowSource,
+        QueryMemoryTracker memoryTracker,
         ClockProvider clockProvider
     ) {
         // Set common state.
         this.queryId = queryId;
         this.completionCallback = completionCallback;
         this.localMemberId = localMemberId;
+        this.memoryTracker = memoryTracker;
 
         if (initiator) {
             initiatorState = new QueryInitiatorState(
@@ -110,6 +120,7 @@ public final class QueryState implements QueryStateCallback {
         CachedPlanInvalidationCallback initiatorPlanInvalidationCallback,
         SqlRowMetadata initiatorRowMetadata,
         QueryResultProducer initiatorResultProducer,
+        QueryMemoryTracker memoryTracker,
         ClockProvider clockProvider
     ) {
         return new QueryState(
@@ -122,6 +133,7 @@ public final class QueryState implements QueryStateCallback {
             initiatorPlanInvalidationCallback,
             initiatorRowMetadata,
             initiatorResultProducer,
+            memoryTracker,
             clockProvider
         );
     }
@@ -136,6 +148,7 @@ public final class QueryState implements QueryStateCallback {
         QueryId queryId,
         UUID localMemberId,
         QueryStateCompletionCallback completionCallback,
+        QueryMemoryTracker memoryTracker,
         ClockProvider clockProvider
     ) {
         return new QueryState(
@@ -148,6 +161,7 @@ public final class QueryState implements QueryStateCallback {
             null,
             null,
             null,
+            memoryTracker,
             clockProvider
         );
     }
@@ -176,6 +190,14 @@ public final class QueryState implements QueryStateCallback {
         return distributedState;
     }
 
+    public ExchangeMetrics getExchangeMetrics() {
+        return exchangeMetrics;
+    }
+
+    public QueryMemoryTracker getMemoryTracker() {
+        return memoryTracker;
+    }
+
     @Override
     public void onFragmentFinished() {
         if (distributedState.onFragmentFinished()) {
@@ -221,6 +243,9 @@ public final class QueryState implements QueryStateCallback {
         // Notify fragments about the error.
         completionError = error0;
 
+        // Schedule the fragments, so that they observe the error and release their resources.
+        distributedState.onCancel();
+
         // Determine which members should be notified.
         Collection<UUID> memberIds;
 
@@ -32,15 +32,33 @@ import java.util.concurrent.ConcurrentHashMap;
  * Registry that tracks active queries on a member.
  */
 public class QueryStateRegistry {
+    /** Scopes of the memory trackers used in the error messages. */
+    public static final String MEMBER_SCOPE = "member";
+    public static final String QUERY_SCOPE = "query";
+    public static final String FRAGMENT_SCOPE = "fragment";
+
     /** IDs of locally started queries. */
     private final ConcurrentHashMap<QueryId, QueryState> states = new ConcurrentHashMap<>();
 
     private final ClockProvider clockProvider;
 
+    /** Memory reserved by all queries on the local member. */
+    private final QueryMemoryTracker memoryTracker;
+
+    /** Maximum amount of memory a single query may reserve on the local member. */
+    private final long queryMemoryLimit;
+
     private volatile boolean shutdown;
 
     public QueryStateRegistry(ClockProvider clockProvider) {
+        this(clockProvider, QueryMemoryTracker.NO_LIMIT, QueryMemoryTracker.NO_LIMIT);
+    }
+
+    public QueryStateRegistry(ClockProvider clockProvider, long memberMemoryLimit, long queryMemoryLimit) {
         this.clockProvider = clockProvider;
+        this.queryMemoryLimit = queryMemoryLimit;
+
+        memoryTracker = new QueryMemoryTracker(null, MEMBER_SCOPE, memberMemoryLimit);
     }
 
     /**
@@ -65,6 +83,7 @@ public class QueryStateRegistry {
             initiatorPlanInvalidationCallback,
             initiatorRowMetadata,
             initiatorResultProducer,
+            createQueryMemoryTracker(),
             clockProvider
         );
 
@@ -116,6 +135,7 @@ public class QueryStateRegistry {
                     queryId,
                     localMemberId,
                     completionCallback,
+                    createQueryMemoryTracker(),
                     clockProvider
                 );
 
@@ -142,7 +162,12 @@ public class QueryStateRegistry {
      * @param queryId Query ID.
      */
     public void onQueryCompleted(QueryId queryId) {
-        states.remove(queryId);
+        QueryState state = states.remove(queryId);
+
+        if (state != null) {
+            // Operators are not required to release the memory on cancellation, so release it here.
+            state.getMemoryTracker().close();
+        }
     }
 
     public void shutdown() {
@@ -163,6 +188,35 @@ public class QueryStateRegistry {
         return states.values();
     }
 
+    /**
+     * @return Tracker of the memory reserved by all queries on the local member.
+     */
+    public QueryMemoryTracker getMemoryTracker() {
+        return memoryTracker;
+    }
+
+    /**
+     * @return Memory in bytes currently reserved by all queries on the local member.
+     */
+    public long getMemoryUsage() {
+        return memoryTracker.getReserved();
+    }
+
+    /**
+     * @param queryId Query ID.
+     * @return Memory in bytes currently reserved by the query on the local member, or {@code 0} if the query is not
+     *     running on the local member.
+     */
+    public long getMemoryUsage(QueryId queryId) {
+        QueryState state = states.get(queryId);
+
+        return state != null ? state.getMemoryTracker().getReserved() : 0;
+    }
+
+    private QueryMemoryTracker createQueryMemoryTracker() {
+        return memoryTracker.createChild(QUERY_SCOPE, queryMemoryLimit);
+    }
+
     private static void cancelOnShutdown(QueryState state) {
         state.cancel(shutdownException(), true);
     }
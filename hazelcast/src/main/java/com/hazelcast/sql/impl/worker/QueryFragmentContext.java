@@ -18,7 +18,9 @@ package com.hazelcast.sql.impl.worker;
 
 import com.hazelcast.sql.impl.exec.Exec;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.state.QueryMemoryTracker;
 import com.hazelcast.sql.impl.state.QueryStateCallback;
+import com.hazelcast.sql.impl.state.QueryStateRegistry;
 
 import java.util.List;
 
@@ -30,17 +32,34 @@ public final class QueryFragmentContext implements ExpressionEvalContext {
     private final List<Object> arguments;
     private final QueryFragmentScheduleCallback scheduleCallback;
     private final QueryStateCallback stateCallback;
+    private final QueryMemoryTracker memoryTracker;
 
     public QueryFragmentContext(
         List<Object> arguments,
         QueryFragmentScheduleCallback scheduleCallback,
         QueryStateCallback stateCallback
+    ) {
+        this(
+            arguments,
+            scheduleCallback,
+            stateCallback,
+            QueryMemoryTracker.createUnlimited(QueryStateRegistry.FRAGMENT_SCOPE)
+        );
+    }
+
+    public QueryFragmentContext(
+        List<Object> arguments,
+        QueryFragmentScheduleCallback scheduleCallback,
+        QueryStateCallback stateCallback,
+        QueryMemoryTracker memoryTracker
     ) {
         assert arguments != null;
+        assert memoryTracker != null;
 
         this.arguments = arguments;
         this.scheduleCallback = scheduleCallback;
         this.stateCallback = stateCallback;
+        this.memoryTracker = memoryTracker;
     }
 
     @Override
@@ -61,4 +80,11 @@ public final class QueryFragmentContext implements ExpressionEvalContext {
     public void checkCancelled() {
         stateCallback.checkCancelled();
     }
+
+    /**
+     * @return Tracker of the memory reserved by the operators of the fragment.
+     */
+    public QueryMemoryTracker getMemoryTracker() {
+        return memoryTracker;
+    }
 }
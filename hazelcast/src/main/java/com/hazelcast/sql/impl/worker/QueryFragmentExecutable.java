@@ -23,7 +23,9 @@ import com.hazelcast.sql.impl.exec.io.InboundHandler;
 import com.hazelcast.sql.impl.exec.io.OutboundHandler;
 import com.hazelcast.sql.impl.operation.QueryBatchExchangeOperation;
 import com.hazelcast.sql.impl.operation.QueryFlowControlExchangeOperation;
+import com.hazelcast.sql.impl.state.QueryMemoryTracker;
 import com.hazelcast.sql.impl.state.QueryStateCallback;
+import com.hazelcast.sql.impl.state.QueryStateRegistry;
 
 import java.util.Collection;
 import java.util.List;
@@ -33,6 +35,8 @@ import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+
 /**
  * Query fragment executable that advances the top-level operator, consumes data operations, and manages scheduling.
  */
@@ -47,6 +51,7 @@ public class QueryFragmentExecutable implements QueryFragmentScheduleCallback {
     private final Map<Integer, InboundHandler> inboxes;
     private final Map<Integer, Map<UUID, OutboundHandler>> outboxes;
     private final QueryFragmentWorkerPool fragmentPool;
+    private final QueryMemoryTracker memoryTracker;
 
     /** Operations to be processed. */
     private final ConcurrentLinkedDeque<Object> operations = new ConcurrentLinkedDeque<>();
@@ -70,6 +75,26 @@ public class QueryFragmentExecutable implements QueryFragmentScheduleCallback {
         Map<Integer, InboundHandler> inboxes,
         Map<Integer, Map<UUID, OutboundHandler>> outboxes,
         QueryFragmentWorkerPool fragmentPool
+    ) {
+        this(
+            stateCallback,
+            arguments,
+            exec,
+            inboxes,
+            outboxes,
+            fragmentPool,
+            QueryMemoryTracker.createUnlimited(QueryStateRegistry.FRAGMENT_SCOPE)
+        );
+    }
+
+    public QueryFragmentExecutable(
+        QueryStateCallback stateCallback,
+        List<Object> arguments,
+        Exec exec,
+        Map<Integer, InboundHandler> inboxes,
+        Map<Integer, Map<UUID, OutboundHandler>> outboxes,
+        QueryFragmentWorkerPool fragmentPool,
+        QueryMemoryTracker memoryTracker
     ) {
         this.stateCallback = stateCallback;
         this.arguments = arguments;
@@ -77,6 +102,11 @@ public class QueryFragmentExecutable implements QueryFragmentScheduleCallback {
         this.inboxes = inboxes;
         this.outboxes = outboxes;
         this.fragmentPool = fragmentPool;
+        this.memoryTracker = memoryTracker;
+    }
+
+    public QueryMemoryTracker getMemoryTracker() {
+        return memoryTracker;
     }
 
     public Collection<Integer> getInboxEdgeIds() {
@@ -160,12 +190,18 @@ public class QueryFragmentExecutable implements QueryFragmentScheduleCallback {
             if (res == IterationResult.FETCHED_DONE) {
                 completed = true;
 
+                releaseExecutor();
+
                 stateCallback.onFragmentFinished();
             }
         } catch (Exception e) {
             // Prevent subsequent invocations.
             completed = true;
 
+            // Release the resources of the executor, e.g. the files spilled to disk. This path is also taken when the
+            // query is cancelled, because the cancel schedules the fragment, which then fails on the cancel check.
+            releaseExecutor();
+
             // Notify state about the exception to trigger cancel operation.
             stateCallback.cancel(e, false);
         } finally {
@@ -219,13 +255,22 @@ public class QueryFragmentExecutable implements QueryFragmentScheduleCallback {
         fragmentPool.submit(this);
     }
 
+    private void releaseExecutor() {
+        try {
+            exec.release();
+        } catch (Exception e) {
+            // The query result is already decided at this point.
+            ignore(e);
+        }
+    }
+
     private void setupExecutor() {
         if (initialized) {
             return;
         }
 
         try {
-            exec.setup(new QueryFragmentContext(arguments, this, stateCallback));
+            exec.setup(new QueryFragmentContext(arguments, this, stateCallback, memoryTracker));
         } finally {
             initialized = true;
         }
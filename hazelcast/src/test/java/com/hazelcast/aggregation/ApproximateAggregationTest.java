@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static com.hazelcast.aggregation.TestSamples.createEntryWithValue;
+import static com.hazelcast.aggregation.TestSamples.createExtractableEntryWithValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ApproximateAggregationTest {
+
+    private static final int PARTIAL_RESULT_COUNT = 8;
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateDistinctCount() {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 100000; ++i) {
+            values.add("value-" + i);
+            values.add("value-" + i);
+        }
+        values.add(null);
+
+        long result = aggregateSerializedPartials(Aggregators::approximateDistinctCount, values);
+
+        assertEquals(100000, result, 100000 * 0.03);
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateDistinctCount_canonicalizesNumbers() {
+        List<Object> values = Arrays.asList(1, 1L, (short) 1, 1.0, 1.0f, 2, 2.5, 2.5f, null);
+
+        long result = aggregateSerializedPartials(Aggregators::approximateDistinctCount, values);
+
+        assertEquals(3, result);
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateDistinctCount_withAttributePath() {
+        Aggregator<Map.Entry<Person, Person>, Long> aggregation = Aggregators.approximateDistinctCount("age");
+        for (double age : new double[]{5.1, 3.3, 5.1}) {
+            aggregation.accumulate(createExtractableEntryWithValue(new Person(age), ss));
+        }
+        aggregation.accumulate(createExtractableEntryWithValue(new Person(null), ss));
+
+        assertEquals(2L, (long) aggregation.aggregate());
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateQuantile() {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 100000; ++i) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(42));
+
+        for (double quantile : new double[]{0, 0.001, 0.01, 0.25, 0.5, 0.75, 0.99, 0.999, 1}) {
+            double result = aggregateSerializedPartials(() -> Aggregators.approximateQuantile(quantile), values);
+            // the error is proportional to the size of the centroids around the quantile
+            double tolerance = 100000 * Math.max(0.0001, Math.sqrt(quantile * (1 - quantile)) * 0.02);
+            assertEquals("quantile " + quantile, quantile * 100000, result, tolerance);
+        }
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateQuantile_smallInputs() {
+        assertNull(aggregateSerializedPartials(() -> Aggregators.approximateQuantile(0.5), Collections.emptyList()));
+        assertEquals(7.0, aggregateSerializedPartials(() -> Aggregators.approximateQuantile(0.9),
+                Collections.singletonList(7)), 0.0);
+        assertEquals(2.0, aggregateSerializedPartials(() -> Aggregators.approximateQuantile(0.5),
+                Arrays.asList(1, null, 2L, 3.0)), 0.5);
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateQuantile_withAttributePath() {
+        Aggregator<Map.Entry<Person, Person>, Double> aggregation = Aggregators.approximateQuantile("age", 1);
+        for (double age : new double[]{5.1, 3.3, 4.0}) {
+            aggregation.accumulate(createExtractableEntryWithValue(new Person(age), ss));
+        }
+
+        assertEquals(5.1, aggregation.aggregate(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testApproximateQuantile_invalidQuantile() {
+        Aggregators.approximateQuantile(1.5);
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateTopK() {
+        // a Zipf-like distribution: the value i occurs 10000 / i times
+        List<Object> values = new ArrayList<>();
+        for (int i = 1; i <= 5000; ++i) {
+            for (int j = 0; j < 10000 / i; ++j) {
+                values.add("value-" + i);
+            }
+        }
+        Collections.shuffle(values, new Random(42));
+
+        Map<String, Long> result = aggregateSerializedPartials(() -> Aggregators.approximateTopK(5), values);
+
+        assertEquals(Arrays.asList("value-1", "value-2", "value-3", "value-4", "value-5"),
+                new ArrayList<>(result.keySet()));
+        for (int i = 1; i <= 5; ++i) {
+            long count = result.get("value-" + i);
+            long actual = 10000 / i;
+            assertTrue("value-" + i + ": " + count, count >= actual && count <= actual + values.size() / 200);
+        }
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateTopK_canonicalizesNumbers() {
+        List<Object> values = Arrays.asList(1, 1L, 1.0, 2, 2, 3, null, null, null);
+
+        Map<Object, Long> result = aggregateSerializedPartials(() -> Aggregators.approximateTopK(1), values);
+
+        assertEquals(1, result.size());
+        assertEquals(3L, (long) result.values().iterator().next());
+    }
+
+    /**
+     * Accumulates the given values into several partial results, passes them
+     * through the serialization and combines them as the members would.
+     */
+    private <R> R aggregateSerializedPartials(Supplier<Aggregator<Map.Entry<Object, Object>, R>> supplier,
+                                              List<Object> values) {
+        List<Aggregator<Map.Entry<Object, Object>, R>> partials = new ArrayList<>();
+        for (int i = 0; i < PARTIAL_RESULT_COUNT; ++i) {
+            partials.add(supplier.get());
+        }
+        for (int i = 0; i < values.size(); ++i) {
+            partials.get(i % PARTIAL_RESULT_COUNT).accumulate(createEntryWithValue(values.get(i)));
+        }
+
+        Aggregator<Map.Entry<Object, Object>, R> result = supplier.get();
+        for (Aggregator<Map.Entry<Object, Object>, R> partial : partials) {
+            Aggregator<Map.Entry<Object, Object>, R> deserialized = ss.toObject(ss.toData(partial));
+            result.combine(deserialized);
+        }
+        return ((Aggregator<Map.Entry<Object, Object>, R>) ss.toObject(ss.toData(result))).aggregate();
+    }
+
+}
@@ -33,12 +33,27 @@ import java.io.LineNumberReader;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 import java.util.StringTokenizer;
 
 import static java.util.Collections.singletonList;
 
 /**
  * This is no JUnit test.
+ * <p>
+ * Usage: {@code MapWordCountAggregationBenchmark [memberCount] [entryCount]
+ * [serial|parallel]}.
+ * <p>
+ * By default, fills a map having {@value #PARTITION_COUNT} partitions on 3
+ * members with 2 million generated lines of text and measures the word count
+ * aggregation and the built-in count aggregation with the parallel
+ * evaluation enabled. With the parallel evaluation, every member scans its
+ * partitions in multiple threads, and the partial aggregators of the
+ * threads are combined in the threads themselves as a tree instead of being
+ * combined one by one by the thread running the query. Run with {@code
+ * serial} to compare with the single-threaded evaluation. If the entry
+ * count is {@code 0}, the map is filled with the copies of the texts from
+ * the {@code /wordcount} resources instead.
  */
 public class MapWordCountAggregationBenchmark extends HazelcastTestSupport {
 
@@ -46,16 +61,31 @@ public class MapWordCountAggregationBenchmark extends HazelcastTestSupport {
 
     private static final String MAP_NAME = "articles";
 
+    private static final int PARTITION_COUNT = 271;
+
+    private static final int WORDS_PER_LINE = 12;
+
+    private static final int VOCABULARY_SIZE = 20000;
+
     public static void main(String[] args) throws Exception {
-        HazelcastInstance hazelcastInstance = buildCluster(3);
+        int memberCount = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int entryCount = args.length > 1 ? Integer.parseInt(args[1]) : 2000000;
+        boolean parallel = args.length <= 2 || "parallel".equals(args[2]);
+        HazelcastInstance hazelcastInstance = buildCluster(memberCount, parallel);
 
         try {
             System.out.println("Filling map...");
-            for (int i = 0; i < 20 * 8; i++) {
-                //fillMapWithDataEachLineNewEntry(hazelcastInstance);
-                fillMapWithData(hazelcastInstance);
+            if (entryCount > 0) {
+                fillMapWithGeneratedLines(hazelcastInstance, entryCount);
+            } else {
+                for (int i = 0; i < 20 * 8; i++) {
+                    //fillMapWithDataEachLineNewEntry(hazelcastInstance);
+                    fillMapWithData(hazelcastInstance);
+                }
             }
             IMap<String, String> map = hazelcastInstance.getMap(MAP_NAME);
+            System.out.println("Entries: " + map.size() + ", partitions: " + PARTITION_COUNT + ", members: " + memberCount
+                    + ", " + (parallel ? "parallel" : "serial") + " evaluation");
 
             System.out.println("Garbage collecting...");
             for (int i = 0; i < 10; i++) {
@@ -70,6 +100,11 @@ public class MapWordCountAggregationBenchmark extends HazelcastTestSupport {
 
                 System.err.println(result.size());
                 System.err.println("TimeTaken=" + (System.currentTimeMillis() - start));
+
+                start = System.currentTimeMillis();
+                long count = map.aggregate(Aggregators.count());
+                System.err.println(count);
+                System.err.println("CountTimeTaken=" + (System.currentTimeMillis() - start));
                 System.err.println("---------------------------------------------");
                 System.gc();
             }
@@ -78,7 +113,7 @@ public class MapWordCountAggregationBenchmark extends HazelcastTestSupport {
         }
     }
 
-    private static HazelcastInstance buildCluster(int memberCount) {
+    private static HazelcastInstance buildCluster(int memberCount, boolean parallel) {
         Config config = new Config();
         NetworkConfig networkConfig = config.getNetworkConfig();
         networkConfig.getJoin().getMulticastConfig().setEnabled(false);
@@ -91,8 +126,9 @@ public class MapWordCountAggregationBenchmark extends HazelcastTestSupport {
         mapConfig.setBackupCount(0);
         config.addMapConfig(mapConfig);
 
-        config.setProperty("hazelcast.query.predicate.parallel.evaluation", "true");
-        config.setProperty("hazelcast.aggregation.accumulation.parallel.evaluation", "true");
+        config.setProperty("hazelcast.partition.count", String.valueOf(PARTITION_COUNT));
+        config.setProperty("hazelcast.query.predicate.parallel.evaluation", String.valueOf(parallel));
+        config.setProperty("hazelcast.aggregation.accumulation.parallel.evaluation", String.valueOf(parallel));
 
         HazelcastInstance[] hazelcastInstances = new HazelcastInstance[memberCount];
         for (int i = 0; i < memberCount; i++) {
@@ -101,6 +137,31 @@ public class MapWordCountAggregationBenchmark extends HazelcastTestSupport {
         return hazelcastInstances[0];
     }
 
+    private static void fillMapWithGeneratedLines(HazelcastInstance hazelcastInstance, int entryCount) {
+        IMap<String, String> map = hazelcastInstance.getMap(MAP_NAME);
+        Random random = new Random(42);
+
+        int batchSize = 10000;
+        Map<String, String> batch = new HashMap<String, String>(batchSize);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < entryCount; i++) {
+            sb.setLength(0);
+            for (int j = 0; j < WORDS_PER_LINE; j++) {
+                // skewed towards a few frequent words like a natural text
+                int word = (int) (VOCABULARY_SIZE * Math.pow(random.nextDouble(), 3));
+                sb.append('w').append(word).append(' ');
+            }
+            batch.put(String.valueOf(i), sb.toString());
+            if (batch.size() == batchSize) {
+                map.putAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            map.putAll(batch);
+        }
+    }
+
     private static void fillMapWithData(HazelcastInstance hazelcastInstance) throws Exception {
 
         IMap<String, String> map = hazelcastInstance.getMap(MAP_NAME);
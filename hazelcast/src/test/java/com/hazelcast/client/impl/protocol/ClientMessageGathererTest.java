@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.BEGIN_FRAME;
+import static com.hazelcast.client.impl.protocol.ClientMessage.DEFAULT_FLAGS;
+import static com.hazelcast.client.impl.protocol.ClientMessage.END_FRAME;
+import static com.hazelcast.client.impl.protocol.ClientMessage.NULL_FRAME;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMessageGathererTest {
+
+    private static final int MIN_WRAP_SIZE = 64;
+
+    @Test
+    public void testGather_sameBytesAsWriter() {
+        ClientMessage message = createMessage();
+
+        assertArrayEquals(write(message), concat(ClientMessageGatherer.gather(message, MIN_WRAP_SIZE)));
+    }
+
+    @Test
+    public void testGather_largeContentIsWrapped() {
+        byte[] large = content(MIN_WRAP_SIZE);
+        ClientMessage message = ClientMessage.createForEncode();
+        message.add(new ClientMessage.Frame(content(10), DEFAULT_FLAGS));
+        message.add(new ClientMessage.Frame(large, DEFAULT_FLAGS));
+
+        ByteBuffer[] buffers = ClientMessageGatherer.gather(message, MIN_WRAP_SIZE);
+
+        // staged headers + small content, the wrapped content and the final header are not needed
+        assertEquals(2, buffers.length);
+        assertSame(large, buffers[1].array());
+        assertEquals(large.length, buffers[1].remaining());
+        assertArrayEquals(write(message), concat(buffers));
+    }
+
+    @Test
+    public void testGather_smallContentIsStaged() {
+        ClientMessage message = ClientMessage.createForEncode();
+        message.add(new ClientMessage.Frame(content(10), DEFAULT_FLAGS));
+        message.add(BEGIN_FRAME.copy());
+        message.add(new ClientMessage.Frame(content(MIN_WRAP_SIZE - 1), DEFAULT_FLAGS));
+        message.add(END_FRAME.copy());
+
+        ByteBuffer[] buffers = ClientMessageGatherer.gather(message, MIN_WRAP_SIZE);
+
+        assertEquals(1, buffers.length);
+        assertArrayEquals(write(message), concat(buffers));
+    }
+
+    @Test
+    public void testGather_roundTrip() {
+        ClientMessage message = createMessage();
+        ByteBuffer src = ByteBuffer.wrap(concat(ClientMessageGatherer.gather(message, MIN_WRAP_SIZE)));
+
+        ClientMessageReader reader = new ClientMessageReader(-1);
+        assertTrue(reader.readFrom(src, true));
+
+        ClientMessage.ForwardFrameIterator expected = message.frameIterator();
+        ClientMessage.ForwardFrameIterator actual = reader.getClientMessage().frameIterator();
+        while (expected.hasNext()) {
+            assertArrayEquals(expected.next().content, actual.next().content);
+        }
+    }
+
+    @Test
+    public void testRead_emptyFramesShareContent() {
+        ClientMessage message = createMessage();
+        ByteBuffer src = ByteBuffer.wrap(write(message));
+
+        ClientMessageReader reader = new ClientMessageReader(-1);
+        assertTrue(reader.readFrom(src, true));
+
+        ClientMessage.ForwardFrameIterator iterator = reader.getClientMessage().frameIterator();
+        byte[] empty = null;
+        while (iterator.hasNext()) {
+            byte[] content = iterator.next().content;
+            if (content.length == 0) {
+                if (empty != null) {
+                    assertSame(empty, content);
+                }
+                empty = content;
+            }
+        }
+    }
+
+    private static ClientMessage createMessage() {
+        ClientMessage message = ClientMessage.createForEncode();
+        message.add(new ClientMessage.Frame(content(22), DEFAULT_FLAGS));
+        message.add(BEGIN_FRAME.copy());
+        message.add(new ClientMessage.Frame(content(1000), DEFAULT_FLAGS));
+        message.add(new ClientMessage.Frame(content(5), DEFAULT_FLAGS));
+        message.add(new ClientMessage.Frame(content(MIN_WRAP_SIZE), DEFAULT_FLAGS));
+        message.add(NULL_FRAME.copy());
+        message.add(END_FRAME.copy());
+        return message;
+    }
+
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i + length);
+        }
+        return content;
+    }
+
+    private static byte[] write(ClientMessage message) {
+        ByteBuffer dst = ByteBuffer.allocate(message.getFrameLength());
+        assertTrue(new ClientMessageWriter().writeTo(dst, message));
+        return dst.array();
+    }
+
+    private static byte[] concat(ByteBuffer[] buffers) {
+        int length = 0;
+        for (ByteBuffer buffer : buffers) {
+            length += buffer.remaining();
+        }
+        ByteBuffer result = ByteBuffer.allocate(length);
+        for (ByteBuffer buffer : buffers) {
+            result.put(buffer.duplicate());
+        }
+        return result.array();
+    }
+}
@@ -52,8 +52,11 @@ import static com.hazelcast.client.impl.protocol.ClientMessage.IS_FINAL_FLAG;
 import static com.hazelcast.client.impl.protocol.ClientMessage.UNFRAGMENTED_MESSAGE;
 import static com.hazelcast.client.impl.protocol.util.ClientMessageSplitter.getFragments;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -93,6 +96,68 @@ public class ClientMessageEncoderDecoderTest extends HazelcastTestSupport {
         assertEquals(message.getPartitionId(), resultingMessage.get().getPartitionId());
     }
 
+    @Test
+    public void testPut_whenOnlyTotalLengthAboveGatherThreshold_thenNotGathered() {
+        ClientMessage message =
+                MapPutCodec.encodeRequest("map", new HeapData(new byte[400]), new HeapData(new byte[400]), 5, 10);
+        AtomicReference<ClientMessage> reference = new AtomicReference<>(message);
+
+        ClientMessageEncoder encoder = new ClientMessageEncoder();
+        encoder.src(() -> reference.getAndSet(null));
+        encoder.gatherThreshold(500);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1000);
+        buffer.flip();
+        encoder.dst(buffer);
+
+        assertEquals(CLEAN, encoder.onWrite());
+        assertNull(encoder.gatheredBuffers());
+        assertEquals(message.getFrameLength(), buffer.remaining());
+    }
+
+    @Test
+    public void testPut_gathered() {
+        ClientMessage message =
+                MapPutCodec.encodeRequest("map", new HeapData(new byte[100]), new HeapData(new byte[1000]), 5, 10);
+        AtomicReference<ClientMessage> reference = new AtomicReference<>(message);
+
+        ClientMessageEncoder encoder = new ClientMessageEncoder();
+        encoder.src(() -> reference.getAndSet(null));
+        encoder.gatherThreshold(500);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1000);
+        buffer.flip();
+        encoder.dst(buffer);
+
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(DIRTY, result);
+        ByteBuffer[] gathered = encoder.gatheredBuffers();
+        assertSame(buffer, gathered[0]);
+        assertEquals(0, buffer.remaining());
+
+        // no new messages are encoded while the gathered buffers are pending
+        assertEquals(DIRTY, encoder.onWrite());
+
+        ByteBuffer written = ByteBuffer.allocate(message.getFrameLength());
+        for (ByteBuffer b : gathered) {
+            written.put(b);
+        }
+        assertNull(encoder.gatheredBuffers());
+
+        AtomicReference<ClientMessage> resultingMessage = new AtomicReference<>();
+        ClientMessageDecoder decoder = new ClientMessageDecoder(null, resultingMessage::set, null);
+        decoder.setNormalPacketsRead(SwCounter.newSwCounter());
+
+        decoder.src(written);
+        decoder.onRead();
+
+        MapPutCodec.RequestParameters parameters = MapPutCodec.decodeRequest(resultingMessage.get());
+        assertEquals(message.getFrameLength(), resultingMessage.get().getFrameLength());
+        assertEquals(1000, parameters.value.totalSize());
+        assertEquals(5, parameters.threadId);
+    }
+
     @Test
     public void testPut() {
         ClientMessage message =
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageWriter;
+import com.hazelcast.client.impl.protocol.codec.MapSizeCodec;
+import com.hazelcast.client.impl.protocol.util.AffinityClientMessageDecoder;
+import com.hazelcast.internal.networking.ChannelErrorHandler;
+import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
+import com.hazelcast.internal.nio.Connection;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.nio.PacketIOHelper;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.internal.server.tcp.AffinityPacketDecoder;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NioInboundPipelineAffinityTest {
+
+    private static final int AFFINITY_COUNT = 3;
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final List<Packet> dispatched = new ArrayList<>();
+    private final List<SocketChannel> socketChannels = new ArrayList<>();
+    private NioInboundPipeline pipeline;
+    private AffinityPacketDecoder decoder;
+
+    @Before
+    public void setup() throws IOException {
+        pipeline = newPipeline();
+        decoder = new AffinityPacketDecoder(mock(ServerConnection.class), dispatched::add,
+                NioInboundPipelineAffinityTest::partitionThreadIndex);
+        pipeline.addLast(decoder);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (SocketChannel socketChannel : socketChannels) {
+            socketChannel.close();
+        }
+    }
+
+    @Test
+    public void whenPartitionPackets_thenAffinityRecorded() throws Exception {
+        write(new Packet(serializationService.toBytes("a"), 0));
+        write(new Packet(serializationService.toBytes("b"), 1));
+        write(new Packet(serializationService.toBytes("c"), 4));
+        write(new Packet(serializationService.toBytes("d"), 7));
+
+        decoder.onRead();
+
+        assertEquals(4, dispatched.size());
+        assertEquals(1, pipeline.affinityLoad(0));
+        assertEquals(3, pipeline.affinityLoad(1));
+        assertEquals(0, pipeline.affinityLoad(2));
+    }
+
+    @Test
+    public void whenNonPartitionPacket_thenNoAffinityRecorded() throws Exception {
+        write(new Packet(serializationService.toBytes("a")));
+
+        decoder.onRead();
+
+        assertEquals(1, dispatched.size());
+        for (int k = 0; k < AFFINITY_COUNT; k++) {
+            assertEquals(0, pipeline.affinityLoad(k));
+        }
+    }
+
+    @Test
+    public void whenPartitionClientMessages_thenAffinityRecorded() throws Exception {
+        NioInboundPipeline clientPipeline = newPipeline();
+        List<ClientMessage> messages = new ArrayList<>();
+        AffinityClientMessageDecoder clientDecoder = new AffinityClientMessageDecoder(mock(Connection.class),
+                messages::add, null, NioInboundPipelineAffinityTest::partitionThreadIndex);
+        clientPipeline.addLast(clientDecoder);
+
+        ByteBuffer src = (ByteBuffer) clientDecoder.src();
+        ClientMessageWriter writer = new ClientMessageWriter();
+        writer.writeTo(src, MapSizeCodec.encodeRequest("map").setPartitionId(2));
+        writer = new ClientMessageWriter();
+        writer.writeTo(src, MapSizeCodec.encodeRequest("map").setPartitionId(5));
+        writer = new ClientMessageWriter();
+        writer.writeTo(src, MapSizeCodec.encodeRequest("map"));
+
+        clientDecoder.onRead();
+
+        assertEquals(3, messages.size());
+        assertEquals(0, clientPipeline.affinityLoad(0));
+        assertEquals(0, clientPipeline.affinityLoad(1));
+        assertEquals(2, clientPipeline.affinityLoad(2));
+    }
+
+    private NioInboundPipeline newPipeline() throws IOException {
+        SocketChannel socketChannel = SocketChannel.open();
+        socketChannels.add(socketChannel);
+        NioChannel channel = new NioChannel(socketChannel, false, null, null);
+        NioInboundPipeline pipeline = new NioInboundPipeline(channel, mock(NioThread.class), mock(ChannelErrorHandler.class),
+                mock(ILogger.class), mock(IOBalancer.class), AFFINITY_COUNT);
+        channel.init(pipeline, null);
+        return pipeline;
+    }
+
+    // the partition thread of a partition is found the same way as by the operation executor
+    private static int partitionThreadIndex(int partitionId) {
+        return partitionId % AFFINITY_COUNT;
+    }
+
+    private void write(Packet packet) {
+        new PacketIOHelper().writeTo(packet, (ByteBuffer) decoder.src());
+    }
+}
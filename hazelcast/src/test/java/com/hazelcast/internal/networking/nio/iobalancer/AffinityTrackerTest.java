@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio.iobalancer;
+
+import com.hazelcast.internal.networking.nio.MigratablePipeline;
+import com.hazelcast.internal.networking.nio.NioThread;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AffinityTrackerTest {
+
+    private NioThread owner1;
+    private NioThread owner2;
+
+    private AffinityTracker affinityTracker;
+
+    @Before
+    public void setUp() {
+        owner1 = mock(NioThread.class);
+        owner2 = mock(NioThread.class);
+
+        ILogger logger = mock(ILogger.class);
+        when(logger.isFinestEnabled()).thenReturn(true);
+
+        affinityTracker = new AffinityTracker(new NioThread[]{owner1, owner2}, logger);
+    }
+
+    @Test
+    public void testRebalance_migratesToDominantAffinity() {
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        when(pipeline.owner()).thenReturn(owner1);
+        when(pipeline.affinityLoad(0)).thenReturn(100L);
+        when(pipeline.affinityLoad(1)).thenReturn(900L);
+        affinityTracker.addPipeline(pipeline);
+
+        assertEquals(1, affinityTracker.rebalance());
+        verify(pipeline).requestMigration(owner2);
+    }
+
+    @Test
+    public void testRebalance_onlyConsidersLoadSinceLastCheck() {
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        when(pipeline.owner()).thenReturn(owner2);
+        when(pipeline.affinityLoad(0))
+                .thenReturn(0L)
+                .thenReturn(100L);
+        when(pipeline.affinityLoad(1))
+                .thenReturn(1000L)
+                .thenReturn(1000L);
+        affinityTracker.addPipeline(pipeline);
+
+        assertEquals(0, affinityTracker.rebalance());
+        assertEquals(1, affinityTracker.rebalance());
+        verify(pipeline).requestMigration(owner1);
+    }
+
+    @Test
+    public void testRebalance_noDominantAffinity() {
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        when(pipeline.owner()).thenReturn(owner1);
+        when(pipeline.affinityLoad(0)).thenReturn(500L);
+        when(pipeline.affinityLoad(1)).thenReturn(500L);
+        affinityTracker.addPipeline(pipeline);
+
+        assertEquals(0, affinityTracker.rebalance());
+        verify(pipeline, never()).requestMigration(owner2);
+    }
+
+    @Test
+    public void testRebalance_notEnoughGainOverOwner() {
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        when(pipeline.owner()).thenReturn(owner1);
+        when(pipeline.affinityLoad(0)).thenReturn(1000L);
+        when(pipeline.affinityLoad(1)).thenReturn(1200L);
+        affinityTracker.addPipeline(pipeline);
+
+        assertEquals(0, affinityTracker.rebalance());
+        verify(pipeline, never()).requestMigration(owner2);
+    }
+
+    @Test
+    public void testRebalance_tooFewFrames() {
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        when(pipeline.owner()).thenReturn(owner1);
+        when(pipeline.affinityLoad(1)).thenReturn(AffinityTracker.MIN_AFFINITY_LOAD - 1);
+        affinityTracker.addPipeline(pipeline);
+
+        assertEquals(0, affinityTracker.rebalance());
+        verify(pipeline, never()).requestMigration(owner2);
+    }
+
+    @Test
+    public void testRebalance_whenAffinitySplitAmongManyThreads_thenMigratesToLargestShare() {
+        NioThread[] owners = new NioThread[8];
+        for (int k = 0; k < owners.length; k++) {
+            owners[k] = mock(NioThread.class);
+        }
+        affinityTracker = new AffinityTracker(owners, mock(ILogger.class));
+
+        // the largest share is well below half of the frames
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        when(pipeline.owner()).thenReturn(owners[0]);
+        for (int k = 0; k < owners.length; k++) {
+            when(pipeline.affinityLoad(k)).thenReturn(k == 3 ? 300L : 100L);
+        }
+        affinityTracker.addPipeline(pipeline);
+
+        assertEquals(1, affinityTracker.rebalance());
+        verify(pipeline).requestMigration(owners[3]);
+    }
+
+    @Test
+    public void testRebalance_countsFrames() {
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        when(pipeline.owner()).thenReturn(owner1);
+        when(pipeline.affinityLoad(0))
+                .thenReturn(100L)
+                .thenReturn(150L);
+        when(pipeline.affinityLoad(1))
+                .thenReturn(200L)
+                .thenReturn(210L);
+        affinityTracker.addPipeline(pipeline);
+
+        affinityTracker.rebalance();
+        affinityTracker.rebalance();
+
+        assertEquals(360, affinityTracker.frameCount());
+        assertEquals(150, affinityTracker.localFrameCount());
+    }
+
+    @Test
+    public void testRebalance_pipelineBeingMigrated() {
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        when(pipeline.owner()).thenReturn(null);
+        when(pipeline.affinityLoad(1)).thenReturn(100L);
+        affinityTracker.addPipeline(pipeline);
+
+        assertEquals(0, affinityTracker.rebalance());
+    }
+
+    @Test
+    public void testRemovePipeline() {
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        affinityTracker.addPipeline(pipeline);
+        affinityTracker.removePipeline(pipeline);
+
+        assertTrue(affinityTracker.getLastAffinityLoad().isEmpty());
+    }
+}
@@ -19,6 +19,7 @@ package com.hazelcast.internal.server;
 import com.hazelcast.auditlog.AuditlogService;
 import com.hazelcast.auditlog.impl.NoOpAuditlogService;
 import com.hazelcast.client.impl.ClientEngine;
+import com.hazelcast.client.impl.protocol.util.ClientMessageDecoder;
 import com.hazelcast.cluster.Address;
 import com.hazelcast.config.MemcacheProtocolConfig;
 import com.hazelcast.config.RestApiConfig;
@@ -377,6 +378,11 @@ public class MockServerContext implements ServerContext {
         return new OutboundHandler[]{new PacketEncoder()};
     }
 
+    @Override
+    public ClientMessageDecoder createClientMessageDecoder(ServerConnection connection) {
+        return new ClientMessageDecoder(connection, getClientEngine(), properties());
+    }
+
     @Override
     public RestApiConfig getRestApiConfig() {
         return new RestApiConfig();
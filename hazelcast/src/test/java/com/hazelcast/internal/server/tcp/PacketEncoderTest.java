@@ -38,6 +38,8 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -90,6 +92,55 @@ public class PacketEncoderTest extends HazelcastTestSupport {
         assertEquals(DIRTY, result);
     }
 
+    @Test
+    public void whenPayloadAboveGatherThreshold() {
+        final Packet packet = new Packet(serializationService.toBytes(new byte[2000]));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder.dst(dst);
+        encoder.src(src);
+        encoder.gatherThreshold(1000);
+
+        HandlerStatus result = encoder.onWrite();
+
+        // only the header is written to the dst, the payload is gathered
+        assertEquals(DIRTY, result);
+        ByteBuffer[] gathered = encoder.gatheredBuffers();
+        assertSame(dst, gathered[0]);
+        assertSame(packet.toByteArray(), gathered[1].array());
+
+        ByteBuffer written = ByteBuffer.allocate(dst.remaining() + gathered[1].remaining());
+        written.put(gathered[0]).put(gathered[1]).flip();
+        assertNull(encoder.gatheredBuffers());
+
+        Packet resultPacket = new PacketIOHelper().readFrom(written);
+        assertEquals(packet, resultPacket);
+    }
+
+    @Test
+    public void whenPayloadBelowGatherThreshold() {
+        final Packet packet = new Packet(serializationService.toBytes("foobar"));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder.dst(dst);
+        encoder.src(src);
+        encoder.gatherThreshold(1000);
+
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(CLEAN, result);
+        assertNull(encoder.gatheredBuffers());
+        assertEquals(packet, new PacketIOHelper().readFrom(dst));
+    }
+
     static class PacketSupplier implements Supplier<Packet> {
         Queue<Packet> queue = new LinkedBlockingQueue<Packet>();
 
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.impl.recordstore.ColumnarStorageImpl;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_COLUMNAR_RECORD_STORAGE_ENABLED;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ColumnarRecordStorageTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Override
+    protected Config getConfig() {
+        return smallInstanceConfig()
+                .setProperty(MAP_COLUMNAR_RECORD_STORAGE_ENABLED.getName(), "true");
+    }
+
+    @Test
+    public void testBasicOperations() {
+        HazelcastInstance member = createHazelcastInstance(getConfig());
+        IMap<Integer, String> map = member.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+        map.put(0, "newValue");
+        map.remove(1);
+        map.executeOnKey(2, entry -> entry.setValue("processed"));
+
+        assertEquals(ENTRY_COUNT - 1, map.size());
+        assertEquals("newValue", map.get(0));
+        assertFalse(map.containsKey(1));
+        assertEquals("processed", map.get(2));
+        assertTrue(map.containsValue("value-3"));
+        assertEquals(ENTRY_COUNT - 1, map.keySet().size());
+        assertEquals(ENTRY_COUNT - 1, map.entrySet().size());
+        assertTrue(map.getLocalMapStats().getOwnedEntryMemoryCost() > 0);
+
+        assertStorageIsColumnar(member, map.getName());
+    }
+
+    @Test
+    public void testQuery() {
+        HazelcastInstance member = createHazelcastInstance(getConfig());
+        IMap<Integer, Integer> map = member.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(10, map.values(Predicates.lessThan("this", 10)).size());
+
+        map.addIndex(IndexType.SORTED, "this");
+        assertEquals(10, map.values(Predicates.lessThan("this", 10)).size());
+    }
+
+    @Test
+    public void testIteration() {
+        HazelcastInstance member = createHazelcastInstance(getConfig());
+        IMap<Integer, String> map = member.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        MapProxyImpl<Integer, String> proxy = (MapProxyImpl<Integer, String>) map;
+        int partitionCount = member.getPartitionService().getPartitions().size();
+        int count = 0;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            Iterator<Map.Entry<Integer, String>> iterator = proxy.iterator(10, partitionId, true);
+            while (iterator.hasNext()) {
+                Map.Entry<Integer, String> entry = iterator.next();
+                assertEquals("value-" + entry.getKey(), entry.getValue());
+                count++;
+            }
+        }
+        assertEquals(ENTRY_COUNT, count);
+    }
+
+    @Test
+    public void testExpiration() {
+        HazelcastInstance member = createHazelcastInstance(getConfig());
+        IMap<Integer, String> map = member.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "value-" + i, 1, TimeUnit.SECONDS);
+        }
+        map.put(100, "value-100");
+
+        assertSizeEventually(1, map);
+        assertEquals("value-100", map.get(100));
+    }
+
+    @Test
+    public void testMigration() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance member1 = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, String> map = member1.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        HazelcastInstance member2 = factory.newHazelcastInstance(getConfig());
+        waitAllForSafeState(member1, member2);
+        member1.shutdown();
+
+        IMap<Integer, String> migratedMap = member2.getMap(map.getName());
+        assertEquals(ENTRY_COUNT, migratedMap.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, migratedMap.get(i));
+        }
+    }
+
+    private static void assertStorageIsColumnar(HazelcastInstance member, String mapName) {
+        MapService mapService = getNodeEngineImpl(member).getService(MapService.SERVICE_NAME);
+        RecordStore recordStore = mapService.getMapServiceContext().getRecordStore(0, mapName);
+        assertTrue(recordStore.getStorage() instanceof ColumnarStorageImpl);
+    }
+}
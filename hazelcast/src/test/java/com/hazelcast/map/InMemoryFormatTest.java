@@ -27,6 +27,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.partition.PartitionService;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -216,6 +217,55 @@ public class InMemoryFormatTest extends HazelcastTestSupport {
         member.getMap("default");
     }
 
+    @Test
+    public void testNativeIMap_whenNativeMemoryEnabled() {
+        Config config = getConfig();
+        config.getNativeMemoryConfig().setEnabled(true);
+        config.getMapConfig("default").setInMemoryFormat(InMemoryFormat.NATIVE);
+
+        HazelcastInstance member = createHazelcastInstance(config);
+        IMap<Integer, String> map = member.getMap("default");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "value-" + i);
+        }
+        map.put(0, "newValue");
+        map.remove(1);
+
+        assertEquals(99, map.size());
+        assertEquals("newValue", map.get(0));
+        assertEquals("value-2", map.get(2));
+        assertFalse(map.containsKey(1));
+        assertEquals(99, map.keySet().size());
+        assertEquals(1, map.values(Predicates.equal("this", "value-50")).size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testNativeIMap_whenMigrated() {
+        Config config = getConfig();
+        config.getNativeMemoryConfig().setEnabled(true);
+        config.getMapConfig("default").setInMemoryFormat(InMemoryFormat.NATIVE);
+
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance member1 = factory.newHazelcastInstance(config);
+        IMap<Integer, String> map = member1.getMap("default");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        HazelcastInstance member2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(member1, member2);
+        member1.shutdown();
+
+        IMap<Integer, String> migratedMap = member2.getMap("default");
+        assertEquals(1000, migratedMap.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value-" + i, migratedMap.get(i));
+        }
+    }
+
     @Test(expected = InvalidConfigurationException.class)
     public void testNativeNearCache_throwsException() throws Exception {
         NearCacheConfig nearCacheConfig = new NearCacheConfig();
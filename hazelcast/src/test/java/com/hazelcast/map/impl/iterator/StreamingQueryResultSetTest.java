@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.hazelcast.map.impl.query.QueryResultSizeLimiter.MINIMUM_MAX_RESULT_LIMIT;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_RESULT_SIZE_LIMIT;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_STREAMING_PAGE_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class StreamingQueryResultSetTest extends HazelcastTestSupport {
+
+    private static final int PAGE_SIZE = 7;
+
+    @Test
+    public void testSameResultsAsRegularQueries() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance regular = factory.newHazelcastInstance(smallInstanceConfig());
+        HazelcastInstance streaming = factory.newHazelcastInstance(streamingConfig());
+        IMap<Integer, Integer> regularMap = regular.getMap("map");
+        IMap<Integer, Integer> streamingMap = streaming.getMap("map");
+
+        Map<Integer, Integer> entries = new HashMap<>();
+        for (int i = 0; i < 1000; ++i) {
+            entries.put(i, i % 100);
+        }
+        regularMap.putAll(entries);
+
+        Predicate<Integer, Integer> predicate = Predicates.lessThan("this", 30);
+        assertTrue(streamingMap.entrySet(predicate) instanceof StreamingQueryResultSet);
+        assertEquals(regularMap.entrySet(predicate), new HashSet<>(streamingMap.entrySet(predicate)));
+        assertEquals(regularMap.keySet(predicate), new HashSet<>(streamingMap.keySet(predicate)));
+        assertEquals(sorted(regularMap.values(predicate)), sorted(streamingMap.values(predicate)));
+        assertEquals(300, streamingMap.entrySet(predicate).size());
+        assertEquals(1000, streamingMap.values().size());
+
+        Set<Integer> empty = streamingMap.keySet(Predicates.greaterThan("this", 100));
+        assertTrue(empty.isEmpty());
+        Iterator<Integer> iterator = empty.iterator();
+        assertFalse(iterator.hasNext());
+        try {
+            iterator.next();
+            fail();
+        } catch (NoSuchElementException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testPagingPredicate_notStreamed() {
+        IMap<Integer, Integer> map = createHazelcastInstance(streamingConfig()).getMap("map");
+        for (int i = 0; i < 100; ++i) {
+            map.put(i, i);
+        }
+
+        Collection<Integer> values = map.values(Predicates.pagingPredicate(10));
+        assertFalse(values instanceof StreamingQueryResultSet);
+        assertEquals(10, values.size());
+    }
+
+    @Test
+    public void testResultSizeLimit_notApplied() {
+        Config config = streamingConfig().setProperty(QUERY_RESULT_SIZE_LIMIT.getName(), "" + MINIMUM_MAX_RESULT_LIMIT);
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap("map");
+        int count = MINIMUM_MAX_RESULT_LIMIT * 3 / 2;
+        Map<Integer, Integer> entries = new HashMap<>();
+        for (int i = 0; i < count; ++i) {
+            entries.put(i, i);
+        }
+        map.putAll(entries);
+
+        assertEquals(count, map.values(Predicates.alwaysTrue()).size());
+        assertEquals(count, map.keySet(Predicates.greaterEqual("this", 0)).size());
+        try {
+            map.localKeySet(Predicates.alwaysTrue());
+            fail();
+        } catch (QueryResultSizeExceededException expected) {
+            // local queries are never streamed
+        }
+    }
+
+    private static Config streamingConfig() {
+        return smallInstanceConfig().setProperty(QUERY_STREAMING_PAGE_SIZE.getName(), "" + PAGE_SIZE);
+    }
+
+    private static List<Integer> sorted(Collection<Integer> values) {
+        List<Integer> list = new ArrayList<>(values);
+        list.sort(null);
+        return list;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.aggregation.impl.AbstractAggregator;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AggregationResultTest {
+
+    @Test
+    public void retainsEntries_whenAggregatorOptedIn() {
+        assertFalse(new AggregationResult(Aggregators.count(), null).retainsEntries());
+        assertFalse(new AggregationResult(Aggregators.longSum("value"), null).retainsEntries());
+        assertFalse(new AggregationResult(Aggregators.distinct(), null).retainsEntries());
+    }
+
+    @Test
+    public void retainsEntries_whenAggregatorKeepsEntries() {
+        assertTrue(new AggregationResult(Aggregators.maxBy("value"), null).retainsEntries());
+        assertTrue(new AggregationResult(Aggregators.minBy("value"), null).retainsEntries());
+    }
+
+    @Test
+    public void retainsEntries_whenAggregatorDidNotOptIn() {
+        assertTrue(new AggregationResult(new CustomAbstractAggregator(), null).retainsEntries());
+        assertTrue(new AggregationResult(new CustomAggregator(), null).retainsEntries());
+    }
+
+    private static class CustomAbstractAggregator extends AbstractAggregator<Object, Object, Object> {
+
+        @Override
+        protected void accumulateExtracted(Object entry, Object value) {
+        }
+
+        @Override
+        public void combine(Aggregator aggregator) {
+        }
+
+        @Override
+        public Object aggregate() {
+            return null;
+        }
+    }
+
+    private static class CustomAggregator implements Aggregator<Object, Object> {
+
+        @Override
+        public void accumulate(Object input) {
+        }
+
+        @Override
+        public void combine(Aggregator aggregator) {
+        }
+
+        @Override
+        public Object aggregate() {
+            return null;
+        }
+    }
+}
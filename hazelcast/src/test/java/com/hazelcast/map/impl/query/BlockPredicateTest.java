@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.BoundedRangePredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BlockPredicateTest {
+
+    private static final String[] ATTRIBUTES = {"integer", "mixed", "string"};
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final Extractors extractors = Extractors.newBuilder(ss).build();
+    private final Random random = new Random(1234);
+
+    @Test
+    public void testIntegralValues() {
+        verify(row -> new Value(random.nextInt(20) - 10, row % 7, "s" + row % 13));
+    }
+
+    @Test
+    public void testMixedValues() {
+        Object[] mixed = {null, 3, 3L, (short) 3, 3.5, Long.MAX_VALUE, Integer.MIN_VALUE};
+        verify(row -> new Value(random.nextInt(20) - 10, mixed[row % mixed.length], row % 5 == 0 ? null : "s" + row % 13));
+    }
+
+    @Test
+    public void testLongValues() {
+        verify(row -> new Value(random.nextInt(20) - 10, Long.MAX_VALUE - random.nextInt(20), "s"));
+    }
+
+    private void verify(RowFactory factory) {
+        EntryBlock block = new EntryBlock();
+        for (int row = 0; row < EntryBlock.CAPACITY; ++row) {
+            Value value = factory.create(row);
+            block.add(ss.toData(row), value).init(ss, ss.toData(row), value, extractors);
+        }
+
+        for (int i = 0; i < 2000; ++i) {
+            Predicate predicate = randomPredicate(3);
+            List<Integer> expected = new ArrayList<>();
+            for (int row = 0; row < block.size(); ++row) {
+                if (predicate.apply(block.entry(row))) {
+                    expected.add(row);
+                }
+            }
+
+            int[] selection = block.selectAll();
+            int size = BlockPredicate.of(predicate).apply(block, selection, block.size());
+            List<Integer> actual = new ArrayList<>();
+            for (int j = 0; j < size; ++j) {
+                actual.add(selection[j]);
+            }
+            assertEquals(predicate.toString(), expected, actual);
+
+            if (i % 100 == 0) {
+                // columns must be correctly repopulated after clearing
+                List<Value> values = new ArrayList<>();
+                for (int row = 0; row < block.size(); ++row) {
+                    values.add((Value) block.value(row));
+                }
+                block.clear();
+                for (int row = 0; row < values.size(); ++row) {
+                    block.add(ss.toData(row), values.get(row)).init(ss, ss.toData(row), values.get(row), extractors);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    private Predicate randomPredicate(int depth) {
+        String attribute = ATTRIBUTES[random.nextInt(ATTRIBUTES.length)];
+        Comparable value = randomValue(attribute);
+        switch (random.nextInt(depth > 0 ? 14 : 10)) {
+            case 0:
+                return Predicates.equal(attribute, value);
+            case 1:
+                return Predicates.notEqual(attribute, value);
+            case 2:
+                return Predicates.lessThan(attribute, value);
+            case 3:
+                return Predicates.greaterEqual(attribute, value);
+            case 4:
+                return Predicates.between(attribute, value, randomValue(attribute));
+            case 5:
+                return new BoundedRangePredicate(attribute, value, random.nextBoolean(), randomValue(attribute),
+                        random.nextBoolean());
+            case 6:
+                return Predicates.in(attribute, value, randomValue(attribute), randomValue(attribute));
+            case 7:
+                return Predicates.like("string", "s1%");
+            case 8:
+                return Predicates.alwaysTrue();
+            case 9:
+                // not a built-in predicate
+                return (Predicate) entry -> entry.getKey().hashCode() % 3 == 0;
+            case 10:
+                return Predicates.not(randomPredicate(depth - 1));
+            case 11:
+                return Predicates.or(randomPredicate(depth - 1), randomPredicate(depth - 1), randomPredicate(depth - 1));
+            default:
+                return Predicates.and(randomPredicate(depth - 1), randomPredicate(depth - 1));
+        }
+    }
+
+    private Comparable randomValue(String attribute) {
+        if ("string".equals(attribute)) {
+            return "s" + random.nextInt(13);
+        }
+        switch (random.nextInt(6)) {
+            case 0:
+                return (long) random.nextInt(20) - 10;
+            case 1:
+                return (short) (random.nextInt(20) - 10);
+            case 2:
+                return random.nextBoolean() ? Long.MAX_VALUE - random.nextInt(20) : (long) Integer.MAX_VALUE + 1;
+            case 3:
+                return random.nextInt(20) - 10.5;
+            default:
+                return random.nextInt(20) - 10;
+        }
+    }
+
+    private interface RowFactory {
+
+        Value create(int row);
+
+    }
+
+    @SuppressWarnings("unused")
+    public static class Value implements Serializable {
+
+        public Integer integer;
+        public Object mixed;
+        public String string;
+
+        Value(Integer integer, Object mixed, String string) {
+            this.integer = integer;
+            this.mixed = mixed;
+            this.string = string;
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CombiningTreeTest {
+
+    private final AtomicInteger combinations = new AtomicInteger();
+    private final CombiningTree<long[]> tree = new CombiningTree<>((result, other) -> {
+        result[0] += other[0];
+        combinations.incrementAndGet();
+    });
+
+    @Test
+    public void testSingleThreaded() {
+        for (int i = 1; i <= 1000; ++i) {
+            tree.add(new long[]{i});
+        }
+        long[] result = new long[1];
+        tree.drainTo(result);
+        assertEquals(500500, result[0]);
+        assertEquals(1000, combinations.get());
+
+        // the tree is reusable after draining
+        tree.add(new long[]{1});
+        result = new long[1];
+        tree.drainTo(result);
+        assertEquals(1, result[0]);
+    }
+
+    @Test
+    public void testMultiThreaded() throws InterruptedException {
+        int threadCount = 8;
+        int partialsPerThread = 10000;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; ++i) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < partialsPerThread; ++j) {
+                    tree.add(new long[]{1});
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long[] result = new long[1];
+        tree.drainTo(result);
+        assertEquals(threadCount * partialsPerThread, result[0]);
+        assertEquals(threadCount * partialsPerThread, combinations.get());
+    }
+
+}
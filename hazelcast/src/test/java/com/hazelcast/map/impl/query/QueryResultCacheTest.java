@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_RESULT_CACHE_MAX_PARTITION_RESULT_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_RESULT_CACHE_SIZE;
+import static com.hazelcast.test.Accessors.getSerializationService;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class QueryResultCacheTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 11;
+
+    private HazelcastInstance instance;
+    private IMap<Integer, Integer> map;
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig()
+                .setProperty("hazelcast.partition.count", String.valueOf(PARTITION_COUNT))
+                .setProperty(QUERY_RESULT_CACHE_SIZE.getName(), "100")
+                .setProperty(QUERY_RESULT_CACHE_MAX_PARTITION_RESULT_SIZE.getName(), "12");
+        instance = createHazelcastInstance(config);
+        map = instance.getMap(randomMapName());
+        for (int i = 0; i < 200; ++i) {
+            map.put(i, i);
+        }
+    }
+
+    @Test
+    public void testRepeatedQueryServedFromCache() {
+        Predicate<Integer, Integer> predicate = Predicates.greaterEqual("this", 190);
+        assertEquals(range(190, 200), new HashSet<>(map.values(predicate)));
+        assertEquals(0, stats().getQueryResultCacheHits());
+        assertEquals(PARTITION_COUNT, stats().getQueryResultCacheMisses());
+
+        assertEquals(range(190, 200), new HashSet<>(map.values(predicate)));
+        assertEquals(range(190, 200), map.keySet(Predicates.greaterEqual("this", 190)));
+        assertEquals(10L, (long) map.aggregate(Aggregators.count(), predicate));
+        assertEquals(3 * PARTITION_COUNT, stats().getQueryResultCacheHits());
+        assertEquals(PARTITION_COUNT, stats().getQueryResultCacheMisses());
+    }
+
+    @Test
+    public void testMutationInvalidatesPartition() {
+        Predicate<Integer, Integer> predicate = Predicates.lessThan("this", 10);
+        map.values(predicate);
+
+        map.put(1000, 5);
+        map.remove(3);
+        List<Integer> values = new ArrayList<>(map.values(predicate));
+        Collections.sort(values);
+        assertEquals(Arrays.asList(0, 1, 2, 4, 5, 5, 6, 7, 8, 9), values);
+        assertTrue(stats().getQueryResultCacheInvalidations() > 0);
+        assertTrue(stats().getQueryResultCacheHits() > 0);
+
+        map.clear();
+        assertTrue(map.values(predicate).isEmpty());
+    }
+
+    @Test
+    public void testConvertedPredicateValues() {
+        // the predicate converts the values to the attribute type in place
+        Predicate<Integer, Integer> predicate = Predicates.equal("this", 5L);
+        assertEquals(1, map.values(predicate).size());
+        assertEquals(1, map.values(predicate).size());
+        assertEquals(1, map.values(Predicates.sql("this = 5")).size());
+        assertEquals(1, map.values(Predicates.sql("this = 5")).size());
+        assertTrue(stats().getQueryResultCacheHits() > 0);
+    }
+
+    @Test
+    public void testLargeResultsNotCached() {
+        map.values(Predicates.alwaysTrue());
+        assertEquals(range(0, 200), new HashSet<>(map.values(Predicates.alwaysTrue())));
+        assertEquals(0, stats().getQueryResultCacheHits());
+    }
+
+    @Test
+    public void testCustomPredicateNotCached() {
+        Predicate<Integer, Integer> predicate = entry -> entry.getValue() < 10;
+        assertEquals(range(0, 10), new HashSet<>(map.values(predicate)));
+        assertEquals(range(0, 10), new HashSet<>(map.values(predicate)));
+        assertEquals(0, stats().getQueryResultCacheHits());
+        assertEquals(0, stats().getQueryResultCacheMisses());
+    }
+
+    @Test
+    public void testExpirableEntriesNotCached() {
+        map.put(500, 5, 1, TimeUnit.HOURS);
+        Predicate<Integer, Integer> predicate = Predicates.equal("this", 5);
+        assertEquals(2, map.values(predicate).size());
+        assertEquals(2, map.values(predicate).size());
+        // the partition having the expirable entry is always scanned
+        assertEquals(PARTITION_COUNT - 1, stats().getQueryResultCacheHits());
+    }
+
+    @Test
+    public void testClearWhileScanning() throws Exception {
+        Predicate<Integer, Integer> predicate = Predicates.lessThan("this", 100);
+        AtomicBoolean stop = new AtomicBoolean();
+        Future<?> mutator = spawn(() -> {
+            Map<Integer, Integer> entries = new HashMap<>();
+            for (int i = 0; i < 100; ++i) {
+                entries.put(i, i);
+            }
+            while (!stop.get()) {
+                map.clear();
+                map.putAll(entries);
+                for (int i = 0; i < 100; i += 2) {
+                    map.remove(i);
+                }
+            }
+        });
+
+        long deadline = System.currentTimeMillis() + SECONDS.toMillis(5);
+        while (System.currentTimeMillis() < deadline) {
+            map.values(predicate);
+        }
+        stop.set(true);
+        mutator.get();
+
+        // a scan which saw the records being removed mustn't have been cached
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 1; i < 100; i += 2) {
+            expected.add(i);
+        }
+        assertEquals(expected, new HashSet<>(map.values(predicate)));
+        assertEquals(expected, new HashSet<>(map.values(predicate)));
+    }
+
+    @Test
+    public void testCachingPredicateSerializedAsWrappedPredicate() {
+        InternalSerializationService serializationService = getSerializationService(instance);
+        QueryResultCache cache = new QueryResultCache(PARTITION_COUNT, 1, 1);
+        Predicate<Integer, Integer> predicate = Predicates.equal("this", 5);
+        Predicate cachingPredicate = cache.prepare(predicate, predicate, serializationService);
+        assertInstanceOf(QueryResultCache.CachingPredicate.class, cachingPredicate);
+
+        Data data = serializationService.toData(cachingPredicate);
+        assertEquals(predicate, serializationService.toObject(data));
+    }
+
+    private LocalMapStatsImpl stats() {
+        return (LocalMapStatsImpl) map.getLocalMapStats();
+    }
+
+    private static Set<Integer> range(int from, int to) {
+        Set<Integer> set = new HashSet<>();
+        for (int i = from; i < to; ++i) {
+            set.add(i);
+        }
+        return set;
+    }
+
+}
@@ -62,8 +62,11 @@ import static com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation.LO
 import static com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation.OBJECT;
 import static com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation.RAW;
 import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
 import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
 import static com.hazelcast.query.Predicates.in;
+import static com.hazelcast.query.Predicates.lessEqual;
 import static com.hazelcast.query.Predicates.notEqual;
 import static com.hazelcast.query.Predicates.or;
 import static java.util.Arrays.asList;
@@ -93,7 +96,7 @@ public class SingleValueBitmapIndexTest extends HazelcastTestSupport {
     private static final Predicate[] actualQueries;
 
     static {
-        actualQueries = new Predicate[8];
+        actualQueries = new Predicate[11];
         actualQueries[0] = equal("age", new Age(0));
         actualQueries[1] = equal("age", null);
         actualQueries[2] = notEqual("age", null);
@@ -102,12 +105,15 @@ public class SingleValueBitmapIndexTest extends HazelcastTestSupport {
         actualQueries[5] = and(equal("age", new Age(50)), notEqual("age", new Age(99)));
         actualQueries[6] = or(equal("age", new Age(50)), equal("age", new Age(99)));
         actualQueries[7] = or(equal("age", new Age(5)), in("age", new Age(10), null));
+        actualQueries[8] = greaterThan("age", new Age(50));
+        actualQueries[9] = lessEqual("age", new Age(5));
+        actualQueries[10] = and(between("age", new Age(10), new Age(20)), notEqual("age", new Age(15)));
     }
 
     private final ExpectedQuery[] expectedQueries;
 
     {
-        expectedQueries = new ExpectedQuery[8];
+        expectedQueries = new ExpectedQuery[11];
         expectedQueries[0] = new ExpectedQuery(value -> {
             // no zero values at all, they are all nulls
             return false;
@@ -120,6 +126,10 @@ public class SingleValueBitmapIndexTest extends HazelcastTestSupport {
         expectedQueries[5] = new ExpectedQuery(value -> value == 50 && value != 99);
         expectedQueries[6] = new ExpectedQuery(value -> value == 50 || value == 99);
         expectedQueries[7] = new ExpectedQuery(value -> value == 5 || value == 10 || value == 0);
+        // zero values are nulls, they are never matched by range predicates
+        expectedQueries[8] = new ExpectedQuery(value -> value > 50);
+        expectedQueries[9] = new ExpectedQuery(value -> value != 0 && value <= 5);
+        expectedQueries[10] = new ExpectedQuery(value -> value >= 10 && value <= 20 && value != 15);
     }
 
     @Rule
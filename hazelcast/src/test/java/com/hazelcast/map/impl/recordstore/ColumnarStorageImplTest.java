@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.ColumnarRecord;
+import com.hazelcast.map.impl.record.ColumnarRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ColumnarStorageImplTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private SerializationService ss;
+    private ColumnarRecordFactory recordFactory;
+    private ColumnarStorageImpl storage;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        recordFactory = new ColumnarRecordFactory(ss);
+        storage = new ColumnarStorageImpl(recordFactory, ss);
+    }
+
+    @Test
+    public void testPutGet() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, "value-" + i);
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT, storage.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, ss.toObject(storage.get(ss.toData(i)).getValue()));
+        }
+        assertNull(storage.get(ss.toData(ENTRY_COUNT)));
+    }
+
+    @Test
+    public void testRecordMetadataIsKeptInColumns() {
+        Record record = put(1, "value");
+        record.setVersion(5);
+        record.setHits(3);
+        record.setTtl(10000);
+        record.setLastStoredTime(System.currentTimeMillis());
+
+        Record view = storage.get(ss.toData(1));
+        assertEquals(5, view.getVersion());
+        assertEquals(3, view.getHits());
+        assertEquals(10000, view.getTtl());
+        assertEquals(0, view.getExpirationTime());
+        assertEquals(record.getLastStoredTime(), view.getLastStoredTime());
+    }
+
+    @Test
+    public void testReplaceRecord_releasesPreviousSlotOnDispose() {
+        put(1, "value");
+        put(1, "newValue");
+        storage.disposeDeferredBlocks();
+
+        assertEquals(1, storage.size());
+        assertEquals("newValue", ss.toObject(storage.get(ss.toData(1)).getValue()));
+
+        // the released slot is reused
+        int capacity = recordFactory.capacity();
+        for (int i = 2; i <= capacity; i++) {
+            put(i, "value");
+        }
+        assertEquals(capacity, recordFactory.capacity());
+    }
+
+    @Test
+    public void testRemoveRecord() {
+        Data key = ss.toData(1);
+        Record record = put(1, "value");
+        storage.disposeDeferredBlocks();
+
+        storage.removeRecord(key, record);
+        assertFalse(storage.containsKey(key));
+        // still readable until the end of the operation
+        assertEquals("value", ss.toObject(record.getValue()));
+
+        storage.disposeDeferredBlocks();
+        assertTrue(storage.isEmpty());
+        assertNull(record.getValue());
+    }
+
+    @Test
+    public void testStaleRecordView_whenSlotReused() {
+        Data key = ss.toData(1);
+        Record record = put(1, "value");
+        storage.removeRecord(key, record);
+        storage.disposeDeferredBlocks();
+
+        put(2, "otherValue");
+        assertNull(record.getValue());
+    }
+
+    @Test
+    public void testNotStoredRecordIsReleasedOnDispose() {
+        recordFactory.newRecord("value");
+        storage.disposeDeferredBlocks();
+
+        Record record = put(1, "value");
+        assertEquals(0, ((ColumnarRecord) record).slot());
+    }
+
+    @Test
+    public void testKeysWithSameHash() {
+        Data key1 = new ConstantHashData(ss.toData(1));
+        Data key2 = new ConstantHashData(ss.toData(2));
+        Data key3 = new ConstantHashData(ss.toData(3));
+        Record record1 = recordFactory.newRecord("value1");
+        Record record2 = recordFactory.newRecord("value2");
+        storage.put(key1, record1);
+        storage.put(key2, record2);
+        storage.put(key3, recordFactory.newRecord("value3"));
+
+        assertEquals(3, storage.size());
+        assertEquals("value2", ss.toObject(storage.get(key2).getValue()));
+
+        storage.removeRecord(key2, record2);
+        storage.disposeDeferredBlocks();
+        assertEquals(2, storage.size());
+        assertNull(storage.get(key2));
+        assertEquals("value1", ss.toObject(storage.get(key1).getValue()));
+        assertEquals("value3", ss.toObject(storage.get(key3).getValue()));
+
+        storage.removeRecord(key1, record1);
+        storage.disposeDeferredBlocks();
+        assertEquals("value3", ss.toObject(storage.get(key3).getValue()));
+    }
+
+    @Test
+    public void testMutationTolerantIterator_whenRemovingDuringIteration() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, "value-" + i);
+        }
+
+        Set<Object> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            assertTrue(seen.add(ss.toObject(entry.getKey())));
+            storage.removeRecord(entry.getKey(), entry.getValue());
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT, seen.size());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void testMutationTolerantIterator_skipsRemovedRecords() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, "value-" + i);
+        }
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            Data key = ss.toData(i);
+            storage.removeRecord(key, storage.get(key));
+        }
+
+        int count = 0;
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            int key = ss.toObject(iterator.next().getKey());
+            assertEquals(1, key % 2);
+            count++;
+        }
+        assertEquals(ENTRY_COUNT / 2, count);
+    }
+
+    @Test
+    public void testFetchKeys_whenGrownDuringIteration() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, "value-" + i);
+        }
+
+        Set<Object> fetched = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        MapKeysWithCursor batch = storage.fetchKeys(pointers, 100);
+        batch.getBatch().forEach(key -> fetched.add(ss.toObject(key)));
+
+        for (int i = ENTRY_COUNT; i < 10 * ENTRY_COUNT; i++) {
+            put(i, "value-" + i);
+        }
+
+        pointers = batch.getIterationPointers();
+        while (pointers[pointers.length - 1].getIndex() >= 0) {
+            batch = storage.fetchKeys(pointers, 100);
+            batch.getBatch().forEach(key -> assertTrue(fetched.add(ss.toObject(key))));
+            pointers = batch.getIterationPointers();
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertTrue("Missing key " + i, fetched.contains(i));
+        }
+    }
+
+    @Test
+    public void testFetchEntries() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, "value-" + i);
+        }
+
+        int count = 0;
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        while (pointers[pointers.length - 1].getIndex() >= 0) {
+            MapEntriesWithCursor batch = storage.fetchEntries(pointers, 100);
+            for (Map.Entry<Data, Data> entry : batch.getBatch()) {
+                assertEquals("value-" + ss.toObject(entry.getKey()), ss.toObject(entry.getValue()));
+                count++;
+            }
+            pointers = batch.getIterationPointers();
+        }
+        assertEquals(ENTRY_COUNT, count);
+    }
+
+    @Test
+    public void testGetRandomSamples() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, "value-" + i);
+        }
+
+        int sampleCount = 0;
+        for (EntryView view : storage.getRandomSamples(15)) {
+            Data key = storage.extractDataKeyFromLazy(view);
+            Record record = storage.extractRecordFromLazy(view);
+            assertEquals(storage.get(key).getValue(), record.getValue());
+            sampleCount++;
+        }
+        assertEquals(15, sampleCount);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetRandomSamples_whenNegativeSampleCount() {
+        storage.getRandomSamples(-1);
+    }
+
+    @Test
+    public void testGetRandomSamples_whenMostEntriesRemoved() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, "value-" + i);
+        }
+        int grownCapacity = storage.tableCapacity();
+        for (int i = 10; i < ENTRY_COUNT; i++) {
+            Data key = ss.toData(i);
+            storage.removeRecord(key, storage.get(key));
+        }
+        storage.disposeDeferredBlocks();
+
+        assertTrue(storage.tableCapacity() < grownCapacity);
+        Set<Data> sampledKeys = new HashSet<>();
+        for (EntryView view : storage.getRandomSamples(15)) {
+            sampledKeys.add(storage.extractDataKeyFromLazy(view));
+        }
+        assertEquals(10, sampledKeys.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("value-" + i, ss.toObject(storage.get(ss.toData(i)).getValue()));
+        }
+    }
+
+    @Test
+    public void testEntryCostEstimate() {
+        long expectedCost = 0;
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Data key = ss.toData(i);
+            Record record = put(i, "value-" + i);
+            expectedCost += storage.getEntryCostEstimator().calculateEntryCost(key, record);
+        }
+        assertEquals(expectedCost, storage.getEntryCostEstimator().getEstimate());
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Data key = ss.toData(i);
+            storage.removeRecord(key, storage.get(key));
+        }
+        storage.disposeDeferredBlocks();
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testClear() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, "value-" + i);
+        }
+
+        storage.clear(false);
+
+        assertEquals(0, storage.size());
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+        assertFalse(storage.mutationTolerantIterator().hasNext());
+        assertNull(storage.get(ss.toData(1)));
+    }
+
+    private Record put(int key, String value) {
+        Record record = recordFactory.newRecord(value);
+        storage.put(ss.toData(key), record);
+        return record;
+    }
+
+    private static final class ConstantHashData extends HeapData {
+
+        ConstantHashData(Data data) {
+            super(data.toByteArray());
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.record.ColumnarRecordFactory;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Compares the heap footprint of a partition filled with small entries
+ * when records are kept by {@link StorageImpl} (one record object and one
+ * hash-map node per entry, costed by {@code BinaryMapEntryCostEstimator})
+ * and by {@link ColumnarStorageImpl} (records in per-partition columns).
+ * <p>
+ * The measured time is the time needed to fill the storage. After each
+ * iteration the estimated and the actually retained heap per entry are
+ * printed; the retained heap is the difference of used heap after a full
+ * GC with and without the filled storage.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4G", "-Xmx4G"})
+@State(Scope.Benchmark)
+public class RecordStorageMemoryCostBenchmark {
+
+    @Param({"HEAP", "COLUMNAR"})
+    private String storageType;
+
+    @Param({"1000000"})
+    private int entryCount;
+
+    private SerializationService ss;
+    private Data[] keys;
+    private Data[] values;
+    private Storage<Data, Record> storage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        keys = new Data[entryCount];
+        values = new Data[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            keys[i] = ss.toData(i);
+            values[i] = ss.toData((long) i);
+        }
+    }
+
+    @Benchmark
+    public Storage<Data, Record> fill() {
+        RecordFactory<?> recordFactory;
+        if ("COLUMNAR".equals(storageType)) {
+            ColumnarRecordFactory columnarRecordFactory = new ColumnarRecordFactory(ss);
+            storage = new ColumnarStorageImpl(columnarRecordFactory, ss);
+            recordFactory = columnarRecordFactory;
+        } else {
+            storage = new StorageImpl<>(BINARY, ss);
+            recordFactory = new DataRecordFactory(new MapConfig(), ss);
+        }
+        for (int i = 0; i < entryCount; i++) {
+            storage.put(keys[i], recordFactory.newRecord(values[i]));
+        }
+        storage.disposeDeferredBlocks();
+        return storage;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printMemoryCost() {
+        long estimated = storage.getEntryCostEstimator().getEstimate();
+        long usedWithStorage = usedHeapAfterGc();
+        storage = null;
+        long usedWithoutStorage = usedHeapAfterGc();
+        // the keys and values are retained by the benchmark state, add them back
+        long payload = 0;
+        for (int i = 0; i < entryCount; i++) {
+            payload += keys[i].getHeapCost() + values[i].getHeapCost();
+        }
+
+        System.out.printf("%n%s: estimated %d bytes/entry, retained %d bytes/entry%n", storageType,
+                estimated / entryCount, (usedWithStorage - usedWithoutStorage + payload) / entryCount);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RecordStorageMemoryCostBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexValueStatisticsTest {
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final IndexValueStatistics statistics = new IndexValueStatistics();
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, statistics.getValueCount());
+        assertEquals(0, statistics.estimateEqual(1), 0);
+        assertEquals(0, statistics.estimateRange(1, true, 10, true), 0);
+    }
+
+    @Test
+    public void testExactSmallIndex() {
+        for (int i = 0; i < 100; ++i) {
+            statistics.onInsert(key(i), i % 10);
+        }
+        assertEquals(100, statistics.getValueCount());
+        assertEquals(10, statistics.getDistinctValueCount());
+        assertEquals(0.1, statistics.estimateEqual(5), 0);
+        assertEquals(0, statistics.estimateEqual(42), 0);
+        assertEquals(0.5, statistics.estimateRange(0, true, 5, false), 0);
+        assertEquals(0.3, statistics.estimateRange(7, true, null, false), 0);
+    }
+
+    @Test
+    public void testLargeIndex() {
+        for (int i = 0; i < 100000; ++i) {
+            statistics.onInsert(key(i), i);
+        }
+        assertEquals(100000, statistics.getValueCount());
+        long distinct = statistics.getDistinctValueCount();
+        assertTrue("distinct " + distinct, Math.abs(distinct - 100000) < 10000);
+        assertTrue(statistics.estimateEqual(5) < 0.001);
+
+        double half = statistics.estimateRange(null, false, 50000, false);
+        assertTrue("half " + half, half > 0.3 && half < 0.7);
+        double empty = statistics.estimateRange(200000, true, null, false);
+        assertTrue("empty " + empty, empty < 0.01);
+    }
+
+    @Test
+    public void testFrequentValue() {
+        for (int i = 0; i < 100000; ++i) {
+            statistics.onInsert(key(i), i % 2 == 0 ? -1 : i);
+        }
+        double frequent = statistics.estimateEqual(-1);
+        assertTrue("frequent " + frequent, frequent > 0.3 && frequent < 0.7);
+        assertTrue(statistics.estimateEqual(1) < 0.001);
+    }
+
+    @Test
+    public void testMultiResultAndRemovals() {
+        MultiResult<Integer> result = new MultiResult<>();
+        result.add(1);
+        result.add(2);
+        statistics.onInsert(key(0), result);
+        statistics.onInsert(key(1), 3);
+        assertEquals(3, statistics.getValueCount());
+
+        statistics.onRemove(key(0), result);
+        assertEquals(1, statistics.getValueCount());
+        assertEquals(0, statistics.estimateEqual(1), 0);
+        assertEquals(1, statistics.estimateEqual(3), 0);
+
+        statistics.clear();
+        assertEquals(0, statistics.getValueCount());
+        assertEquals(0, statistics.estimateEqual(3), 0);
+    }
+
+    @Test
+    public void testRemovalsEvictSampledValues() {
+        for (int i = 0; i < 10000; ++i) {
+            statistics.onInsert(key(i), i);
+        }
+        for (int i = 0; i < 5000; ++i) {
+            statistics.onRemove(key(i), i);
+        }
+        assertEquals(5000, statistics.getValueCount());
+        double removed = statistics.estimateRange(null, false, 5000, false);
+        assertTrue("removed " + removed, removed < 0.01);
+
+        // the evicted values are replaced by the inserted ones
+        for (int i = 0; i < 5000; ++i) {
+            statistics.onInsert(key(i), -i);
+        }
+        double inserted = statistics.estimateRange(null, false, 0, true);
+        assertTrue("inserted " + inserted, inserted > 0.3 && inserted < 0.7);
+    }
+
+    @Test
+    public void testUpdatesEvictSampledValues() {
+        for (int i = 0; i < 100; ++i) {
+            statistics.onInsert(key(i), 1);
+        }
+        for (int i = 0; i < 100; ++i) {
+            statistics.onRemove(key(i), 1);
+            statistics.onInsert(key(i), 2);
+        }
+        assertEquals(100, statistics.getValueCount());
+        assertEquals(0, statistics.estimateEqual(1), 0);
+        assertEquals(1, statistics.estimateEqual(2), 0);
+    }
+
+    @Test
+    public void testUpdatesOfLargeIndexReplaceSampledValues() {
+        for (int i = 0; i < 10000; ++i) {
+            statistics.onInsert(key(i), i);
+        }
+        for (int i = 0; i < 10000; ++i) {
+            statistics.onRemove(key(i), i);
+            statistics.onInsert(key(i), -i);
+        }
+        assertEquals(10000, statistics.getValueCount());
+        double updated = statistics.estimateRange(null, false, 0, true);
+        assertTrue("updated " + updated, updated > 0.99);
+    }
+
+    @Test
+    public void testIncomparableRange() {
+        statistics.onInsert(key(0), "a");
+        assertEquals(Index.UNKNOWN_SELECTIVITY, statistics.estimateRange(1, true, 2, true), 0);
+    }
+
+    private Data key(int i) {
+        return serializationService.toData(i);
+    }
+
+}
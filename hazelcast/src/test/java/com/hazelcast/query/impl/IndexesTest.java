@@ -29,6 +29,7 @@ import com.hazelcast.query.impl.QueryContext.IndexMatchHint;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
 import com.hazelcast.query.impl.predicates.GreaterLessPredicate;
+import com.hazelcast.query.impl.predicates.LikePredicate;
 import com.hazelcast.query.impl.predicates.SqlPredicate;
 import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -54,6 +55,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(Parameterized.class)
 @UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
@@ -114,6 +116,43 @@ public class IndexesTest {
         }
     }
 
+    @Test
+    public void testAndOrderedBySelectivity() {
+        Indexes indexes = Indexes.newBuilder(serializationService, copyBehavior, DEFAULT_IN_MEMORY_FORMAT).build();
+        InternalIndex name = indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.HASH, "name"));
+        InternalIndex age = indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, "age"));
+        for (int i = 0; i < 2000; i++) {
+            Employee employee = new Employee(i + "Name", i % 80, (i % 2 == 0), 100 + (i % 100));
+            indexes.putEntry(new QueryEntry(serializationService, toData(i), employee, newExtractor()), null,
+                    Index.OperationSource.USER);
+        }
+
+        assertEquals(1.0 / 2000, name.estimateSelectivity("7Name"), 0.0001);
+        double ageSelectivity = age.estimateSelectivity(10, false, null, false);
+        assertTrue("age selectivity " + ageSelectivity, ageSelectivity > 0.7);
+
+        // the non-selective age lookup is evaluated as a filter
+        SqlPredicate predicate = new SqlPredicate("age > 10 and name = '7Name'");
+        assertEquals(0, size(indexes.query(predicate, SKIP_PARTITIONS_COUNT_CHECK)));
+        predicate = new SqlPredicate("age > 10 and name = '17Name'");
+        assertEquals(1, size(indexes.query(predicate, SKIP_PARTITIONS_COUNT_CHECK)));
+    }
+
+    @Test
+    public void testNonSelectiveIndexNotUsed() {
+        Indexes indexes = Indexes.newBuilder(serializationService, copyBehavior, DEFAULT_IN_MEMORY_FORMAT)
+                                 .maxIndexSelectivity(0.5).build();
+        indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, "age"));
+        for (int i = 0; i < 100; i++) {
+            Employee employee = new Employee(i + "Name", i, (i % 2 == 0), 100);
+            indexes.putEntry(new QueryEntry(serializationService, toData(i), employee, newExtractor()), null,
+                    Index.OperationSource.USER);
+        }
+
+        assertNull(indexes.query(new SqlPredicate("age >= 10"), SKIP_PARTITIONS_COUNT_CHECK));
+        assertEquals(10, size(indexes.query(new SqlPredicate("age < 10"), SKIP_PARTITIONS_COUNT_CHECK)));
+    }
+
     @Test
     public void testIndex2() {
         Indexes indexes = Indexes.newBuilder(serializationService, copyBehavior, DEFAULT_IN_MEMORY_FORMAT).build();
@@ -231,6 +270,9 @@ public class IndexesTest {
         assertSame(bitmapIndex, matched);
         matched = indexes.matchIndex(bitmapIndex.getName(), GreaterLessPredicate.class, IndexMatchHint.EXACT_NAME,
                 SKIP_PARTITIONS_COUNT_CHECK);
+        assertSame(bitmapIndex, matched);
+        matched = indexes.matchIndex(bitmapIndex.getName(), LikePredicate.class, IndexMatchHint.EXACT_NAME,
+                SKIP_PARTITIONS_COUNT_CHECK);
         assertNull(matched);
     }
 
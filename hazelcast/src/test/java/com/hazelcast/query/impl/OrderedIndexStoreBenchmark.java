@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.hazelcast.internal.monitor.impl.IndexOperationStats.EMPTY;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Compares {@link OrderedIndexStore} and {@link PrimitiveOrderedIndexStore}
+ * filled with unique {@code long} values, like timestamps, on updates and
+ * range queries selecting {@link #RANGE} records.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4G", "-Xmx4G"})
+@State(Scope.Benchmark)
+public class OrderedIndexStoreBenchmark {
+
+    private static final int RANGE = 1000;
+
+    @Param({"GENERIC", "PRIMITIVE"})
+    private String storeType;
+
+    @Param({"1000000"})
+    private int entryCount;
+
+    private OrderedIndexStore store;
+    private QueryableEntry[] entries;
+    private long[] values;
+
+    @Setup
+    public void setUp() {
+        store = "PRIMITIVE".equals(storeType) ? new PrimitiveOrderedIndexStore(IndexCopyBehavior.NEVER)
+                : new OrderedIndexStore(IndexCopyBehavior.NEVER);
+
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        Extractors extractors = Extractors.newBuilder(ss).build();
+        entries = new QueryableEntry[entryCount];
+        values = new long[entryCount];
+        for (int i = 0; i < entryCount; ++i) {
+            values[i] = i * 10L;
+            entries[i] = new QueryEntry(ss, ss.toData(i), values[i], extractors);
+            store.insert(values[i], entries[i], EMPTY);
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        int i = ThreadLocalRandom.current().nextInt(entryCount);
+        long newValue = values[i] + 1 - 2 * (values[i] & 1);
+        store.update(values[i], newValue, entries[i], EMPTY);
+        values[i] = newValue;
+    }
+
+    @Benchmark
+    public void rangeQuery(Blackhole blackhole) {
+        long from = ThreadLocalRandom.current().nextInt(entryCount - RANGE) * 10L;
+        for (QueryableEntry entry : store.getRecords(from, true, from + RANGE * 10L, false)) {
+            blackhole.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void sqlRangeIteration(Blackhole blackhole) {
+        long from = ThreadLocalRandom.current().nextInt(entryCount - RANGE) * 10L;
+        Iterator<QueryableEntry> iterator = store.getSqlRecordIterator(from, true, from + RANGE * 10L, false, false);
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(OrderedIndexStoreBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+import static com.hazelcast.internal.monitor.impl.IndexOperationStats.EMPTY;
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PrimitiveOrderedIndexStoreTest {
+
+    private static final int COUNT = 3000;
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final Extractors extractors = Extractors.newBuilder(ss).build();
+    private final Random random = new Random(1234);
+
+    private final PrimitiveOrderedIndexStore store = new PrimitiveOrderedIndexStore(IndexCopyBehavior.NEVER);
+    private final OrderedIndexStore expected = new OrderedIndexStore(IndexCopyBehavior.NEVER);
+    private final Map<Integer, Object> values = new HashMap<>();
+
+    @Test
+    public void testIntegralValues() {
+        // a narrow range of values produces long runs of equal values
+        verifyRandomOperations(value -> value % 50 == 0 ? null : (int) (value % 500),
+                value -> (int) value, value -> value + 0.5);
+    }
+
+    @Test
+    public void testLongValues() {
+        verifyRandomOperations(value -> value, value -> value, value -> value - 0.5);
+    }
+
+    @Test
+    public void testFloatingPointValues() {
+        double[] specials = {Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, -0.0, 0.0, Double.MIN_VALUE,
+                -Double.MAX_VALUE};
+        verifyRandomOperations(value -> value % 10 == 0 ? specials[(int) Math.abs(value % specials.length)] : value / 3.0,
+                value -> value / 3.0, value -> value);
+    }
+
+    @Test
+    public void testTimestamps() {
+        long now = System.currentTimeMillis();
+        verifyRandomOperations(value -> timestamp(now, value), value -> timestamp(now, value), value -> {
+            Timestamp timestamp = timestamp(now, value);
+            timestamp.setNanos(timestamp.getNanos() + 500);
+            return timestamp;
+        });
+    }
+
+    @Test
+    public void testSwitchToGenericRepresentation() {
+        for (int key = 0; key < COUNT; ++key) {
+            put(key, (long) random.nextInt(1000));
+        }
+        verifyQueries(value -> (long) value, value -> (double) value, 1000);
+
+        // mixed kinds of values switch the store to the generic representation
+        put(COUNT, 500.5);
+        verifyQueries(value -> (long) value, value -> value + 0.5, 1000);
+
+        for (int key = 0; key < COUNT; key += 2) {
+            remove(key);
+        }
+        verifyQueries(value -> (long) value, value -> value + 0.5, 1000);
+
+        store.clear();
+        expected.clear();
+        values.clear();
+        put(0, 1.5);
+        put(1, 2.5);
+        verifyQueries(value -> (double) value, value -> value + 0.5, 3);
+    }
+
+    @Test
+    public void testMultipleValues() {
+        for (int key = 0; key < COUNT; ++key) {
+            MultiResult<Object> result = new MultiResult<>();
+            result.add((long) key);
+            result.add((long) key + 1);
+            result.add((long) key + 2);
+            put(key, result);
+        }
+        verifyQueries(value -> (long) value, value -> (long) value, COUNT);
+    }
+
+    @Test
+    public void testSqlIterator_whenModifiedDuringIteration() {
+        for (int key = 0; key < COUNT; ++key) {
+            put(key, (long) key % 10);
+        }
+
+        for (boolean descending : new boolean[]{false, true}) {
+            Iterator<QueryableEntry> iterator = store.getSqlRecordIterator(descending);
+            Set<Data> seen = new HashSet<>();
+            for (int i = 0; i < PrimitiveOrderedIndexStore.SQL_BATCH_SIZE + 1; ++i) {
+                assertTrue(seen.add(iterator.next().getKeyData()));
+            }
+
+            // move all the seen entries in front of and behind the iteration
+            for (Data key : seen) {
+                int intKey = ss.toObject(key);
+                update(intKey, descending ? 100L : -100L);
+            }
+            while (iterator.hasNext()) {
+                assertTrue(seen.add(iterator.next().getKeyData()));
+            }
+            assertEquals(COUNT, seen.size());
+        }
+    }
+
+    private void verifyRandomOperations(LongFunction<Object> valueFactory, LongFunction<Comparable> boundFactory,
+                                        LongFunction<Comparable> otherBoundFactory) {
+        for (int key = 0; key < COUNT; ++key) {
+            put(key, valueFactory.apply(random.nextInt(COUNT)));
+        }
+        verifyQueries(boundFactory, otherBoundFactory, COUNT);
+
+        for (int key = 0; key < COUNT; key += 2) {
+            update(key, valueFactory.apply(random.nextInt(COUNT)));
+        }
+        for (int key = 1; key < COUNT; key += 4) {
+            remove(key);
+        }
+        verifyQueries(boundFactory, otherBoundFactory, COUNT);
+
+        for (int key = 0; key < COUNT; ++key) {
+            remove(key);
+        }
+        verifyQueries(boundFactory, otherBoundFactory, COUNT);
+    }
+
+    private void verifyQueries(LongFunction<Comparable> boundFactory, LongFunction<Comparable> otherBoundFactory, int domain) {
+        for (int i = 0; i < 50; ++i) {
+            Comparable value = boundFactory.apply(random.nextInt(domain));
+            Comparable other = (random.nextBoolean() ? boundFactory : otherBoundFactory).apply(random.nextInt(domain));
+
+            assertSameEntries(expected.getRecords(value), store.getRecords(value));
+            assertSameEntries(expected.getRecords(new HashSet<>(Arrays.asList(value, other, NULL))),
+                    store.getRecords(new HashSet<>(Arrays.asList(value, other, NULL))));
+            for (Comparison comparison : Comparison.values()) {
+                assertSameEntries(expected.getRecords(comparison, other), store.getRecords(comparison, other));
+                for (boolean descending : new boolean[]{false, true}) {
+                    assertSameEntries(expected.getSqlRecordIterator(comparison, other, descending),
+                            store.getSqlRecordIterator(comparison, other, descending));
+                }
+            }
+
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            assertSameEntries(expected.getRecords(value, fromInclusive, other, toInclusive),
+                    store.getRecords(value, fromInclusive, other, toInclusive));
+            for (boolean descending : new boolean[]{false, true}) {
+                assertSameEntries(expected.getSqlRecordIterator(value, fromInclusive, other, toInclusive, descending),
+                        store.getSqlRecordIterator(value, fromInclusive, other, toInclusive, descending));
+            }
+            assertSameEntries(expected.getSqlRecordIterator(value), store.getSqlRecordIterator(value));
+        }
+
+        for (boolean descending : new boolean[]{false, true}) {
+            assertSameEntries(expected.getSqlRecordIterator(descending), store.getSqlRecordIterator(descending));
+        }
+        assertSameEntries(expected.getRecords(NULL), store.getRecords(NULL));
+    }
+
+    private void put(int key, Object value) {
+        QueryableEntry entry = new QueryEntry(ss, ss.toData(key), value, extractors);
+        store.insert(value, entry, EMPTY);
+        expected.insert(value, entry, EMPTY);
+        values.put(key, value);
+    }
+
+    private void update(int key, Object value) {
+        QueryableEntry entry = new QueryEntry(ss, ss.toData(key), value, extractors);
+        Object oldValue = values.put(key, value);
+        store.update(oldValue, value, entry, EMPTY);
+        expected.update(oldValue, value, entry, EMPTY);
+    }
+
+    private void remove(int key) {
+        if (values.containsKey(key)) {
+            Object value = values.remove(key);
+            Data keyData = ss.toData(key);
+            store.remove(value, keyData, null, EMPTY);
+            expected.remove(value, keyData, null, EMPTY);
+        }
+    }
+
+    private static Timestamp timestamp(long now, long value) {
+        Timestamp timestamp = new Timestamp(now + value / 2);
+        timestamp.setNanos(timestamp.getNanos() + (int) (value % 2));
+        return timestamp;
+    }
+
+    private void assertSameEntries(Set<QueryableEntry> expected, Set<QueryableEntry> actual) {
+        List<Integer> expectedKeys = keys(expected.iterator());
+        List<Integer> actualKeys = keys(actual.iterator());
+        assertEquals(new HashSet<>(expectedKeys).size(), expectedKeys.size());
+        assertEquals(new HashSet<>(actualKeys).size(), actualKeys.size());
+        assertEquals(new HashSet<>(expectedKeys), new HashSet<>(actualKeys));
+        for (QueryableEntry entry : expected) {
+            assertTrue(actual.contains(entry));
+        }
+    }
+
+    private void assertSameEntries(Iterator<QueryableEntry> expected, Iterator<QueryableEntry> actual) {
+        List<Integer> expectedKeys = keys(expected);
+        List<Integer> actualKeys = keys(actual);
+        assertEquals(expectedKeys.size(), actualKeys.size());
+        // the order of entries having equal values is not defined
+        for (int i = 0; i < expectedKeys.size(); ++i) {
+            Object expectedValue = values.get(expectedKeys.get(i));
+            if (!(expectedValue instanceof MultiResult)) {
+                assertEquals(expectedValue, values.get(actualKeys.get(i)));
+            }
+        }
+        Collections.sort(expectedKeys);
+        Collections.sort(actualKeys);
+        assertEquals(expectedKeys, actualKeys);
+    }
+
+    private List<Integer> keys(Iterator<QueryableEntry> iterator) {
+        List<Integer> keys = new ArrayList<>();
+        while (iterator.hasNext()) {
+            keys.add(ss.toObject(iterator.next().getKeyData()));
+        }
+        return keys;
+    }
+
+}
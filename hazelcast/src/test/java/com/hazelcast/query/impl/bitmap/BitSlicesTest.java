@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.BoundedRangePredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.DoublePredicate;
+import java.util.function.LongPredicate;
+
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterEqual;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static com.hazelcast.query.Predicates.lessEqual;
+import static com.hazelcast.query.Predicates.lessThan;
+import static com.hazelcast.query.Predicates.not;
+import static com.hazelcast.query.impl.TypeConverters.IDENTITY_CONVERTER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BitSlicesTest {
+
+    private static final int COUNT = 2000;
+
+    private static final long[] SPECIAL_VALUES = {0, 1, -1, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE + 1,
+            Long.MAX_VALUE - 1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+
+    private final Bitmap<Long> bitmap = new Bitmap<>();
+    private final Map<Long, Long> expected = new TreeMap<>();
+
+    @Test
+    public void testRangeQueries() {
+        Random random = new Random(1234);
+        for (long key = 0; key < COUNT; ++key) {
+            insert(key, randomValue(random));
+        }
+        verifyRandomQueries(random);
+
+        // update half and remove a quarter of the entries
+        for (long key = 0; key < COUNT; key += 2) {
+            update(key, randomValue(random));
+        }
+        for (long key = 1; key < COUNT; key += 4) {
+            remove(key);
+        }
+        verifyRandomQueries(random);
+
+        for (long key = 0; key < COUNT; ++key) {
+            remove(key);
+        }
+        verify(greaterEqual("a", Long.MIN_VALUE), value -> true);
+        assertTrue(expected.isEmpty());
+    }
+
+    @Test
+    public void testRangeQueries_withNonNegativeValuesOnly() {
+        Random random = new Random(4321);
+        for (long key = 0; key < COUNT; ++key) {
+            insert(key, (long) random.nextInt(1000));
+        }
+
+        for (long pivot = -1; pivot <= 1000; ++pivot) {
+            long value = pivot;
+            verify(lessThan("a", value), actual -> actual < value);
+            verify(greaterEqual("a", value), actual -> actual >= value);
+        }
+    }
+
+    @Test
+    public void testRangeQueries_combinedWithOtherPredicates() {
+        for (long key = 0; key < COUNT; ++key) {
+            insert(key, key % 100);
+        }
+
+        verify(and(greaterThan("a", 10L), lessEqual("a", 20L), not(equal("a", 15L))),
+                value -> value > 10 && value <= 20 && value != 15);
+        verify(not(between("a", 10L, 20L)), value -> value < 10 || value > 20);
+        verify(new BoundedRangePredicate("a", 10L, false, 20L, false), value -> value > 10 && value < 20);
+    }
+
+    @Test
+    public void testRangeQueries_whenEntriesHaveMultipleValues() {
+        for (long key = 0; key < COUNT; ++key) {
+            bitmap.insert(Arrays.asList(key, key + COUNT).iterator(), key, key);
+        }
+
+        Iterator<Long> result = bitmap.evaluate(between("a", 10L, 20L), IDENTITY_CONVERTER);
+        for (long key = 10; key <= 20; ++key) {
+            assertEquals(key, (long) result.next());
+        }
+        assertFalse(result.hasNext());
+
+        result = bitmap.evaluate(greaterThan("a", 2 * COUNT - 3L), IDENTITY_CONVERTER);
+        assertEquals(COUNT - 2, (long) result.next());
+        assertEquals(COUNT - 1, (long) result.next());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    public void testRangeQueries_whenValuesAreNotOrdinal() {
+        Bitmap<String> bitmap = new Bitmap<>();
+        for (long key = 0; key < 26; ++key) {
+            String value = String.valueOf((char) ('a' + key));
+            bitmap.insert(Collections.singletonList(value).iterator(), key, value);
+        }
+
+        Iterator<String> result = bitmap.evaluate(between("a", "c", "e"), IDENTITY_CONVERTER);
+        assertEquals("c", result.next());
+        assertEquals("d", result.next());
+        assertEquals("e", result.next());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    public void testTimestamps() {
+        BitSlices bitSlices = new BitSlices();
+        long now = System.currentTimeMillis();
+        Timestamp[] timestamps = new Timestamp[COUNT];
+        for (int i = 0; i < COUNT; ++i) {
+            Timestamp timestamp = new Timestamp(now + i / 2);
+            // two timestamps per millisecond distinguished by nanos
+            timestamp.setNanos(timestamp.getNanos() + i % 2);
+            timestamps[i] = timestamp;
+            assertTrue(bitSlices.insert(timestamp, i));
+        }
+
+        Timestamp pivot = timestamps[COUNT / 2 + 1];
+        assertIterates(bitSlices.range(null, false, pivot, false), 0, COUNT / 2 + 1);
+        assertIterates(bitSlices.range(null, false, pivot, true), 0, COUNT / 2 + 2);
+        assertIterates(bitSlices.range(pivot, false, null, false), COUNT / 2 + 2, COUNT);
+        assertIterates(bitSlices.range(pivot, true, null, false), COUNT / 2 + 1, COUNT);
+    }
+
+    @Test
+    public void testKindMismatch() {
+        BitSlices bitSlices = new BitSlices();
+        assertTrue(bitSlices.insert(1, 0));
+        assertTrue(bitSlices.insert(2L, 1));
+        assertFalse(bitSlices.insert(new Date(), 2));
+        assertFalse(bitSlices.insert("string", 2));
+
+        assertNull(bitSlices.range(null, false, new Date(), true));
+        assertNull(bitSlices.range("string", true, null, false));
+        assertIterates(bitSlices.range(null, false, 2L, false), 0, 1);
+
+        // once all the values are removed, any kind is accepted again
+        bitSlices.remove(1, 0);
+        bitSlices.remove(2L, 1);
+        assertTrue(bitSlices.insert(new Date(), 2));
+        assertEquals(AscendingLongIterator.END, bitSlices.range(null, false, new Date(0), true).getIndex());
+    }
+
+    @Test
+    public void testShortsAndBytes() {
+        BitSlices bitSlices = new BitSlices();
+        for (int i = 0; i < COUNT; ++i) {
+            Object value = i % 2 == 0 ? (Object) (short) (i - COUNT / 2) : (Object) (byte) (i % Byte.MAX_VALUE);
+            assertTrue(bitSlices.insert(value, i));
+        }
+
+        for (int pivot = -COUNT / 2 - 1; pivot <= COUNT / 2; pivot += 7) {
+            int value = pivot;
+            assertEquals(expectedKeys(bitSlices, i -> i % 2 == 0 ? i - COUNT / 2 < value : i % Byte.MAX_VALUE < value),
+                    keys(bitSlices.range(null, false, (short) pivot, false)));
+            assertEquals(expectedKeys(bitSlices, i -> i % 2 == 0 ? i - COUNT / 2 >= value : i % Byte.MAX_VALUE >= value),
+                    keys(bitSlices.range((short) pivot, true, null, false)));
+        }
+    }
+
+    @Test
+    public void testFloatingPointNumbers() {
+        // the integral values go first as they would in a bitmap index, it stores
+        // integral floating-point numbers as integers
+        Object[] values = {0, 3, -3L, (short) 7, (byte) -8, 1L << 53, -(1L << 53), 1.5F, -0.0F, -1.5, 0.1, -0.1,
+                Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, 1e300, -1e-300,
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN};
+        BitSlices bitSlices = new BitSlices();
+        for (int i = 0; i < values.length; ++i) {
+            assertTrue(String.valueOf(values[i]), bitSlices.insert(values[i], i));
+        }
+
+        for (Object pivot : values) {
+            double value = ((Number) pivot).doubleValue();
+            for (boolean inclusive : new boolean[]{false, true}) {
+                String message = pivot + " " + inclusive;
+                assertEquals(message, expectedKeys(values, actual -> {
+                    int order = Double.compare(actual, value);
+                    return order < 0 || inclusive && order == 0;
+                }), keys(bitSlices.range(null, false, pivot, inclusive)));
+                assertEquals(message, expectedKeys(values, actual -> {
+                    int order = Double.compare(actual, value);
+                    return order > 0 || inclusive && order == 0;
+                }), keys(bitSlices.range(pivot, inclusive, null, false)));
+            }
+        }
+
+        // the integral numbers are converted back and forth
+        bitSlices.remove(-3L, 2);
+        bitSlices.remove(1L << 53, 5);
+        assertEquals(expectedKeys(values, actual -> actual >= -4 && actual < 1L << 53 && actual != -3),
+                keys(bitSlices.range(-4, true, (double) (1L << 53), true)));
+    }
+
+    @Test
+    public void testFloatingPointBoundsOfIntegralNumbers() {
+        BitSlices bitSlices = new BitSlices();
+        for (int i = 0; i <= 10; ++i) {
+            assertTrue(bitSlices.insert(i - 5, i));
+        }
+
+        assertIterates(bitSlices.range(-2.5, true, 2.5F, true), 3, 8);
+        assertIterates(bitSlices.range(-2.5, false, 2.5F, false), 3, 8);
+        assertIterates(bitSlices.range(2.0, false, null, false), 8, 11);
+        assertIterates(bitSlices.range(null, false, -2.0F, true), 0, 4);
+        assertNull(bitSlices.range(Double.NaN, true, null, false));
+        assertNull(bitSlices.range(null, false, Double.POSITIVE_INFINITY, false));
+    }
+
+    @Test
+    public void testFloatingPointNumbers_whenIntegralNumbersNotRepresentable() {
+        BitSlices bitSlices = new BitSlices();
+        assertTrue(bitSlices.insert(1, 0));
+        assertTrue(bitSlices.insert(Long.MAX_VALUE, 1));
+        assertFalse(bitSlices.insert(1.5, 2));
+        assertIterates(bitSlices.range(1L, false, null, false), 1, 2);
+
+        bitSlices = new BitSlices();
+        assertTrue(bitSlices.insert(1.5, 0));
+        assertFalse(bitSlices.insert(Long.MAX_VALUE, 1));
+        assertFalse(bitSlices.insert((1L << 53) + 1, 1));
+        assertTrue(bitSlices.insert(1L << 62, 1));
+        assertIterates(bitSlices.range(1, false, null, false), 0, 2);
+        assertNull(bitSlices.range(Long.MAX_VALUE, true, null, false));
+    }
+
+    @Test
+    public void testClear() {
+        BitSlices bitSlices = new BitSlices();
+        for (int i = 0; i < COUNT; ++i) {
+            bitSlices.insert(i - COUNT / 2, i);
+        }
+        bitSlices.clear();
+        assertEquals(AscendingLongIterator.END, bitSlices.range(Long.MIN_VALUE, true, null, false).getIndex());
+
+        assertTrue(bitSlices.insert(new Date(), 0));
+        assertIterates(bitSlices.range(new Date(0), true, null, false), 0, 1);
+    }
+
+    private void verifyRandomQueries(Random random) {
+        for (long special : SPECIAL_VALUES) {
+            verifyQueries(special);
+        }
+        for (int i = 0; i < 100; ++i) {
+            verifyQueries(randomValue(random));
+        }
+        Long[] values = expected.values().toArray(new Long[0]);
+        for (int i = 0; i < 100; ++i) {
+            verifyQueries(values[random.nextInt(values.length)]);
+        }
+    }
+
+    private void verifyQueries(long value) {
+        verify(lessThan("a", value), actual -> actual < value);
+        verify(lessEqual("a", value), actual -> actual <= value);
+        verify(greaterThan("a", value), actual -> actual > value);
+        verify(greaterEqual("a", value), actual -> actual >= value);
+
+        long to = value + 1000;
+        if (to > value) {
+            verify(between("a", value, to), actual -> actual >= value && actual <= to);
+        }
+    }
+
+    private void insert(long key, long value) {
+        bitmap.insert(Collections.singletonList(value).iterator(), key, key);
+        expected.put(key, value);
+    }
+
+    private void update(long key, long value) {
+        long oldValue = expected.put(key, value);
+        bitmap.update(Collections.singletonList(oldValue).iterator(), Collections.singletonList(value).iterator(), key, key);
+    }
+
+    private void remove(long key) {
+        Long value = expected.remove(key);
+        if (value != null) {
+            bitmap.remove(Collections.singletonList(value).iterator(), key);
+        }
+    }
+
+    private void verify(Predicate predicate, LongPredicate expectedPredicate) {
+        SortedSet<Long> expectedKeys = new TreeSet<>();
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            if (expectedPredicate.test(entry.getValue())) {
+                expectedKeys.add(entry.getKey());
+            }
+        }
+
+        Iterator<Long> actual = bitmap.evaluate(predicate, IDENTITY_CONVERTER);
+        for (long expectedKey : expectedKeys) {
+            assertTrue(predicate.toString(), actual.hasNext());
+            assertEquals(predicate.toString(), expectedKey, (long) actual.next());
+        }
+        assertFalse(predicate.toString(), actual.hasNext());
+    }
+
+    private static long randomValue(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextInt(100);
+            case 1:
+                return random.nextInt();
+            case 2:
+                return random.nextLong();
+            default:
+                return SPECIAL_VALUES[random.nextInt(SPECIAL_VALUES.length)];
+        }
+    }
+
+    private static SortedSet<Long> keys(AscendingLongIterator iterator) {
+        SortedSet<Long> keys = new TreeSet<>();
+        for (long key = iterator.advance(); key != AscendingLongIterator.END; key = iterator.advance()) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    private static SortedSet<Long> expectedKeys(BitSlices bitSlices, LongPredicate predicate) {
+        SortedSet<Long> keys = keys(bitSlices.range(null, false, null, false));
+        keys.removeIf(key -> !predicate.test(key));
+        return keys;
+    }
+
+    private static SortedSet<Long> expectedKeys(Object[] values, DoublePredicate predicate) {
+        SortedSet<Long> keys = new TreeSet<>();
+        for (int i = 0; i < values.length; ++i) {
+            if (predicate.test(((Number) values[i]).doubleValue())) {
+                keys.add((long) i);
+            }
+        }
+        return keys;
+    }
+
+    private static void assertIterates(AscendingLongIterator iterator, long from, long to) {
+        for (long member = from; member < to; ++member) {
+            assertEquals(member, iterator.advance());
+        }
+        assertEquals(AscendingLongIterator.END, iterator.getIndex());
+    }
+
+}
@@ -41,6 +41,7 @@ import java.util.Random;
 
 import static com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation.RAW;
 import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
 import static com.hazelcast.query.Predicates.equal;
 import static com.hazelcast.query.Predicates.not;
 import static com.hazelcast.query.Predicates.or;
@@ -51,6 +52,10 @@ public class BitmapIndexQueriesBenchmark {
     private static final int SIZE = 1000;
     private static final int HABITS = 5000;
     private static final int DOMAIN = 25000;
+    private static final long TIMESTAMP_ORIGIN = 1600000000000L;
+    private static final int TIMESTAMP_DOMAIN = 24 * 60 * 60 * 1000;
+    private static final int TIMESTAMP_WINDOW = 60 * 60 * 1000;
+    private static final int FLAGS = 4;
 
     private final Random random = new Random(303);
     private HazelcastInstance instance;
@@ -66,10 +71,18 @@ public class BitmapIndexQueriesBenchmark {
         IndexConfig indexConfig = new IndexConfig(IndexType.BITMAP, "habits[any]");
         indexConfig.getBitmapIndexOptions().setUniqueKeyTransformation(RAW);
         personsBitmapConfig.addIndexConfig(indexConfig);
+        IndexConfig timestampIndexConfig = new IndexConfig(IndexType.BITMAP, "timestamp");
+        timestampIndexConfig.getBitmapIndexOptions().setUniqueKeyTransformation(RAW);
+        personsBitmapConfig.addIndexConfig(timestampIndexConfig);
+        IndexConfig flagIndexConfig = new IndexConfig(IndexType.BITMAP, "flag");
+        flagIndexConfig.getBitmapIndexOptions().setUniqueKeyTransformation(RAW);
+        personsBitmapConfig.addIndexConfig(flagIndexConfig);
 
         MapConfig personsHashConfig = config.getMapConfig("personsHash");
         personsHashConfig.setInMemoryFormat(InMemoryFormat.OBJECT);
         personsHashConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "habits[any]"));
+        personsHashConfig.addIndexConfig(new IndexConfig(IndexType.SORTED, "timestamp"));
+        personsHashConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "flag"));
 
         instance = Hazelcast.newHazelcastInstance(config);
 
@@ -81,7 +94,8 @@ public class BitmapIndexQueriesBenchmark {
             for (int j = 0; j < HABITS; ++j) {
                 habits[j] = random.nextInt(DOMAIN);
             }
-            Person person = new Person(habits);
+            long timestamp = TIMESTAMP_ORIGIN + random.nextInt(TIMESTAMP_DOMAIN);
+            Person person = new Person(habits, timestamp, random.nextInt(FLAGS));
             personsBitmap.put(i, person);
             personsHash.put(i, person);
         }
@@ -132,6 +146,34 @@ public class BitmapIndexQueriesBenchmark {
         personsHash.entrySet(not(equal("habits[any]", random.nextInt(DOMAIN))));
     }
 
+    @Benchmark
+    public void bitmapQueriesRange() {
+        long from = randomTimestamp();
+        personsBitmap.entrySet(between("timestamp", from, from + TIMESTAMP_WINDOW));
+    }
+
+    @Benchmark
+    public void sortedQueriesRange() {
+        long from = randomTimestamp();
+        personsHash.entrySet(between("timestamp", from, from + TIMESTAMP_WINDOW));
+    }
+
+    @Benchmark
+    public void bitmapQueriesRangeAndEqual() {
+        long from = randomTimestamp();
+        personsBitmap.entrySet(and(between("timestamp", from, from + TIMESTAMP_WINDOW), equal("flag", random.nextInt(FLAGS))));
+    }
+
+    @Benchmark
+    public void sortedQueriesRangeAndEqual() {
+        long from = randomTimestamp();
+        personsHash.entrySet(and(between("timestamp", from, from + TIMESTAMP_WINDOW), equal("flag", random.nextInt(FLAGS))));
+    }
+
+    private long randomTimestamp() {
+        return TIMESTAMP_ORIGIN + random.nextInt(TIMESTAMP_DOMAIN - TIMESTAMP_WINDOW);
+    }
+
     public static void main(String[] args) throws RunnerException {
         // @formatter:off
         Options opt = new OptionsBuilder()
@@ -152,9 +194,13 @@ public class BitmapIndexQueriesBenchmark {
     public static class Person implements Serializable {
 
         private final int[] habits;
+        private final long timestamp;
+        private final int flag;
 
-        public Person(int[] habits) {
+        public Person(int[] habits, long timestamp, int flag) {
             this.habits = habits;
+            this.timestamp = timestamp;
+            this.flag = flag;
         }
 
         @SuppressWarnings("unused")
@@ -162,6 +208,16 @@ public class BitmapIndexQueriesBenchmark {
             return habits;
         }
 
+        @SuppressWarnings("unused")
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @SuppressWarnings("unused")
+        public int getFlag() {
+            return flag;
+        }
+
     }
 
 }
@@ -46,7 +46,7 @@ public class AbstractVisitorTest {
         Method[] methods = Visitor.class.getMethods();
         for (Method method : methods) {
             Class<?> predicateType = method.getParameterTypes()[0];
-            Predicate predicate = (Predicate) predicateType.newInstance();
+            Predicate predicate = newPredicate(predicateType);
             Indexes indexes = mock(Indexes.class);
             Object result = method.invoke(visitor, predicate, indexes);
 
@@ -54,4 +54,13 @@ public class AbstractVisitorTest {
                     + " See contract of " + AbstractVisitor.class.getSimpleName(), predicate, result);
         }
     }
+
+    private static Predicate newPredicate(Class<?> predicateType) throws Exception {
+        try {
+            return (Predicate) predicateType.getConstructor().newInstance();
+        } catch (NoSuchMethodException e) {
+            // predicates never created without arguments, like BoundedRangePredicate
+            return (Predicate) mock(predicateType);
+        }
+    }
 }
@@ -38,7 +38,9 @@ import java.util.Set;
 
 import static com.hazelcast.query.Predicates.alwaysFalse;
 import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
 import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
 import static com.hazelcast.query.Predicates.in;
 import static com.hazelcast.query.Predicates.like;
 import static com.hazelcast.query.Predicates.not;
@@ -194,6 +196,26 @@ public class EvaluateVisitorTest {
                 and(or(eval(equal("a", 1), "a"), eval(equal("b", 2), "b")), eval(and(equal("a", 3), equal("a", 4)), "a")));
     }
 
+    @Test
+    public void testRangePredicates_whenSortedIndexAvailable() {
+        InternalIndex bitmap = mock(InternalIndex.class);
+        when(bitmap.getName()).thenReturn("s");
+        when(bitmap.getConverter()).thenReturn(TypeConverters.INTEGER_CONVERTER);
+        when(indexes.matchIndex(eq("s"), any(), eq(IndexMatchHint.PREFER_ORDERED), eq(SKIP_PARTITIONS_COUNT_CHECK)))
+                .thenReturn(bitmap);
+        InternalIndex sorted = mock(InternalIndex.class);
+        when(sorted.isOrdered()).thenReturn(true);
+        when(indexes.matchIndex("s", IndexMatchHint.PREFER_ORDERED, SKIP_PARTITIONS_COUNT_CHECK)).thenReturn(sorted);
+
+        // the sorted index is preferred unless the bitmap index can use the bit slices
+        assertNoOptimization(greaterThan("s", 1));
+        assertNoOptimization(between("s", 1, 5));
+
+        when(bitmap.canEvaluateRangeWithBitSlices()).thenReturn(true);
+        assertOptimization(greaterThan("s", 1), eval(greaterThan("s", 1), "s"));
+        assertOptimization(between("s", 1, 5), eval(between("s", 1, 5), "s"));
+    }
+
     private void assertNoOptimization(Predicate original) {
         Predicate actual = optimize(original);
         assertSame(original, actual);
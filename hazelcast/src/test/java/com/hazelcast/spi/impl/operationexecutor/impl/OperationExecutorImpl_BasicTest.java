@@ -30,6 +30,8 @@ import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.spi.impl.operationservice.Operation.GENERIC_PARTITION_ID;
 import static com.hazelcast.spi.properties.ClusterProperty.GENERIC_OPERATION_THREAD_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_INPUT_THREAD_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_THREAD_PER_CORE;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PRIORITY_GENERIC_OPERATION_THREAD_COUNT;
@@ -53,6 +55,28 @@ public class OperationExecutorImpl_BasicTest extends OperationExecutorImpl_Abstr
                 executor.getGenericThreadCount());
     }
 
+    @Test
+    public void testConstruction_threadPerCore() {
+        config.setProperty(OPERATION_THREAD_PER_CORE.getName(), "true");
+        config.setProperty(IO_INPUT_THREAD_COUNT.getName(), "5");
+        initExecutor();
+
+        assertEquals(5, executor.getPartitionThreadCount());
+    }
+
+    @Test
+    public void test_getRunningOperationCount_withRingBufferQueue() {
+        config.setProperty("hazelcast.operation.partitionthread.queue", "ringbuffer");
+        test_getRunningOperationCount();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testConstruction_withRingBufferQueueAndBlockingIdleStrategy() {
+        config.setProperty("hazelcast.operation.partitionthread.queue", "ringbuffer");
+        config.setProperty("hazelcast.operation.partitionthread.idlestrategy", "block");
+        initExecutor();
+    }
+
     @Test
     public void test_getRunningOperationCount() {
         initExecutor();
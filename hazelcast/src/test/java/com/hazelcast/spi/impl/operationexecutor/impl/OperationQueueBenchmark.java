@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.internal.util.concurrent.MPSCQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures the enqueue to execute round trip of the partition thread queues when
+ * multiple threads are enqueueing concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class OperationQueueBenchmark {
+
+    private static final int CAPACITY = 4096;
+    private static final int THREAD_COUNT = 4;
+
+    @Param({"linkedblocking", "mpsc", "ringbuffer"})
+    public String queueType;
+
+    private OperationQueue queue;
+    private Thread consumer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MPSCQueue<Object> mpscQueue = null;
+        switch (queueType) {
+            case "linkedblocking":
+                queue = new OperationQueueImpl(new LinkedBlockingQueue<>(), new ConcurrentLinkedQueue<>());
+                break;
+            case "mpsc":
+                mpscQueue = new MPSCQueue<>(null);
+                queue = new OperationQueueImpl(mpscQueue, new ConcurrentLinkedQueue<>());
+                break;
+            case "ringbuffer":
+                queue = new RingBufferOperationQueue(CAPACITY,
+                        new BackoffIdleStrategy(20, 50, 1, MICROSECONDS.toNanos(100)));
+                break;
+            default:
+                throw new IllegalArgumentException(queueType);
+        }
+
+        consumer = new Thread(() -> {
+            try {
+                for (; ; ) {
+                    ((Runnable) queue.take(false)).run();
+                }
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }, "consumer");
+        if (mpscQueue != null) {
+            mpscQueue.setConsumerThread(consumer);
+        }
+        consumer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        consumer.interrupt();
+        consumer.join();
+    }
+
+    @Benchmark
+    public void enqueueAndExecute(Task task) {
+        task.executed = false;
+        queue.add(task, false);
+        while (!task.executed) {
+            // yield so the consumer isn't starved on machines with fewer cores than benchmark threads
+            Thread.yield();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Task implements Runnable {
+        volatile boolean executed;
+
+        @Override
+        public void run() {
+            executed = true;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(OperationQueueBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .threads(THREAD_COUNT)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
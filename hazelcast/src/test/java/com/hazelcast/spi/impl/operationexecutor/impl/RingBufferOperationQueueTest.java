@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class RingBufferOperationQueueTest extends HazelcastTestSupport {
+
+    private static final int CAPACITY = 4;
+
+    private RingBufferOperationQueue operationQueue;
+
+    @Before
+    public void setup() {
+        operationQueue = new RingBufferOperationQueue(CAPACITY, new BackoffIdleStrategy(0, 0, 1, MICROSECONDS.toNanos(100)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() {
+        operationQueue.add(null, false);
+    }
+
+    @Test
+    public void add() {
+        operationQueue.add(new Object(), false);
+        operationQueue.add(new Object(), true);
+        operationQueue.add(new Object(), true);
+
+        assertEquals(1, operationQueue.normalSize());
+        assertEquals(2, operationQueue.prioritySize());
+        assertEquals(3, operationQueue.size());
+    }
+
+    @Test
+    public void take_priorityBeforeNormal() throws InterruptedException {
+        Object normalTask = new Object();
+        Object priorityTask = new Object();
+
+        operationQueue.add(normalTask, false);
+        operationQueue.add(priorityTask, true);
+
+        assertSame(priorityTask, operationQueue.take(false));
+        assertSame(normalTask, operationQueue.take(false));
+    }
+
+    @Test
+    public void take_whenNoTask_thenIdles() {
+        Object task = new Object();
+        spawn(() -> {
+            sleepMillis(100);
+            operationQueue.add(task, false);
+        });
+
+        assertSame(task, takeUninterruptibly());
+    }
+
+    @Test(expected = InterruptedException.class)
+    public void take_whenInterrupted() throws InterruptedException {
+        Thread.currentThread().interrupt();
+        operationQueue.take(false);
+    }
+
+    @Test
+    public void add_whenFull_thenOverflows() throws InterruptedException {
+        int taskCount = CAPACITY * 3;
+        for (int k = 0; k < taskCount; k++) {
+            operationQueue.add(k, false);
+        }
+        operationQueue.add(-1, true);
+
+        assertEquals(taskCount, operationQueue.normalSize());
+        assertEquals(1, operationQueue.prioritySize());
+        assertEquals(taskCount + 1, operationQueue.size());
+
+        assertEquals(-1, operationQueue.take(false));
+        for (int k = 0; k < taskCount; k++) {
+            assertEquals(k, operationQueue.take(false));
+        }
+        assertEquals(0, operationQueue.size());
+    }
+
+    @Test
+    public void add_whenFullAndOtherProducer_thenDoesNotWait() {
+        for (int k = 0; k < CAPACITY; k++) {
+            operationQueue.add(k, false);
+        }
+
+        CountDownLatch added = new CountDownLatch(1);
+        spawn(() -> {
+            operationQueue.add(CAPACITY, false);
+            added.countDown();
+        });
+
+        assertOpenEventually(added);
+        assertEquals(CAPACITY + 1, operationQueue.normalSize());
+    }
+
+    @Test
+    public void take_whenOverflown_thenOverflowNotStarved() throws InterruptedException {
+        for (int k = 0; k < CAPACITY; k++) {
+            operationQueue.add(k, false);
+        }
+        Object retriedTask = new Object();
+        operationQueue.add(retriedTask, false);
+
+        // the producers keep the ring buffer busy, but the overflown task is still taken
+        // right after the tasks that were in the ring buffer before it
+        for (int k = 0; k < CAPACITY; k++) {
+            assertEquals(k, operationQueue.take(false));
+            operationQueue.add(new Object(), false);
+        }
+        assertSame(retriedTask, operationQueue.take(false));
+    }
+
+    @Test
+    public void take_whenPriorityOnly() throws InterruptedException {
+        operationQueue.add(new Object(), false);
+        Object priorityTask = new Object();
+        operationQueue.add(priorityTask, true);
+
+        assertSame(priorityTask, operationQueue.take(true));
+        assertTrue(operationQueue.normalSize() > 0);
+    }
+
+    private Object takeUninterruptibly() {
+        try {
+            return operationQueue.take(false);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
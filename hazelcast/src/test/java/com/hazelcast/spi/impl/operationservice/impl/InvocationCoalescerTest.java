@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import static com.hazelcast.spi.properties.ClusterProperty.INVOCATION_COALESCING_MAX_BATCH_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.INVOCATION_COALESCING_WINDOW;
+import static com.hazelcast.test.Accessors.getOperationService;
+import static com.hazelcast.test.Accessors.getPartitionService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class InvocationCoalescerTest extends HazelcastTestSupport {
+
+    private static final int KEY_COUNT = 200;
+    private static final int MAX_BATCH_SIZE = 10;
+
+    @Test
+    public void testAsyncInvocations_samePartition() {
+        Config config = smallInstanceConfig()
+                .setProperty(INVOCATION_COALESCING_WINDOW.getName(), "10000")
+                .setProperty(INVOCATION_COALESCING_MAX_BATCH_SIZE.getName(), String.valueOf(MAX_BATCH_SIZE));
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        HazelcastInstance local = instances[0];
+        HazelcastInstance remote = instances[1];
+        warmUpPartitions(instances);
+
+        int partitionId = getPartitionService(local).getPartitionId(generateKeyOwnedBy(remote));
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys.add(generateKeyForPartition(local, "key" + i, partitionId));
+        }
+
+        IMap<String, Integer> map = local.getMap(randomMapName());
+        List<CompletionStage<Void>> sets = new ArrayList<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            sets.add(map.setAsync(keys.get(i), i));
+        }
+        for (CompletionStage<Void> set : sets) {
+            set.toCompletableFuture().join();
+        }
+
+        List<CompletionStage<Integer>> gets = new ArrayList<>();
+        for (String key : keys) {
+            gets.add(map.getAsync(key));
+        }
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertEquals(Integer.valueOf(i), gets.get(i).toCompletableFuture().join());
+        }
+
+        InvocationCoalescer coalescer = getOperationService(local).invocationCoalescer;
+        assertEquals(2 * KEY_COUNT, coalescer.invocations.get());
+        assertTrue(coalescer.batches.get() > 0);
+        assertTrue(coalescer.batchedInvocations.get() <= coalescer.batches.get() * MAX_BATCH_SIZE);
+        assertTrue(coalescer.totalDelayNanos.get() > 0);
+        assertEquals(KEY_COUNT, remote.getMap(map.getName()).size());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(smallInstanceConfig());
+        HazelcastInstance local = instances[0];
+        warmUpPartitions(instances);
+
+        IMap<String, String> map = local.getMap(randomMapName());
+        String key = generateKeyOwnedBy(instances[1]);
+        map.set(key, "value");
+
+        assertEquals("value", map.get(key));
+        InvocationCoalescer coalescer = getOperationService(local).invocationCoalescer;
+        assertEquals(0, coalescer.invocations.get());
+        assertEquals(0, coalescer.batches.get());
+    }
+}
@@ -19,11 +19,14 @@ package com.hazelcast.spi.impl.operationservice.impl;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.spi.impl.operationservice.BlockingOperation;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.OperationResponseHandler;
 import com.hazelcast.spi.impl.operationservice.WaitNotifyKey;
+import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionOperationBatch;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.test.ExpectedRuntimeException;
 import com.hazelcast.test.HazelcastParallelClassRunner;
@@ -35,14 +38,28 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallId;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallTimeout;
 import static com.hazelcast.test.Accessors.getClusterService;
 import static com.hazelcast.test.Accessors.getOperationService;
+import static com.hazelcast.test.Accessors.getSerializationService;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.mock;
@@ -221,6 +238,99 @@ public class OperationRunnerImplTest extends HazelcastTestSupport {
         operationRunner.run(packet);
     }
 
+    @Test
+    public void runPacket_whenBatchOperationNotReady_thenRestOfBatchRetriedInOrder() throws Exception {
+        String key = randomString();
+        byte[][] operations = new byte[3][];
+        for (int i = 0; i < operations.length; i++) {
+            Operation op = new TenantAwareOperation(key, i).setPartitionId(operationRunner.getPartitionId());
+            operations[i] = getSerializationService(local).toBytes(op);
+        }
+        Packet packet = toPacket(local, remote, new PartitionOperationBatch(operationRunner.getPartitionId(), operations));
+
+        TenantAwareOperation.AVAILABLE.put(key, false);
+        operationRunner.run(packet);
+        assertEquals(emptyList(), TenantAwareOperation.executed(key));
+
+        TenantAwareOperation.AVAILABLE.put(key, true);
+        assertTrueEventually(() -> assertEquals(asList(0, 1, 2), TenantAwareOperation.executed(key)));
+    }
+
+    @Test
+    public void runPacket_whenBatchBroken_thenErrorForEveryReadableOperation() throws Exception {
+        byte[][] operations = new byte[3][];
+        for (int i = 0; i < operations.length; i++) {
+            Operation op = new DummyOperation();
+            setCallId(op, 1000 * 1000 + i);
+            operations[i] = getSerializationService(local).toBytes(op);
+        }
+        Packet packet = toPacket(local, remote, new PartitionOperationBatch(operationRunner.getPartitionId(), operations));
+        // cut off the last operation, including its length
+        int length = packet.toByteArray().length - INT_SIZE_IN_BYTES - operations[2].length;
+        byte[] bytes = Arrays.copyOf(packet.toByteArray(), length);
+        Packet brokenPacket = new Packet(bytes, packet.getPartitionId())
+                .setPacketType(Packet.Type.OPERATION)
+                .setConn(packet.getConn());
+        InboundResponseHandlerSupplier responseHandlerSupplier = getOperationService(remote).getInboundResponseHandlerSupplier();
+        long errorResponses = responseHandlerSupplier.responsesError();
+
+        try {
+            operationRunner.run(brokenPacket);
+            fail();
+        } catch (HazelcastSerializationException expected) {
+            ignore(expected);
+        }
+        assertTrueEventually(() -> assertEquals(errorResponses + 2, responseHandlerSupplier.responsesError()));
+        assertTrueAllTheTime(() -> assertEquals(errorResponses + 2, responseHandlerSupplier.responsesError()), 1);
+    }
+
+    public static class TenantAwareOperation extends Operation {
+        static final ConcurrentMap<String, Boolean> AVAILABLE = new ConcurrentHashMap<>();
+        static final ConcurrentMap<String, Queue<Integer>> EXECUTED = new ConcurrentHashMap<>();
+
+        private String key;
+        private int index;
+
+        public TenantAwareOperation() {
+        }
+
+        TenantAwareOperation(String key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        static List<Integer> executed(String key) {
+            return new ArrayList<>(EXECUTED.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()));
+        }
+
+        @Override
+        public boolean isTenantAvailable() {
+            return AVAILABLE.get(key);
+        }
+
+        @Override
+        public void run() {
+            EXECUTED.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(index);
+        }
+
+        @Override
+        public boolean returnsResponse() {
+            return false;
+        }
+
+        @Override
+        protected void writeInternal(ObjectDataOutput out) throws IOException {
+            out.writeUTF(key);
+            out.writeInt(index);
+        }
+
+        @Override
+        protected void readInternal(ObjectDataInput in) throws IOException {
+            key = in.readUTF();
+            index = in.readInt();
+        }
+    }
+
     public abstract class DummyWaitingOperation extends Operation implements BlockingOperation {
         WaitNotifyKey waitNotifyKey = new WaitNotifyKey() {
             @Override
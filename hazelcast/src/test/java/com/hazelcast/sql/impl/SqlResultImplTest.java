@@ -31,7 +31,7 @@ public class SqlResultImplTest extends SqlTestSupport {
         QueryId queryId = new QueryId(1, 2, 3, 4);
         SqlRowMetadata metadata = new SqlRowMetadata(singletonList(new SqlColumnMetadata("n", SqlColumnType.INTEGER)));
         QueryState queryState = QueryState.createInitiatorState(queryId, null, null, 0, null, null, metadata,
-                null, System::currentTimeMillis);
+                null, null, System::currentTimeMillis);
         SqlResultImpl r = SqlResultImpl.createRowsResult(queryState);
 
         assertEquals(-1, r.updateCount());
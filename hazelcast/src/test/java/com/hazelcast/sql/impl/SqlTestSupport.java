@@ -37,11 +37,15 @@ import com.hazelcast.sql.impl.plan.Plan;
 import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.plan.node.TestPlanNodeVisitorAdapter;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.HeapRow;
 import com.hazelcast.sql.impl.row.ListRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.state.QueryMemoryTracker;
 import com.hazelcast.sql.impl.state.QueryStateCallback;
+import com.hazelcast.sql.impl.state.QueryStateRegistry;
+import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.worker.QueryFragmentContext;
 import com.hazelcast.test.Accessors;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -119,6 +123,16 @@ public class SqlTestSupport extends HazelcastTestSupport {
         return new ListRowBatch(rows);
     }
 
+    public static ColumnarRowBatch createMonotonicColumnarBatch(int startValue, int size) {
+        ColumnarRowBatch batch = new ColumnarRowBatch(Collections.singletonList(QueryDataType.INT), size);
+
+        for (int i = startValue; i < startValue + size; i++) {
+            batch.addRow(HeapRow.of(i));
+        }
+
+        return batch;
+    }
+
     public static void checkMonotonicBatch(RowBatch batch, int startValue, int size) {
         assertEquals(size, batch.getRowCount());
 
@@ -134,6 +148,10 @@ public class SqlTestSupport extends HazelcastTestSupport {
     }
 
     public static QueryFragmentContext emptyFragmentContext(List<Object> args) {
+        return emptyFragmentContext(args, QueryMemoryTracker.createUnlimited(QueryStateRegistry.FRAGMENT_SCOPE));
+    }
+
+    public static QueryFragmentContext emptyFragmentContext(List<Object> args, QueryMemoryTracker memoryTracker) {
         QueryStateCallback stateCallback = new QueryStateCallback() {
             @Override
             public void onFragmentFinished() {
@@ -151,7 +169,7 @@ public class SqlTestSupport extends HazelcastTestSupport {
             }
         };
 
-        return new QueryFragmentContext(args, new LoggingQueryFragmentScheduleCallback(), stateCallback);
+        return new QueryFragmentContext(args, new LoggingQueryFragmentScheduleCallback(), stateCallback, memoryTracker);
     }
 
     /**
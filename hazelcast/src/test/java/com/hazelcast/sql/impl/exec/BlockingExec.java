@@ -50,6 +50,11 @@ public class BlockingExec extends AbstractExec {
         return exec.currentBatch();
     }
 
+    @Override
+    protected void release0() {
+        exec.release();
+    }
+
     public static class Blocker {
 
         private final CountDownLatch awaitLatch = new CountDownLatch(1);
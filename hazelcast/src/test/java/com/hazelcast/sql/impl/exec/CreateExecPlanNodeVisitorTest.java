@@ -37,19 +37,24 @@ import com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControlFactor
 import com.hazelcast.sql.impl.exec.root.RootExec;
 import com.hazelcast.sql.impl.exec.root.RootResultConsumer;
 import com.hazelcast.sql.impl.exec.root.ScheduleCallback;
+import com.hazelcast.sql.impl.exec.scan.MapKeyLookupExec;
 import com.hazelcast.sql.impl.exec.scan.MapScanExec;
+import com.hazelcast.sql.impl.exec.sort.SortExec;
 import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
 import com.hazelcast.sql.impl.expression.ConstantPredicateExpression;
 import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragment;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapKeyLookupPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
 import com.hazelcast.sql.impl.plan.node.PlanNodeVisitor;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.SendPlanNode;
 import com.hazelcast.sql.impl.row.Row;
@@ -75,6 +80,7 @@ import java.util.UUID;
 
 import static com.hazelcast.sql.impl.operation.QueryExecuteOperationFragmentMapping.DATA_MEMBERS;
 import static com.hazelcast.sql.impl.operation.QueryExecuteOperationFragmentMapping.EXPLICIT;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 
@@ -293,6 +299,45 @@ public class CreateExecPlanNodeVisitorTest extends SqlTestSupport {
         assertEquals(upstreamNode.getId(), upstreamExec.getId());
     }
 
+    @Test
+    public void testSort() {
+        UpstreamNode upstreamNode = new UpstreamNode(nextNodeId());
+
+        SortPlanNode sortNode = new SortPlanNode(
+            nextNodeId(),
+            upstreamNode,
+            new int[] { 0 },
+            new boolean[] { false },
+            ConstantExpression.create(10, QueryDataType.INT),
+            null
+        );
+
+        QueryExecuteOperationFragment rootFragment = new QueryExecuteOperationFragment(
+            sortNode,
+            EXPLICIT,
+            Collections.singletonList(memberId1)
+        );
+
+        QueryExecuteOperation operation = createOperation(
+            Collections.singletonList(rootFragment),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap()
+        );
+
+        CreateExecPlanNodeVisitor visitor = visit(operation, rootFragment);
+
+        SortExec sortExec = (SortExec) visitor.pop();
+        assertEquals(sortNode.getId(), sortExec.getId());
+        assertArrayEquals(sortNode.getColumnIndexes(), sortExec.getColumnIndexes());
+        assertArrayEquals(sortNode.getAscs(), sortExec.getAscs());
+        assertEquals(sortNode.getFetch(), sortExec.getFetch());
+        assertEquals(sortNode.getOffset(), sortExec.getOffset());
+
+        UpstreamExec upstreamExec = (UpstreamExec) sortExec.getUpstream();
+        assertEquals(upstreamNode.getId(), upstreamExec.getId());
+    }
+
     @Test
     public void testFilter() {
         UpstreamNode upstreamNode = new UpstreamNode(nextNodeId());
@@ -396,6 +441,75 @@ public class CreateExecPlanNodeVisitorTest extends SqlTestSupport {
         }
     }
 
+    @Test
+    public void testMapKeyLookup() {
+        // Map with data.
+        checkMapKeyLookup(MAP_NAME, partitionMapping, false);
+
+        // Map with data, but no partitions.
+        Map<UUID, PartitionIdSet> partitionMapping = new HashMap<>();
+        partitionMapping.put(memberId1, createPartitionIdSet(PARTITION_COUNT));
+        partitionMapping.put(MEMBER_ID_2, createPartitionIdSet(PARTITION_COUNT, PARTITIONS_MEMBER_2));
+
+        checkMapKeyLookup(MAP_NAME, partitionMapping, true);
+
+        // Not started map.
+        checkMapKeyLookup(UUID.randomUUID().toString(), CreateExecPlanNodeVisitorTest.partitionMapping, true);
+    }
+
+    private void checkMapKeyLookup(String mapName, Map<UUID, PartitionIdSet> partitionMapping, boolean expectedEmpty) {
+        MapKeyLookupPlanNode lookupNode = new MapKeyLookupPlanNode(
+            nextNodeId(),
+            mapName,
+            GenericQueryTargetDescriptor.DEFAULT,
+            GenericQueryTargetDescriptor.DEFAULT,
+            Arrays.asList(valuePath("field1"), valuePath("field2")),
+            Arrays.asList(QueryDataType.INT, QueryDataType.VARCHAR),
+            Arrays.asList(0, 1),
+            new ConstantPredicateExpression(true),
+            Collections.singletonList(ConstantExpression.create(1, QueryDataType.INT))
+        );
+
+        DownstreamNode downstreamNode = new DownstreamNode(
+            nextNodeId(),
+            lookupNode
+        );
+
+        QueryExecuteOperationFragment fragment = new QueryExecuteOperationFragment(
+            downstreamNode,
+            EXPLICIT,
+            Collections.singletonList(memberId1)
+        );
+
+        QueryExecuteOperation operation = createOperation(
+            Collections.singletonList(fragment),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            partitionMapping
+        );
+
+        CreateExecPlanNodeVisitor visitor = visit(operation, fragment);
+
+        DownstreamExec downstreamExec = (DownstreamExec) visitor.pop();
+        assertEquals(downstreamNode.getId(), downstreamExec.getId());
+
+        if (expectedEmpty) {
+            EmptyExec lookupExec = (EmptyExec) downstreamExec.getUpstream();
+
+            assertEquals(lookupNode.getId(), lookupExec.getId());
+        } else {
+            MapKeyLookupExec lookupExec = (MapKeyLookupExec) downstreamExec.getUpstream();
+
+            assertEquals(lookupNode.getId(), lookupExec.getId());
+            assertEquals(lookupNode.getMapName(), lookupExec.getMap().getName());
+            assertEquals(lookupNode.getFieldPaths(), lookupExec.getFieldPaths());
+            assertEquals(lookupNode.getProjects(), lookupExec.getProjects());
+            assertEquals(lookupNode.getFilter(), lookupExec.getFilter());
+            assertEquals(lookupNode.getKeys(), lookupExec.getKeys());
+        }
+    }
+
     private static CreateExecPlanNodeVisitor visit(QueryExecuteOperation operation, QueryExecuteOperationFragment fragment) {
         CreateExecPlanNodeVisitor res = new CreateExecPlanNodeVisitor(
             new LoggingQueryOperationHandler(),
@@ -45,4 +45,9 @@ public class FaultyExec extends AbstractExec {
     protected RowBatch currentBatch0() {
         return exec.currentBatch();
     }
+
+    @Override
+    protected void release0() {
+        exec.release();
+    }
 }
@@ -18,10 +18,16 @@ package com.hazelcast.sql.impl.exec;
 
 import com.hazelcast.sql.impl.SqlTestSupport;
 import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.FunctionalPredicateExpression;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -31,6 +37,7 @@ import org.junit.runner.RunWith;
 
 import static com.hazelcast.sql.impl.exec.AbstractFilterExec.BATCH_SIZE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -82,6 +89,38 @@ public class FilterExecTest extends SqlTestSupport {
         checkBatch(exec.currentBatch(), 4 * BATCH_SIZE, BATCH_SIZE / 2);
     }
 
+    @Test
+    public void testFilterColumnar() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        Expression<Boolean> filter = ComparisonPredicate.create(
+            ColumnExpression.create(0, QueryDataType.INT),
+            ConstantExpression.create(100, QueryDataType.INT),
+            ComparisonMode.GREATER_THAN_OR_EQUAL
+        );
+
+        FilterExec exec = new FilterExec(2, upstream, filter);
+        exec.setup(emptyFragmentContext());
+
+        // Batch without matching rows is skipped.
+        upstream.addResult(IterationResult.FETCHED, createMonotonicColumnarBatch(0, 100));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        // Columnar batch is filtered as a whole.
+        upstream.addResult(IterationResult.FETCHED, createMonotonicColumnarBatch(50, 100));
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        assertTrue(exec.currentBatch() instanceof ColumnarRowBatch);
+        checkMonotonicBatch(exec.currentBatch(), 100, 50);
+
+        // Row batch is accumulated as usual.
+        upstream.addResult(IterationResult.FETCHED, createMonotonicBatch(150, 10));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        // Pending rows are merged with the columnar batch.
+        upstream.addResult(IterationResult.FETCHED_DONE, createMonotonicColumnarBatch(160, 10));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkMonotonicBatch(exec.currentBatch(), 150, 20);
+    }
+
     private static void checkBatch(RowBatch batch, int startValue, int size) {
         assertEquals(size, batch.getRowCount());
 
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.row.EmptyRowBatch;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.state.QueryMemoryTracker;
+import com.hazelcast.sql.impl.state.QueryStateRegistry;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AggregateExecTest extends SqlTestSupport {
+
+    private static final List<AggregateFunction> FUNCTIONS = Arrays.asList(
+        new AggregateFunction(AggregateKind.COUNT, AggregateFunction.NO_OPERAND, null, QueryDataType.BIGINT),
+        new AggregateFunction(AggregateKind.COUNT, 1, QueryDataType.INT, QueryDataType.BIGINT),
+        new AggregateFunction(AggregateKind.SUM, 1, QueryDataType.INT, QueryDataType.BIGINT),
+        new AggregateFunction(AggregateKind.AVG, 1, QueryDataType.INT, QueryDataType.DECIMAL),
+        new AggregateFunction(AggregateKind.MIN, 1, QueryDataType.INT, QueryDataType.INT),
+        new AggregateFunction(AggregateKind.MAX, 1, QueryDataType.INT, QueryDataType.INT)
+    );
+
+    @Test
+    public void testGroupBy() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = create(upstream, new int[] { 0 }, AggregatePhase.COMPLETE);
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED, batch(row("a", 1), row("b", 2), row("a", null)));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED, EmptyRowBatch.INSTANCE);
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(row("a", 2), row(null, 5), row("b", 4)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        Map<Object, Row> rows = rowsByKey(exec.currentBatch());
+
+        assertEquals(3, rows.size());
+        checkRow(rows.get("a"), "a", 3L, 2L, 3L, "1.5", 1, 2);
+        checkRow(rows.get("b"), "b", 2L, 2L, 6L, "3", 2, 4);
+        checkRow(rows.get(null), null, 1L, 1L, 5L, "5", 5, 5);
+    }
+
+    @Test
+    public void testNullValues() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = create(upstream, new int[] { 0 }, AggregatePhase.COMPLETE);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(row("a", null), row("a", null)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRow(exec.currentBatch().getRow(0), "a", 2L, 0L, null, null, null, null);
+    }
+
+    @Test
+    public void testNoGroupKey() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = create(upstream, new int[0], AggregatePhase.COMPLETE);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(row("a", 1), row("b", 4)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        assertEquals(1, exec.currentBatch().getRowCount());
+        checkRow(exec.currentBatch().getRow(0), 2L, 2L, 5L, "2.5", 1, 4);
+    }
+
+    @Test
+    public void testNoGroupKeyEmptyInput() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = create(upstream, new int[0], AggregatePhase.COMPLETE);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, EmptyRowBatch.INSTANCE);
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        assertEquals(1, exec.currentBatch().getRowCount());
+        checkRow(exec.currentBatch().getRow(0), 0L, 0L, null, null, null, null);
+
+        // The local phase produces nothing, the final phase produces the single row.
+        upstream = new UpstreamExec(1);
+        exec = create(upstream, new int[0], AggregatePhase.LOCAL);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, EmptyRowBatch.INSTANCE);
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(0, exec.currentBatch().getRowCount());
+
+        upstream = new UpstreamExec(1);
+        exec = create(upstream, new int[0], AggregatePhase.FINAL);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, EmptyRowBatch.INSTANCE);
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkRow(exec.currentBatch().getRow(0), 0L, 0L, null, null, null, null);
+    }
+
+    @Test
+    public void testEmptyInput() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = create(upstream, new int[] { 0 }, AggregatePhase.COMPLETE);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, EmptyRowBatch.INSTANCE);
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(0, exec.currentBatch().getRowCount());
+    }
+
+    @Test
+    public void testTwoPhases() {
+        int groupCount = 3000;
+
+        // Two local aggregations of the overlapping sets of groups.
+        List<Row> localRows = new ArrayList<>();
+
+        for (int member = 0; member < 2; member++) {
+            UpstreamExec upstream = new UpstreamExec(1);
+            AggregateExec exec = create(upstream, new int[] { 0 }, AggregatePhase.LOCAL);
+
+            List<Row> rows = new ArrayList<>();
+
+            for (int i = member * 1000; i < groupCount; i++) {
+                rows.add(row(i, i));
+                rows.add(row(i, null));
+            }
+
+            upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(rows));
+
+            // The groups are returned in several batches.
+            while (true) {
+                IterationResult result = exec.advance();
+                RowBatch batch = exec.currentBatch();
+
+                for (int i = 0; i < batch.getRowCount(); i++) {
+                    localRows.add(batch.getRow(i));
+                }
+
+                if (result == IterationResult.FETCHED_DONE) {
+                    break;
+                }
+
+                assertEquals(IterationResult.FETCHED, result);
+            }
+        }
+
+        assertEquals(groupCount + groupCount - 1000, localRows.size());
+
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = create(upstream, new int[] { 0 }, AggregatePhase.FINAL);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(localRows));
+
+        Map<Object, Row> rows = new HashMap<>();
+
+        while (true) {
+            IterationResult result = exec.advance();
+
+            rows.putAll(rowsByKey(exec.currentBatch()));
+
+            if (result == IterationResult.FETCHED_DONE) {
+                break;
+            }
+        }
+
+        assertEquals(groupCount, rows.size());
+
+        for (int i = 0; i < groupCount; i++) {
+            long count = i < 1000 ? 1 : 2;
+
+            checkRow(rows.get(i), i, 2 * count, count, count * i, Integer.toString(i), i, i);
+        }
+    }
+
+    @Test
+    public void testSumOverflow() {
+        UpstreamExec upstream = new UpstreamExec(1);
+
+        List<AggregateFunction> functions = Collections.singletonList(
+            new AggregateFunction(AggregateKind.SUM, 0, QueryDataType.BIGINT, QueryDataType.BIGINT)
+        );
+
+        AggregateExec exec = new AggregateExec(2, upstream, new int[0], functions, AggregatePhase.COMPLETE);
+        exec.setup(emptyFragmentContext());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(row(Long.MAX_VALUE), row(1L)));
+
+        assertThrows(QueryException.class, exec::advance);
+    }
+
+    @Test
+    public void testAvgOfLargeValues() {
+        UpstreamExec upstream = new UpstreamExec(1);
+
+        List<AggregateFunction> functions = Collections.singletonList(
+            new AggregateFunction(AggregateKind.AVG, 0, QueryDataType.BIGINT, QueryDataType.DECIMAL)
+        );
+
+        AggregateExec exec = new AggregateExec(2, upstream, new int[0], functions, AggregatePhase.COMPLETE);
+        exec.setup(emptyFragmentContext());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(row(Long.MAX_VALUE), row(Long.MAX_VALUE)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRow(exec.currentBatch().getRow(0), Long.toString(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testMemory() {
+        int rowWidth = 100;
+        QueryMemoryTracker memoryTracker = new QueryMemoryTracker(null, QueryStateRegistry.FRAGMENT_SCOPE, 3 * rowWidth);
+
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = new AggregateExec(2, upstream, new int[] { 0 }, FUNCTIONS, AggregatePhase.COMPLETE, rowWidth);
+        exec.setup(emptyFragmentContext(Collections.emptyList(), memoryTracker));
+
+        // The memory is reserved for every group.
+        upstream.addResult(IterationResult.FETCHED, batch(row("a", 1), row("b", 2), row("a", 3)));
+        assertEquals(IterationResult.WAIT, exec.advance());
+        assertEquals(2L * rowWidth, memoryTracker.getReserved());
+
+        // The memory is released when all the groups are returned.
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(row("c", 4)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(0L, memoryTracker.getReserved());
+        assertEquals(3L * rowWidth, memoryTracker.getPeakReserved());
+
+        // The query fails when the groups do not fit into the memory.
+        upstream = new UpstreamExec(1);
+        exec = new AggregateExec(2, upstream, new int[] { 0 }, FUNCTIONS, AggregatePhase.COMPLETE, rowWidth);
+        exec.setup(emptyFragmentContext(Collections.emptyList(), memoryTracker));
+
+        upstream.addResult(IterationResult.FETCHED, batch(row("a", 1), row("b", 2), row("c", 3), row("d", 4)));
+
+        try {
+            exec.advance();
+
+            fail();
+        } catch (QueryException e) {
+            assertEquals(SqlErrorCode.MEMORY_LIMIT_EXCEEDED, e.getCode());
+        }
+    }
+
+    private static AggregateExec create(UpstreamExec upstream, int[] groupKey, AggregatePhase phase) {
+        List<AggregateFunction> functions = FUNCTIONS;
+
+        if (phase == AggregatePhase.FINAL) {
+            // The final phase consumes the rows produced by the local phase.
+            groupKey = new int[groupKey.length];
+
+            for (int i = 0; i < groupKey.length; i++) {
+                groupKey[i] = i;
+            }
+        }
+
+        AggregateExec exec = new AggregateExec(2, upstream, groupKey, functions, phase);
+        exec.setup(emptyFragmentContext());
+
+        return exec;
+    }
+
+    private static ListRowBatch batch(Row... rows) {
+        return new ListRowBatch(Arrays.asList(rows));
+    }
+
+    private static Map<Object, Row> rowsByKey(RowBatch batch) {
+        Map<Object, Row> res = new HashMap<>();
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            Row row = batch.getRow(i);
+
+            res.put(row.get(0), row);
+        }
+
+        return res;
+    }
+
+    private static void checkRow(Row row, Object... expectedValues) {
+        assertEquals(expectedValues.length, row.getColumnCount());
+
+        for (int i = 0; i < expectedValues.length; i++) {
+            Object expected = expectedValues[i];
+            Object actual = row.get(i);
+
+            if (expected == null) {
+                assertNull(actual);
+            } else if (actual instanceof BigDecimal) {
+                assertEquals(0, new BigDecimal((String) expected).compareTo((BigDecimal) actual));
+            } else {
+                assertEquals(expected, actual);
+            }
+        }
+    }
+}
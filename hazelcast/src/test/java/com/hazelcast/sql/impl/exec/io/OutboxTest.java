@@ -24,6 +24,7 @@ import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.SqlTestSupport;
 import com.hazelcast.sql.impl.operation.QueryBatchExchangeOperation;
 import com.hazelcast.sql.impl.operation.QueryOperationHandler;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.ListRowBatch;
 import com.hazelcast.sql.impl.row.Row;
@@ -87,6 +88,18 @@ public class OutboxTest extends SqlTestSupport {
         assertEquals(remainingMemory, outbox.getRemainingMemory());
     }
 
+    @Test
+    public void testMetrics() {
+        Outbox outbox = createOutbox(new LoggingQueryOperationHandler());
+
+        // Not all rows fit into the remote memory.
+        outbox.onRowBatch(createMonotonicBatch(0, REPEAT_COUNT), false, 0, AlwaysTrueOutboxSendQualifier.INSTANCE);
+        assertEquals(1L, outbox.getMetrics().getSenderBlockedCount());
+
+        outbox.onFlowControl(REMAINING_MEMORY);
+        assertEquals(1L, outbox.getMetrics().getFlowControlReceivedCount());
+    }
+
     @Test
     public void testQualifier() {
         LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
@@ -106,6 +119,32 @@ public class OutboxTest extends SqlTestSupport {
         checkMonotonicBatch(operation.getBatch(), 2, 2);
     }
 
+    @Test
+    public void testColumnar() {
+        LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+
+        Outbox outbox = createOutbox(operationHandler);
+
+        // Columnar batches are sent in columnar form.
+        outbox.onRowBatch(createMonotonicColumnarBatch(0, 2), false, 0, AlwaysTrueOutboxSendQualifier.INSTANCE);
+        outbox.onRowBatch(createMonotonicColumnarBatch(2, 2), false, 0, AlwaysTrueOutboxSendQualifier.INSTANCE);
+        outbox.onRowBatch(createMonotonicColumnarBatch(4, 2), false, 0, AlwaysTrueOutboxSendQualifier.INSTANCE);
+
+        QueryBatchExchangeOperation operation = operationHandler.tryPollSubmitInfo().getOperation();
+
+        assertTrue(operation.getBatch() instanceof ColumnarRowBatch);
+        checkMonotonicBatch(operation.getBatch(), 0, 6);
+
+        // Pending columnar rows are merged with rows of a non-columnar batch.
+        outbox.onRowBatch(createMonotonicColumnarBatch(6, 1), false, 0, AlwaysTrueOutboxSendQualifier.INSTANCE);
+        outbox.onRowBatch(createMonotonicBatch(7, 1), true, 0, AlwaysTrueOutboxSendQualifier.INSTANCE);
+
+        operation = operationHandler.tryPollSubmitInfo().getOperation();
+
+        assertTrue(operation.getBatch() instanceof ListRowBatch);
+        checkMonotonicBatch(operation.getBatch(), 6, 2);
+    }
+
     @Test
     public void testCannotSend() {
         Outbox outbox = createOutbox(FaultyQueryOperationHandler.INSTANCE);
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.operation.QueryBatchExchangeOperation;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class UnicastSendExecTest extends SqlTestSupport {
+
+    private static final QueryId QUERY_ID = QueryId.create(UUID.randomUUID());
+    private static final int EDGE_ID = 1;
+    private static final UUID LOCAL_MEMBER_ID = UUID.randomUUID();
+    private static final UUID TARGET_MEMBER_ID_1 = UUID.randomUUID();
+    private static final UUID TARGET_MEMBER_ID_2 = UUID.randomUUID();
+
+    private static final int ROW_WIDTH = 100;
+    private static final int ROWS_IN_BATCH = 4;
+
+    @Test
+    public void testAdvance() {
+        LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+        UpstreamExec upstream = new UpstreamExec(1);
+
+        UnicastSendExec exec = create(operationHandler, upstream, 1000, false);
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED, createMonotonicBatch(0, 100));
+        upstream.addResult(IterationResult.FETCHED_DONE, createMonotonicBatch(100, 100));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        Map<Integer, UUID> targets = collectTargets(operationHandler, 200);
+
+        // Both members receive rows, and the choice of the member doesn't depend on the order of the outboxes.
+        assertEquals(2, new HashSet<>(targets.values()).size());
+
+        operationHandler = new LoggingQueryOperationHandler();
+        upstream = new UpstreamExec(1);
+
+        exec = create(operationHandler, upstream, 1000, true);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, createMonotonicBatch(0, 200));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        assertEquals(targets, collectTargets(operationHandler, 200));
+    }
+
+    @Test
+    public void testBackpressure() {
+        LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+        UpstreamExec upstream = new UpstreamExec(1);
+
+        UnicastSendExec exec = create(operationHandler, upstream, 8, false);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, createMonotonicBatch(0, 100));
+
+        Map<Integer, UUID> targets = new HashMap<>();
+
+        // The outboxes accept only several rows at once, so the batch is sent in several steps.
+        int steps = 0;
+
+        while (true) {
+            IterationResult result = exec.advance();
+
+            collectTargets(operationHandler, targets);
+
+            if (result == IterationResult.FETCHED_DONE) {
+                break;
+            }
+
+            assertEquals(IterationResult.WAIT, result);
+
+            for (Outbox outbox : exec.getOutboxes()) {
+                outbox.onFlowControl(ROW_WIDTH * 8);
+            }
+
+            steps++;
+        }
+
+        assertTrue(steps > 1);
+        assertEquals(100, targets.size());
+        assertNull(operationHandler.tryPollSubmitInfo());
+    }
+
+    private static UnicastSendExec create(
+        LoggingQueryOperationHandler operationHandler,
+        UpstreamExec upstream,
+        int rowsInRemainingMemory,
+        boolean reverse
+    ) {
+        Outbox outbox1 = createOutbox(operationHandler, TARGET_MEMBER_ID_1, rowsInRemainingMemory);
+        Outbox outbox2 = createOutbox(operationHandler, TARGET_MEMBER_ID_2, rowsInRemainingMemory);
+
+        Outbox[] outboxes = reverse ? new Outbox[] { outbox2, outbox1 } : new Outbox[] { outbox1, outbox2 };
+
+        UnicastSendExec exec = new UnicastSendExec(2, upstream, outboxes, new int[] { 0 });
+        exec.setup(emptyFragmentContext());
+
+        return exec;
+    }
+
+    private static Outbox createOutbox(LoggingQueryOperationHandler operationHandler, UUID targetMemberId, int rows) {
+        return new Outbox(
+            operationHandler,
+            QUERY_ID,
+            EDGE_ID,
+            ROW_WIDTH,
+            LOCAL_MEMBER_ID,
+            targetMemberId,
+            ROW_WIDTH * ROWS_IN_BATCH,
+            ROW_WIDTH * rows
+        );
+    }
+
+    private static Map<Integer, UUID> collectTargets(LoggingQueryOperationHandler operationHandler, int expectedCount) {
+        Map<Integer, UUID> res = new HashMap<>();
+
+        collectTargets(operationHandler, res);
+
+        assertEquals(expectedCount, res.size());
+
+        return res;
+    }
+
+    private static void collectTargets(LoggingQueryOperationHandler operationHandler, Map<Integer, UUID> targets) {
+        while (true) {
+            LoggingQueryOperationHandler.SubmitInfo submitInfo = operationHandler.tryPollSubmitInfo();
+
+            if (submitInfo == null) {
+                break;
+            }
+
+            QueryBatchExchangeOperation operation = submitInfo.getOperation();
+            RowBatch batch = operation.getBatch();
+
+            for (int i = 0; i < batch.getRowCount(); i++) {
+                UUID previous = targets.put(batch.getRow(i).get(0), submitInfo.getMemberId());
+
+                // Every row is sent exactly once.
+                assertNull(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol.credit;
+
+import com.hazelcast.sql.impl.FaultyQueryOperationHandler;
+import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.exec.io.ExchangeMetrics;
+import com.hazelcast.sql.impl.operation.QueryFlowControlExchangeOperation;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CreditFlowControlTest {
+
+    private static final QueryId QUERY_ID = QueryId.create(UUID.randomUUID());
+    private static final int EDGE_ID = 1;
+
+    @Test
+    public void testFactory() {
+        CreditFlowControlFactory factory = new CreditFlowControlFactory(1_000L);
+
+        CreditFlowControl flowControl = (CreditFlowControl) factory.create(100L);
+        assertEquals(100L, flowControl.getInitialMemory());
+        assertEquals(1_000L, flowControl.getMaxMemory());
+
+        // Budget is never less than the initial memory.
+        flowControl = (CreditFlowControl) factory.create(2_000L);
+        assertEquals(2_000L, flowControl.getMaxMemory());
+    }
+
+    @Test
+    public void testStream() {
+        UUID memberId = UUID.randomUUID();
+
+        CreditFlowControlStream stream = new CreditFlowControlStream(memberId, 100L, 200L);
+
+        assertEquals(memberId, stream.getMemberId());
+        assertEquals(100L, stream.getRemoteMemory());
+        assertEquals(200L, stream.getCredit());
+        assertEquals(0L, stream.getBufferedMemory());
+        assertEquals(0.0d, stream.getDrainRate(), 0.0d);
+        assertFalse(stream.isShouldSend());
+
+        stream.onBatchAdded(50L);
+        assertEquals(50L, stream.getBufferedMemory());
+
+        stream.onBatchRemoved(50L);
+        assertEquals(0L, stream.getBufferedMemory());
+
+        stream.updateDrainRate(0.5d);
+        assertEquals(25.0d, stream.getDrainRate(), 0.0d);
+
+        stream.updateDrainRate(0.5d);
+        assertEquals(12.5d, stream.getDrainRate(), 0.0d);
+
+        stream.onCreditGranted(300L);
+        assertEquals(300L, stream.getCredit());
+        assertEquals(300L, stream.getRemoteMemory());
+
+        stream.setShouldSend(true);
+        assertTrue(stream.isShouldSend());
+    }
+
+    @Test
+    public void testFlowControl() {
+        ExchangeMetrics metrics = new ExchangeMetrics();
+        LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+
+        CreditFlowControl flowControl = createFlowControl(1_000L, 4_000L, metrics, operationHandler);
+
+        UUID memberId = UUID.randomUUID();
+
+        // Sender has enough credit.
+        flowControl.onBatchAdded(memberId, 100L, false, 900L);
+        flowControl.onBatchRemoved(memberId, 100L, false);
+        flowControl.onFragmentExecutionCompleted();
+        assertNull(operationHandler.tryPollSubmitInfo());
+
+        // Sender is low on credit, but nothing is consumed yet.
+        flowControl.onBatchAdded(memberId, 800L, false, 100L);
+        flowControl.onFragmentExecutionCompleted();
+        assertNull(operationHandler.tryPollSubmitInfo());
+
+        // The only sender gets the whole budget up to the maximum credit.
+        flowControl.onBatchRemoved(memberId, 800L, false);
+        flowControl.onFragmentExecutionCompleted();
+        assertEquals(4_000L, pollOperations(operationHandler).get(memberId).longValue());
+        assertNull(operationHandler.tryPollSubmitInfo());
+
+        assertEquals(1L, metrics.getFlowControlSentCount());
+        assertEquals(4_000L, metrics.getGrantedMemory());
+        assertEquals(800L, metrics.getMaxBufferedMemory());
+
+        // No flow control after the last batch.
+        flowControl.onBatchAdded(memberId, 100L, false, 900L);
+        flowControl.onBatchAdded(memberId, 3_000L, true, 900L);
+        flowControl.onBatchRemoved(memberId, 100L, false);
+        flowControl.onBatchRemoved(memberId, 3_000L, true);
+        flowControl.onFragmentExecutionCompleted();
+        assertNull(operationHandler.tryPollSubmitInfo());
+    }
+
+    @Test
+    public void testCreditProportionalToDrainRate() {
+        LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+
+        CreditFlowControl flowControl = createFlowControl(1_000L, 3_000L, new ExchangeMetrics(), operationHandler);
+
+        UUID fastMemberId = UUID.randomUUID();
+        UUID slowMemberId = UUID.randomUUID();
+
+        flowControl.onBatchAdded(fastMemberId, 600L, false, 200L);
+        flowControl.onBatchAdded(slowMemberId, 200L, false, 200L);
+        flowControl.onBatchRemoved(fastMemberId, 600L, false);
+        flowControl.onBatchRemoved(slowMemberId, 200L, false);
+        flowControl.onFragmentExecutionCompleted();
+
+        Map<UUID, Long> credits = pollOperations(operationHandler);
+        assertEquals(2, credits.size());
+        assertEquals(2_250L, credits.get(fastMemberId).longValue());
+        assertEquals(750L, credits.get(slowMemberId).longValue());
+    }
+
+    @Test
+    public void testMinCredit() {
+        LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+
+        CreditFlowControl flowControl = createFlowControl(1_000L, 1_000L, new ExchangeMetrics(), operationHandler);
+
+        UUID memberId1 = UUID.randomUUID();
+        UUID memberId2 = UUID.randomUUID();
+
+        // The budget is exhausted by the second sender, but the first sender still gets enough credit for one batch.
+        flowControl.onBatchAdded(memberId1, 500L, false, 200L);
+        flowControl.onBatchAdded(memberId2, 400L, false, 900L);
+        flowControl.onBatchRemoved(memberId1, 500L, false);
+        flowControl.onFragmentExecutionCompleted();
+
+        Map<UUID, Long> credits = pollOperations(operationHandler);
+        assertEquals(1, credits.size());
+        assertEquals(500L, credits.get(memberId1).longValue());
+    }
+
+    @Test
+    public void testCannotSend() {
+        CreditFlowControl flowControl = new CreditFlowControl(1_000L, 1_000L, new ExchangeMetrics());
+        flowControl.setup(QUERY_ID, EDGE_ID, UUID.randomUUID(), FaultyQueryOperationHandler.INSTANCE);
+
+        UUID memberId = UUID.randomUUID();
+
+        flowControl.onBatchAdded(memberId, 800L, false, 200L);
+        flowControl.onBatchRemoved(memberId, 800L, false);
+
+        try {
+            flowControl.onFragmentExecutionCompleted();
+
+            fail();
+        } catch (QueryException e) {
+            assertEquals(SqlErrorCode.CONNECTION_PROBLEM, e.getCode());
+        }
+    }
+
+    private static CreditFlowControl createFlowControl(
+        long initialMemory,
+        long maxMemory,
+        ExchangeMetrics metrics,
+        LoggingQueryOperationHandler operationHandler
+    ) {
+        CreditFlowControl res = new CreditFlowControl(initialMemory, maxMemory, metrics);
+
+        res.setup(QUERY_ID, EDGE_ID, UUID.randomUUID(), operationHandler);
+
+        return res;
+    }
+
+    private static Map<UUID, Long> pollOperations(LoggingQueryOperationHandler operationHandler) {
+        Map<UUID, Long> res = new HashMap<>();
+
+        while (true) {
+            LoggingQueryOperationHandler.SubmitInfo submit = operationHandler.tryPollSubmitInfo();
+
+            if (submit == null) {
+                break;
+            }
+
+            QueryFlowControlExchangeOperation operation = submit.getOperation();
+            assertEquals(QUERY_ID, operation.getQueryId());
+            assertEquals(EDGE_ID, operation.getEdgeId());
+
+            res.put(submit.getMemberId(), operation.getRemainingMemory());
+        }
+
+        return res;
+    }
+}
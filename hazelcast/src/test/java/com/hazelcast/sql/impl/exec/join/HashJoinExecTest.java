@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.join;
+
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.FunctionalPredicateExpression;
+import com.hazelcast.sql.impl.row.EmptyRowBatch;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class HashJoinExecTest extends SqlTestSupport {
+
+    private static final int[] KEY = new int[] { 0 };
+
+    @Test
+    public void testInner() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = create(left, right, KEY, KEY, null, false);
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        // The left input is not consumed until the right input is built.
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(1, "l1"), row(2, "l2"), row(3, "l3")));
+        right.addResult(IterationResult.FETCHED, batch(row(1, "r1"), row(2, "r2")));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        right.addResult(IterationResult.FETCHED, EmptyRowBatch.INSTANCE);
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(2, "r2'"), row(4, "r4")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRows(
+            exec.currentBatch(),
+            Arrays.asList(1, "l1", 1, "r1"),
+            Arrays.asList(2, "l2", 2, "r2"),
+            Arrays.asList(2, "l2", 2, "r2'")
+        );
+    }
+
+    @Test
+    public void testOuter() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = create(left, right, KEY, KEY, null, true);
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(1, "r1"), row(null, "r0")));
+        left.addResult(IterationResult.FETCHED, batch(row(1, "l1"), row(2, "l2")));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(null, "l0")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRows(
+            exec.currentBatch(),
+            Arrays.asList(1, "l1", 1, "r1"),
+            Arrays.asList(2, "l2", null, null),
+            Arrays.asList(null, "l0", null, null)
+        );
+    }
+
+    @Test
+    public void testNullKeysNeverMatch() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = create(left, right, KEY, KEY, null, false);
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(null, "r0"), row(1, "r1")));
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(null, "l0"), row(1, "l1")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRows(
+            exec.currentBatch(),
+            Arrays.asList(1, "l1", 1, "r1")
+        );
+    }
+
+    @Test
+    public void testCondition() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+
+        // The right value must be greater than the left one; NULL means no match.
+        Expression<Boolean> condition = new FunctionalPredicateExpression(row -> {
+            Integer leftValue = row.get(1);
+            Integer rightValue = row.get(3);
+
+            return leftValue == null || rightValue == null ? null : rightValue > leftValue;
+        });
+
+        HashJoinExec exec = create(left, right, KEY, KEY, condition, true);
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(1, 10), row(1, 20), row(2, null)));
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(1, 15), row(1, 30), row(2, 1)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRows(
+            exec.currentBatch(),
+            Arrays.asList(1, 15, 1, 20),
+            Arrays.asList(1, 30, null, null),
+            Arrays.asList(2, 1, null, null)
+        );
+    }
+
+    @Test
+    public void testCompositeKey() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = create(left, right, new int[] { 0, 1 }, new int[] { 1, 0 }, null, false);
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row("b", 1), row("a", 2), row("a", 1)));
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(1, "a"), row(2, "b")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRows(
+            exec.currentBatch(),
+            Arrays.asList(1, "a", "a", 1)
+        );
+    }
+
+    @Test
+    public void testNoKey() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = create(left, right, new int[0], new int[0], null, false);
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row("r1"), row("r2")));
+        left.addResult(IterationResult.FETCHED_DONE, batch(row("l1"), row("l2")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRows(
+            exec.currentBatch(),
+            Arrays.asList("l1", "r1"),
+            Arrays.asList("l1", "r2"),
+            Arrays.asList("l2", "r1"),
+            Arrays.asList("l2", "r2")
+        );
+    }
+
+    @Test
+    public void testBatching() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = create(left, right, new int[0], new int[0], null, false);
+
+        // Every left row produces 100 rows, so the output doesn't fit a single batch.
+        right.addResult(IterationResult.FETCHED_DONE, createMonotonicBatch(0, 100));
+        left.addResult(IterationResult.FETCHED_DONE, createMonotonicBatch(0, 30));
+
+        int rowCount = 0;
+
+        while (true) {
+            IterationResult result = exec.advance();
+
+            rowCount += exec.currentBatch().getRowCount();
+
+            if (result == IterationResult.FETCHED_DONE) {
+                break;
+            }
+
+            assertEquals(IterationResult.FETCHED, result);
+            assertEquals(HashJoinExec.BATCH_SIZE, exec.currentBatch().getRowCount());
+        }
+
+        assertEquals(3000, rowCount);
+    }
+
+    private static HashJoinExec create(
+        UpstreamExec left,
+        UpstreamExec right,
+        int[] leftKey,
+        int[] rightKey,
+        Expression<Boolean> condition,
+        boolean outer
+    ) {
+        HashJoinExec exec = new HashJoinExec(3, left, right, leftKey, rightKey, condition, outer, 2);
+        exec.setup(emptyFragmentContext());
+
+        return exec;
+    }
+
+    private static ListRowBatch batch(Row... rows) {
+        return new ListRowBatch(Arrays.asList(rows));
+    }
+
+    @SafeVarargs
+    private static void checkRows(RowBatch batch, List<Object>... expectedRows) {
+        Set<List<Object>> rows = new HashSet<>();
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            Row row = batch.getRow(i);
+
+            List<Object> values = new ArrayList<>(row.getColumnCount());
+
+            for (int j = 0; j < row.getColumnCount(); j++) {
+                values.add(row.get(j));
+            }
+
+            rows.add(values);
+        }
+
+        assertEquals(expectedRows.length, batch.getRowCount());
+        assertEquals(new HashSet<>(Arrays.asList(expectedRows)), rows);
+    }
+}
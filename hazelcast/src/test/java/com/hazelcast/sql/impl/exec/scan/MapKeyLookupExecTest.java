@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapKeyLookupExecTest extends SqlTestSupport {
+
+    private static final String MAP_NAME = "map";
+    private static final int ENTRY_COUNT = 100;
+
+    private static final TestHazelcastInstanceFactory FACTORY = new TestHazelcastInstanceFactory(1);
+
+    private static MapProxyImpl<Integer, Integer> map;
+    private static int partitionCount;
+
+    @BeforeClass
+    @SuppressWarnings("unchecked")
+    public static void beforeClass() {
+        HazelcastInstance instance = FACTORY.newHazelcastInstance();
+
+        map = (MapProxyImpl<Integer, Integer>) instance.<Integer, Integer>getMap(MAP_NAME);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i * 10);
+        }
+
+        partitionCount = instance.getPartitionService().getPartitions().size();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        FACTORY.shutdownAll();
+    }
+
+    @Test
+    public void testLookup() {
+        PartitionIdSet partitions = new PartitionIdSet(partitionCount);
+
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(i);
+        }
+
+        // Duplicate, missing and NULL keys are ignored.
+        Map<Integer, Integer> res = lookup(
+            partitions,
+            Arrays.asList(
+                ConstantExpression.create(1, QueryDataType.INT),
+                ConstantExpression.create(5, QueryDataType.INT),
+                ConstantExpression.create(1, QueryDataType.INT),
+                ConstantExpression.create(ENTRY_COUNT, QueryDataType.INT),
+                ParameterExpression.create(0, QueryDataType.INT),
+                ParameterExpression.create(1, QueryDataType.INT)
+            ),
+            Arrays.asList(7, null)
+        );
+
+        Map<Integer, Integer> expected = new HashMap<>();
+        expected.put(1, 10);
+        expected.put(5, 50);
+        expected.put(7, 70);
+
+        assertEquals(expected, res);
+    }
+
+    @Test
+    public void testLookupNonLocalPartition() {
+        int partitionId = map.getNodeEngine().getPartitionService().getPartitionId(5);
+
+        PartitionIdSet partitions = new PartitionIdSet(partitionCount);
+
+        for (int i = 0; i < partitionCount; i++) {
+            if (i != partitionId) {
+                partitions.add(i);
+            }
+        }
+
+        Map<Integer, Integer> res = lookup(
+            partitions,
+            Arrays.asList(ConstantExpression.create(1, QueryDataType.INT), ConstantExpression.create(5, QueryDataType.INT)),
+            null
+        );
+
+        Map<Integer, Integer> expected = new HashMap<>();
+        expected.put(1, 10);
+
+        assertEquals(expected, res);
+    }
+
+    private static Map<Integer, Integer> lookup(PartitionIdSet partitions, List<Expression<?>> keys, List<Object> args) {
+        MapContainer mapContainer = map.getService().getMapServiceContext().getMapContainer(MAP_NAME);
+        InternalSerializationService serializationService =
+            (InternalSerializationService) map.getNodeEngine().getSerializationService();
+
+        MapKeyLookupExec exec = new MapKeyLookupExec(
+            1,
+            mapContainer,
+            partitions,
+            GenericQueryTargetDescriptor.DEFAULT,
+            GenericQueryTargetDescriptor.DEFAULT,
+            Arrays.asList(QueryPath.KEY_PATH, QueryPath.VALUE_PATH),
+            Arrays.asList(QueryDataType.INT, QueryDataType.INT),
+            Arrays.asList(0, 1),
+            null,
+            keys,
+            serializationService
+        );
+
+        exec.setup(args != null ? emptyFragmentContext(args) : emptyFragmentContext());
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        RowBatch batch = exec.currentBatch();
+
+        Map<Integer, Integer> res = new HashMap<>();
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            res.put(batch.getRow(i).get(0), batch.getRow(i).get(1));
+        }
+
+        assertEquals(res.size(), batch.getRowCount());
+
+        return res;
+    }
+}
@@ -16,9 +16,13 @@
 
 package com.hazelcast.sql.impl.exec.sort;
 
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.logging.NoLogFactory;
 import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
+import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.TestClockProvider;
 import com.hazelcast.sql.impl.UpstreamExec;
 import com.hazelcast.sql.impl.exec.IterationResult;
 import com.hazelcast.sql.impl.exec.fetch.Fetch;
@@ -32,21 +36,37 @@ import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.SimpleExpressionEvalContext;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.state.QueryMemoryTracker;
+import com.hazelcast.sql.impl.state.QueryState;
+import com.hazelcast.sql.impl.state.QueryStateCompletionCallback;
+import com.hazelcast.sql.impl.state.QueryStateRegistry;
+import com.hazelcast.sql.impl.worker.QueryFragmentExecutable;
+import com.hazelcast.sql.impl.worker.QueryFragmentWorkerPool;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static com.hazelcast.sql.impl.type.QueryDataType.BIGINT;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
 import static com.hazelcast.sql.impl.type.QueryDataType.VARCHAR;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -58,6 +78,11 @@ import static org.junit.Assert.assertTrue;
 @Category({QuickTest.class, ParallelJVMTest.class})
 public class SortExecTest extends SqlTestSupport {
 
+    private static final int ROW_WIDTH = 100;
+
+    @Rule
+    public TemporaryFolder spillDirectory = new TemporaryFolder();
+
     @Test
     public void testSortKey() {
         Object[] key = new Object[]{1, null, "foo", Long.MAX_VALUE};
@@ -635,6 +660,234 @@ public class SortExecTest extends SqlTestSupport {
         assertBatch(exec.currentBatch(), 4, 11, 14, true);
     }
 
+    @Test
+    public void testSortExec() {
+        List<Row> input = createRandomRows(3000);
+
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createSortExec(upstream, true, null, null, ROW_WIDTH * 10_000L);
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED, new ListRowBatch(input.subList(0, 1000)));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(input.subList(1000, 3000)));
+
+        checkRows(sorted(input, true), consume(exec));
+        assertEquals(0, exec.getSpilledRunCount());
+    }
+
+    @Test
+    public void testSortExecDescending() {
+        List<Row> input = createRandomRows(3000);
+
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createSortExec(upstream, false, null, null, ROW_WIDTH * 10_000L);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(input));
+
+        checkRows(sorted(input, false), consume(exec));
+    }
+
+    @Test
+    public void testSortExecEmpty() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createSortExec(upstream, true, null, null, ROW_WIDTH * 10_000L);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, EmptyRowBatch.INSTANCE);
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(0, exec.currentBatch().getRowCount());
+    }
+
+    @Test
+    public void testSortExecTopRows() {
+        List<Row> input = createRandomRows(3000);
+
+        // The top rows fit into the memory budget, so that nothing is spilled.
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createSortExec(upstream, true, 10, 5, ROW_WIDTH * 100L);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(input));
+
+        checkRows(sorted(input, true).subList(5, 15), consume(exec));
+        assertEquals(0, exec.getSpilledRunCount());
+
+        // Zero rows are fetched.
+        upstream = new UpstreamExec(1);
+        exec = createSortExec(upstream, true, 0, null, ROW_WIDTH * 100L);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(input));
+
+        assertEquals(0, consume(exec).size());
+    }
+
+    @Test
+    public void testSortExecSpill() {
+        List<Row> input = createRandomRows(3000);
+
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createSortExec(upstream, true, null, null, ROW_WIDTH * 100L);
+
+        upstream.addResult(IterationResult.FETCHED, new ListRowBatch(input.subList(0, 1050)));
+        assertEquals(IterationResult.WAIT, exec.advance());
+        assertEquals(10, exec.getSpilledRunCount());
+        assertEquals(10, spillDirectory.getRoot().list().length);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(input.subList(1050, 3000)));
+
+        checkRows(sorted(input, true), consume(exec));
+        assertEquals(30, exec.getSpilledRunCount());
+
+        // Files are deleted once the runs are merged.
+        assertEquals(0, spillDirectory.getRoot().list().length);
+    }
+
+    @Test
+    public void testSortExecSpillWithFetch() {
+        List<Row> input = createRandomRows(3000);
+
+        // The top rows do not fit into the memory budget.
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createSortExec(upstream, false, 200, 50, ROW_WIDTH * 100L);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(input));
+
+        checkRows(sorted(input, false).subList(50, 250), consume(exec));
+        assertEquals(30, exec.getSpilledRunCount());
+
+        // Files of the runs which were not read till the end are deleted too.
+        assertEquals(0, spillDirectory.getRoot().list().length);
+    }
+
+    @Test
+    public void testSortExecSpillCancelled() {
+        UUID localMemberId = UUID.randomUUID();
+
+        QueryState state = QueryState.createDistributedState(
+            QueryId.create(localMemberId),
+            localMemberId,
+            new NoopCompletionCallback(),
+            QueryMemoryTracker.createUnlimited(QueryStateRegistry.QUERY_SCOPE),
+            TestClockProvider.createDefault()
+        );
+
+        QueryFragmentWorkerPool pool = new QueryFragmentWorkerPool("instance", 1, new NoLogFactory().getLogger("logger"));
+
+        try {
+            UpstreamExec upstream = new UpstreamExec(1);
+            SortExec exec = newSortExec(upstream, true, null, null, ROW_WIDTH * 100L);
+
+            QueryFragmentExecutable fragment = new QueryFragmentExecutable(
+                state,
+                Collections.emptyList(),
+                exec,
+                Collections.emptyMap(),
+                Collections.emptyMap(),
+                pool
+            );
+
+            state.getDistributedState().onStart(Collections.singletonList(fragment));
+
+            // The upstream is not done, so that the spilled runs are not merged.
+            upstream.addResult(IterationResult.FETCHED, new ListRowBatch(createRandomRows(1050)));
+            fragment.schedule();
+
+            assertTrueEventually(() -> assertEquals(10, spillDirectory.getRoot().list().length));
+
+            // The cancel makes the fragment release the executor, even though no more rows arrive.
+            state.cancel(QueryException.cancelledByUser(), true);
+
+            assertTrueEventually(() -> assertEquals(0, spillDirectory.getRoot().list().length));
+        } finally {
+            pool.stop();
+        }
+    }
+
+    private SortExec createSortExec(UpstreamExec upstream, boolean asc, Integer fetch, Integer offset, long memoryBudget) {
+        SortExec exec = newSortExec(upstream, asc, fetch, offset, memoryBudget);
+
+        exec.setup(emptyFragmentContext());
+
+        return exec;
+    }
+
+    private SortExec newSortExec(UpstreamExec upstream, boolean asc, Integer fetch, Integer offset, long memoryBudget) {
+        return new SortExec(
+            2,
+            upstream,
+            new int[] { 0 },
+            new boolean[] { asc },
+            fetch == null ? null : ConstantExpression.create(fetch, INT),
+            offset == null ? null : ConstantExpression.create(offset, INT),
+            new DefaultSerializationServiceBuilder().build(),
+            memoryBudget,
+            ROW_WIDTH,
+            spillDirectory.getRoot()
+        );
+    }
+
+    /**
+     * @return Rows with random sort keys, including nulls and duplicates, and with the sequence number of the row.
+     */
+    private static List<Row> createRandomRows(int count) {
+        Random random = ThreadLocalRandom.current();
+
+        List<Row> res = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Integer key = random.nextInt(10) == 0 ? null : random.nextInt(count / 3);
+
+            res.add(HeapRow.of(key, i));
+        }
+
+        return res;
+    }
+
+    private static List<Row> sorted(List<Row> rows, boolean asc) {
+        Comparator<Integer> comparator = asc
+            ? Comparator.nullsFirst(Comparator.<Integer>naturalOrder())
+            : Comparator.nullsLast(Comparator.<Integer>reverseOrder());
+
+        List<Row> res = new ArrayList<>(rows);
+
+        // The sort is stable.
+        res.sort((row1, row2) -> comparator.compare(row1.get(0), row2.get(0)));
+
+        return res;
+    }
+
+    private static List<Row> consume(SortExec exec) {
+        List<Row> res = new ArrayList<>();
+
+        while (true) {
+            IterationResult result = exec.advance();
+            RowBatch batch = exec.currentBatch();
+
+            assertTrue(batch.getRowCount() <= SortExec.BATCH_SIZE);
+
+            for (int i = 0; i < batch.getRowCount(); i++) {
+                res.add(batch.getRow(i));
+            }
+
+            if (result == IterationResult.FETCHED_DONE) {
+                return res;
+            }
+
+            assertEquals(IterationResult.FETCHED, result);
+        }
+    }
+
+    private static void checkRows(List<Row> expected, List<Row> actual) {
+        assertEquals(expected.size(), actual.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals((Object) expected.get(i).get(0), actual.get(i).get(0));
+            assertEquals((Object) expected.get(i).get(1), actual.get(i).get(1));
+        }
+    }
+
     private Fetch newFetch(Long offset, Long limit) {
         Expression<?> limitExpr = limit == null ? null : ConstantExpression.create(limit, BIGINT);
         Expression<?> offsetExpr = offset == null ? null : ConstantExpression.create(offset, BIGINT);
@@ -702,4 +955,17 @@ public class SortExecTest extends SqlTestSupport {
     }
 
 
+
+    private static class NoopCompletionCallback implements QueryStateCompletionCallback {
+        @Override
+        public void onCompleted(QueryId queryId) {
+            // No-op.
+        }
+
+        @Override
+        public void onError(QueryId queryId, int errorCode, String errorMessage, UUID originatingMemberId,
+                            Collection<UUID> memberIds) {
+            // No-op.
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression;
+
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.row.ColumnVector;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExpressionBatchEvalTest {
+
+    private static final ExpressionEvalContext CONTEXT = SimpleExpressionEvalContext.create();
+
+    private static final List<QueryDataType> TYPES = Arrays.asList(
+        QueryDataType.INT,
+        QueryDataType.BIGINT,
+        QueryDataType.DOUBLE,
+        QueryDataType.VARCHAR,
+        QueryDataType.BOOLEAN
+    );
+
+    @Test
+    public void testColumnAndConstant() {
+        ColumnarRowBatch batch = createBatch();
+
+        check(batch, ColumnExpression.create(0, QueryDataType.INT));
+        check(batch, ColumnExpression.create(3, QueryDataType.VARCHAR));
+        check(batch, ConstantExpression.create(1, QueryDataType.INT));
+        check(batch, ConstantExpression.create(null, QueryDataType.INT));
+    }
+
+    @Test
+    public void testComparison() {
+        ColumnarRowBatch batch = createBatch();
+
+        for (ComparisonMode mode : ComparisonMode.values()) {
+            check(batch, comparison(0, QueryDataType.INT, 5, mode));
+            check(batch, comparison(1, QueryDataType.BIGINT, 5L, mode));
+            check(batch, comparison(2, QueryDataType.DOUBLE, 5.0d, mode));
+            check(batch, comparison(3, QueryDataType.VARCHAR, "5", mode));
+            check(batch, comparison(4, QueryDataType.BOOLEAN, true, mode));
+
+            check(batch, ComparisonPredicate.create(
+                ColumnExpression.create(0, QueryDataType.INT),
+                ColumnExpression.create(0, QueryDataType.INT),
+                mode
+            ));
+        }
+    }
+
+    @Test
+    public void testLogic() {
+        ColumnarRowBatch batch = createBatch();
+
+        Expression<?> less = comparison(0, QueryDataType.INT, 5, ComparisonMode.LESS_THAN);
+        Expression<?> even = ColumnExpression.create(4, QueryDataType.BOOLEAN);
+
+        check(batch, AndPredicate.create(less, even));
+        check(batch, AndPredicate.create(even, less));
+        check(batch, OrPredicate.create(less, even));
+        check(batch, OrPredicate.create(even, less));
+        check(batch, NotPredicate.create(less));
+        check(batch, NotPredicate.create(even));
+        check(batch, IsNullPredicate.create(less));
+        check(batch, IsNotNullPredicate.create(even));
+        check(batch, AndPredicate.create(OrPredicate.create(less, even), NotPredicate.create(even)));
+    }
+
+    @Test
+    public void testShortCircuit() {
+        ColumnarRowBatch batch = createBatch();
+
+        Expression<?> even = ColumnExpression.create(4, QueryDataType.BOOLEAN);
+        Expression<?> failOnOdd = new FunctionalPredicateExpression(row -> {
+            Boolean value = row.get(4);
+
+            if (value != null && !value) {
+                throw new AssertionError("Must not be evaluated");
+            }
+
+            return true;
+        });
+
+        check(batch, AndPredicate.create(even, failOnOdd));
+        check(batch, OrPredicate.create(NotPredicate.create(even), failOnOdd));
+    }
+
+    @Test
+    public void testDefault() {
+        ColumnarRowBatch batch = createBatch();
+
+        check(batch, new FunctionalPredicateExpression(row -> {
+            Integer value = row.get(0);
+
+            return value == null ? null : value % 3 == 0;
+        }));
+    }
+
+    private static void check(ColumnarRowBatch batch, Expression<?> expression) {
+        ColumnVector res = expression.evalBatch(batch, CONTEXT);
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            assertEquals(expression.toString(), expression.eval(batch.getRow(i), CONTEXT), res.get(i));
+        }
+    }
+
+    private static Expression<?> comparison(int index, QueryDataType type, Object value, ComparisonMode mode) {
+        return ComparisonPredicate.create(ColumnExpression.create(index, type), ConstantExpression.create(value, type), mode);
+    }
+
+    private static ColumnarRowBatch createBatch() {
+        ColumnarRowBatch batch = new ColumnarRowBatch(TYPES, 16);
+
+        for (int i = 0; i < 10; i++) {
+            if (i % 4 == 3) {
+                batch.addRow(HeapRow.of(null, null, null, null, null));
+            } else {
+                batch.addRow(HeapRow.of(i, (long) i, (double) i, Integer.toString(i), i % 2 == 0));
+            }
+        }
+
+        return batch;
+    }
+}
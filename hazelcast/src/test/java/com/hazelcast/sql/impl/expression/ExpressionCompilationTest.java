@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.expression.string.LikeFunction;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExpressionCompilationTest {
+
+    private static final ExpressionEvalContext CONTEXT = SimpleExpressionEvalContext.create();
+
+    /** Columns: INT, BIGINT, DOUBLE, VARCHAR, BOOLEAN, DECIMAL, TINYINT, OBJECT. */
+    private static final List<Row> ROWS = createRows();
+
+    @Test
+    public void testColumnAndConstant() {
+        check(ColumnExpression.create(0, QueryDataType.INT));
+        check(ColumnExpression.create(3, QueryDataType.VARCHAR));
+        check(ConstantExpression.create(1, QueryDataType.INT));
+        check(ConstantExpression.create(null, QueryDataType.INT));
+    }
+
+    @Test
+    public void testComparison() {
+        for (ComparisonMode mode : ComparisonMode.values()) {
+            check(comparison(0, QueryDataType.INT, 5, mode));
+            check(comparison(1, QueryDataType.BIGINT, 5L, mode));
+            check(comparison(2, QueryDataType.DOUBLE, 5.0d, mode));
+            check(comparison(3, QueryDataType.VARCHAR, "5", mode));
+            check(comparison(4, QueryDataType.BOOLEAN, true, mode));
+            check(comparison(5, QueryDataType.DECIMAL, BigDecimal.valueOf(5), mode));
+            check(comparison(6, QueryDataType.TINYINT, (byte) 5, mode));
+            check(ComparisonPredicate.create(
+                ColumnExpression.create(7, QueryDataType.OBJECT),
+                ColumnExpression.create(7, QueryDataType.OBJECT),
+                mode
+            ));
+        }
+    }
+
+    @Test
+    public void testArithmetic() {
+        for (QueryDataType type : new QueryDataType[] { QueryDataType.INT, QueryDataType.BIGINT, QueryDataType.DOUBLE }) {
+            int index = type == QueryDataType.INT ? 0 : type == QueryDataType.BIGINT ? 1 : 2;
+
+            check(PlusFunction.create(ColumnExpression.create(index, type), ColumnExpression.create(index, type), type));
+            check(MinusFunction.create(
+                ColumnExpression.create(index, type),
+                ColumnExpression.create(0, QueryDataType.INT),
+                type
+            ));
+            check(MultiplyFunction.create(ColumnExpression.create(index, type), ColumnExpression.create(index, type), type));
+        }
+
+        check(PlusFunction.create(
+            ColumnExpression.create(5, QueryDataType.DECIMAL),
+            ColumnExpression.create(5, QueryDataType.DECIMAL),
+            QueryDataType.DECIMAL
+        ));
+        check(MultiplyFunction.create(
+            ColumnExpression.create(6, QueryDataType.TINYINT),
+            ColumnExpression.create(6, QueryDataType.TINYINT),
+            QueryDataType.TINYINT
+        ));
+
+        // Nested expression.
+        check(comparison(PlusFunction.create(
+            ColumnExpression.create(0, QueryDataType.INT),
+            ConstantExpression.create(1, QueryDataType.INT),
+            QueryDataType.INT
+        ), QueryDataType.INT, 5, ComparisonMode.GREATER_THAN));
+    }
+
+    @Test
+    public void testArithmeticOverflow() {
+        Expression<?> expression = PlusFunction.create(
+            ColumnExpression.create(1, QueryDataType.BIGINT),
+            ConstantExpression.create(Long.MAX_VALUE, QueryDataType.BIGINT),
+            QueryDataType.BIGINT
+        );
+
+        Row row = HeapRow.of(0, 1L);
+
+        assertEquals(message(() -> expression.eval(row, CONTEXT)), message(() -> expression.compile().eval(row, CONTEXT)));
+    }
+
+    @Test
+    public void testNestedPrimitives() {
+        Expression<?> intColumn = ColumnExpression.create(0, QueryDataType.INT);
+        Expression<?> bigintColumn = ColumnExpression.create(1, QueryDataType.BIGINT);
+        Expression<?> doubleColumn = ColumnExpression.create(2, QueryDataType.DOUBLE);
+        Expression<?> intSum = PlusFunction.create(intColumn, intColumn, QueryDataType.INT);
+
+        check(PlusFunction.create(intColumn, ConstantExpression.create(Integer.MAX_VALUE, QueryDataType.INT), QueryDataType.INT));
+        check(MultiplyFunction.create(intSum, bigintColumn, QueryDataType.BIGINT));
+        check(MinusFunction.create(doubleColumn, intSum, QueryDataType.DOUBLE));
+        check(PlusFunction.create(
+            doubleColumn,
+            PlusFunction.create(bigintColumn, ConstantExpression.create(null, QueryDataType.BIGINT), QueryDataType.BIGINT),
+            QueryDataType.DOUBLE
+        ));
+        check(comparison(MultiplyFunction.create(doubleColumn, intSum, QueryDataType.DOUBLE), QueryDataType.DOUBLE, 20.0d,
+            ComparisonMode.LESS_THAN_OR_EQUAL));
+        check(ComparisonPredicate.create(intSum, ConstantExpression.create(null, QueryDataType.INT), ComparisonMode.EQUALS));
+
+        Expression<?> less = comparison(0, QueryDataType.INT, 5, ComparisonMode.LESS_THAN);
+        Expression<?> even = ColumnExpression.create(4, QueryDataType.BOOLEAN);
+        Expression<?> unknown = ConstantExpression.create(null, QueryDataType.BOOLEAN);
+
+        check(AndPredicate.create(unknown, less));
+        check(AndPredicate.create(less, unknown));
+        check(OrPredicate.create(unknown, less));
+        check(OrPredicate.create(less, unknown));
+        check(AndPredicate.create(less, unknown, even));
+        check(OrPredicate.create(even, unknown, less));
+        check(NotPredicate.create(AndPredicate.create(less, even)));
+        check(NotPredicate.create(unknown));
+    }
+
+    @Test
+    public void testPrimitiveForms() {
+        Expression<?> intColumn = ColumnExpression.create(0, QueryDataType.INT);
+        Expression<?> bigintColumn = ColumnExpression.create(1, QueryDataType.BIGINT);
+        Expression<?> doubleColumn = ColumnExpression.create(2, QueryDataType.DOUBLE);
+
+        assertTrue(PlusFunction.create(intColumn, intColumn, QueryDataType.INT).compile() instanceof CompiledLongExpression);
+        assertTrue(MinusFunction.create(bigintColumn, intColumn, QueryDataType.BIGINT).compile()
+            instanceof CompiledLongExpression);
+        assertTrue(MultiplyFunction.create(doubleColumn, intColumn, QueryDataType.DOUBLE).compile()
+            instanceof CompiledDoubleExpression);
+
+        Expression<?> less = comparison(1, QueryDataType.BIGINT, 5L, ComparisonMode.LESS_THAN);
+        Expression<?> greater = comparison(2, QueryDataType.DOUBLE, 5.0d, ComparisonMode.GREATER_THAN);
+
+        assertTrue(less.compile() instanceof CompiledBooleanExpression);
+        assertTrue(greater.compile() instanceof CompiledBooleanExpression);
+        assertTrue(AndPredicate.create(less, greater).compile() instanceof CompiledBooleanExpression);
+        assertTrue(OrPredicate.create(less, greater).compile() instanceof CompiledBooleanExpression);
+        assertTrue(NotPredicate.create(less).compile() instanceof CompiledBooleanExpression);
+
+        // Decimal operands are not converted to primitives.
+        Expression<?> decimalColumn = ColumnExpression.create(5, QueryDataType.DECIMAL);
+
+        assertFalse(PlusFunction.create(decimalColumn, decimalColumn, QueryDataType.DECIMAL).compile()
+            instanceof CompiledLongExpression);
+    }
+
+    @Test
+    public void testCast() {
+        check(CastExpression.create(ColumnExpression.create(0, QueryDataType.INT), QueryDataType.BIGINT));
+        check(CastExpression.create(ColumnExpression.create(1, QueryDataType.BIGINT), QueryDataType.VARCHAR));
+        check(CastExpression.create(ColumnExpression.create(3, QueryDataType.VARCHAR), QueryDataType.INT));
+    }
+
+    @Test
+    public void testLike() {
+        Expression<?> source = ColumnExpression.create(3, QueryDataType.VARCHAR);
+
+        check(LikeFunction.create(source, ConstantExpression.create("1%", QueryDataType.VARCHAR), null, false));
+        check(LikeFunction.create(source, ConstantExpression.create("_", QueryDataType.VARCHAR), null, true));
+        check(LikeFunction.create(
+            source,
+            ConstantExpression.create("1!%", QueryDataType.VARCHAR),
+            ConstantExpression.create("!", QueryDataType.VARCHAR),
+            false
+        ));
+        check(LikeFunction.create(source, ConstantExpression.create(null, QueryDataType.VARCHAR), null, false));
+        check(LikeFunction.create(source, source, null, false));
+
+        // Invalid escape is reported during evaluation only.
+        Expression<?> invalid = LikeFunction.create(
+            source,
+            ConstantExpression.create("1%", QueryDataType.VARCHAR),
+            ConstantExpression.create("!!", QueryDataType.VARCHAR),
+            false
+        );
+
+        CompiledExpression<?> compiled = invalid.compile();
+        Row row = HeapRow.of(1, 1L, 1.0d, "1");
+
+        assertNotNull(message(() -> compiled.eval(row, CONTEXT)));
+        assertEquals(message(() -> invalid.eval(row, CONTEXT)), message(() -> compiled.eval(row, CONTEXT)));
+    }
+
+    @Test
+    public void testLogic() {
+        Expression<?> less = comparison(0, QueryDataType.INT, 5, ComparisonMode.LESS_THAN);
+        Expression<?> even = ColumnExpression.create(4, QueryDataType.BOOLEAN);
+        Expression<?> nonNull = IsNotNullPredicate.create(ColumnExpression.create(3, QueryDataType.VARCHAR));
+
+        check(AndPredicate.create(less, even));
+        check(AndPredicate.create(even, less));
+        check(AndPredicate.create(less, even, nonNull));
+        check(OrPredicate.create(less, even));
+        check(OrPredicate.create(even, less));
+        check(OrPredicate.create(less, even, nonNull));
+        check(NotPredicate.create(less));
+        check(IsNullPredicate.create(even));
+        check(AndPredicate.create(OrPredicate.create(less, even), NotPredicate.create(even)));
+    }
+
+    @Test
+    public void testDefault() {
+        check(new FunctionalPredicateExpression(row -> {
+            Integer value = row.get(0);
+
+            return value == null ? null : value % 3 == 0;
+        }));
+    }
+
+    private static void check(Expression<?> expression) {
+        CompiledExpression<?> compiled = expression.compile();
+
+        for (Row row : ROWS) {
+            Object expected = expression.eval(row, CONTEXT);
+            Object actual = compiled.eval(row, CONTEXT);
+
+            assertEquals(expression.toString(), expected, actual);
+
+            if (expected != null) {
+                assertEquals(expression.toString(), expected.getClass(), actual.getClass());
+            }
+        }
+    }
+
+    private static String message(Runnable runnable) {
+        try {
+            runnable.run();
+
+            return null;
+        } catch (QueryException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Expression<?> comparison(int index, QueryDataType type, Object value, ComparisonMode mode) {
+        return comparison(ColumnExpression.create(index, type), type, value, mode);
+    }
+
+    private static Expression<?> comparison(Expression<?> operand, QueryDataType type, Object value, ComparisonMode mode) {
+        return ComparisonPredicate.create(operand, ConstantExpression.create(value, type), mode);
+    }
+
+    private static List<Row> createRows() {
+        List<Row> rows = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            if (i % 4 == 3) {
+                rows.add(HeapRow.of(null, null, null, null, null, null, null, null));
+            } else {
+                rows.add(HeapRow.of(
+                    i,
+                    (long) i,
+                    (double) i,
+                    Integer.toString(i),
+                    i % 2 == 0,
+                    BigDecimal.valueOf(i),
+                    (byte) i,
+                    Objects.toString(i)
+                ));
+            }
+        }
+
+        assertNull(rows.get(3).get(0));
+
+        return rows;
+    }
+}
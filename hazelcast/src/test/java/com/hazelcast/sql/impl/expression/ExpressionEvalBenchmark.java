@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression;
+
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Compares the interpreted and the compiled evaluation of a projection
+ * {@code (a + b) * 3 - c} and a filter {@code a * 2 + b > c AND d < 100.5}
+ * over {@link #ROW_COUNT} rows with BIGINT columns {@code a, b, c} and a
+ * DOUBLE column {@code d}, one in ten values being {@code NULL}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class ExpressionEvalBenchmark {
+
+    private static final int ROW_COUNT = 1024;
+
+    @Param({"INTERPRETED", "COMPILED"})
+    private String evalMode;
+
+    private final ExpressionEvalContext context = SimpleExpressionEvalContext.create();
+
+    private Row[] rows;
+    private CompiledExpression<?> projection;
+    private CompiledExpression<?> filter;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        rows = new Row[ROW_COUNT];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            rows[i] = HeapRow.of(nullable(random, (long) random.nextInt(1000)), nullable(random, (long) random.nextInt(1000)),
+                nullable(random, (long) random.nextInt(1000)), nullable(random, random.nextDouble() * 200));
+        }
+
+        Expression<?> a = ColumnExpression.create(0, QueryDataType.BIGINT);
+        Expression<?> b = ColumnExpression.create(1, QueryDataType.BIGINT);
+        Expression<?> c = ColumnExpression.create(2, QueryDataType.BIGINT);
+        Expression<?> d = ColumnExpression.create(3, QueryDataType.DOUBLE);
+
+        Expression<?> projectionExpression = MinusFunction.create(
+            MultiplyFunction.create(
+                PlusFunction.create(a, b, QueryDataType.BIGINT),
+                ConstantExpression.create(3L, QueryDataType.BIGINT),
+                QueryDataType.BIGINT
+            ),
+            c,
+            QueryDataType.BIGINT
+        );
+
+        Expression<?> filterExpression = AndPredicate.create(
+            ComparisonPredicate.create(
+                PlusFunction.create(
+                    MultiplyFunction.create(a, ConstantExpression.create(2L, QueryDataType.BIGINT), QueryDataType.BIGINT),
+                    b,
+                    QueryDataType.BIGINT
+                ),
+                c,
+                ComparisonMode.GREATER_THAN
+            ),
+            ComparisonPredicate.create(d, ConstantExpression.create(100.5d, QueryDataType.DOUBLE), ComparisonMode.LESS_THAN)
+        );
+
+        if ("COMPILED".equals(evalMode)) {
+            projection = projectionExpression.compile();
+            filter = filterExpression.compile();
+        } else {
+            projection = projectionExpression::eval;
+            filter = filterExpression::eval;
+        }
+    }
+
+    @Benchmark
+    public void project(Blackhole blackhole) {
+        for (Row row : rows) {
+            blackhole.consume(projection.eval(row, context));
+        }
+    }
+
+    @Benchmark
+    public int filter() {
+        int count = 0;
+
+        for (Row row : rows) {
+            if (filter.eval(row, context) == Boolean.TRUE) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private static Object nullable(Random random, Object value) {
+        return random.nextInt(10) == 0 ? null : value;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ExpressionEvalBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
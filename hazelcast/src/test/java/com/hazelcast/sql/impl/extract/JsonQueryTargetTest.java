@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.extract;
+
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.JsonMetadataInitializer;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class JsonQueryTargetTest extends SqlTestSupport {
+
+    private static final InternalSerializationService SS = new DefaultSerializationServiceBuilder().build();
+
+    private static final HazelcastJsonValue JSON_1 =
+        new HazelcastJsonValue("{\"name\": \"first\", \"age\": 10, \"score\": 1.5, \"nested\": {\"field\": 1}}");
+
+    /** Same attributes in a different order, to make sure that the learned pattern is revalidated. */
+    private static final HazelcastJsonValue JSON_2 =
+        new HazelcastJsonValue("{\"score\": 2.5, \"nested\": [1, 2], \"age\": 20, \"name\": \"second\"}");
+
+    @Test
+    public void testTargetDescriptor() {
+        serializeAndCheck(new JsonQueryTargetDescriptor(), SqlDataSerializerHook.TARGET_DESCRIPTOR_JSON);
+    }
+
+    @Test
+    public void testTarget() throws Exception {
+        for (boolean key : new boolean[] { true, false }) {
+            // Deserialized, serialized, with and without record metadata.
+            checkTarget(createTarget(key), JSON_1, JSON_2, false, false);
+            checkTarget(createTarget(key), JSON_1, JSON_2, true, false);
+            checkTarget(createTarget(key), JSON_1, JSON_2, false, true);
+            checkTarget(createTarget(key), JSON_1, JSON_2, true, true);
+        }
+    }
+
+    @Test
+    public void testInvalidJson() {
+        JsonQueryTarget target = createTarget(false);
+
+        QueryExtractor fieldExtractor = target.createExtractor("name", QueryDataType.VARCHAR);
+
+        target.setTarget(new HazelcastJsonValue("{\"name\": "));
+        assertNull(fieldExtractor.get());
+    }
+
+    private void checkTarget(
+        JsonQueryTarget target,
+        HazelcastJsonValue json1,
+        HazelcastJsonValue json2,
+        boolean serialized,
+        boolean withMetadata
+    ) throws Exception {
+        QueryExtractor targetExtractor = target.createExtractor(null, QueryDataType.OBJECT);
+        QueryExtractor nameExtractor = target.createExtractor("name", QueryDataType.VARCHAR);
+        QueryExtractor ageExtractor = target.createExtractor("age", QueryDataType.BIGINT);
+        QueryExtractor scoreExtractor = target.createExtractor("score", QueryDataType.DOUBLE);
+        QueryExtractor nestedExtractor = target.createExtractor("nested", QueryDataType.OBJECT);
+        QueryExtractor nestedFieldExtractor = target.createExtractor("nested.field", QueryDataType.INT);
+        QueryExtractor missingExtractor = target.createExtractor("missing", QueryDataType.INT);
+
+        // First document.
+        setTarget(target, json1, serialized, withMetadata);
+
+        assertEquals(json1, targetExtractor.get());
+        assertEquals("first", nameExtractor.get());
+        assertEquals(10L, ageExtractor.get());
+        assertEquals(1.5d, scoreExtractor.get());
+        assertNull(nestedExtractor.get());
+        assertEquals(1, nestedFieldExtractor.get());
+        assertNull(missingExtractor.get());
+
+        // Second document, patterns learned on the first one do not match.
+        setTarget(target, json2, serialized, withMetadata);
+
+        assertEquals(json2, targetExtractor.get());
+        assertEquals("second", nameExtractor.get());
+        assertEquals(20L, ageExtractor.get());
+        assertEquals(2.5d, scoreExtractor.get());
+        assertNull(nestedExtractor.get());
+        assertNull(nestedFieldExtractor.get());
+        assertNull(missingExtractor.get());
+
+        // Bad field extractor (type).
+        QueryExtractor badFieldTypeExtractor = target.createExtractor("name", QueryDataType.INT);
+        QueryException error = assertThrows(QueryException.class, badFieldTypeExtractor::get);
+        assertEquals(SqlErrorCode.DATA_EXCEPTION, error.getCode());
+        assertTrue(error.getMessage().startsWith("Failed to extract map entry " + (target.isKey() ? "key" : "value") + " field"));
+    }
+
+    private static void setTarget(JsonQueryTarget target, HazelcastJsonValue json, boolean serialized, boolean withMetadata)
+        throws Exception {
+        if (serialized) {
+            Object metadata = withMetadata ? JsonMetadataInitializer.INSTANCE.createFromData(SS.toData(json)) : null;
+
+            target.setTarget(SS.toData(json), metadata);
+        } else {
+            Object metadata = withMetadata ? JsonMetadataInitializer.INSTANCE.createFromObject(json) : null;
+
+            target.setTarget(json, metadata);
+        }
+    }
+
+    private static JsonQueryTarget createTarget(boolean key) {
+        Extractors extractors = Extractors.newBuilder(SS).build();
+
+        JsonQueryTarget target = (JsonQueryTarget) JsonQueryTargetDescriptor.DEFAULT.create(SS, extractors, key);
+
+        assertEquals(key, target.isKey());
+
+        return target;
+    }
+}
@@ -22,6 +22,7 @@ import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.sql.impl.NodeServiceProvider;
 import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.SqlTestSupport;
@@ -120,6 +121,11 @@ public class QueryOperationChannelTest extends SqlTestSupport {
             return null;
         }
 
+        @Override
+        public HazelcastProperties getProperties() {
+            return null;
+        }
+
         @Override
         public long currentTimeMillis() {
             return 0;
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import com.hazelcast.sql.SqlExpectedResultType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PreparedStatementRegistryTest {
+    @Test
+    public void testRegister() {
+        PreparedStatementRegistry registry = new PreparedStatementRegistry(10);
+
+        PlanCacheKey key = createKey("sql");
+
+        UUID handle = registry.register(key, SqlExpectedResultType.ROWS);
+        assertEquals(1, registry.size());
+
+        PreparedStatement statement = registry.get(handle);
+        assertNotNull(statement);
+        assertEquals(handle, statement.getHandle());
+        assertSame(key, statement.getPlanKey());
+        assertEquals(SqlExpectedResultType.ROWS, statement.getExpectedResultType());
+
+        // The same statement yields the same handle, even in another registry.
+        assertEquals(handle, registry.register(createKey("sql"), SqlExpectedResultType.ROWS));
+        assertEquals(handle, new PreparedStatementRegistry(10).register(createKey("sql"), SqlExpectedResultType.ROWS));
+        assertEquals(1, registry.size());
+
+        // Different result type or SQL yields a different handle.
+        assertNotEquals(handle, registry.register(key, SqlExpectedResultType.ANY));
+        assertNotEquals(handle, registry.register(createKey("sql2"), SqlExpectedResultType.ROWS));
+        assertEquals(3, registry.size());
+
+        assertNull(registry.get(UUID.randomUUID()));
+
+        registry.clear();
+        assertEquals(0, registry.size());
+        assertNull(registry.get(handle));
+    }
+
+    @Test
+    public void testOverflow() throws Exception {
+        int size = 5;
+
+        PreparedStatementRegistry registry = new PreparedStatementRegistry(size);
+
+        UUID[] handles = new UUID[size + 1];
+
+        for (int i = 0; i < size; i++) {
+            handles[i] = registry.register(createKey(Integer.toString(i)), SqlExpectedResultType.ANY);
+
+            advanceTime();
+        }
+
+        // Touch the first statement, so that the second one becomes the least recently used.
+        assertNotNull(registry.get(handles[0]));
+        advanceTime();
+
+        handles[size] = registry.register(createKey(Integer.toString(size)), SqlExpectedResultType.ANY);
+
+        assertEquals(size, registry.size());
+        assertNull(registry.get(handles[1]));
+
+        for (int i = 0; i <= size; i++) {
+            if (i != 1) {
+                assertNotNull(registry.get(handles[i]));
+            }
+        }
+    }
+
+    private static PlanCacheKey createKey(String sql) {
+        return new PlanCacheKey(Collections.emptyList(), sql);
+    }
+
+    private static void advanceTime() throws InterruptedException {
+        long startTime = System.nanoTime();
+
+        do {
+            Thread.sleep(1);
+        } while (System.nanoTime() == startTime);
+    }
+}
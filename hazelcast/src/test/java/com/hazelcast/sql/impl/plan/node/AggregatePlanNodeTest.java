@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.agg.AggregateFunction;
+import com.hazelcast.sql.impl.exec.agg.AggregateKind;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AggregatePlanNodeTest extends SqlTestSupport {
+
+    private static final List<AggregateFunction> FUNCTIONS = Arrays.asList(
+        new AggregateFunction(AggregateKind.COUNT, AggregateFunction.NO_OPERAND, null, QueryDataType.BIGINT),
+        new AggregateFunction(AggregateKind.AVG, 1, QueryDataType.INT, QueryDataType.DECIMAL)
+    );
+
+    @Test
+    public void testState() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.VARCHAR, QueryDataType.INT);
+
+        AggregatePlanNode node = new AggregatePlanNode(2, upstream, new int[] { 0 }, FUNCTIONS, AggregatePhase.COMPLETE);
+
+        assertEquals(2, node.getId());
+        assertEquals(upstream, node.getUpstream());
+        assertArrayEquals(new int[] { 0 }, node.getGroupKey());
+        assertEquals(FUNCTIONS, node.getFunctions());
+        assertEquals(AggregatePhase.COMPLETE, node.getPhase());
+        assertEquals(
+            Arrays.asList(QueryDataType.VARCHAR, QueryDataType.BIGINT, QueryDataType.DECIMAL),
+            node.getSchema().getTypes()
+        );
+
+        // The local phase produces the partial results: AVG is represented by the sum and the count.
+        node = new AggregatePlanNode(2, upstream, new int[] { 0 }, FUNCTIONS, AggregatePhase.LOCAL);
+
+        assertEquals(
+            Arrays.asList(QueryDataType.VARCHAR, QueryDataType.BIGINT, QueryDataType.DECIMAL, QueryDataType.BIGINT),
+            node.getSchema().getTypes()
+        );
+    }
+
+    @Test
+    public void testEquality() {
+        int id1 = 1;
+        int id2 = 2;
+
+        MockPlanNode upstream1 = MockPlanNode.create(3, QueryDataType.VARCHAR, QueryDataType.INT);
+        MockPlanNode upstream2 = MockPlanNode.create(3, QueryDataType.INT, QueryDataType.INT);
+
+        int[] groupKey1 = new int[] { 0 };
+        int[] groupKey2 = new int[] { 1 };
+
+        List<AggregateFunction> functions1 = FUNCTIONS;
+        List<AggregateFunction> functions2 = Collections.singletonList(FUNCTIONS.get(0));
+
+        AggregatePhase phase1 = AggregatePhase.LOCAL;
+        AggregatePhase phase2 = AggregatePhase.FINAL;
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, functions1, phase1),
+            new AggregatePlanNode(id1, upstream1, new int[] { 0 }, functions1, phase1),
+            true
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, functions1, phase1),
+            new AggregatePlanNode(id2, upstream1, groupKey1, functions1, phase1),
+            false
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, functions1, phase1),
+            new AggregatePlanNode(id1, upstream2, groupKey1, functions1, phase1),
+            false
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, functions1, phase1),
+            new AggregatePlanNode(id1, upstream1, groupKey2, functions1, phase1),
+            false
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, functions1, phase1),
+            new AggregatePlanNode(id1, upstream1, groupKey1, functions2, phase1),
+            false
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, functions1, phase1),
+            new AggregatePlanNode(id1, upstream1, groupKey1, functions1, phase2),
+            false
+        );
+    }
+
+    @Test
+    public void testSerialization() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.VARCHAR, QueryDataType.INT);
+
+        AggregatePlanNode original = new AggregatePlanNode(2, upstream, new int[] { 0 }, FUNCTIONS, AggregatePhase.FINAL);
+        AggregatePlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_AGGREGATE);
+
+        checkEquals(original, restored, true);
+    }
+}
@@ -28,6 +28,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -43,6 +44,7 @@ public class FilterPlanNodeTest extends SqlTestSupport {
         assertEquals(upstream, node.getUpstream());
         assertEquals(upstream.getSchema(), node.getSchema());
         assertEquals(filter, node.getFilter());
+        assertSame(node.getCompiledFilter(), node.getCompiledFilter());
     }
 
     @Test
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ConstantPredicateExpression;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class HashJoinPlanNodeTest extends SqlTestSupport {
+    @Test
+    public void testState() {
+        MockPlanNode left = MockPlanNode.create(1, QueryDataType.INT, QueryDataType.VARCHAR);
+        MockPlanNode right = MockPlanNode.create(2, QueryDataType.BIGINT);
+        ConstantPredicateExpression condition = new ConstantPredicateExpression(true);
+
+        HashJoinPlanNode node = new HashJoinPlanNode(3, left, right, new int[] { 0 }, new int[] { 0 }, condition, true);
+
+        assertEquals(3, node.getId());
+        assertEquals(left, node.getLeft());
+        assertEquals(right, node.getRight());
+        assertArrayEquals(new int[] { 0 }, node.getLeftKey());
+        assertArrayEquals(new int[] { 0 }, node.getRightKey());
+        assertEquals(condition, node.getCondition());
+        assertTrue(node.isOuter());
+        assertEquals(
+            Arrays.asList(QueryDataType.INT, QueryDataType.VARCHAR, QueryDataType.BIGINT),
+            node.getSchema().getTypes()
+        );
+    }
+
+    @Test
+    public void testEquality() {
+        int id1 = 1;
+        int id2 = 2;
+
+        MockPlanNode left1 = MockPlanNode.create(3, QueryDataType.INT);
+        MockPlanNode left2 = MockPlanNode.create(4, QueryDataType.INT);
+
+        MockPlanNode right1 = MockPlanNode.create(5, QueryDataType.INT);
+        MockPlanNode right2 = MockPlanNode.create(6, QueryDataType.INT);
+
+        int[] key1 = new int[] { 0 };
+        int[] key2 = new int[0];
+
+        ConstantPredicateExpression condition1 = new ConstantPredicateExpression(true);
+        ConstantPredicateExpression condition2 = new ConstantPredicateExpression(false);
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, key1, key1, condition1, false),
+            new HashJoinPlanNode(id1, left1, right1, new int[] { 0 }, new int[] { 0 }, condition1, false),
+            true
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, key1, key1, condition1, false),
+            new HashJoinPlanNode(id2, left1, right1, key1, key1, condition1, false),
+            false
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, key1, key1, condition1, false),
+            new HashJoinPlanNode(id1, left2, right1, key1, key1, condition1, false),
+            false
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, key1, key1, condition1, false),
+            new HashJoinPlanNode(id1, left1, right2, key1, key1, condition1, false),
+            false
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, key1, key1, condition1, false),
+            new HashJoinPlanNode(id1, left1, right1, key2, key2, condition1, false),
+            false
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, key1, key1, condition1, false),
+            new HashJoinPlanNode(id1, left1, right1, key1, key1, condition2, false),
+            false
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, key1, key1, condition1, false),
+            new HashJoinPlanNode(id1, left1, right1, key1, key1, null, false),
+            false
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, key1, key1, condition1, false),
+            new HashJoinPlanNode(id1, left1, right1, key1, key1, condition1, true),
+            false
+        );
+    }
+
+    @Test
+    public void testSerialization() {
+        MockPlanNode left = MockPlanNode.create(1, QueryDataType.INT);
+        MockPlanNode right = MockPlanNode.create(2, QueryDataType.INT);
+
+        HashJoinPlanNode original = new HashJoinPlanNode(
+            3, left, right, new int[] { 0 }, new int[] { 0 }, new ConstantPredicateExpression(true), true
+        );
+        HashJoinPlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_HASH_JOIN);
+
+        checkEquals(original, restored, true);
+    }
+}
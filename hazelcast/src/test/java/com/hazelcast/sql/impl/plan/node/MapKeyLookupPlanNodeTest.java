@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.ConstantPredicateExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapKeyLookupPlanNodeTest extends SqlTestSupport {
+    @Test
+    public void testState() {
+        int id = 1;
+        String mapName = "map";
+        List<QueryPath> fieldPaths = Collections.singletonList(valuePath("field"));
+        List<QueryDataType> fieldTypes = Collections.singletonList(QueryDataType.INT);
+        List<Integer> projects = Collections.singletonList(0);
+        Expression<Boolean> filter = new ConstantPredicateExpression(true);
+        List<Expression<?>> keys = Arrays.asList(
+            ConstantExpression.create(1, QueryDataType.INT),
+            ParameterExpression.create(0, QueryDataType.INT)
+        );
+
+        MapKeyLookupPlanNode node = new MapKeyLookupPlanNode(
+            id,
+            mapName,
+            GenericQueryTargetDescriptor.DEFAULT,
+            GenericQueryTargetDescriptor.DEFAULT,
+            fieldPaths,
+            fieldTypes,
+            projects,
+            filter,
+            keys
+        );
+
+        assertEquals(id, node.getId());
+        assertEquals(mapName, node.getMapName());
+        assertEquals(GenericQueryTargetDescriptor.DEFAULT, node.getKeyDescriptor());
+        assertEquals(GenericQueryTargetDescriptor.DEFAULT, node.getValueDescriptor());
+        assertEquals(fieldPaths, node.getFieldPaths());
+        assertEquals(fieldTypes, node.getFieldTypes());
+        assertEquals(projects, node.getProjects());
+        assertEquals(filter, node.getFilter());
+        assertEquals(keys, node.getKeys());
+    }
+
+    @Test
+    public void testEquality() {
+        List<Expression<?>> keys1 = Collections.singletonList(ConstantExpression.create(1, QueryDataType.INT));
+        List<Expression<?>> keys2 = Collections.singletonList(ConstantExpression.create(2, QueryDataType.INT));
+
+        MapKeyLookupPlanNode node = create(1, "map1", keys1);
+
+        checkEquals(node, create(1, "map1", keys1), true);
+        checkEquals(node, create(2, "map1", keys1), false);
+        checkEquals(node, create(1, "map2", keys1), false);
+        checkEquals(node, create(1, "map1", keys2), false);
+    }
+
+    @Test
+    public void testSerialization() {
+        MapKeyLookupPlanNode original = create(
+            1,
+            "map",
+            Arrays.asList(ConstantExpression.create(1, QueryDataType.INT), ParameterExpression.create(0, QueryDataType.INT))
+        );
+
+        MapKeyLookupPlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_MAP_KEY_LOOKUP);
+
+        checkEquals(original, restored, true);
+    }
+
+    private static MapKeyLookupPlanNode create(int id, String mapName, List<Expression<?>> keys) {
+        return new MapKeyLookupPlanNode(
+            id,
+            mapName,
+            GenericQueryTargetDescriptor.DEFAULT,
+            GenericQueryTargetDescriptor.DEFAULT,
+            Collections.singletonList(valuePath("field")),
+            Collections.singletonList(QueryDataType.INT),
+            Collections.singletonList(0),
+            new ConstantPredicateExpression(true),
+            keys
+        );
+    }
+}
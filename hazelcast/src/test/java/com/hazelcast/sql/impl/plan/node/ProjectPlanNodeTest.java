@@ -33,6 +33,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 @SuppressWarnings("rawtypes")
 @RunWith(HazelcastParallelClassRunner.class)
@@ -52,6 +53,8 @@ public class ProjectPlanNodeTest extends SqlTestSupport {
         assertEquals(upstream, node.getUpstream());
         assertEquals(projects, node.getProjects());
         assertEquals(expectedSchema, node.getSchema());
+        assertEquals(2, node.getCompiledProjects().size());
+        assertSame(node.getCompiledProjects(), node.getCompiledProjects());
     }
 
     @Test
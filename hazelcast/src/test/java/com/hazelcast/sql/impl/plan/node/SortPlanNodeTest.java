@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+@SuppressWarnings("rawtypes")
+public class SortPlanNodeTest extends SqlTestSupport {
+
+    private static final Expression FETCH = ConstantExpression.create(10, QueryDataType.INT);
+    private static final Expression OFFSET = ConstantExpression.create(5, QueryDataType.INT);
+
+    @Test
+    public void testState() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.VARCHAR, QueryDataType.INT);
+
+        SortPlanNode node = new SortPlanNode(2, upstream, new int[] { 1, 0 }, new boolean[] { true, false }, FETCH, OFFSET);
+
+        assertEquals(2, node.getId());
+        assertEquals(upstream, node.getUpstream());
+        assertArrayEquals(new int[] { 1, 0 }, node.getColumnIndexes());
+        assertArrayEquals(new boolean[] { true, false }, node.getAscs());
+        assertEquals(FETCH, node.getFetch());
+        assertEquals(OFFSET, node.getOffset());
+        assertEquals(upstream.getSchema(), node.getSchema());
+    }
+
+    @Test
+    public void testEquality() {
+        int id1 = 1;
+        int id2 = 2;
+
+        MockPlanNode upstream1 = MockPlanNode.create(3, QueryDataType.VARCHAR, QueryDataType.INT);
+        MockPlanNode upstream2 = MockPlanNode.create(3, QueryDataType.INT, QueryDataType.INT);
+
+        int[] columnIndexes1 = new int[] { 0 };
+        int[] columnIndexes2 = new int[] { 1 };
+
+        boolean[] ascs1 = new boolean[] { true };
+        boolean[] ascs2 = new boolean[] { false };
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, FETCH, OFFSET),
+            new SortPlanNode(id1, upstream1, new int[] { 0 }, new boolean[] { true }, FETCH, OFFSET),
+            true
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, FETCH, OFFSET),
+            new SortPlanNode(id2, upstream1, columnIndexes1, ascs1, FETCH, OFFSET),
+            false
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, FETCH, OFFSET),
+            new SortPlanNode(id1, upstream2, columnIndexes1, ascs1, FETCH, OFFSET),
+            false
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, FETCH, OFFSET),
+            new SortPlanNode(id1, upstream1, columnIndexes2, ascs1, FETCH, OFFSET),
+            false
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, FETCH, OFFSET),
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs2, FETCH, OFFSET),
+            false
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, FETCH, OFFSET),
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, null, OFFSET),
+            false
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, FETCH, OFFSET),
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, FETCH, null),
+            false
+        );
+    }
+
+    @Test
+    public void testSerialization() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.VARCHAR, QueryDataType.INT);
+
+        SortPlanNode original = new SortPlanNode(2, upstream, new int[] { 1 }, new boolean[] { false }, FETCH, OFFSET);
+        SortPlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_SORT);
+
+        checkEquals(original, restored, true);
+    }
+}
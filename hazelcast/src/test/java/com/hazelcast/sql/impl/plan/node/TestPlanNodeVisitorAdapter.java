@@ -16,9 +16,11 @@
 
 package com.hazelcast.sql.impl.plan.node;
 
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.SendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 
 public abstract class TestPlanNodeVisitorAdapter implements PlanNodeVisitor {
     @Override
@@ -56,6 +58,11 @@ public abstract class TestPlanNodeVisitorAdapter implements PlanNodeVisitor {
         // No-op.
     }
 
+    @Override
+    public void onMapKeyLookupNode(MapKeyLookupPlanNode node) {
+        // No-op.
+    }
+
     @Override
     public void onEmptyNode(EmptyPlanNode node) {
         // No-op.
@@ -75,5 +82,29 @@ public abstract class TestPlanNodeVisitorAdapter implements PlanNodeVisitor {
     public void onFetchNode(FetchPlanNode node) {
         // No-op.
     }
-}
 
+    @Override
+    public void onAggregateNode(AggregatePlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onUnicastSendNode(UnicastSendPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onBroadcastSendNode(BroadcastSendPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onHashJoinNode(HashJoinPlanNode node) {
+        // No-op.
+    }
+
+    @Override
+    public void onSortNode(SortPlanNode node) {
+        // No-op.
+    }
+}
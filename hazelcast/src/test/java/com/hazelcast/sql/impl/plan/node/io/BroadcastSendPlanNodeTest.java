@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node.io;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.plan.node.MockPlanNode;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BroadcastSendPlanNodeTest extends SqlTestSupport {
+    @Test
+    public void testState() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.INT);
+
+        BroadcastSendPlanNode node = new BroadcastSendPlanNode(2, upstream, 3);
+
+        assertEquals(2, node.getId());
+        assertEquals(upstream, node.getUpstream());
+        assertEquals(3, node.getEdgeId());
+        assertTrue(node.isSender());
+        assertEquals(upstream.getSchema(), node.getSchema());
+    }
+
+    @Test
+    public void testEquality() {
+        MockPlanNode upstream1 = MockPlanNode.create(1, QueryDataType.INT);
+        MockPlanNode upstream2 = MockPlanNode.create(2, QueryDataType.INT);
+
+        checkEquals(new BroadcastSendPlanNode(3, upstream1, 4), new BroadcastSendPlanNode(3, upstream1, 4), true);
+        checkEquals(new BroadcastSendPlanNode(3, upstream1, 4), new BroadcastSendPlanNode(5, upstream1, 4), false);
+        checkEquals(new BroadcastSendPlanNode(3, upstream1, 4), new BroadcastSendPlanNode(3, upstream2, 4), false);
+        checkEquals(new BroadcastSendPlanNode(3, upstream1, 4), new BroadcastSendPlanNode(3, upstream1, 5), false);
+    }
+
+    @Test
+    public void testSerialization() {
+        BroadcastSendPlanNode original = new BroadcastSendPlanNode(2, MockPlanNode.create(1, QueryDataType.INT), 3);
+        BroadcastSendPlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_BROADCAST_SEND);
+
+        checkEquals(original, restored, true);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ColumnarRowBatchTest extends SqlTestSupport {
+
+    private static final List<QueryDataType> TYPES = Arrays.asList(
+        QueryDataType.BOOLEAN,
+        QueryDataType.TINYINT,
+        QueryDataType.SMALLINT,
+        QueryDataType.INT,
+        QueryDataType.BIGINT,
+        QueryDataType.REAL,
+        QueryDataType.DOUBLE,
+        QueryDataType.DECIMAL,
+        QueryDataType.VARCHAR
+    );
+
+    private static final Row ROW_1 = HeapRow.of(true, (byte) 1, (short) 2, 3, 4L, 5.5f, 6.6d, BigDecimal.ONE, "7");
+    private static final Row ROW_2 = HeapRow.of(null, null, null, null, null, null, null, null, null);
+    private static final Row ROW_3 = HeapRow.of(false, (byte) -1, (short) -2, -3, -4L, -5.5f, -6.6d, BigDecimal.TEN, "-7");
+
+    @Test
+    public void testColumnarRowBatch() {
+        ColumnarRowBatch batch = createBatch();
+
+        assertEquals(3, batch.getRowCount());
+        assertEquals(TYPES.size(), batch.getColumnCount());
+        assertEquals(TYPES, batch.getColumnTypes());
+
+        assertEquals(ROW_1, batch.getRow(0));
+        assertEquals(ROW_2, batch.getRow(1));
+        assertEquals(ROW_3, batch.getRow(2));
+
+        assertEquals(ColumnVector.Storage.INT, batch.getColumn(0).getStorage());
+        assertEquals(ColumnVector.Storage.INT, batch.getColumn(1).getStorage());
+        assertEquals(ColumnVector.Storage.INT, batch.getColumn(2).getStorage());
+        assertEquals(ColumnVector.Storage.INT, batch.getColumn(3).getStorage());
+        assertEquals(ColumnVector.Storage.LONG, batch.getColumn(4).getStorage());
+        assertEquals(ColumnVector.Storage.DOUBLE, batch.getColumn(5).getStorage());
+        assertEquals(ColumnVector.Storage.DOUBLE, batch.getColumn(6).getStorage());
+        assertEquals(ColumnVector.Storage.OBJECT, batch.getColumn(7).getStorage());
+        assertEquals(ColumnVector.Storage.OBJECT, batch.getColumn(8).getStorage());
+
+        assertTrue(batch.getColumn(0).getBoolean(0));
+        assertEquals(3, batch.getColumn(3).getInt(0));
+        assertEquals(4L, batch.getColumn(4).getLong(0));
+        assertEquals(6.6d, batch.getColumn(6).getDouble(0), 0d);
+
+        for (int i = 0; i < TYPES.size(); i++) {
+            assertFalse(batch.getColumn(i).isNull(0));
+            assertTrue(batch.getColumn(i).isNull(1));
+        }
+    }
+
+    @Test
+    public void testGrowth() {
+        ColumnarRowBatch batch = new ColumnarRowBatch(TYPES, 1);
+
+        for (int i = 0; i < 100; i++) {
+            batch.addRow(i % 2 == 0 ? ROW_1 : ROW_2);
+        }
+
+        assertEquals(100, batch.getRowCount());
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? ROW_1 : ROW_2, batch.getRow(i));
+        }
+    }
+
+    @Test
+    public void testSelect() {
+        ColumnarRowBatch batch = createBatch();
+
+        ColumnarRowBatch selected = batch.select(new int[] {0, 2}, 2);
+
+        assertEquals(2, selected.getRowCount());
+        assertEquals(ROW_1, selected.getRow(0));
+        assertEquals(ROW_3, selected.getRow(1));
+
+        assertSame(batch, batch.select(new int[] {0, 1, 2}, 3));
+        assertEquals(0, batch.select(new int[0], 0).getRowCount());
+    }
+
+    @Test
+    public void testAddRowFromBatch() {
+        ColumnarRowBatch source = createBatch();
+        ColumnarRowBatch target = new ColumnarRowBatch(TYPES, 1);
+
+        assertTrue(target.isCompatible(source));
+        assertFalse(target.isCompatible(new ColumnarRowBatch(TYPES.subList(1, TYPES.size()), 1)));
+
+        target.addRow(source, 2);
+        target.addRow(source, 1);
+
+        assertEquals(2, target.getRowCount());
+        assertEquals(ROW_3, target.getRow(0));
+        assertEquals(ROW_2, target.getRow(1));
+    }
+
+    @Test
+    public void testCursor() {
+        ColumnarRowBatch batch = createBatch();
+        ColumnarRowBatch.Cursor cursor = batch.cursor();
+
+        assertEquals(TYPES.size(), cursor.getColumnCount());
+
+        cursor.setPosition(2);
+        assertEquals(Integer.valueOf(-3), cursor.get(3));
+
+        cursor.setPosition(1);
+        assertNull(cursor.get(3));
+    }
+
+    @Test
+    public void testNoColumns() {
+        ColumnarRowBatch batch = new ColumnarRowBatch(new ColumnVector[0], 2);
+
+        assertEquals(2, batch.getRowCount());
+        assertSame(EmptyRow.INSTANCE, batch.getRow(1));
+    }
+
+    @Test
+    public void testConstant() {
+        ColumnVector vector = ColumnVector.constant(QueryDataType.BIGINT, 1L, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1L, vector.get(i));
+        }
+
+        vector = ColumnVector.constant(QueryDataType.BIGINT, null, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(vector.isNull(i));
+        }
+    }
+
+    @Test
+    public void testSerialization() {
+        ColumnarRowBatch original = createBatch();
+        ColumnarRowBatch restored = serializeAndCheck(original, SqlDataSerializerHook.ROW_BATCH_COLUMNAR);
+
+        assertEquals(original.getRowCount(), restored.getRowCount());
+        assertEquals(original.getColumnTypes(), restored.getColumnTypes());
+
+        for (int i = 0; i < original.getRowCount(); i++) {
+            assertEquals(original.getRow(i), restored.getRow(i));
+        }
+    }
+
+    private static ColumnarRowBatch createBatch() {
+        ColumnarRowBatch batch = new ColumnarRowBatch(TYPES, 2);
+
+        batch.addRow(ROW_1);
+        batch.addRow(ROW_2);
+        batch.addRow(ROW_3);
+
+        return batch;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class RowKeysTest extends SqlTestSupport {
+
+    private static final int[] COLUMNS = new int[] { 2, 0 };
+
+    @Test
+    public void testExtract() {
+        assertArrayEquals(new Object[] { 3, 1 }, RowKeys.extract(row(1, 2, 3), COLUMNS));
+        assertArrayEquals(new Object[0], RowKeys.extract(row(1, 2, 3), new int[0]));
+    }
+
+    @Test
+    public void testEqual() {
+        checkEqual(row(1, "a", "b"), row(1, "x", "b"), true);
+        checkEqual(row(1, "a", "b"), row(2, "a", "b"), false);
+        checkEqual(row(null, 0, null), row(null, 1, null), true);
+        checkEqual(row(null, 0, 1), row(1, 0, null), false);
+
+        checkEqual(row(new BigDecimal("1.0"), 0, 0), row(new BigDecimal("1.00"), 0, 0), true);
+        checkEqual(row(BigDecimal.ZERO, 0, 0), row(new BigDecimal("0.000"), 0, 0), true);
+        checkEqual(row(0.0d, 0, 0), row(-0.0d, 0, 0), true);
+        checkEqual(row(0.0f, 0, 0), row(-0.0f, 0, 0), true);
+        checkEqual(row(Double.NaN, 0, 0), row(Double.NaN, 0, 0), true);
+    }
+
+    @Test
+    public void testHashDependsOnColumnOrder() {
+        Row row = row(1, 0, 2);
+
+        assertTrue(RowKeys.hash(row, new int[] { 0, 2 }) != RowKeys.hash(row, new int[] { 2, 0 }));
+        assertFalse(RowKeys.equal(row, new int[] { 0, 2 }, new Object[] { 2, 1 }));
+    }
+
+    @Test
+    public void testEqualDifferentColumns() {
+        assertTrue(RowKeys.equal(row(1, "a"), new int[] { 0 }, row("b", 1), new int[] { 1 }));
+        assertFalse(RowKeys.equal(row(1, "a"), new int[] { 0, 1 }, row("b", 1), new int[] { 1, 0 }));
+        assertEquals(
+            RowKeys.hash(row(1, "a"), new int[] { 0, 1 }),
+            RowKeys.hash(row("a", 1), new int[] { 1, 0 })
+        );
+    }
+
+    @Test
+    public void testHashDeterministic() {
+        for (QueryDataTypeFamily typeFamily : QueryDataTypeFamily.values()) {
+            assertEquals(typeFamily != QueryDataTypeFamily.OBJECT, RowKeys.isHashDeterministic(typeFamily));
+        }
+    }
+
+    private static void checkEqual(Row row1, Row row2, boolean expected) {
+        assertEquals(expected, RowKeys.equal(row1, COLUMNS, RowKeys.extract(row2, COLUMNS)));
+        assertEquals(expected, RowKeys.equal(row2, COLUMNS, RowKeys.extract(row1, COLUMNS)));
+        assertEquals(expected, RowKeys.equal(row1, COLUMNS, row2, COLUMNS));
+
+        if (expected) {
+            assertEquals(RowKeys.hash(row1, COLUMNS), RowKeys.hash(row2, COLUMNS));
+        }
+    }
+}
@@ -23,9 +23,8 @@ import com.hazelcast.nio.serialization.ClassDefinition;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.nio.serialization.PortableReader;
 import com.hazelcast.nio.serialization.PortableWriter;
-import com.hazelcast.sql.impl.QueryException;
-import com.hazelcast.sql.impl.SqlErrorCode;
 import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
+import com.hazelcast.sql.impl.extract.JsonQueryTargetDescriptor;
 import com.hazelcast.sql.impl.schema.TableField;
 import com.hazelcast.sql.impl.schema.map.JetMapMetadataResolver;
 import com.hazelcast.sql.impl.schema.map.MapSchemaTestSupport;
@@ -61,7 +60,7 @@ import java.util.List;
 import static com.hazelcast.sql.impl.extract.QueryPath.KEY;
 import static com.hazelcast.sql.impl.extract.QueryPath.VALUE;
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.BDDMockito.given;
@@ -393,12 +392,34 @@ public class MapSampleMetadataResolverTest extends MapSchemaTestSupport {
     public void testJson() {
         InternalSerializationService ss = getSerializationService();
 
-        try {
-            MapSampleMetadataResolver.resolve(ss, jetMapMetadataResolver, ss.toData(new HazelcastJsonValue("{ \"test\": 10 }")), true);
-        } catch (QueryException e) {
-            assertEquals(SqlErrorCode.GENERIC, e.getCode());
-            assertTrue(e.getMessage().contains("JSON objects are not supported"));
+        HazelcastJsonValue json = new HazelcastJsonValue("{ \"s\": \"a\", \"l\": 10, \"d\": 1.5, \"b\": true, \"n\": null, "
+            + "\"o\": { \"f\": 1 }, \"a\": [1, 2], \"x.y\": 1 }");
+
+        for (boolean key : new boolean[] { true, false }) {
+            checkJson(MapSampleMetadataResolver.resolve(ss, jetMapMetadataResolver, json, key), key);
+            checkJson(MapSampleMetadataResolver.resolve(ss, jetMapMetadataResolver, ss.toData(json), key), key);
         }
+
+        // Not an object.
+        HazelcastJsonValue scalar = new HazelcastJsonValue("1");
+        MapSampleMetadata metadata = MapSampleMetadataResolver.resolve(ss, jetMapMetadataResolver, scalar, true);
+        assertEquals(JsonQueryTargetDescriptor.DEFAULT, metadata.getDescriptor());
+        checkFields(metadata, field(KEY, QueryDataType.OBJECT, true));
+    }
+
+    private static void checkJson(MapSampleMetadata metadata, boolean key) {
+        assertEquals(JsonQueryTargetDescriptor.DEFAULT, metadata.getDescriptor());
+        assertNull(metadata.getJetMetadata());
+
+        checkFields(
+            metadata,
+            field("s", QueryDataType.VARCHAR, key),
+            field("l", QueryDataType.BIGINT, key),
+            field("d", QueryDataType.DOUBLE, key),
+            field("b", QueryDataType.BOOLEAN, key),
+            field("n", QueryDataType.OBJECT, key),
+            hiddenField(key ? KEY : VALUE, QueryDataType.OBJECT, key)
+        );
     }
 
     @Test
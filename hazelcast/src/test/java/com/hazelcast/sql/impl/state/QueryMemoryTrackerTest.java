@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.state;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class QueryMemoryTrackerTest {
+    @Test
+    public void testReserveRelease() {
+        QueryMemoryTracker member = new QueryMemoryTracker(null, "member", QueryMemoryTracker.NO_LIMIT);
+        QueryMemoryTracker query = member.createChild("query", QueryMemoryTracker.NO_LIMIT);
+        QueryMemoryTracker fragment1 = query.createChild("fragment", QueryMemoryTracker.NO_LIMIT);
+        QueryMemoryTracker fragment2 = query.createChild("fragment", QueryMemoryTracker.NO_LIMIT);
+
+        fragment1.reserve(100);
+        fragment2.reserve(50);
+
+        assertEquals(100, fragment1.getReserved());
+        assertEquals(50, fragment2.getReserved());
+        assertEquals(150, query.getReserved());
+        assertEquals(150, member.getReserved());
+
+        fragment1.release(60);
+
+        assertEquals(40, fragment1.getReserved());
+        assertEquals(90, query.getReserved());
+        assertEquals(90, member.getReserved());
+
+        assertEquals(100, fragment1.getPeakReserved());
+        assertEquals(150, query.getPeakReserved());
+    }
+
+    @Test
+    public void testLimit() {
+        QueryMemoryTracker member = new QueryMemoryTracker(null, "member", 200);
+        QueryMemoryTracker query1 = member.createChild("query", 100);
+        QueryMemoryTracker query2 = member.createChild("query", 150);
+
+        query1.reserve(100);
+        checkLimitExceeded(query1, 1, "query", 100);
+
+        // The reservation is rejected by the parent, so neither tracker is changed.
+        checkLimitExceeded(query2, 101, "member", 200);
+
+        assertEquals(100, query1.getReserved());
+        assertEquals(0, query2.getReserved());
+        assertEquals(100, member.getReserved());
+
+        query2.reserve(100);
+        assertEquals(200, member.getReserved());
+    }
+
+    @Test
+    public void testClose() {
+        QueryMemoryTracker member = new QueryMemoryTracker(null, "member", QueryMemoryTracker.NO_LIMIT);
+        QueryMemoryTracker query = member.createChild("query", QueryMemoryTracker.NO_LIMIT);
+        QueryMemoryTracker fragment = query.createChild("fragment", QueryMemoryTracker.NO_LIMIT);
+
+        fragment.reserve(100);
+
+        query.close();
+
+        assertEquals(0, query.getReserved());
+        assertEquals(0, member.getReserved());
+
+        // Operations of the fragments of the closed query do not affect the member.
+        fragment.reserve(10);
+        fragment.release(110);
+
+        assertEquals(0, member.getReserved());
+    }
+
+    private static void checkLimitExceeded(QueryMemoryTracker tracker, long bytes, String scope, long limit) {
+        try {
+            tracker.reserve(bytes);
+
+            fail();
+        } catch (QueryException e) {
+            assertEquals(SqlErrorCode.MEMORY_LIMIT_EXCEEDED, e.getCode());
+            assertTrue(e.getMessage(), e.getMessage().contains(scope + " memory limit (" + limit + " bytes)"));
+        }
+    }
+}
@@ -105,6 +105,35 @@ public class QueryStateRegistryTest extends SqlTestSupport {
         assertFalse(state.isInitiator());
     }
 
+    @Test
+    public void testMemoryUsage() {
+        QueryStateRegistry registry = new QueryStateRegistry(TestClockProvider.createDefault(), 1000L, 500L);
+
+        QueryStateCompletionCallback completionCallback = new TestQueryStateCompletionCallback();
+
+        UUID localMemberId = UUID.randomUUID();
+        QueryId queryId1 = QueryId.create(UUID.randomUUID());
+        QueryId queryId2 = QueryId.create(UUID.randomUUID());
+
+        QueryState state1 = registry.onDistributedQueryStarted(localMemberId, queryId1, completionCallback);
+        QueryState state2 = registry.onDistributedQueryStarted(localMemberId, queryId2, completionCallback);
+
+        assertEquals(500L, state1.getMemoryTracker().getLimit());
+
+        state1.getMemoryTracker().createChild(QueryStateRegistry.FRAGMENT_SCOPE, QueryMemoryTracker.NO_LIMIT).reserve(100L);
+        state2.getMemoryTracker().reserve(200L);
+
+        assertEquals(300L, registry.getMemoryUsage());
+        assertEquals(100L, registry.getMemoryUsage(queryId1));
+        assertEquals(200L, registry.getMemoryUsage(queryId2));
+
+        // The memory of a completed query is released.
+        registry.onQueryCompleted(queryId1);
+
+        assertEquals(200L, registry.getMemoryUsage());
+        assertEquals(0L, registry.getMemoryUsage(queryId1));
+    }
+
     private static class TestQueryStateCompletionCallback implements QueryStateCompletionCallback {
         @Override
         public void onCompleted(QueryId queryId) {
@@ -118,11 +118,14 @@ public class QueryFragmentExecutableTest extends HazelcastTestSupport {
         assertEquals(4, exec.getAdvanceInvocationCount());
         assertEquals(0, stateCallback.getFragmentFinishedInvocationCount());
 
+        assertEquals(0, exec.getReleaseInvocationCount());
+
         exec.setPayload(new ResultExecPayload(IterationResult.FETCHED_DONE));
         fragmentExecutable.run();
         fragmentExecutable.run();
         assertEquals(5, exec.getAdvanceInvocationCount());
         assertEquals(1, stateCallback.getFragmentFinishedInvocationCount());
+        assertEquals(1, exec.getReleaseInvocationCount());
     }
 
     @Test
@@ -146,11 +149,13 @@ public class QueryFragmentExecutableTest extends HazelcastTestSupport {
         fragmentExecutable.run();
         assertEquals(1, exec.getAdvanceInvocationCount());
         assertSame(ExceptionExecPayload.ERROR, stateCallback.getCancelException());
+        assertEquals(1, exec.getReleaseInvocationCount());
 
         // Make sure that no advance is possible after that.
         fragmentExecutable.run();
         assertEquals(1, exec.getAdvanceInvocationCount());
         assertEquals(0, stateCallback.getFragmentFinishedInvocationCount());
+        assertEquals(1, exec.getReleaseInvocationCount());
     }
 
     @Test
@@ -409,6 +414,7 @@ public class QueryFragmentExecutableTest extends HazelcastTestSupport {
         private volatile ExecPayload payload;
         private volatile int setupInvocationCount;
         private volatile int advanceInvocationCount;
+        private volatile int releaseInvocationCount;
 
         private TestExec() {
             super(1);
@@ -437,6 +443,11 @@ public class QueryFragmentExecutableTest extends HazelcastTestSupport {
             setupInvocationCount++;
         }
 
+        @Override
+        protected void release0() {
+            releaseInvocationCount++;
+        }
+
         private int getSetupInvocationCount() {
             return setupInvocationCount;
         }
@@ -445,6 +456,10 @@ public class QueryFragmentExecutableTest extends HazelcastTestSupport {
             return advanceInvocationCount;
         }
 
+        public int getReleaseInvocationCount() {
+            return releaseInvocationCount;
+        }
+
         public TestExec setPayload(ExecPayload payload) {
             this.payload = payload;
 